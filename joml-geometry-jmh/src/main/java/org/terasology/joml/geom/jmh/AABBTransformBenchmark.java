@@ -0,0 +1,116 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.AABBf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures transforming many boxes by affine matrices: per box with the former eight-corner loop, per box with
+ * {@link AABBf#transform(org.joml.Matrix4fc, AABBf)}, and in batches over primitive arrays by one matrix or by one
+ * matrix per box.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AABBTransformBenchmark {
+
+    @Param({"4096"})
+    public int count;
+
+    private AABBf[] boxes;
+    private AABBf[] results;
+    private Matrix4f[] matrices;
+    private float[] bounds;
+    private float[] packedMatrices;
+    private float[] dest;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        boxes = new AABBf[count];
+        results = new AABBf[count];
+        matrices = new Matrix4f[count];
+        bounds = new float[6 * count];
+        packedMatrices = new float[16 * count];
+        dest = new float[6 * count];
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 100, y = rnd.nextFloat() * 100, z = rnd.nextFloat() * 100;
+            boxes[i] = new AABBf(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+            results[i] = new AABBf();
+            matrices[i] = new Matrix4f().translate(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat())
+                .rotateXYZ(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat());
+            matrices[i].get(packedMatrices, 16 * i);
+            bounds[6 * i] = boxes[i].minX;
+            bounds[6 * i + 1] = boxes[i].minY;
+            bounds[6 * i + 2] = boxes[i].minZ;
+            bounds[6 * i + 3] = boxes[i].maxX;
+            bounds[6 * i + 4] = boxes[i].maxY;
+            bounds[6 * i + 5] = boxes[i].maxZ;
+        }
+    }
+
+    private static AABBf transformCorners(AABBf box, Matrix4f m, AABBf dest) {
+        float dx = box.maxX - box.minX, dy = box.maxY - box.minY, dz = box.maxZ - box.minZ;
+        float minx = Float.POSITIVE_INFINITY, miny = Float.POSITIVE_INFINITY, minz = Float.POSITIVE_INFINITY;
+        float maxx = Float.NEGATIVE_INFINITY, maxy = Float.NEGATIVE_INFINITY, maxz = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < 8; i++) {
+            float x = box.minX + (i & 1) * dx, y = box.minY + (i >> 1 & 1) * dy, z = box.minZ + (i >> 2 & 1) * dz;
+            float tx = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
+            float ty = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
+            float tz = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
+            minx = Math.min(tx, minx);
+            miny = Math.min(ty, miny);
+            minz = Math.min(tz, minz);
+            maxx = Math.max(tx, maxx);
+            maxy = Math.max(ty, maxy);
+            maxz = Math.max(tz, maxz);
+        }
+        return dest.setMin(minx, miny, minz).setMax(maxx, maxy, maxz);
+    }
+
+    @Benchmark
+    public AABBf[] corners() {
+        for (int i = 0; i < count; i++) {
+            transformCorners(boxes[i], matrices[i], results[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public AABBf[] arvo() {
+        for (int i = 0; i < count; i++) {
+            boxes[i].transform(matrices[i], results[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public float[] batchOneMatrix() {
+        AABBf.transform(matrices[0], bounds, 0, dest, 0, count);
+        return dest;
+    }
+
+    @Benchmark
+    public float[] batchMatrixPerBox() {
+        AABBf.transform(packedMatrices, 0, bounds, 0, dest, 0, count);
+        return dest;
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.BVHf;
+import org.terasology.joml.geom.Intersectionf;
+import org.terasology.joml.geom.Rayf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the queries of {@link BVHf} with linear scans over all boxes, and measures how long building the hierarchy
+ * takes.
+ * <p>
+ * The boxes are scattered within <code>[-100..100]</code> on every axis; each invocation uses the next of a fixed set of
+ * random rays or query boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BVHfBenchmark {
+
+    private static final int QUERIES = 64;
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private AABBf[] boxes;
+    private BVHf bvh;
+    private Rayf[] rays;
+    private AABBf[] queries;
+    private int cursor;
+    private final Vector2f result = new Vector2f();
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        boxes = new AABBf[count];
+        for (int i = 0; i < count; i++) {
+            boxes[i] = box(rnd, 5);
+        }
+        bvh = new BVHf(boxes);
+        rays = new Rayf[QUERIES];
+        queries = new AABBf[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            rays[i] = new Rayf(uniform(rnd, -100, 100), uniform(rnd, -100, 100), uniform(rnd, -100, 100),
+                    uniform(rnd, -1, 1), uniform(rnd, -1, 1), uniform(rnd, -1, 1));
+            queries[i] = box(rnd, 20);
+        }
+    }
+
+    private static float uniform(Random rnd, float min, float max) {
+        return min + rnd.nextFloat() * (max - min);
+    }
+
+    private static AABBf box(Random rnd, float maxSize) {
+        float x = uniform(rnd, -100, 100), y = uniform(rnd, -100, 100), z = uniform(rnd, -100, 100);
+        return new AABBf(x, y, z, x + uniform(rnd, 0, maxSize), y + uniform(rnd, 0, maxSize), z + uniform(rnd, 0, maxSize));
+    }
+
+    private int next() {
+        int c = cursor;
+        cursor = (c + 1) & (QUERIES - 1);
+        return c;
+    }
+
+    @Benchmark
+    public BVHf build() {
+        return new BVHf(boxes);
+    }
+
+    @Benchmark
+    public int rayFirstHitScan() {
+        Rayf ray = rays[next()];
+        int best = -1;
+        float bestNear = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (Intersectionf.intersectRayAab(ray, boxes[i], result) && result.x < bestNear) {
+                best = i;
+                bestNear = result.x;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int rayFirstHitBVH() {
+        return bvh.intersectRay(rays[next()], result);
+    }
+
+    @Benchmark
+    public int aabOverlapScan(Blackhole bh) {
+        AABBf query = queries[next()];
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (Intersectionf.testAabAab(boxes[i], query)) {
+                bh.consume(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int aabOverlapBVH(Blackhole bh) {
+        return bvh.queryAab(queries[next()], bh::consume);
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.Intersectionf;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares testing {@link #SPHERES} spheres against <code>count</code> boxes one sphere at a time with
+ * {@link Intersectionf#testAabSphere(float[], float[], float[], float[], float[], float[], int, float, float, float, float,
+ * boolean[])} against the parallel bulk overload on the common pool, which writes the results into bitsets.
+ * <p>
+ * The boxes and sphere centers are scattered within <code>[-100..100]</code> on every axis. Scores are for testing all
+ * spheres against all boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkQueryBenchmark {
+
+    private static final int SPHERES = 4096;
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private float[] minX, minY, minZ, maxX, maxY, maxZ;
+    private float[] centerX, centerY, centerZ, radiusSquared;
+    private boolean[] hit;
+    private long[] hits;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        minX = new float[count];
+        minY = new float[count];
+        minZ = new float[count];
+        maxX = new float[count];
+        maxY = new float[count];
+        maxZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            minX[i] = uniform(rnd, -100, 100);
+            minY[i] = uniform(rnd, -100, 100);
+            minZ[i] = uniform(rnd, -100, 100);
+            maxX[i] = minX[i] + uniform(rnd, 0.5f, 5);
+            maxY[i] = minY[i] + uniform(rnd, 0.5f, 5);
+            maxZ[i] = minZ[i] + uniform(rnd, 0.5f, 5);
+        }
+        centerX = new float[SPHERES];
+        centerY = new float[SPHERES];
+        centerZ = new float[SPHERES];
+        radiusSquared = new float[SPHERES];
+        for (int i = 0; i < SPHERES; i++) {
+            centerX[i] = uniform(rnd, -100, 100);
+            centerY[i] = uniform(rnd, -100, 100);
+            centerZ[i] = uniform(rnd, -100, 100);
+            radiusSquared[i] = uniform(rnd, 1, 100);
+        }
+        hit = new boolean[count];
+        hits = new long[SPHERES * ((count + 63) / 64)];
+    }
+
+    private static float uniform(Random rnd, float min, float max) {
+        return min + rnd.nextFloat() * (max - min);
+    }
+
+    @Benchmark
+    public long perSphere() {
+        long total = 0;
+        for (int q = 0; q < SPHERES; q++) {
+            total += Intersectionf.testAabSphere(minX, minY, minZ, maxX, maxY, maxZ, count,
+                    centerX[q], centerY[q], centerZ[q], radiusSquared[q], hit);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long bulk() {
+        return Intersectionf.testAabSphere(ForkJoinPool.commonPool(), minX, minY, minZ, maxX, maxY, maxZ, count,
+                centerX, centerY, centerZ, radiusSquared, SPHERES, hits);
+    }
+}
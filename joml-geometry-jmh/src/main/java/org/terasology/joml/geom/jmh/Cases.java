@@ -0,0 +1,258 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2d;
+import org.joml.Vector2f;
+import org.joml.Vector3d;
+import org.joml.Vector3f;
+import org.terasology.joml.geom.AABBd;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.LineSegmentf;
+import org.terasology.joml.geom.Planed;
+import org.terasology.joml.geom.Planef;
+import org.terasology.joml.geom.Rayd;
+import org.terasology.joml.geom.Rayf;
+import org.terasology.joml.geom.Spheref;
+
+import java.util.Random;
+
+/**
+ * A fixed-size table of pre-generated benchmark inputs.
+ * <p>
+ * Every case consists of <code>stride</code> consecutive arguments, kept in both single and double precision so that
+ * the {@link org.terasology.joml.geom.Intersectionf} and {@link org.terasology.joml.geom.Intersectiond} benchmarks
+ * run on the same data. Cases are drawn by rejection sampling until the requested fraction of them are hits, and are
+ * then shuffled so that the branch predictor cannot learn the hit/miss pattern.
+ */
+final class Cases {
+
+    /**
+     * The number of cases in every table; a power of two so that the cursor can wrap around with a mask.
+     */
+    static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+    private static final int MAX_ATTEMPTS = 1000 * SIZE;
+
+    /**
+     * Fills <code>args</code> with the arguments of one random case.
+     */
+    interface Generator {
+        void generate(Random rnd, double[] args);
+    }
+
+    /**
+     * Decides whether the case given by <code>args</code> is a hit for the function under test.
+     */
+    interface Classifier {
+        boolean isHit(double[] args);
+    }
+
+    final int stride;
+    final double[] d;
+    final float[] f;
+    private int cursor;
+
+    private Cases(int stride, double[] d) {
+        this.stride = stride;
+        this.d = d;
+        this.f = new float[d.length];
+        for (int i = 0; i < d.length; i++) {
+            f[i] = (float) d[i];
+        }
+    }
+
+    /**
+     * Generate a table of cases of which <code>hitRatio * SIZE</code> (rounded) are hits.
+     *
+     * @param stride the number of arguments per case
+     * @param hitRatio the fraction of hits, within <code>[0..1]</code>
+     * @param seed the seed of the random number generator
+     * @param generator produces random candidate cases
+     * @param classifier tells hits from misses
+     * @return the table
+     * @throws IllegalStateException if the generator does not produce enough hits or misses
+     */
+    static Cases sample(int stride, double hitRatio, long seed, Generator generator, Classifier classifier) {
+        Random rnd = new Random(seed);
+        int hits = (int) Math.round(hitRatio * SIZE);
+        int misses = SIZE - hits;
+        double[] d = new double[SIZE * stride];
+        double[] candidate = new double[stride];
+        int filled = 0;
+        for (int attempt = 0; filled < SIZE && attempt < MAX_ATTEMPTS; attempt++) {
+            generator.generate(rnd, candidate);
+            boolean hit = classifier.isHit(candidate);
+            if (hit && hits > 0) {
+                hits--;
+            } else if (!hit && misses > 0) {
+                misses--;
+            } else {
+                continue;
+            }
+            System.arraycopy(candidate, 0, d, filled * stride, stride);
+            filled++;
+        }
+        if (filled < SIZE) {
+            throw new IllegalStateException("Generator is missing " + hits + " hits and " + misses + " misses");
+        }
+        // Fisher-Yates on whole cases
+        double[] tmp = new double[stride];
+        for (int i = SIZE - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            System.arraycopy(d, i * stride, tmp, 0, stride);
+            System.arraycopy(d, j * stride, d, i * stride, stride);
+            System.arraycopy(tmp, 0, d, j * stride, stride);
+        }
+        return new Cases(stride, d);
+    }
+
+    /**
+     * Advance to the next case.
+     *
+     * @return the index of the case
+     */
+    int next() {
+        int c = cursor;
+        cursor = (c + 1) & MASK;
+        return c;
+    }
+
+    Vector3f[] vector3f(int arg) {
+        Vector3f[] result = new Vector3f[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Vector3f(f[o], f[o + 1], f[o + 2]);
+        }
+        return result;
+    }
+
+    Vector3d[] vector3d(int arg) {
+        Vector3d[] result = new Vector3d[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Vector3d(d[o], d[o + 1], d[o + 2]);
+        }
+        return result;
+    }
+
+    AABBf[] aabbf(int arg) {
+        AABBf[] result = new AABBf[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new AABBf(f[o], f[o + 1], f[o + 2], f[o + 3], f[o + 4], f[o + 5]);
+        }
+        return result;
+    }
+
+    AABBd[] aabbd(int arg) {
+        AABBd[] result = new AABBd[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new AABBd(d[o], d[o + 1], d[o + 2], d[o + 3], d[o + 4], d[o + 5]);
+        }
+        return result;
+    }
+
+    Rayf[] rayf(int arg) {
+        Rayf[] result = new Rayf[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Rayf(f[o], f[o + 1], f[o + 2], f[o + 3], f[o + 4], f[o + 5]);
+        }
+        return result;
+    }
+
+    Rayd[] rayd(int arg) {
+        Rayd[] result = new Rayd[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Rayd(d[o], d[o + 1], d[o + 2], d[o + 3], d[o + 4], d[o + 5]);
+        }
+        return result;
+    }
+
+    LineSegmentf[] lineSegmentf(int arg) {
+        LineSegmentf[] result = new LineSegmentf[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new LineSegmentf(f[o], f[o + 1], f[o + 2], f[o + 3], f[o + 4], f[o + 5]);
+        }
+        return result;
+    }
+
+    Planef[] planef(int arg) {
+        Planef[] result = new Planef[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Planef(f[o], f[o + 1], f[o + 2], f[o + 3]);
+        }
+        return result;
+    }
+
+    Planed[] planed(int arg) {
+        Planed[] result = new Planed[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Planed(d[o], d[o + 1], d[o + 2], d[o + 3]);
+        }
+        return result;
+    }
+
+    /**
+     * Sphere objects from a center at <code>arg</code> followed by either the radius or, as most of the
+     * primitive-argument overloads take it, the squared radius.
+     */
+    Spheref[] spheref(int arg, boolean squaredRadius) {
+        Spheref[] result = new Spheref[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int o = i * stride + arg;
+            result[i] = new Spheref(f[o], f[o + 1], f[o + 2], (float) (squaredRadius ? Math.sqrt(d[o + 3]) : d[o + 3]));
+        }
+        return result;
+    }
+
+    /**
+     * Copies of <code>length</code> consecutive arguments starting at <code>arg</code>, for overloads taking arrays.
+     */
+    float[][] floats(int arg, int length) {
+        float[][] result = new float[SIZE][length];
+        for (int i = 0; i < SIZE; i++) {
+            System.arraycopy(f, i * stride + arg, result[i], 0, length);
+        }
+        return result;
+    }
+
+    double[][] doubles(int arg, int length) {
+        double[][] result = new double[SIZE][length];
+        for (int i = 0; i < SIZE; i++) {
+            System.arraycopy(d, i * stride + arg, result[i], 0, length);
+        }
+        return result;
+    }
+
+    /**
+     * Vertices from <code>count</code> consecutive <code>(x, y)</code> pairs starting at <code>arg</code>.
+     */
+    Vector2f[][] vertices2f(int arg, int count) {
+        Vector2f[][] result = new Vector2f[SIZE][count];
+        for (int i = 0; i < SIZE; i++) {
+            for (int v = 0; v < count; v++) {
+                int o = i * stride + arg + 2 * v;
+                result[i][v] = new Vector2f(f[o], f[o + 1]);
+            }
+        }
+        return result;
+    }
+
+    Vector2d[][] vertices2d(int arg, int count) {
+        Vector2d[][] result = new Vector2d[SIZE][count];
+        for (int i = 0; i < SIZE; i++) {
+            for (int v = 0; v < count; v++) {
+                int o = i * stride + arg + 2 * v;
+                result[i][v] = new Vector2d(d[o], d[o + 1]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.BVHf;
+import org.terasology.joml.geom.Frustumf;
+import org.terasology.joml.geom.Intersectionf;
+import org.terasology.joml.geom.Planef;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares culling boxes by testing all six planes of a frustum against every box with {@link Frustumf}'s batch and
+ * hierarchical culling.
+ * <p>
+ * The boxes are scattered within <code>[-100..100]</code> on every axis and viewed from the origin with a field of view
+ * of 70 degrees.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrustumCullBenchmark {
+
+    @Param({"16384"})
+    public int count;
+
+    private AABBf[] boxes;
+    private float[] bounds;
+    private BVHf bvh;
+    private Frustumf frustum;
+    private final Planef[] planes = new Planef[6];
+    private byte[] results;
+    private byte[] planeCache;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        boxes = new AABBf[count];
+        bounds = new float[6 * count];
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 200 - 100, y = rnd.nextFloat() * 200 - 100, z = rnd.nextFloat() * 200 - 100;
+            boxes[i] = new AABBf(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+            bounds[6 * i] = boxes[i].minX;
+            bounds[6 * i + 1] = boxes[i].minY;
+            bounds[6 * i + 2] = boxes[i].minZ;
+            bounds[6 * i + 3] = boxes[i].maxX;
+            bounds[6 * i + 4] = boxes[i].maxY;
+            bounds[6 * i + 5] = boxes[i].maxZ;
+        }
+        bvh = new BVHf(boxes);
+        frustum = new Frustumf(new Matrix4f()
+                .perspective((float) Math.toRadians(70), 16.0f / 9.0f, 0.1f, 150)
+                .lookAt(0, 0, 0, 1, 0.2f, 0.5f, 0, 1, 0));
+        for (int p = 0; p < 6; p++) {
+            planes[p] = frustum.getPlane(p, new Planef());
+        }
+        results = new byte[count];
+        planeCache = new byte[count];
+    }
+
+    @Benchmark
+    public int planesScan() {
+        int visible = 0;
+        for (AABBf box : boxes) {
+            boolean inside = true;
+            for (Planef plane : planes) {
+                // testAabPlane reports boxes which intersect the plane, so a box is outside if its center is behind a
+                // plane it does not intersect.
+                if (!Intersectionf.testAabPlane(box, plane)
+                        && plane.a * (box.minX + box.maxX) + plane.b * (box.minY + box.maxY) + plane.c * (box.minZ + box.maxZ) < -2 * plane.d) {
+                    inside = false;
+                    break;
+                }
+            }
+            if (inside) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public int batch() {
+        return frustum.cull(bounds, 0, count, results, null);
+    }
+
+    @Benchmark
+    public int batchPlaneCache() {
+        return frustum.cull(bounds, 0, count, results, planeCache);
+    }
+
+    @Benchmark
+    public int hierarchy(Blackhole bh) {
+        return bvh.queryFrustum(frustum, bh::consume);
+    }
+}
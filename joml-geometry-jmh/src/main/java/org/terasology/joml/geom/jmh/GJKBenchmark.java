@@ -0,0 +1,111 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.Capsulef;
+import org.terasology.joml.geom.ConvexShapef;
+import org.terasology.joml.geom.GJKf;
+import org.terasology.joml.geom.OrientedBoxf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tests of {@link GJKf} on {@link #PAIRS} pairs of oriented boxes and capsules started cold against the
+ * same tests warm-started from the {@link GJKf.Cache} of each pair, as for contacts that persist between frames.
+ * <p>
+ * The shapes are scattered within <code>[-4..4]</code> on every axis, so about half of the pairs intersect. Scores are
+ * for testing all pairs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GJKBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private final GJKf gjk = new GJKf();
+    private final Vector3f normal = new Vector3f();
+    private final Vector3f pointA = new Vector3f();
+    private final Vector3f pointB = new Vector3f();
+    private ConvexShapef[] a, b;
+    private GJKf.Cache[] caches;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        a = new ConvexShapef[PAIRS];
+        b = new ConvexShapef[PAIRS];
+        caches = new GJKf.Cache[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            a[i] = new OrientedBoxf(randomVector(rnd, -4, 4), randomVector(rnd, 0.1f, 2), randomRotation(rnd));
+            b[i] = (i & 1) == 0
+                    ? new OrientedBoxf(randomVector(rnd, -4, 4), randomVector(rnd, 0.1f, 2), randomRotation(rnd))
+                    : new Capsulef(randomVector(rnd, -4, 4), randomVector(rnd, -4, 4), uniform(rnd, 0.25f, 1));
+            caches[i] = new GJKf.Cache();
+        }
+    }
+
+    private static float uniform(Random rnd, float min, float max) {
+        return min + rnd.nextFloat() * (max - min);
+    }
+
+    private static Vector3f randomVector(Random rnd, float min, float max) {
+        return new Vector3f(uniform(rnd, min, max), uniform(rnd, min, max), uniform(rnd, min, max));
+    }
+
+    private static Quaternionf randomRotation(Random rnd) {
+        return new Quaternionf().rotateXYZ(uniform(rnd, 0, 6), uniform(rnd, 0, 6), uniform(rnd, 0, 6));
+    }
+
+    @Benchmark
+    public int testIntersectionCold() {
+        int hits = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            hits += gjk.testIntersection(a[i], b[i], null) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int testIntersectionWarm() {
+        int hits = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            hits += gjk.testIntersection(a[i], b[i], caches[i]) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public float penetrationCold() {
+        float sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += gjk.penetration(a[i], b[i], null, normal, pointA, pointB);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float penetrationWarm() {
+        float sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += gjk.penetration(a[i], b[i], caches[i], normal, pointA, pointB);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,607 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2d;
+import org.joml.Vector3d;
+import org.joml.Vector4d;
+import org.terasology.joml.geom.Intersectiond;
+
+import java.util.Random;
+
+/**
+ * Case tables for every <code>test*</code>/<code>intersect*</code> family of {@link Intersectiond} and
+ * {@link org.terasology.joml.geom.Intersectionf}, in the argument order of their primitive-argument overloads.
+ * <p>
+ * All scenes live roughly within <code>[-1..1]</code> on every axis, with rays and segments starting up to three units
+ * away, so that random candidates produce a healthy mix of hits and misses for the rejection sampling in
+ * {@link Cases#sample(int, double, long, Cases.Generator, Cases.Classifier)}. Hits are classified in double precision.
+ */
+final class IntersectionCases {
+
+    /**
+     * Epsilon passed to all tests that take one.
+     */
+    static final double EPSILON = 1E-6;
+    /**
+     * Maximum time passed to the swept sphere tests.
+     */
+    static final double MAX_T = 1.0;
+    /**
+     * Number of vertices of the convex polygons used by the polygon tests.
+     */
+    static final int POLYGON_VERTICES = 8;
+
+    private static final long SEED = 0x5EED_1DEAL;
+
+    private IntersectionCases() {
+    }
+
+    /* 3D */
+
+    static Cases planeSphere(double hitRatio) {
+        // a, b, c, d, centerX, centerY, centerZ, radius
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            plane(rnd, a, 0);
+            point(rnd, a, 4, 1.0);
+            a[7] = uniform(rnd, 0.1, 0.5);
+        }, a -> Intersectiond.testPlaneSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+    }
+
+    static Cases planeSweptSphere(double hitRatio) {
+        // a, b, c, d, centerX, centerY, centerZ, radius, velX, velY, velZ
+        Vector4d pointAndTime = new Vector4d();
+        return Cases.sample(11, hitRatio, SEED, (rnd, a) -> {
+            plane(rnd, a, 0);
+            point(rnd, a, 4, 1.5);
+            a[7] = uniform(rnd, 0.1, 0.5);
+            point(rnd, a, 8, 1.0);
+        }, a -> Intersectiond.intersectPlaneSweptSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9],
+                a[10], pointAndTime));
+    }
+
+    static Cases planeSweptSphereFromTo(double hitRatio) {
+        // a, b, c, d, t0X, t0Y, t0Z, radius, t1X, t1Y, t1Z
+        return Cases.sample(11, hitRatio, SEED, (rnd, a) -> {
+            plane(rnd, a, 0);
+            point(rnd, a, 4, 1.5);
+            a[7] = uniform(rnd, 0.1, 0.5);
+            point(rnd, a, 8, 1.5);
+        }, a -> Intersectiond.testPlaneSweptSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10]));
+    }
+
+    static Cases aabPlane(double hitRatio) {
+        // minX, minY, minZ, maxX, maxY, maxZ, a, b, c, d
+        return Cases.sample(10, hitRatio, SEED, (rnd, a) -> {
+            box(rnd, a, 0);
+            plane(rnd, a, 6);
+        }, a -> Intersectiond.testAabPlane(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9]));
+    }
+
+    static Cases aabAab(double hitRatio) {
+        // minXA, minYA, minZA, maxXA, maxYA, maxZA, minXB, minYB, minZB, maxXB, maxYB, maxZB
+        return Cases.sample(12, hitRatio, SEED, (rnd, a) -> {
+            box(rnd, a, 0);
+            box(rnd, a, 6);
+        }, a -> Intersectiond.testAabAab(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11]));
+    }
+
+    static Cases obOb(double hitRatio) {
+        // per box: center, unit x, unit y, unit z, half-size
+        return Cases.sample(30, hitRatio, SEED, (rnd, a) -> {
+            orientedBox(rnd, a, 0);
+            orientedBox(rnd, a, 15);
+        }, a -> Intersectiond.testObOb(
+                new Vector3d(a[0], a[1], a[2]), new Vector3d(a[3], a[4], a[5]), new Vector3d(a[6], a[7], a[8]),
+                new Vector3d(a[9], a[10], a[11]), new Vector3d(a[12], a[13], a[14]),
+                new Vector3d(a[15], a[16], a[17]), new Vector3d(a[18], a[19], a[20]), new Vector3d(a[21], a[22], a[23]),
+                new Vector3d(a[24], a[25], a[26]), new Vector3d(a[27], a[28], a[29])));
+    }
+
+    static Cases sphereSphere(double hitRatio) {
+        // aX, aY, aZ, radiusSquaredA, bX, bY, bZ, radiusSquaredB
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 1.0);
+            a[3] = square(uniform(rnd, 0.1, 0.6));
+            point(rnd, a, 4, 1.0);
+            a[7] = square(uniform(rnd, 0.1, 0.6));
+        }, a -> Intersectiond.testSphereSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+    }
+
+    static Cases sphereSphereIntersection(double hitRatio) {
+        // aX, aY, aZ, radiusSquaredA, bX, bY, bZ, radiusSquaredB
+        Vector4d centerAndRadius = new Vector4d();
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 1.0);
+            a[3] = square(uniform(rnd, 0.1, 0.6));
+            point(rnd, a, 4, 1.0);
+            a[7] = square(uniform(rnd, 0.1, 0.6));
+        }, a -> Intersectiond.intersectSphereSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], centerAndRadius));
+    }
+
+    static Cases sphereTriangle(double hitRatio) {
+        // sX, sY, sZ, sR, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z
+        Vector3d result = new Vector3d();
+        return Cases.sample(13, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 1.0);
+            a[3] = uniform(rnd, 0.1, 0.5);
+            triangle(rnd, a, 4);
+        }, a -> Intersectiond.intersectSphereTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9],
+                a[10], a[11], a[12], result) != 0);
+    }
+
+    static Cases rayPlane(double hitRatio) {
+        // originX, originY, originZ, dirX, dirY, dirZ, pointX, pointY, pointZ, normalX, normalY, normalZ
+        return Cases.sample(12, hitRatio, SEED, (rnd, a) -> {
+            ray(rnd, a, 0);
+            point(rnd, a, 6, 1.0);
+            unit(rnd, a, 9);
+        }, a -> Intersectiond.intersectRayPlane(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10],
+                a[11], EPSILON) >= 0.0);
+    }
+
+    static Cases aabSphere(double hitRatio) {
+        // minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radiusSquared
+        return Cases.sample(10, hitRatio, SEED, (rnd, a) -> {
+            box(rnd, a, 0);
+            point(rnd, a, 6, 1.0);
+            a[9] = square(uniform(rnd, 0.1, 0.5));
+        }, a -> Intersectiond.testAabSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9]));
+    }
+
+    static Cases sweptSphereTriangle(double hitRatio) {
+        // centerX, centerY, centerZ, radius, velX, velY, velZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z
+        Vector4d pointAndTime = new Vector4d();
+        return Cases.sample(16, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 1.5);
+            a[3] = uniform(rnd, 0.1, 0.5);
+            point(rnd, a, 4, 2.0);
+            triangle(rnd, a, 7);
+        }, a -> Intersectiond.intersectSweptSphereTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9],
+                a[10], a[11], a[12], a[13], a[14], a[15], EPSILON, MAX_T, pointAndTime) != 0);
+    }
+
+    static Cases pointInTriangle(double hitRatio) {
+        // pX, pY, pZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z
+        return Cases.sample(12, hitRatio, SEED, (rnd, a) -> {
+            triangle(rnd, a, 3);
+            // a point in the plane of the triangle, inside it iff all barycentric coordinates are positive
+            double u = uniform(rnd, -0.3, 1.0), v = uniform(rnd, -0.3, 1.0), w = 1.0 - u - v;
+            for (int i = 0; i < 3; i++) {
+                a[i] = w * a[3 + i] + u * a[6 + i] + v * a[9 + i];
+            }
+        }, a -> Intersectiond.testPointInTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10],
+                a[11]));
+    }
+
+    static Cases raySphere(double hitRatio) {
+        // originX, originY, originZ, dirX, dirY, dirZ, centerX, centerY, centerZ, radiusSquared
+        return Cases.sample(10, hitRatio, SEED, (rnd, a) -> {
+            ray(rnd, a, 0);
+            point(rnd, a, 6, 1.0);
+            a[9] = square(uniform(rnd, 0.1, 0.5));
+        }, a -> Intersectiond.testRaySphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9]));
+    }
+
+    static Cases lineSegmentSphere(double hitRatio) {
+        // p0X, p0Y, p0Z, p1X, p1Y, p1Z, centerX, centerY, centerZ, radiusSquared
+        return Cases.sample(10, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 2.0);
+            point(rnd, a, 3, 2.0);
+            point(rnd, a, 6, 1.0);
+            a[9] = square(uniform(rnd, 0.1, 0.5));
+        }, a -> Intersectiond.testLineSegmentSphere(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9]));
+    }
+
+    static Cases rayAab(double hitRatio) {
+        // originX, originY, originZ, dirX, dirY, dirZ, minX, minY, minZ, maxX, maxY, maxZ
+        return Cases.sample(12, hitRatio, SEED, (rnd, a) -> {
+            ray(rnd, a, 0);
+            box(rnd, a, 6);
+        }, a -> Intersectiond.testRayAab(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11]));
+    }
+
+    static Cases lineSegmentAab(double hitRatio) {
+        // p0X, p0Y, p0Z, p1X, p1Y, p1Z, minX, minY, minZ, maxX, maxY, maxZ
+        Vector2d result = new Vector2d();
+        return Cases.sample(12, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 2.0);
+            point(rnd, a, 3, 2.0);
+            box(rnd, a, 6);
+        }, a -> Intersectiond.intersectLineSegmentAab(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9],
+                a[10], a[11], result) != Intersectiond.OUTSIDE);
+    }
+
+    static Cases rayTriangle(double hitRatio) {
+        // originX, originY, originZ, dirX, dirY, dirZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z
+        return Cases.sample(15, hitRatio, SEED, (rnd, a) -> {
+            ray(rnd, a, 0);
+            triangle(rnd, a, 6);
+        }, a -> Intersectiond.testRayTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10],
+                a[11], a[12], a[13], a[14], EPSILON));
+    }
+
+    static Cases rayTriangleFront(double hitRatio) {
+        // originX, originY, originZ, dirX, dirY, dirZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z
+        return Cases.sample(15, hitRatio, SEED, (rnd, a) -> {
+            ray(rnd, a, 0);
+            triangle(rnd, a, 6);
+        }, a -> Intersectiond.testRayTriangleFront(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10],
+                a[11], a[12], a[13], a[14], EPSILON));
+    }
+
+    static Cases lineSegmentTriangle(double hitRatio) {
+        // p0X, p0Y, p0Z, p1X, p1Y, p1Z, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z
+        return Cases.sample(15, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 2.0);
+            point(rnd, a, 3, 2.0);
+            triangle(rnd, a, 6);
+        }, a -> Intersectiond.testLineSegmentTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9],
+                a[10], a[11], a[12], a[13], a[14], EPSILON));
+    }
+
+    static Cases lineSegmentPlane(double hitRatio) {
+        // p0X, p0Y, p0Z, p1X, p1Y, p1Z, a, b, c, d
+        Vector3d intersectionPoint = new Vector3d();
+        return Cases.sample(10, hitRatio, SEED, (rnd, a) -> {
+            point(rnd, a, 0, 2.0);
+            point(rnd, a, 3, 2.0);
+            plane(rnd, a, 6);
+        }, a -> Intersectiond.intersectLineSegmentPlane(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9],
+                intersectionPoint));
+    }
+
+    /* 2D */
+
+    static Cases lineCircle(double hitRatio) {
+        // a, b, c, centerX, centerY, radius
+        return Cases.sample(6, hitRatio, SEED, (rnd, a) -> {
+            line(rnd, a, 0);
+            point2(rnd, a, 3, 1.0);
+            a[5] = uniform(rnd, 0.1, 0.5);
+        }, a -> Intersectiond.testLineCircle(a[0], a[1], a[2], a[3], a[4], a[5]));
+    }
+
+    static Cases aarLine(double hitRatio) {
+        // minX, minY, maxX, maxY, a, b, c
+        return Cases.sample(7, hitRatio, SEED, (rnd, a) -> {
+            rectangle(rnd, a, 0);
+            line(rnd, a, 4);
+        }, a -> Intersectiond.testAarLine(a[0], a[1], a[2], a[3], a[4], a[5], a[6]));
+    }
+
+    static Cases aarAar(double hitRatio) {
+        // minXA, minYA, maxXA, maxYA, minXB, minYB, maxXB, maxYB
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            rectangle(rnd, a, 0);
+            rectangle(rnd, a, 4);
+        }, a -> Intersectiond.testAarAar(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+    }
+
+    static Cases movingCircleCircle(double hitRatio) {
+        // aX, aY, maX, maY, aR, bX, bY, bR
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.5);
+            point2(rnd, a, 2, 1.5);
+            a[4] = uniform(rnd, 0.1, 0.5);
+            point2(rnd, a, 5, 1.0);
+            a[7] = uniform(rnd, 0.1, 0.5);
+        }, a -> Intersectiond.testMovingCircleCircle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+    }
+
+    static Cases circleCircleIntersection(double hitRatio) {
+        // aX, aY, radiusSquaredA, bX, bY, radiusSquaredB
+        Vector3d intersectionCenterAndHL = new Vector3d();
+        return Cases.sample(6, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.0);
+            a[2] = square(uniform(rnd, 0.1, 0.6));
+            point2(rnd, a, 3, 1.0);
+            a[5] = square(uniform(rnd, 0.1, 0.6));
+        }, a -> Intersectiond.intersectCircleCircle(a[0], a[1], a[2], a[3], a[4], a[5], intersectionCenterAndHL));
+    }
+
+    static Cases circleCircle(double hitRatio) {
+        // aX, aY, rA, bX, bY, rB
+        return Cases.sample(6, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.0);
+            a[2] = uniform(rnd, 0.1, 0.6);
+            point2(rnd, a, 3, 1.0);
+            a[5] = uniform(rnd, 0.1, 0.6);
+        }, a -> Intersectiond.testCircleCircle(a[0], a[1], a[2], a[3], a[4], a[5]));
+    }
+
+    static Cases rayLine(double hitRatio) {
+        // originX, originY, dirX, dirY, pointX, pointY, normalX, normalY
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            ray2(rnd, a, 0);
+            point2(rnd, a, 4, 1.0);
+            unit2(rnd, a, 6);
+        }, a -> Intersectiond.intersectRayLine(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], EPSILON) >= 0.0);
+    }
+
+    static Cases rayLineSegment(double hitRatio) {
+        // originX, originY, dirX, dirY, aX, aY, bX, bY
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            ray2(rnd, a, 0);
+            point2(rnd, a, 4, 1.0);
+            point2(rnd, a, 6, 1.0);
+        }, a -> Intersectiond.intersectRayLineSegment(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]) >= 0.0);
+    }
+
+    static Cases aarCircle(double hitRatio) {
+        // minX, minY, maxX, maxY, centerX, centerY, radiusSquared
+        return Cases.sample(7, hitRatio, SEED, (rnd, a) -> {
+            rectangle(rnd, a, 0);
+            point2(rnd, a, 4, 1.0);
+            a[6] = square(uniform(rnd, 0.1, 0.5));
+        }, a -> Intersectiond.testAarCircle(a[0], a[1], a[2], a[3], a[4], a[5], a[6]));
+    }
+
+    static Cases rayCircle(double hitRatio) {
+        // originX, originY, dirX, dirY, centerX, centerY, radiusSquared
+        return Cases.sample(7, hitRatio, SEED, (rnd, a) -> {
+            ray2(rnd, a, 0);
+            point2(rnd, a, 4, 1.0);
+            a[6] = square(uniform(rnd, 0.1, 0.5));
+        }, a -> Intersectiond.testRayCircle(a[0], a[1], a[2], a[3], a[4], a[5], a[6]));
+    }
+
+    static Cases rayAar(double hitRatio) {
+        // originX, originY, dirX, dirY, minX, minY, maxX, maxY
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            ray2(rnd, a, 0);
+            rectangle(rnd, a, 4);
+        }, a -> Intersectiond.testRayAar(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+    }
+
+    static Cases lineSegmentAar(double hitRatio) {
+        // p0X, p0Y, p1X, p1Y, minX, minY, maxX, maxY
+        Vector2d result = new Vector2d();
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 2.0);
+            point2(rnd, a, 2, 2.0);
+            rectangle(rnd, a, 4);
+        }, a -> Intersectiond.intersectLineSegmentAar(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7],
+                result) != Intersectiond.OUTSIDE);
+    }
+
+    static Cases pointTriangle(double hitRatio) {
+        // pX, pY, v0X, v0Y, v1X, v1Y, v2X, v2Y
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.0);
+            triangle2(rnd, a, 2);
+        }, a -> Intersectiond.testPointTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]));
+    }
+
+    static Cases pointAar(double hitRatio) {
+        // pX, pY, minX, minY, maxX, maxY
+        return Cases.sample(6, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.0);
+            rectangle(rnd, a, 2);
+        }, a -> Intersectiond.testPointAar(a[0], a[1], a[2], a[3], a[4], a[5]));
+    }
+
+    static Cases pointCircle(double hitRatio) {
+        // pX, pY, centerX, centerY, radiusSquared
+        return Cases.sample(5, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.0);
+            point2(rnd, a, 2, 1.0);
+            a[4] = square(uniform(rnd, 0.1, 0.6));
+        }, a -> Intersectiond.testPointCircle(a[0], a[1], a[2], a[3], a[4]));
+    }
+
+    static Cases circleTriangle(double hitRatio) {
+        // centerX, centerY, radiusSquared, v0X, v0Y, v1X, v1Y, v2X, v2Y
+        return Cases.sample(9, hitRatio, SEED, (rnd, a) -> {
+            point2(rnd, a, 0, 1.0);
+            a[2] = square(uniform(rnd, 0.1, 0.5));
+            triangle2(rnd, a, 3);
+        }, a -> Intersectiond.testCircleTriangle(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8]));
+    }
+
+    static Cases polygonRay(double hitRatio) {
+        // originX, originY, dirX, dirY, followed by the polygon's vertices as (x, y) pairs
+        Vector2d p = new Vector2d();
+        double[] verticesXY = new double[2 * POLYGON_VERTICES];
+        return Cases.sample(4 + 2 * POLYGON_VERTICES, hitRatio, SEED, (rnd, a) -> {
+            ray2(rnd, a, 0);
+            polygon(rnd, a, 4);
+        }, a -> {
+            System.arraycopy(a, 4, verticesXY, 0, verticesXY.length);
+            return Intersectiond.intersectPolygonRay(verticesXY, a[0], a[1], a[2], a[3], p) != -1;
+        });
+    }
+
+    static Cases lineLine(double hitRatio) {
+        // ps1x, ps1y, pe1x, pe1y, ps2x, ps2y, pe2x, pe2y
+        Vector2d p = new Vector2d();
+        return Cases.sample(8, hitRatio, SEED, (rnd, a) -> {
+            // Lines only miss when they are parallel, so half of the candidates are made parallel on purpose. The
+            // coordinates are multiples of 1/64 so that they stay exactly parallel in single precision, too.
+            for (int i = 0; i < 6; i++) {
+                a[i] = rnd.nextInt(129) / 64.0 - 1.0;
+            }
+            if (rnd.nextBoolean()) {
+                a[6] = a[4] + a[2] - a[0];
+                a[7] = a[5] + a[3] - a[1];
+            } else {
+                a[6] = rnd.nextInt(129) / 64.0 - 1.0;
+                a[7] = rnd.nextInt(129) / 64.0 - 1.0;
+            }
+        }, a -> Intersectiond.intersectLineLine(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], p));
+    }
+
+    static Cases polygonPolygon(double hitRatio) {
+        // the vertices of both polygons as (x, y) pairs
+        Vector2d[] v1s = new Vector2d[POLYGON_VERTICES];
+        Vector2d[] v2s = new Vector2d[POLYGON_VERTICES];
+        return Cases.sample(4 * POLYGON_VERTICES, hitRatio, SEED, (rnd, a) -> {
+            polygon(rnd, a, 0);
+            polygon(rnd, a, 2 * POLYGON_VERTICES);
+        }, a -> {
+            for (int i = 0; i < POLYGON_VERTICES; i++) {
+                v1s[i] = new Vector2d(a[2 * i], a[2 * i + 1]);
+                v2s[i] = new Vector2d(a[2 * (POLYGON_VERTICES + i)], a[2 * (POLYGON_VERTICES + i) + 1]);
+            }
+            return Intersectiond.testPolygonPolygon(v1s, v2s);
+        });
+    }
+
+    /* generators */
+
+    private static double uniform(Random rnd, double min, double max) {
+        return min + rnd.nextDouble() * (max - min);
+    }
+
+    private static double square(double v) {
+        return v * v;
+    }
+
+    private static void point(Random rnd, double[] a, int o, double extent) {
+        a[o] = uniform(rnd, -extent, extent);
+        a[o + 1] = uniform(rnd, -extent, extent);
+        a[o + 2] = uniform(rnd, -extent, extent);
+    }
+
+    private static void point2(Random rnd, double[] a, int o, double extent) {
+        a[o] = uniform(rnd, -extent, extent);
+        a[o + 1] = uniform(rnd, -extent, extent);
+    }
+
+    private static void unit(Random rnd, double[] a, int o) {
+        double x, y, z, lengthSquared;
+        do {
+            x = uniform(rnd, -1.0, 1.0);
+            y = uniform(rnd, -1.0, 1.0);
+            z = uniform(rnd, -1.0, 1.0);
+            lengthSquared = x * x + y * y + z * z;
+        } while (lengthSquared > 1.0 || lengthSquared < 1E-4);
+        double invLength = 1.0 / Math.sqrt(lengthSquared);
+        a[o] = x * invLength;
+        a[o + 1] = y * invLength;
+        a[o + 2] = z * invLength;
+    }
+
+    private static void unit2(Random rnd, double[] a, int o) {
+        double angle = uniform(rnd, 0.0, 2.0 * Math.PI);
+        a[o] = Math.cos(angle);
+        a[o + 1] = Math.sin(angle);
+    }
+
+    /**
+     * An origin up to three units away, pointing at a random target within the scene.
+     */
+    private static void ray(Random rnd, double[] a, int o) {
+        point(rnd, a, o, 3.0);
+        double x = uniform(rnd, -1.0, 1.0) - a[o];
+        double y = uniform(rnd, -1.0, 1.0) - a[o + 1];
+        double z = uniform(rnd, -1.0, 1.0) - a[o + 2];
+        double invLength = 1.0 / Math.sqrt(x * x + y * y + z * z);
+        a[o + 3] = x * invLength;
+        a[o + 4] = y * invLength;
+        a[o + 5] = z * invLength;
+    }
+
+    private static void ray2(Random rnd, double[] a, int o) {
+        point2(rnd, a, o, 3.0);
+        double x = uniform(rnd, -1.0, 1.0) - a[o];
+        double y = uniform(rnd, -1.0, 1.0) - a[o + 1];
+        double invLength = 1.0 / Math.sqrt(x * x + y * y);
+        a[o + 2] = x * invLength;
+        a[o + 3] = y * invLength;
+    }
+
+    /**
+     * A box as minimum corner followed by maximum corner.
+     */
+    private static void box(Random rnd, double[] a, int o) {
+        for (int i = 0; i < 3; i++) {
+            double center = uniform(rnd, -1.0, 1.0), halfSize = uniform(rnd, 0.05, 0.5);
+            a[o + i] = center - halfSize;
+            a[o + 3 + i] = center + halfSize;
+        }
+    }
+
+    /**
+     * A rectangle as <code>minX, minY, maxX, maxY</code>.
+     */
+    private static void rectangle(Random rnd, double[] a, int o) {
+        for (int i = 0; i < 2; i++) {
+            double center = uniform(rnd, -1.0, 1.0), halfSize = uniform(rnd, 0.05, 0.5);
+            a[o + i] = center - halfSize;
+            a[o + 2 + i] = center + halfSize;
+        }
+    }
+
+    /**
+     * A plane equation with a normalized normal.
+     */
+    private static void plane(Random rnd, double[] a, int o) {
+        unit(rnd, a, o);
+        a[o + 3] = uniform(rnd, -1.0, 1.0);
+    }
+
+    /**
+     * A line equation with a normalized normal.
+     */
+    private static void line(Random rnd, double[] a, int o) {
+        unit2(rnd, a, o);
+        a[o + 2] = uniform(rnd, -1.0, 1.0);
+    }
+
+    private static void triangle(Random rnd, double[] a, int o) {
+        double cx = uniform(rnd, -1.0, 1.0), cy = uniform(rnd, -1.0, 1.0), cz = uniform(rnd, -1.0, 1.0);
+        for (int i = 0; i < 3; i++) {
+            a[o + 3 * i] = cx + uniform(rnd, -0.75, 0.75);
+            a[o + 3 * i + 1] = cy + uniform(rnd, -0.75, 0.75);
+            a[o + 3 * i + 2] = cz + uniform(rnd, -0.75, 0.75);
+        }
+    }
+
+    private static void triangle2(Random rnd, double[] a, int o) {
+        double cx = uniform(rnd, -1.0, 1.0), cy = uniform(rnd, -1.0, 1.0);
+        for (int i = 0; i < 3; i++) {
+            a[o + 2 * i] = cx + uniform(rnd, -0.75, 0.75);
+            a[o + 2 * i + 1] = cy + uniform(rnd, -0.75, 0.75);
+        }
+    }
+
+    /**
+     * A regular convex polygon with {@link #POLYGON_VERTICES} vertices in counter-clockwise order.
+     */
+    private static void polygon(Random rnd, double[] a, int o) {
+        double cx = uniform(rnd, -1.0, 1.0), cy = uniform(rnd, -1.0, 1.0);
+        double radius = uniform(rnd, 0.1, 0.6), phase = uniform(rnd, 0.0, 2.0 * Math.PI);
+        for (int i = 0; i < POLYGON_VERTICES; i++) {
+            double angle = phase + 2.0 * Math.PI * i / POLYGON_VERTICES;
+            a[o + 2 * i] = cx + radius * Math.cos(angle);
+            a[o + 2 * i + 1] = cy + radius * Math.sin(angle);
+        }
+    }
+
+    /**
+     * An oriented box as center, the three unit vectors of its orthonormal basis and its half-size.
+     */
+    private static void orientedBox(Random rnd, double[] a, int o) {
+        point(rnd, a, o, 1.0);
+        // uniformly distributed rotation from a random unit quaternion
+        double qx = rnd.nextGaussian(), qy = rnd.nextGaussian(), qz = rnd.nextGaussian(), qw = rnd.nextGaussian();
+        double invLength = 1.0 / Math.sqrt(qx * qx + qy * qy + qz * qz + qw * qw);
+        qx *= invLength;
+        qy *= invLength;
+        qz *= invLength;
+        qw *= invLength;
+        a[o + 3] = 1.0 - 2.0 * (qy * qy + qz * qz);
+        a[o + 4] = 2.0 * (qx * qy + qz * qw);
+        a[o + 5] = 2.0 * (qx * qz - qy * qw);
+        a[o + 6] = 2.0 * (qx * qy - qz * qw);
+        a[o + 7] = 1.0 - 2.0 * (qx * qx + qz * qz);
+        a[o + 8] = 2.0 * (qy * qz + qx * qw);
+        a[o + 9] = 2.0 * (qx * qz + qy * qw);
+        a[o + 10] = 2.0 * (qy * qz - qx * qw);
+        a[o + 11] = 1.0 - 2.0 * (qx * qx + qy * qy);
+        a[o + 12] = uniform(rnd, 0.1, 0.5);
+        a[o + 13] = uniform(rnd, 0.1, 0.5);
+        a[o + 14] = uniform(rnd, 0.1, 0.5);
+    }
+}
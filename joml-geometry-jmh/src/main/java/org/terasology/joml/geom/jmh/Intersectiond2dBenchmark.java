@@ -0,0 +1,278 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2d;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.ConvexPolygond;
+import org.terasology.joml.geom.Intersectiond;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the 2D <code>test*</code> and <code>intersect*</code> families of {@link Intersectiond}.
+ * <p>
+ * Every family is measured through its primitive-argument overload. Each invocation tests the next case of a
+ * shuffled {@link Cases} table whose hit ratio is the <code>hitRatio</code> parameter. The polygon cases are also
+ * measured with the cached edge normals of {@link ConvexPolygond}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Intersectiond2dBenchmark {
+
+    private static final double EPSILON = IntersectionCases.EPSILON;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double hitRatio;
+
+    private final Vector2d vector2 = new Vector2d();
+    private final Vector3d vector3 = new Vector3d();
+
+    private Cases lineCircle;
+    private Cases aarLine;
+    private Cases aarAar;
+    private Cases movingCircleCircle;
+    private Cases circleCircleIntersection;
+    private Cases circleCircle;
+    private Cases rayLine;
+    private Cases rayLineSegment;
+    private Cases aarCircle;
+    private Cases rayCircle;
+    private Cases rayAar;
+    private Cases lineSegmentAar;
+    private Cases pointTriangle;
+    private Cases pointAar;
+    private Cases pointCircle;
+    private Cases circleTriangle;
+    private Cases polygonRay;
+    private double[][] polygonRayVertices;
+    private Cases lineLine;
+    private Cases polygonPolygon;
+    private Vector2d[][] polygonPolygonA;
+    private Vector2d[][] polygonPolygonB;
+    private ConvexPolygond[] convexPolygonA;
+    private ConvexPolygond[] convexPolygonB;
+
+    @Setup
+    public void setup() {
+        lineCircle = IntersectionCases.lineCircle(hitRatio);
+        aarLine = IntersectionCases.aarLine(hitRatio);
+        aarAar = IntersectionCases.aarAar(hitRatio);
+        movingCircleCircle = IntersectionCases.movingCircleCircle(hitRatio);
+        circleCircleIntersection = IntersectionCases.circleCircleIntersection(hitRatio);
+        circleCircle = IntersectionCases.circleCircle(hitRatio);
+        rayLine = IntersectionCases.rayLine(hitRatio);
+        rayLineSegment = IntersectionCases.rayLineSegment(hitRatio);
+        aarCircle = IntersectionCases.aarCircle(hitRatio);
+        rayCircle = IntersectionCases.rayCircle(hitRatio);
+        rayAar = IntersectionCases.rayAar(hitRatio);
+        lineSegmentAar = IntersectionCases.lineSegmentAar(hitRatio);
+        pointTriangle = IntersectionCases.pointTriangle(hitRatio);
+        pointAar = IntersectionCases.pointAar(hitRatio);
+        pointCircle = IntersectionCases.pointCircle(hitRatio);
+        circleTriangle = IntersectionCases.circleTriangle(hitRatio);
+        polygonRay = IntersectionCases.polygonRay(hitRatio);
+        polygonRayVertices = polygonRay.doubles(4, 2 * IntersectionCases.POLYGON_VERTICES);
+        lineLine = IntersectionCases.lineLine(hitRatio);
+        polygonPolygon = IntersectionCases.polygonPolygon(hitRatio);
+        polygonPolygonA = polygonPolygon.vertices2d(0, IntersectionCases.POLYGON_VERTICES);
+        polygonPolygonB = polygonPolygon.vertices2d(2 * IntersectionCases.POLYGON_VERTICES,
+                IntersectionCases.POLYGON_VERTICES);
+        convexPolygonA = new ConvexPolygond[polygonPolygonA.length];
+        convexPolygonB = new ConvexPolygond[polygonPolygonB.length];
+        for (int i = 0; i < polygonPolygonA.length; i++) {
+            convexPolygonA[i] = new ConvexPolygond(polygonPolygonA[i]);
+            convexPolygonB[i] = new ConvexPolygond(polygonPolygonB[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean testLineCircle() {
+        int o = lineCircle.next() * lineCircle.stride;
+        double[] a = lineCircle.d;
+        return Intersectiond.testLineCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5]);
+    }
+
+    @Benchmark
+    public boolean intersectLineCircle() {
+        int o = lineCircle.next() * lineCircle.stride;
+        double[] a = lineCircle.d;
+        return Intersectiond.intersectLineCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], vector3);
+    }
+
+    @Benchmark
+    public boolean testAarLine() {
+        int o = aarLine.next() * aarLine.stride;
+        double[] a = aarLine.d;
+        return Intersectiond.testAarLine(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6]);
+    }
+
+    @Benchmark
+    public boolean testAarAar() {
+        int o = aarAar.next() * aarAar.stride;
+        double[] a = aarAar.d;
+        return Intersectiond.testAarAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testMovingCircleCircle() {
+        int o = movingCircleCircle.next() * movingCircleCircle.stride;
+        double[] a = movingCircleCircle.d;
+        return Intersectiond.testMovingCircleCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean intersectCircleCircle() {
+        int o = circleCircleIntersection.next() * circleCircleIntersection.stride;
+        double[] a = circleCircleIntersection.d;
+        return Intersectiond.intersectCircleCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], vector3);
+    }
+
+    @Benchmark
+    public boolean testCircleCircle() {
+        int o = circleCircle.next() * circleCircle.stride;
+        double[] a = circleCircle.d;
+        return Intersectiond.testCircleCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5]);
+    }
+
+    @Benchmark
+    public double intersectRayLine() {
+        int o = rayLine.next() * rayLine.stride;
+        double[] a = rayLine.d;
+        return Intersectiond.intersectRayLine(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayLineSegment() {
+        int o = rayLineSegment.next() * rayLineSegment.stride;
+        double[] a = rayLineSegment.d;
+        return Intersectiond.intersectRayLineSegment(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testAarCircle() {
+        int o = aarCircle.next() * aarCircle.stride;
+        double[] a = aarCircle.d;
+        return Intersectiond.testAarCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6]);
+    }
+
+    @Benchmark
+    public boolean testRayCircle() {
+        int o = rayCircle.next() * rayCircle.stride;
+        double[] a = rayCircle.d;
+        return Intersectiond.testRayCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6]);
+    }
+
+    @Benchmark
+    public boolean intersectRayCircle() {
+        int o = rayCircle.next() * rayCircle.stride;
+        double[] a = rayCircle.d;
+        return Intersectiond.intersectRayCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                vector2);
+    }
+
+    @Benchmark
+    public boolean testRayAar() {
+        int o = rayAar.next() * rayAar.stride;
+        double[] a = rayAar.d;
+        return Intersectiond.testRayAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7]);
+    }
+
+    @Benchmark
+    public int intersectRayAar() {
+        int o = rayAar.next() * rayAar.stride;
+        double[] a = rayAar.d;
+        return Intersectiond.intersectRayAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAar() {
+        int o = lineSegmentAar.next() * lineSegmentAar.stride;
+        double[] a = lineSegmentAar.d;
+        return Intersectiond.intersectLineSegmentAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], vector2);
+    }
+
+    @Benchmark
+    public boolean testPointTriangle() {
+        int o = pointTriangle.next() * pointTriangle.stride;
+        double[] a = pointTriangle.d;
+        return Intersectiond.testPointTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testPointAar() {
+        int o = pointAar.next() * pointAar.stride;
+        double[] a = pointAar.d;
+        return Intersectiond.testPointAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5]);
+    }
+
+    @Benchmark
+    public boolean testPointCircle() {
+        int o = pointCircle.next() * pointCircle.stride;
+        double[] a = pointCircle.d;
+        return Intersectiond.testPointCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4]);
+    }
+
+    @Benchmark
+    public boolean testCircleTriangle() {
+        int o = circleTriangle.next() * circleTriangle.stride;
+        double[] a = circleTriangle.d;
+        return Intersectiond.testCircleTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8]);
+    }
+
+    @Benchmark
+    public int intersectPolygonRay() {
+        int i = polygonRay.next();
+        int o = i * polygonRay.stride;
+        double[] a = polygonRay.d;
+        return Intersectiond.intersectPolygonRay(polygonRayVertices[i], a[o], a[o + 1], a[o + 2], a[o + 3], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectLineLine() {
+        int o = lineLine.next() * lineLine.stride;
+        double[] a = lineLine.d;
+        return Intersectiond.intersectLineLine(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector2);
+    }
+
+    @Benchmark
+    public boolean testPolygonPolygon() {
+        int i = polygonPolygon.next();
+        return Intersectiond.testPolygonPolygon(polygonPolygonA[i], polygonPolygonB[i]);
+    }
+
+    @Benchmark
+    public boolean testConvexPolygon() {
+        int i = polygonPolygon.next();
+        return convexPolygonA[i].testPolygon(convexPolygonB[i]);
+    }
+
+    @Benchmark
+    public boolean intersectConvexPolygon() {
+        int i = polygonPolygon.next();
+        return convexPolygonA[i].intersectPolygon(convexPolygonB[i], vector2);
+    }
+}
@@ -0,0 +1,677 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2d;
+import org.joml.Vector3d;
+import org.joml.Vector4d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.AABBd;
+import org.terasology.joml.geom.Intersectiond;
+import org.terasology.joml.geom.LineSegmentf;
+import org.terasology.joml.geom.Planed;
+import org.terasology.joml.geom.Rayd;
+import org.terasology.joml.geom.Spheref;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the 3D <code>test*</code> and <code>intersect*</code> families of {@link Intersectiond}.
+ * <p>
+ * Every family is measured through its primitive-argument overload and, where there is one, through its
+ * {@link org.joml.Vector3dc} overload (suffix <code>Vector3</code>) and its geometry object overload (suffixed with
+ * the first argument type). Each invocation tests the next case of a shuffled {@link Cases} table whose hit ratio is
+ * the <code>hitRatio</code> parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Intersectiond3dBenchmark {
+
+    private static final double EPSILON = IntersectionCases.EPSILON;
+    private static final double MAX_T = IntersectionCases.MAX_T;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double hitRatio;
+
+    private final Vector2d vector2 = new Vector2d();
+    private final Vector3d vector3 = new Vector3d();
+    private final Vector4d vector4 = new Vector4d();
+
+    private Cases planeSphere;
+    private Planed[] planeSpherePlane;
+    private Spheref[] planeSphereSphere;
+    private Cases planeSweptSphere;
+    private Cases planeSweptSphereFromTo;
+    private Cases aabPlane;
+    private Vector3d[] aabPlaneMin;
+    private Vector3d[] aabPlaneMax;
+    private AABBd[] aabPlaneBox;
+    private Planed[] aabPlanePlane;
+    private Cases aabAab;
+    private Vector3d[] aabAabMinA;
+    private Vector3d[] aabAabMaxA;
+    private Vector3d[] aabAabMinB;
+    private Vector3d[] aabAabMaxB;
+    private AABBd[] aabAabA;
+    private AABBd[] aabAabB;
+    private Cases obOb;
+    private Vector3d[] obObCenterA;
+    private Vector3d[] obObUnitXA;
+    private Vector3d[] obObUnitYA;
+    private Vector3d[] obObUnitZA;
+    private Vector3d[] obObHalfSizeA;
+    private Vector3d[] obObCenterB;
+    private Vector3d[] obObUnitXB;
+    private Vector3d[] obObUnitYB;
+    private Vector3d[] obObUnitZB;
+    private Vector3d[] obObHalfSizeB;
+    private Cases sphereSphere;
+    private Vector3d[] sphereSphereCenterA;
+    private Vector3d[] sphereSphereCenterB;
+    private Cases sphereSphereIntersection;
+    private Vector3d[] sphereSphereIntersectionCenterA;
+    private Vector3d[] sphereSphereIntersectionCenterB;
+    private Spheref[] sphereSphereIntersectionA;
+    private Spheref[] sphereSphereIntersectionB;
+    private Cases sphereTriangle;
+    private Cases rayPlane;
+    private Vector3d[] rayPlaneOrigin;
+    private Vector3d[] rayPlaneDir;
+    private Vector3d[] rayPlanePoint;
+    private Vector3d[] rayPlaneNormal;
+    private Rayd[] rayPlaneRay;
+    private Planed[] rayPlanePlane;
+    private Cases aabSphere;
+    private Vector3d[] aabSphereMin;
+    private Vector3d[] aabSphereMax;
+    private Vector3d[] aabSphereCenter;
+    private AABBd[] aabSphereBox;
+    private Spheref[] aabSphereSphere;
+    private Cases sweptSphereTriangle;
+    private Cases pointInTriangle;
+    private Cases raySphere;
+    private Vector3d[] raySphereOrigin;
+    private Vector3d[] raySphereDir;
+    private Vector3d[] raySphereCenter;
+    private Rayd[] raySphereRay;
+    private Spheref[] raySphereSphere;
+    private Cases lineSegmentSphere;
+    private Vector3d[] lineSegmentSphereP0;
+    private Vector3d[] lineSegmentSphereP1;
+    private Vector3d[] lineSegmentSphereCenter;
+    private Cases rayAab;
+    private Vector3d[] rayAabOrigin;
+    private Vector3d[] rayAabDir;
+    private Vector3d[] rayAabMin;
+    private Vector3d[] rayAabMax;
+    private Rayd[] rayAabRay;
+    private AABBd[] rayAabBox;
+    private Cases lineSegmentAab;
+    private Vector3d[] lineSegmentAabP0;
+    private Vector3d[] lineSegmentAabP1;
+    private Vector3d[] lineSegmentAabMin;
+    private Vector3d[] lineSegmentAabMax;
+    private LineSegmentf[] lineSegmentAabSegment;
+    private AABBd[] lineSegmentAabBox;
+    private Cases rayTriangle;
+    private Vector3d[] rayTriangleOrigin;
+    private Vector3d[] rayTriangleDir;
+    private Vector3d[] rayTriangleV0;
+    private Vector3d[] rayTriangleV1;
+    private Vector3d[] rayTriangleV2;
+    private Cases rayTriangleFront;
+    private Vector3d[] rayTriangleFrontOrigin;
+    private Vector3d[] rayTriangleFrontDir;
+    private Vector3d[] rayTriangleFrontV0;
+    private Vector3d[] rayTriangleFrontV1;
+    private Vector3d[] rayTriangleFrontV2;
+    private Cases lineSegmentTriangle;
+    private Vector3d[] lineSegmentTriangleP0;
+    private Vector3d[] lineSegmentTriangleP1;
+    private Vector3d[] lineSegmentTriangleV0;
+    private Vector3d[] lineSegmentTriangleV1;
+    private Vector3d[] lineSegmentTriangleV2;
+    private Cases lineSegmentPlane;
+
+    @Setup
+    public void setup() {
+        planeSphere = IntersectionCases.planeSphere(hitRatio);
+        planeSpherePlane = planeSphere.planed(0);
+        planeSphereSphere = planeSphere.spheref(4, false);
+        planeSweptSphere = IntersectionCases.planeSweptSphere(hitRatio);
+        planeSweptSphereFromTo = IntersectionCases.planeSweptSphereFromTo(hitRatio);
+        aabPlane = IntersectionCases.aabPlane(hitRatio);
+        aabPlaneMin = aabPlane.vector3d(0);
+        aabPlaneMax = aabPlane.vector3d(3);
+        aabPlaneBox = aabPlane.aabbd(0);
+        aabPlanePlane = aabPlane.planed(6);
+        aabAab = IntersectionCases.aabAab(hitRatio);
+        aabAabMinA = aabAab.vector3d(0);
+        aabAabMaxA = aabAab.vector3d(3);
+        aabAabMinB = aabAab.vector3d(6);
+        aabAabMaxB = aabAab.vector3d(9);
+        aabAabA = aabAab.aabbd(0);
+        aabAabB = aabAab.aabbd(6);
+        obOb = IntersectionCases.obOb(hitRatio);
+        obObCenterA = obOb.vector3d(0);
+        obObUnitXA = obOb.vector3d(3);
+        obObUnitYA = obOb.vector3d(6);
+        obObUnitZA = obOb.vector3d(9);
+        obObHalfSizeA = obOb.vector3d(12);
+        obObCenterB = obOb.vector3d(15);
+        obObUnitXB = obOb.vector3d(18);
+        obObUnitYB = obOb.vector3d(21);
+        obObUnitZB = obOb.vector3d(24);
+        obObHalfSizeB = obOb.vector3d(27);
+        sphereSphere = IntersectionCases.sphereSphere(hitRatio);
+        sphereSphereCenterA = sphereSphere.vector3d(0);
+        sphereSphereCenterB = sphereSphere.vector3d(4);
+        sphereSphereIntersection = IntersectionCases.sphereSphereIntersection(hitRatio);
+        sphereSphereIntersectionCenterA = sphereSphereIntersection.vector3d(0);
+        sphereSphereIntersectionCenterB = sphereSphereIntersection.vector3d(4);
+        sphereSphereIntersectionA = sphereSphereIntersection.spheref(0, true);
+        sphereSphereIntersectionB = sphereSphereIntersection.spheref(4, true);
+        sphereTriangle = IntersectionCases.sphereTriangle(hitRatio);
+        rayPlane = IntersectionCases.rayPlane(hitRatio);
+        rayPlaneOrigin = rayPlane.vector3d(0);
+        rayPlaneDir = rayPlane.vector3d(3);
+        rayPlanePoint = rayPlane.vector3d(6);
+        rayPlaneNormal = rayPlane.vector3d(9);
+        rayPlaneRay = rayPlane.rayd(0);
+        rayPlanePlane = new Planed[Cases.SIZE];
+        for (int i = 0; i < Cases.SIZE; i++) {
+            rayPlanePlane[i] = new Planed(rayPlanePoint[i], rayPlaneNormal[i]);
+        }
+        aabSphere = IntersectionCases.aabSphere(hitRatio);
+        aabSphereMin = aabSphere.vector3d(0);
+        aabSphereMax = aabSphere.vector3d(3);
+        aabSphereCenter = aabSphere.vector3d(6);
+        aabSphereBox = aabSphere.aabbd(0);
+        aabSphereSphere = aabSphere.spheref(6, true);
+        sweptSphereTriangle = IntersectionCases.sweptSphereTriangle(hitRatio);
+        pointInTriangle = IntersectionCases.pointInTriangle(hitRatio);
+        raySphere = IntersectionCases.raySphere(hitRatio);
+        raySphereOrigin = raySphere.vector3d(0);
+        raySphereDir = raySphere.vector3d(3);
+        raySphereCenter = raySphere.vector3d(6);
+        raySphereRay = raySphere.rayd(0);
+        raySphereSphere = raySphere.spheref(6, true);
+        lineSegmentSphere = IntersectionCases.lineSegmentSphere(hitRatio);
+        lineSegmentSphereP0 = lineSegmentSphere.vector3d(0);
+        lineSegmentSphereP1 = lineSegmentSphere.vector3d(3);
+        lineSegmentSphereCenter = lineSegmentSphere.vector3d(6);
+        rayAab = IntersectionCases.rayAab(hitRatio);
+        rayAabOrigin = rayAab.vector3d(0);
+        rayAabDir = rayAab.vector3d(3);
+        rayAabMin = rayAab.vector3d(6);
+        rayAabMax = rayAab.vector3d(9);
+        rayAabRay = rayAab.rayd(0);
+        rayAabBox = rayAab.aabbd(6);
+        lineSegmentAab = IntersectionCases.lineSegmentAab(hitRatio);
+        lineSegmentAabP0 = lineSegmentAab.vector3d(0);
+        lineSegmentAabP1 = lineSegmentAab.vector3d(3);
+        lineSegmentAabMin = lineSegmentAab.vector3d(6);
+        lineSegmentAabMax = lineSegmentAab.vector3d(9);
+        lineSegmentAabSegment = lineSegmentAab.lineSegmentf(0);
+        lineSegmentAabBox = lineSegmentAab.aabbd(6);
+        rayTriangle = IntersectionCases.rayTriangle(hitRatio);
+        rayTriangleOrigin = rayTriangle.vector3d(0);
+        rayTriangleDir = rayTriangle.vector3d(3);
+        rayTriangleV0 = rayTriangle.vector3d(6);
+        rayTriangleV1 = rayTriangle.vector3d(9);
+        rayTriangleV2 = rayTriangle.vector3d(12);
+        rayTriangleFront = IntersectionCases.rayTriangleFront(hitRatio);
+        rayTriangleFrontOrigin = rayTriangleFront.vector3d(0);
+        rayTriangleFrontDir = rayTriangleFront.vector3d(3);
+        rayTriangleFrontV0 = rayTriangleFront.vector3d(6);
+        rayTriangleFrontV1 = rayTriangleFront.vector3d(9);
+        rayTriangleFrontV2 = rayTriangleFront.vector3d(12);
+        lineSegmentTriangle = IntersectionCases.lineSegmentTriangle(hitRatio);
+        lineSegmentTriangleP0 = lineSegmentTriangle.vector3d(0);
+        lineSegmentTriangleP1 = lineSegmentTriangle.vector3d(3);
+        lineSegmentTriangleV0 = lineSegmentTriangle.vector3d(6);
+        lineSegmentTriangleV1 = lineSegmentTriangle.vector3d(9);
+        lineSegmentTriangleV2 = lineSegmentTriangle.vector3d(12);
+        lineSegmentPlane = IntersectionCases.lineSegmentPlane(hitRatio);
+    }
+
+    @Benchmark
+    public boolean testPlaneSphere() {
+        int o = planeSphere.next() * planeSphere.stride;
+        double[] a = planeSphere.d;
+        return Intersectiond.testPlaneSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testPlaneSpherePlane() {
+        int i = planeSphere.next();
+        return Intersectiond.testPlaneSphere(planeSpherePlane[i], planeSphereSphere[i]);
+    }
+
+    @Benchmark
+    public boolean intersectPlaneSphere() {
+        int o = planeSphere.next() * planeSphere.stride;
+        double[] a = planeSphere.d;
+        return Intersectiond.intersectPlaneSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector4);
+    }
+
+    @Benchmark
+    public boolean intersectPlaneSweptSphere() {
+        int o = planeSweptSphere.next() * planeSweptSphere.stride;
+        double[] a = planeSweptSphere.d;
+        return Intersectiond.intersectPlaneSweptSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], vector4);
+    }
+
+    @Benchmark
+    public boolean testPlaneSweptSphere() {
+        int o = planeSweptSphereFromTo.next() * planeSweptSphereFromTo.stride;
+        double[] a = planeSweptSphereFromTo.d;
+        return Intersectiond.testPlaneSweptSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10]);
+    }
+
+    @Benchmark
+    public boolean testAabPlane() {
+        int o = aabPlane.next() * aabPlane.stride;
+        double[] a = aabPlane.d;
+        return Intersectiond.testAabPlane(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabPlaneVector3() {
+        int i = aabPlane.next();
+        int o = i * aabPlane.stride;
+        double[] a = aabPlane.d;
+        return Intersectiond.testAabPlane(aabPlaneMin[i], aabPlaneMax[i], a[o + 6], a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabPlaneAABB() {
+        int i = aabPlane.next();
+        return Intersectiond.testAabPlane(aabPlaneBox[i], aabPlanePlane[i]);
+    }
+
+    @Benchmark
+    public boolean testAabAab() {
+        int o = aabAab.next() * aabAab.stride;
+        double[] a = aabAab.d;
+        return Intersectiond.testAabAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9], a[o + 10], a[o + 11]);
+    }
+
+    @Benchmark
+    public boolean testAabAabVector3() {
+        int i = aabAab.next();
+        return Intersectiond.testAabAab(aabAabMinA[i], aabAabMaxA[i], aabAabMinB[i], aabAabMaxB[i]);
+    }
+
+    @Benchmark
+    public boolean testAabAabAABB() {
+        int i = aabAab.next();
+        return Intersectiond.testAabAab(aabAabA[i], aabAabB[i]);
+    }
+
+    @Benchmark
+    public boolean testObOb() {
+        int o = obOb.next() * obOb.stride;
+        double[] a = obOb.d;
+        return Intersectiond.testObOb(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], a[o + 15], a[o + 16],
+                a[o + 17], a[o + 18], a[o + 19], a[o + 20], a[o + 21], a[o + 22], a[o + 23], a[o + 24], a[o + 25],
+                a[o + 26], a[o + 27], a[o + 28], a[o + 29]);
+    }
+
+    @Benchmark
+    public boolean testObObVector3() {
+        int i = obOb.next();
+        return Intersectiond.testObOb(obObCenterA[i], obObUnitXA[i], obObUnitYA[i], obObUnitZA[i], obObHalfSizeA[i],
+                obObCenterB[i], obObUnitXB[i], obObUnitYB[i], obObUnitZB[i], obObHalfSizeB[i]);
+    }
+
+    @Benchmark
+    public boolean testSphereSphere() {
+        int o = sphereSphere.next() * sphereSphere.stride;
+        double[] a = sphereSphere.d;
+        return Intersectiond.testSphereSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testSphereSphereVector3() {
+        int i = sphereSphere.next();
+        int o = i * sphereSphere.stride;
+        double[] a = sphereSphere.d;
+        return Intersectiond.testSphereSphere(sphereSphereCenterA[i], a[o + 3], sphereSphereCenterB[i], a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean intersectSphereSphere() {
+        int o = sphereSphereIntersection.next() * sphereSphereIntersection.stride;
+        double[] a = sphereSphereIntersection.d;
+        return Intersectiond.intersectSphereSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector4);
+    }
+
+    @Benchmark
+    public boolean intersectSphereSphereVector3() {
+        int i = sphereSphereIntersection.next();
+        int o = i * sphereSphereIntersection.stride;
+        double[] a = sphereSphereIntersection.d;
+        return Intersectiond.intersectSphereSphere(sphereSphereIntersectionCenterA[i], a[o + 3],
+                sphereSphereIntersectionCenterB[i], a[o + 7], vector4);
+    }
+
+    @Benchmark
+    public boolean intersectSphereSphereSphere() {
+        int i = sphereSphereIntersection.next();
+        return Intersectiond.intersectSphereSphere(sphereSphereIntersectionA[i], sphereSphereIntersectionB[i], vector4);
+    }
+
+    @Benchmark
+    public int intersectSphereTriangle() {
+        int o = sphereTriangle.next() * sphereTriangle.stride;
+        double[] a = sphereTriangle.d;
+        return Intersectiond.intersectSphereTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], vector3);
+    }
+
+    @Benchmark
+    public double intersectRayPlane() {
+        int o = rayPlane.next() * rayPlane.stride;
+        double[] a = rayPlane.d;
+        return Intersectiond.intersectRayPlane(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayPlaneVector3() {
+        int i = rayPlane.next();
+        return Intersectiond.intersectRayPlane(rayPlaneOrigin[i], rayPlaneDir[i], rayPlanePoint[i],
+                rayPlaneNormal[i], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayPlaneRay() {
+        int i = rayPlane.next();
+        return Intersectiond.intersectRayPlane(rayPlaneRay[i], rayPlanePlane[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testAabSphere() {
+        int o = aabSphere.next() * aabSphere.stride;
+        double[] a = aabSphere.d;
+        return Intersectiond.testAabSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabSphereVector3() {
+        int i = aabSphere.next();
+        int o = i * aabSphere.stride;
+        double[] a = aabSphere.d;
+        return Intersectiond.testAabSphere(aabSphereMin[i], aabSphereMax[i], aabSphereCenter[i], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabSphereAABB() {
+        int i = aabSphere.next();
+        return Intersectiond.testAabSphere(aabSphereBox[i], aabSphereSphere[i]);
+    }
+
+    @Benchmark
+    public int intersectSweptSphereTriangle() {
+        int o = sweptSphereTriangle.next() * sweptSphereTriangle.stride;
+        double[] a = sweptSphereTriangle.d;
+        return Intersectiond.intersectSweptSphereTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14],
+                a[o + 15], EPSILON, MAX_T, vector4);
+    }
+
+    @Benchmark
+    public boolean testPointInTriangle() {
+        int o = pointInTriangle.next() * pointInTriangle.stride;
+        double[] a = pointInTriangle.d;
+        return Intersectiond.testPointInTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11]);
+    }
+
+    @Benchmark
+    public boolean testRaySphere() {
+        int o = raySphere.next() * raySphere.stride;
+        double[] a = raySphere.d;
+        return Intersectiond.testRaySphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testRaySphereVector3() {
+        int i = raySphere.next();
+        int o = i * raySphere.stride;
+        double[] a = raySphere.d;
+        return Intersectiond.testRaySphere(raySphereOrigin[i], raySphereDir[i], raySphereCenter[i], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testRaySphereRay() {
+        int i = raySphere.next();
+        return Intersectiond.testRaySphere(raySphereRay[i], raySphereSphere[i]);
+    }
+
+    @Benchmark
+    public boolean intersectRaySphere() {
+        int o = raySphere.next() * raySphere.stride;
+        double[] a = raySphere.d;
+        return Intersectiond.intersectRaySphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRaySphereVector3() {
+        int i = raySphere.next();
+        int o = i * raySphere.stride;
+        double[] a = raySphere.d;
+        return Intersectiond.intersectRaySphere(raySphereOrigin[i], raySphereDir[i], raySphereCenter[i], a[o + 9],
+                vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRaySphereRay() {
+        int i = raySphere.next();
+        return Intersectiond.intersectRaySphere(raySphereRay[i], raySphereSphere[i], vector2);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentSphere() {
+        int o = lineSegmentSphere.next() * lineSegmentSphere.stride;
+        double[] a = lineSegmentSphere.d;
+        return Intersectiond.testLineSegmentSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentSphereVector3() {
+        int i = lineSegmentSphere.next();
+        int o = i * lineSegmentSphere.stride;
+        double[] a = lineSegmentSphere.d;
+        return Intersectiond.testLineSegmentSphere(lineSegmentSphereP0[i], lineSegmentSphereP1[i],
+                lineSegmentSphereCenter[i], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testRayAab() {
+        int o = rayAab.next() * rayAab.stride;
+        double[] a = rayAab.d;
+        return Intersectiond.testRayAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9], a[o + 10], a[o + 11]);
+    }
+
+    @Benchmark
+    public boolean testRayAabVector3() {
+        int i = rayAab.next();
+        return Intersectiond.testRayAab(rayAabOrigin[i], rayAabDir[i], rayAabMin[i], rayAabMax[i]);
+    }
+
+    @Benchmark
+    public boolean testRayAabRay() {
+        int i = rayAab.next();
+        return Intersectiond.testRayAab(rayAabRay[i], rayAabBox[i]);
+    }
+
+    @Benchmark
+    public boolean intersectRayAab() {
+        int o = rayAab.next() * rayAab.stride;
+        double[] a = rayAab.d;
+        return Intersectiond.intersectRayAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRayAabVector3() {
+        int i = rayAab.next();
+        return Intersectiond.intersectRayAab(rayAabOrigin[i], rayAabDir[i], rayAabMin[i], rayAabMax[i], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRayAabRay() {
+        int i = rayAab.next();
+        return Intersectiond.intersectRayAab(rayAabRay[i], rayAabBox[i], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAab() {
+        int o = lineSegmentAab.next() * lineSegmentAab.stride;
+        double[] a = lineSegmentAab.d;
+        return Intersectiond.intersectLineSegmentAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAabVector3() {
+        int i = lineSegmentAab.next();
+        return Intersectiond.intersectLineSegmentAab(lineSegmentAabP0[i], lineSegmentAabP1[i], lineSegmentAabMin[i],
+                lineSegmentAabMax[i], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAabLineSegment() {
+        int i = lineSegmentAab.next();
+        return Intersectiond.intersectLineSegmentAab(lineSegmentAabSegment[i], lineSegmentAabBox[i], vector2);
+    }
+
+    @Benchmark
+    public boolean testRayTriangle() {
+        int o = rayTriangle.next() * rayTriangle.stride;
+        double[] a = rayTriangle.d;
+        return Intersectiond.testRayTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testRayTriangleVector3() {
+        int i = rayTriangle.next();
+        return Intersectiond.testRayTriangle(rayTriangleOrigin[i], rayTriangleDir[i], rayTriangleV0[i],
+                rayTriangleV1[i], rayTriangleV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayTriangle() {
+        int o = rayTriangle.next() * rayTriangle.stride;
+        double[] a = rayTriangle.d;
+        return Intersectiond.intersectRayTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayTriangleVector3() {
+        int i = rayTriangle.next();
+        return Intersectiond.intersectRayTriangle(rayTriangleOrigin[i], rayTriangleDir[i], rayTriangleV0[i],
+                rayTriangleV1[i], rayTriangleV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testRayTriangleFront() {
+        int o = rayTriangleFront.next() * rayTriangleFront.stride;
+        double[] a = rayTriangleFront.d;
+        return Intersectiond.testRayTriangleFront(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testRayTriangleFrontVector3() {
+        int i = rayTriangleFront.next();
+        return Intersectiond.testRayTriangleFront(rayTriangleFrontOrigin[i], rayTriangleFrontDir[i],
+                rayTriangleFrontV0[i], rayTriangleFrontV1[i], rayTriangleFrontV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayTriangleFront() {
+        int o = rayTriangleFront.next() * rayTriangleFront.stride;
+        double[] a = rayTriangleFront.d;
+        return Intersectiond.intersectRayTriangleFront(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public double intersectRayTriangleFrontVector3() {
+        int i = rayTriangleFront.next();
+        return Intersectiond.intersectRayTriangleFront(rayTriangleFrontOrigin[i], rayTriangleFrontDir[i],
+                rayTriangleFrontV0[i], rayTriangleFrontV1[i], rayTriangleFrontV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentTriangle() {
+        int o = lineSegmentTriangle.next() * lineSegmentTriangle.stride;
+        double[] a = lineSegmentTriangle.d;
+        return Intersectiond.testLineSegmentTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentTriangleVector3() {
+        int i = lineSegmentTriangle.next();
+        return Intersectiond.testLineSegmentTriangle(lineSegmentTriangleP0[i], lineSegmentTriangleP1[i],
+                lineSegmentTriangleV0[i], lineSegmentTriangleV1[i], lineSegmentTriangleV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean intersectLineSegmentTriangle() {
+        int o = lineSegmentTriangle.next() * lineSegmentTriangle.stride;
+        double[] a = lineSegmentTriangle.d;
+        return Intersectiond.intersectLineSegmentTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14],
+                EPSILON, vector3);
+    }
+
+    @Benchmark
+    public boolean intersectLineSegmentTriangleVector3() {
+        int i = lineSegmentTriangle.next();
+        return Intersectiond.intersectLineSegmentTriangle(lineSegmentTriangleP0[i], lineSegmentTriangleP1[i],
+                lineSegmentTriangleV0[i], lineSegmentTriangleV1[i], lineSegmentTriangleV2[i], EPSILON, vector3);
+    }
+
+    @Benchmark
+    public boolean intersectLineSegmentPlane() {
+        int o = lineSegmentPlane.next() * lineSegmentPlane.stride;
+        double[] a = lineSegmentPlane.d;
+        return Intersectiond.intersectLineSegmentPlane(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], vector3);
+    }
+}
@@ -0,0 +1,278 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.ConvexPolygonf;
+import org.terasology.joml.geom.Intersectionf;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the 2D <code>test*</code> and <code>intersect*</code> families of {@link Intersectionf}.
+ * <p>
+ * Every family is measured through its primitive-argument overload. Each invocation tests the next case of a
+ * shuffled {@link Cases} table whose hit ratio is the <code>hitRatio</code> parameter. The polygon cases are also
+ * measured with the cached edge normals of {@link ConvexPolygonf}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Intersectionf2dBenchmark {
+
+    private static final float EPSILON = (float) IntersectionCases.EPSILON;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double hitRatio;
+
+    private final Vector2f vector2 = new Vector2f();
+    private final Vector3f vector3 = new Vector3f();
+
+    private Cases lineCircle;
+    private Cases aarLine;
+    private Cases aarAar;
+    private Cases movingCircleCircle;
+    private Cases circleCircleIntersection;
+    private Cases circleCircle;
+    private Cases rayLine;
+    private Cases rayLineSegment;
+    private Cases aarCircle;
+    private Cases rayCircle;
+    private Cases rayAar;
+    private Cases lineSegmentAar;
+    private Cases pointTriangle;
+    private Cases pointAar;
+    private Cases pointCircle;
+    private Cases circleTriangle;
+    private Cases polygonRay;
+    private float[][] polygonRayVertices;
+    private Cases lineLine;
+    private Cases polygonPolygon;
+    private Vector2f[][] polygonPolygonA;
+    private Vector2f[][] polygonPolygonB;
+    private ConvexPolygonf[] convexPolygonA;
+    private ConvexPolygonf[] convexPolygonB;
+
+    @Setup
+    public void setup() {
+        lineCircle = IntersectionCases.lineCircle(hitRatio);
+        aarLine = IntersectionCases.aarLine(hitRatio);
+        aarAar = IntersectionCases.aarAar(hitRatio);
+        movingCircleCircle = IntersectionCases.movingCircleCircle(hitRatio);
+        circleCircleIntersection = IntersectionCases.circleCircleIntersection(hitRatio);
+        circleCircle = IntersectionCases.circleCircle(hitRatio);
+        rayLine = IntersectionCases.rayLine(hitRatio);
+        rayLineSegment = IntersectionCases.rayLineSegment(hitRatio);
+        aarCircle = IntersectionCases.aarCircle(hitRatio);
+        rayCircle = IntersectionCases.rayCircle(hitRatio);
+        rayAar = IntersectionCases.rayAar(hitRatio);
+        lineSegmentAar = IntersectionCases.lineSegmentAar(hitRatio);
+        pointTriangle = IntersectionCases.pointTriangle(hitRatio);
+        pointAar = IntersectionCases.pointAar(hitRatio);
+        pointCircle = IntersectionCases.pointCircle(hitRatio);
+        circleTriangle = IntersectionCases.circleTriangle(hitRatio);
+        polygonRay = IntersectionCases.polygonRay(hitRatio);
+        polygonRayVertices = polygonRay.floats(4, 2 * IntersectionCases.POLYGON_VERTICES);
+        lineLine = IntersectionCases.lineLine(hitRatio);
+        polygonPolygon = IntersectionCases.polygonPolygon(hitRatio);
+        polygonPolygonA = polygonPolygon.vertices2f(0, IntersectionCases.POLYGON_VERTICES);
+        polygonPolygonB = polygonPolygon.vertices2f(2 * IntersectionCases.POLYGON_VERTICES,
+                IntersectionCases.POLYGON_VERTICES);
+        convexPolygonA = new ConvexPolygonf[polygonPolygonA.length];
+        convexPolygonB = new ConvexPolygonf[polygonPolygonB.length];
+        for (int i = 0; i < polygonPolygonA.length; i++) {
+            convexPolygonA[i] = new ConvexPolygonf(polygonPolygonA[i]);
+            convexPolygonB[i] = new ConvexPolygonf(polygonPolygonB[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean testLineCircle() {
+        int o = lineCircle.next() * lineCircle.stride;
+        float[] a = lineCircle.f;
+        return Intersectionf.testLineCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5]);
+    }
+
+    @Benchmark
+    public boolean intersectLineCircle() {
+        int o = lineCircle.next() * lineCircle.stride;
+        float[] a = lineCircle.f;
+        return Intersectionf.intersectLineCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], vector3);
+    }
+
+    @Benchmark
+    public boolean testAarLine() {
+        int o = aarLine.next() * aarLine.stride;
+        float[] a = aarLine.f;
+        return Intersectionf.testAarLine(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6]);
+    }
+
+    @Benchmark
+    public boolean testAarAar() {
+        int o = aarAar.next() * aarAar.stride;
+        float[] a = aarAar.f;
+        return Intersectionf.testAarAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testMovingCircleCircle() {
+        int o = movingCircleCircle.next() * movingCircleCircle.stride;
+        float[] a = movingCircleCircle.f;
+        return Intersectionf.testMovingCircleCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean intersectCircleCircle() {
+        int o = circleCircleIntersection.next() * circleCircleIntersection.stride;
+        float[] a = circleCircleIntersection.f;
+        return Intersectionf.intersectCircleCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], vector3);
+    }
+
+    @Benchmark
+    public boolean testCircleCircle() {
+        int o = circleCircle.next() * circleCircle.stride;
+        float[] a = circleCircle.f;
+        return Intersectionf.testCircleCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5]);
+    }
+
+    @Benchmark
+    public float intersectRayLine() {
+        int o = rayLine.next() * rayLine.stride;
+        float[] a = rayLine.f;
+        return Intersectionf.intersectRayLine(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayLineSegment() {
+        int o = rayLineSegment.next() * rayLineSegment.stride;
+        float[] a = rayLineSegment.f;
+        return Intersectionf.intersectRayLineSegment(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testAarCircle() {
+        int o = aarCircle.next() * aarCircle.stride;
+        float[] a = aarCircle.f;
+        return Intersectionf.testAarCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6]);
+    }
+
+    @Benchmark
+    public boolean testRayCircle() {
+        int o = rayCircle.next() * rayCircle.stride;
+        float[] a = rayCircle.f;
+        return Intersectionf.testRayCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6]);
+    }
+
+    @Benchmark
+    public boolean intersectRayCircle() {
+        int o = rayCircle.next() * rayCircle.stride;
+        float[] a = rayCircle.f;
+        return Intersectionf.intersectRayCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                vector2);
+    }
+
+    @Benchmark
+    public boolean testRayAar() {
+        int o = rayAar.next() * rayAar.stride;
+        float[] a = rayAar.f;
+        return Intersectionf.testRayAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7]);
+    }
+
+    @Benchmark
+    public int intersectRayAar() {
+        int o = rayAar.next() * rayAar.stride;
+        float[] a = rayAar.f;
+        return Intersectionf.intersectRayAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAar() {
+        int o = lineSegmentAar.next() * lineSegmentAar.stride;
+        float[] a = lineSegmentAar.f;
+        return Intersectionf.intersectLineSegmentAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], vector2);
+    }
+
+    @Benchmark
+    public boolean testPointTriangle() {
+        int o = pointTriangle.next() * pointTriangle.stride;
+        float[] a = pointTriangle.f;
+        return Intersectionf.testPointTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testPointAar() {
+        int o = pointAar.next() * pointAar.stride;
+        float[] a = pointAar.f;
+        return Intersectionf.testPointAar(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5]);
+    }
+
+    @Benchmark
+    public boolean testPointCircle() {
+        int o = pointCircle.next() * pointCircle.stride;
+        float[] a = pointCircle.f;
+        return Intersectionf.testPointCircle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4]);
+    }
+
+    @Benchmark
+    public boolean testCircleTriangle() {
+        int o = circleTriangle.next() * circleTriangle.stride;
+        float[] a = circleTriangle.f;
+        return Intersectionf.testCircleTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8]);
+    }
+
+    @Benchmark
+    public int intersectPolygonRay() {
+        int i = polygonRay.next();
+        int o = i * polygonRay.stride;
+        float[] a = polygonRay.f;
+        return Intersectionf.intersectPolygonRay(polygonRayVertices[i], a[o], a[o + 1], a[o + 2], a[o + 3], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectLineLine() {
+        int o = lineLine.next() * lineLine.stride;
+        float[] a = lineLine.f;
+        return Intersectionf.intersectLineLine(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector2);
+    }
+
+    @Benchmark
+    public boolean testPolygonPolygon() {
+        int i = polygonPolygon.next();
+        return Intersectionf.testPolygonPolygon(polygonPolygonA[i], polygonPolygonB[i]);
+    }
+
+    @Benchmark
+    public boolean testConvexPolygon() {
+        int i = polygonPolygon.next();
+        return convexPolygonA[i].testPolygon(convexPolygonB[i]);
+    }
+
+    @Benchmark
+    public boolean intersectConvexPolygon() {
+        int i = polygonPolygon.next();
+        return convexPolygonA[i].intersectPolygon(convexPolygonB[i], vector2);
+    }
+}
@@ -0,0 +1,677 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.Intersectionf;
+import org.terasology.joml.geom.LineSegmentf;
+import org.terasology.joml.geom.Planef;
+import org.terasology.joml.geom.Rayf;
+import org.terasology.joml.geom.Spheref;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the 3D <code>test*</code> and <code>intersect*</code> families of {@link Intersectionf}.
+ * <p>
+ * Every family is measured through its primitive-argument overload and, where there is one, through its
+ * {@link org.joml.Vector3fc} overload (suffix <code>Vector3</code>) and its geometry object overload (suffixed with
+ * the first argument type). Each invocation tests the next case of a shuffled {@link Cases} table whose hit ratio is
+ * the <code>hitRatio</code> parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Intersectionf3dBenchmark {
+
+    private static final float EPSILON = (float) IntersectionCases.EPSILON;
+    private static final float MAX_T = (float) IntersectionCases.MAX_T;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double hitRatio;
+
+    private final Vector2f vector2 = new Vector2f();
+    private final Vector3f vector3 = new Vector3f();
+    private final Vector4f vector4 = new Vector4f();
+
+    private Cases planeSphere;
+    private Planef[] planeSpherePlane;
+    private Spheref[] planeSphereSphere;
+    private Cases planeSweptSphere;
+    private Cases planeSweptSphereFromTo;
+    private Cases aabPlane;
+    private Vector3f[] aabPlaneMin;
+    private Vector3f[] aabPlaneMax;
+    private AABBf[] aabPlaneBox;
+    private Planef[] aabPlanePlane;
+    private Cases aabAab;
+    private Vector3f[] aabAabMinA;
+    private Vector3f[] aabAabMaxA;
+    private Vector3f[] aabAabMinB;
+    private Vector3f[] aabAabMaxB;
+    private AABBf[] aabAabA;
+    private AABBf[] aabAabB;
+    private Cases obOb;
+    private Vector3f[] obObCenterA;
+    private Vector3f[] obObUnitXA;
+    private Vector3f[] obObUnitYA;
+    private Vector3f[] obObUnitZA;
+    private Vector3f[] obObHalfSizeA;
+    private Vector3f[] obObCenterB;
+    private Vector3f[] obObUnitXB;
+    private Vector3f[] obObUnitYB;
+    private Vector3f[] obObUnitZB;
+    private Vector3f[] obObHalfSizeB;
+    private Cases sphereSphere;
+    private Vector3f[] sphereSphereCenterA;
+    private Vector3f[] sphereSphereCenterB;
+    private Cases sphereSphereIntersection;
+    private Vector3f[] sphereSphereIntersectionCenterA;
+    private Vector3f[] sphereSphereIntersectionCenterB;
+    private Spheref[] sphereSphereIntersectionA;
+    private Spheref[] sphereSphereIntersectionB;
+    private Cases sphereTriangle;
+    private Cases rayPlane;
+    private Vector3f[] rayPlaneOrigin;
+    private Vector3f[] rayPlaneDir;
+    private Vector3f[] rayPlanePoint;
+    private Vector3f[] rayPlaneNormal;
+    private Rayf[] rayPlaneRay;
+    private Planef[] rayPlanePlane;
+    private Cases aabSphere;
+    private Vector3f[] aabSphereMin;
+    private Vector3f[] aabSphereMax;
+    private Vector3f[] aabSphereCenter;
+    private AABBf[] aabSphereBox;
+    private Spheref[] aabSphereSphere;
+    private Cases sweptSphereTriangle;
+    private Cases pointInTriangle;
+    private Cases raySphere;
+    private Vector3f[] raySphereOrigin;
+    private Vector3f[] raySphereDir;
+    private Vector3f[] raySphereCenter;
+    private Rayf[] raySphereRay;
+    private Spheref[] raySphereSphere;
+    private Cases lineSegmentSphere;
+    private Vector3f[] lineSegmentSphereP0;
+    private Vector3f[] lineSegmentSphereP1;
+    private Vector3f[] lineSegmentSphereCenter;
+    private Cases rayAab;
+    private Vector3f[] rayAabOrigin;
+    private Vector3f[] rayAabDir;
+    private Vector3f[] rayAabMin;
+    private Vector3f[] rayAabMax;
+    private Rayf[] rayAabRay;
+    private AABBf[] rayAabBox;
+    private Cases lineSegmentAab;
+    private Vector3f[] lineSegmentAabP0;
+    private Vector3f[] lineSegmentAabP1;
+    private Vector3f[] lineSegmentAabMin;
+    private Vector3f[] lineSegmentAabMax;
+    private LineSegmentf[] lineSegmentAabSegment;
+    private AABBf[] lineSegmentAabBox;
+    private Cases rayTriangle;
+    private Vector3f[] rayTriangleOrigin;
+    private Vector3f[] rayTriangleDir;
+    private Vector3f[] rayTriangleV0;
+    private Vector3f[] rayTriangleV1;
+    private Vector3f[] rayTriangleV2;
+    private Cases rayTriangleFront;
+    private Vector3f[] rayTriangleFrontOrigin;
+    private Vector3f[] rayTriangleFrontDir;
+    private Vector3f[] rayTriangleFrontV0;
+    private Vector3f[] rayTriangleFrontV1;
+    private Vector3f[] rayTriangleFrontV2;
+    private Cases lineSegmentTriangle;
+    private Vector3f[] lineSegmentTriangleP0;
+    private Vector3f[] lineSegmentTriangleP1;
+    private Vector3f[] lineSegmentTriangleV0;
+    private Vector3f[] lineSegmentTriangleV1;
+    private Vector3f[] lineSegmentTriangleV2;
+    private Cases lineSegmentPlane;
+
+    @Setup
+    public void setup() {
+        planeSphere = IntersectionCases.planeSphere(hitRatio);
+        planeSpherePlane = planeSphere.planef(0);
+        planeSphereSphere = planeSphere.spheref(4, false);
+        planeSweptSphere = IntersectionCases.planeSweptSphere(hitRatio);
+        planeSweptSphereFromTo = IntersectionCases.planeSweptSphereFromTo(hitRatio);
+        aabPlane = IntersectionCases.aabPlane(hitRatio);
+        aabPlaneMin = aabPlane.vector3f(0);
+        aabPlaneMax = aabPlane.vector3f(3);
+        aabPlaneBox = aabPlane.aabbf(0);
+        aabPlanePlane = aabPlane.planef(6);
+        aabAab = IntersectionCases.aabAab(hitRatio);
+        aabAabMinA = aabAab.vector3f(0);
+        aabAabMaxA = aabAab.vector3f(3);
+        aabAabMinB = aabAab.vector3f(6);
+        aabAabMaxB = aabAab.vector3f(9);
+        aabAabA = aabAab.aabbf(0);
+        aabAabB = aabAab.aabbf(6);
+        obOb = IntersectionCases.obOb(hitRatio);
+        obObCenterA = obOb.vector3f(0);
+        obObUnitXA = obOb.vector3f(3);
+        obObUnitYA = obOb.vector3f(6);
+        obObUnitZA = obOb.vector3f(9);
+        obObHalfSizeA = obOb.vector3f(12);
+        obObCenterB = obOb.vector3f(15);
+        obObUnitXB = obOb.vector3f(18);
+        obObUnitYB = obOb.vector3f(21);
+        obObUnitZB = obOb.vector3f(24);
+        obObHalfSizeB = obOb.vector3f(27);
+        sphereSphere = IntersectionCases.sphereSphere(hitRatio);
+        sphereSphereCenterA = sphereSphere.vector3f(0);
+        sphereSphereCenterB = sphereSphere.vector3f(4);
+        sphereSphereIntersection = IntersectionCases.sphereSphereIntersection(hitRatio);
+        sphereSphereIntersectionCenterA = sphereSphereIntersection.vector3f(0);
+        sphereSphereIntersectionCenterB = sphereSphereIntersection.vector3f(4);
+        sphereSphereIntersectionA = sphereSphereIntersection.spheref(0, true);
+        sphereSphereIntersectionB = sphereSphereIntersection.spheref(4, true);
+        sphereTriangle = IntersectionCases.sphereTriangle(hitRatio);
+        rayPlane = IntersectionCases.rayPlane(hitRatio);
+        rayPlaneOrigin = rayPlane.vector3f(0);
+        rayPlaneDir = rayPlane.vector3f(3);
+        rayPlanePoint = rayPlane.vector3f(6);
+        rayPlaneNormal = rayPlane.vector3f(9);
+        rayPlaneRay = rayPlane.rayf(0);
+        rayPlanePlane = new Planef[Cases.SIZE];
+        for (int i = 0; i < Cases.SIZE; i++) {
+            rayPlanePlane[i] = new Planef(rayPlanePoint[i], rayPlaneNormal[i]);
+        }
+        aabSphere = IntersectionCases.aabSphere(hitRatio);
+        aabSphereMin = aabSphere.vector3f(0);
+        aabSphereMax = aabSphere.vector3f(3);
+        aabSphereCenter = aabSphere.vector3f(6);
+        aabSphereBox = aabSphere.aabbf(0);
+        aabSphereSphere = aabSphere.spheref(6, true);
+        sweptSphereTriangle = IntersectionCases.sweptSphereTriangle(hitRatio);
+        pointInTriangle = IntersectionCases.pointInTriangle(hitRatio);
+        raySphere = IntersectionCases.raySphere(hitRatio);
+        raySphereOrigin = raySphere.vector3f(0);
+        raySphereDir = raySphere.vector3f(3);
+        raySphereCenter = raySphere.vector3f(6);
+        raySphereRay = raySphere.rayf(0);
+        raySphereSphere = raySphere.spheref(6, true);
+        lineSegmentSphere = IntersectionCases.lineSegmentSphere(hitRatio);
+        lineSegmentSphereP0 = lineSegmentSphere.vector3f(0);
+        lineSegmentSphereP1 = lineSegmentSphere.vector3f(3);
+        lineSegmentSphereCenter = lineSegmentSphere.vector3f(6);
+        rayAab = IntersectionCases.rayAab(hitRatio);
+        rayAabOrigin = rayAab.vector3f(0);
+        rayAabDir = rayAab.vector3f(3);
+        rayAabMin = rayAab.vector3f(6);
+        rayAabMax = rayAab.vector3f(9);
+        rayAabRay = rayAab.rayf(0);
+        rayAabBox = rayAab.aabbf(6);
+        lineSegmentAab = IntersectionCases.lineSegmentAab(hitRatio);
+        lineSegmentAabP0 = lineSegmentAab.vector3f(0);
+        lineSegmentAabP1 = lineSegmentAab.vector3f(3);
+        lineSegmentAabMin = lineSegmentAab.vector3f(6);
+        lineSegmentAabMax = lineSegmentAab.vector3f(9);
+        lineSegmentAabSegment = lineSegmentAab.lineSegmentf(0);
+        lineSegmentAabBox = lineSegmentAab.aabbf(6);
+        rayTriangle = IntersectionCases.rayTriangle(hitRatio);
+        rayTriangleOrigin = rayTriangle.vector3f(0);
+        rayTriangleDir = rayTriangle.vector3f(3);
+        rayTriangleV0 = rayTriangle.vector3f(6);
+        rayTriangleV1 = rayTriangle.vector3f(9);
+        rayTriangleV2 = rayTriangle.vector3f(12);
+        rayTriangleFront = IntersectionCases.rayTriangleFront(hitRatio);
+        rayTriangleFrontOrigin = rayTriangleFront.vector3f(0);
+        rayTriangleFrontDir = rayTriangleFront.vector3f(3);
+        rayTriangleFrontV0 = rayTriangleFront.vector3f(6);
+        rayTriangleFrontV1 = rayTriangleFront.vector3f(9);
+        rayTriangleFrontV2 = rayTriangleFront.vector3f(12);
+        lineSegmentTriangle = IntersectionCases.lineSegmentTriangle(hitRatio);
+        lineSegmentTriangleP0 = lineSegmentTriangle.vector3f(0);
+        lineSegmentTriangleP1 = lineSegmentTriangle.vector3f(3);
+        lineSegmentTriangleV0 = lineSegmentTriangle.vector3f(6);
+        lineSegmentTriangleV1 = lineSegmentTriangle.vector3f(9);
+        lineSegmentTriangleV2 = lineSegmentTriangle.vector3f(12);
+        lineSegmentPlane = IntersectionCases.lineSegmentPlane(hitRatio);
+    }
+
+    @Benchmark
+    public boolean testPlaneSphere() {
+        int o = planeSphere.next() * planeSphere.stride;
+        float[] a = planeSphere.f;
+        return Intersectionf.testPlaneSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testPlaneSpherePlane() {
+        int i = planeSphere.next();
+        return Intersectionf.testPlaneSphere(planeSpherePlane[i], planeSphereSphere[i]);
+    }
+
+    @Benchmark
+    public boolean intersectPlaneSphere() {
+        int o = planeSphere.next() * planeSphere.stride;
+        float[] a = planeSphere.f;
+        return Intersectionf.intersectPlaneSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector4);
+    }
+
+    @Benchmark
+    public boolean intersectPlaneSweptSphere() {
+        int o = planeSweptSphere.next() * planeSweptSphere.stride;
+        float[] a = planeSweptSphere.f;
+        return Intersectionf.intersectPlaneSweptSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], vector4);
+    }
+
+    @Benchmark
+    public boolean testPlaneSweptSphere() {
+        int o = planeSweptSphereFromTo.next() * planeSweptSphereFromTo.stride;
+        float[] a = planeSweptSphereFromTo.f;
+        return Intersectionf.testPlaneSweptSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10]);
+    }
+
+    @Benchmark
+    public boolean testAabPlane() {
+        int o = aabPlane.next() * aabPlane.stride;
+        float[] a = aabPlane.f;
+        return Intersectionf.testAabPlane(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabPlaneVector3() {
+        int i = aabPlane.next();
+        int o = i * aabPlane.stride;
+        float[] a = aabPlane.f;
+        return Intersectionf.testAabPlane(aabPlaneMin[i], aabPlaneMax[i], a[o + 6], a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabPlaneAABB() {
+        int i = aabPlane.next();
+        return Intersectionf.testAabPlane(aabPlaneBox[i], aabPlanePlane[i]);
+    }
+
+    @Benchmark
+    public boolean testAabAab() {
+        int o = aabAab.next() * aabAab.stride;
+        float[] a = aabAab.f;
+        return Intersectionf.testAabAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9], a[o + 10], a[o + 11]);
+    }
+
+    @Benchmark
+    public boolean testAabAabVector3() {
+        int i = aabAab.next();
+        return Intersectionf.testAabAab(aabAabMinA[i], aabAabMaxA[i], aabAabMinB[i], aabAabMaxB[i]);
+    }
+
+    @Benchmark
+    public boolean testAabAabAABB() {
+        int i = aabAab.next();
+        return Intersectionf.testAabAab(aabAabA[i], aabAabB[i]);
+    }
+
+    @Benchmark
+    public boolean testObOb() {
+        int o = obOb.next() * obOb.stride;
+        float[] a = obOb.f;
+        return Intersectionf.testObOb(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], a[o + 15], a[o + 16],
+                a[o + 17], a[o + 18], a[o + 19], a[o + 20], a[o + 21], a[o + 22], a[o + 23], a[o + 24], a[o + 25],
+                a[o + 26], a[o + 27], a[o + 28], a[o + 29]);
+    }
+
+    @Benchmark
+    public boolean testObObVector3() {
+        int i = obOb.next();
+        return Intersectionf.testObOb(obObCenterA[i], obObUnitXA[i], obObUnitYA[i], obObUnitZA[i], obObHalfSizeA[i],
+                obObCenterB[i], obObUnitXB[i], obObUnitYB[i], obObUnitZB[i], obObHalfSizeB[i]);
+    }
+
+    @Benchmark
+    public boolean testSphereSphere() {
+        int o = sphereSphere.next() * sphereSphere.stride;
+        float[] a = sphereSphere.f;
+        return Intersectionf.testSphereSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean testSphereSphereVector3() {
+        int i = sphereSphere.next();
+        int o = i * sphereSphere.stride;
+        float[] a = sphereSphere.f;
+        return Intersectionf.testSphereSphere(sphereSphereCenterA[i], a[o + 3], sphereSphereCenterB[i], a[o + 7]);
+    }
+
+    @Benchmark
+    public boolean intersectSphereSphere() {
+        int o = sphereSphereIntersection.next() * sphereSphereIntersection.stride;
+        float[] a = sphereSphereIntersection.f;
+        return Intersectionf.intersectSphereSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], vector4);
+    }
+
+    @Benchmark
+    public boolean intersectSphereSphereVector3() {
+        int i = sphereSphereIntersection.next();
+        int o = i * sphereSphereIntersection.stride;
+        float[] a = sphereSphereIntersection.f;
+        return Intersectionf.intersectSphereSphere(sphereSphereIntersectionCenterA[i], a[o + 3],
+                sphereSphereIntersectionCenterB[i], a[o + 7], vector4);
+    }
+
+    @Benchmark
+    public boolean intersectSphereSphereSphere() {
+        int i = sphereSphereIntersection.next();
+        return Intersectionf.intersectSphereSphere(sphereSphereIntersectionA[i], sphereSphereIntersectionB[i], vector4);
+    }
+
+    @Benchmark
+    public int intersectSphereTriangle() {
+        int o = sphereTriangle.next() * sphereTriangle.stride;
+        float[] a = sphereTriangle.f;
+        return Intersectionf.intersectSphereTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], vector3);
+    }
+
+    @Benchmark
+    public float intersectRayPlane() {
+        int o = rayPlane.next() * rayPlane.stride;
+        float[] a = rayPlane.f;
+        return Intersectionf.intersectRayPlane(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayPlaneVector3() {
+        int i = rayPlane.next();
+        return Intersectionf.intersectRayPlane(rayPlaneOrigin[i], rayPlaneDir[i], rayPlanePoint[i],
+                rayPlaneNormal[i], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayPlaneRay() {
+        int i = rayPlane.next();
+        return Intersectionf.intersectRayPlane(rayPlaneRay[i], rayPlanePlane[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testAabSphere() {
+        int o = aabSphere.next() * aabSphere.stride;
+        float[] a = aabSphere.f;
+        return Intersectionf.testAabSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabSphereVector3() {
+        int i = aabSphere.next();
+        int o = i * aabSphere.stride;
+        float[] a = aabSphere.f;
+        return Intersectionf.testAabSphere(aabSphereMin[i], aabSphereMax[i], aabSphereCenter[i], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testAabSphereAABB() {
+        int i = aabSphere.next();
+        return Intersectionf.testAabSphere(aabSphereBox[i], aabSphereSphere[i]);
+    }
+
+    @Benchmark
+    public int intersectSweptSphereTriangle() {
+        int o = sweptSphereTriangle.next() * sweptSphereTriangle.stride;
+        float[] a = sweptSphereTriangle.f;
+        return Intersectionf.intersectSweptSphereTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14],
+                a[o + 15], EPSILON, MAX_T, vector4);
+    }
+
+    @Benchmark
+    public boolean testPointInTriangle() {
+        int o = pointInTriangle.next() * pointInTriangle.stride;
+        float[] a = pointInTriangle.f;
+        return Intersectionf.testPointInTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11]);
+    }
+
+    @Benchmark
+    public boolean testRaySphere() {
+        int o = raySphere.next() * raySphere.stride;
+        float[] a = raySphere.f;
+        return Intersectionf.testRaySphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testRaySphereVector3() {
+        int i = raySphere.next();
+        int o = i * raySphere.stride;
+        float[] a = raySphere.f;
+        return Intersectionf.testRaySphere(raySphereOrigin[i], raySphereDir[i], raySphereCenter[i], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testRaySphereRay() {
+        int i = raySphere.next();
+        return Intersectionf.testRaySphere(raySphereRay[i], raySphereSphere[i]);
+    }
+
+    @Benchmark
+    public boolean intersectRaySphere() {
+        int o = raySphere.next() * raySphere.stride;
+        float[] a = raySphere.f;
+        return Intersectionf.intersectRaySphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRaySphereVector3() {
+        int i = raySphere.next();
+        int o = i * raySphere.stride;
+        float[] a = raySphere.f;
+        return Intersectionf.intersectRaySphere(raySphereOrigin[i], raySphereDir[i], raySphereCenter[i], a[o + 9],
+                vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRaySphereRay() {
+        int i = raySphere.next();
+        return Intersectionf.intersectRaySphere(raySphereRay[i], raySphereSphere[i], vector2);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentSphere() {
+        int o = lineSegmentSphere.next() * lineSegmentSphere.stride;
+        float[] a = lineSegmentSphere.f;
+        return Intersectionf.testLineSegmentSphere(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentSphereVector3() {
+        int i = lineSegmentSphere.next();
+        int o = i * lineSegmentSphere.stride;
+        float[] a = lineSegmentSphere.f;
+        return Intersectionf.testLineSegmentSphere(lineSegmentSphereP0[i], lineSegmentSphereP1[i],
+                lineSegmentSphereCenter[i], a[o + 9]);
+    }
+
+    @Benchmark
+    public boolean testRayAab() {
+        int o = rayAab.next() * rayAab.stride;
+        float[] a = rayAab.f;
+        return Intersectionf.testRayAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6], a[o + 7],
+                a[o + 8], a[o + 9], a[o + 10], a[o + 11]);
+    }
+
+    @Benchmark
+    public boolean testRayAabVector3() {
+        int i = rayAab.next();
+        return Intersectionf.testRayAab(rayAabOrigin[i], rayAabDir[i], rayAabMin[i], rayAabMax[i]);
+    }
+
+    @Benchmark
+    public boolean testRayAabRay() {
+        int i = rayAab.next();
+        return Intersectionf.testRayAab(rayAabRay[i], rayAabBox[i]);
+    }
+
+    @Benchmark
+    public boolean intersectRayAab() {
+        int o = rayAab.next() * rayAab.stride;
+        float[] a = rayAab.f;
+        return Intersectionf.intersectRayAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRayAabVector3() {
+        int i = rayAab.next();
+        return Intersectionf.intersectRayAab(rayAabOrigin[i], rayAabDir[i], rayAabMin[i], rayAabMax[i], vector2);
+    }
+
+    @Benchmark
+    public boolean intersectRayAabRay() {
+        int i = rayAab.next();
+        return Intersectionf.intersectRayAab(rayAabRay[i], rayAabBox[i], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAab() {
+        int o = lineSegmentAab.next() * lineSegmentAab.stride;
+        float[] a = lineSegmentAab.f;
+        return Intersectionf.intersectLineSegmentAab(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAabVector3() {
+        int i = lineSegmentAab.next();
+        return Intersectionf.intersectLineSegmentAab(lineSegmentAabP0[i], lineSegmentAabP1[i], lineSegmentAabMin[i],
+                lineSegmentAabMax[i], vector2);
+    }
+
+    @Benchmark
+    public int intersectLineSegmentAabLineSegment() {
+        int i = lineSegmentAab.next();
+        return Intersectionf.intersectLineSegmentAab(lineSegmentAabSegment[i], lineSegmentAabBox[i], vector2);
+    }
+
+    @Benchmark
+    public boolean testRayTriangle() {
+        int o = rayTriangle.next() * rayTriangle.stride;
+        float[] a = rayTriangle.f;
+        return Intersectionf.testRayTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testRayTriangleVector3() {
+        int i = rayTriangle.next();
+        return Intersectionf.testRayTriangle(rayTriangleOrigin[i], rayTriangleDir[i], rayTriangleV0[i],
+                rayTriangleV1[i], rayTriangleV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayTriangle() {
+        int o = rayTriangle.next() * rayTriangle.stride;
+        float[] a = rayTriangle.f;
+        return Intersectionf.intersectRayTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayTriangleVector3() {
+        int i = rayTriangle.next();
+        return Intersectionf.intersectRayTriangle(rayTriangleOrigin[i], rayTriangleDir[i], rayTriangleV0[i],
+                rayTriangleV1[i], rayTriangleV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testRayTriangleFront() {
+        int o = rayTriangleFront.next() * rayTriangleFront.stride;
+        float[] a = rayTriangleFront.f;
+        return Intersectionf.testRayTriangleFront(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5], a[o + 6],
+                a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testRayTriangleFrontVector3() {
+        int i = rayTriangleFront.next();
+        return Intersectionf.testRayTriangleFront(rayTriangleFrontOrigin[i], rayTriangleFrontDir[i],
+                rayTriangleFrontV0[i], rayTriangleFrontV1[i], rayTriangleFrontV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayTriangleFront() {
+        int o = rayTriangleFront.next() * rayTriangleFront.stride;
+        float[] a = rayTriangleFront.f;
+        return Intersectionf.intersectRayTriangleFront(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public float intersectRayTriangleFrontVector3() {
+        int i = rayTriangleFront.next();
+        return Intersectionf.intersectRayTriangleFront(rayTriangleFrontOrigin[i], rayTriangleFrontDir[i],
+                rayTriangleFrontV0[i], rayTriangleFrontV1[i], rayTriangleFrontV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentTriangle() {
+        int o = lineSegmentTriangle.next() * lineSegmentTriangle.stride;
+        float[] a = lineSegmentTriangle.f;
+        return Intersectionf.testLineSegmentTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14], EPSILON);
+    }
+
+    @Benchmark
+    public boolean testLineSegmentTriangleVector3() {
+        int i = lineSegmentTriangle.next();
+        return Intersectionf.testLineSegmentTriangle(lineSegmentTriangleP0[i], lineSegmentTriangleP1[i],
+                lineSegmentTriangleV0[i], lineSegmentTriangleV1[i], lineSegmentTriangleV2[i], EPSILON);
+    }
+
+    @Benchmark
+    public boolean intersectLineSegmentTriangle() {
+        int o = lineSegmentTriangle.next() * lineSegmentTriangle.stride;
+        float[] a = lineSegmentTriangle.f;
+        return Intersectionf.intersectLineSegmentTriangle(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], a[o + 10], a[o + 11], a[o + 12], a[o + 13], a[o + 14],
+                EPSILON, vector3);
+    }
+
+    @Benchmark
+    public boolean intersectLineSegmentTriangleVector3() {
+        int i = lineSegmentTriangle.next();
+        return Intersectionf.intersectLineSegmentTriangle(lineSegmentTriangleP0[i], lineSegmentTriangleP1[i],
+                lineSegmentTriangleV0[i], lineSegmentTriangleV1[i], lineSegmentTriangleV2[i], EPSILON, vector3);
+    }
+
+    @Benchmark
+    public boolean intersectLineSegmentPlane() {
+        int o = lineSegmentPlane.next() * lineSegmentPlane.stride;
+        float[] a = lineSegmentPlane.f;
+        return Intersectionf.intersectLineSegmentPlane(a[o], a[o + 1], a[o + 2], a[o + 3], a[o + 4], a[o + 5],
+                a[o + 6], a[o + 7], a[o + 8], a[o + 9], vector3);
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.BVHf;
+import org.terasology.joml.geom.LinearBVHBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a {@link BVHf} with the surface area heuristic against {@link LinearBVHBuilder} on the common
+ * pool, and casting {@link #RAYS} rays into the resulting hierarchies.
+ * <p>
+ * The boxes are scattered within <code>[0..1000]</code> on all axes, with edges of up to 4 units.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinearBVHBenchmark {
+
+    private static final int RAYS = 1024;
+
+    @Param({"65536", "262144"})
+    public int count;
+
+    private float[] bounds;
+    private float[] rays;
+    private BVHf sah;
+    private BVHf linear;
+    private final LinearBVHBuilder builder = new LinearBVHBuilder();
+    private final Vector2f result = new Vector2f();
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        bounds = new float[6 * count];
+        for (int i = 0; i < count; i++) {
+            for (int k = 0; k < 3; k++) {
+                float min = rnd.nextFloat() * 1000;
+                bounds[6 * i + k] = min;
+                bounds[6 * i + 3 + k] = min + rnd.nextFloat() * 4;
+            }
+        }
+        rays = new float[6 * RAYS];
+        for (int i = 0; i < RAYS; i++) {
+            for (int k = 0; k < 3; k++) {
+                rays[6 * i + k] = rnd.nextFloat() * 1000;
+                rays[6 * i + 3 + k] = rnd.nextFloat() * 2 - 1;
+            }
+        }
+        sah = new BVHf(bounds, count, BVHf.DEFAULT_MAX_LEAF_SIZE);
+        linear = builder.build(bounds, count, BVHf.DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    @Benchmark
+    public BVHf buildSah() {
+        return new BVHf(bounds, count, BVHf.DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    @Benchmark
+    public BVHf buildLinear() {
+        return builder.build(bounds, count, BVHf.DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    private int castRays(BVHf bvh) {
+        int hits = 0;
+        for (int i = 0; i < RAYS; i++) {
+            int o = 6 * i;
+            if (bvh.intersectRay(rays[o], rays[o + 1], rays[o + 2], rays[o + 3], rays[o + 4], rays[o + 5], result) >= 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int raysSah() {
+        return castRays(sah);
+    }
+
+    @Benchmark
+    public int raysLinear() {
+        return castRays(linear);
+    }
+}
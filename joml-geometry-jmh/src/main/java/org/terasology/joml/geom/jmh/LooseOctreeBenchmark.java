@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.terasology.joml.geom.Intersectionf;
+import org.terasology.joml.geom.LooseOctreef;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares querying the boxes near {@link #QUERIES} points with {@link LooseOctreef} against scanning a plain list of
+ * the boxes, and measures moving every box by a small step, as for the dynamic part of a scene every frame.
+ * <p>
+ * The boxes are scattered within <code>[-500..500]</code> on every axis, with edges of up to 4 units, and each query
+ * is a box of edge length 16.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LooseOctreeBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private float[] bounds;
+    private float[] steps;
+    private LooseOctreef tree;
+    private float sign = 1.0f;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        bounds = new float[6 * count];
+        steps = new float[3 * count];
+        tree = new LooseOctreef(0, 0, 0, 512, 7);
+        for (int i = 0; i < count; i++) {
+            for (int a = 0; a < 3; a++) {
+                bounds[6 * i + a] = -500 + rnd.nextFloat() * 1000;
+                bounds[6 * i + 3 + a] = bounds[6 * i + a] + rnd.nextFloat() * 4;
+                steps[3 * i + a] = rnd.nextFloat() * 0.2f - 0.1f;
+            }
+            tree.insert(bounds[6 * i], bounds[6 * i + 1], bounds[6 * i + 2], bounds[6 * i + 3], bounds[6 * i + 4], bounds[6 * i + 5]);
+        }
+    }
+
+    @Benchmark
+    public int queryOctree(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float x = bounds[6 * q], y = bounds[6 * q + 1], z = bounds[6 * q + 2];
+            hits += tree.queryAab(x - 8, y - 8, z - 8, x + 8, y + 8, z + 8, bh::consume);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int queryLinear(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float x = bounds[6 * q], y = bounds[6 * q + 1], z = bounds[6 * q + 2];
+            for (int i = 0; i < count; i++) {
+                int o = 6 * i;
+                if (Intersectionf.testAabAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5],
+                        x - 8, y - 8, z - 8, x + 8, y + 8, z + 8)) {
+                    bh.consume(i);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public LooseOctreef update() {
+        // Step back and forth, so that the boxes stay near their initial positions across invocations.
+        sign = -sign;
+        for (int i = 0; i < count; i++) {
+            int o = 6 * i;
+            float dX = sign * steps[3 * i], dY = sign * steps[3 * i + 1], dZ = sign * steps[3 * i + 2];
+            tree.update(i, bounds[o] += dX, bounds[o + 1] += dY, bounds[o + 2] += dZ, bounds[o + 3] += dX, bounds[o + 4] += dY, bounds[o + 5] += dZ);
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.terasology.joml.geom.QuadTreef;
+import org.terasology.joml.geom.RTreef;
+import org.terasology.joml.geom.Rectanglef;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares hit-testing {@link #QUERIES} points against rectangles, as for the mouse over the widgets of a user
+ * interface, with {@link RTreef} and {@link QuadTreef} against scanning all rectangles with
+ * {@link Rectanglef#containsPoint(float, float)}.
+ * <p>
+ * The rectangles are scattered within <code>[0..2000]</code> on both axes, with edges of up to 60 units.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RTreeBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private Rectanglef[] rectangles;
+    private float[] points;
+    private RTreef rTree;
+    private QuadTreef quadTree;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        rectangles = new Rectanglef[count];
+        quadTree = new QuadTreef(new Rectanglef(0, 0, 2048, 2048), 10);
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 2000, y = rnd.nextFloat() * 2000;
+            rectangles[i] = new Rectanglef(x, y, x + rnd.nextFloat() * 60, y + rnd.nextFloat() * 60);
+            quadTree.insert(rectangles[i]);
+        }
+        rTree = new RTreef(rectangles);
+        points = new float[2 * QUERIES];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = rnd.nextFloat() * 2000;
+        }
+    }
+
+    @Benchmark
+    public int hitTestRTree(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            hits += rTree.queryPoint(points[2 * q], points[2 * q + 1], bh::consume);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int hitTestQuadTree(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            hits += quadTree.queryPoint(points[2 * q], points[2 * q + 1], bh::consume);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int hitTestLinear(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            for (int i = 0; i < count; i++) {
+                if (rectangles[i].containsPoint(points[2 * q], points[2 * q + 1])) {
+                    bh.consume(i);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int nearestRTree() {
+        int sum = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            sum += rTree.nearest(points[2 * q], points[2 * q + 1]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public RTreef build() {
+        return new RTreef(rectangles);
+    }
+}
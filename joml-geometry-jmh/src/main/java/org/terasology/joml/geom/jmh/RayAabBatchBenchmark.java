@@ -0,0 +1,136 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.Intersectionf;
+import org.terasology.joml.geom.Rayf;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares testing one ray against many boxes one {@link AABBf} at a time with the structure-of-arrays batch overloads
+ * of {@link Intersectionf#intersectRayAab(float, float, float, float, float, float, float[], float[], float[], float[],
+ * float[], float[], int, float[], float[], boolean[])}.
+ * <p>
+ * The boxes are scattered within <code>[-100..100]</code> on every axis and each invocation casts the next of a fixed set
+ * of random rays through the scene. Scores are per ray, i.e. for testing all <code>count</code> boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RayAabBatchBenchmark {
+
+    private static final int RAYS = 64;
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private Rayf[] rays;
+    private int cursor;
+
+    private AABBf[] boxes;
+    private final Vector2f result = new Vector2f();
+
+    private float[] minX, minY, minZ, maxX, maxY, maxZ;
+    private FloatBuffer minXb, minYb, minZb, maxXb, maxYb, maxZb;
+    private float[] tNear, tFar, scratch;
+    private boolean[] hit;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        rays = new Rayf[RAYS];
+        for (int i = 0; i < RAYS; i++) {
+            rays[i] = new Rayf(uniform(rnd, -100, 100), uniform(rnd, -100, 100), uniform(rnd, -100, 100),
+                    uniform(rnd, -1, 1), uniform(rnd, -1, 1), uniform(rnd, -1, 1));
+        }
+        boxes = new AABBf[count];
+        minX = new float[count];
+        minY = new float[count];
+        minZ = new float[count];
+        maxX = new float[count];
+        maxY = new float[count];
+        maxZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            minX[i] = uniform(rnd, -100, 100);
+            minY[i] = uniform(rnd, -100, 100);
+            minZ[i] = uniform(rnd, -100, 100);
+            maxX[i] = minX[i] + uniform(rnd, 0.5f, 5);
+            maxY[i] = minY[i] + uniform(rnd, 0.5f, 5);
+            maxZ[i] = minZ[i] + uniform(rnd, 0.5f, 5);
+            boxes[i] = new AABBf(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i]);
+        }
+        minXb = directCopy(minX);
+        minYb = directCopy(minY);
+        minZb = directCopy(minZ);
+        maxXb = directCopy(maxX);
+        maxYb = directCopy(maxY);
+        maxZb = directCopy(maxZ);
+        tNear = new float[count];
+        tFar = new float[count];
+        scratch = new float[count];
+        hit = new boolean[count];
+    }
+
+    private static float uniform(Random rnd, float min, float max) {
+        return min + rnd.nextFloat() * (max - min);
+    }
+
+    private static FloatBuffer directCopy(float[] values) {
+        FloatBuffer buffer = ByteBuffer.allocateDirect(values.length * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        buffer.put(values).flip();
+        return buffer;
+    }
+
+    private Rayf nextRay() {
+        Rayf ray = rays[cursor];
+        cursor = (cursor + 1) & (RAYS - 1);
+        return ray;
+    }
+
+    @Benchmark
+    public int perObject() {
+        Rayf ray = nextRay();
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (Intersectionf.intersectRayAab(ray, boxes[i], result)) {
+                tNear[i] = result.x;
+                tFar[i] = result.y;
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int batchArray() {
+        return Intersectionf.intersectRayAab(nextRay(), minX, minY, minZ, maxX, maxY, maxZ, count, tNear, tFar, hit);
+    }
+
+    @Benchmark
+    public int batchBuffer() {
+        Rayf ray = nextRay();
+        return Intersectionf.intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                minXb, minYb, minZb, maxXb, maxYb, maxZb, count, tNear, tFar, hit, scratch);
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.RayPacketf;
+import org.terasology.joml.geom.TriangleMeshBVHf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares tracing coherent rays against a {@link TriangleMeshBVHf} one at a time with tracing them in packets.
+ * <p>
+ * The mesh is a bumpy height field of 256 x 256 quads; each invocation traces 64 rays, which are shot from random
+ * points above the terrain in bundles of nearly parallel directions, like ambient occlusion samples.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RayPacketBenchmark {
+
+    private static final int SIZE = 256;
+    private static final int RAYS = 64;
+
+    @Param({"4", "8"})
+    public int lanes;
+
+    private TriangleMeshBVHf mesh;
+    private RayPacketf[] packets;
+    private final Vector3f result = new Vector3f();
+    private int[] triangles;
+    private float[] t;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        float[] vertices = new float[3 * (SIZE + 1) * (SIZE + 1)];
+        for (int z = 0, v = 0; z <= SIZE; z++) {
+            for (int x = 0; x <= SIZE; x++, v += 3) {
+                vertices[v] = x;
+                vertices[v + 1] = (float) (Math.sin(x * 0.1) * Math.cos(z * 0.13) * 4) + rnd.nextFloat() * 0.5f;
+                vertices[v + 2] = z;
+            }
+        }
+        int[] indices = new int[6 * SIZE * SIZE];
+        for (int z = 0, n = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++) {
+                int i = z * (SIZE + 1) + x;
+                indices[n++] = i;
+                indices[n++] = i + SIZE + 1;
+                indices[n++] = i + 1;
+                indices[n++] = i + 1;
+                indices[n++] = i + SIZE + 1;
+                indices[n++] = i + SIZE + 2;
+            }
+        }
+        mesh = new TriangleMeshBVHf(vertices, indices);
+        packets = new RayPacketf[RAYS / lanes];
+        for (int p = 0; p < packets.length; p++) {
+            RayPacketf packet = new RayPacketf(lanes);
+            float x = rnd.nextFloat() * SIZE, y = 10 + rnd.nextFloat() * 10, z = rnd.nextFloat() * SIZE;
+            float dx = rnd.nextFloat() - 0.5f, dy = -0.5f - rnd.nextFloat() * 0.5f, dz = rnd.nextFloat() - 0.5f;
+            for (int i = 0; i < lanes; i++) {
+                packet.set(i, x, y, z, dx + rnd.nextFloat() * 0.05f, dy, dz + rnd.nextFloat() * 0.05f, Float.POSITIVE_INFINITY);
+            }
+            packets[p] = packet;
+        }
+        triangles = new int[lanes];
+        t = new float[lanes];
+    }
+
+    @Benchmark
+    public int singleRays() {
+        int hits = 0;
+        for (RayPacketf packet : packets) {
+            for (int i = 0; i < lanes; i++) {
+                if (mesh.intersectRay(packet.originX[i], packet.originY[i], packet.originZ[i],
+                        packet.dirX[i], packet.dirY[i], packet.dirZ[i], packet.maxT[i], result) >= 0) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int packets() {
+        int hits = 0;
+        for (RayPacketf packet : packets) {
+            hits += Integer.bitCount(mesh.intersectRayPacket(packet, triangles, t));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.MaxRectsPacker;
+import org.terasology.joml.geom.RectanglePacker;
+import org.terasology.joml.geom.SkylinePacker;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures packing <code>count</code> sprites of 8 to 40 pixels, with one in ten up to 128 pixels, into a 4096x4096
+ * atlas with {@link MaxRectsPacker} and {@link SkylinePacker}. Both reuse their arrays from the previous invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RectanglePackerBenchmark {
+
+    @Param({"1024", "8192"})
+    public int count;
+
+    private int[] sizes;
+    private int[] positions;
+    private MaxRectsPacker maxRects;
+    private SkylinePacker skyline;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        sizes = new int[2 * count];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = 8 + rnd.nextInt(rnd.nextInt(10) == 0 ? 120 : 32);
+        }
+        positions = new int[2 * count];
+        maxRects = new MaxRectsPacker(4096, 4096);
+        skyline = new SkylinePacker(4096, 4096);
+    }
+
+    private int pack(RectanglePacker packer) {
+        packer.clear();
+        return packer.insertAll(sizes, count, positions);
+    }
+
+    @Benchmark
+    public int maxRects() {
+        return pack(maxRects);
+    }
+
+    @Benchmark
+    public int skyline() {
+        return pack(skyline);
+    }
+}
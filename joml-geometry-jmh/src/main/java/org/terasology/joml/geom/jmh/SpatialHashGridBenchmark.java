@@ -0,0 +1,90 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.terasology.joml.geom.Intersectionf;
+import org.terasology.joml.geom.SpatialHashGridf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the neighbours within a radius of agents with {@link SpatialHashGridf} against testing all pairs, and
+ * measures how long rebuilding the grid from scratch takes, as for a fully dynamic scene every frame.
+ * <p>
+ * The agents are points scattered within <code>[-100..100]</code> on every axis; the neighbour benchmarks query the
+ * neighbours of the first {@link #QUERIES} agents within a radius equal to the cell size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialHashGridBenchmark {
+
+    private static final int QUERIES = 256;
+    private static final float RADIUS = 4.0f;
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private float[] points;
+    private SpatialHashGridf grid;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        points = new float[3 * count];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = -100 + rnd.nextFloat() * 200;
+        }
+        grid = new SpatialHashGridf(RADIUS);
+        rebuild();
+    }
+
+    @Benchmark
+    public SpatialHashGridf rebuild() {
+        grid.clear();
+        for (int i = 0; i < count; i++) {
+            grid.insert(points[3 * i], points[3 * i + 1], points[3 * i + 2]);
+        }
+        return grid;
+    }
+
+    @Benchmark
+    public int neighboursGrid(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            hits += grid.querySphere(points[3 * q], points[3 * q + 1], points[3 * q + 2], RADIUS * RADIUS, bh::consume);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int neighboursPairwise(Blackhole bh) {
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            for (int i = 0; i < count; i++) {
+                if (Intersectionf.testSphereSphere(points[3 * q], points[3 * q + 1], points[3 * q + 2], RADIUS * RADIUS,
+                        points[3 * i], points[3 * i + 1], points[3 * i + 2], 0.0f)) {
+                    bh.consume(i);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
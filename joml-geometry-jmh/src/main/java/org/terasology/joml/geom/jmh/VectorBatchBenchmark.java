@@ -0,0 +1,132 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.joml.geom.Intersectionf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the structure-of-arrays batch tests of {@link Intersectionf} with the Vector API against the same tests with
+ * the scalar loops, which the benchmarks suffixed <code>Scalar</code> force with <code>-Djoml.geom.novector=true</code>.
+ * <p>
+ * The Vector API is only used on Java 17 and later, as the <code>jmh</code> task starts the JVM with
+ * <code>--add-modules jdk.incubator.vector</code>. On older JVMs both variants run the scalar loops. The boxes are
+ * scattered within <code>[-100..100]</code> on every axis, and scores are per query, i.e. for testing all
+ * <code>count</code> boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBatchBenchmark {
+
+    private static final String NO_VECTOR = "-Djoml.geom.novector=true";
+
+    @Param({"1024", "16384"})
+    public int count;
+
+    private float[] minX, minY, minZ, maxX, maxY, maxZ;
+    private float[] tNear, tFar;
+    private boolean[] hit;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0x5EED_1DEAL);
+        minX = new float[count];
+        minY = new float[count];
+        minZ = new float[count];
+        maxX = new float[count];
+        maxY = new float[count];
+        maxZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            minX[i] = uniform(rnd, -100, 100);
+            minY[i] = uniform(rnd, -100, 100);
+            minZ[i] = uniform(rnd, -100, 100);
+            maxX[i] = minX[i] + uniform(rnd, 0.5f, 5);
+            maxY[i] = minY[i] + uniform(rnd, 0.5f, 5);
+            maxZ[i] = minZ[i] + uniform(rnd, 0.5f, 5);
+        }
+        tNear = new float[count];
+        tFar = new float[count];
+        hit = new boolean[count];
+    }
+
+    private static float uniform(Random rnd, float min, float max) {
+        return min + rnd.nextFloat() * (max - min);
+    }
+
+    private int rayAab() {
+        return Intersectionf.intersectRayAab(3, -7, 11, 0.48f, -0.6f, 0.64f, minX, minY, minZ, maxX, maxY, maxZ, count, tNear, tFar, hit);
+    }
+
+    private int aabAab() {
+        return Intersectionf.testAabAab(minX, minY, minZ, maxX, maxY, maxZ, count, -20, -20, -20, 20, 20, 20, hit);
+    }
+
+    private int aabSphere() {
+        return Intersectionf.testAabSphere(minX, minY, minZ, maxX, maxY, maxZ, count, 10, -5, 0, 400, hit);
+    }
+
+    private int aabPlane() {
+        return Intersectionf.testAabPlane(minX, minY, minZ, maxX, maxY, maxZ, count, 0.48f, -0.6f, 0.64f, 3, hit);
+    }
+
+    @Benchmark
+    public int rayAabVector() {
+        return rayAab();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_VECTOR)
+    public int rayAabScalar() {
+        return rayAab();
+    }
+
+    @Benchmark
+    public int aabAabVector() {
+        return aabAab();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_VECTOR)
+    public int aabAabScalar() {
+        return aabAab();
+    }
+
+    @Benchmark
+    public int aabSphereVector() {
+        return aabSphere();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_VECTOR)
+    public int aabSphereScalar() {
+        return aabSphere();
+    }
+
+    @Benchmark
+    public int aabPlaneVector() {
+        return aabPlane();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = NO_VECTOR)
+    public int aabPlaneScalar() {
+        return aabPlane();
+    }
+}
@@ -0,0 +1,770 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Math;
+import org.joml.Matrix4dc;
+import org.joml.Options;
+import org.joml.Runtime;
+import org.joml.Vector2d;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.text.NumberFormat;
+import java.util.function.IntConsumer;
+
+/**
+ * A fixed-length array of axis-aligned boxes in double-precision floats, stored contiguously in a {@link DoubleBuffer}.
+ * <p>
+ * Each box occupies {@link #STRIDE} consecutive doubles <code>minX, minY, minZ, maxX, maxY, maxZ</code>, so the buffer can
+ * be handed to native code or uploaded to the GPU as is. Compared to an array of {@link AABBd} objects, this saves the
+ * object headers and references and keeps linear scans over the boxes sequential in memory.
+ * <p>
+ * Individual boxes can be read through {@link View flyweight views}, which implement {@link AABBdc} on top of the
+ * buffer and can be moved from box to box without allocating.
+ */
+public class AABBdArray {
+
+    /**
+     * The number of doubles per box.
+     */
+    public static final int STRIDE = 6;
+
+    private final DoubleBuffer buffer;
+    private final int length;
+
+    /**
+     * Create a new {@link AABBdArray} of the given length in a new direct buffer in native byte order, with all boxes
+     * set to <code>(minX, minY, minZ)=(+inf, +inf, +inf)</code> and <code>(maxX, maxY, maxZ)=(-inf, -inf, -inf)</code>
+     * like {@link AABBd#AABBd()}.
+     *
+     * @param length
+     *          the number of boxes
+     */
+    public AABBdArray(int length) {
+        if (length < 0 || length > Integer.MAX_VALUE / (STRIDE * 8)) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        this.buffer = ByteBuffer.allocateDirect(length * STRIDE * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        this.length = length;
+        for (int i = 0; i < length; i++) {
+            set(i, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Create a new {@link AABBdArray} on the remaining doubles of the given buffer, without copying them.
+     * <p>
+     * The array holds <code>buffer.remaining() / STRIDE</code> boxes, starting at the buffer's current position. Changes
+     * to the contents are visible through both.
+     *
+     * @param buffer
+     *          the buffer holding the boxes
+     */
+    public AABBdArray(DoubleBuffer buffer) {
+        this.length = buffer.remaining() / STRIDE;
+        DoubleBuffer slice = buffer.slice();
+        slice.limit(length * STRIDE);
+        this.buffer = slice;
+    }
+
+    /**
+     * Return the number of boxes.
+     *
+     * @return the number of boxes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Return the buffer holding the boxes, with its position at the first box and its limit after the last box.
+     * <p>
+     * The buffer is shared with this array, so it can be handed to native code without copying. Only its contents and
+     * not its position or limit should be changed.
+     *
+     * @return the buffer
+     */
+    public DoubleBuffer buffer() {
+        return buffer;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return index * STRIDE;
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the x coordinate of the minimum corner of the box
+     */
+    public double minX(int index) {
+        return buffer.get(offset(index));
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the y coordinate of the minimum corner of the box
+     */
+    public double minY(int index) {
+        return buffer.get(offset(index) + 1);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the z coordinate of the minimum corner of the box
+     */
+    public double minZ(int index) {
+        return buffer.get(offset(index) + 2);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the x coordinate of the maximum corner of the box
+     */
+    public double maxX(int index) {
+        return buffer.get(offset(index) + 3);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the y coordinate of the maximum corner of the box
+     */
+    public double maxY(int index) {
+        return buffer.get(offset(index) + 4);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the z coordinate of the maximum corner of the box
+     */
+    public double maxZ(int index) {
+        return buffer.get(offset(index) + 5);
+    }
+
+    /**
+     * Set the box at the given index to the given minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param index
+     *          the index of the box
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return this
+     */
+    public AABBdArray set(int index, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int o = offset(index);
+        buffer.put(o, minX);
+        buffer.put(o + 1, minY);
+        buffer.put(o + 2, minZ);
+        buffer.put(o + 3, maxX);
+        buffer.put(o + 4, maxY);
+        buffer.put(o + 5, maxZ);
+        return this;
+    }
+
+    /**
+     * Set the box at the given index to the given box.
+     *
+     * @param index
+     *          the index of the box
+     * @param source
+     *          the box to copy
+     * @return this
+     */
+    public AABBdArray set(int index, AABBdc source) {
+        return set(index, source.minX(), source.minY(), source.minZ(), source.maxX(), source.maxY(), source.maxZ());
+    }
+
+    /**
+     * Store the box at the given index into <code>dest</code>.
+     *
+     * @param index
+     *          the index of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBd get(int index, AABBd dest) {
+        int o = offset(index);
+        dest.minX = buffer.get(o);
+        dest.minY = buffer.get(o + 1);
+        dest.minZ = buffer.get(o + 2);
+        dest.maxX = buffer.get(o + 3);
+        dest.maxY = buffer.get(o + 4);
+        dest.maxZ = buffer.get(o + 5);
+        return dest;
+    }
+
+    /**
+     * Copy all boxes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples into <code>dest</code>,
+     * for example to build a {@link BVHd} from them.
+     *
+     * @param dest
+     *          will hold the result, must have room for <code>STRIDE * length()</code> doubles
+     * @return dest
+     */
+    public double[] get(double[] dest) {
+        buffer.duplicate().get(dest, 0, length * STRIDE);
+        return dest;
+    }
+
+    /**
+     * Return a new flyweight view of the box at the given index.
+     *
+     * @param index
+     *          the index of the box
+     * @return the view
+     */
+    public View view(int index) {
+        return new View().at(index);
+    }
+
+    /**
+     * Compute the union of all boxes and store it into <code>dest</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBd union(AABBd dest) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        DoubleBuffer b = buffer;
+        for (int o = 0, end = length * STRIDE; o < end; o += STRIDE) {
+            minX = Math.min(minX, b.get(o));
+            minY = Math.min(minY, b.get(o + 1));
+            minZ = Math.min(minZ, b.get(o + 2));
+            maxX = Math.max(maxX, b.get(o + 3));
+            maxY = Math.max(maxY, b.get(o + 4));
+            maxZ = Math.max(maxZ, b.get(o + 5));
+        }
+        return dest.setMin(minX, minY, minZ).setMax(maxX, maxY, maxZ);
+    }
+
+    /**
+     * Translate all boxes by the given vector <code>(x, y, z)</code>.
+     *
+     * @param x
+     *          the x coordinate to translate by
+     * @param y
+     *          the y coordinate to translate by
+     * @param z
+     *          the z coordinate to translate by
+     * @return this
+     */
+    public AABBdArray translate(double x, double y, double z) {
+        DoubleBuffer b = buffer;
+        for (int o = 0, end = length * STRIDE; o < end; o += STRIDE) {
+            b.put(o, b.get(o) + x);
+            b.put(o + 1, b.get(o + 1) + y);
+            b.put(o + 2, b.get(o + 2) + z);
+            b.put(o + 3, b.get(o + 3) + x);
+            b.put(o + 4, b.get(o + 4) + y);
+            b.put(o + 5, b.get(o + 5) + z);
+        }
+        return this;
+    }
+
+    /**
+     * Apply the given {@link Matrix4dc#isAffine() affine} transformation to all boxes and store the resulting boxes into
+     * <code>dest</code>, which may be this array.
+     *
+     * @see AABBd#transform(Matrix4dc, AABBd)
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result, must have the same length as this array
+     * @return dest
+     */
+    public AABBdArray transform(Matrix4dc m, AABBdArray dest) {
+        if (dest.length != length) {
+            throw new IllegalArgumentException("Length mismatch: " + dest.length + " != " + length);
+        }
+        double m00 = m.m00(), m01 = m.m01(), m02 = m.m02(), m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        double m20 = m.m20(), m21 = m.m21(), m22 = m.m22(), m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        DoubleBuffer s = buffer, d = dest.buffer;
+        for (int o = 0, end = length * STRIDE; o < end; o += STRIDE) {
+            // Read the whole box before writing, as dest may be this array.
+            double minX = s.get(o), minY = s.get(o + 1), minZ = s.get(o + 2);
+            double maxX = s.get(o + 3), maxY = s.get(o + 4), maxZ = s.get(o + 5);
+            d.put(o, AABBd.lo(m00, minX, maxX) + AABBd.lo(m10, minY, maxY) + AABBd.lo(m20, minZ, maxZ) + m30);
+            d.put(o + 1, AABBd.lo(m01, minX, maxX) + AABBd.lo(m11, minY, maxY) + AABBd.lo(m21, minZ, maxZ) + m31);
+            d.put(o + 2, AABBd.lo(m02, minX, maxX) + AABBd.lo(m12, minY, maxY) + AABBd.lo(m22, minZ, maxZ) + m32);
+            d.put(o + 3, AABBd.hi(m00, minX, maxX) + AABBd.hi(m10, minY, maxY) + AABBd.hi(m20, minZ, maxZ) + m30);
+            d.put(o + 4, AABBd.hi(m01, minX, maxX) + AABBd.hi(m11, minY, maxY) + AABBd.hi(m21, minZ, maxZ) + m31);
+            d.put(o + 5, AABBd.hi(m02, minX, maxX) + AABBd.hi(m12, minY, maxY) + AABBd.hi(m22, minZ, maxZ) + m32);
+        }
+        return dest;
+    }
+
+    /**
+     * Apply the given {@link Matrix4dc#isAffine() affine} transformation to all boxes.
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public AABBdArray transform(Matrix4dc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the axis-aligned box given as its minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code> to the given
+     * <code>consumer</code>, in ascending order.
+     *
+     * @see Intersectiond#testAabAab(double, double, double, double, double, double, double, double, double, double, double, double)
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsAABB(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IntConsumer consumer) {
+        DoubleBuffer b = buffer;
+        int hits = 0;
+        for (int i = 0, o = 0; i < length; i++, o += STRIDE) {
+            if (b.get(o + 3) >= minX && b.get(o + 4) >= minY && b.get(o + 5) >= minZ
+                    && b.get(o) <= maxX && b.get(o + 1) <= maxY && b.get(o + 2) <= maxZ) {
+                consumer.accept(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the given axis-aligned box to the given <code>consumer</code>, in
+     * ascending order.
+     *
+     * @param other
+     *          the other box
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsAABB(AABBdc other, IntConsumer consumer) {
+        return intersectsAABB(other.minX(), other.minY(), other.minZ(), other.maxX(), other.maxY(), other.maxZ(), consumer);
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the given sphere to the given <code>consumer</code>, in ascending
+     * order.
+     *
+     * @see Intersectiond#testAabSphere(double, double, double, double, double, double, double, double, double, double)
+     *
+     * @param centerX
+     *          the x coordinate of the center of the sphere
+     * @param centerY
+     *          the y coordinate of the center of the sphere
+     * @param centerZ
+     *          the z coordinate of the center of the sphere
+     * @param radiusSquared
+     *          the square radius of the sphere
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsSphere(double centerX, double centerY, double centerZ, double radiusSquared, IntConsumer consumer) {
+        DoubleBuffer b = buffer;
+        int hits = 0;
+        for (int i = 0, o = 0; i < length; i++, o += STRIDE) {
+            if (Intersectiond.testAabSphere(b.get(o), b.get(o + 1), b.get(o + 2), b.get(o + 3), b.get(o + 4), b.get(o + 5),
+                    centerX, centerY, centerZ, radiusSquared)) {
+                consumer.accept(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the given sphere to the given <code>consumer</code>, in ascending
+     * order.
+     *
+     * @param sphere
+     *          the sphere
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsSphere(Sphered sphere, IntConsumer consumer) {
+        return intersectsSphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, consumer);
+    }
+
+    /**
+     * Report the indices of all boxes which the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> intersects to the given <code>consumer</code>, in ascending order.
+     *
+     * @see Intersectiond#testRayAab(double, double, double, double, double, double, double, double, double, double, double, double)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsRay(double originX, double originY, double originZ, double dirX, double dirY, double dirZ, IntConsumer consumer) {
+        DoubleBuffer b = buffer;
+        int hits = 0;
+        for (int i = 0, o = 0; i < length; i++, o += STRIDE) {
+            if (Intersectiond.testRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                    b.get(o), b.get(o + 1), b.get(o + 2), b.get(o + 3), b.get(o + 4), b.get(o + 5))) {
+                consumer.accept(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report the indices of all boxes which the given ray intersects to the given <code>consumer</code>, in ascending
+     * order.
+     *
+     * @param ray
+     *          the ray
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsRay(Rayd ray, IntConsumer consumer) {
+        return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, consumer);
+    }
+
+    /**
+     * A read-only view of one box of an {@link AABBdArray}.
+     * <p>
+     * A view reads through to the buffer, so it always reflects the current contents of the array. It can be moved to
+     * another box with {@link #at(int)}, so a single view can be reused for a whole scan.
+     */
+    public final class View implements AABBdc {
+
+        private int offset;
+        private int index;
+
+        private View() {
+        }
+
+        /**
+         * Move this view to the box at the given index.
+         *
+         * @param index
+         *          the index of the box
+         * @return this
+         */
+        public View at(int index) {
+            this.offset = offset(index);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * @return the index of the box this view shows
+         */
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public double minX() {
+            return buffer.get(offset);
+        }
+
+        @Override
+        public double minY() {
+            return buffer.get(offset + 1);
+        }
+
+        @Override
+        public double minZ() {
+            return buffer.get(offset + 2);
+        }
+
+        @Override
+        public double maxX() {
+            return buffer.get(offset + 3);
+        }
+
+        @Override
+        public double maxY() {
+            return buffer.get(offset + 4);
+        }
+
+        @Override
+        public double maxZ() {
+            return buffer.get(offset + 5);
+        }
+
+        @Override
+        public boolean isValid() {
+            return minX() < maxX() && minY() < maxY() && minZ() < maxZ();
+        }
+
+        @Override
+        public double getMax(int component) throws IllegalArgumentException {
+            if (component < 0 || component > 2) {
+                throw new IllegalArgumentException();
+            }
+            return buffer.get(offset + 3 + component);
+        }
+
+        @Override
+        public double getMin(int component) throws IllegalArgumentException {
+            if (component < 0 || component > 2) {
+                throw new IllegalArgumentException();
+            }
+            return buffer.get(offset + component);
+        }
+
+        @Override
+        public Vector3f center(Vector3f dest) {
+            return dest.set(minX() + ((maxX() - minX()) / 2.0), minY() + ((maxY() - minY()) / 2.0), minZ() + ((maxZ() - minZ()) / 2.0));
+        }
+
+        @Override
+        public Vector3d center(Vector3d dest) {
+            return dest.set(minX() + ((maxX() - minX()) / 2.0), minY() + ((maxY() - minY()) / 2.0), minZ() + ((maxZ() - minZ()) / 2.0));
+        }
+
+        @Override
+        public AABBd setSize(double dx, double dy, double dz, AABBd dest) {
+            double minX = minX(), minY = minY(), minZ = minZ();
+            return dest.setMin(minX, minY, minZ).setMax(minX + dx, minY + dy, minZ + dz);
+        }
+
+        @Override
+        public AABBd setSize(Vector3fc size, AABBd dest) {
+            return setSize(size.x(), size.y(), size.z(), dest);
+        }
+
+        @Override
+        public AABBd setSize(Vector3dc size, AABBd dest) {
+            return setSize(size.x(), size.y(), size.z(), dest);
+        }
+
+        @Override
+        public AABBd expand(double dx, double dy, double dz, AABBd dest) {
+            return dest.setMin(minX() - dx, minY() - dy, minZ() - dz).setMax(maxX() + dx, maxY() + dy, maxZ() + dz);
+        }
+
+        @Override
+        public AABBd expand(Vector3fc extent, AABBd dest) {
+            return expand(extent.x(), extent.y(), extent.z(), dest);
+        }
+
+        @Override
+        public AABBd expand(Vector3dc extent, AABBd dest) {
+            return expand(extent.x(), extent.y(), extent.z(), dest);
+        }
+
+        @Override
+        public Vector3d extent(Vector3d dest) {
+            return dest.set((maxX() - minX()) / 2.0, (maxY() - minY()) / 2.0, (maxZ() - minZ()) / 2.0);
+        }
+
+        @Override
+        public Vector3f extent(Vector3f dest) {
+            return dest.set((maxX() - minX()) / 2.0, (maxY() - minY()) / 2.0, (maxZ() - minZ()) / 2.0);
+        }
+
+        @Override
+        public AABBd union(double x, double y, double z, AABBd dest) {
+            return dest.setMin(Math.min(minX(), x), Math.min(minY(), y), Math.min(minZ(), z))
+                .setMax(Math.max(maxX(), x), Math.max(maxY(), y), Math.max(maxZ(), z));
+        }
+
+        @Override
+        public AABBd union(Vector3dc p, AABBd dest) {
+            return union(p.x(), p.y(), p.z(), dest);
+        }
+
+        @Override
+        public AABBd union(AABBdc other, AABBd dest) {
+            double minX = Math.min(minX(), other.minX()), minY = Math.min(minY(), other.minY()), minZ = Math.min(minZ(), other.minZ());
+            double maxX = Math.max(maxX(), other.maxX()), maxY = Math.max(maxY(), other.maxY()), maxZ = Math.max(maxZ(), other.maxZ());
+            return dest.setMin(minX, minY, minZ).setMax(maxX, maxY, maxZ);
+        }
+
+        @Override
+        public AABBd translate(Vector3dc xyz, AABBd dest) {
+            return translate(xyz.x(), xyz.y(), xyz.z(), dest);
+        }
+
+        @Override
+        public AABBd translate(Vector3fc xyz, AABBd dest) {
+            return translate(xyz.x(), xyz.y(), xyz.z(), dest);
+        }
+
+        @Override
+        public AABBd translate(double x, double y, double z, AABBd dest) {
+            return dest.setMin(minX() + x, minY() + y, minZ() + z).setMax(maxX() + x, maxY() + y, maxZ() + z);
+        }
+
+        @Override
+        public AABBd intersection(AABBdc other, AABBd dest) {
+            double minX = Math.max(minX(), other.minX()), minY = Math.max(minY(), other.minY()), minZ = Math.max(minZ(), other.minZ());
+            double maxX = Math.min(maxX(), other.maxX()), maxY = Math.min(maxY(), other.maxY()), maxZ = Math.min(maxZ(), other.maxZ());
+            if (minX < maxX && minY < maxY && minZ < maxZ) {
+                return dest.setMin(minX, minY, minZ).setMax(maxX, maxY, maxZ);
+            }
+            return dest.setMin(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY)
+                .setMax(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        }
+
+        @Override
+        public boolean containsAABB(AABBdc aabb) {
+            return aabb.minX() >= minX() && aabb.maxX() <= maxX() &&
+                aabb.minY() >= minY() && aabb.maxY() <= maxY() &&
+                aabb.minZ() >= minZ() && aabb.maxZ() <= maxZ();
+        }
+
+        @Override
+        public boolean containsAABB(AABBfc aabb) {
+            return aabb.minX() >= minX() && aabb.maxX() <= maxX() &&
+                aabb.minY() >= minY() && aabb.maxY() <= maxY() &&
+                aabb.minZ() >= minZ() && aabb.maxZ() <= maxZ();
+        }
+
+        @Override
+        public boolean containsAABB(AABBic aabb) {
+            return aabb.minX() >= minX() && aabb.maxX() <= maxX() &&
+                aabb.minY() >= minY() && aabb.maxY() <= maxY() &&
+                aabb.minZ() >= minZ() && aabb.maxZ() <= maxZ();
+        }
+
+        @Override
+        public boolean containsPoint(double x, double y, double z) {
+            return x > minX() && y > minY() && z > minZ() && x < maxX() && y < maxY() && z < maxZ();
+        }
+
+        @Override
+        public boolean containsPoint(Vector3dc point) {
+            return containsPoint(point.x(), point.y(), point.z());
+        }
+
+        @Override
+        public boolean intersectsPlane(double a, double b, double c, double d) {
+            return Intersectiond.testAabPlane(minX(), minY(), minZ(), maxX(), maxY(), maxZ(), a, b, c, d);
+        }
+
+        @Override
+        public boolean intersectsPlane(Planed plane) {
+            return intersectsPlane(plane.a, plane.b, plane.c, plane.d);
+        }
+
+        @Override
+        public boolean intersectsAABB(AABBd other) {
+            return maxX() >= other.minX() && maxY() >= other.minY() && maxZ() >= other.minZ() &&
+                minX() <= other.maxX() && minY() <= other.maxY() && minZ() <= other.maxZ();
+        }
+
+        @Override
+        public boolean intersectsSphere(double centerX, double centerY, double centerZ, double radiusSquared) {
+            return Intersectiond.testAabSphere(minX(), minY(), minZ(), maxX(), maxY(), maxZ(), centerX, centerY, centerZ, radiusSquared);
+        }
+
+        @Override
+        public boolean intersectsSphere(Spheref sphere) {
+            return intersectsSphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r);
+        }
+
+        @Override
+        public boolean intersectsRay(double originX, double originY, double originZ, double dirX, double dirY, double dirZ) {
+            return Intersectiond.testRayAab(originX, originY, originZ, dirX, dirY, dirZ, minX(), minY(), minZ(), maxX(), maxY(), maxZ());
+        }
+
+        @Override
+        public boolean intersectsRay(Rayd ray) {
+            return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ);
+        }
+
+        @Override
+        public boolean intersectsRay(double originX, double originY, double originZ, double dirX, double dirY, double dirZ, Vector2d result) {
+            return Intersectiond.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ, minX(), minY(), minZ(), maxX(), maxY(), maxZ(), result);
+        }
+
+        @Override
+        public boolean intersectsRay(Rayd ray, Vector2d result) {
+            return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, result);
+        }
+
+        @Override
+        public int intersectsLineSegment(double p0X, double p0Y, double p0Z, double p1X, double p1Y, double p1Z, Vector2d result) {
+            return Intersectiond.intersectLineSegmentAab(p0X, p0Y, p0Z, p1X, p1Y, p1Z, minX(), minY(), minZ(), maxX(), maxY(), maxZ(), result);
+        }
+
+        @Override
+        public int intersectsLineSegment(LineSegmentf lineSegment, Vector2d result) {
+            return intersectsLineSegment(lineSegment.aX, lineSegment.aY, lineSegment.aZ, lineSegment.bX, lineSegment.bY, lineSegment.bZ, result);
+        }
+
+        @Override
+        public AABBd transform(Matrix4dc m, AABBd dest) {
+            return get(index, dest).transform(m);
+        }
+
+        @Override
+        public String toString() {
+            return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+        }
+
+        /**
+         * Return a string representation of this box by formatting the components with the given {@link NumberFormat}.
+         *
+         * @param formatter
+         *          the {@link NumberFormat} used to format the components with
+         * @return the string representation
+         */
+        public String toString(NumberFormat formatter) {
+            return "(" + Runtime.format(minX(), formatter) + " " + Runtime.format(minY(), formatter) + " " + Runtime.format(minZ(), formatter) + ") < "
+                + "(" + Runtime.format(maxX(), formatter) + " " + Runtime.format(maxY(), formatter) + " " + Runtime.format(maxZ(), formatter) + ")";
+        }
+    }
+}
@@ -22,7 +22,7 @@
 /**
  * Represents an axis-aligned box defined via the minimum and maximum corner coordinates as single-precision floats.
  */
-public class AABBf implements Externalizable, AABBfc {
+public class AABBf implements Externalizable, AABBfc, ConvexShapef {
 
     /**
      * The x coordinate of the minimum corner.
@@ -785,21 +785,14 @@ public AABBf transform(Matrix4fc m) {
     }
 
     public AABBf transform(Matrix4fc m, AABBf dest) {
-        float dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
-        float minx = Float.POSITIVE_INFINITY, miny = Float.POSITIVE_INFINITY, minz = Float.POSITIVE_INFINITY;
-        float maxx = Float.NEGATIVE_INFINITY, maxy = Float.NEGATIVE_INFINITY, maxz = Float.NEGATIVE_INFINITY;
-        for (int i = 0; i < 8; i++) {
-            float x = minX + (i & 1) * dx, y = minY + (i >> 1 & 1) * dy, z = minZ + (i >> 2 & 1) * dz;
-            float tx = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
-            float ty = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
-            float tz = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
-            minx = Math.min(tx, minx);
-            miny = Math.min(ty, miny);
-            minz = Math.min(tz, minz);
-            maxx = Math.max(tx, maxx);
-            maxy = Math.max(ty, maxy);
-            maxz = Math.max(tz, maxz);
-        }
+        // Arvo's method: every bound is the sum of the smaller or larger products of a matrix row with the input
+        // bounds, which is the same as the bound over the eight transformed corners at a third of the multiplications.
+        float minx = lo(m.m00(), minX, maxX) + lo(m.m10(), minY, maxY) + lo(m.m20(), minZ, maxZ) + m.m30();
+        float miny = lo(m.m01(), minX, maxX) + lo(m.m11(), minY, maxY) + lo(m.m21(), minZ, maxZ) + m.m31();
+        float minz = lo(m.m02(), minX, maxX) + lo(m.m12(), minY, maxY) + lo(m.m22(), minZ, maxZ) + m.m32();
+        float maxx = hi(m.m00(), minX, maxX) + hi(m.m10(), minY, maxY) + hi(m.m20(), minZ, maxZ) + m.m30();
+        float maxy = hi(m.m01(), minX, maxX) + hi(m.m11(), minY, maxY) + hi(m.m21(), minZ, maxZ) + m.m31();
+        float maxz = hi(m.m02(), minX, maxX) + hi(m.m12(), minY, maxY) + hi(m.m22(), minZ, maxZ) + m.m32();
         dest.minX = minx;
         dest.minY = miny;
         dest.minZ = minz;
@@ -809,6 +802,113 @@ public AABBf transform(Matrix4fc m, AABBf dest) {
         return dest;
     }
 
+    /**
+     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to <code>count</code> boxes stored as consecutive
+     * <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples in <code>src</code>, starting at <code>srcOffset</code>, and
+     * store the resulting boxes the same way into <code>dest</code>, starting at <code>destOffset</code>.
+     * <p>
+     * <code>src</code> and <code>dest</code> may be the same array if the two ranges are the same or do not overlap.
+     *
+     * @see #transform(Matrix4fc, AABBf)
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the bounds of the boxes to transform
+     * @param srcOffset
+     *          the index of the first float of the first box in <code>src</code>
+     * @param dest
+     *          will hold the bounds of the transformed boxes
+     * @param destOffset
+     *          the index of the first float of the first box in <code>dest</code>
+     * @param count
+     *          the number of boxes
+     */
+    public static void transform(Matrix4fc m, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02(), m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22(), m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        for (int i = 0; i < count; i++) {
+            transform(m00, m01, m02, m10, m11, m12, m20, m21, m22, m30, m31, m32, src, srcOffset + 6 * i, dest, destOffset + 6 * i);
+        }
+    }
+
+    /**
+     * Apply a separate {@link Matrix4fc#isAffine() affine} transformation to each of <code>count</code> boxes stored as
+     * consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples in <code>src</code>, starting at
+     * <code>srcOffset</code>, and store the resulting boxes the same way into <code>dest</code>, starting at
+     * <code>destOffset</code>.
+     * <p>
+     * The matrices are stored as consecutive groups of 16 floats in column-major order, as written by
+     * <code>Matrix4f.get(float[])</code>, starting at <code>matricesOffset</code>. <code>src</code> and <code>dest</code>
+     * may be the same array if the two ranges are the same or do not overlap.
+     *
+     * @see #transform(Matrix4fc, AABBf)
+     *
+     * @param matrices
+     *          the affine transformation matrices, one per box
+     * @param matricesOffset
+     *          the index of the first float of the first matrix in <code>matrices</code>
+     * @param src
+     *          the bounds of the boxes to transform
+     * @param srcOffset
+     *          the index of the first float of the first box in <code>src</code>
+     * @param dest
+     *          will hold the bounds of the transformed boxes
+     * @param destOffset
+     *          the index of the first float of the first box in <code>dest</code>
+     * @param count
+     *          the number of boxes
+     */
+    public static void transform(float[] matrices, int matricesOffset, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            int o = matricesOffset + 16 * i;
+            transform(matrices[o], matrices[o + 1], matrices[o + 2], matrices[o + 4], matrices[o + 5], matrices[o + 6],
+                matrices[o + 8], matrices[o + 9], matrices[o + 10], matrices[o + 12], matrices[o + 13], matrices[o + 14],
+                src, srcOffset + 6 * i, dest, destOffset + 6 * i);
+        }
+    }
+
+    private static void transform(float m00, float m01, float m02, float m10, float m11, float m12, float m20, float m21, float m22,
+                                  float m30, float m31, float m32, float[] src, int s, float[] dest, int d) {
+        float minX = src[s], minY = src[s + 1], minZ = src[s + 2], maxX = src[s + 3], maxY = src[s + 4], maxZ = src[s + 5];
+        dest[d] = lo(m00, minX, maxX) + lo(m10, minY, maxY) + lo(m20, minZ, maxZ) + m30;
+        dest[d + 1] = lo(m01, minX, maxX) + lo(m11, minY, maxY) + lo(m21, minZ, maxZ) + m31;
+        dest[d + 2] = lo(m02, minX, maxX) + lo(m12, minY, maxY) + lo(m22, minZ, maxZ) + m32;
+        dest[d + 3] = hi(m00, minX, maxX) + hi(m10, minY, maxY) + hi(m20, minZ, maxZ) + m30;
+        dest[d + 4] = hi(m01, minX, maxX) + hi(m11, minY, maxY) + hi(m21, minZ, maxZ) + m31;
+        dest[d + 5] = hi(m02, minX, maxX) + hi(m12, minY, maxY) + hi(m22, minZ, maxZ) + m32;
+    }
+
+    static float lo(float m, float min, float max) {
+        return Math.min(m * min, m * max);
+    }
+
+    static float hi(float m, float min, float max) {
+        return Math.max(m * min, m * max);
+    }
+
+    /**
+     * Store the corner of this box that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> into
+     * <code>dest</code>.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    @Override
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        dest.x = dirX < 0.0f ? minX : maxX;
+        dest.y = dirY < 0.0f ? minY : maxY;
+        dest.z = dirZ < 0.0f ? minZ : maxZ;
+        return dest;
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
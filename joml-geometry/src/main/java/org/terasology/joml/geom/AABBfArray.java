@@ -0,0 +1,758 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Math;
+import org.joml.Matrix4fc;
+import org.joml.Options;
+import org.joml.Runtime;
+import org.joml.Vector2f;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.text.NumberFormat;
+import java.util.function.IntConsumer;
+
+/**
+ * A fixed-length array of axis-aligned boxes in single-precision floats, stored contiguously in a {@link FloatBuffer}.
+ * <p>
+ * Each box occupies {@link #STRIDE} consecutive floats <code>minX, minY, minZ, maxX, maxY, maxZ</code>, so the buffer can
+ * be handed to native code or uploaded to the GPU as is. Compared to an array of {@link AABBf} objects, this saves the
+ * object headers and references and keeps linear scans over the boxes sequential in memory.
+ * <p>
+ * Individual boxes can be read through {@link View flyweight views}, which implement {@link AABBfc} on top of the
+ * buffer and can be moved from box to box without allocating.
+ */
+public class AABBfArray {
+
+    /**
+     * The number of floats per box.
+     */
+    public static final int STRIDE = 6;
+
+    private final FloatBuffer buffer;
+    private final int length;
+
+    /**
+     * Create a new {@link AABBfArray} of the given length in a new direct buffer in native byte order, with all boxes
+     * set to <code>(minX, minY, minZ)=(+inf, +inf, +inf)</code> and <code>(maxX, maxY, maxZ)=(-inf, -inf, -inf)</code>
+     * like {@link AABBf#AABBf()}.
+     *
+     * @param length
+     *          the number of boxes
+     */
+    public AABBfArray(int length) {
+        if (length < 0 || length > Integer.MAX_VALUE / (STRIDE * 4)) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        this.buffer = ByteBuffer.allocateDirect(length * STRIDE * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        this.length = length;
+        for (int i = 0; i < length; i++) {
+            set(i, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Create a new {@link AABBfArray} on the remaining floats of the given buffer, without copying them.
+     * <p>
+     * The array holds <code>buffer.remaining() / STRIDE</code> boxes, starting at the buffer's current position. Changes
+     * to the contents are visible through both.
+     *
+     * @param buffer
+     *          the buffer holding the boxes
+     */
+    public AABBfArray(FloatBuffer buffer) {
+        this.length = buffer.remaining() / STRIDE;
+        FloatBuffer slice = buffer.slice();
+        slice.limit(length * STRIDE);
+        this.buffer = slice;
+    }
+
+    /**
+     * Return the number of boxes.
+     *
+     * @return the number of boxes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Return the buffer holding the boxes, with its position at the first box and its limit after the last box.
+     * <p>
+     * The buffer is shared with this array, so it can be handed to native code without copying. Only its contents and
+     * not its position or limit should be changed.
+     *
+     * @return the buffer
+     */
+    public FloatBuffer buffer() {
+        return buffer;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return index * STRIDE;
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the x coordinate of the minimum corner of the box
+     */
+    public float minX(int index) {
+        return buffer.get(offset(index));
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the y coordinate of the minimum corner of the box
+     */
+    public float minY(int index) {
+        return buffer.get(offset(index) + 1);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the z coordinate of the minimum corner of the box
+     */
+    public float minZ(int index) {
+        return buffer.get(offset(index) + 2);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the x coordinate of the maximum corner of the box
+     */
+    public float maxX(int index) {
+        return buffer.get(offset(index) + 3);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the y coordinate of the maximum corner of the box
+     */
+    public float maxY(int index) {
+        return buffer.get(offset(index) + 4);
+    }
+
+    /**
+     * @param index
+     *          the index of the box
+     * @return the z coordinate of the maximum corner of the box
+     */
+    public float maxZ(int index) {
+        return buffer.get(offset(index) + 5);
+    }
+
+    /**
+     * Set the box at the given index to the given minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param index
+     *          the index of the box
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return this
+     */
+    public AABBfArray set(int index, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int o = offset(index);
+        buffer.put(o, minX);
+        buffer.put(o + 1, minY);
+        buffer.put(o + 2, minZ);
+        buffer.put(o + 3, maxX);
+        buffer.put(o + 4, maxY);
+        buffer.put(o + 5, maxZ);
+        return this;
+    }
+
+    /**
+     * Set the box at the given index to the given box.
+     *
+     * @param index
+     *          the index of the box
+     * @param source
+     *          the box to copy
+     * @return this
+     */
+    public AABBfArray set(int index, AABBfc source) {
+        return set(index, source.minX(), source.minY(), source.minZ(), source.maxX(), source.maxY(), source.maxZ());
+    }
+
+    /**
+     * Store the box at the given index into <code>dest</code>.
+     *
+     * @param index
+     *          the index of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf get(int index, AABBf dest) {
+        int o = offset(index);
+        dest.minX = buffer.get(o);
+        dest.minY = buffer.get(o + 1);
+        dest.minZ = buffer.get(o + 2);
+        dest.maxX = buffer.get(o + 3);
+        dest.maxY = buffer.get(o + 4);
+        dest.maxZ = buffer.get(o + 5);
+        return dest;
+    }
+
+    /**
+     * Copy all boxes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples into <code>dest</code>,
+     * for example to build a {@link BVHf} from them.
+     *
+     * @param dest
+     *          will hold the result, must have room for <code>STRIDE * length()</code> floats
+     * @return dest
+     */
+    public float[] get(float[] dest) {
+        buffer.duplicate().get(dest, 0, length * STRIDE);
+        return dest;
+    }
+
+    /**
+     * Return a new flyweight view of the box at the given index.
+     *
+     * @param index
+     *          the index of the box
+     * @return the view
+     */
+    public View view(int index) {
+        return new View().at(index);
+    }
+
+    /**
+     * Compute the union of all boxes and store it into <code>dest</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf union(AABBf dest) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        FloatBuffer b = buffer;
+        for (int o = 0, end = length * STRIDE; o < end; o += STRIDE) {
+            minX = Math.min(minX, b.get(o));
+            minY = Math.min(minY, b.get(o + 1));
+            minZ = Math.min(minZ, b.get(o + 2));
+            maxX = Math.max(maxX, b.get(o + 3));
+            maxY = Math.max(maxY, b.get(o + 4));
+            maxZ = Math.max(maxZ, b.get(o + 5));
+        }
+        return dest.setMin(minX, minY, minZ).setMax(maxX, maxY, maxZ);
+    }
+
+    /**
+     * Translate all boxes by the given vector <code>(x, y, z)</code>.
+     *
+     * @param x
+     *          the x coordinate to translate by
+     * @param y
+     *          the y coordinate to translate by
+     * @param z
+     *          the z coordinate to translate by
+     * @return this
+     */
+    public AABBfArray translate(float x, float y, float z) {
+        FloatBuffer b = buffer;
+        for (int o = 0, end = length * STRIDE; o < end; o += STRIDE) {
+            b.put(o, b.get(o) + x);
+            b.put(o + 1, b.get(o + 1) + y);
+            b.put(o + 2, b.get(o + 2) + z);
+            b.put(o + 3, b.get(o + 3) + x);
+            b.put(o + 4, b.get(o + 4) + y);
+            b.put(o + 5, b.get(o + 5) + z);
+        }
+        return this;
+    }
+
+    /**
+     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to all boxes and store the resulting boxes into
+     * <code>dest</code>, which may be this array.
+     *
+     * @see AABBf#transform(Matrix4fc, AABBf)
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result, must have the same length as this array
+     * @return dest
+     */
+    public AABBfArray transform(Matrix4fc m, AABBfArray dest) {
+        if (dest.length != length) {
+            throw new IllegalArgumentException("Length mismatch: " + dest.length + " != " + length);
+        }
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02(), m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22(), m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        FloatBuffer s = buffer, d = dest.buffer;
+        for (int o = 0, end = length * STRIDE; o < end; o += STRIDE) {
+            // Read the whole box before writing, as dest may be this array.
+            float minX = s.get(o), minY = s.get(o + 1), minZ = s.get(o + 2);
+            float maxX = s.get(o + 3), maxY = s.get(o + 4), maxZ = s.get(o + 5);
+            d.put(o, AABBf.lo(m00, minX, maxX) + AABBf.lo(m10, minY, maxY) + AABBf.lo(m20, minZ, maxZ) + m30);
+            d.put(o + 1, AABBf.lo(m01, minX, maxX) + AABBf.lo(m11, minY, maxY) + AABBf.lo(m21, minZ, maxZ) + m31);
+            d.put(o + 2, AABBf.lo(m02, minX, maxX) + AABBf.lo(m12, minY, maxY) + AABBf.lo(m22, minZ, maxZ) + m32);
+            d.put(o + 3, AABBf.hi(m00, minX, maxX) + AABBf.hi(m10, minY, maxY) + AABBf.hi(m20, minZ, maxZ) + m30);
+            d.put(o + 4, AABBf.hi(m01, minX, maxX) + AABBf.hi(m11, minY, maxY) + AABBf.hi(m21, minZ, maxZ) + m31);
+            d.put(o + 5, AABBf.hi(m02, minX, maxX) + AABBf.hi(m12, minY, maxY) + AABBf.hi(m22, minZ, maxZ) + m32);
+        }
+        return dest;
+    }
+
+    /**
+     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to all boxes.
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public AABBfArray transform(Matrix4fc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the axis-aligned box given as its minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code> to the given
+     * <code>consumer</code>, in ascending order.
+     *
+     * @see Intersectionf#testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsAABB(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, IntConsumer consumer) {
+        FloatBuffer b = buffer;
+        int hits = 0;
+        for (int i = 0, o = 0; i < length; i++, o += STRIDE) {
+            if (b.get(o + 3) >= minX && b.get(o + 4) >= minY && b.get(o + 5) >= minZ
+                    && b.get(o) <= maxX && b.get(o + 1) <= maxY && b.get(o + 2) <= maxZ) {
+                consumer.accept(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the given axis-aligned box to the given <code>consumer</code>, in
+     * ascending order.
+     *
+     * @param other
+     *          the other box
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsAABB(AABBfc other, IntConsumer consumer) {
+        return intersectsAABB(other.minX(), other.minY(), other.minZ(), other.maxX(), other.maxY(), other.maxZ(), consumer);
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the given sphere to the given <code>consumer</code>, in ascending
+     * order.
+     *
+     * @see Intersectionf#testAabSphere(float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param centerX
+     *          the x coordinate of the center of the sphere
+     * @param centerY
+     *          the y coordinate of the center of the sphere
+     * @param centerZ
+     *          the z coordinate of the center of the sphere
+     * @param radiusSquared
+     *          the square radius of the sphere
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsSphere(float centerX, float centerY, float centerZ, float radiusSquared, IntConsumer consumer) {
+        FloatBuffer b = buffer;
+        int hits = 0;
+        for (int i = 0, o = 0; i < length; i++, o += STRIDE) {
+            if (Intersectionf.testAabSphere(b.get(o), b.get(o + 1), b.get(o + 2), b.get(o + 3), b.get(o + 4), b.get(o + 5),
+                    centerX, centerY, centerZ, radiusSquared)) {
+                consumer.accept(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report the indices of all boxes which intersect the given sphere to the given <code>consumer</code>, in ascending
+     * order.
+     *
+     * @param sphere
+     *          the sphere
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsSphere(Spheref sphere, IntConsumer consumer) {
+        return intersectsSphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, consumer);
+    }
+
+    /**
+     * Report the indices of all boxes which the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> intersects to the given <code>consumer</code>, in ascending order.
+     *
+     * @see Intersectionf#testRayAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, IntConsumer consumer) {
+        FloatBuffer b = buffer;
+        int hits = 0;
+        for (int i = 0, o = 0; i < length; i++, o += STRIDE) {
+            if (Intersectionf.testRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                    b.get(o), b.get(o + 1), b.get(o + 2), b.get(o + 3), b.get(o + 4), b.get(o + 5))) {
+                consumer.accept(i);
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report the indices of all boxes which the given ray intersects to the given <code>consumer</code>, in ascending
+     * order.
+     *
+     * @param ray
+     *          the ray
+     * @param consumer
+     *          receives the index of every intersecting box
+     * @return the number of intersecting boxes
+     */
+    public int intersectsRay(Rayf ray, IntConsumer consumer) {
+        return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, consumer);
+    }
+
+    /**
+     * A read-only view of one box of an {@link AABBfArray}.
+     * <p>
+     * A view reads through to the buffer, so it always reflects the current contents of the array. It can be moved to
+     * another box with {@link #at(int)}, so a single view can be reused for a whole scan.
+     */
+    public final class View implements AABBfc {
+
+        private int offset;
+        private int index;
+
+        private View() {
+        }
+
+        /**
+         * Move this view to the box at the given index.
+         *
+         * @param index
+         *          the index of the box
+         * @return this
+         */
+        public View at(int index) {
+            this.offset = offset(index);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * @return the index of the box this view shows
+         */
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public float minX() {
+            return buffer.get(offset);
+        }
+
+        @Override
+        public float minY() {
+            return buffer.get(offset + 1);
+        }
+
+        @Override
+        public float minZ() {
+            return buffer.get(offset + 2);
+        }
+
+        @Override
+        public float maxX() {
+            return buffer.get(offset + 3);
+        }
+
+        @Override
+        public float maxY() {
+            return buffer.get(offset + 4);
+        }
+
+        @Override
+        public float maxZ() {
+            return buffer.get(offset + 5);
+        }
+
+        @Override
+        public boolean isValid() {
+            return minX() < maxX() && minY() < maxY() && minZ() < maxZ();
+        }
+
+        @Override
+        public float getMax(int component) throws IllegalArgumentException {
+            if (component < 0 || component > 2) {
+                throw new IllegalArgumentException();
+            }
+            return buffer.get(offset + 3 + component);
+        }
+
+        @Override
+        public float getMin(int component) throws IllegalArgumentException {
+            if (component < 0 || component > 2) {
+                throw new IllegalArgumentException();
+            }
+            return buffer.get(offset + component);
+        }
+
+        @Override
+        public Vector3f center(Vector3f dest) {
+            return dest.set(minX() + ((maxX() - minX()) / 2.0f), minY() + ((maxY() - minY()) / 2.0f), minZ() + ((maxZ() - minZ()) / 2.0f));
+        }
+
+        @Override
+        public Vector3d center(Vector3d dest) {
+            return dest.set(minX() + ((maxX() - minX()) / 2.0), minY() + ((maxY() - minY()) / 2.0), minZ() + ((maxZ() - minZ()) / 2.0));
+        }
+
+        @Override
+        public AABBf setSize(float dx, float dy, float dz, AABBf dest) {
+            float minX = minX(), minY = minY(), minZ = minZ();
+            return dest.setMin(minX, minY, minZ).setMax(minX + dx, minY + dy, minZ + dz);
+        }
+
+        @Override
+        public AABBf setSize(Vector3fc size, AABBf dest) {
+            return setSize(size.x(), size.y(), size.z(), dest);
+        }
+
+        @Override
+        public AABBf setSize(Vector3dc size, AABBf dest) {
+            return setSize((float) size.x(), (float) size.y(), (float) size.z(), dest);
+        }
+
+        @Override
+        public AABBf expand(float dx, float dy, float dz, AABBf dest) {
+            return dest.setMin(minX() - dx, minY() - dy, minZ() - dz).setMax(maxX() + dx, maxY() + dy, maxZ() + dz);
+        }
+
+        @Override
+        public AABBf expand(Vector3fc extent, AABBf dest) {
+            return expand(extent.x(), extent.y(), extent.z(), dest);
+        }
+
+        @Override
+        public AABBf expand(Vector3dc extent, AABBf dest) {
+            return expand((float) extent.x(), (float) extent.y(), (float) extent.z(), dest);
+        }
+
+        @Override
+        public Vector3d extent(Vector3d dest) {
+            return dest.set((maxX() - minX()) / 2.0, (maxY() - minY()) / 2.0, (maxZ() - minZ()) / 2.0);
+        }
+
+        @Override
+        public Vector3f extent(Vector3f dest) {
+            return dest.set((maxX() - minX()) / 2.0f, (maxY() - minY()) / 2.0f, (maxZ() - minZ()) / 2.0f);
+        }
+
+        @Override
+        public AABBf union(float x, float y, float z, AABBf dest) {
+            return dest.setMin(Math.min(minX(), x), Math.min(minY(), y), Math.min(minZ(), z))
+                .setMax(Math.max(maxX(), x), Math.max(maxY(), y), Math.max(maxZ(), z));
+        }
+
+        @Override
+        public AABBf union(Vector3fc p, AABBf dest) {
+            return union(p.x(), p.y(), p.z(), dest);
+        }
+
+        @Override
+        public AABBf union(AABBf other, AABBf dest) {
+            return dest.setMin(Math.min(minX(), other.minX), Math.min(minY(), other.minY), Math.min(minZ(), other.minZ))
+                .setMax(Math.max(maxX(), other.maxX), Math.max(maxY(), other.maxY), Math.max(maxZ(), other.maxZ));
+        }
+
+        @Override
+        public AABBf translate(Vector3fc xyz, AABBf dest) {
+            return translate(xyz.x(), xyz.y(), xyz.z(), dest);
+        }
+
+        @Override
+        public AABBf translate(float x, float y, float z, AABBf dest) {
+            return dest.setMin(minX() + x, minY() + y, minZ() + z).setMax(maxX() + x, maxY() + y, maxZ() + z);
+        }
+
+        @Override
+        public AABBf intersection(AABBfc other, AABBf dest) {
+            float minX = Math.max(minX(), other.minX()), minY = Math.max(minY(), other.minY()), minZ = Math.max(minZ(), other.minZ());
+            float maxX = Math.min(maxX(), other.maxX()), maxY = Math.min(maxY(), other.maxY()), maxZ = Math.min(maxZ(), other.maxZ());
+            if (minX < maxX && minY < maxY && minZ < maxZ) {
+                return dest.setMin(minX, minY, minZ).setMax(maxX, maxY, maxZ);
+            }
+            return dest.setMin(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY)
+                .setMax(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        }
+
+        @Override
+        public boolean containsAABB(AABBdc aabb) {
+            return aabb.minX() >= minX() && aabb.maxX() <= maxX() &&
+                aabb.minY() >= minY() && aabb.maxY() <= maxY() &&
+                aabb.minZ() >= minZ() && aabb.maxZ() <= maxZ();
+        }
+
+        @Override
+        public boolean containsAABB(AABBfc aabb) {
+            return aabb.minX() >= minX() && aabb.maxX() <= maxX() &&
+                aabb.minY() >= minY() && aabb.maxY() <= maxY() &&
+                aabb.minZ() >= minZ() && aabb.maxZ() <= maxZ();
+        }
+
+        @Override
+        public boolean containsAABB(AABBic aabb) {
+            return aabb.minX() >= minX() && aabb.maxX() <= maxX() &&
+                aabb.minY() >= minY() && aabb.maxY() <= maxY() &&
+                aabb.minZ() >= minZ() && aabb.maxZ() <= maxZ();
+        }
+
+        @Override
+        public boolean containsPoint(float x, float y, float z) {
+            return x > minX() && y > minY() && z > minZ() && x < maxX() && y < maxY() && z < maxZ();
+        }
+
+        @Override
+        public boolean containsPoint(Vector3fc point) {
+            return containsPoint(point.x(), point.y(), point.z());
+        }
+
+        @Override
+        public boolean intersectsPlane(float a, float b, float c, float d) {
+            return Intersectionf.testAabPlane(minX(), minY(), minZ(), maxX(), maxY(), maxZ(), a, b, c, d);
+        }
+
+        @Override
+        public boolean intersectsPlane(Planef plane) {
+            return intersectsPlane(plane.a, plane.b, plane.c, plane.d);
+        }
+
+        @Override
+        public boolean intersectsAABB(AABBfc other) {
+            return maxX() >= other.minX() && maxY() >= other.minY() && maxZ() >= other.minZ() &&
+                minX() <= other.maxX() && minY() <= other.maxY() && minZ() <= other.maxZ();
+        }
+
+        @Override
+        public boolean intersectsSphere(float centerX, float centerY, float centerZ, float radiusSquared) {
+            return Intersectionf.testAabSphere(minX(), minY(), minZ(), maxX(), maxY(), maxZ(), centerX, centerY, centerZ, radiusSquared);
+        }
+
+        @Override
+        public boolean intersectsSphere(Spheref sphere) {
+            return intersectsSphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r);
+        }
+
+        @Override
+        public boolean intersectsRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ) {
+            return Intersectionf.testRayAab(originX, originY, originZ, dirX, dirY, dirZ, minX(), minY(), minZ(), maxX(), maxY(), maxZ());
+        }
+
+        @Override
+        public boolean intersectsRay(Rayf ray) {
+            return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ);
+        }
+
+        @Override
+        public boolean intersectsRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, Vector2f result) {
+            return Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ, minX(), minY(), minZ(), maxX(), maxY(), maxZ(), result);
+        }
+
+        @Override
+        public boolean intersectsRay(Rayf ray, Vector2f result) {
+            return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, result);
+        }
+
+        @Override
+        public int intersectsLineSegment(float p0X, float p0Y, float p0Z, float p1X, float p1Y, float p1Z, Vector2f result) {
+            return Intersectionf.intersectLineSegmentAab(p0X, p0Y, p0Z, p1X, p1Y, p1Z, minX(), minY(), minZ(), maxX(), maxY(), maxZ(), result);
+        }
+
+        @Override
+        public int intersectsLineSegment(LineSegmentf lineSegment, Vector2f result) {
+            return intersectsLineSegment(lineSegment.aX, lineSegment.aY, lineSegment.aZ, lineSegment.bX, lineSegment.bY, lineSegment.bZ, result);
+        }
+
+        @Override
+        public AABBf transform(Matrix4fc m, AABBf dest) {
+            return get(index, dest).transform(m);
+        }
+
+        @Override
+        public String toString() {
+            return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+        }
+
+        @Override
+        public String toString(NumberFormat formatter) {
+            return "(" + Runtime.format(minX(), formatter) + " " + Runtime.format(minY(), formatter) + " " + Runtime.format(minZ(), formatter) + ") < "
+                + "(" + Runtime.format(maxX(), formatter) + " " + Runtime.format(maxY(), formatter) + " " + Runtime.format(maxZ(), formatter) + ")";
+        }
+    }
+}
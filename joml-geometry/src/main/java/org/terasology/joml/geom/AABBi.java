@@ -594,21 +594,14 @@ public AABBi transform(Matrix4fc m) {
     }
 
     public AABBi transform(Matrix4fc m, AABBi dest) {
-        float dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
-        float minx = Float.POSITIVE_INFINITY, miny = Float.POSITIVE_INFINITY, minz = Float.POSITIVE_INFINITY;
-        float maxx = Float.NEGATIVE_INFINITY, maxy = Float.NEGATIVE_INFINITY, maxz = Float.NEGATIVE_INFINITY;
-        for (int i = 0; i < 8; i++) {
-            float x = minX + (i & 1) * dx, y = minY + (i >> 1 & 1) * dy, z = minZ + (i >> 2 & 1) * dz;
-            float tx = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
-            float ty = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
-            float tz = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
-            minx = Math.min(tx, minx);
-            miny = Math.min(ty, miny);
-            minz = Math.min(tz, minz);
-            maxx = Math.max(tx, maxx);
-            maxy = Math.max(ty, maxy);
-            maxz = Math.max(tz, maxz);
-        }
+        // Arvo's method: every bound is the sum of the smaller or larger products of a matrix row with the input
+        // bounds, which is the same as the bound over the eight transformed corners at a third of the multiplications.
+        float minx = lo(m.m00(), minX, maxX) + lo(m.m10(), minY, maxY) + lo(m.m20(), minZ, maxZ) + m.m30();
+        float miny = lo(m.m01(), minX, maxX) + lo(m.m11(), minY, maxY) + lo(m.m21(), minZ, maxZ) + m.m31();
+        float minz = lo(m.m02(), minX, maxX) + lo(m.m12(), minY, maxY) + lo(m.m22(), minZ, maxZ) + m.m32();
+        float maxx = hi(m.m00(), minX, maxX) + hi(m.m10(), minY, maxY) + hi(m.m20(), minZ, maxZ) + m.m30();
+        float maxy = hi(m.m01(), minX, maxX) + hi(m.m11(), minY, maxY) + hi(m.m21(), minZ, maxZ) + m.m31();
+        float maxz = hi(m.m02(), minX, maxX) + hi(m.m12(), minY, maxY) + hi(m.m22(), minZ, maxZ) + m.m32();
         dest.minX = Math.roundUsing(minx, RoundingMode.FLOOR);
         dest.minY = Math.roundUsing(miny, RoundingMode.FLOOR);
         dest.minZ = Math.roundUsing(minz, RoundingMode.FLOOR);
@@ -618,6 +611,14 @@ public AABBi transform(Matrix4fc m, AABBi dest) {
         return dest;
     }
 
+    private static float lo(float m, float min, float max) {
+        return Math.min(m * min, m * max);
+    }
+
+    private static float hi(float m, float min, float max) {
+        return Math.max(m * min, m * max);
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
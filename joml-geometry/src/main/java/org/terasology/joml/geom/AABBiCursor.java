@@ -0,0 +1,138 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3i;
+
+/**
+ * A reusable cursor over the cells of an {@link AABBic}, which are the integer coordinates <code>(x, y, z)</code> with
+ * <code>minX &lt;= x &lt; maxX</code>, <code>minY &lt;= y &lt; maxY</code> and <code>minZ &lt;= z &lt; maxZ</code>.
+ * <p>
+ * The cells are visited with x varying fastest and z slowest:
+ * <pre>
+ * AABBiCursor cursor = new AABBiCursor();
+ * for (cursor.set(box); cursor.next(); ) {
+ *     process(cursor.x(), cursor.y(), cursor.z());
+ * }
+ * </pre>
+ */
+public class AABBiCursor {
+
+    private int minX, minY, maxX, maxY, maxZ;
+    private int x, y, z;
+    private boolean done = true;
+
+    /**
+     * Create a new {@link AABBiCursor} over no cells.
+     */
+    public AABBiCursor() {
+    }
+
+    /**
+     * Create a new {@link AABBiCursor} over the cells of the given box.
+     *
+     * @param aabb
+     *          the box
+     */
+    public AABBiCursor(AABBic aabb) {
+        set(aabb);
+    }
+
+    /**
+     * Restart this cursor before the first cell of the box given via its minimum corner <code>(minX, minY, minZ)</code>
+     * and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return this
+     */
+    public AABBiCursor set(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.x = minX - 1;
+        this.y = minY;
+        this.z = minZ;
+        this.done = minX >= maxX || minY >= maxY || minZ >= maxZ;
+        return this;
+    }
+
+    /**
+     * Restart this cursor before the first cell of the given box.
+     *
+     * @param aabb
+     *          the box
+     * @return this
+     */
+    public AABBiCursor set(AABBic aabb) {
+        return set(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Advance to the next cell.
+     *
+     * @return <code>true</code> if this cursor is now on a cell; <code>false</code> if all cells have been visited
+     */
+    public boolean next() {
+        if (done) {
+            return false;
+        }
+        if (++x < maxX) {
+            return true;
+        }
+        x = minX;
+        if (++y < maxY) {
+            return true;
+        }
+        y = minY;
+        if (++z < maxZ) {
+            return true;
+        }
+        done = true;
+        return false;
+    }
+
+    /**
+     * @return the x coordinate of the current cell
+     */
+    public int x() {
+        return x;
+    }
+
+    /**
+     * @return the y coordinate of the current cell
+     */
+    public int y() {
+        return y;
+    }
+
+    /**
+     * @return the z coordinate of the current cell
+     */
+    public int z() {
+        return z;
+    }
+
+    /**
+     * Store the coordinates of the current cell into <code>dest</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector3i get(Vector3i dest) {
+        return dest.set(x, y, z);
+    }
+}
@@ -0,0 +1,623 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * An exact union of integer boxes, e.g. the blocks changed by a batch of voxel edits, kept as disjoint boxes in
+ * z-y-x banded form.
+ * <p>
+ * Boxes cover the cells <code>[minX..maxX) x [minY..maxY) x [minZ..maxZ)</code>, so an {@link AABBi} which is not
+ * {@link AABBi#isValid() valid} is empty, and boxes sharing a face do not overlap. This is the three-dimensional
+ * analogue of {@link RectangleiSet}: the covering boxes are sorted into slabs of equal <code>minZ</code> and
+ * <code>maxZ</code>, each slab holds the boxes of a two-dimensional region in the banded form of
+ * {@link RectangleiSet}, and adjacent slabs with the same region are merged, just like adjacent bands with the same
+ * spans are merged within a slab. This form is unique, so two sets are equal iff they cover the same cells, adjacent
+ * boxes are coalesced as far as the banding allows, and each set operation is a single sweep over the boxes of both
+ * operands.
+ * <p>
+ * The boxes are stored in primitive arrays, which are swapped with a spare array on each operation, so operations do
+ * not allocate once the arrays are large enough.
+ */
+public class AABBiSet {
+
+    private static final int UNION = 0;
+    private static final int INTERSECT = 1;
+    private static final int SUBTRACT = 2;
+
+    /**
+     * The boxes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples, in banded order.
+     */
+    private int[] boxes;
+    private int count;
+    /**
+     * The target of the next operation, which becomes {@link #boxes} afterwards.
+     */
+    private int[] spare;
+    private int spareCount;
+    private final int[] single = new int[6];
+    /**
+     * The extent of the band being built by the current operation, along the axes above the one being swept.
+     */
+    private final int[] bandMin = new int[3];
+    private final int[] bandMax = new int[3];
+
+    /**
+     * Create a new empty {@link AABBiSet}.
+     */
+    public AABBiSet() {
+        boxes = new int[6 * 8];
+        spare = new int[6 * 8];
+    }
+
+    /**
+     * Create a new {@link AABBiSet} covering the given box.
+     *
+     * @param box
+     *          the box
+     */
+    public AABBiSet(AABBic box) {
+        this();
+        set(box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ());
+    }
+
+    /**
+     * Create a new {@link AABBiSet} as a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link AABBiSet} to copy from
+     */
+    public AABBiSet(AABBiSet source) {
+        boxes = Arrays.copyOf(source.boxes, java.lang.Math.max(6 * source.count, 6 * 8));
+        spare = new int[boxes.length];
+        count = source.count;
+    }
+
+    /**
+     * Return whether this set is empty.
+     *
+     * @return <code>true</code> if this set covers no cells; <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Return the number of disjoint boxes covering this set.
+     *
+     * @return the number of boxes
+     */
+    public int boxCount() {
+        return count;
+    }
+
+    /**
+     * Store the box with the given index, in <code>[0..boxCount())</code>, into <code>dest</code>.
+     * <p>
+     * The boxes are ordered by their <code>minZ</code>, then by their <code>minY</code> and then by their
+     * <code>minX</code>.
+     *
+     * @param index
+     *          the index of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBi getBox(int index, AABBi dest) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Not a box: " + index);
+        }
+        int o = 6 * index;
+        return dest.setMin(boxes[o], boxes[o + 1], boxes[o + 2]).setMax(boxes[o + 3], boxes[o + 4], boxes[o + 5]);
+    }
+
+    /**
+     * Store the bounding box of this set into <code>dest</code>, which is <code>(0, 0, 0) - (0, 0, 0)</code> if this
+     * set is empty.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBi getBounds(AABBi dest) {
+        if (count == 0) {
+            return dest.setMin(0, 0, 0).setMax(0, 0, 0);
+        }
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int o = 6 * i;
+            minX = java.lang.Math.min(minX, boxes[o]);
+            minY = java.lang.Math.min(minY, boxes[o + 1]);
+            maxX = java.lang.Math.max(maxX, boxes[o + 3]);
+            maxY = java.lang.Math.max(maxY, boxes[o + 4]);
+        }
+        return dest.setMin(minX, minY, boxes[2]).setMax(maxX, maxY, boxes[6 * count - 1]);
+    }
+
+    /**
+     * Return the number of cells covered by this set.
+     *
+     * @return the volume of this set
+     */
+    public long volume() {
+        long volume = 0;
+        for (int i = 0; i < count; i++) {
+            int o = 6 * i;
+            volume += (long) (boxes[o + 3] - boxes[o]) * (boxes[o + 4] - boxes[o + 1]) * (boxes[o + 5] - boxes[o + 2]);
+        }
+        return volume;
+    }
+
+    /**
+     * Test whether the cell <code>(x, y, z)</code> is covered by this set.
+     *
+     * @param x
+     *          the x coordinate of the cell
+     * @param y
+     *          the y coordinate of the cell
+     * @param z
+     *          the z coordinate of the cell
+     * @return <code>true</code> if the cell is covered; <code>false</code> otherwise
+     */
+    public boolean containsPoint(int x, int y, int z) {
+        int start = 0, end = count;
+        // Narrow down to the only slab, and then the only band within it, which may contain the cell.
+        for (int axis = 2; axis > 0; axis--) {
+            int value = axis == 2 ? z : y;
+            start = firstAbove(start, end, axis, value);
+            if (start == end || boxes[6 * start + axis] > value) {
+                return false;
+            }
+            end = bandEnd(boxes, start, end, axis);
+        }
+        for (int i = start; i < end; i++) {
+            int o = 6 * i;
+            if (x < boxes[o]) {
+                return false;
+            }
+            if (x < boxes[o + 3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the first box in <code>[start..end)</code> whose maximum along the given axis is greater than
+     * <code>value</code>.
+     */
+    private int firstAbove(int start, int end, int axis, int value) {
+        int low = start, high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boxes[6 * mid + 3 + axis] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Call the given <code>action</code> with the coordinates of every cell covered by this set, box by box, with x
+     * varying fastest and z slowest within each box.
+     *
+     * @see AABBic#forEachCell(IntTriConsumer)
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    public void forEachCell(IntTriConsumer action) {
+        for (int i = 0; i < count; i++) {
+            int o = 6 * i;
+            for (int z = boxes[o + 2]; z < boxes[o + 5]; z++) {
+                for (int y = boxes[o + 1]; y < boxes[o + 4]; y++) {
+                    for (int x = boxes[o]; x < boxes[o + 3]; x++) {
+                        action.accept(x, y, z);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all boxes from this set.
+     *
+     * @return this
+     */
+    public AABBiSet clear() {
+        count = 0;
+        return this;
+    }
+
+    /**
+     * Set this set to the given box.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @param maxZ
+     *          the z coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public AABBiSet set(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        count = setSingle(minX, minY, minZ, maxX, maxY, maxZ);
+        System.arraycopy(single, 0, boxes, 0, 6);
+        return this;
+    }
+
+    /**
+     * Set this set to a copy of the given set.
+     *
+     * @param other
+     *          the set to copy
+     * @return this
+     */
+    public AABBiSet set(AABBiSet other) {
+        if (boxes.length < 6 * other.count) {
+            boxes = new int[other.boxes.length];
+            spare = new int[other.boxes.length];
+        }
+        System.arraycopy(other.boxes, 0, boxes, 0, 6 * other.count);
+        count = other.count;
+        return this;
+    }
+
+    /**
+     * Add the given box to this set.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @param maxZ
+     *          the z coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public AABBiSet union(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return op(UNION, single, setSingle(minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    /**
+     * Add the given box to this set.
+     *
+     * @see #union(int, int, int, int, int, int)
+     *
+     * @param box
+     *          the box
+     * @return this
+     */
+    public AABBiSet union(AABBic box) {
+        return union(box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ());
+    }
+
+    /**
+     * Add all cells of the given set to this set.
+     *
+     * @param other
+     *          the other set
+     * @return this
+     */
+    public AABBiSet union(AABBiSet other) {
+        return op(UNION, other.boxes, other.count);
+    }
+
+    /**
+     * Remove all cells outside of the given box from this set.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @param maxZ
+     *          the z coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public AABBiSet intersect(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return op(INTERSECT, single, setSingle(minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    /**
+     * Remove all cells outside of the given box from this set.
+     *
+     * @see #intersect(int, int, int, int, int, int)
+     *
+     * @param box
+     *          the box
+     * @return this
+     */
+    public AABBiSet intersect(AABBic box) {
+        return intersect(box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ());
+    }
+
+    /**
+     * Remove all cells not covered by the given set from this set.
+     *
+     * @param other
+     *          the other set
+     * @return this
+     */
+    public AABBiSet intersect(AABBiSet other) {
+        return op(INTERSECT, other.boxes, other.count);
+    }
+
+    /**
+     * Remove the cells of the given box from this set.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @param maxZ
+     *          the z coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public AABBiSet subtract(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return op(SUBTRACT, single, setSingle(minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    /**
+     * Remove the cells of the given box from this set.
+     *
+     * @see #subtract(int, int, int, int, int, int)
+     *
+     * @param box
+     *          the box
+     * @return this
+     */
+    public AABBiSet subtract(AABBic box) {
+        return subtract(box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ());
+    }
+
+    /**
+     * Remove the cells of the given set from this set.
+     *
+     * @param other
+     *          the other set
+     * @return this
+     */
+    public AABBiSet subtract(AABBiSet other) {
+        return op(SUBTRACT, other.boxes, other.count);
+    }
+
+    private int setSingle(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (minX >= maxX || minY >= maxY || minZ >= maxZ) {
+            return 0;
+        }
+        single[0] = minX;
+        single[1] = minY;
+        single[2] = minZ;
+        single[3] = maxX;
+        single[4] = maxY;
+        single[5] = maxZ;
+        return 1;
+    }
+
+    /**
+     * Return the end of the band along the given axis starting with the given box.
+     */
+    private static int bandEnd(int[] boxes, int start, int end, int axis) {
+        int i = start + 1;
+        while (i < end && boxes[6 * i + axis] == boxes[6 * start + axis]) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Combine this set with the <code>otherCount</code> boxes in <code>other</code> by sweeping over the slabs of both
+     * along z, and within each pair of overlapping slabs over their bands along y.
+     */
+    private AABBiSet op(int op, int[] other, int otherCount) {
+        spareCount = 0;
+        sweep(2, op, boxes, 0, count, other, 0, otherCount);
+        int[] result = spare;
+        spare = boxes;
+        boxes = result;
+        count = spareCount;
+        return this;
+    }
+
+    /**
+     * Append the combination of the boxes <code>[aStart..aEnd)</code> of <code>a</code> and
+     * <code>[bStart..bEnd)</code> of <code>b</code>, which lie in the current band of the axes above <code>axis</code>,
+     * by sweeping over their bands along <code>axis</code>.
+     */
+    private void sweep(int axis, int op, int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd) {
+        if (axis == 0) {
+            spans(op, a, aStart, aEnd, b, bStart, bEnd);
+            return;
+        }
+        int previousBand = -1;
+        int ia = aStart, ib = bStart;
+        int position = Integer.MIN_VALUE;
+        while (ia < aEnd || ib < bEnd) {
+            if (ia == aEnd && op != UNION || ib == bEnd && op == INTERSECT) {
+                // Nothing of the remaining bands contributes.
+                break;
+            }
+            int aBand = ia < aEnd ? bandEnd(a, ia, aEnd, axis) : ia;
+            int bBand = ib < bEnd ? bandEnd(b, ib, bEnd, axis) : ib;
+            int aTop = ia < aEnd ? java.lang.Math.max(a[6 * ia + axis], position) : Integer.MAX_VALUE;
+            int bTop = ib < bEnd ? java.lang.Math.max(b[6 * ib + axis], position) : Integer.MAX_VALUE;
+            int aBottom = ia < aEnd ? a[6 * ia + 3 + axis] : Integer.MAX_VALUE;
+            int bBottom = ib < bEnd ? b[6 * ib + 3 + axis] : Integer.MAX_VALUE;
+            int top, bottom, start = spareCount;
+            if (aTop < bTop) {
+                top = aTop;
+                bottom = java.lang.Math.min(aBottom, bTop);
+                if (op != INTERSECT) {
+                    setBand(axis, top, bottom);
+                    sweep(axis - 1, UNION, a, ia, aBand, b, ib, ib);
+                }
+            } else if (bTop < aTop) {
+                top = bTop;
+                bottom = java.lang.Math.min(bBottom, aTop);
+                if (op == UNION) {
+                    setBand(axis, top, bottom);
+                    sweep(axis - 1, UNION, b, ib, bBand, a, ia, ia);
+                }
+            } else {
+                top = aTop;
+                bottom = java.lang.Math.min(aBottom, bBottom);
+                setBand(axis, top, bottom);
+                sweep(axis - 1, op, a, ia, aBand, b, ib, bBand);
+            }
+            position = bottom;
+            if (aBottom <= position) {
+                ia = aBand;
+            }
+            if (bBottom <= position) {
+                ib = bBand;
+            }
+            if (spareCount > start) {
+                previousBand = coalesce(axis, previousBand, start, top, bottom);
+            }
+        }
+    }
+
+    private void setBand(int axis, int min, int max) {
+        bandMin[axis] = min;
+        bandMax[axis] = max;
+    }
+
+    /**
+     * Merge the band <code>[start..spareCount)</code> just appended along <code>axis</code> into the previous band, if
+     * that ends at <code>top</code> and has the same boxes along the lower axes.
+     *
+     * @return the start of the last band
+     */
+    private int coalesce(int axis, int previousBand, int start, int top, int bottom) {
+        if (previousBand < 0 || spare[6 * previousBand + 3 + axis] != top || start - previousBand != spareCount - start) {
+            return start;
+        }
+        for (int i = 0; i < start - previousBand; i++) {
+            int p = 6 * (previousBand + i), c = 6 * (start + i);
+            for (int lower = 0; lower < axis; lower++) {
+                if (spare[p + lower] != spare[c + lower] || spare[p + 3 + lower] != spare[c + 3 + lower]) {
+                    return start;
+                }
+            }
+        }
+        for (int i = previousBand; i < start; i++) {
+            spare[6 * i + 3 + axis] = bottom;
+        }
+        spareCount = start;
+        return previousBand;
+    }
+
+    /**
+     * Append the spans along x of the combination of the boxes <code>[aStart..aEnd)</code> of <code>a</code> and
+     * <code>[bStart..bEnd)</code> of <code>b</code>, which lie in the current band along y and z.
+     */
+    private void spans(int op, int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd) {
+        // Walk the boundaries of both lists of spans in order, toggling whether we are inside of either.
+        int ia = 2 * aStart, ib = 2 * bStart, aLimit = 2 * aEnd, bLimit = 2 * bEnd;
+        boolean inA = false, inB = false, inside = false;
+        int spanStart = 0;
+        while (ia < aLimit || ib < bLimit) {
+            int xA = ia < aLimit ? a[6 * (ia >> 1) + 3 * (ia & 1)] : Integer.MAX_VALUE;
+            int xB = ib < bLimit ? b[6 * (ib >> 1) + 3 * (ib & 1)] : Integer.MAX_VALUE;
+            int x = java.lang.Math.min(xA, xB);
+            if (xA == x) {
+                inA = (ia & 1) == 0;
+                ia++;
+            }
+            if (xB == x) {
+                inB = (ib & 1) == 0;
+                ib++;
+            }
+            boolean now = op == UNION ? inA || inB : op == INTERSECT ? inA && inB : inA && !inB;
+            if (now != inside) {
+                if (now) {
+                    spanStart = x;
+                } else {
+                    appendBox(spanStart, x);
+                }
+                inside = now;
+            }
+        }
+    }
+
+    private void appendBox(int minX, int maxX) {
+        if (6 * spareCount == spare.length) {
+            spare = Arrays.copyOf(spare, 2 * spare.length);
+        }
+        int o = 6 * spareCount++;
+        spare[o] = minX;
+        spare[o + 1] = bandMin[1];
+        spare[o + 2] = bandMin[2];
+        spare[o + 3] = maxX;
+        spare[o + 4] = bandMax[1];
+        spare[o + 5] = bandMax[2];
+    }
+
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < 6 * count; i++) {
+            result = 31 * result + boxes[i];
+        }
+        return result;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        AABBiSet other = (AABBiSet) obj;
+        if (count != other.count)
+            return false;
+        for (int i = 0; i < 6 * count; i++) {
+            if (boxes[i] != other.boxes[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Return a string representation of this set, listing its boxes.
+     *
+     * @return the string representation
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            int o = 6 * i;
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('(').append(boxes[o]).append(' ').append(boxes[o + 1]).append(' ').append(boxes[o + 2])
+                    .append(") < (").append(boxes[o + 3]).append(' ').append(boxes[o + 4]).append(' ').append(boxes[o + 5])
+                    .append(')');
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,141 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the cells of an {@link AABBic}, for processing them with parallel streams.
+ * <p>
+ * Splitting halves the box along its longest axis, so that every part stays a compact box. The cells are reported as new
+ * {@link Vector3i} instances; use {@link #forEachRemaining(IntTriConsumer)} to process the cells of a part without
+ * allocating.
+ *
+ * @see AABBic#cellSpliterator()
+ */
+public class AABBiSpliterator implements Spliterator<Vector3ic> {
+
+    private int minX, minY, minZ, maxX, maxY, maxZ;
+    private final AABBiCursor cursor = new AABBiCursor();
+    private long remaining;
+    private boolean started;
+
+    /**
+     * Create a new {@link AABBiSpliterator} over the cells of the box given via its minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     */
+    public AABBiSpliterator(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        reset(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Create a new {@link AABBiSpliterator} over the cells of the given box.
+     *
+     * @param aabb
+     *          the box
+     */
+    public AABBiSpliterator(AABBic aabb) {
+        this(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    private void reset(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        cursor.set(minX, minY, minZ, maxX, maxY, maxZ);
+        remaining = minX < maxX && minY < maxY && minZ < maxZ ? ((long) maxX - minX) * ((long) maxY - minY) * ((long) maxZ - minZ) : 0L;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Vector3ic> action) {
+        started = true;
+        if (!cursor.next()) {
+            return false;
+        }
+        remaining--;
+        action.accept(new Vector3i(cursor.x(), cursor.y(), cursor.z()));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Vector3ic> action) {
+        started = true;
+        while (cursor.next()) {
+            action.accept(new Vector3i(cursor.x(), cursor.y(), cursor.z()));
+        }
+        remaining = 0L;
+    }
+
+    /**
+     * Report all remaining cells to the given <code>action</code> without allocating.
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    public void forEachRemaining(IntTriConsumer action) {
+        started = true;
+        while (cursor.next()) {
+            action.accept(cursor.x(), cursor.y(), cursor.z());
+        }
+        remaining = 0L;
+    }
+
+    /**
+     * Split off the lower half of the box along its longest axis, unless traversal has already begun or the box is a
+     * single cell thick along every axis.
+     *
+     * @return the lower half, or <code>null</code>
+     */
+    @Override
+    public AABBiSpliterator trySplit() {
+        if (started || remaining < 2L) {
+            return null;
+        }
+        long lengthX = (long) maxX - minX, lengthY = (long) maxY - minY, lengthZ = (long) maxZ - minZ;
+        AABBiSpliterator prefix;
+        if (lengthX >= lengthY && lengthX >= lengthZ) {
+            int mid = (int) (minX + lengthX / 2);
+            prefix = new AABBiSpliterator(minX, minY, minZ, mid, maxY, maxZ);
+            reset(mid, minY, minZ, maxX, maxY, maxZ);
+        } else if (lengthY >= lengthZ) {
+            int mid = (int) (minY + lengthY / 2);
+            prefix = new AABBiSpliterator(minX, minY, minZ, maxX, mid, maxZ);
+            reset(minX, mid, minZ, maxX, maxY, maxZ);
+        } else {
+            int mid = (int) (minZ + lengthZ / 2);
+            prefix = new AABBiSpliterator(minX, minY, minZ, maxX, maxY, mid);
+            reset(minX, minY, mid, maxX, maxY, maxZ);
+        }
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+}
@@ -484,4 +484,96 @@ public interface AABBic {
      */
     AABBi transform(Matrix4fc m, AABBi dest);
 
+    /**
+     * Call the given <code>action</code> with the coordinates of every cell of this box, which are the integer
+     * coordinates <code>(x, y, z)</code> with <code>minX &lt;= x &lt; maxX</code>, <code>minY &lt;= y &lt; maxY</code>
+     * and <code>minZ &lt;= z &lt; maxZ</code>, with x varying fastest and z slowest.
+     *
+     * @see AABBiCursor
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    default void forEachCell(IntTriConsumer action) {
+        int minX = minX(), minY = minY(), minZ = minZ(), maxX = maxX(), maxY = maxY(), maxZ = maxZ();
+        for (int z = minZ; z < maxZ; z++) {
+            for (int y = minY; y < maxY; y++) {
+                for (int x = minX; x < maxX; x++) {
+                    action.accept(x, y, z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Call the given <code>action</code> with the coordinates of every cell of this box, like
+     * {@link #forEachCell(IntTriConsumer)}, but in the order of their {@link Morton#encode3d(int, int, int) Morton
+     * codes}, which visits the cells in Z-order.
+     * <p>
+     * All cells must have coordinates in <code>[0..{@link Morton#MAX_COORDINATE_3D}]</code>.
+     *
+     * @see #mortonCodeMin()
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    default void forEachCellMorton(IntTriConsumer action) {
+        int minX = minX(), minY = minY(), minZ = minZ(), maxX = maxX(), maxY = maxY(), maxZ = maxZ();
+        if (minX >= maxX || minY >= maxY || minZ >= maxZ) {
+            return;
+        }
+        if (minX < 0 || minY < 0 || minZ < 0
+                || maxX > Morton.MAX_COORDINATE_3D + 1 || maxY > Morton.MAX_COORDINATE_3D + 1 || maxZ > Morton.MAX_COORDINATE_3D + 1) {
+            throw new IllegalArgumentException("Box exceeds the range of Morton codes: " + this);
+        }
+        long min = mortonCodeMin(), max = mortonCodeMax();
+        long code = min;
+        while (true) {
+            int x = Morton.decode3dX(code), y = Morton.decode3dY(code), z = Morton.decode3dZ(code);
+            if (x >= minX && x < maxX && y >= minY && y < maxY && z >= minZ && z < maxZ) {
+                action.accept(x, y, z);
+                if (code == max) {
+                    return;
+                }
+                code++;
+            } else {
+                code = Morton.bigMin3d(code, min, max);
+            }
+        }
+    }
+
+    /**
+     * Return the smallest {@link Morton#encode3d(int, int, int) Morton code} of the cells of this box, which is that of
+     * its minimum corner.
+     * <p>
+     * The codes of all cells of this non-empty box lie in <code>[mortonCodeMin()..mortonCodeMax()]</code>, so this is the
+     * range of keys to scan in a list of cells sorted by their codes.
+     *
+     * @return the smallest Morton code
+     */
+    default long mortonCodeMin() {
+        return Morton.encode3d(minX(), minY(), minZ());
+    }
+
+    /**
+     * Return the largest {@link Morton#encode3d(int, int, int) Morton code} of the cells of this box, which is that of
+     * the cell at <code>(maxX - 1, maxY - 1, maxZ - 1)</code>.
+     *
+     * @see #mortonCodeMin()
+     *
+     * @return the largest Morton code
+     */
+    default long mortonCodeMax() {
+        return Morton.encode3d(maxX() - 1, maxY() - 1, maxZ() - 1);
+    }
+
+    /**
+     * Return a {@link java.util.Spliterator} over the cells of this box, which splits along the longest axis, for use with
+     * {@link java.util.stream.StreamSupport#stream(java.util.Spliterator, boolean) parallel streams}.
+     *
+     * @return the spliterator
+     */
+    default AABBiSpliterator cellSpliterator() {
+        return new AABBiSpliterator(this);
+    }
 }
@@ -0,0 +1,253 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * Builds the topology of a bounding volume hierarchy over a set of axis-aligned boxes using the binned surface area
+ * heuristic.
+ * <p>
+ * The nodes are laid out in depth-first order, so the left child of an inner node <code>n</code> is always the node
+ * <code>n + 1</code>. The builder only decides the tree structure; the owners of the hierarchy compute the node bounds
+ * in their own precision from the item bounds, so that rounding can never make a node smaller than its items.
+ * <p>
+ * Reference: <a href="http://www.sci.utah.edu/~wald/Publications/2007/ParallelBVHBuild/fastbuild.pdf">On fast Construction of
+ * SAH-based Bounding Volume Hierarchies</a>
+ */
+final class BVHBuilder {
+
+    /**
+     * The number of bins the centroids are sorted into along the split axis.
+     */
+    private static final int BIN_COUNT = 16;
+    /**
+     * The cost of traversing an inner node relative to testing one item.
+     */
+    private static final double TRAVERSAL_COST = 1.0;
+
+    /**
+     * The number of nodes, which is <code>0</code> if there are no items.
+     */
+    int nodeCount;
+    /**
+     * For inner nodes the index of the right child, for leaves the index into {@link #items} of the first item.
+     */
+    int[] nodeIndex;
+    /**
+     * For inner nodes <code>0</code>, for leaves the number of items.
+     */
+    int[] nodeSize;
+    /**
+     * The indices of the items in the order in which the leaves reference them.
+     */
+    int[] items;
+    /**
+     * The number of nodes on the longest path from the root to a leaf.
+     */
+    int depth;
+
+    private final double[] bounds;
+    private final double[] centroids;
+    private final int maxLeafSize;
+
+    private final int[] binCount = new int[BIN_COUNT];
+    private final double[] binBounds = new double[6 * BIN_COUNT];
+    private final double[] rightArea = new double[BIN_COUNT];
+    private final int[] rightCount = new int[BIN_COUNT];
+
+    /**
+     * Build the hierarchy over the first <code>count</code> boxes stored in <code>bounds</code> as consecutive
+     * <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     *
+     * @param bounds
+     *          the bounds of the items
+     * @param count
+     *          the number of items
+     * @param maxLeafSize
+     *          the maximum number of items per leaf, unless more items share the same centroid
+     */
+    BVHBuilder(double[] bounds, int count, int maxLeafSize) {
+        if (maxLeafSize < 1) {
+            throw new IllegalArgumentException("maxLeafSize must be positive: " + maxLeafSize);
+        }
+        this.bounds = bounds;
+        this.maxLeafSize = maxLeafSize;
+        this.centroids = new double[3 * count];
+        for (int i = 0; i < count; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                centroids[3 * i + axis] = bounds[6 * i + axis] + bounds[6 * i + 3 + axis];
+            }
+        }
+        int maxNodes = Math.max(1, 2 * count - 1);
+        this.nodeIndex = new int[maxNodes];
+        this.nodeSize = new int[maxNodes];
+        this.items = new int[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        build(count);
+    }
+
+    private void build(int count) {
+        if (count == 0) {
+            return;
+        }
+        // Each entry is start, end, parent (when this is a right child, otherwise -1) and depth.
+        int[] stack = new int[4 * 64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count;
+        stack[top++] = -1;
+        stack[top++] = 1;
+        while (top > 0) {
+            int nodeDepth = stack[--top];
+            int parent = stack[--top];
+            int end = stack[--top];
+            int start = stack[--top];
+            int node = nodeCount++;
+            if (parent >= 0) {
+                nodeIndex[parent] = node;
+            }
+            depth = Math.max(depth, nodeDepth);
+            int mid = split(start, end);
+            if (mid < 0) {
+                nodeIndex[node] = start;
+                nodeSize[node] = end - start;
+                continue;
+            }
+            if (top + 8 > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            // Push the right child first, so that the left child is built next and becomes node + 1.
+            stack[top++] = mid;
+            stack[top++] = end;
+            stack[top++] = node;
+            stack[top++] = nodeDepth + 1;
+            stack[top++] = start;
+            stack[top++] = mid;
+            stack[top++] = -1;
+            stack[top++] = nodeDepth + 1;
+        }
+    }
+
+    /**
+     * Decide whether to split the items in <code>[start, end)</code> and partition them accordingly.
+     *
+     * @return the index of the first item of the right half, or <code>-1</code> to make a leaf
+     */
+    private int split(int start, int end) {
+        int size = end - start;
+        if (size <= 1) {
+            return -1;
+        }
+        double cMinX = Double.POSITIVE_INFINITY, cMinY = Double.POSITIVE_INFINITY, cMinZ = Double.POSITIVE_INFINITY;
+        double cMaxX = Double.NEGATIVE_INFINITY, cMaxY = Double.NEGATIVE_INFINITY, cMaxZ = Double.NEGATIVE_INFINITY;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int c = 3 * items[i], b = 6 * items[i];
+            cMinX = Math.min(cMinX, centroids[c]);
+            cMinY = Math.min(cMinY, centroids[c + 1]);
+            cMinZ = Math.min(cMinZ, centroids[c + 2]);
+            cMaxX = Math.max(cMaxX, centroids[c]);
+            cMaxY = Math.max(cMaxY, centroids[c + 1]);
+            cMaxZ = Math.max(cMaxZ, centroids[c + 2]);
+            minX = Math.min(minX, bounds[b]);
+            minY = Math.min(minY, bounds[b + 1]);
+            minZ = Math.min(minZ, bounds[b + 2]);
+            maxX = Math.max(maxX, bounds[b + 3]);
+            maxY = Math.max(maxY, bounds[b + 4]);
+            maxZ = Math.max(maxZ, bounds[b + 5]);
+        }
+        double extentX = cMaxX - cMinX, extentY = cMaxY - cMinY, extentZ = cMaxZ - cMinZ;
+        int axis = extentX >= extentY && extentX >= extentZ ? 0 : extentY >= extentZ ? 1 : 2;
+        double cMin = axis == 0 ? cMinX : axis == 1 ? cMinY : cMinZ;
+        double extent = axis == 0 ? extentX : axis == 1 ? extentY : extentZ;
+        if (!(extent > 0.0)) {
+            // All centroids coincide, so no plane separates the items; halve them if they do not fit into a leaf.
+            return size <= maxLeafSize ? -1 : start + size / 2;
+        }
+
+        Arrays.fill(binCount, 0);
+        for (int b = 0; b < BIN_COUNT; b++) {
+            resetBounds(binBounds, 6 * b);
+        }
+        double scale = BIN_COUNT / extent;
+        for (int i = start; i < end; i++) {
+            int b = bin(items[i], axis, cMin, scale);
+            binCount[b]++;
+            union(binBounds, 6 * b, bounds, 6 * items[i]);
+        }
+
+        // Sweep from the right to get the area and count of every right half, then from the left to find the cheapest split.
+        double[] acc = new double[6];
+        resetBounds(acc, 0);
+        int count = 0;
+        for (int b = BIN_COUNT - 1; b > 0; b--) {
+            union(acc, 0, binBounds, 6 * b);
+            count += binCount[b];
+            rightArea[b] = halfArea(acc);
+            rightCount[b] = count;
+        }
+        resetBounds(acc, 0);
+        count = 0;
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestBin = -1;
+        for (int b = 0; b < BIN_COUNT - 1; b++) {
+            union(acc, 0, binBounds, 6 * b);
+            count += binCount[b];
+            if (count == 0 || rightCount[b + 1] == 0) {
+                continue;
+            }
+            double cost = count * halfArea(acc) + rightCount[b + 1] * rightArea[b + 1];
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestBin = b;
+            }
+        }
+        if (bestBin < 0) {
+            return size <= maxLeafSize ? -1 : start + size / 2;
+        }
+        double area = (maxX - minX) * (maxY - minY) + (maxY - minY) * (maxZ - minZ) + (maxZ - minZ) * (maxX - minX);
+        double splitCost = TRAVERSAL_COST + (area > 0.0 ? bestCost / area : size);
+        if (size <= maxLeafSize && splitCost >= size) {
+            return -1;
+        }
+
+        // Partition the items by bin.
+        int i = start, j = end - 1;
+        while (i <= j) {
+            if (bin(items[i], axis, cMin, scale) <= bestBin) {
+                i++;
+            } else {
+                int tmp = items[i];
+                items[i] = items[j];
+                items[j--] = tmp;
+            }
+        }
+        return i;
+    }
+
+    private int bin(int item, int axis, double cMin, double scale) {
+        int b = (int) ((centroids[3 * item + axis] - cMin) * scale);
+        return b < BIN_COUNT ? b : BIN_COUNT - 1;
+    }
+
+    private static void resetBounds(double[] dest, int offset) {
+        dest[offset] = dest[offset + 1] = dest[offset + 2] = Double.POSITIVE_INFINITY;
+        dest[offset + 3] = dest[offset + 4] = dest[offset + 5] = Double.NEGATIVE_INFINITY;
+    }
+
+    private static void union(double[] dest, int destOffset, double[] src, int srcOffset) {
+        for (int k = 0; k < 3; k++) {
+            dest[destOffset + k] = Math.min(dest[destOffset + k], src[srcOffset + k]);
+            dest[destOffset + 3 + k] = Math.max(dest[destOffset + 3 + k], src[srcOffset + 3 + k]);
+        }
+    }
+
+    private static double halfArea(double[] box) {
+        double dx = box[3] - box[0], dy = box[4] - box[1], dz = box[5] - box[2];
+        return dx * dy + dy * dz + dz * dx;
+    }
+}
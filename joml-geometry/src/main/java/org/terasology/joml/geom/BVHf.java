@@ -0,0 +1,612 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A bounding volume hierarchy over a fixed set of axis-aligned boxes in single-precision floats, built with the surface
+ * area heuristic, or with {@link LinearBVHBuilder} when build time matters more than query time.
+ * <p>
+ * Items are identified by their index in the array the hierarchy was built from. The bounds of the items are copied at
+ * construction time, so later changes to the boxes are not reflected. The nodes are stored in flat primitive arrays.
+ * <p>
+ * Instances are immutable and can be queried from multiple threads concurrently.
+ */
+public class BVHf {
+
+    /**
+     * The default maximum number of items per leaf.
+     */
+    public static final int DEFAULT_MAX_LEAF_SIZE = 4;
+
+    /**
+     * Receives the items hit by a ray, see {@link BVHf#intersectRayAll(float, float, float, float, float, float, RayHitConsumer)}.
+     */
+    @FunctionalInterface
+    public interface RayHitConsumer {
+        /**
+         * Called for each item intersected by the ray.
+         *
+         * @param item
+         *          the index of the item
+         * @param tNear
+         *          the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near point of intersection
+         * @param tFar
+         *          the value of the parameter <i>t</i> of the far point of intersection
+         */
+        void accept(int item, float tNear, float tFar);
+    }
+
+    /**
+     * The number of items.
+     */
+    final int size;
+    /**
+     * The number of nodes.
+     */
+    final int nodeCount;
+    /**
+     * The bounds of the nodes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     */
+    final float[] nodeBounds;
+    /**
+     * For inner nodes the index of the right child (the left child of node <code>n</code> is <code>n + 1</code>),
+     * for leaves the position in {@link #items} of the first item.
+     */
+    final int[] nodeIndex;
+    /**
+     * For inner nodes <code>0</code>, for leaves the number of items.
+     */
+    final int[] nodeSize;
+    /**
+     * The indices of the items in leaf order.
+     */
+    final int[] items;
+    /**
+     * The bounds of the items in leaf order, as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     */
+    final float[] itemBounds;
+    /**
+     * The number of nodes on the longest path from the root to a leaf.
+     */
+    final int depth;
+
+    /**
+     * Build a new {@link BVHf} over the given <code>items</code> with at most {@link #DEFAULT_MAX_LEAF_SIZE} items per leaf.
+     *
+     * @param items
+     *          the boxes to build the hierarchy over
+     */
+    public BVHf(AABBfc[] items) {
+        this(items, DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    /**
+     * Build a new {@link BVHf} over the given <code>items</code>.
+     * <p>
+     * Leaves may exceed <code>maxLeafSize</code> only if more items than that share the same center.
+     *
+     * @param items
+     *          the boxes to build the hierarchy over
+     * @param maxLeafSize
+     *          the maximum number of items per leaf
+     */
+    public BVHf(AABBfc[] items, int maxLeafSize) {
+        this(bounds(items), items.length, maxLeafSize);
+    }
+
+    /**
+     * Build a new {@link BVHf} over the first <code>count</code> boxes stored in <code>bounds</code> as consecutive
+     * <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     *
+     * @param bounds
+     *          the bounds of the items
+     * @param count
+     *          the number of items
+     * @param maxLeafSize
+     *          the maximum number of items per leaf
+     */
+    public BVHf(float[] bounds, int count, int maxLeafSize) {
+        this(new BVHBuilder(toDouble(bounds, count), count, maxLeafSize), bounds);
+    }
+
+    /**
+     * Create a new {@link BVHf} with the topology of the given <code>builder</code> over the given item bounds.
+     */
+    BVHf(BVHBuilder builder, float[] bounds) {
+        this.size = builder.items.length;
+        this.nodeCount = builder.nodeCount;
+        this.nodeIndex = builder.nodeIndex;
+        this.nodeSize = builder.nodeSize;
+        this.items = builder.items;
+        this.depth = builder.depth;
+        this.itemBounds = new float[6 * size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(bounds, 6 * items[i], itemBounds, 6 * i, 6);
+        }
+        this.nodeBounds = new float[6 * nodeCount];
+        refit();
+    }
+
+    /**
+     * Create a new {@link BVHf} from the given node and item arrays, laid out as described at the fields.
+     */
+    BVHf(int size, int nodeCount, float[] nodeBounds, int[] nodeIndex, int[] nodeSize, int[] items, float[] itemBounds,
+            int depth) {
+        this.size = size;
+        this.nodeCount = nodeCount;
+        this.nodeBounds = nodeBounds;
+        this.nodeIndex = nodeIndex;
+        this.nodeSize = nodeSize;
+        this.items = items;
+        this.itemBounds = itemBounds;
+        this.depth = depth;
+    }
+
+    private static float[] bounds(AABBfc[] items) {
+        float[] bounds = new float[6 * items.length];
+        for (int i = 0; i < items.length; i++) {
+            AABBfc item = items[i];
+            bounds[6 * i] = item.minX();
+            bounds[6 * i + 1] = item.minY();
+            bounds[6 * i + 2] = item.minZ();
+            bounds[6 * i + 3] = item.maxX();
+            bounds[6 * i + 4] = item.maxY();
+            bounds[6 * i + 5] = item.maxZ();
+        }
+        return bounds;
+    }
+
+    private static double[] toDouble(float[] bounds, int count) {
+        double[] result = new double[6 * count];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds[i];
+        }
+        return result;
+    }
+
+    /**
+     * Compute the bounds of all nodes bottom-up. Children always come after their parent, so a reverse sweep suffices.
+     */
+    private void refit() {
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            int o = 6 * node;
+            if (nodeSize[node] > 0) {
+                int first = nodeIndex[node], end = first + nodeSize[node];
+                System.arraycopy(itemBounds, 6 * first, nodeBounds, o, 6);
+                for (int i = first + 1; i < end; i++) {
+                    union(o, itemBounds, 6 * i);
+                }
+            } else {
+                System.arraycopy(nodeBounds, 6 * (node + 1), nodeBounds, o, 6);
+                union(o, nodeBounds, 6 * nodeIndex[node]);
+            }
+        }
+    }
+
+    private void union(int o, float[] src, int srcOffset) {
+        for (int k = 0; k < 3; k++) {
+            nodeBounds[o + k] = Math.min(nodeBounds[o + k], src[srcOffset + k]);
+            nodeBounds[o + 3 + k] = Math.max(nodeBounds[o + 3 + k], src[srcOffset + 3 + k]);
+        }
+    }
+
+    /**
+     * Return the number of items.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of nodes of the hierarchy.
+     *
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Store the bounds of all items into <code>dest</code>.
+     * <p>
+     * If there are no items, <code>dest</code> is set to the empty box with <code>min=+inf</code> and <code>max=-inf</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(AABBf dest) {
+        if (nodeCount == 0) {
+            return dest.setMin(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY)
+                .setMax(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        }
+        return dest.setMin(nodeBounds[0], nodeBounds[1], nodeBounds[2]).setMax(nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+    }
+
+    /**
+     * Determine the item which the ray with the given origin <code>(originX, originY, originZ)</code> and direction
+     * <code>(dirX, dirY, dirZ)</code> enters first, and store the values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the near and far point of intersection with it into <code>result</code>.
+     * <p>
+     * Items containing the origin of the ray have a negative near <i>t</i> and therefore take precedence.
+     *
+     * @see Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param result
+     *          will hold the near and far <i>t</i> of the item hit first, iff any item is hit
+     * @return the index of the item hit first, or <code>-1</code> if the ray does not intersect any item
+     */
+    public int intersectRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, Vector2f result) {
+        if (nodeCount == 0) {
+            return -1;
+        }
+        Vector2f t = new Vector2f();
+        if (!intersectNode(0, originX, originY, originZ, dirX, dirY, dirZ, t)) {
+            return -1;
+        }
+        int[] stack = new int[depth];
+        float[] stackNear = new float[depth];
+        int top = 0;
+        int node = 0;
+        int best = -1;
+        float bestNear = Float.POSITIVE_INFINITY, bestFar = 0.0f;
+        while (true) {
+            if (nodeSize[node] > 0) {
+                for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                    int o = 6 * i;
+                    if (Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                            itemBounds[o], itemBounds[o + 1], itemBounds[o + 2], itemBounds[o + 3], itemBounds[o + 4], itemBounds[o + 5], t)
+                            && t.x < bestNear) {
+                        best = items[i];
+                        bestNear = t.x;
+                        bestFar = t.y;
+                    }
+                }
+            } else {
+                // Visit the nearer child first and come back to the farther one, unless a closer item has been found by then.
+                int left = node + 1, right = nodeIndex[node];
+                boolean hitLeft = intersectNode(left, originX, originY, originZ, dirX, dirY, dirZ, t) && t.x < bestNear;
+                float nearLeft = t.x;
+                boolean hitRight = intersectNode(right, originX, originY, originZ, dirX, dirY, dirZ, t) && t.x < bestNear;
+                float nearRight = t.x;
+                if (hitLeft && hitRight) {
+                    boolean leftFirst = nearLeft <= nearRight;
+                    stack[top] = leftFirst ? right : left;
+                    stackNear[top++] = leftFirst ? nearRight : nearLeft;
+                    node = leftFirst ? left : right;
+                    continue;
+                } else if (hitLeft) {
+                    node = left;
+                    continue;
+                } else if (hitRight) {
+                    node = right;
+                    continue;
+                }
+            }
+            do {
+                if (top == 0) {
+                    if (best >= 0) {
+                        result.x = bestNear;
+                        result.y = bestFar;
+                    }
+                    return best;
+                }
+                node = stack[--top];
+            } while (stackNear[top] >= bestNear);
+        }
+    }
+
+    /**
+     * Determine the item which the given ray enters first, and store the values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the near and far point of intersection with it into <code>result</code>.
+     *
+     * @see #intersectRay(float, float, float, float, float, float, Vector2f)
+     *
+     * @param ray
+     *          the ray
+     * @param result
+     *          will hold the near and far <i>t</i> of the item hit first, iff any item is hit
+     * @return the index of the item hit first, or <code>-1</code> if the ray does not intersect any item
+     */
+    public int intersectRay(Rayf ray, Vector2f result) {
+        return intersectRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, result);
+    }
+
+    /**
+     * Report every item intersected by the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> to the given <code>consumer</code>, in no particular order.
+     *
+     * @see Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param consumer
+     *          receives the index and the near and far <i>t</i> of every item hit
+     * @return the number of items hit
+     */
+    public int intersectRayAll(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, RayHitConsumer consumer) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+        Vector2f t = new Vector2f();
+        int[] stack = new int[depth];
+        int top = 0;
+        stack[top++] = 0;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!intersectNode(node, originX, originY, originZ, dirX, dirY, dirZ, t)) {
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                int o = 6 * i;
+                if (Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                        itemBounds[o], itemBounds[o + 1], itemBounds[o + 2], itemBounds[o + 3], itemBounds[o + 4], itemBounds[o + 5], t)) {
+                    consumer.accept(items[i], t.x, t.y);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every item intersected by the given ray to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #intersectRayAll(float, float, float, float, float, float, RayHitConsumer)
+     *
+     * @param ray
+     *          the ray
+     * @param consumer
+     *          receives the index and the near and far <i>t</i> of every item hit
+     * @return the number of items hit
+     */
+    public int intersectRayAll(Rayf ray, RayHitConsumer consumer) {
+        return intersectRayAll(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, consumer);
+    }
+
+    /**
+     * Report every item intersecting the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code>
+     * and maximum corner <code>(maxX, maxY, maxZ)</code> to the given <code>consumer</code>, in no particular order.
+     *
+     * @see Intersectionf#testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param consumer
+     *          receives the index of every item intersecting the box
+     * @return the number of items intersecting the box
+     */
+    public int queryAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, IntConsumer consumer) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+        int[] stack = new int[depth];
+        int top = 0;
+        stack[top++] = 0;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (!Intersectionf.testAabAab(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5],
+                    minX, minY, minZ, maxX, maxY, maxZ)) {
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                int b = 6 * i;
+                if (Intersectionf.testAabAab(itemBounds[b], itemBounds[b + 1], itemBounds[b + 2], itemBounds[b + 3], itemBounds[b + 4], itemBounds[b + 5],
+                        minX, minY, minZ, maxX, maxY, maxZ)) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every item intersecting the given axis-aligned box to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #queryAab(float, float, float, float, float, float, IntConsumer)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @param consumer
+     *          receives the index of every item intersecting the box
+     * @return the number of items intersecting the box
+     */
+    public int queryAab(AABBfc aabb, IntConsumer consumer) {
+        return queryAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), consumer);
+    }
+
+    /**
+     * Report every item intersecting the sphere with the given center <code>(centerX, centerY, centerZ)</code> and
+     * square radius <code>radiusSquared</code> to the given <code>consumer</code>, in no particular order.
+     *
+     * @see Intersectionf#testAabSphere(float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param centerX
+     *          the x coordinate of the center of the sphere
+     * @param centerY
+     *          the y coordinate of the center of the sphere
+     * @param centerZ
+     *          the z coordinate of the center of the sphere
+     * @param radiusSquared
+     *          the square radius of the sphere
+     * @param consumer
+     *          receives the index of every item intersecting the sphere
+     * @return the number of items intersecting the sphere
+     */
+    public int querySphere(float centerX, float centerY, float centerZ, float radiusSquared, IntConsumer consumer) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+        int[] stack = new int[depth];
+        int top = 0;
+        stack[top++] = 0;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (!Intersectionf.testAabSphere(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5],
+                    centerX, centerY, centerZ, radiusSquared)) {
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                int b = 6 * i;
+                if (Intersectionf.testAabSphere(itemBounds[b], itemBounds[b + 1], itemBounds[b + 2], itemBounds[b + 3], itemBounds[b + 4], itemBounds[b + 5],
+                        centerX, centerY, centerZ, radiusSquared)) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every item intersecting the given sphere to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #querySphere(float, float, float, float, IntConsumer)
+     *
+     * @param sphere
+     *          the sphere
+     * @param consumer
+     *          receives the index of every item intersecting the sphere
+     * @return the number of items intersecting the sphere
+     */
+    public int querySphere(Spheref sphere, IntConsumer consumer) {
+        return querySphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, consumer);
+    }
+
+    /**
+     * Report every item which is not outside the given frustum to the given <code>consumer</code>, in no particular
+     * order.
+     * <p>
+     * Each node only tests the planes its parent intersects, starting with the plane which rejected the last node. Once
+     * a node lies fully inside the frustum, all items below it are reported without further tests.
+     *
+     * @see Frustumf#cullAab(float, float, float, float, float, float, int, int)
+     *
+     * @param frustum
+     *          the frustum
+     * @param consumer
+     *          receives the index of every item inside or intersecting the frustum
+     * @return the number of items inside or intersecting the frustum
+     */
+    public int queryFrustum(Frustumf frustum, IntConsumer consumer) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+        int[] stack = new int[2 * depth];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = Frustumf.ALL_PLANES;
+        int lastPlane = 0;
+        int hits = 0;
+        while (top > 0) {
+            int mask = stack[--top];
+            int node = stack[--top];
+            int o = 6 * node;
+            int r = frustum.cullAab(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5],
+                    mask, lastPlane);
+            if (r < 0) {
+                lastPlane = ~r;
+                continue;
+            }
+            if (r == 0) {
+                // The items of a subtree are contiguous, from its leftmost to its rightmost leaf.
+                int first = node, last = node;
+                while (nodeSize[first] == 0) {
+                    first++;
+                }
+                while (nodeSize[last] == 0) {
+                    last = nodeIndex[last];
+                }
+                for (int i = nodeIndex[first], end = nodeIndex[last] + nodeSize[last]; i < end; i++) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = r;
+                stack[top++] = node + 1;
+                stack[top++] = r;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                int b = 6 * i;
+                int s = frustum.cullAab(itemBounds[b], itemBounds[b + 1], itemBounds[b + 2], itemBounds[b + 3], itemBounds[b + 4], itemBounds[b + 5],
+                        r, lastPlane);
+                if (s < 0) {
+                    lastPlane = ~s;
+                } else {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private boolean intersectNode(int node, float originX, float originY, float originZ, float dirX, float dirY, float dirZ, Vector2f t) {
+        int o = 6 * node;
+        return Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5], t);
+    }
+}
@@ -0,0 +1,274 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Options;
+import org.joml.Runtime;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+/**
+ * Represents a 3D capsule, i.e. all points within a radius of a line segment.
+ */
+public class Capsulef implements Externalizable, ConvexShapef {
+
+    /**
+     * The x coordinate of the first point of the segment.
+     */
+    public float aX;
+    /**
+     * The y coordinate of the first point of the segment.
+     */
+    public float aY;
+    /**
+     * The z coordinate of the first point of the segment.
+     */
+    public float aZ;
+    /**
+     * The x coordinate of the second point of the segment.
+     */
+    public float bX;
+    /**
+     * The y coordinate of the second point of the segment.
+     */
+    public float bY;
+    /**
+     * The z coordinate of the second point of the segment.
+     */
+    public float bZ;
+    /**
+     * The capsule's radius.
+     */
+    public float r;
+
+    /**
+     * Create a new {@link Capsulef} with a segment of zero length on the point <code>(0, 0, 0)</code> and radius =
+     * <code>0</code>.
+     */
+    public Capsulef() {
+    }
+
+    /**
+     * Create a new {@link Capsulef} as a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link Capsulef} to copy from
+     */
+    public Capsulef(Capsulef source) {
+        this.aX = source.aX;
+        this.aY = source.aY;
+        this.aZ = source.aZ;
+        this.bX = source.bX;
+        this.bY = source.bY;
+        this.bZ = source.bZ;
+        this.r = source.r;
+    }
+
+    /**
+     * Create a new {@link Capsulef} around the given line segment with radius <code>r</code>.
+     *
+     * @param segment
+     *          the line segment
+     * @param r
+     *          the radius of the capsule
+     */
+    public Capsulef(LineSegmentf segment, float r) {
+        this(segment.aX, segment.aY, segment.aZ, segment.bX, segment.bY, segment.bZ, r);
+    }
+
+    /**
+     * Create a new {@link Capsulef} around the line segment between the given two points with radius <code>r</code>.
+     *
+     * @param a
+     *          the first point of the segment
+     * @param b
+     *          the second point of the segment
+     * @param r
+     *          the radius of the capsule
+     */
+    public Capsulef(Vector3fc a, Vector3fc b, float r) {
+        this(a.x(), a.y(), a.z(), b.x(), b.y(), b.z(), r);
+    }
+
+    /**
+     * Create a new {@link Capsulef} around the line segment between the two points with radius <code>r</code>.
+     *
+     * @param aX
+     *          the x coordinate of the first point of the segment
+     * @param aY
+     *          the y coordinate of the first point of the segment
+     * @param aZ
+     *          the z coordinate of the first point of the segment
+     * @param bX
+     *          the x coordinate of the second point of the segment
+     * @param bY
+     *          the y coordinate of the second point of the segment
+     * @param bZ
+     *          the z coordinate of the second point of the segment
+     * @param r
+     *          the radius of the capsule
+     */
+    public Capsulef(float aX, float aY, float aZ, float bX, float bY, float bZ, float r) {
+        this.aX = aX;
+        this.aY = aY;
+        this.aZ = aZ;
+        this.bX = bX;
+        this.bY = bY;
+        this.bZ = bZ;
+        this.r = r;
+    }
+
+    /**
+     * Translate <code>this</code> by the vector <code>(x, y, z)</code>.
+     *
+     * @param x
+     *          the x coordinate to translate by
+     * @param y
+     *          the y coordinate to translate by
+     * @param z
+     *          the z coordinate to translate by
+     * @return this
+     */
+    public Capsulef translate(float x, float y, float z) {
+        aX += x;
+        aY += y;
+        aZ += z;
+        bX += x;
+        bY += y;
+        bZ += z;
+        return this;
+    }
+
+    /**
+     * Translate <code>this</code> by the given vector <code>xyz</code>.
+     *
+     * @param xyz
+     *          the vector to translate by
+     * @return this
+     */
+    public Capsulef translate(Vector3fc xyz) {
+        return translate(xyz.x(), xyz.y(), xyz.z());
+    }
+
+    /**
+     * Store the end point of the segment of this capsule, which is its core for {@link GJKf}, that lies farthest in the
+     * direction <code>(dirX, dirY, dirZ)</code> into <code>dest</code>.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    @Override
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        if ((bX - aX) * dirX + (bY - aY) * dirY + (bZ - aZ) * dirZ > 0.0f) {
+            return dest.set(bX, bY, bZ);
+        }
+        return dest.set(aX, aY, aZ);
+    }
+
+    /**
+     * Return the radius of this capsule, which inflates its segment.
+     *
+     * @return the radius
+     */
+    @Override
+    public float margin() {
+        return r;
+    }
+
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Float.floatToIntBits(aX);
+        result = prime * result + Float.floatToIntBits(aY);
+        result = prime * result + Float.floatToIntBits(aZ);
+        result = prime * result + Float.floatToIntBits(bX);
+        result = prime * result + Float.floatToIntBits(bY);
+        result = prime * result + Float.floatToIntBits(bZ);
+        result = prime * result + Float.floatToIntBits(r);
+        return result;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        Capsulef other = (Capsulef) obj;
+        if (Float.floatToIntBits(aX) != Float.floatToIntBits(other.aX))
+            return false;
+        if (Float.floatToIntBits(aY) != Float.floatToIntBits(other.aY))
+            return false;
+        if (Float.floatToIntBits(aZ) != Float.floatToIntBits(other.aZ))
+            return false;
+        if (Float.floatToIntBits(bX) != Float.floatToIntBits(other.bX))
+            return false;
+        if (Float.floatToIntBits(bY) != Float.floatToIntBits(other.bY))
+            return false;
+        if (Float.floatToIntBits(bZ) != Float.floatToIntBits(other.bZ))
+            return false;
+        if (Float.floatToIntBits(r) != Float.floatToIntBits(other.r))
+            return false;
+        return true;
+    }
+
+    /**
+     * Return a string representation of this capsule.
+     * <p>
+     * This method creates a new {@link DecimalFormat} on every invocation with the format string "<code>0.000E0;-</code>".
+     *
+     * @return the string representation
+     */
+    public String toString() {
+        return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+    }
+
+    /**
+     * Return a string representation of this capsule by formatting the components with the given {@link NumberFormat}.
+     *
+     * @param formatter
+     *          the {@link NumberFormat} used to format the components with
+     * @return the string representation
+     */
+    public String toString(NumberFormat formatter) {
+        return "(" + Runtime.format(aX, formatter) + " " + Runtime.format(aY, formatter) + " " + Runtime.format(aZ, formatter) + ") - "
+                + "(" + Runtime.format(bX, formatter) + " " + Runtime.format(bY, formatter) + " " + Runtime.format(bZ, formatter) + ") "
+                + Runtime.format(r, formatter);
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeFloat(aX);
+        out.writeFloat(aY);
+        out.writeFloat(aZ);
+        out.writeFloat(bX);
+        out.writeFloat(bY);
+        out.writeFloat(bZ);
+        out.writeFloat(r);
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        aX = in.readFloat();
+        aY = in.readFloat();
+        aZ = in.readFloat();
+        bX = in.readFloat();
+        bY = in.readFloat();
+        bZ = in.readFloat();
+        r = in.readFloat();
+    }
+
+}
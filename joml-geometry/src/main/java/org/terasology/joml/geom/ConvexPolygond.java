@@ -0,0 +1,489 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Options;
+import org.joml.Runtime;
+import org.joml.Vector2d;
+import org.joml.Vector2dc;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+/**
+ * Represents a convex 2D polygon using double-precision floating-point numbers, for polygons that are tested many times.
+ * <p>
+ * The vertices are kept in counter-clockwise order in a packed <code>double[]</code>, together with the unit outward
+ * normal of every edge, the offset of every edge along its normal and the bounding rectangle, so the tests of this class
+ * do not recompute them. The edge <code>i</code> runs from the vertex <code>i</code> to the vertex
+ * <code>(i + 1) % vertexCount()</code>.
+ * <p>
+ * Unlike {@link Intersectiond#testPolygonPolygon(Vector2d[], Vector2d[])}, {@link #intersectPolygon(ConvexPolygond, Vector2d)}
+ * also computes the minimum translation vector that separates both polygons. As the edge normals of the Minkowski
+ * difference of two convex polygons are the edge normals of the first and the negated edge normals of the second, it only
+ * needs to find the least penetration of one polygon's vertices behind the other's edges, with no per-call projections of
+ * a polygon onto its own edges.
+ * <p>
+ * The polygon must be convex. This is not checked, and the results for a concave polygon are undefined.
+ */
+public class ConvexPolygond {
+
+    private int count;
+    private double[] vertices;
+    private double[] normals;
+    private double[] offsets;
+    private final Rectangled bounds = new Rectangled();
+
+    /**
+     * Create a new {@link ConvexPolygond} with the given sequence of <code>(x, y)</code> coordinate pairs as its vertices.
+     *
+     * @see #set(double[])
+     *
+     * @param verticesXY
+     *          the sequence of <code>(x, y)</code> coordinate pairs of all vertices of the polygon, in either order
+     */
+    public ConvexPolygond(double[] verticesXY) {
+        set(verticesXY);
+    }
+
+    /**
+     * Create a new {@link ConvexPolygond} with the given vertices.
+     *
+     * @see #set(Vector2dc...)
+     *
+     * @param vertices
+     *          the vertices of the polygon, in either order
+     */
+    public ConvexPolygond(Vector2dc... vertices) {
+        set(vertices);
+    }
+
+    /**
+     * Create a new {@link ConvexPolygond} as a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link ConvexPolygond} to copy from
+     */
+    public ConvexPolygond(ConvexPolygond source) {
+        set(source);
+    }
+
+    /**
+     * Set the vertices of this polygon to the given sequence of <code>(x, y)</code> coordinate pairs, and compute the edge
+     * normals and the bounds.
+     * <p>
+     * Vertices in clockwise order are reversed, so that the vertex <code>0</code> stays the same but the indices of all
+     * other vertices change.
+     *
+     * @param verticesXY
+     *          the sequence of <code>(x, y)</code> coordinate pairs of all vertices of the polygon, in either order
+     * @return this
+     * @throws IllegalArgumentException
+     *          if there are fewer than three vertices
+     */
+    public ConvexPolygond set(double[] verticesXY) {
+        int n = verticesXY.length >> 1;
+        if (n < 3) {
+            throw new IllegalArgumentException("A polygon needs at least 3 vertices: " + n);
+        }
+        ensureCapacity(n);
+        System.arraycopy(verticesXY, 0, vertices, 0, n << 1);
+        count = n;
+        update();
+        return this;
+    }
+
+    /**
+     * Set the vertices of this polygon to the given vertices, and compute the edge normals and the bounds.
+     *
+     * @see #set(double[])
+     *
+     * @param vertices
+     *          the vertices of the polygon, in either order
+     * @return this
+     * @throws IllegalArgumentException
+     *          if there are fewer than three vertices
+     */
+    public ConvexPolygond set(Vector2dc... vertices) {
+        int n = vertices.length;
+        if (n < 3) {
+            throw new IllegalArgumentException("A polygon needs at least 3 vertices: " + n);
+        }
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            this.vertices[i << 1] = vertices[i].x();
+            this.vertices[(i << 1) + 1] = vertices[i].y();
+        }
+        count = n;
+        update();
+        return this;
+    }
+
+    /**
+     * Set this polygon to a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link ConvexPolygond} to copy from
+     * @return this
+     */
+    public ConvexPolygond set(ConvexPolygond source) {
+        int n = source.count;
+        ensureCapacity(n);
+        System.arraycopy(source.vertices, 0, vertices, 0, n << 1);
+        System.arraycopy(source.normals, 0, normals, 0, n << 1);
+        System.arraycopy(source.offsets, 0, offsets, 0, n);
+        count = n;
+        bounds.set(source.bounds);
+        return this;
+    }
+
+    private void ensureCapacity(int n) {
+        if (vertices == null || vertices.length < n << 1) {
+            vertices = new double[n << 1];
+            normals = new double[n << 1];
+            offsets = new double[n];
+        }
+    }
+
+    private void update() {
+        int n = count;
+        double[] v = vertices;
+        double area = 0.0;
+        for (int i = 0, j = n - 1; i < n; j = i, i++) {
+            area += v[j << 1] * v[(i << 1) + 1] - v[i << 1] * v[(j << 1) + 1];
+        }
+        if (area < 0.0) {
+            for (int i = 1, j = n - 1; i < j; i++, j--) {
+                double x = v[i << 1], y = v[(i << 1) + 1];
+                v[i << 1] = v[j << 1];
+                v[(i << 1) + 1] = v[(j << 1) + 1];
+                v[j << 1] = x;
+                v[(j << 1) + 1] = y;
+            }
+        }
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            int j = i + 1 == n ? 0 : i + 1;
+            double x = v[i << 1], y = v[(i << 1) + 1];
+            // The outward normal of a counter-clockwise edge points to its right.
+            double nX = v[(j << 1) + 1] - y, nY = x - v[j << 1];
+            double invLength = 1.0 / java.lang.Math.sqrt(nX * nX + nY * nY);
+            nX *= invLength;
+            nY *= invLength;
+            normals[i << 1] = nX;
+            normals[(i << 1) + 1] = nY;
+            offsets[i] = nX * x + nY * y;
+            minX = java.lang.Math.min(minX, x);
+            minY = java.lang.Math.min(minY, y);
+            maxX = java.lang.Math.max(maxX, x);
+            maxY = java.lang.Math.max(maxY, y);
+        }
+        bounds.set(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Return the number of vertices, which is also the number of edges.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return count;
+    }
+
+    /**
+     * Store the vertex with the given index into <code>dest</code>.
+     *
+     * @param index
+     *          the index of the vertex, in counter-clockwise order
+     * @param dest
+     *          will hold the vertex
+     * @return dest
+     */
+    public Vector2d getVertex(int index, Vector2d dest) {
+        return dest.set(vertices[index << 1], vertices[(index << 1) + 1]);
+    }
+
+    /**
+     * Store the unit outward normal of the edge with the given index into <code>dest</code>.
+     *
+     * @param index
+     *          the index of the edge
+     * @param dest
+     *          will hold the normal
+     * @return dest
+     */
+    public Vector2d getNormal(int index, Vector2d dest) {
+        return dest.set(normals[index << 1], normals[(index << 1) + 1]);
+    }
+
+    /**
+     * Store the bounding rectangle of this polygon into <code>dest</code>.
+     *
+     * @param dest
+     *          will hold the bounds
+     * @return dest
+     */
+    public Rectangled getBounds(Rectangled dest) {
+        return dest.set(bounds);
+    }
+
+    /**
+     * Translate <code>this</code> by the vector <code>(x, y)</code>.
+     * <p>
+     * This only moves the vertices, the edge offsets and the bounds, as the edge normals do not change.
+     *
+     * @param x
+     *          the x coordinate to translate by
+     * @param y
+     *          the y coordinate to translate by
+     * @return this
+     */
+    public ConvexPolygond translate(double x, double y) {
+        for (int i = 0; i < count; i++) {
+            vertices[i << 1] += x;
+            vertices[(i << 1) + 1] += y;
+            offsets[i] += normals[i << 1] * x + normals[(i << 1) + 1] * y;
+        }
+        bounds.translate(x, y);
+        return this;
+    }
+
+    /**
+     * Translate <code>this</code> by the given vector <code>xy</code>.
+     *
+     * @param xy
+     *          the vector to translate by
+     * @return this
+     */
+    public ConvexPolygond translate(Vector2dc xy) {
+        return translate(xy.x(), xy.y());
+    }
+
+    /**
+     * Test whether the point <code>(x, y)</code> lies inside this polygon or on its boundary.
+     * <p>
+     * This locates the point within the fan of triangles around the vertex <code>0</code> with a binary search, so it takes
+     * <code>O(log n)</code> time.
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @return <code>true</code> iff the polygon contains the point; <code>false</code> otherwise
+     */
+    public boolean containsPoint(double x, double y) {
+        if (x < bounds.minX || x > bounds.maxX || y < bounds.minY || y > bounds.maxY) {
+            return false;
+        }
+        double[] v = vertices;
+        double x0 = v[0], y0 = v[1], pX = x - x0, pY = y - y0;
+        // Find the last fan edge (0, lo) that has the point on its left, which bounds the triangle (0, lo, lo + 1).
+        int lo = 1, hi = count - 1;
+        if ((v[2] - x0) * pY - (v[3] - y0) * pX < 0.0
+                || (v[hi << 1] - x0) * pY - (v[(hi << 1) + 1] - y0) * pX > 0.0) {
+            return false;
+        }
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if ((v[mid << 1] - x0) * pY - (v[(mid << 1) + 1] - y0) * pX >= 0.0) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return normals[lo << 1] * x + normals[(lo << 1) + 1] * y <= offsets[lo];
+    }
+
+    /**
+     * Test whether the given point lies inside this polygon or on its boundary.
+     *
+     * @see #containsPoint(double, double)
+     *
+     * @param point
+     *          the point
+     * @return <code>true</code> iff the polygon contains the point; <code>false</code> otherwise
+     */
+    public boolean containsPoint(Vector2dc point) {
+        return containsPoint(point.x(), point.y());
+    }
+
+    /**
+     * Return the index of the edge of <code>this</code> with the greatest signed distance of the vertices of
+     * <code>other</code> in front of it, or the complement of the index of the first edge that separates both polygons.
+     */
+    private int maxSeparationEdge(ConvexPolygond other) {
+        double best = Double.NEGATIVE_INFINITY;
+        int edge = 0;
+        for (int i = 0; i < count; i++) {
+            double separation = separation(i, other);
+            if (separation > 0.0) {
+                return ~i;
+            }
+            if (separation > best) {
+                best = separation;
+                edge = i;
+            }
+        }
+        return edge;
+    }
+
+    /**
+     * Return the signed distance of the vertices of <code>other</code> in front of the edge <code>i</code> of
+     * <code>this</code>, which is negative if they penetrate it.
+     */
+    private double separation(int i, ConvexPolygond other) {
+        double nX = normals[i << 1], nY = normals[(i << 1) + 1];
+        double[] w = other.vertices;
+        double min = Double.POSITIVE_INFINITY;
+        for (int k = 0, m = other.count << 1; k < m; k += 2) {
+            min = java.lang.Math.min(min, nX * w[k] + nY * w[k + 1]);
+        }
+        return min - offsets[i];
+    }
+
+    private boolean boundsOverlap(ConvexPolygond other) {
+        return bounds.minX <= other.bounds.maxX && bounds.maxX >= other.bounds.minX
+                && bounds.minY <= other.bounds.maxY && bounds.maxY >= other.bounds.minY;
+    }
+
+    /**
+     * Test whether this polygon and <code>other</code> intersect, using the separating axis theorem on the cached edge
+     * normals of both polygons. Touching polygons intersect.
+     *
+     * @param other
+     *          the other polygon
+     * @return <code>true</code> iff the polygons intersect; <code>false</code> otherwise
+     */
+    public boolean testPolygon(ConvexPolygond other) {
+        if (!boundsOverlap(other)) {
+            return false;
+        }
+        return maxSeparationEdge(other) >= 0 && other.maxSeparationEdge(this) >= 0;
+    }
+
+    /**
+     * Test whether this polygon and <code>other</code> intersect, and if so, store the minimum translation vector into
+     * <code>mtv</code>, which is the shortest translation of <code>this</code> that makes both polygons only touch. Its
+     * length is the penetration depth.
+     * <p>
+     * If the polygons do not intersect, <code>mtv</code> is left unchanged.
+     *
+     * @param other
+     *          the other polygon
+     * @param mtv
+     *          will hold the minimum translation vector of <code>this</code>
+     * @return <code>true</code> iff the polygons intersect; <code>false</code> otherwise
+     */
+    public boolean intersectPolygon(ConvexPolygond other, Vector2d mtv) {
+        if (!boundsOverlap(other)) {
+            return false;
+        }
+        int edgeA = maxSeparationEdge(other);
+        if (edgeA < 0) {
+            return false;
+        }
+        int edgeB = other.maxSeparationEdge(this);
+        if (edgeB < 0) {
+            return false;
+        }
+        double separationA = separation(edgeA, other), separationB = other.separation(edgeB, this);
+        if (separationA >= separationB) {
+            // Push this back against the normal of its own edge.
+            mtv.set(normals[edgeA << 1] * separationA, normals[(edgeA << 1) + 1] * separationA);
+        } else {
+            // Push this out along the normal of the other polygon's edge.
+            mtv.set(-other.normals[edgeB << 1] * separationB, -other.normals[(edgeB << 1) + 1] * separationB);
+        }
+        return true;
+    }
+
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY)</code> and direction <code>(dirX, dirY)</code>
+     * intersects this polygon, and return the values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the near and far point of intersection.
+     * <p>
+     * This clips the ray against the cached edge half-planes. If the origin lies inside the polygon, the near value is
+     * negative.
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param result
+     *          a vector which will hold the resulting values of the parameter
+     *          <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     *          iff the ray intersects this polygon
+     * @return the index of the edge through which the ray enters the polygon, which lies behind the origin if the origin
+     *         lies inside; or <code>-1</code> if the ray does not intersect the polygon
+     */
+    public int intersectRay(double originX, double originY, double dirX, double dirY, Vector2d result) {
+        double tNear = Double.NEGATIVE_INFINITY, tFar = Double.POSITIVE_INFINITY;
+        int edge = -1;
+        for (int i = 0; i < count; i++) {
+            double nX = normals[i << 1], nY = normals[(i << 1) + 1];
+            double distance = offsets[i] - (nX * originX + nY * originY);
+            double denom = nX * dirX + nY * dirY;
+            if (denom == 0.0) {
+                if (distance < 0.0) {
+                    return -1;
+                }
+                continue;
+            }
+            double t = distance / denom;
+            if (denom < 0.0) {
+                if (t > tNear) {
+                    tNear = t;
+                    edge = i;
+                }
+            } else if (t < tFar) {
+                tFar = t;
+            }
+            if (tNear > tFar) {
+                return -1;
+            }
+        }
+        if (tFar < 0.0) {
+            return -1;
+        }
+        result.x = tNear;
+        result.y = tFar;
+        return edge;
+    }
+
+    /**
+     * Return a string representation of this polygon.
+     * <p>
+     * This method creates a new {@link DecimalFormat} on every invocation with the format string "<code>0.000E0;-</code>".
+     *
+     * @return the string representation
+     */
+    public String toString() {
+        return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+    }
+
+    /**
+     * Return a string representation of this polygon by formatting the vertex coordinates with the given
+     * {@link NumberFormat}.
+     *
+     * @param formatter
+     *          the {@link NumberFormat} used to format the coordinates with
+     * @return the string representation
+     */
+    public String toString(NumberFormat formatter) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append('(').append(Runtime.format(vertices[i << 1], formatter)).append(' ')
+                    .append(Runtime.format(vertices[(i << 1) + 1], formatter)).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+}
@@ -0,0 +1,42 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3f;
+
+/**
+ * A convex 3D shape given by its support function, for the tests of {@link GJKf}.
+ * <p>
+ * The shape is its <i>core</i>, whose support function is {@link #support(float, float, float, Vector3f)}, inflated by
+ * the {@link #margin()}, e.g. the center of a sphere inflated by its radius. Keeping rounded shapes as a core and a
+ * margin lets {@link GJKf} converge in a few iterations on them, instead of approximating their curved surface.
+ */
+public interface ConvexShapef {
+
+    /**
+     * Store the point of the core of this shape that lies farthest in the direction <code>(dirX, dirY, dirZ)</code>
+     * into <code>dest</code>.
+     * <p>
+     * The direction need not be normalized, and any of the farthest points may be returned if there is more than one.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest);
+
+    /**
+     * Return the distance by which the core of this shape is inflated.
+     *
+     * @return the margin, which is <code>0</code> by default
+     */
+    default float margin() {
+        return 0.0f;
+    }
+}
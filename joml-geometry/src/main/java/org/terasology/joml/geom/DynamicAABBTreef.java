@@ -0,0 +1,856 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+import org.joml.Vector3fc;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A dynamic bounding volume hierarchy of axis-aligned boxes in single-precision floats, for sets of moving objects.
+ * <p>
+ * Every object is represented by a proxy, an integer handed out by {@link #insert(AABBfc, int)}, whose leaf stores a
+ * fattened copy of the object's box. As long as an object moves within its fat box, {@link #move(int, AABBfc, Vector3fc)}
+ * does not touch the tree at all; otherwise the leaf is removed and reinserted with a new fat box that is extended in
+ * the direction of motion. Insertions choose the sibling with the least increase of surface area, and tree rotations
+ * on the way back up keep the tree balanced.
+ * <p>
+ * The nodes are stored in flat primitive arrays; freed nodes are recycled, so proxy ids are reused after
+ * {@link #remove(int)}.
+ * <p>
+ * Queries do not allocate: they share a traversal stack owned by the tree. This class is therefore not thread-safe, and
+ * a tree must not be queried again from within the consumer or callback of one of its queries.
+ * <p>
+ * Reference: <a href="https://github.com/erincatto/box2d/blob/main/src/collision/b2_dynamic_tree.cpp">b2DynamicTree</a>
+ */
+public class DynamicAABBTreef {
+
+    /**
+     * The default amount by which the boxes of the proxies are fattened on every side.
+     */
+    public static final float DEFAULT_MARGIN = 0.1f;
+    /**
+     * The factor by which the displacement passed to {@link #move(int, AABBfc, Vector3fc)} extends the fat box.
+     */
+    public static final float DISPLACEMENT_MULTIPLIER = 4.0f;
+
+    private static final int NULL = -1;
+
+    /**
+     * Receives overlapping pairs of proxies.
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+        /**
+         * Called for each pair of proxies whose fat boxes overlap.
+         *
+         * @param proxyA
+         *          the smaller proxy of the pair
+         * @param proxyB
+         *          the larger proxy of the pair
+         */
+        void accept(int proxyA, int proxyB);
+    }
+
+    /**
+     * Receives the proxies whose fat boxes are hit by a ray cast and controls how the cast continues.
+     */
+    @FunctionalInterface
+    public interface RayCastCallback {
+        /**
+         * Called for each proxy whose fat box is hit by the ray before the current maximum <i>t</i>.
+         *
+         * @param proxy
+         *          the proxy
+         * @param tNear
+         *          the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near point of
+         *          intersection with the fat box
+         * @param tFar
+         *          the value of the parameter <i>t</i> of the far point of intersection with the fat box
+         * @return <code>0</code> to terminate the ray cast, a negative value to ignore this proxy, or the new maximum
+         *         <i>t</i> up to which the ray cast continues, for example the <i>t</i> of an exact hit with the object
+         */
+        float accept(int proxy, float tNear, float tFar);
+    }
+
+    private final float margin;
+
+    private int root = NULL;
+    private int capacity;
+    private int nodeCount;
+    private int proxyCount;
+    private int freeList;
+
+    /**
+     * The fat bounds of the nodes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     */
+    private float[] bounds;
+    /**
+     * The parent of a node in the tree, or the next node in the free list.
+     */
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+    /**
+     * <code>0</code> for leaves, <code>-1</code> for free nodes.
+     */
+    private int[] height;
+    private int[] userData;
+    private boolean[] moved;
+
+    private int[] moveBuffer = new int[16];
+    private int moveCount;
+
+    private int[] stack = new int[64];
+    private final Vector2f rayT = new Vector2f();
+
+    /**
+     * Create a new empty {@link DynamicAABBTreef} fattening the boxes by {@link #DEFAULT_MARGIN}.
+     */
+    public DynamicAABBTreef() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * Create a new empty {@link DynamicAABBTreef}.
+     *
+     * @param margin
+     *          the amount by which the boxes of the proxies are fattened on every side
+     */
+    public DynamicAABBTreef(float margin) {
+        if (!(margin >= 0.0f)) {
+            throw new IllegalArgumentException("margin must not be negative: " + margin);
+        }
+        this.margin = margin;
+        allocate(16);
+    }
+
+    private void allocate(int newCapacity) {
+        bounds = bounds == null ? new float[6 * newCapacity] : Arrays.copyOf(bounds, 6 * newCapacity);
+        parent = parent == null ? new int[newCapacity] : Arrays.copyOf(parent, newCapacity);
+        child1 = child1 == null ? new int[newCapacity] : Arrays.copyOf(child1, newCapacity);
+        child2 = child2 == null ? new int[newCapacity] : Arrays.copyOf(child2, newCapacity);
+        height = height == null ? new int[newCapacity] : Arrays.copyOf(height, newCapacity);
+        userData = userData == null ? new int[newCapacity] : Arrays.copyOf(userData, newCapacity);
+        moved = moved == null ? new boolean[newCapacity] : Arrays.copyOf(moved, newCapacity);
+        for (int i = capacity; i < newCapacity; i++) {
+            parent[i] = i + 1;
+            height[i] = -1;
+        }
+        parent[newCapacity - 1] = NULL;
+        freeList = capacity;
+        capacity = newCapacity;
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL) {
+            allocate(2 * capacity);
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = 0;
+        moved[node] = false;
+        nodeCount++;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+        nodeCount--;
+    }
+
+    private boolean isLeaf(int node) {
+        return child1[node] == NULL;
+    }
+
+    private void checkProxy(int proxy) {
+        if (proxy < 0 || proxy >= capacity || height[proxy] != 0) {
+            throw new IllegalArgumentException("Not a proxy: " + proxy);
+        }
+    }
+
+    /**
+     * Insert a new proxy for the axis-aligned box with the given minimum corner <code>(minX, minY, minZ)</code> and
+     * maximum corner <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param userData
+     *          an arbitrary value to associate with the proxy, see {@link #getUserData(int)}
+     * @return the new proxy
+     */
+    public int insert(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int userData) {
+        int proxy = allocateNode();
+        int o = 6 * proxy;
+        bounds[o] = minX - margin;
+        bounds[o + 1] = minY - margin;
+        bounds[o + 2] = minZ - margin;
+        bounds[o + 3] = maxX + margin;
+        bounds[o + 4] = maxY + margin;
+        bounds[o + 5] = maxZ + margin;
+        this.userData[proxy] = userData;
+        insertLeaf(proxy);
+        markMoved(proxy);
+        proxyCount++;
+        return proxy;
+    }
+
+    /**
+     * Insert a new proxy for the given axis-aligned box.
+     *
+     * @see #insert(float, float, float, float, float, float, int)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @param userData
+     *          an arbitrary value to associate with the proxy, see {@link #getUserData(int)}
+     * @return the new proxy
+     */
+    public int insert(AABBfc aabb, int userData) {
+        return insert(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), userData);
+    }
+
+    /**
+     * Remove the given proxy. Its id may be handed out again by subsequent insertions.
+     *
+     * @param proxy
+     *          the proxy to remove
+     */
+    public void remove(int proxy) {
+        checkProxy(proxy);
+        if (moved[proxy]) {
+            for (int i = 0; i < moveCount; i++) {
+                if (moveBuffer[i] == proxy) {
+                    moveBuffer[i] = NULL;
+                }
+            }
+        }
+        removeLeaf(proxy);
+        freeNode(proxy);
+        proxyCount--;
+    }
+
+    /**
+     * Update the given proxy after its object moved to the axis-aligned box with the given minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     * <p>
+     * Nothing happens if the fat box of the proxy still contains the new box and is not excessively large. Otherwise the
+     * proxy gets a new fat box, which is extended by {@link #DISPLACEMENT_MULTIPLIER} times the given displacement, and
+     * is reinserted into the tree.
+     *
+     * @param proxy
+     *          the proxy
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param dX
+     *          the x coordinate of the displacement of the object during the last step
+     * @param dY
+     *          the y coordinate of the displacement of the object during the last step
+     * @param dZ
+     *          the z coordinate of the displacement of the object during the last step
+     * @return <code>true</code> if the proxy was reinserted; <code>false</code> otherwise
+     */
+    public boolean move(int proxy, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float dX, float dY, float dZ) {
+        checkProxy(proxy);
+        int o = 6 * proxy;
+        float fatMinX = minX - margin, fatMinY = minY - margin, fatMinZ = minZ - margin;
+        float fatMaxX = maxX + margin, fatMaxY = maxY + margin, fatMaxZ = maxZ + margin;
+        // Predict where the object is going.
+        float pX = DISPLACEMENT_MULTIPLIER * dX, pY = DISPLACEMENT_MULTIPLIER * dY, pZ = DISPLACEMENT_MULTIPLIER * dZ;
+        if (pX < 0.0f) fatMinX += pX; else fatMaxX += pX;
+        if (pY < 0.0f) fatMinY += pY; else fatMaxY += pY;
+        if (pZ < 0.0f) fatMinZ += pZ; else fatMaxZ += pZ;
+        if (bounds[o] <= minX && bounds[o + 1] <= minY && bounds[o + 2] <= minZ
+                && bounds[o + 3] >= maxX && bounds[o + 4] >= maxY && bounds[o + 5] >= maxZ) {
+            // The fat box still contains the object, keep it unless it has grown far too large for the object.
+            float huge = 4.0f * margin;
+            if (fatMinX - huge <= bounds[o] && fatMinY - huge <= bounds[o + 1] && fatMinZ - huge <= bounds[o + 2]
+                    && fatMaxX + huge >= bounds[o + 3] && fatMaxY + huge >= bounds[o + 4] && fatMaxZ + huge >= bounds[o + 5]) {
+                return false;
+            }
+        }
+        removeLeaf(proxy);
+        bounds[o] = fatMinX;
+        bounds[o + 1] = fatMinY;
+        bounds[o + 2] = fatMinZ;
+        bounds[o + 3] = fatMaxX;
+        bounds[o + 4] = fatMaxY;
+        bounds[o + 5] = fatMaxZ;
+        insertLeaf(proxy);
+        markMoved(proxy);
+        return true;
+    }
+
+    /**
+     * Update the given proxy after its object moved to the given axis-aligned box.
+     *
+     * @see #move(int, float, float, float, float, float, float, float, float, float)
+     *
+     * @param proxy
+     *          the proxy
+     * @param aabb
+     *          the new box of the object
+     * @param displacement
+     *          the displacement of the object during the last step
+     * @return <code>true</code> if the proxy was reinserted; <code>false</code> otherwise
+     */
+    public boolean move(int proxy, AABBfc aabb, Vector3fc displacement) {
+        return move(proxy, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(),
+                displacement.x(), displacement.y(), displacement.z());
+    }
+
+    /**
+     * Update the given proxy after its object moved to the given axis-aligned box, without predicting its further motion.
+     *
+     * @see #move(int, float, float, float, float, float, float, float, float, float)
+     *
+     * @param proxy
+     *          the proxy
+     * @param aabb
+     *          the new box of the object
+     * @return <code>true</code> if the proxy was reinserted; <code>false</code> otherwise
+     */
+    public boolean move(int proxy, AABBfc aabb) {
+        return move(proxy, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), 0.0f, 0.0f, 0.0f);
+    }
+
+    private void markMoved(int proxy) {
+        if (moved[proxy]) {
+            return;
+        }
+        moved[proxy] = true;
+        if (moveCount == moveBuffer.length) {
+            moveBuffer = Arrays.copyOf(moveBuffer, 2 * moveBuffer.length);
+        }
+        moveBuffer[moveCount++] = proxy;
+    }
+
+    /**
+     * Return the value associated with the given proxy on insertion.
+     *
+     * @param proxy
+     *          the proxy
+     * @return the user data
+     */
+    public int getUserData(int proxy) {
+        checkProxy(proxy);
+        return userData[proxy];
+    }
+
+    /**
+     * Store the fat box of the given proxy into <code>dest</code>.
+     *
+     * @param proxy
+     *          the proxy
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getFatBounds(int proxy, AABBf dest) {
+        checkProxy(proxy);
+        int o = 6 * proxy;
+        return dest.setMin(bounds[o], bounds[o + 1], bounds[o + 2]).setMax(bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+    }
+
+    /**
+     * Return the number of proxies.
+     *
+     * @return the number of proxies
+     */
+    public int size() {
+        return proxyCount;
+    }
+
+    /**
+     * Return the height of the tree, which is <code>0</code> for a tree with at most one proxy.
+     *
+     * @return the height of the tree
+     */
+    public int height() {
+        return root == NULL ? 0 : height[root];
+    }
+
+    /**
+     * Report every proxy whose fat box intersects the axis-aligned box given as its minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code> to the given <code>consumer</code>.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @see Intersectionf#testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param consumer
+     *          receives every proxy whose fat box intersects the box
+     * @return the number of proxies reported
+     */
+    public int queryAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, IntConsumer consumer) {
+        if (root == NULL) {
+            return 0;
+        }
+        int[] stack = stack();
+        int top = 0;
+        stack[top++] = root;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (!Intersectionf.testAabAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5],
+                    minX, minY, minZ, maxX, maxY, maxZ)) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                consumer.accept(node);
+                hits++;
+            } else {
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every proxy whose fat box intersects the given axis-aligned box to the given <code>consumer</code>.
+     *
+     * @see #queryAab(float, float, float, float, float, float, IntConsumer)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @param consumer
+     *          receives every proxy whose fat box intersects the box
+     * @return the number of proxies reported
+     */
+    public int queryAab(AABBfc aabb, IntConsumer consumer) {
+        return queryAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), consumer);
+    }
+
+    /**
+     * Cast the ray with the given origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * up to the value <code>maxT</code> of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i>, and
+     * report the proxies whose fat boxes it hits to the given <code>callback</code>.
+     * <p>
+     * The callback decides how the ray cast continues: it may terminate it, or clip it to the <i>t</i> of an exact hit with
+     * the object of the proxy so that only proxies in front of that hit are reported from then on. The tree must not be
+     * modified from within the callback.
+     *
+     * @see Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param callback
+     *          receives the proxies hit by the ray and controls the ray cast
+     */
+    public void rayCast(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float maxT, RayCastCallback callback) {
+        if (root == NULL) {
+            return;
+        }
+        Vector2f t = rayT;
+        int[] stack = stack();
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (!Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                    bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5], t) || t.x > maxT) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                float value = callback.accept(node, t.x, t.y);
+                if (value == 0.0f) {
+                    return;
+                }
+                if (value > 0.0f) {
+                    maxT = value;
+                }
+            } else {
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+    }
+
+    /**
+     * Cast the given ray up to the value <code>maxT</code> of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i>, and report the proxies whose fat boxes it hits to the given <code>callback</code>.
+     *
+     * @see #rayCast(float, float, float, float, float, float, float, RayCastCallback)
+     *
+     * @param ray
+     *          the ray
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param callback
+     *          receives the proxies hit by the ray and controls the ray cast
+     */
+    public void rayCast(Rayf ray, float maxT, RayCastCallback callback) {
+        rayCast(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, maxT, callback);
+    }
+
+    /**
+     * Report every pair of proxies whose fat boxes overlap to the given <code>consumer</code>, each pair once.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @param consumer
+     *          receives the overlapping pairs
+     * @return the number of pairs reported
+     */
+    public int queryPairs(PairConsumer consumer) {
+        int pairs = 0;
+        for (int proxy = 0; proxy < capacity; proxy++) {
+            if (height[proxy] == 0) {
+                pairs += queryPairs(proxy, false, consumer);
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Report every pair of overlapping proxies of which at least one was inserted or reinserted by {@link #move(int, AABBfc)}
+     * since the last call to this method, each pair once.
+     * <p>
+     * Pairs of proxies which did not move cannot have started to overlap, so calling this once per step finds all new
+     * pairs at a fraction of the cost of {@link #queryPairs(PairConsumer)}. The tree must not be modified from within the
+     * consumer.
+     *
+     * @param consumer
+     *          receives the overlapping pairs
+     * @return the number of pairs reported
+     */
+    public int updatePairs(PairConsumer consumer) {
+        int pairs = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int proxy = moveBuffer[i];
+            if (proxy != NULL) {
+                pairs += queryPairs(proxy, true, consumer);
+            }
+        }
+        for (int i = 0; i < moveCount; i++) {
+            if (moveBuffer[i] != NULL) {
+                moved[moveBuffer[i]] = false;
+            }
+        }
+        moveCount = 0;
+        return pairs;
+    }
+
+    /**
+     * Report the pairs of the given proxy with all proxies whose fat boxes it overlaps, skipping those reported from the
+     * perspective of the other proxy: when <code>onlyMoved</code> is <code>false</code>, all proxies with a smaller id;
+     * otherwise moved proxies with a smaller id.
+     */
+    private int queryPairs(int proxy, boolean onlyMoved, PairConsumer consumer) {
+        int q = 6 * proxy;
+        int[] stack = stack();
+        int top = 0;
+        stack[top++] = root;
+        int pairs = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (node == proxy || !Intersectionf.testAabAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5],
+                    bounds[q], bounds[q + 1], bounds[q + 2], bounds[q + 3], bounds[q + 4], bounds[q + 5])) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                if (node < proxy && (!onlyMoved || moved[node])) {
+                    continue;
+                }
+                consumer.accept(Math.min(proxy, node), Math.max(proxy, node));
+                pairs++;
+            } else {
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Get the traversal stack shared by the queries, grown to hold all nodes pending in a depth-first traversal of the tree.
+     */
+    private int[] stack() {
+        if (stack.length <= height[root]) {
+            stack = new int[height[root] + 1];
+        }
+        return stack;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+        // Find the best sibling by descending towards the cheapest increase of surface area.
+        int l = 6 * leaf;
+        int index = root;
+        while (!isLeaf(index)) {
+            int o = 6 * index;
+            float area = halfArea(bounds, o);
+            float combinedArea = combinedHalfArea(bounds, o, bounds, l);
+            // Cost of creating a new parent for this node and the new leaf, and the minimum cost of pushing the leaf further down.
+            float cost = 2.0f * combinedArea;
+            float inheritanceCost = 2.0f * (combinedArea - area);
+            float cost1 = descendCost(child1[index], l) + inheritanceCost;
+            float cost2 = descendCost(child2[index], l) + inheritanceCost;
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+            index = cost1 < cost2 ? child1[index] : child2[index];
+        }
+        int sibling = index;
+
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        union(newParent, sibling, leaf);
+        height[newParent] = height[sibling] + 1;
+        if (oldParent != NULL) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refitUpwards(parent[leaf]);
+    }
+
+    private float descendCost(int child, int l) {
+        float combinedArea = combinedHalfArea(bounds, 6 * child, bounds, l);
+        return isLeaf(child) ? combinedArea : combinedArea - halfArea(bounds, 6 * child);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+        if (grandParent != NULL) {
+            if (child1[grandParent] == p) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(p);
+            refitUpwards(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(p);
+        }
+    }
+
+    /**
+     * Walk from the given node up to the root, balancing the tree and recomputing bounds and heights.
+     */
+    private void refitUpwards(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int c1 = child1[index], c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            union(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    /**
+     * Perform a left or right rotation if the subtree rooted at <code>a</code> is imbalanced.
+     *
+     * @return the new root of the subtree
+     */
+    private int balance(int a) {
+        if (isLeaf(a) || height[a] < 2) {
+            return a;
+        }
+        int b = child1[a], c = child2[a];
+        int balance = height[c] - height[b];
+        if (balance > 1) {
+            // Rotate c up.
+            int f = child1[c], g = child2[c];
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+            if (height[f] > height[g]) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                union(a, b, g);
+                union(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                union(a, b, f);
+                union(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+        if (balance < -1) {
+            // Rotate b up.
+            int d = child1[b], e = child2[b];
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+            if (height[d] > height[e]) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                union(a, c, e);
+                union(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                union(a, c, d);
+                union(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+        return a;
+    }
+
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NULL) {
+            root = newChild;
+        } else if (child1[p] == oldChild) {
+            child1[p] = newChild;
+        } else {
+            child2[p] = newChild;
+        }
+    }
+
+    private void union(int dest, int a, int b) {
+        int d = 6 * dest, o1 = 6 * a, o2 = 6 * b;
+        for (int k = 0; k < 3; k++) {
+            bounds[d + k] = Math.min(bounds[o1 + k], bounds[o2 + k]);
+            bounds[d + 3 + k] = Math.max(bounds[o1 + 3 + k], bounds[o2 + 3 + k]);
+        }
+    }
+
+    private static float halfArea(float[] b, int o) {
+        float dx = b[o + 3] - b[o], dy = b[o + 4] - b[o + 1], dz = b[o + 5] - b[o + 2];
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    private static float combinedHalfArea(float[] b1, int o1, float[] b2, int o2) {
+        float dx = Math.max(b1[o1 + 3], b2[o2 + 3]) - Math.min(b1[o1], b2[o2]);
+        float dy = Math.max(b1[o1 + 4], b2[o2 + 4]) - Math.min(b1[o1 + 1], b2[o2 + 1]);
+        float dz = Math.max(b1[o1 + 5], b2[o2 + 5]) - Math.min(b1[o1 + 2], b2[o2 + 2]);
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    /**
+     * Check the structural invariants of the tree.
+     *
+     * @throws IllegalStateException if an invariant is violated
+     */
+    void validate() {
+        int leaves = root == NULL ? 0 : validate(root, NULL);
+        if (leaves != proxyCount) {
+            throw new IllegalStateException("Found " + leaves + " leaves but have " + proxyCount + " proxies");
+        }
+        int free = 0;
+        for (int node = freeList; node != NULL; node = parent[node]) {
+            free++;
+        }
+        if (free + nodeCount != capacity) {
+            throw new IllegalStateException("Lost nodes: " + (capacity - free - nodeCount));
+        }
+    }
+
+    private int validate(int node, int expectedParent) {
+        if (parent[node] != expectedParent) {
+            throw new IllegalStateException("Wrong parent of node " + node);
+        }
+        if (isLeaf(node)) {
+            if (child2[node] != NULL || height[node] != 0) {
+                throw new IllegalStateException("Malformed leaf " + node);
+            }
+            return 1;
+        }
+        int c1 = child1[node], c2 = child2[node];
+        if (height[node] != 1 + Math.max(height[c1], height[c2]) || Math.abs(height[c1] - height[c2]) > 1) {
+            throw new IllegalStateException("Wrong height or imbalance at node " + node);
+        }
+        int o = 6 * node, o1 = 6 * c1, o2 = 6 * c2;
+        for (int k = 0; k < 3; k++) {
+            if (bounds[o + k] != Math.min(bounds[o1 + k], bounds[o2 + k]) || bounds[o + 3 + k] != Math.max(bounds[o1 + 3 + k], bounds[o2 + 3 + k])) {
+                throw new IllegalStateException("Wrong bounds of node " + node);
+            }
+        }
+        return validate(c1, node) + validate(c2, node);
+    }
+}
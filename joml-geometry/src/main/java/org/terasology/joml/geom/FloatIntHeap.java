@@ -0,0 +1,83 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of <code>int</code> values ordered by <code>float</code> keys, stored in primitive arrays, for the
+ * best-first nearest neighbour searches of the spatial indices.
+ */
+final class FloatIntHeap {
+
+    private float[] keys;
+    private int[] values;
+    private int size;
+
+    FloatIntHeap(int capacity) {
+        keys = new float[capacity];
+        values = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(float key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * size);
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Return the smallest key, which must exist.
+     */
+    float peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Remove the entry with the smallest key, which must exist, and return its value.
+     */
+    int pop() {
+        int result = values[0];
+        float key = keys[--size];
+        int value = values[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return result;
+    }
+}
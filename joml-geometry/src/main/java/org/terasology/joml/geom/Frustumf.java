@@ -0,0 +1,296 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Matrix4fc;
+
+import java.nio.FloatBuffer;
+
+/**
+ * The six clipping planes of a view frustum, used to cull axis-aligned boxes with single-precision floating-point
+ * numbers.
+ * <p>
+ * The planes are extracted from a view-projection matrix and normalized, with their normals pointing into the frustum.
+ * A box is tested against a plane using only its two corners which lie farthest along and against the plane's normal
+ * (the <i>p-vertex</i> and the <i>n-vertex</i>), so each plane costs two dot products.
+ * <p>
+ * For culling hierarchies, {@link #cullAab(float, float, float, float, float, float, int, int)} takes a mask of the
+ * planes which still have to be tested and returns the mask for the children: a box which lies fully inside a plane
+ * passes this on, so none of its descendants test that plane again. It also takes the plane to test first, so that
+ * the plane which rejected the previous box can be tried again before all others.
+ * <p>
+ * Reference: <a href="http://www.cse.chalmers.se/~uffe/vfc_bbox.pdf">Optimized View Frustum Culling Algorithms for Bounding Boxes</a>
+ */
+public class Frustumf {
+
+    /**
+     * The box lies fully inside the frustum.
+     */
+    public static final int INSIDE = 0;
+    /**
+     * The box intersects the boundary of the frustum.
+     */
+    public static final int INTERSECT = 1;
+    /**
+     * The box lies fully outside the frustum.
+     */
+    public static final int OUTSIDE = 2;
+
+    /**
+     * The plane with the smallest x coordinate in clip space, <code>x = -w</code>.
+     */
+    public static final int PLANE_NX = 0;
+    /**
+     * The plane with the largest x coordinate in clip space, <code>x = w</code>.
+     */
+    public static final int PLANE_PX = 1;
+    /**
+     * The plane with the smallest y coordinate in clip space, <code>y = -w</code>.
+     */
+    public static final int PLANE_NY = 2;
+    /**
+     * The plane with the largest y coordinate in clip space, <code>y = w</code>.
+     */
+    public static final int PLANE_PY = 3;
+    /**
+     * The plane with the smallest z coordinate in clip space, <code>z = -w</code>.
+     */
+    public static final int PLANE_NZ = 4;
+    /**
+     * The plane with the largest z coordinate in clip space, <code>z = w</code>.
+     */
+    public static final int PLANE_PZ = 5;
+
+    /**
+     * The plane mask with all six planes set.
+     */
+    public static final int ALL_PLANES = 0x3F;
+
+    /**
+     * The coefficients <code>(a, b, c, d)</code> of the six planes, in the order of the <code>PLANE_*</code> constants.
+     */
+    private final float[] planes = new float[24];
+
+    /**
+     * Create a new {@link Frustumf} which contains all of space, until {@link #set(Matrix4fc)} is called.
+     */
+    public Frustumf() {
+        for (int i = 0; i < 6; i++) {
+            planes[4 * i + 3] = Float.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Create a new {@link Frustumf} with the planes of the given view-projection matrix.
+     *
+     * @see #set(Matrix4fc)
+     *
+     * @param m
+     *          the view-projection matrix
+     */
+    public Frustumf(Matrix4fc m) {
+        set(m);
+    }
+
+    /**
+     * Extract the six planes of the view frustum of the given view-projection matrix and normalize them.
+     * <p>
+     * Reference: <a href="http://www.cs.otago.ac.nz/postgrads/alexis/planeExtraction.pdf">Fast Extraction of Viewing Frustum Planes from the World-View-Projection Matrix</a>
+     *
+     * @param m
+     *          the view-projection matrix
+     * @return this
+     */
+    public Frustumf set(Matrix4fc m) {
+        setPlane(PLANE_NX, m.m03() + m.m00(), m.m13() + m.m10(), m.m23() + m.m20(), m.m33() + m.m30());
+        setPlane(PLANE_PX, m.m03() - m.m00(), m.m13() - m.m10(), m.m23() - m.m20(), m.m33() - m.m30());
+        setPlane(PLANE_NY, m.m03() + m.m01(), m.m13() + m.m11(), m.m23() + m.m21(), m.m33() + m.m31());
+        setPlane(PLANE_PY, m.m03() - m.m01(), m.m13() - m.m11(), m.m23() - m.m21(), m.m33() - m.m31());
+        setPlane(PLANE_NZ, m.m03() + m.m02(), m.m13() + m.m12(), m.m23() + m.m22(), m.m33() + m.m32());
+        setPlane(PLANE_PZ, m.m03() - m.m02(), m.m13() - m.m12(), m.m23() - m.m22(), m.m33() - m.m32());
+        return this;
+    }
+
+    private void setPlane(int plane, float a, float b, float c, float d) {
+        float invLength = 1.0f / (float) Math.sqrt(a * a + b * b + c * c);
+        int o = 4 * plane;
+        planes[o] = a * invLength;
+        planes[o + 1] = b * invLength;
+        planes[o + 2] = c * invLength;
+        planes[o + 3] = d * invLength;
+    }
+
+    /**
+     * Get the given plane of this frustum and store it in <code>dest</code>.
+     * <p>
+     * The plane is normalized and its normal points into the frustum.
+     *
+     * @param plane
+     *          the plane, one of {@link #PLANE_NX}, {@link #PLANE_PX}, {@link #PLANE_NY}, {@link #PLANE_PY},
+     *          {@link #PLANE_NZ} and {@link #PLANE_PZ}
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Planef getPlane(int plane, Planef dest) {
+        int o = 4 * plane;
+        return dest.set(planes[o], planes[o + 1], planes[o + 2], planes[o + 3]);
+    }
+
+    /**
+     * Test the planes in <code>planeMask</code> against the axis-aligned box given as its minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>, starting with
+     * <code>firstPlane</code>.
+     * <p>
+     * If the box lies fully outside one of the planes, the bitwise complement <code>~plane</code> of that plane is
+     * returned, which is negative. Otherwise the result is the subset of <code>planeMask</code> which the box
+     * intersects; <code>0</code> means the box lies inside all planes of the mask.
+     * <p>
+     * When culling a hierarchy, pass the mask returned for a node to its children, and pass the plane which rejected
+     * the previous node as <code>firstPlane</code> for the next one.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param planeMask
+     *          the planes to test, with bit <code>1 &lt;&lt; plane</code> set for each, or {@link #ALL_PLANES}
+     * @param firstPlane
+     *          the plane to test first, in <code>[0..5]</code>
+     * @return <code>~plane</code> of the plane rejecting the box, or the mask of the tested planes which intersect it
+     */
+    public int cullAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int planeMask, int firstPlane) {
+        int mask = 0;
+        for (int i = 0, plane = firstPlane; i < 6; i++, plane = plane == 5 ? 0 : plane + 1) {
+            int bit = 1 << plane;
+            if ((planeMask & bit) == 0) {
+                continue;
+            }
+            int o = 4 * plane;
+            float a = planes[o], b = planes[o + 1], c = planes[o + 2], d = planes[o + 3];
+            if (a * (a < 0.0f ? minX : maxX) + b * (b < 0.0f ? minY : maxY) + c * (c < 0.0f ? minZ : maxZ) < -d) {
+                return ~plane;
+            }
+            if (a * (a < 0.0f ? maxX : minX) + b * (b < 0.0f ? maxY : minY) + c * (c < 0.0f ? maxZ : minZ) < -d) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Determine whether the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum
+     * corner <code>(maxX, maxY, maxZ)</code> lies inside, intersects or lies outside this frustum.
+     * <p>
+     * Boxes close to the corners of the frustum may be reported as {@link #INTERSECT} although they lie outside.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return {@link #INSIDE}, {@link #INTERSECT} or {@link #OUTSIDE}
+     */
+    public int testAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        return classify(cullAab(minX, minY, minZ, maxX, maxY, maxZ, ALL_PLANES, 0));
+    }
+
+    /**
+     * Determine whether the given axis-aligned box lies inside, intersects or lies outside this frustum.
+     *
+     * @see #testAab(float, float, float, float, float, float)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @return {@link #INSIDE}, {@link #INTERSECT} or {@link #OUTSIDE}
+     */
+    public int testAab(AABBfc aabb) {
+        return testAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Classify <code>count</code> axis-aligned boxes, stored as <code>(minX, minY, minZ, maxX, maxY, maxZ)</code> in
+     * <code>bounds</code> from <code>offset</code> on, against this frustum and store the results in
+     * <code>results</code>.
+     * <p>
+     * If <code>planeCache</code> is not <code>null</code>, it holds one plane per box which is tested first, and is
+     * updated with the plane rejecting the box. Boxes which move little between frames are then usually rejected by
+     * their first test. The cache may be initialized with zeros.
+     *
+     * @param bounds
+     *          the bounds of the boxes
+     * @param offset
+     *          the index in <code>bounds</code> of the first box's <code>minX</code>
+     * @param count
+     *          the number of boxes
+     * @param results
+     *          will hold {@link #INSIDE}, {@link #INTERSECT} or {@link #OUTSIDE} for each box
+     * @param planeCache
+     *          the plane which last rejected each box, or <code>null</code>
+     * @return the number of boxes which are not {@link #OUTSIDE}
+     */
+    public int cull(float[] bounds, int offset, int count, byte[] results, byte[] planeCache) {
+        int visible = 0;
+        for (int i = 0, o = offset; i < count; i++, o += 6) {
+            int first = planeCache != null ? planeCache[i] : 0;
+            int r = cullAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5], ALL_PLANES, first);
+            if (r < 0 && planeCache != null) {
+                planeCache[i] = (byte) ~r;
+            }
+            results[i] = (byte) classify(r);
+            if (r >= 0) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Classify all boxes of the given array against this frustum and store the results in <code>results</code>.
+     *
+     * @see #cull(float[], int, int, byte[], byte[])
+     *
+     * @param boxes
+     *          the boxes
+     * @param results
+     *          will hold {@link #INSIDE}, {@link #INTERSECT} or {@link #OUTSIDE} for each box
+     * @param planeCache
+     *          the plane which last rejected each box, or <code>null</code>
+     * @return the number of boxes which are not {@link #OUTSIDE}
+     */
+    public int cull(AABBfArray boxes, byte[] results, byte[] planeCache) {
+        FloatBuffer b = boxes.buffer();
+        int visible = 0;
+        for (int i = 0, o = 0, n = boxes.length(); i < n; i++, o += AABBfArray.STRIDE) {
+            int first = planeCache != null ? planeCache[i] : 0;
+            int r = cullAab(b.get(o), b.get(o + 1), b.get(o + 2), b.get(o + 3), b.get(o + 4), b.get(o + 5), ALL_PLANES, first);
+            if (r < 0 && planeCache != null) {
+                planeCache[i] = (byte) ~r;
+            }
+            results[i] = (byte) classify(r);
+            if (r >= 0) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    private static int classify(int cullResult) {
+        return cullResult < 0 ? OUTSIDE : cullResult == 0 ? INSIDE : INTERSECT;
+    }
+}
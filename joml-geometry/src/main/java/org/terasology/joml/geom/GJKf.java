@@ -0,0 +1,778 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3f;
+
+/**
+ * Computes the distance, intersection and penetration depth of two arbitrary {@link ConvexShapef convex shapes} with the
+ * Gilbert-Johnson-Keerthi (GJK) algorithm and the Expanding Polytope Algorithm (EPA).
+ * <p>
+ * GJK iterates a simplex within the Minkowski difference <code>a - b</code> of both shapes towards the point closest to
+ * the origin, whose distance to the origin is the distance of both shapes. It runs on the cores of both shapes and
+ * accounts for their {@link ConvexShapef#margin() margins} afterwards, so spheres and capsules take as few iterations as
+ * points and line segments. Only if the cores overlap does EPA expand a polytope within the Minkowski difference of the
+ * cores towards its boundary to find the penetration depth, to which the margins add exactly, so curved shapes with
+ * point or segment cores need no polytope approximating their surface either.
+ * <p>
+ * Every test can be warm-started with a {@link Cache} that keeps the last direction of the simplex between frames. As
+ * long as that direction still separates both shapes, which is the common case for contacts that move little between
+ * frames, {@link #testIntersection(ConvexShapef, ConvexShapef, Cache)} returns after a single support point of each
+ * shape.
+ * <p>
+ * Instances keep their simplex and polytope in preallocated arrays, so they are not thread-safe, but reusing them does
+ * not allocate.
+ * <p>
+ * Reference: <a href="http://www.dtecta.com/papers/jgt98convex.pdf">A Fast and Robust GJK Implementation for Collision
+ * Detection of Convex Objects</a>, and <a href="http://www.dtecta.com/papers/gdc2001depth.pdf">Proximity Queries and
+ * Penetration Depth Computation on 3D Game Objects</a>
+ */
+public class GJKf {
+
+    /**
+     * The direction of the simplex of the last test of a pair of shapes, to warm-start the next test of the same pair.
+     */
+    public static class Cache {
+        float x, y, z;
+        boolean valid;
+
+        /**
+         * Forget the cached direction, e.g. when the cache is reused for another pair of shapes.
+         */
+        public void reset() {
+            valid = false;
+        }
+    }
+
+    private static final int MAX_ITERATIONS = 64;
+    /**
+     * GJK stops when the next support point brings the squared distance closer by less than this fraction.
+     */
+    private static final float RELATIVE_TOLERANCE = 1E-5f;
+    /**
+     * The cores overlap when the squared distance is less than this fraction of the greatest squared support point.
+     */
+    private static final float OVERLAP_TOLERANCE = 1E-10f;
+    /**
+     * EPA stops when the next support point lies less than this fraction of the polytope's size beyond its closest face.
+     */
+    private static final float EPA_TOLERANCE = 1E-4f;
+    private static final int MAX_EPA_VERTICES = 128;
+    private static final int MAX_EPA_FACES = 2 * MAX_EPA_VERTICES;
+    /**
+     * The faces of a tetrahedron, each followed by the vertex opposite to it.
+     */
+    private static final int[] TETRAHEDRON_FACES = {0, 1, 2, 3, 0, 2, 3, 1, 0, 3, 1, 2, 1, 3, 2, 0};
+
+    private final Vector3f supportA = new Vector3f();
+    private final Vector3f supportB = new Vector3f();
+    // the last support point of the Minkowski difference, and of the first shape
+    private float wX, wY, wZ, wAX, wAY, wAZ;
+
+    // the simplex of GJK, with the support points on the first shape and the barycentric coordinates of its closest point
+    private final float[] simplexW = new float[12];
+    private final float[] simplexA = new float[12];
+    private final float[] lambda = new float[4];
+    private int simplexCount;
+    private float maxW2;
+    // the simplex before adding the last support point
+    private final float[] previousW = new float[12];
+    private final float[] previousA = new float[12];
+    private final float[] previousLambda = new float[4];
+    // the closest point of the simplex to the origin
+    private float vX, vY, vZ;
+
+    // the closest feature of a sub-simplex, as its vertices and their barycentric coordinates
+    private final int[] subIndex = new int[3];
+    private final float[] subLambda = new float[3];
+    private int subCount;
+    private float subX, subY, subZ;
+    private final int[] bestIndex = new int[3];
+    private final float[] bestLambda = new float[3];
+    private int bestCount;
+    private float bestX, bestY, bestZ;
+    private final float[] scratch = new float[18];
+
+    // the polytope of EPA
+    private final float[] polytopeW = new float[3 * MAX_EPA_VERTICES];
+    private final float[] polytopeA = new float[3 * MAX_EPA_VERTICES];
+    private int vertexCount;
+    private final int[] faceVertices = new int[3 * MAX_EPA_FACES];
+    private final float[] faceNormals = new float[3 * MAX_EPA_FACES];
+    private final float[] faceDistances = new float[MAX_EPA_FACES];
+    private int faceCount;
+    private final int[] horizon = new int[6 * MAX_EPA_FACES];
+
+    /**
+     * Return the distance between the shapes <code>a</code> and <code>b</code>, and store the closest points on their
+     * surfaces into <code>pointA</code> and <code>pointB</code>.
+     * <p>
+     * If the shapes intersect, this returns <code>0</code> and leaves <code>pointA</code> and <code>pointB</code>
+     * unchanged.
+     *
+     * @param a
+     *          the first shape
+     * @param b
+     *          the second shape
+     * @param cache
+     *          the cache of this pair of shapes to warm-start from and update, or <code>null</code>
+     * @param pointA
+     *          will hold the closest point on <code>a</code>
+     * @param pointB
+     *          will hold the closest point on <code>b</code>
+     * @return the distance between both shapes
+     */
+    public float distance(ConvexShapef a, ConvexShapef b, Cache cache, Vector3f pointA, Vector3f pointB) {
+        float marginA = a.margin(), marginB = b.margin();
+        float length = (float) java.lang.Math.sqrt(closest(a, b, cache, -1.0f));
+        if (length <= marginA + marginB) {
+            return 0.0f;
+        }
+        closestPoints(length, marginA, marginB, pointA, pointB);
+        return length - marginA - marginB;
+    }
+
+    /**
+     * Test whether the shapes <code>a</code> and <code>b</code> intersect. Touching shapes intersect.
+     * <p>
+     * This returns as soon as it finds an axis that separates both shapes, so it is cheaper than
+     * {@link #distance(ConvexShapef, ConvexShapef, Cache, Vector3f, Vector3f) distance()}.
+     *
+     * @param a
+     *          the first shape
+     * @param b
+     *          the second shape
+     * @param cache
+     *          the cache of this pair of shapes to warm-start from and update, or <code>null</code>
+     * @return <code>true</code> iff both shapes intersect; <code>false</code> otherwise
+     */
+    public boolean testIntersection(ConvexShapef a, ConvexShapef b, Cache cache) {
+        float margins = a.margin() + b.margin();
+        return closest(a, b, cache, margins) <= margins * margins;
+    }
+
+    /**
+     * Return the signed distance between the shapes <code>a</code> and <code>b</code>, which is their distance if they
+     * are apart, or their negated penetration depth if they intersect, and store the unit normal pointing from
+     * <code>a</code> to <code>b</code> into <code>normal</code> and the closest or deepest points on their surfaces into
+     * <code>pointA</code> and <code>pointB</code>.
+     * <p>
+     * Translating <code>b</code> by the normal times the penetration depth makes both shapes touch.
+     *
+     * @param a
+     *          the first shape
+     * @param b
+     *          the second shape
+     * @param cache
+     *          the cache of this pair of shapes to warm-start from and update, or <code>null</code>
+     * @param normal
+     *          will hold the unit normal pointing from <code>a</code> to <code>b</code>
+     * @param pointA
+     *          will hold the closest or deepest point on <code>a</code>
+     * @param pointB
+     *          will hold the closest or deepest point on <code>b</code>
+     * @return the distance between both shapes if they are apart, or their negated penetration depth
+     */
+    public float penetration(ConvexShapef a, ConvexShapef b, Cache cache, Vector3f normal, Vector3f pointA, Vector3f pointB) {
+        float marginA = a.margin(), marginB = b.margin();
+        float vv = closest(a, b, cache, -1.0f);
+        if (vv > 0.0f) {
+            // The cores are apart, so the normal is the direction between their closest points.
+            float length = (float) java.lang.Math.sqrt(vv);
+            closestPoints(length, marginA, marginB, pointA, pointB);
+            normal.set(-vX / length, -vY / length, -vZ / length);
+            return length - marginA - marginB;
+        }
+        float depth = expand(a, b, marginA, marginB, normal, pointA, pointB);
+        if (cache != null) {
+            // The cache holds v, which points from b to a like the closest point of a - b, against the normal.
+            cache.x = -normal.x;
+            cache.y = -normal.y;
+            cache.z = -normal.z;
+            cache.valid = true;
+        }
+        return -depth - marginA - marginB;
+    }
+
+    /**
+     * Store the closest points of the last simplex, moved onto the surfaces by the margins, into <code>pointA</code>
+     * and <code>pointB</code>.
+     */
+    private void closestPoints(float length, float marginA, float marginB, Vector3f pointA, Vector3f pointB) {
+        float pX = 0.0f, pY = 0.0f, pZ = 0.0f;
+        for (int i = 0; i < simplexCount; i++) {
+            pX += lambda[i] * simplexA[3 * i];
+            pY += lambda[i] * simplexA[3 * i + 1];
+            pZ += lambda[i] * simplexA[3 * i + 2];
+        }
+        float nX = -vX / length, nY = -vY / length, nZ = -vZ / length;
+        pointA.set(pX + nX * marginA, pY + nY * marginA, pZ + nZ * marginA);
+        pointB.set(pX - vX - nX * marginB, pY - vY - nY * marginB, pZ - vZ - nZ * marginB);
+    }
+
+    /**
+     * Store the support point of the Minkowski difference of the cores <code>a - b</code> in the direction
+     * <code>(dX, dY, dZ)</code> into <code>w</code> and the one of <code>a</code> into <code>wA</code>.
+     */
+    private void support(ConvexShapef a, ConvexShapef b, float dX, float dY, float dZ) {
+        a.support(dX, dY, dZ, supportA);
+        b.support(-dX, -dY, -dZ, supportB);
+        wAX = supportA.x;
+        wAY = supportA.y;
+        wAZ = supportA.z;
+        wX = wAX - supportB.x;
+        wY = wAY - supportB.y;
+        wZ = wAZ - supportB.z;
+    }
+
+    /**
+     * Run GJK and return the squared distance of the closest point <code>v</code> of the Minkowski difference to the
+     * origin, which is <code>0</code> if the shapes overlap, or {@link Float#POSITIVE_INFINITY} as soon as an axis
+     * shows that both shapes are farther apart than a non-negative <code>separation</code>.
+     */
+    private float closest(ConvexShapef a, ConvexShapef b, Cache cache, float separation) {
+        if (cache != null && cache.valid) {
+            vX = cache.x;
+            vY = cache.y;
+            vZ = cache.z;
+        } else {
+            vX = 1.0f;
+            vY = 0.0f;
+            vZ = 0.0f;
+        }
+        simplexCount = 0;
+        maxW2 = 0.0f;
+        float vv = vX * vX + vY * vY + vZ * vZ;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            support(a, b, -vX, -vY, -vZ);
+            float vw = vX * wX + vY * wY + vZ * wZ;
+            if (separation >= 0.0f && vw > 0.0f && vw * vw > separation * separation * vv) {
+                store(cache);
+                return Float.POSITIVE_INFINITY;
+            }
+            if (simplexCount > 0 && (vv - vw <= RELATIVE_TOLERANCE * vv || contains(wX, wY, wZ))) {
+                break;
+            }
+            int count = simplexCount;
+            System.arraycopy(simplexW, 0, previousW, 0, 3 * count);
+            System.arraycopy(simplexA, 0, previousA, 0, 3 * count);
+            System.arraycopy(lambda, 0, previousLambda, 0, count);
+            float previousX = vX, previousY = vY, previousZ = vZ;
+            int i = 3 * simplexCount++;
+            simplexW[i] = wX;
+            simplexW[i + 1] = wY;
+            simplexW[i + 2] = wZ;
+            simplexA[i] = wAX;
+            simplexA[i + 1] = wAY;
+            simplexA[i + 2] = wAZ;
+            maxW2 = java.lang.Math.max(maxW2, wX * wX + wY * wY + wZ * wZ);
+            if (!solve()) {
+                return 0.0f;
+            }
+            float previous = vv;
+            vv = vX * vX + vY * vY + vZ * vZ;
+            if (vv <= OVERLAP_TOLERANCE * maxW2) {
+                return 0.0f;
+            }
+            if (count > 0 && vv >= previous) {
+                // Rounding keeps the simplex from getting any closer, so keep the previous one.
+                simplexCount = count;
+                System.arraycopy(previousW, 0, simplexW, 0, 3 * count);
+                System.arraycopy(previousA, 0, simplexA, 0, 3 * count);
+                System.arraycopy(previousLambda, 0, lambda, 0, count);
+                vX = previousX;
+                vY = previousY;
+                vZ = previousZ;
+                vv = previous;
+                break;
+            }
+        }
+        store(cache);
+        return vv;
+    }
+
+    private void store(Cache cache) {
+        if (cache != null) {
+            cache.x = vX;
+            cache.y = vY;
+            cache.z = vZ;
+            cache.valid = true;
+        }
+    }
+
+    private boolean contains(float x, float y, float z) {
+        for (int i = 0; i < 3 * simplexCount; i += 3) {
+            if (simplexW[i] == x && simplexW[i + 1] == y && simplexW[i + 2] == z) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reduce the simplex to its feature closest to the origin, and store that point into <code>v</code>. Returns
+     * <code>false</code> if the simplex is a tetrahedron that contains the origin.
+     */
+    private boolean solve() {
+        switch (simplexCount) {
+        case 1:
+            lambda[0] = 1.0f;
+            vX = simplexW[0];
+            vY = simplexW[1];
+            vZ = simplexW[2];
+            return true;
+        case 2:
+            segment(0, 1);
+            break;
+        case 3:
+            triangle(0, 1, 2);
+            break;
+        default:
+            if (!tetrahedron()) {
+                return false;
+            }
+        }
+        reduce();
+        return true;
+    }
+
+    /**
+     * Keep only the vertices of the closest sub-simplex.
+     */
+    private void reduce() {
+        for (int k = 0; k < subCount; k++) {
+            int i = subIndex[k];
+            System.arraycopy(simplexW, 3 * i, scratch, 6 * k, 3);
+            System.arraycopy(simplexA, 3 * i, scratch, 6 * k + 3, 3);
+        }
+        for (int k = 0; k < subCount; k++) {
+            System.arraycopy(scratch, 6 * k, simplexW, 3 * k, 3);
+            System.arraycopy(scratch, 6 * k + 3, simplexA, 3 * k, 3);
+            lambda[k] = subLambda[k];
+        }
+        simplexCount = subCount;
+        vX = subX;
+        vY = subY;
+        vZ = subZ;
+    }
+
+    private void vertex(int i) {
+        subCount = 1;
+        subIndex[0] = i;
+        subLambda[0] = 1.0f;
+        subX = simplexW[3 * i];
+        subY = simplexW[3 * i + 1];
+        subZ = simplexW[3 * i + 2];
+    }
+
+    private void edge(int i, int j, float t) {
+        subCount = 2;
+        subIndex[0] = i;
+        subIndex[1] = j;
+        subLambda[0] = 1.0f - t;
+        subLambda[1] = t;
+        subX = simplexW[3 * i] + t * (simplexW[3 * j] - simplexW[3 * i]);
+        subY = simplexW[3 * i + 1] + t * (simplexW[3 * j + 1] - simplexW[3 * i + 1]);
+        subZ = simplexW[3 * i + 2] + t * (simplexW[3 * j + 2] - simplexW[3 * i + 2]);
+    }
+
+    /**
+     * Find the closest point of the segment <code>(i, j)</code> of the simplex to the origin, and return its squared
+     * distance.
+     */
+    private float segment(int i, int j) {
+        float aX = simplexW[3 * i], aY = simplexW[3 * i + 1], aZ = simplexW[3 * i + 2];
+        float abX = simplexW[3 * j] - aX, abY = simplexW[3 * j + 1] - aY, abZ = simplexW[3 * j + 2] - aZ;
+        float t = -(aX * abX + aY * abY + aZ * abZ);
+        float length2 = abX * abX + abY * abY + abZ * abZ;
+        if (t <= 0.0f) {
+            vertex(i);
+        } else if (t >= length2) {
+            vertex(j);
+        } else {
+            edge(i, j, t / length2);
+        }
+        return subX * subX + subY * subY + subZ * subZ;
+    }
+
+    /**
+     * Find the closest point of the triangle <code>(i, j, k)</code> of the simplex to the origin by its Voronoi regions,
+     * and return its squared distance.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.5 "Closest Point on Triangle to Point"
+     */
+    private float triangle(int i, int j, int k) {
+        float aX = simplexW[3 * i], aY = simplexW[3 * i + 1], aZ = simplexW[3 * i + 2];
+        float bX = simplexW[3 * j], bY = simplexW[3 * j + 1], bZ = simplexW[3 * j + 2];
+        float cX = simplexW[3 * k], cY = simplexW[3 * k + 1], cZ = simplexW[3 * k + 2];
+        float abX = bX - aX, abY = bY - aY, abZ = bZ - aZ;
+        float acX = cX - aX, acY = cY - aY, acZ = cZ - aZ;
+        float d1 = -(abX * aX + abY * aY + abZ * aZ), d2 = -(acX * aX + acY * aY + acZ * aZ);
+        if (d1 <= 0.0f && d2 <= 0.0f) {
+            vertex(i);
+            return subX * subX + subY * subY + subZ * subZ;
+        }
+        float d3 = -(abX * bX + abY * bY + abZ * bZ), d4 = -(acX * bX + acY * bY + acZ * bZ);
+        if (d3 >= 0.0f && d4 <= d3) {
+            vertex(j);
+            return subX * subX + subY * subY + subZ * subZ;
+        }
+        float vc = d1 * d4 - d3 * d2;
+        if (vc <= 0.0f && d1 >= 0.0f && d3 <= 0.0f) {
+            edge(i, j, d1 / (d1 - d3));
+            return subX * subX + subY * subY + subZ * subZ;
+        }
+        float d5 = -(abX * cX + abY * cY + abZ * cZ), d6 = -(acX * cX + acY * cY + acZ * cZ);
+        if (d6 >= 0.0f && d5 <= d6) {
+            vertex(k);
+            return subX * subX + subY * subY + subZ * subZ;
+        }
+        float vb = d5 * d2 - d1 * d6;
+        if (vb <= 0.0f && d2 >= 0.0f && d6 <= 0.0f) {
+            edge(i, k, d2 / (d2 - d6));
+            return subX * subX + subY * subY + subZ * subZ;
+        }
+        float va = d3 * d6 - d5 * d4;
+        if (va <= 0.0f && d4 - d3 >= 0.0f && d5 - d6 >= 0.0f) {
+            edge(j, k, (d4 - d3) / ((d4 - d3) + (d5 - d6)));
+            return subX * subX + subY * subY + subZ * subZ;
+        }
+        float sum = va + vb + vc;
+        if (!(sum > 0.0f)) {
+            // A degenerate triangle, whose closest point lies on one of its edges.
+            return degenerateTriangle(i, j, k);
+        }
+        float v = vb / sum, w = vc / sum;
+        subCount = 3;
+        subIndex[0] = i;
+        subIndex[1] = j;
+        subIndex[2] = k;
+        subLambda[0] = 1.0f - v - w;
+        subLambda[1] = v;
+        subLambda[2] = w;
+        subX = aX + abX * v + acX * w;
+        subY = aY + abY * v + acY * w;
+        subZ = aZ + abZ * v + acZ * w;
+        return subX * subX + subY * subY + subZ * subZ;
+    }
+
+    private float degenerateTriangle(int i, int j, int k) {
+        float best = segment(i, j);
+        keepBest();
+        float d = segment(i, k);
+        if (d < best) {
+            best = d;
+            keepBest();
+        }
+        d = segment(j, k);
+        if (d < best) {
+            best = d;
+            keepBest();
+        }
+        restoreBest();
+        return best;
+    }
+
+    private void keepBest() {
+        System.arraycopy(subIndex, 0, bestIndex, 0, subCount);
+        System.arraycopy(subLambda, 0, bestLambda, 0, subCount);
+        bestCount = subCount;
+        bestX = subX;
+        bestY = subY;
+        bestZ = subZ;
+    }
+
+    private void restoreBest() {
+        subCount = bestCount;
+        System.arraycopy(bestIndex, 0, subIndex, 0, subCount);
+        System.arraycopy(bestLambda, 0, subLambda, 0, subCount);
+        subX = bestX;
+        subY = bestY;
+        subZ = bestZ;
+    }
+
+    /**
+     * Find the closest point of the tetrahedron of the simplex to the origin among its faces that the origin lies in
+     * front of. Returns <code>false</code> if the origin lies in front of none, i.e. inside.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.6 "Closest Point on Tetrahedron to Point"
+     */
+    private boolean tetrahedron() {
+        float best = Float.POSITIVE_INFINITY;
+        boolean outside = false;
+        for (int f = 0; f < 16; f += 4) {
+            int i = TETRAHEDRON_FACES[f], j = TETRAHEDRON_FACES[f + 1], k = TETRAHEDRON_FACES[f + 2];
+            int l = TETRAHEDRON_FACES[f + 3];
+            if (outside(i, j, k, l)) {
+                outside = true;
+                float d = triangle(i, j, k);
+                if (d < best) {
+                    best = d;
+                    keepBest();
+                }
+            }
+        }
+        if (!outside) {
+            return false;
+        }
+        restoreBest();
+        return true;
+    }
+
+    private boolean outside(int i, int j, int k, int l) {
+        float aX = simplexW[3 * i], aY = simplexW[3 * i + 1], aZ = simplexW[3 * i + 2];
+        float abX = simplexW[3 * j] - aX, abY = simplexW[3 * j + 1] - aY, abZ = simplexW[3 * j + 2] - aZ;
+        float acX = simplexW[3 * k] - aX, acY = simplexW[3 * k + 1] - aY, acZ = simplexW[3 * k + 2] - aZ;
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        float signOrigin = -(aX * nX + aY * nY + aZ * nZ);
+        float signOpposite = (simplexW[3 * l] - aX) * nX + (simplexW[3 * l + 1] - aY) * nY + (simplexW[3 * l + 2] - aZ) * nZ;
+        // A flat tetrahedron has the origin in front of the faces that it lies in front of, as a triangle.
+        return signOpposite == 0.0f ? signOrigin != 0.0f : signOrigin * signOpposite < 0.0f;
+    }
+
+    /**
+     * Run EPA from the simplex of GJK, which contains the origin, and return the penetration depth of the cores.
+     */
+    private float expand(ConvexShapef a, ConvexShapef b, float marginA, float marginB, Vector3f normal, Vector3f pointA,
+            Vector3f pointB) {
+        vertexCount = simplexCount;
+        System.arraycopy(simplexW, 0, polytopeW, 0, 3 * simplexCount);
+        System.arraycopy(simplexA, 0, polytopeA, 0, 3 * simplexCount);
+        if (!blowUp(a, b)) {
+            // The Minkowski difference of the cores is flat, so they only touch, along any normal of it.
+            float pX = 0.0f, pY = 0.0f, pZ = 0.0f;
+            for (int i = 0; i < simplexCount; i++) {
+                pX += lambda[i] * simplexA[3 * i];
+                pY += lambda[i] * simplexA[3 * i + 1];
+                pZ += lambda[i] * simplexA[3 * i + 2];
+            }
+            normal.set(vX, vY, vZ);
+            pointA.set(pX + vX * marginA, pY + vY * marginA, pZ + vZ * marginA);
+            pointB.set(pX - vX * marginB, pY - vY * marginB, pZ - vZ * marginB);
+            return 0.0f;
+        }
+        faceCount = 0;
+        for (int f = 0; f < 16; f += 4) {
+            addTetrahedronFace(TETRAHEDRON_FACES[f], TETRAHEDRON_FACES[f + 1], TETRAHEDRON_FACES[f + 2], TETRAHEDRON_FACES[f + 3]);
+        }
+        float scale = 0.0f;
+        for (int i = 0; i < 12; i++) {
+            scale = java.lang.Math.max(scale, java.lang.Math.abs(polytopeW[i]));
+        }
+        int closest;
+        while (true) {
+            closest = 0;
+            for (int f = 1; f < faceCount; f++) {
+                if (faceDistances[f] < faceDistances[closest]) {
+                    closest = f;
+                }
+            }
+            if (vertexCount == MAX_EPA_VERTICES) {
+                break;
+            }
+            float nX = faceNormals[3 * closest], nY = faceNormals[3 * closest + 1], nZ = faceNormals[3 * closest + 2];
+            support(a, b, nX, nY, nZ);
+            if (wX * nX + wY * nY + wZ * nZ - faceDistances[closest] <= EPA_TOLERANCE * scale) {
+                break;
+            }
+            int added = vertexCount++;
+            polytopeW[3 * added] = wX;
+            polytopeW[3 * added + 1] = wY;
+            polytopeW[3 * added + 2] = wZ;
+            polytopeA[3 * added] = wAX;
+            polytopeA[3 * added + 1] = wAY;
+            polytopeA[3 * added + 2] = wAZ;
+            // Remove the faces that the new vertex sees, and close the hole along their horizon.
+            int edges = 0;
+            for (int f = faceCount - 1; f >= 0; f--) {
+                int i = faceVertices[3 * f];
+                if (faceNormals[3 * f] * (wX - polytopeW[3 * i]) + faceNormals[3 * f + 1] * (wY - polytopeW[3 * i + 1])
+                        + faceNormals[3 * f + 2] * (wZ - polytopeW[3 * i + 2]) > 0.0f) {
+                    int j = faceVertices[3 * f + 1], k = faceVertices[3 * f + 2];
+                    edges = addEdge(edges, i, j);
+                    edges = addEdge(edges, j, k);
+                    edges = addEdge(edges, k, i);
+                    removeFace(f);
+                }
+            }
+            for (int e = 0; e < edges && faceCount < MAX_EPA_FACES; e++) {
+                addFace(horizon[2 * e], horizon[2 * e + 1], added);
+            }
+        }
+        float nX = faceNormals[3 * closest], nY = faceNormals[3 * closest + 1], nZ = faceNormals[3 * closest + 2];
+        float depth = faceDistances[closest];
+        normal.set(nX, nY, nZ);
+        // The barycentric coordinates of the origin projected onto the closest face give the deepest points.
+        int i = faceVertices[3 * closest], j = faceVertices[3 * closest + 1], k = faceVertices[3 * closest + 2];
+        float pX = nX * depth - polytopeW[3 * i], pY = nY * depth - polytopeW[3 * i + 1], pZ = nZ * depth - polytopeW[3 * i + 2];
+        float e0X = polytopeW[3 * j] - polytopeW[3 * i], e0Y = polytopeW[3 * j + 1] - polytopeW[3 * i + 1];
+        float e0Z = polytopeW[3 * j + 2] - polytopeW[3 * i + 2];
+        float e1X = polytopeW[3 * k] - polytopeW[3 * i], e1Y = polytopeW[3 * k + 1] - polytopeW[3 * i + 1];
+        float e1Z = polytopeW[3 * k + 2] - polytopeW[3 * i + 2];
+        float d00 = e0X * e0X + e0Y * e0Y + e0Z * e0Z, d01 = e0X * e1X + e0Y * e1Y + e0Z * e1Z;
+        float d11 = e1X * e1X + e1Y * e1Y + e1Z * e1Z;
+        float d20 = pX * e0X + pY * e0Y + pZ * e0Z, d21 = pX * e1X + pY * e1Y + pZ * e1Z;
+        float denom = d00 * d11 - d01 * d01;
+        float v = denom > 0.0f ? (d11 * d20 - d01 * d21) / denom : 0.0f;
+        float w = denom > 0.0f ? (d00 * d21 - d01 * d20) / denom : 0.0f;
+        float u = 1.0f - v - w;
+        pX = u * polytopeA[3 * i] + v * polytopeA[3 * j] + w * polytopeA[3 * k];
+        pY = u * polytopeA[3 * i + 1] + v * polytopeA[3 * j + 1] + w * polytopeA[3 * k + 1];
+        pZ = u * polytopeA[3 * i + 2] + v * polytopeA[3 * j + 2] + w * polytopeA[3 * k + 2];
+        depth = java.lang.Math.max(depth, 0.0f);
+        pointA.set(pX + nX * marginA, pY + nY * marginA, pZ + nZ * marginA);
+        pointB.set(pX - nX * (depth + marginB), pY - nY * (depth + marginB), pZ - nZ * (depth + marginB));
+        return depth;
+    }
+
+    /**
+     * Add support points in new directions until the polytope is a tetrahedron. Returns <code>false</code> if the
+     * Minkowski difference has no extent in some direction, which is then stored into <code>v</code>.
+     */
+    private boolean blowUp(ConvexShapef a, ConvexShapef b) {
+        float tolerance = RELATIVE_TOLERANCE * maxW2;
+        vX = 1.0f;
+        vY = 0.0f;
+        vZ = 0.0f;
+        if (vertexCount == 1) {
+            for (int axis = 0; axis < 6 && vertexCount == 1; axis++) {
+                float sign = axis < 3 ? 1.0f : -1.0f;
+                support(a, b, axis % 3 == 0 ? sign : 0.0f, axis % 3 == 1 ? sign : 0.0f, axis % 3 == 2 ? sign : 0.0f);
+                float dX = wX - polytopeW[0], dY = wY - polytopeW[1], dZ = wZ - polytopeW[2];
+                if (dX * dX + dY * dY + dZ * dZ > tolerance) {
+                    addVertex();
+                }
+            }
+        }
+        if (vertexCount == 2) {
+            float dX = polytopeW[3] - polytopeW[0], dY = polytopeW[4] - polytopeW[1], dZ = polytopeW[5] - polytopeW[2];
+            float d2 = dX * dX + dY * dY + dZ * dZ;
+            // Two directions perpendicular to the segment, crossed with the axis it is least aligned with.
+            float ax = java.lang.Math.abs(dX), ay = java.lang.Math.abs(dY), az = java.lang.Math.abs(dZ);
+            float eX = ax <= ay && ax <= az ? 1.0f : 0.0f, eY = eX == 0.0f && ay <= az ? 1.0f : 0.0f;
+            float eZ = eX == 0.0f && eY == 0.0f ? 1.0f : 0.0f;
+            float p1X = dY * eZ - dZ * eY, p1Y = dZ * eX - dX * eZ, p1Z = dX * eY - dY * eX;
+            float p2X = dY * p1Z - dZ * p1Y, p2Y = dZ * p1X - dX * p1Z, p2Z = dX * p1Y - dY * p1X;
+            float p1 = p1X * p1X + p1Y * p1Y + p1Z * p1Z;
+            if (p1 > 0.0f) {
+                float invLength = (float) (1.0 / java.lang.Math.sqrt(p1));
+                vX = p1X * invLength;
+                vY = p1Y * invLength;
+                vZ = p1Z * invLength;
+            }
+            for (int direction = 0; direction < 4 && vertexCount == 2; direction++) {
+                float sign = (direction & 1) == 0 ? 1.0f : -1.0f;
+                if (direction < 2) {
+                    support(a, b, p1X * sign, p1Y * sign, p1Z * sign);
+                } else {
+                    support(a, b, p2X * sign, p2Y * sign, p2Z * sign);
+                }
+                float qX = wX - polytopeW[0], qY = wY - polytopeW[1], qZ = wZ - polytopeW[2];
+                float cX = qY * dZ - qZ * dY, cY = qZ * dX - qX * dZ, cZ = qX * dY - qY * dX;
+                if (cX * cX + cY * cY + cZ * cZ > tolerance * d2) {
+                    addVertex();
+                }
+            }
+        }
+        if (vertexCount == 3) {
+            float e0X = polytopeW[3] - polytopeW[0], e0Y = polytopeW[4] - polytopeW[1], e0Z = polytopeW[5] - polytopeW[2];
+            float e1X = polytopeW[6] - polytopeW[0], e1Y = polytopeW[7] - polytopeW[1], e1Z = polytopeW[8] - polytopeW[2];
+            float nX = e0Y * e1Z - e0Z * e1Y, nY = e0Z * e1X - e0X * e1Z, nZ = e0X * e1Y - e0Y * e1X;
+            float n2 = nX * nX + nY * nY + nZ * nZ;
+            for (int direction = 0; direction < 2 && vertexCount == 3 && n2 > 0.0f; direction++) {
+                float sign = direction == 0 ? 1.0f : -1.0f;
+                support(a, b, nX * sign, nY * sign, nZ * sign);
+                float d = (wX - polytopeW[0]) * nX + (wY - polytopeW[1]) * nY + (wZ - polytopeW[2]) * nZ;
+                if (d * d > tolerance * n2) {
+                    addVertex();
+                }
+            }
+            if (n2 > 0.0f) {
+                float invLength = (float) (1.0 / java.lang.Math.sqrt(n2));
+                vX = nX * invLength;
+                vY = nY * invLength;
+                vZ = nZ * invLength;
+            }
+        }
+        return vertexCount == 4;
+    }
+
+    private void addVertex() {
+        int i = 3 * vertexCount++;
+        polytopeW[i] = wX;
+        polytopeW[i + 1] = wY;
+        polytopeW[i + 2] = wZ;
+        polytopeA[i] = wAX;
+        polytopeA[i + 1] = wAY;
+        polytopeA[i + 2] = wAZ;
+    }
+
+    /**
+     * Add the face <code>(i, j, k)</code> of the initial tetrahedron, wound so that it faces away from the opposite
+     * vertex <code>l</code>.
+     */
+    private void addTetrahedronFace(int i, int j, int k, int l) {
+        float aX = polytopeW[3 * i], aY = polytopeW[3 * i + 1], aZ = polytopeW[3 * i + 2];
+        float abX = polytopeW[3 * j] - aX, abY = polytopeW[3 * j + 1] - aY, abZ = polytopeW[3 * j + 2] - aZ;
+        float acX = polytopeW[3 * k] - aX, acY = polytopeW[3 * k + 1] - aY, acZ = polytopeW[3 * k + 2] - aZ;
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        if ((polytopeW[3 * l] - aX) * nX + (polytopeW[3 * l + 1] - aY) * nY + (polytopeW[3 * l + 2] - aZ) * nZ > 0.0f) {
+            addFace(i, k, j);
+        } else {
+            addFace(i, j, k);
+        }
+    }
+
+    /**
+     * Add the counter-clockwise face <code>(i, j, k)</code>, whose normal points out of the polytope.
+     */
+    private void addFace(int i, int j, int k) {
+        int f = faceCount++;
+        faceVertices[3 * f] = i;
+        faceVertices[3 * f + 1] = j;
+        faceVertices[3 * f + 2] = k;
+        float aX = polytopeW[3 * i], aY = polytopeW[3 * i + 1], aZ = polytopeW[3 * i + 2];
+        float abX = polytopeW[3 * j] - aX, abY = polytopeW[3 * j + 1] - aY, abZ = polytopeW[3 * j + 2] - aZ;
+        float acX = polytopeW[3 * k] - aX, acY = polytopeW[3 * k + 1] - aY, acZ = polytopeW[3 * k + 2] - aZ;
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        float n2 = nX * nX + nY * nY + nZ * nZ;
+        if (n2 > 0.0f) {
+            float invLength = (float) (1.0 / java.lang.Math.sqrt(n2));
+            nX *= invLength;
+            nY *= invLength;
+            nZ *= invLength;
+            faceDistances[f] = nX * aX + nY * aY + nZ * aZ;
+        } else {
+            // A sliver face can never be the closest one, and is never seen.
+            faceDistances[f] = Float.POSITIVE_INFINITY;
+        }
+        faceNormals[3 * f] = nX;
+        faceNormals[3 * f + 1] = nY;
+        faceNormals[3 * f + 2] = nZ;
+    }
+
+    private void removeFace(int f) {
+        int last = --faceCount;
+        System.arraycopy(faceVertices, 3 * last, faceVertices, 3 * f, 3);
+        System.arraycopy(faceNormals, 3 * last, faceNormals, 3 * f, 3);
+        faceDistances[f] = faceDistances[last];
+    }
+
+    /**
+     * Add the directed edge <code>(i, j)</code> of a removed face to the horizon, unless the opposite edge of a
+     * neighbouring removed face is there, which then is no horizon edge either. Returns the new number of edges.
+     */
+    private int addEdge(int edges, int i, int j) {
+        for (int e = 0; e < edges; e++) {
+            if (horizon[2 * e] == j && horizon[2 * e + 1] == i) {
+                horizon[2 * e] = horizon[2 * (edges - 1)];
+                horizon[2 * e + 1] = horizon[2 * (edges - 1) + 1];
+                return edges - 1;
+            }
+        }
+        horizon[2 * edges] = i;
+        horizon[2 * edges + 1] = j;
+        return edges + 1;
+    }
+
+}
@@ -0,0 +1,197 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2i;
+import org.joml.Vector3i;
+
+/**
+ * Encodes integer coordinates as indices along the Hilbert space-filling curve.
+ * <p>
+ * Unlike the {@link Morton Z-order curve}, consecutive indices of the Hilbert curve always belong to neighbouring cells,
+ * which preserves locality better at the price of a slower encoding. The curve of order <code>bits</code> visits the
+ * <code>2^bits</code> cells along each axis of a square or cube, starting at the origin, so only the lower
+ * <code>bits</code> bits of the coordinates are used. Orders of up to 32 are supported in 2D, whose indices are then
+ * unsigned 64-bit values, and of up to 21 in 3D.
+ * <p>
+ * Reference: <a href="https://doi.org/10.1063/1.1751381">Skilling, J.: Programming the Hilbert curve</a>
+ *
+ * @see Morton
+ */
+public class Hilbert {
+
+    private static int mask(int bits, int maxBits) {
+        if (bits < 1 || bits > maxBits) {
+            throw new IllegalArgumentException("Order must be in [1.." + maxBits + "]: " + bits);
+        }
+        return bits == 32 ? -1 : (1 << bits) - 1;
+    }
+
+    /**
+     * Return the index of the 2D cell <code>(x, y)</code> along the Hilbert curve of the given order.
+     *
+     * @param x
+     *          the x coordinate
+     * @param y
+     *          the y coordinate
+     * @param bits
+     *          the order of the curve, in <code>[1..32]</code>
+     * @return the index along the curve
+     */
+    public static long encode2d(int x, int y, int bits) {
+        int mask = mask(bits, 32);
+        int x0 = x & mask, x1 = y & mask;
+        // Inverse undo of the rotations and reflections, from the coarsest level down.
+        for (int level = bits - 1; level > 0; level--) {
+            int q = 1 << level, p = q - 1;
+            if ((x0 & q) != 0) {
+                x0 ^= p;
+            }
+            if ((x1 & q) != 0) {
+                x0 ^= p;
+            } else {
+                int t = (x0 ^ x1) & p;
+                x0 ^= t;
+                x1 ^= t;
+            }
+        }
+        // Gray encode.
+        x1 ^= x0;
+        int t = 0;
+        for (int level = bits - 1; level > 0; level--) {
+            if ((x1 & 1 << level) != 0) {
+                t ^= (1 << level) - 1;
+            }
+        }
+        return Morton.encode2d(x1 ^ t, x0 ^ t);
+    }
+
+    /**
+     * Decode the given <code>index</code> along the 2D Hilbert curve of the given order and store the cell into
+     * <code>dest</code>.
+     *
+     * @param index
+     *          the index along the curve
+     * @param bits
+     *          the order of the curve, in <code>[1..32]</code>
+     * @param dest
+     *          will hold the cell
+     * @return dest
+     */
+    public static Vector2i decode2d(long index, int bits, Vector2i dest) {
+        int mask = mask(bits, 32);
+        int x0 = Morton.decode2dY(index) & mask, x1 = Morton.decode2dX(index) & mask;
+        // Gray decode.
+        int t = x1 >>> 1;
+        x1 ^= x0;
+        x0 ^= t;
+        // Undo the excess work, from the finest level up.
+        for (int level = 1; level < bits; level++) {
+            int q = 1 << level, p = q - 1;
+            if ((x1 & q) != 0) {
+                x0 ^= p;
+            } else {
+                t = (x0 ^ x1) & p;
+                x0 ^= t;
+                x1 ^= t;
+            }
+            if ((x0 & q) != 0) {
+                x0 ^= p;
+            }
+        }
+        return dest.set(x0, x1);
+    }
+
+    /**
+     * Return the index of the 3D cell <code>(x, y, z)</code> along the Hilbert curve of the given order.
+     *
+     * @param x
+     *          the x coordinate
+     * @param y
+     *          the y coordinate
+     * @param z
+     *          the z coordinate
+     * @param bits
+     *          the order of the curve, in <code>[1..21]</code>
+     * @return the index along the curve
+     */
+    public static long encode3d(int x, int y, int z, int bits) {
+        int mask = mask(bits, 21);
+        int x0 = x & mask, x1 = y & mask, x2 = z & mask;
+        // Inverse undo of the rotations and reflections, from the coarsest level down.
+        for (int level = bits - 1; level > 0; level--) {
+            int q = 1 << level, p = q - 1;
+            if ((x0 & q) != 0) {
+                x0 ^= p;
+            }
+            if ((x1 & q) != 0) {
+                x0 ^= p;
+            } else {
+                int t = (x0 ^ x1) & p;
+                x0 ^= t;
+                x1 ^= t;
+            }
+            if ((x2 & q) != 0) {
+                x0 ^= p;
+            } else {
+                int t = (x0 ^ x2) & p;
+                x0 ^= t;
+                x2 ^= t;
+            }
+        }
+        // Gray encode.
+        x1 ^= x0;
+        x2 ^= x1;
+        int t = 0;
+        for (int level = bits - 1; level > 0; level--) {
+            if ((x2 & 1 << level) != 0) {
+                t ^= (1 << level) - 1;
+            }
+        }
+        return Morton.encode3d(x2 ^ t, x1 ^ t, x0 ^ t);
+    }
+
+    /**
+     * Decode the given <code>index</code> along the 3D Hilbert curve of the given order and store the cell into
+     * <code>dest</code>.
+     *
+     * @param index
+     *          the index along the curve
+     * @param bits
+     *          the order of the curve, in <code>[1..21]</code>
+     * @param dest
+     *          will hold the cell
+     * @return dest
+     */
+    public static Vector3i decode3d(long index, int bits, Vector3i dest) {
+        int mask = mask(bits, 21);
+        int x0 = Morton.decode3dZ(index) & mask, x1 = Morton.decode3dY(index) & mask, x2 = Morton.decode3dX(index) & mask;
+        // Gray decode.
+        int t = x2 >>> 1;
+        x2 ^= x1;
+        x1 ^= x0;
+        x0 ^= t;
+        // Undo the excess work, from the finest level up.
+        for (int level = 1; level < bits; level++) {
+            int q = 1 << level, p = q - 1;
+            if ((x2 & q) != 0) {
+                x0 ^= p;
+            } else {
+                t = (x0 ^ x2) & p;
+                x0 ^= t;
+                x2 ^= t;
+            }
+            if ((x1 & q) != 0) {
+                x0 ^= p;
+            } else {
+                t = (x0 ^ x1) & p;
+                x0 ^= t;
+                x1 ^= t;
+            }
+            if ((x0 & q) != 0) {
+                x0 ^= p;
+            }
+        }
+        return dest.set(x0, x1, x2);
+    }
+}
@@ -0,0 +1,21 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+/**
+ * Represents an operation that accepts two <code>int</code> arguments, such as the coordinates of a cell, and returns no
+ * result. This is the primitive specialization of {@link java.util.function.BiConsumer}.
+ */
+@FunctionalInterface
+public interface IntBiConsumer {
+
+    /**
+     * Perform this operation on the given arguments.
+     *
+     * @param x
+     *          the first argument
+     * @param y
+     *          the second argument
+     */
+    void accept(int x, int y);
+}
@@ -0,0 +1,23 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+/**
+ * Represents an operation that accepts three <code>int</code> arguments, such as the coordinates of a cell, and returns no
+ * result. This is the primitive specialization of a consumer of three values.
+ */
+@FunctionalInterface
+public interface IntTriConsumer {
+
+    /**
+     * Perform this operation on the given arguments.
+     *
+     * @param x
+     *          the first argument
+     * @param y
+     *          the second argument
+     * @param z
+     *          the third argument
+     */
+    void accept(int x, int y, int z);
+}
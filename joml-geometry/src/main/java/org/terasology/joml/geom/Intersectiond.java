@@ -11,6 +11,8 @@
 import org.joml.Vector3dc;
 import org.joml.Vector4d;
 
+import java.nio.DoubleBuffer;
+
 /**
  * Contains intersection and distance tests for some 2D and 3D geometric primitives.
  */
@@ -629,16 +631,17 @@ public static boolean testObOb(
             double b0cX, double b0cY, double b0cZ, double b0uXx, double b0uXy, double b0uXz, double b0uYx, double b0uYy, double b0uYz, double b0uZx, double b0uZy, double b0uZz, double b0hsX, double b0hsY, double b0hsZ,
             double b1cX, double b1cY, double b1cZ, double b1uXx, double b1uXy, double b1uXz, double b1uYx, double b1uYy, double b1uYz, double b1uZx, double b1uZy, double b1uZz, double b1hsX, double b1hsY, double b1hsZ) {
         double ra, rb;
-        // Compute rotation matrix expressing b in a's coordinate frame
-        double rm00 = b0uXx * b1uXx + b0uYx * b1uYx + b0uZx * b1uZx;
-        double rm10 = b0uXx * b1uXy + b0uYx * b1uYy + b0uZx * b1uZy;
-        double rm20 = b0uXx * b1uXz + b0uYx * b1uYz + b0uZx * b1uZz;
-        double rm01 = b0uXy * b1uXx + b0uYy * b1uYx + b0uZy * b1uZx;
-        double rm11 = b0uXy * b1uXy + b0uYy * b1uYy + b0uZy * b1uZy;
-        double rm21 = b0uXy * b1uXz + b0uYy * b1uYz + b0uZy * b1uZz;
-        double rm02 = b0uXz * b1uXx + b0uYz * b1uYx + b0uZz * b1uZx;
-        double rm12 = b0uXz * b1uXy + b0uYz * b1uYy + b0uZz * b1uZy;
-        double rm22 = b0uXz * b1uXz + b0uYz * b1uYz + b0uZz * b1uZz;
+        // Compute rotation matrix expressing b in a's coordinate frame, where rmIJ is the dot product of a's
+        // axis I and b's axis J
+        double rm00 = b0uXx * b1uXx + b0uXy * b1uXy + b0uXz * b1uXz;
+        double rm10 = b0uYx * b1uXx + b0uYy * b1uXy + b0uYz * b1uXz;
+        double rm20 = b0uZx * b1uXx + b0uZy * b1uXy + b0uZz * b1uXz;
+        double rm01 = b0uXx * b1uYx + b0uXy * b1uYy + b0uXz * b1uYz;
+        double rm11 = b0uYx * b1uYx + b0uYy * b1uYy + b0uYz * b1uYz;
+        double rm21 = b0uZx * b1uYx + b0uZy * b1uYy + b0uZz * b1uYz;
+        double rm02 = b0uXx * b1uZx + b0uXy * b1uZy + b0uXz * b1uZz;
+        double rm12 = b0uYx * b1uZx + b0uYy * b1uZy + b0uYz * b1uZz;
+        double rm22 = b0uZx * b1uZx + b0uZy * b1uZy + b0uZz * b1uZz;
         // Compute common subexpressions. Add in an epsilon term to
         // counteract arithmetic errors when two edges are parallel and
         // their cross product is (near) null (see text for details)
@@ -2423,6 +2426,200 @@ public static boolean intersectRayAab(Rayd ray, AABBd aabb, Vector2d result) {
         return intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, result);
     }
 
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX[i], minY[i], minZ[i])</code> and the maximum corner <code>(maxX[i], maxY[i], maxZ[i])</code>,
+     * and store the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     * into <code>tNear[i]</code> and <code>tFar[i]</code>, and whether the ray intersects the box into <code>hit[i]</code>.
+     * <p>
+     * This method is equivalent to calling {@link #intersectRayAab(double, double, double, double, double, double, double, double, double, double, double, double, Vector2d)}
+     * for every box, but the loops over the boxes are free of branches and data-dependent early-outs, which allows the JIT to vectorize them.
+     * The only difference is that a ray whose direction has a zero component and whose origin lies exactly in the plane of a box face
+     * perpendicular to that component is not reported as hitting the box.
+     * <p>
+     * The values stored into <code>tNear[i]</code> and <code>tFar[i]</code> are only meaningful where <code>hit[i]</code> is <code>true</code>.
+     * <p>
+     * Reference: <a href="https://dl.acm.org/citation.cfm?id=1198748">An Efficient and Robust Ray–Box Intersection</a>
+     *
+     * @see #intersectRayAab(double, double, double, double, double, double, DoubleBuffer, DoubleBuffer, DoubleBuffer, DoubleBuffer, DoubleBuffer, DoubleBuffer, int, double[], double[], boolean[], double[])
+     *
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param minX
+     *              the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *              the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *              the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *              the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *              the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *              the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *              the number of boxes to test
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> of the near point of intersection
+     * @param tFar
+     *              will hold the values of the parameter <i>t</i> of the far point of intersection
+     * @param hit
+     *              will hold whether the ray intersects the respective axis-aligned box
+     * @return the number of axis-aligned boxes intersected by the ray
+     */
+    public static int intersectRayAab(double originX, double originY, double originZ, double dirX, double dirY, double dirZ,
+            double[] minX, double[] minY, double[] minZ, double[] maxX, double[] maxY, double[] maxZ, int count,
+            double[] tNear, double[] tFar, boolean[] hit) {
+        double invDirX = 1.0 / dirX, invDirY = 1.0 / dirY, invDirZ = 1.0 / dirZ;
+        // Pick the slab planes by the sign of the direction once, instead of per box.
+        double[] nearX = invDirX >= 0.0 ? minX : maxX, farX = invDirX >= 0.0 ? maxX : minX;
+        double[] nearY = invDirY >= 0.0 ? minY : maxY, farY = invDirY >= 0.0 ? maxY : minY;
+        double[] nearZ = invDirZ >= 0.0 ? minZ : maxZ, farZ = invDirZ >= 0.0 ? maxZ : minZ;
+        BatchKernels.rayAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                nearX, nearY, nearZ, farX, farY, farZ, 0, count, tNear, tFar);
+        return BatchKernels.rayHits(0, count, tNear, tFar, hit);
+    }
+
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX.get(minX.position() + i), ...)</code> and the maximum corner <code>(maxX.get(maxX.position() + i), ...)</code>,
+     * and store the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     * into <code>tNear[i]</code> and <code>tFar[i]</code>, and whether the ray intersects the box into <code>hit[i]</code>.
+     * <p>
+     * The positions of the buffers are not changed. The bounds are read into <code>tNear</code>, <code>tFar</code> and the
+     * caller-supplied <code>scratch</code> array, so that repeated calls do not allocate any arrays.
+     * <p>
+     * This method is equivalent to calling {@link #intersectRayAab(double, double, double, double, double, double, double, double, double, double, double, double, Vector2d)}
+     * for every box, but the loops over the boxes are free of branches and data-dependent early-outs, which allows the JIT to vectorize them.
+     * The only difference is that a ray whose direction has a zero component and whose origin lies exactly in the plane of a box face
+     * perpendicular to that component is not reported as hitting the box.
+     * <p>
+     * The values stored into <code>tNear[i]</code> and <code>tFar[i]</code> are only meaningful where <code>hit[i]</code> is <code>true</code>.
+     * <p>
+     * Reference: <a href="https://dl.acm.org/citation.cfm?id=1198748">An Efficient and Robust Ray–Box Intersection</a>
+     *
+     * @see #intersectRayAab(double, double, double, double, double, double, double[], double[], double[], double[], double[], double[], int, double[], double[], boolean[])
+     *
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param minX
+     *              the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *              the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *              the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *              the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *              the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *              the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *              the number of boxes to test
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> of the near point of intersection
+     * @param tFar
+     *              will hold the values of the parameter <i>t</i> of the far point of intersection
+     * @param hit
+     *              will hold whether the ray intersects the respective axis-aligned box
+     * @param scratch
+     *              an array of at least <code>count</code> elements to read the bounds into, whose contents are overwritten
+     * @return the number of axis-aligned boxes intersected by the ray
+     */
+    public static int intersectRayAab(double originX, double originY, double originZ, double dirX, double dirY, double dirZ,
+            DoubleBuffer minX, DoubleBuffer minY, DoubleBuffer minZ, DoubleBuffer maxX, DoubleBuffer maxY, DoubleBuffer maxZ, int count,
+            double[] tNear, double[] tFar, boolean[] hit, double[] scratch) {
+        double invDirX = 1.0 / dirX, invDirY = 1.0 / dirY, invDirZ = 1.0 / dirZ;
+        // Duplicate the buffers to read them with bulk gets without changing their positions. The values are read
+        // into the result arrays and the scratch array, so that the loops below run over arrays, which the JIT vectorizes.
+        DoubleBuffer nearX = (invDirX >= 0.0 ? minX : maxX).duplicate(), farX = (invDirX >= 0.0 ? maxX : minX).duplicate();
+        DoubleBuffer nearY = (invDirY >= 0.0 ? minY : maxY).duplicate(), farY = (invDirY >= 0.0 ? maxY : minY).duplicate();
+        DoubleBuffer nearZ = (invDirZ >= 0.0 ? minZ : maxZ).duplicate(), farZ = (invDirZ >= 0.0 ? maxZ : minZ).duplicate();
+        nearX.get(tNear, 0, count);
+        for (int i = 0; i < count; i++) {
+            tNear[i] = (tNear[i] - originX) * invDirX;
+        }
+        nearY.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tNear[i] = java.lang.Math.max(tNear[i], (scratch[i] - originY) * invDirY);
+        }
+        nearZ.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tNear[i] = java.lang.Math.max(tNear[i], (scratch[i] - originZ) * invDirZ);
+        }
+        farX.get(tFar, 0, count);
+        for (int i = 0; i < count; i++) {
+            tFar[i] = (tFar[i] - originX) * invDirX;
+        }
+        farY.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tFar[i] = java.lang.Math.min(tFar[i], (scratch[i] - originY) * invDirY);
+        }
+        farZ.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tFar[i] = java.lang.Math.min(tFar[i], (scratch[i] - originZ) * invDirZ);
+        }
+        return BatchKernels.rayHits(0, count, tNear, tFar, hit);
+    }
+
+    /**
+     * Test whether the given ray intersects each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds
+     * and store the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     * into <code>tNear[i]</code> and <code>tFar[i]</code>, and whether the ray intersects the box into <code>hit[i]</code>.
+     *
+     * @see #intersectRayAab(double, double, double, double, double, double, double[], double[], double[], double[], double[], double[], int, double[], double[], boolean[])
+     *
+     * @param ray
+     *              the ray
+     * @param minX
+     *              the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *              the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *              the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *              the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *              the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *              the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *              the number of boxes to test
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> of the near point of intersection
+     * @param tFar
+     *              will hold the values of the parameter <i>t</i> of the far point of intersection
+     * @param hit
+     *              will hold whether the ray intersects the respective axis-aligned box
+     * @return the number of axis-aligned boxes intersected by the ray
+     */
+    public static int intersectRayAab(Rayd ray, double[] minX, double[] minY, double[] minZ, double[] maxX, double[] maxY, double[] maxZ, int count,
+            double[] tNear, double[] tFar, boolean[] hit) {
+        return intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, minX, minY, minZ, maxX, maxY, maxZ, count, tNear, tFar, hit);
+    }
+
     /**
      * Determine whether the undirected line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
      * intersects the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>,
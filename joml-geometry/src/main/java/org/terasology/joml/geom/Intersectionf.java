@@ -11,6 +11,9 @@
 import org.joml.Vector3fc;
 import org.joml.Vector4f;
 
+import java.nio.FloatBuffer;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Contains intersection and distance tests for some 2D and 3D geometric primitives.
  */
@@ -460,6 +463,52 @@ public static boolean testAabPlane(Vector3fc min, Vector3fc max, float a, float
         return testAabPlane(min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), a, b, c, d);
     }
 
+    /**
+     * Test whether each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX[i], minY[i], minZ[i])</code> and the maximum corner <code>(maxX[i], maxY[i], maxZ[i])</code>,
+     * intersects the plane with the general equation <i>a*x + b*y + c*z + d = 0</i>, and store the results into <code>hit[i]</code>.
+     * <p>
+     * This method gives the same results as calling {@link #testAabPlane(float, float, float, float, float, float, float, float, float, float)}
+     * for every box, but the loop over the boxes is free of branches. On Java 17 and later it is vectorized explicitly with the
+     * Vector API if the JVM is started with <code>--add-modules jdk.incubator.vector</code>.
+     * <p>
+     * Reference: <a href="http://www.lighthouse3d.com/tutorials/view-frustum-culling/geometric-approach-testing-boxes-ii/">http://www.lighthouse3d.com</a> ("Geometric Approach - Testing Boxes II")
+     *
+     * @param minX
+     *          the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *          the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *          the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *          the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *          the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *          the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param a
+     *          the x factor in the plane equation
+     * @param b
+     *          the y factor in the plane equation
+     * @param c
+     *          the z factor in the plane equation
+     * @param d
+     *          the constant in the plane equation
+     * @param hit
+     *          will hold whether the respective axis-aligned box intersects the plane
+     * @return the number of axis-aligned boxes intersecting the plane
+     */
+    public static int testAabPlane(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count,
+            float a, float b, float c, float d, boolean[] hit) {
+        // Pick the corners nearest to and farthest along the normal by the sign of its components once, instead of per box.
+        float[] nX = a > 0.0f ? minX : maxX, pX = a > 0.0f ? maxX : minX;
+        float[] nY = b > 0.0f ? minY : maxY, pY = b > 0.0f ? maxY : minY;
+        float[] nZ = c > 0.0f ? minZ : maxZ, pZ = c > 0.0f ? maxZ : minZ;
+        return BatchKernels.aabPlane(nX, nY, nZ, pX, pY, pZ, count, a, b, c, d, hit);
+    }
+
     /**
      * Test whether the axis-aligned box with minimum corner <code>(minXA, minYA, minZA)</code> and maximum corner <code>(maxXA, maxYA, maxZA)</code>
      * intersects the axis-aligned box with minimum corner <code>(minXB, minYB, minZB)</code> and maximum corner <code>(maxXB, maxYB, maxZB)</code>.
@@ -530,6 +579,104 @@ public static boolean testAabAab(AABBf aabb1, AABBf aabb2) {
         return testAabAab(aabb1.minX, aabb1.minY, aabb1.minZ, aabb1.maxX, aabb1.maxY, aabb1.maxZ, aabb2.minX, aabb2.minY, aabb2.minZ, aabb2.maxX, aabb2.maxY, aabb2.maxZ);
     }
 
+    /**
+     * Test whether each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX[i], minY[i], minZ[i])</code> and the maximum corner <code>(maxX[i], maxY[i], maxZ[i])</code>,
+     * intersects the axis-aligned box with minimum corner <code>(qMinX, qMinY, qMinZ)</code> and maximum corner <code>(qMaxX, qMaxY, qMaxZ)</code>,
+     * and store the results into <code>hit[i]</code>.
+     * <p>
+     * This method gives the same results as calling {@link #testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)}
+     * for every box, but the loop over the boxes is free of branches. On Java 17 and later it is vectorized explicitly with the
+     * Vector API if the JVM is started with <code>--add-modules jdk.incubator.vector</code>.
+     *
+     * @param minX
+     *          the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *          the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *          the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *          the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *          the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *          the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param qMinX
+     *          the x coordinate of the minimum corner of the axis-aligned box to test against
+     * @param qMinY
+     *          the y coordinate of the minimum corner of the axis-aligned box to test against
+     * @param qMinZ
+     *          the z coordinate of the minimum corner of the axis-aligned box to test against
+     * @param qMaxX
+     *          the x coordinate of the maximum corner of the axis-aligned box to test against
+     * @param qMaxY
+     *          the y coordinate of the maximum corner of the axis-aligned box to test against
+     * @param qMaxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box to test against
+     * @param hit
+     *          will hold whether the respective axis-aligned box intersects the one to test against
+     * @return the number of intersecting axis-aligned boxes
+     */
+    public static int testAabAab(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count,
+            float qMinX, float qMinY, float qMinZ, float qMaxX, float qMaxY, float qMaxZ, boolean[] hit) {
+        return BatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, 0, count, qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ, hit, 0);
+    }
+
+    /**
+     * Test each of the first <code>queryCount</code> axis-aligned query boxes, where query <code>q</code> has the minimum corner
+     * <code>(qMinX[q], qMinY[q], qMinZ[q])</code> and the maximum corner <code>(qMaxX[q], qMaxY[q], qMaxZ[q])</code>, against each of
+     * the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, in parallel.
+     * <p>
+     * The results are stored as one row of <code>(count + 63) / 64</code> words per query, where box <code>i</code> was hit by
+     * query <code>q</code> iff bit <code>i % 64</code> of <code>hits[q * ((count + 63) / 64) + i / 64]</code> is set. The
+     * queries are split among the tasks of the given <code>pool</code>, each of which tests its queries against a
+     * cache-sized tile of boxes at a time; the results are the same as those of the single-query batch test.
+     *
+     * @see #testAabAab(float[], float[], float[], float[], float[], float[], int, float, float, float, float, float, float, boolean[])
+     *
+     * @param pool
+     *          the pool to run the tests on
+     * @param minX
+     *          the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *          the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *          the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *          the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *          the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *          the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param qMinX
+     *          the x coordinates of the minimum corners of the query boxes
+     * @param qMinY
+     *          the y coordinates of the minimum corners of the query boxes
+     * @param qMinZ
+     *          the z coordinates of the minimum corners of the query boxes
+     * @param qMaxX
+     *          the x coordinates of the maximum corners of the query boxes
+     * @param qMaxY
+     *          the y coordinates of the maximum corners of the query boxes
+     * @param qMaxZ
+     *          the z coordinates of the maximum corners of the query boxes
+     * @param queryCount
+     *          the number of query boxes
+     * @param hits
+     *          will hold the bits of the results, at least <code>queryCount * ((count + 63) / 64)</code> words
+     * @return the total number of intersecting pairs
+     */
+    public static long testAabAab(ForkJoinPool pool, float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ,
+            int count, float[] qMinX, float[] qMinY, float[] qMinZ, float[] qMaxX, float[] qMaxY, float[] qMaxZ, int queryCount,
+            long[] hits) {
+        return ParallelBatchKernels.aabAab(pool, minX, minY, minZ, maxX, maxY, maxZ, count,
+                qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ, queryCount, hits);
+    }
+
     /**
      * Test whether two oriented boxes given via their center position, orientation and half-size, intersect.
      * <p>
@@ -644,16 +791,17 @@ public static boolean testObOb(
             float b0cX, float b0cY, float b0cZ, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
             float b1cX, float b1cY, float b1cZ, float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
         float ra, rb;
-        // Compute rotation matrix expressing b in a's coordinate frame
-        float rm00 = b0uXx * b1uXx + b0uYx * b1uYx + b0uZx * b1uZx;
-        float rm10 = b0uXx * b1uXy + b0uYx * b1uYy + b0uZx * b1uZy;
-        float rm20 = b0uXx * b1uXz + b0uYx * b1uYz + b0uZx * b1uZz;
-        float rm01 = b0uXy * b1uXx + b0uYy * b1uYx + b0uZy * b1uZx;
-        float rm11 = b0uXy * b1uXy + b0uYy * b1uYy + b0uZy * b1uZy;
-        float rm21 = b0uXy * b1uXz + b0uYy * b1uYz + b0uZy * b1uZz;
-        float rm02 = b0uXz * b1uXx + b0uYz * b1uYx + b0uZz * b1uZx;
-        float rm12 = b0uXz * b1uXy + b0uYz * b1uYy + b0uZz * b1uZy;
-        float rm22 = b0uXz * b1uXz + b0uYz * b1uYz + b0uZz * b1uZz;
+        // Compute rotation matrix expressing b in a's coordinate frame, where rmIJ is the dot product of a's
+        // axis I and b's axis J
+        float rm00 = b0uXx * b1uXx + b0uXy * b1uXy + b0uXz * b1uXz;
+        float rm10 = b0uYx * b1uXx + b0uYy * b1uXy + b0uYz * b1uXz;
+        float rm20 = b0uZx * b1uXx + b0uZy * b1uXy + b0uZz * b1uXz;
+        float rm01 = b0uXx * b1uYx + b0uXy * b1uYy + b0uXz * b1uYz;
+        float rm11 = b0uYx * b1uYx + b0uYy * b1uYy + b0uYz * b1uYz;
+        float rm21 = b0uZx * b1uYx + b0uZy * b1uYy + b0uZz * b1uYz;
+        float rm02 = b0uXx * b1uZx + b0uXy * b1uZy + b0uXz * b1uZz;
+        float rm12 = b0uYx * b1uZx + b0uYy * b1uZy + b0uYz * b1uZz;
+        float rm22 = b0uZx * b1uZx + b0uZy * b1uZy + b0uZz * b1uZz;
         // Compute common subexpressions. Add in an epsilon term to
         // counteract arithmetic errors when two edges are parallel and
         // their cross product is (near) null (see text for details)
@@ -1260,6 +1408,98 @@ public static boolean testAabSphere(AABBi aabb, Spheref sphere) {
         return testAabSphere(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, sphere.x, sphere.y, sphere.z, sphere.r*sphere.r);
     }
 
+    /**
+     * Test whether each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX[i], minY[i], minZ[i])</code> and the maximum corner <code>(maxX[i], maxY[i], maxZ[i])</code>,
+     * intersects the sphere with the given center <code>(centerX, centerY, centerZ)</code> and square radius <code>radiusSquared</code>,
+     * and store the results into <code>hit[i]</code>.
+     * <p>
+     * This method gives the same results as calling {@link #testAabSphere(float, float, float, float, float, float, float, float, float, float)}
+     * for every box, but the loop over the boxes is free of branches. On Java 17 and later it is vectorized explicitly with the
+     * Vector API if the JVM is started with <code>--add-modules jdk.incubator.vector</code>.
+     * <p>
+     * Reference: <a href="http://stackoverflow.com/questions/4578967/cube-sphere-intersection-test#answer-4579069">http://stackoverflow.com</a>
+     *
+     * @param minX
+     *          the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *          the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *          the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *          the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *          the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *          the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param centerX
+     *          the x coordinate of the sphere's center
+     * @param centerY
+     *          the y coordinate of the sphere's center
+     * @param centerZ
+     *          the z coordinate of the sphere's center
+     * @param radiusSquared
+     *          the square of the sphere's radius
+     * @param hit
+     *          will hold whether the respective axis-aligned box intersects the sphere
+     * @return the number of axis-aligned boxes intersecting the sphere
+     */
+    public static int testAabSphere(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count,
+            float centerX, float centerY, float centerZ, float radiusSquared, boolean[] hit) {
+        return BatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, 0, count,
+                centerX, centerY, centerZ, radiusSquared, hit, 0);
+    }
+
+    /**
+     * Test each of the first <code>sphereCount</code> spheres, where sphere <code>q</code> has the center
+     * <code>(centerX[q], centerY[q], centerZ[q])</code> and the square radius <code>radiusSquared[q]</code>, against each of the
+     * first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, in parallel.
+     * <p>
+     * The results are stored as one row of <code>(count + 63) / 64</code> words per query, where box <code>i</code> was hit by
+     * query <code>q</code> iff bit <code>i % 64</code> of <code>hits[q * ((count + 63) / 64) + i / 64]</code> is set. The
+     * queries are split among the tasks of the given <code>pool</code>, each of which tests its queries against a
+     * cache-sized tile of boxes at a time; the results are the same as those of the single-query batch test.
+     *
+     * @see #testAabSphere(float[], float[], float[], float[], float[], float[], int, float, float, float, float, boolean[])
+     *
+     * @param pool
+     *          the pool to run the tests on
+     * @param minX
+     *          the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *          the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *          the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *          the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *          the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *          the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param centerX
+     *          the x coordinates of the spheres' centers
+     * @param centerY
+     *          the y coordinates of the spheres' centers
+     * @param centerZ
+     *          the z coordinates of the spheres' centers
+     * @param radiusSquared
+     *          the squares of the spheres' radii
+     * @param sphereCount
+     *          the number of spheres
+     * @param hits
+     *          will hold the bits of the results, at least <code>sphereCount * ((count + 63) / 64)</code> words
+     * @return the total number of intersecting pairs
+     */
+    public static long testAabSphere(ForkJoinPool pool, float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ,
+            int count, float[] centerX, float[] centerY, float[] centerZ, float[] radiusSquared, int sphereCount, long[] hits) {
+        return ParallelBatchKernels.aabSphere(pool, minX, minY, minZ, maxX, maxY, maxZ, count,
+                centerX, centerY, centerZ, radiusSquared, sphereCount, hits);
+    }
+
     /**
      * Find the point on the given plane which is closest to the specified point <code>(pX, pY, pZ)</code> and store the result in <code>result</code>.
      *
@@ -2150,6 +2390,59 @@ public static boolean intersectRaySphere(Rayf ray, Spheref sphere, Vector2f resu
         return intersectRaySphere(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, sphere.x, sphere.y, sphere.z, sphere.r*sphere.r, result);
     }
 
+    /**
+     * Find for each of the first <code>rayCount</code> rays, where ray <code>q</code> has the origin
+     * <code>(originX[q], originY[q], originZ[q])</code> and the normalized direction <code>(dirX[q], dirY[q], dirZ[q])</code>, the
+     * intersected sphere with the smallest near value of the parameter <i>t</i> among the first <code>count</code> spheres, in
+     * parallel, and store its index into <code>nearest[q]</code>, or <code>-1</code> if the ray misses all spheres, and the values
+     * of <i>t</i> of the near and far point of intersection into <code>tNear[q]</code> and <code>tFar[q]</code>.
+     * <p>
+     * The rays are split among the tasks of the given <code>pool</code>, each of which tests its rays against a cache-sized tile
+     * of spheres at a time. Each test gives the same result as
+     * {@link #intersectRaySphere(float, float, float, float, float, float, float, float, float, float, Vector2f)}.
+     *
+     * @param pool
+     *          the pool to run the tests on
+     * @param originX
+     *          the x coordinates of the rays' origins
+     * @param originY
+     *          the y coordinates of the rays' origins
+     * @param originZ
+     *          the z coordinates of the rays' origins
+     * @param dirX
+     *          the x coordinates of the rays' directions
+     * @param dirY
+     *          the y coordinates of the rays' directions
+     * @param dirZ
+     *          the z coordinates of the rays' directions
+     * @param rayCount
+     *          the number of rays
+     * @param centerX
+     *          the x coordinates of the spheres' centers
+     * @param centerY
+     *          the y coordinates of the spheres' centers
+     * @param centerZ
+     *          the z coordinates of the spheres' centers
+     * @param radiusSquared
+     *          the squares of the spheres' radii
+     * @param count
+     *          the number of spheres
+     * @param nearest
+     *          will hold the index of the nearest intersected sphere of each ray, or <code>-1</code>
+     * @param tNear
+     *          will hold the values of the parameter <i>t</i> of the near point of intersection, where <code>nearest[q] &gt;= 0</code>
+     * @param tFar
+     *          will hold the values of the parameter <i>t</i> of the far point of intersection, where <code>nearest[q] &gt;= 0</code>
+     * @return the number of rays intersecting any sphere
+     */
+    public static int intersectRaySphere(ForkJoinPool pool, float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] centerX, float[] centerY, float[] centerZ, float[] radiusSquared, int count,
+            int[] nearest, float[] tNear, float[] tFar) {
+        return ParallelBatchKernels.raySphere(pool, originX, originY, originZ, dirX, dirY, dirZ, rayCount,
+                centerX, centerY, centerZ, radiusSquared, count, nearest, tNear, tFar);
+    }
+
     /**
      * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and normalized direction <code>(dirX, dirY, dirZ)</code>
      * intersects the given sphere with center <code>(centerX, centerY, centerZ)</code> and square radius <code>radiusSquared</code>.
@@ -2480,6 +2773,266 @@ public static boolean intersectRayAab(Rayf ray, AABBf aabb, Vector2f result) {
     public static boolean intersectRayAab(Rayf ray, AABBi aabb, Vector2f result) {
         return intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, result);
     }
+
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX[i], minY[i], minZ[i])</code> and the maximum corner <code>(maxX[i], maxY[i], maxZ[i])</code>,
+     * and store the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     * into <code>tNear[i]</code> and <code>tFar[i]</code>, and whether the ray intersects the box into <code>hit[i]</code>.
+     * <p>
+     * This method is equivalent to calling {@link #intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)}
+     * for every box, but the loops over the boxes are free of branches and data-dependent early-outs, which allows the JIT to vectorize them.
+     * The only difference is that a ray whose direction has a zero component and whose origin lies exactly in the plane of a box face
+     * perpendicular to that component is not reported as hitting the box.
+     * <p>
+     * On Java 17 and later the loops are vectorized explicitly with the Vector API instead, if the JVM is started with
+     * <code>--add-modules jdk.incubator.vector</code>. This gives the same results.
+     * <p>
+     * The values stored into <code>tNear[i]</code> and <code>tFar[i]</code> are only meaningful where <code>hit[i]</code> is <code>true</code>.
+     * <p>
+     * Reference: <a href="https://dl.acm.org/citation.cfm?id=1198748">An Efficient and Robust Ray–Box Intersection</a>
+     *
+     * @see #intersectRayAab(float, float, float, float, float, float, FloatBuffer, FloatBuffer, FloatBuffer, FloatBuffer, FloatBuffer, FloatBuffer, int, float[], float[], boolean[], float[])
+     *
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param minX
+     *              the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *              the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *              the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *              the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *              the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *              the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *              the number of boxes to test
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> of the near point of intersection
+     * @param tFar
+     *              will hold the values of the parameter <i>t</i> of the far point of intersection
+     * @param hit
+     *              will hold whether the ray intersects the respective axis-aligned box
+     * @return the number of axis-aligned boxes intersected by the ray
+     */
+    public static int intersectRayAab(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count,
+            float[] tNear, float[] tFar, boolean[] hit) {
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        // Pick the slab planes by the sign of the direction once, instead of per box.
+        float[] nearX = invDirX >= 0.0f ? minX : maxX, farX = invDirX >= 0.0f ? maxX : minX;
+        float[] nearY = invDirY >= 0.0f ? minY : maxY, farY = invDirY >= 0.0f ? maxY : minY;
+        float[] nearZ = invDirZ >= 0.0f ? minZ : maxZ, farZ = invDirZ >= 0.0f ? maxZ : minZ;
+        BatchKernels.rayAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                nearX, nearY, nearZ, farX, farY, farZ, 0, count, tNear, tFar, 0);
+        return BatchKernels.rayHits(0, count, tNear, tFar, hit);
+    }
+
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, where box <code>i</code>
+     * has the minimum corner <code>(minX.get(minX.position() + i), ...)</code> and the maximum corner <code>(maxX.get(maxX.position() + i), ...)</code>,
+     * and store the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     * into <code>tNear[i]</code> and <code>tFar[i]</code>, and whether the ray intersects the box into <code>hit[i]</code>.
+     * <p>
+     * The positions of the buffers are not changed. The bounds are read into <code>tNear</code>, <code>tFar</code> and the
+     * caller-supplied <code>scratch</code> array, so that repeated calls do not allocate any arrays.
+     * <p>
+     * This method is equivalent to calling {@link #intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)}
+     * for every box, but the loops over the boxes are free of branches and data-dependent early-outs, which allows the JIT to vectorize them.
+     * The only difference is that a ray whose direction has a zero component and whose origin lies exactly in the plane of a box face
+     * perpendicular to that component is not reported as hitting the box.
+     * <p>
+     * On Java 17 and later the loops are vectorized explicitly with the Vector API instead, if the JVM is started with
+     * <code>--add-modules jdk.incubator.vector</code>. This gives the same results.
+     * <p>
+     * The values stored into <code>tNear[i]</code> and <code>tFar[i]</code> are only meaningful where <code>hit[i]</code> is <code>true</code>.
+     * <p>
+     * Reference: <a href="https://dl.acm.org/citation.cfm?id=1198748">An Efficient and Robust Ray–Box Intersection</a>
+     *
+     * @see #intersectRayAab(float, float, float, float, float, float, float[], float[], float[], float[], float[], float[], int, float[], float[], boolean[])
+     *
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param minX
+     *              the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *              the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *              the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *              the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *              the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *              the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *              the number of boxes to test
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> of the near point of intersection
+     * @param tFar
+     *              will hold the values of the parameter <i>t</i> of the far point of intersection
+     * @param hit
+     *              will hold whether the ray intersects the respective axis-aligned box
+     * @param scratch
+     *              an array of at least <code>count</code> elements to read the bounds into, whose contents are overwritten
+     * @return the number of axis-aligned boxes intersected by the ray
+     */
+    public static int intersectRayAab(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            FloatBuffer minX, FloatBuffer minY, FloatBuffer minZ, FloatBuffer maxX, FloatBuffer maxY, FloatBuffer maxZ, int count,
+            float[] tNear, float[] tFar, boolean[] hit, float[] scratch) {
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        // Duplicate the buffers to read them with bulk gets without changing their positions. The values are read
+        // into the result arrays and the scratch array, so that the loops below run over arrays, which the JIT vectorizes.
+        FloatBuffer nearX = (invDirX >= 0.0f ? minX : maxX).duplicate(), farX = (invDirX >= 0.0f ? maxX : minX).duplicate();
+        FloatBuffer nearY = (invDirY >= 0.0f ? minY : maxY).duplicate(), farY = (invDirY >= 0.0f ? maxY : minY).duplicate();
+        FloatBuffer nearZ = (invDirZ >= 0.0f ? minZ : maxZ).duplicate(), farZ = (invDirZ >= 0.0f ? maxZ : minZ).duplicate();
+        nearX.get(tNear, 0, count);
+        for (int i = 0; i < count; i++) {
+            tNear[i] = (tNear[i] - originX) * invDirX;
+        }
+        nearY.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tNear[i] = java.lang.Math.max(tNear[i], (scratch[i] - originY) * invDirY);
+        }
+        nearZ.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tNear[i] = java.lang.Math.max(tNear[i], (scratch[i] - originZ) * invDirZ);
+        }
+        farX.get(tFar, 0, count);
+        for (int i = 0; i < count; i++) {
+            tFar[i] = (tFar[i] - originX) * invDirX;
+        }
+        farY.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tFar[i] = java.lang.Math.min(tFar[i], (scratch[i] - originY) * invDirY);
+        }
+        farZ.get(scratch, 0, count);
+        for (int i = 0; i < count; i++) {
+            tFar[i] = java.lang.Math.min(tFar[i], (scratch[i] - originZ) * invDirZ);
+        }
+        return BatchKernels.rayHits(0, count, tNear, tFar, hit);
+    }
+
+    /**
+     * Test whether the given ray intersects each of the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds
+     * and store the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection
+     * into <code>tNear[i]</code> and <code>tFar[i]</code>, and whether the ray intersects the box into <code>hit[i]</code>.
+     *
+     * @see #intersectRayAab(float, float, float, float, float, float, float[], float[], float[], float[], float[], float[], int, float[], float[], boolean[])
+     *
+     * @param ray
+     *              the ray
+     * @param minX
+     *              the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *              the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *              the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *              the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *              the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *              the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *              the number of boxes to test
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> of the near point of intersection
+     * @param tFar
+     *              will hold the values of the parameter <i>t</i> of the far point of intersection
+     * @param hit
+     *              will hold whether the ray intersects the respective axis-aligned box
+     * @return the number of axis-aligned boxes intersected by the ray
+     */
+    public static int intersectRayAab(Rayf ray, float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count,
+            float[] tNear, float[] tFar, boolean[] hit) {
+        return intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, minX, minY, minZ, maxX, maxY, maxZ, count, tNear, tFar, hit);
+    }
+
+    /**
+     * Test the packet of the first <code>lanes</code> rays of the given structure-of-arrays origins and reciprocal
+     * directions, where ray <code>i</code> has the origin <code>(originX[i], originY[i], originZ[i])</code> and the direction
+     * <code>(1 / invDirX[i], 1 / invDirY[i], 1 / invDirZ[i])</code>, against the single axis-aligned box given as its minimum
+     * corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>, and store the values of the
+     * parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> where each ray enters the box into <code>tNear[i]</code>.
+     * <p>
+     * A ray hits the box if it passes through it for some <i>t</i> in <code>[0..maxT[i]]</code>, and the entry point is
+     * clamped to <code>0</code> for rays starting inside the box. The directions are passed as reciprocals, since a packet is
+     * usually tested against many boxes, e.g. when traversing a bounding volume hierarchy.
+     * <p>
+     * The loop over the lanes is free of branches, so that all rays of the packet are tested together, and on Java 17 and later
+     * it is vectorized explicitly with the Vector API if the JVM is started with <code>--add-modules jdk.incubator.vector</code>. As for
+     * {@link #intersectRayAab(float, float, float, float, float, float, float[], float[], float[], float[], float[], float[], int, float[], float[], boolean[])},
+     * a ray whose direction has a zero component and whose origin lies exactly in the plane of a box face perpendicular to
+     * that component is not reported as hitting the box.
+     *
+     * @see RayPacketf
+     *
+     * @param originX
+     *              the x coordinates of the rays' origins
+     * @param originY
+     *              the y coordinates of the rays' origins
+     * @param originZ
+     *              the z coordinates of the rays' origins
+     * @param invDirX
+     *              the reciprocals of the x coordinates of the rays' directions
+     * @param invDirY
+     *              the reciprocals of the y coordinates of the rays' directions
+     * @param invDirZ
+     *              the reciprocals of the z coordinates of the rays' directions
+     * @param maxT
+     *              the maximum values of the parameter <i>t</i>
+     * @param lanes
+     *              the number of rays in the packet, at most <code>32</code>
+     * @param minX
+     *              the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *              the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *              the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *              the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *              the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *              the z coordinate of the maximum corner of the axis-aligned box
+     * @param tNear
+     *              will hold the values of the parameter <i>t</i> where the rays enter the box, which are only meaningful
+     *              for the rays hitting the box
+     * @return the mask of the rays hitting the box, with bit <code>1 &lt;&lt; i</code> set iff ray <code>i</code> hits it
+     */
+    public static int intersectRayPacketAab(float[] originX, float[] originY, float[] originZ,
+            float[] invDirX, float[] invDirY, float[] invDirZ, float[] maxT, int lanes,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float[] tNear) {
+        return BatchKernels.rayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ, maxT, lanes,
+                minX, minY, minZ, maxX, maxY, maxZ, tNear);
+    }
+
     /**
      * Determine whether the undirected line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
      * intersects the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>,
@@ -2813,6 +3366,58 @@ public static boolean testRayAab(Rayf ray, AABBi aabb) {
         return testRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ);
     }
 
+    /**
+     * Test each of the first <code>rayCount</code> rays, where ray <code>q</code> has the origin
+     * <code>(originX[q], originY[q], originZ[q])</code> and the direction <code>(dirX[q], dirY[q], dirZ[q])</code>, against each of
+     * the first <code>count</code> axis-aligned boxes of the given structure-of-arrays bounds, in parallel.
+     * <p>
+     * The results are stored as one row of <code>(count + 63) / 64</code> words per query, where box <code>i</code> was hit by
+     * query <code>q</code> iff bit <code>i % 64</code> of <code>hits[q * ((count + 63) / 64) + i / 64]</code> is set. The
+     * queries are split among the tasks of the given <code>pool</code>, each of which tests its queries against a
+     * cache-sized tile of boxes at a time; the results are the same as those of the single-query batch test.
+     *
+     * @see #intersectRayAab(float, float, float, float, float, float, float[], float[], float[], float[], float[], float[], int, float[], float[], boolean[])
+     *
+     * @param pool
+     *          the pool to run the tests on
+     * @param originX
+     *          the x coordinates of the rays' origins
+     * @param originY
+     *          the y coordinates of the rays' origins
+     * @param originZ
+     *          the z coordinates of the rays' origins
+     * @param dirX
+     *          the x coordinates of the rays' directions
+     * @param dirY
+     *          the y coordinates of the rays' directions
+     * @param dirZ
+     *          the z coordinates of the rays' directions
+     * @param rayCount
+     *          the number of rays
+     * @param minX
+     *          the x coordinates of the minimum corners of the axis-aligned boxes
+     * @param minY
+     *          the y coordinates of the minimum corners of the axis-aligned boxes
+     * @param minZ
+     *          the z coordinates of the minimum corners of the axis-aligned boxes
+     * @param maxX
+     *          the x coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxY
+     *          the y coordinates of the maximum corners of the axis-aligned boxes
+     * @param maxZ
+     *          the z coordinates of the maximum corners of the axis-aligned boxes
+     * @param count
+     *          the number of boxes to test
+     * @param hits
+     *          will hold the bits of the results, at least <code>rayCount * ((count + 63) / 64)</code> words
+     * @return the total number of intersecting pairs
+     */
+    public static long testRayAab(ForkJoinPool pool, float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count, long[] hits) {
+        return ParallelBatchKernels.rayAab(pool, originX, originY, originZ, dirX, dirY, dirZ, rayCount,
+                minX, minY, minZ, maxX, maxY, maxZ, count, hits);
+    }
 
     /**
      * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
@@ -3252,6 +3857,80 @@ public static float intersectRayTriangle(Vector3fc origin, Vector3fc dir, Vector
         return intersectRayTriangle(origin.x(), origin.y(), origin.z(), dir.x(), dir.y(), dir.z(), v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z(), epsilon);
     }
 
+    /**
+     * Test the packet of the first <code>lanes</code> rays of the given structure-of-arrays origins and directions, where
+     * ray <code>i</code> has the origin <code>(originX[i], originY[i], originZ[i])</code> and the direction
+     * <code>(dirX[i], dirY[i], dirZ[i])</code>, against the single triangle consisting of the three vertices
+     * <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>, and store the values of the
+     * parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the points of intersection into <code>t[i]</code>.
+     * <p>
+     * A ray hits the triangle if the point of intersection has a <i>t</i> in <code>[0..maxT[i]]</code>. For each ray this gives
+     * the same <i>t</i> as {@link #intersectRayTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)},
+     * but the edges of the triangle are computed once for all rays, and the loop over the lanes is free of branches.
+     * On Java 17 and later it is vectorized explicitly with the Vector API if the JVM is started with
+     * <code>--add-modules jdk.incubator.vector</code>.
+     * <p>
+     * This test does not take into account the winding order of the triangle, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * <p>
+     * Reference: <a href="http://www.graphics.cornell.edu/pubs/1997/MT97.pdf">Fast, Minimum Storage Ray/Triangle Intersection</a>
+     *
+     * @see RayPacketf
+     *
+     * @param originX
+     *              the x coordinates of the rays' origins
+     * @param originY
+     *              the y coordinates of the rays' origins
+     * @param originZ
+     *              the z coordinates of the rays' origins
+     * @param dirX
+     *              the x coordinates of the rays' directions
+     * @param dirY
+     *              the y coordinates of the rays' directions
+     * @param dirZ
+     *              the z coordinates of the rays' directions
+     * @param maxT
+     *              the maximum values of the parameter <i>t</i>
+     * @param lanes
+     *              the number of rays in the packet, at most <code>32</code>
+     * @param v0X
+     *              the x coordinate of the first vertex
+     * @param v0Y
+     *              the y coordinate of the first vertex
+     * @param v0Z
+     *              the z coordinate of the first vertex
+     * @param v1X
+     *              the x coordinate of the second vertex
+     * @param v1Y
+     *              the y coordinate of the second vertex
+     * @param v1Z
+     *              the z coordinate of the second vertex
+     * @param v2X
+     *              the x coordinate of the third vertex
+     * @param v2Y
+     *              the y coordinate of the third vertex
+     * @param v2Z
+     *              the z coordinate of the third vertex
+     * @param epsilon
+     *              a small epsilon when testing rays that are almost parallel to the triangle
+     * @param t
+     *              will hold the values of the parameter <i>t</i> of the points of intersection, which are only meaningful
+     *              for the rays hitting the triangle
+     * @return the mask of the rays hitting the triangle, with bit <code>1 &lt;&lt; i</code> set iff ray <code>i</code> hits it
+     */
+    public static int intersectRayPacketTriangle(float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, float[] maxT, int lanes,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
+            float epsilon, float[] t) {
+        float edge1X = v1X - v0X;
+        float edge1Y = v1Y - v0Y;
+        float edge1Z = v1Z - v0Z;
+        float edge2X = v2X - v0X;
+        float edge2Y = v2Y - v0Y;
+        float edge2Z = v2Z - v0Z;
+        return BatchKernels.rayPacketTriangle(originX, originY, originZ, dirX, dirY, dirZ, maxT, lanes,
+                v0X, v0Y, v0Z, edge1X, edge1Y, edge1Z, edge2X, edge2Y, edge2Z, epsilon, t);
+    }
+
     /**
      * Test whether the line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
      * intersects the triangle consisting of the three vertices <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>,
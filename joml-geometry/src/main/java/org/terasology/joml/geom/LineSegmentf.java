@@ -4,6 +4,7 @@
 
 import org.joml.Options;
 import org.joml.Runtime;
+import org.joml.Vector3f;
 import org.joml.Vector3fc;
 
 import java.io.Externalizable;
@@ -16,7 +17,7 @@
 /**
  * Represents an undirected line segment between two points.
  */
-public class LineSegmentf implements Externalizable {
+public class LineSegmentf implements Externalizable, ConvexShapef {
 
     /**
      * The x coordinate of the first point.
@@ -107,6 +108,30 @@ public LineSegmentf(float aX, float aY, float aZ, float bX, float bY, float bZ)
         this.bZ = bZ;
     }
 
+    /**
+     * Store the end point of this line segment that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> into
+     * <code>dest</code>.
+     * <p>
+     * Use a {@link Capsulef} for a line segment with a radius.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    @Override
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        if ((bX - aX) * dirX + (bY - aY) * dirY + (bZ - aZ) * dirZ > 0.0f) {
+            return dest.set(bX, bY, bZ);
+        }
+        return dest.set(aX, aY, aZ);
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -0,0 +1,497 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Builds {@link BVHf linear bounding volume hierarchies} in parallel by sorting the items along the Z-order curve.
+ * <p>
+ * The centers of the items are quantized to 10 bits per axis and sorted by their {@link Morton} codes with a parallel
+ * radix sort. Each inner node of the hierarchy over the sorted codes is then found independently of all others, the
+ * bounds are computed in a parallel bottom-up pass and the nodes are finally laid out in the depth-first order of
+ * {@link BVHf}, collapsing subtrees of at most <code>maxLeafSize</code> items into leaves. All passes run on the given
+ * {@link ForkJoinPool} and take time linear in the number of items, so the build is much faster than the surface area
+ * heuristic of {@link BVHf#BVHf(float[], int, int)}, at the price of somewhat slower queries. This suits hierarchies over
+ * moving items which are rebuilt every frame.
+ * <p>
+ * Instances keep their scratch arrays between builds, so they must not be used by multiple threads concurrently.
+ * <p>
+ * Reference: <a href="https://research.nvidia.com/publication/2012-06_maximizing-parallelism-construction-bvhs-octrees-and-k-d-trees">Karras, T.:
+ * Maximizing Parallelism in the Construction of BVHs, Octrees, and k-d Trees</a>
+ */
+public class LinearBVHBuilder {
+
+    /**
+     * The number of items below which a pass runs on the calling thread.
+     */
+    private static final int GRAIN = 4096;
+    /**
+     * The number of bits of the quantized centers per axis.
+     */
+    private static final int BITS = 10;
+
+    private final ForkJoinPool pool;
+
+    private long[] keys = new long[0];
+    private long[] sortedKeys = new long[0];
+    private int[][] histograms = new int[0][];
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] first = new int[0];
+    private int[] last = new int[0];
+    private int[] parent = new int[0];
+    private int[] leafParent = new int[0];
+    private int[] subtreeNodes = new int[0];
+    private float[] innerBounds = new float[0];
+
+    /**
+     * Create a new {@link LinearBVHBuilder} which runs on the {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public LinearBVHBuilder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new {@link LinearBVHBuilder} which runs on the given <code>pool</code>.
+     *
+     * @param pool
+     *          the pool to run the build on
+     */
+    public LinearBVHBuilder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Build a new {@link BVHf} over the given <code>items</code> with at most {@link BVHf#DEFAULT_MAX_LEAF_SIZE} items
+     * per leaf.
+     *
+     * @param items
+     *          the boxes to build the hierarchy over
+     * @return the hierarchy
+     */
+    public BVHf build(AABBfc[] items) {
+        return build(items, BVHf.DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    /**
+     * Build a new {@link BVHf} over the given <code>items</code>.
+     *
+     * @param items
+     *          the boxes to build the hierarchy over
+     * @param maxLeafSize
+     *          the maximum number of items per leaf
+     * @return the hierarchy
+     */
+    public BVHf build(AABBfc[] items, int maxLeafSize) {
+        float[] bounds = new float[6 * items.length];
+        for (int i = 0; i < items.length; i++) {
+            AABBfc item = items[i];
+            bounds[6 * i] = item.minX();
+            bounds[6 * i + 1] = item.minY();
+            bounds[6 * i + 2] = item.minZ();
+            bounds[6 * i + 3] = item.maxX();
+            bounds[6 * i + 4] = item.maxY();
+            bounds[6 * i + 5] = item.maxZ();
+        }
+        return build(bounds, items.length, maxLeafSize);
+    }
+
+    /**
+     * Build a new {@link BVHf} over the first <code>count</code> boxes stored in <code>bounds</code> as consecutive
+     * <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     *
+     * @param bounds
+     *          the bounds of the items
+     * @param count
+     *          the number of items
+     * @param maxLeafSize
+     *          the maximum number of items per leaf
+     * @return the hierarchy
+     */
+    public BVHf build(float[] bounds, int count, int maxLeafSize) {
+        if (maxLeafSize < 1) {
+            throw new IllegalArgumentException("maxLeafSize must be positive: " + maxLeafSize);
+        }
+        ensureCapacity(count);
+        computeKeys(bounds, count);
+        sort(count);
+        int[] items = new int[count];
+        float[] itemBounds = new float[6 * count];
+        forEach(count, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                items[i] = (int) keys[i];
+                System.arraycopy(bounds, 6 * items[i], itemBounds, 6 * i, 6);
+            }
+        });
+        if (count <= maxLeafSize) {
+            return leaf(items, itemBounds, count);
+        }
+        forEach(count - 1, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                buildNode(i, count);
+            }
+        });
+        refit(itemBounds, count, maxLeafSize);
+        int nodeCount = subtreeNodes[0];
+        int[] nodeIndex = new int[nodeCount];
+        int[] nodeSize = new int[nodeCount];
+        float[] nodeBounds = new float[6 * nodeCount];
+        int depth = pool.invoke(new Layout(0, 0, 1, itemBounds, maxLeafSize, nodeIndex, nodeSize, nodeBounds));
+        return new BVHf(count, nodeCount, nodeBounds, nodeIndex, nodeSize, items, itemBounds, depth);
+    }
+
+    private static BVHf leaf(int[] items, float[] itemBounds, int count) {
+        if (count == 0) {
+            return new BVHf(0, 0, new float[0], new int[0], new int[0], items, itemBounds, 0);
+        }
+        float[] nodeBounds = Arrays.copyOf(itemBounds, 6);
+        for (int i = 1; i < count; i++) {
+            union(nodeBounds, 0, itemBounds, 6 * i);
+        }
+        return new BVHf(count, 1, nodeBounds, new int[] {0}, new int[] {count}, items, itemBounds, 1);
+    }
+
+    private void ensureCapacity(int count) {
+        if (keys.length >= count) {
+            return;
+        }
+        keys = new long[count];
+        sortedKeys = new long[count];
+        left = new int[count];
+        right = new int[count];
+        first = new int[count];
+        last = new int[count];
+        parent = new int[count];
+        leafParent = new int[count];
+        subtreeNodes = new int[count];
+        innerBounds = new float[6 * count];
+    }
+
+    /**
+     * Run the given <code>body</code> over consecutive ranges of <code>[0..count)</code> in parallel.
+     */
+    private void forEach(int count, IntBiConsumer body) {
+        if (count <= GRAIN) {
+            body.accept(0, count);
+        } else {
+            pool.invoke(new Range(0, count, GRAIN, body));
+        }
+    }
+
+    /**
+     * Run the given <code>body</code> once for each chunk of {@link #GRAIN} items in parallel.
+     */
+    private void forEachChunk(int chunks, IntBiConsumer body) {
+        pool.invoke(new Range(0, chunks, 1, body));
+    }
+
+    private static final class Range extends RecursiveAction {
+        private final int start, end, grain;
+        private final IntBiConsumer body;
+
+        Range(int start, int end, int grain, IntBiConsumer body) {
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        protected void compute() {
+            if (end - start <= grain) {
+                body.accept(start, end);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new Range(start, mid, grain, body), new Range(mid, end, grain, body));
+            }
+        }
+    }
+
+    /**
+     * Compute the sort keys, which hold the Morton code of the quantized center of each item in the upper and the index
+     * of the item in the lower 32 bits, so that all keys are distinct.
+     */
+    private void computeKeys(float[] bounds, int count) {
+        if (count == 0) {
+            return;
+        }
+        // The centers are twice the actual centers, which does not matter after normalization.
+        int chunks = (count + GRAIN - 1) / GRAIN;
+        float[] chunkBounds = new float[6 * chunks];
+        forEachChunk(chunks, (start, end) -> {
+            for (int c = start; c < end; c++) {
+                float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+                float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+                for (int i = c * GRAIN, e = Math.min(count, i + GRAIN); i < e; i++) {
+                    int o = 6 * i;
+                    float x = bounds[o] + bounds[o + 3], y = bounds[o + 1] + bounds[o + 4], z = bounds[o + 2] + bounds[o + 5];
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    minZ = Math.min(minZ, z);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                    maxZ = Math.max(maxZ, z);
+                }
+                chunkBounds[6 * c] = minX;
+                chunkBounds[6 * c + 1] = minY;
+                chunkBounds[6 * c + 2] = minZ;
+                chunkBounds[6 * c + 3] = maxX;
+                chunkBounds[6 * c + 4] = maxY;
+                chunkBounds[6 * c + 5] = maxZ;
+            }
+        });
+        for (int c = 1; c < chunks; c++) {
+            union(chunkBounds, 0, chunkBounds, 6 * c);
+        }
+        float minX = chunkBounds[0], minY = chunkBounds[1], minZ = chunkBounds[2];
+        float maxX = chunkBounds[3], maxY = chunkBounds[4], maxZ = chunkBounds[5];
+        int cells = (1 << BITS) - 1;
+        float originX = minX, originY = minY, originZ = minZ;
+        float scaleX = maxX > minX ? cells / (maxX - minX) : 0.0f;
+        float scaleY = maxY > minY ? cells / (maxY - minY) : 0.0f;
+        float scaleZ = maxZ > minZ ? cells / (maxZ - minZ) : 0.0f;
+        forEach(count, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                int o = 6 * i;
+                int x = quantize((bounds[o] + bounds[o + 3] - originX) * scaleX, cells);
+                int y = quantize((bounds[o + 1] + bounds[o + 4] - originY) * scaleY, cells);
+                int z = quantize((bounds[o + 2] + bounds[o + 5] - originZ) * scaleZ, cells);
+                keys[i] = Morton.encode3d(x, y, z) << 32 | i;
+            }
+        });
+    }
+
+    private static int quantize(float v, int cells) {
+        return Math.max(0, Math.min(cells, (int) v));
+    }
+
+    /**
+     * Sort the keys with a parallel least significant digit radix sort over the bytes of the Morton codes. The indices
+     * in the lower half are already ascending, and the sort is stable.
+     */
+    private void sort(int count) {
+        if (count <= GRAIN) {
+            Arrays.sort(keys, 0, count);
+            return;
+        }
+        int chunks = (count + GRAIN - 1) / GRAIN;
+        if (histograms.length < chunks) {
+            histograms = new int[chunks][256];
+        }
+        for (int shift = 32; shift < 32 + 3 * BITS; shift += 8) {
+            int s = shift;
+            long[] src = keys, dst = sortedKeys;
+            forEachChunk(chunks, (start, end) -> {
+                for (int c = start; c < end; c++) {
+                    int[] histogram = histograms[c];
+                    Arrays.fill(histogram, 0);
+                    for (int i = c * GRAIN, e = Math.min(count, i + GRAIN); i < e; i++) {
+                        histogram[(int) (src[i] >>> s) & 0xFF]++;
+                    }
+                }
+            });
+            // Turn the counts into the start of each chunk's run of each digit; skip the pass if all digits are equal.
+            int offset = 0;
+            boolean trivial = false;
+            for (int digit = 0; digit < 256; digit++) {
+                int total = 0;
+                for (int c = 0; c < chunks; c++) {
+                    int n = histograms[c][digit];
+                    histograms[c][digit] = offset + total;
+                    total += n;
+                }
+                trivial |= total == count;
+                offset += total;
+            }
+            if (trivial) {
+                continue;
+            }
+            forEachChunk(chunks, (start, end) -> {
+                for (int c = start; c < end; c++) {
+                    int[] position = histograms[c];
+                    for (int i = c * GRAIN, e = Math.min(count, i + GRAIN); i < e; i++) {
+                        dst[position[(int) (src[i] >>> s) & 0xFF]++] = src[i];
+                    }
+                }
+            });
+            keys = dst;
+            sortedKeys = src;
+        }
+    }
+
+    /**
+     * Return the length of the common prefix of the keys <code>i</code> and <code>j</code>, or <code>-1</code> if
+     * <code>j</code> is out of range.
+     */
+    private int delta(int i, int j, int count) {
+        if (j < 0 || j >= count) {
+            return -1;
+        }
+        return Long.numberOfLeadingZeros(keys[i] ^ keys[j]);
+    }
+
+    /**
+     * Find the range of keys covered by the inner node <code>i</code> and its split, and link it with its children.
+     * Inner nodes are identified by their index in <code>[0..count - 1)</code>, leaves by the complement of theirs.
+     */
+    private void buildNode(int i, int count) {
+        // The direction of the range, towards the neighbour with the longer common prefix.
+        int d = delta(i, i + 1, count) > delta(i, i - 1, count) ? 1 : -1;
+        int deltaMin = delta(i, i - d, count);
+        // Find an upper bound for the length of the range, then its exact other end by binary search.
+        int lengthMax = 2;
+        while (delta(i, i + lengthMax * d, count) > deltaMin) {
+            lengthMax *= 2;
+        }
+        int length = 0;
+        for (int t = lengthMax >>> 1; t > 0; t >>>= 1) {
+            if (delta(i, i + (length + t) * d, count) > deltaMin) {
+                length += t;
+            }
+        }
+        int j = i + length * d;
+        // Find the split, where the keys of the range start to differ in the bit after their common prefix.
+        int deltaNode = delta(i, j, count);
+        int split = 0;
+        int t = length;
+        do {
+            t = (t + 1) >>> 1;
+            if (delta(i, i + (split + t) * d, count) > deltaNode) {
+                split += t;
+            }
+        } while (t > 1);
+        int gamma = i + split * d + Math.min(d, 0);
+        int lo = Math.min(i, j), hi = Math.max(i, j);
+        first[i] = lo;
+        last[i] = hi;
+        if (lo == gamma) {
+            left[i] = ~gamma;
+            leafParent[gamma] = i;
+        } else {
+            left[i] = gamma;
+            parent[gamma] = i;
+        }
+        if (hi == gamma + 1) {
+            right[i] = ~(gamma + 1);
+            leafParent[gamma + 1] = i;
+        } else {
+            right[i] = gamma + 1;
+            parent[gamma + 1] = i;
+        }
+        if (i == 0) {
+            parent[0] = -1;
+        }
+    }
+
+    /**
+     * Compute the bounds and the number of output nodes of the subtree of every inner node bottom-up. Each leaf walks
+     * up towards the root, and the second of the two children to arrive at an inner node processes it, so every node
+     * is processed once, after both its children.
+     */
+    private void refit(float[] itemBounds, int count, int maxLeafSize) {
+        AtomicIntegerArray arrivals = new AtomicIntegerArray(count - 1);
+        forEach(count, (start, end) -> {
+            for (int leaf = start; leaf < end; leaf++) {
+                int node = leafParent[leaf];
+                while (node >= 0 && arrivals.getAndIncrement(node) > 0) {
+                    int o = 6 * node;
+                    int l = left[node], r = right[node];
+                    if (l < 0) {
+                        System.arraycopy(itemBounds, 6 * ~l, innerBounds, o, 6);
+                    } else {
+                        System.arraycopy(innerBounds, 6 * l, innerBounds, o, 6);
+                    }
+                    if (r < 0) {
+                        union(innerBounds, o, itemBounds, 6 * ~r);
+                    } else {
+                        union(innerBounds, o, innerBounds, 6 * r);
+                    }
+                    if (last[node] - first[node] < maxLeafSize) {
+                        subtreeNodes[node] = 1;
+                    } else {
+                        subtreeNodes[node] = 1 + (l < 0 ? 1 : subtreeNodes[l]) + (r < 0 ? 1 : subtreeNodes[r]);
+                    }
+                    node = parent[node];
+                }
+            }
+        });
+    }
+
+    private static void union(float[] dest, int o, float[] src, int srcOffset) {
+        for (int k = 0; k < 3; k++) {
+            dest[o + k] = Math.min(dest[o + k], src[srcOffset + k]);
+            dest[o + 3 + k] = Math.max(dest[o + 3 + k], src[srcOffset + 3 + k]);
+        }
+    }
+
+    /**
+     * Writes the subtree of a node of the hierarchy in depth-first order, starting at the given output position, and
+     * returns its depth.
+     */
+    private final class Layout extends RecursiveTask<Integer> {
+        private final int node, position, nodeDepth;
+        private final float[] itemBounds;
+        private final int maxLeafSize;
+        private final int[] nodeIndex, nodeSize;
+        private final float[] nodeBounds;
+
+        Layout(int node, int position, int nodeDepth, float[] itemBounds, int maxLeafSize, int[] nodeIndex, int[] nodeSize,
+                float[] nodeBounds) {
+            this.node = node;
+            this.position = position;
+            this.nodeDepth = nodeDepth;
+            this.itemBounds = itemBounds;
+            this.maxLeafSize = maxLeafSize;
+            this.nodeIndex = nodeIndex;
+            this.nodeSize = nodeSize;
+            this.nodeBounds = nodeBounds;
+        }
+
+        protected Integer compute() {
+            if (node < 0 || last[node] - first[node] < Math.max(GRAIN, maxLeafSize)) {
+                return layout(node, position, nodeDepth);
+            }
+            int l = left[node], r = right[node];
+            link(node, position, l);
+            Layout leftTask = new Layout(l, position + 1, nodeDepth + 1, itemBounds, maxLeafSize, nodeIndex, nodeSize, nodeBounds);
+            Layout rightTask = new Layout(r, nodeIndex[position], nodeDepth + 1, itemBounds, maxLeafSize, nodeIndex, nodeSize,
+                    nodeBounds);
+            leftTask.fork();
+            int depth = rightTask.compute();
+            return Math.max(depth, leftTask.join());
+        }
+
+        /**
+         * Write the inner node <code>node</code> at <code>position</code>, which is followed by the subtree of its left
+         * child <code>l</code>.
+         */
+        private void link(int node, int position, int l) {
+            System.arraycopy(innerBounds, 6 * node, nodeBounds, 6 * position, 6);
+            nodeIndex[position] = position + 1 + (l < 0 ? 1 : subtreeNodes[l]);
+            nodeSize[position] = 0;
+        }
+
+        private int layout(int node, int position, int nodeDepth) {
+            if (node < 0) {
+                System.arraycopy(itemBounds, 6 * ~node, nodeBounds, 6 * position, 6);
+                nodeIndex[position] = ~node;
+                nodeSize[position] = 1;
+                return nodeDepth;
+            }
+            if (last[node] - first[node] < maxLeafSize) {
+                System.arraycopy(innerBounds, 6 * node, nodeBounds, 6 * position, 6);
+                nodeIndex[position] = first[node];
+                nodeSize[position] = last[node] - first[node] + 1;
+                return nodeDepth;
+            }
+            int l = left[node];
+            link(node, position, l);
+            int leftDepth = layout(l, position + 1, nodeDepth + 1);
+            return Math.max(leftDepth, layout(right[node], nodeIndex[position], nodeDepth + 1));
+        }
+    }
+}
@@ -0,0 +1,932 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A loose octree over a cubic region of space, which stores axis-aligned boxes in single-precision floats and finds
+ * those intersecting a box, sphere, frustum, set of planes or ray by descending only into the nodes which the query
+ * touches.
+ * <p>
+ * Every node covers a cube, split into eight children of half its edge length, but holds all boxes which fit into its
+ * <i>loose bounds</i>: the cube with the same center and twice the edge length. Thus a box straddling the boundary
+ * between two nodes still goes into one of them instead of their common parent, and its node only changes once it
+ * has moved half a node away, so that {@link #update(int, float, float, float, float, float, float)} of a slowly moving
+ * box usually just overwrites its bounds. A box is stored in the deepest node, up to the maximum depth, whose loose
+ * bounds contain it, on the path towards its center. Boxes which do not fit into the loose bounds of the root are
+ * stored in the root, which queries never cull, so the results stay correct for boxes outside of the region.
+ * <p>
+ * Nodes are created on demand and recycled once they hold no boxes and have no children. Each node stores the handles
+ * and bounds of its boxes in its own primitive arrays, which queries scan linearly.
+ * <p>
+ * Boxes are identified by integer handles, which are reused after a box was removed. {@link #clear()} and inserting
+ * all boxes again rebuilds the tree without allocating once the arrays have grown large enough, and hands out the
+ * handles <code>0, 1, 2, ...</code> in the order of insertion.
+ * <p>
+ * Queries do not allocate: they share traversal stacks owned by the tree. This class is therefore not thread-safe, and
+ * a tree must not be queried again from within the consumer of one of its queries.
+ * <p>
+ * Reference: <a href="http://tulrich.com/geekstuff/partitioning.html">Thatcher Ulrich, Loose Octrees</a>
+ */
+public class LooseOctreef {
+
+    private static final int NULL = -1;
+    private static final int ROOT = 0;
+
+    private final int maxDepth;
+
+    /**
+     * The loose bounds of the nodes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     */
+    private float[] nodeBounds;
+    /**
+     * The centers of the nodes as consecutive <code>x, y, z</code> tuples.
+     */
+    private float[] nodeCenter;
+    /**
+     * Half the edge length of the cubes of the nodes, which is a quarter of the edge length of their loose bounds.
+     */
+    private float[] nodeHalfSize;
+    private int[] nodeDepth;
+    private int[] nodeParent;
+    /**
+     * The eight children of each node, or {@link #NULL}, indexed by <code>(x &gt;= centerX ? 1 : 0) | (y &gt;= centerY ? 2 : 0) | (z &gt;= centerZ ? 4 : 0)</code>.
+     */
+    private int[] nodeChildren;
+    private int[] nodeChildCount;
+    /**
+     * The handles and, as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples, the bounds of the boxes in
+     * each node. The arrays are kept when a node is recycled.
+     */
+    private int[][] nodeItems;
+    private float[][] nodeItemBounds;
+    private int[] nodeItemCount;
+    private int[] freeNodes;
+    private int freeNodeCount;
+    private int nodeTop;
+    private int nodeCount;
+
+    /**
+     * The node of each box, or {@link #NULL} for unused handles, and its position in the arrays of that node.
+     */
+    private int[] itemNode;
+    private int[] itemSlot;
+    private int[] freeHandles;
+    private int freeCount;
+    private int capacity;
+    private int size;
+
+    /**
+     * The traversal stack shared by the queries, which holds up to eight nodes, or <code>(node, planeMask)</code> pairs
+     * when culling, per level, and the near <i>t</i> of the nodes on it when casting rays.
+     */
+    private final int[] stack;
+    private final float[] stackNear;
+    private final Vector2f rayT = new Vector2f();
+
+    /**
+     * Create a new empty {@link LooseOctreef} over the cube with the given center <code>(centerX, centerY, centerZ)</code>
+     * and half edge length <code>halfSize</code>.
+     *
+     * @param centerX
+     *          the x coordinate of the center of the region
+     * @param centerY
+     *          the y coordinate of the center of the region
+     * @param centerZ
+     *          the z coordinate of the center of the region
+     * @param halfSize
+     *          half the edge length of the region
+     * @param maxDepth
+     *          the depth of the deepest nodes, where the root has depth <code>0</code>
+     */
+    public LooseOctreef(float centerX, float centerY, float centerZ, float halfSize, int maxDepth) {
+        if (!(halfSize > 0.0f) || halfSize == Float.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("halfSize must be positive and finite: " + halfSize);
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        this.stack = new int[16 * (maxDepth + 1)];
+        this.stackNear = new float[8 * (maxDepth + 1)];
+        growNodes(16);
+        grow(16);
+        nodeTop = 1;
+        nodeCount = 1;
+        initNode(ROOT, NULL, 0, centerX, centerY, centerZ, halfSize);
+    }
+
+    /**
+     * Create a new empty {@link LooseOctreef} over the smallest cube with the same center as the given axis-aligned box
+     * which contains it.
+     *
+     * @see #LooseOctreef(float, float, float, float, int)
+     *
+     * @param region
+     *          the region to subdivide
+     * @param maxDepth
+     *          the depth of the deepest nodes, where the root has depth <code>0</code>
+     */
+    public LooseOctreef(AABBfc region, int maxDepth) {
+        this((region.minX() + region.maxX()) * 0.5f, (region.minY() + region.maxY()) * 0.5f, (region.minZ() + region.maxZ()) * 0.5f,
+                java.lang.Math.max(region.maxX() - region.minX(), java.lang.Math.max(region.maxY() - region.minY(), region.maxZ() - region.minZ())) * 0.5f,
+                maxDepth);
+    }
+
+    private void grow(int newCapacity) {
+        itemNode = itemNode == null ? new int[newCapacity] : Arrays.copyOf(itemNode, newCapacity);
+        itemSlot = itemSlot == null ? new int[newCapacity] : Arrays.copyOf(itemSlot, newCapacity);
+        freeHandles = freeHandles == null ? new int[newCapacity] : Arrays.copyOf(freeHandles, newCapacity);
+        Arrays.fill(itemNode, capacity, newCapacity, NULL);
+        // Hand out the new handles in ascending order.
+        for (int h = newCapacity - 1; h >= capacity; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        capacity = newCapacity;
+    }
+
+    private void growNodes(int newCapacity) {
+        nodeBounds = nodeBounds == null ? new float[6 * newCapacity] : Arrays.copyOf(nodeBounds, 6 * newCapacity);
+        nodeCenter = nodeCenter == null ? new float[3 * newCapacity] : Arrays.copyOf(nodeCenter, 3 * newCapacity);
+        nodeHalfSize = nodeHalfSize == null ? new float[newCapacity] : Arrays.copyOf(nodeHalfSize, newCapacity);
+        nodeDepth = nodeDepth == null ? new int[newCapacity] : Arrays.copyOf(nodeDepth, newCapacity);
+        nodeParent = nodeParent == null ? new int[newCapacity] : Arrays.copyOf(nodeParent, newCapacity);
+        nodeChildren = nodeChildren == null ? new int[8 * newCapacity] : Arrays.copyOf(nodeChildren, 8 * newCapacity);
+        nodeChildCount = nodeChildCount == null ? new int[newCapacity] : Arrays.copyOf(nodeChildCount, newCapacity);
+        nodeItems = nodeItems == null ? new int[newCapacity][] : Arrays.copyOf(nodeItems, newCapacity);
+        nodeItemBounds = nodeItemBounds == null ? new float[newCapacity][] : Arrays.copyOf(nodeItemBounds, newCapacity);
+        nodeItemCount = nodeItemCount == null ? new int[newCapacity] : Arrays.copyOf(nodeItemCount, newCapacity);
+        freeNodes = freeNodes == null ? new int[newCapacity] : Arrays.copyOf(freeNodes, newCapacity);
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= capacity || itemNode[handle] == NULL) {
+            throw new IllegalArgumentException("Not a box: " + handle);
+        }
+    }
+
+    /**
+     * Return the number of boxes.
+     *
+     * @return the number of boxes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of nodes, including the root.
+     *
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Return the depth of the deepest nodes, where the root has depth <code>0</code>.
+     *
+     * @return the maximum depth
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Insert the axis-aligned box with the given minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return the handle of the box
+     */
+    public int insert(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (freeCount == 0) {
+            grow(2 * capacity);
+        }
+        int handle = freeHandles[--freeCount];
+        addToNode(findNode(minX, minY, minZ, maxX, maxY, maxZ), handle, minX, minY, minZ, maxX, maxY, maxZ);
+        size++;
+        return handle;
+    }
+
+    /**
+     * Insert the given axis-aligned box.
+     *
+     * @see #insert(float, float, float, float, float, float)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @return the handle of the box
+     */
+    public int insert(AABBfc aabb) {
+        return insert(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Set the bounds of the box with the given handle to the given minimum corner <code>(minX, minY, minZ)</code> and
+     * maximum corner <code>(maxX, maxY, maxZ)</code>.
+     * <p>
+     * The box stays in its node as long as the loose bounds of the node contain it, except for the root, from which it
+     * descends again as soon as it fits into a child.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return <code>true</code> if the box moved to another node; <code>false</code> if it stays in the same node
+     */
+    public boolean update(int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        checkHandle(handle);
+        int node = itemNode[handle];
+        if (node != ROOT && contains(node, minX, minY, minZ, maxX, maxY, maxZ)) {
+            setItemBounds(node, itemSlot[handle], minX, minY, minZ, maxX, maxY, maxZ);
+            return false;
+        }
+        // Take the box out before looking for its new node, but only prune the old node once the box is in the new one,
+        // which may be an ancestor or descendant of it.
+        removeFromNode(handle);
+        int target = findNode(minX, minY, minZ, maxX, maxY, maxZ);
+        addToNode(target, handle, minX, minY, minZ, maxX, maxY, maxZ);
+        prune(node);
+        return target != node;
+    }
+
+    /**
+     * Set the bounds of the box with the given handle to the given axis-aligned box.
+     *
+     * @see #update(int, float, float, float, float, float, float)
+     *
+     * @param handle
+     *          the handle of the box
+     * @param aabb
+     *          the new bounds
+     * @return <code>true</code> if the box moved to another node; <code>false</code> if it stays in the same node
+     */
+    public boolean update(int handle, AABBfc aabb) {
+        return update(handle, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Remove the box with the given handle. The handle may be handed out again by subsequent insertions.
+     *
+     * @param handle
+     *          the handle of the box
+     */
+    public void remove(int handle) {
+        checkHandle(handle);
+        int node = itemNode[handle];
+        removeFromNode(handle);
+        prune(node);
+        itemNode[handle] = NULL;
+        freeHandles[freeCount++] = handle;
+        size--;
+    }
+
+    /**
+     * Remove all boxes and nodes except for the root, keeping the memory allocated so far.
+     * <p>
+     * Subsequent insertions hand out the handles <code>0, 1, 2, ...</code> in order.
+     */
+    public void clear() {
+        Arrays.fill(nodeChildren, 0, 8, NULL);
+        nodeChildCount[ROOT] = 0;
+        nodeItemCount[ROOT] = 0;
+        nodeTop = 1;
+        nodeCount = 1;
+        freeNodeCount = 0;
+        Arrays.fill(itemNode, NULL);
+        freeCount = 0;
+        for (int h = capacity - 1; h >= 0; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        size = 0;
+    }
+
+    /**
+     * Store the bounds of the box with the given handle into <code>dest</code>.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(int handle, AABBf dest) {
+        checkHandle(handle);
+        float[] b = nodeItemBounds[itemNode[handle]];
+        int o = 6 * itemSlot[handle];
+        return dest.setMin(b[o], b[o + 1], b[o + 2]).setMax(b[o + 3], b[o + 4], b[o + 5]);
+    }
+
+    /**
+     * Store the loose bounds of the node holding the box with the given handle into <code>dest</code>.
+     * <p>
+     * These contain the box, unless it is held by the root because it does not fit into the region.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getNodeBounds(int handle, AABBf dest) {
+        checkHandle(handle);
+        int o = 6 * itemNode[handle];
+        return dest.setMin(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2]).setMax(nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5]);
+    }
+
+    /**
+     * Return the depth of the node holding the box with the given handle, where the root has depth <code>0</code>.
+     *
+     * @param handle
+     *          the handle of the box
+     * @return the depth of the node of the box
+     */
+    public int getDepth(int handle) {
+        checkHandle(handle);
+        return nodeDepth[itemNode[handle]];
+    }
+
+    private void initNode(int node, int parent, int depth, float centerX, float centerY, float centerZ, float halfSize) {
+        int o = 3 * node;
+        nodeCenter[o] = centerX;
+        nodeCenter[o + 1] = centerY;
+        nodeCenter[o + 2] = centerZ;
+        nodeHalfSize[node] = halfSize;
+        float looseSize = 2.0f * halfSize;
+        o = 6 * node;
+        nodeBounds[o] = centerX - looseSize;
+        nodeBounds[o + 1] = centerY - looseSize;
+        nodeBounds[o + 2] = centerZ - looseSize;
+        nodeBounds[o + 3] = centerX + looseSize;
+        nodeBounds[o + 4] = centerY + looseSize;
+        nodeBounds[o + 5] = centerZ + looseSize;
+        nodeDepth[node] = depth;
+        nodeParent[node] = parent;
+        Arrays.fill(nodeChildren, 8 * node, 8 * node + 8, NULL);
+        nodeChildCount[node] = 0;
+        nodeItemCount[node] = 0;
+    }
+
+    private boolean contains(int node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int o = 6 * node;
+        return minX >= nodeBounds[o] && minY >= nodeBounds[o + 1] && minZ >= nodeBounds[o + 2]
+                && maxX <= nodeBounds[o + 3] && maxY <= nodeBounds[o + 4] && maxZ <= nodeBounds[o + 5];
+    }
+
+    /**
+     * Descend from the root towards the center of the given box as long as the loose bounds of the child contain it,
+     * creating the missing nodes on the way.
+     */
+    private int findNode(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (!contains(ROOT, minX, minY, minZ, maxX, maxY, maxZ)) {
+            return ROOT;
+        }
+        float x = (minX + maxX) * 0.5f, y = (minY + maxY) * 0.5f, z = (minZ + maxZ) * 0.5f;
+        int node = ROOT;
+        while (nodeDepth[node] < maxDepth) {
+            int o = 3 * node;
+            float centerX = nodeCenter[o], centerY = nodeCenter[o + 1], centerZ = nodeCenter[o + 2];
+            // The loose bounds of a child extend by its edge length, which is the half size of this node, around its center.
+            float looseSize = nodeHalfSize[node], childHalfSize = looseSize * 0.5f;
+            float childX = x >= centerX ? centerX + childHalfSize : centerX - childHalfSize;
+            float childY = y >= centerY ? centerY + childHalfSize : centerY - childHalfSize;
+            float childZ = z >= centerZ ? centerZ + childHalfSize : centerZ - childHalfSize;
+            if (!(minX >= childX - looseSize && minY >= childY - looseSize && minZ >= childZ - looseSize
+                    && maxX <= childX + looseSize && maxY <= childY + looseSize && maxZ <= childZ + looseSize)) {
+                break;
+            }
+            int octant = (x >= centerX ? 1 : 0) | (y >= centerY ? 2 : 0) | (z >= centerZ ? 4 : 0);
+            int child = nodeChildren[8 * node + octant];
+            if (child == NULL) {
+                child = allocateNode();
+                initNode(child, node, nodeDepth[node] + 1, childX, childY, childZ, childHalfSize);
+                nodeChildren[8 * node + octant] = child;
+                nodeChildCount[node]++;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int allocateNode() {
+        nodeCount++;
+        if (freeNodeCount > 0) {
+            return freeNodes[--freeNodeCount];
+        }
+        if (nodeTop == nodeItemCount.length) {
+            growNodes(2 * nodeTop);
+        }
+        return nodeTop++;
+    }
+
+    /**
+     * Recycle the given node and its ancestors up to the first one which still holds boxes or has other children.
+     */
+    private void prune(int node) {
+        while (node != ROOT && nodeItemCount[node] == 0 && nodeChildCount[node] == 0) {
+            int parent = nodeParent[node];
+            for (int i = 8 * parent; ; i++) {
+                if (nodeChildren[i] == node) {
+                    nodeChildren[i] = NULL;
+                    break;
+                }
+            }
+            nodeChildCount[parent]--;
+            freeNodes[freeNodeCount++] = node;
+            nodeCount--;
+            node = parent;
+        }
+    }
+
+    private void addToNode(int node, int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int n = nodeItemCount[node];
+        if (nodeItems[node] == null) {
+            nodeItems[node] = new int[4];
+            nodeItemBounds[node] = new float[6 * 4];
+        } else if (n == nodeItems[node].length) {
+            nodeItems[node] = Arrays.copyOf(nodeItems[node], 2 * n);
+            nodeItemBounds[node] = Arrays.copyOf(nodeItemBounds[node], 12 * n);
+        }
+        nodeItems[node][n] = handle;
+        setItemBounds(node, n, minX, minY, minZ, maxX, maxY, maxZ);
+        nodeItemCount[node] = n + 1;
+        itemNode[handle] = node;
+        itemSlot[handle] = n;
+    }
+
+    private void setItemBounds(int node, int slot, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float[] b = nodeItemBounds[node];
+        int o = 6 * slot;
+        b[o] = minX;
+        b[o + 1] = minY;
+        b[o + 2] = minZ;
+        b[o + 3] = maxX;
+        b[o + 4] = maxY;
+        b[o + 5] = maxZ;
+    }
+
+    /**
+     * Take the given box out of the arrays of its node by moving the last box of the node into its place.
+     */
+    private void removeFromNode(int handle) {
+        int node = itemNode[handle], slot = itemSlot[handle];
+        int last = --nodeItemCount[node];
+        if (slot != last) {
+            int[] items = nodeItems[node];
+            int moved = items[last];
+            items[slot] = moved;
+            itemSlot[moved] = slot;
+            System.arraycopy(nodeItemBounds[node], 6 * last, nodeItemBounds[node], 6 * slot, 6);
+        }
+    }
+
+    private int pushChildren(int node, int[] stack, int top) {
+        if (nodeChildCount[node] == 0) {
+            return top;
+        }
+        for (int i = 8 * node, end = i + 8; i < end; i++) {
+            if (nodeChildren[i] != NULL) {
+                stack[top++] = nodeChildren[i];
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Report every box intersecting the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code>
+     * and maximum corner <code>(maxX, maxY, maxZ)</code> to the given <code>consumer</code>, in no particular order.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @see Intersectionf#testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param consumer
+     *          receives the handle of every box intersecting the given box
+     * @return the number of boxes intersecting the given box
+     */
+    public int queryAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, IntConsumer consumer) {
+        int[] stack = this.stack;
+        int top = 0;
+        stack[top++] = ROOT;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (node != ROOT && !Intersectionf.testAabAab(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5],
+                    minX, minY, minZ, maxX, maxY, maxZ)) {
+                continue;
+            }
+            int[] items = nodeItems[node];
+            float[] b = nodeItemBounds[node];
+            for (int i = 0, n = nodeItemCount[node]; i < n; i++) {
+                int p = 6 * i;
+                if (Intersectionf.testAabAab(b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], minX, minY, minZ, maxX, maxY, maxZ)) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+            top = pushChildren(node, stack, top);
+        }
+        return hits;
+    }
+
+    /**
+     * Report every box intersecting the given axis-aligned box to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #queryAab(float, float, float, float, float, float, IntConsumer)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @param consumer
+     *          receives the handle of every box intersecting the given box
+     * @return the number of boxes intersecting the given box
+     */
+    public int queryAab(AABBfc aabb, IntConsumer consumer) {
+        return queryAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), consumer);
+    }
+
+    /**
+     * Report every box intersecting the sphere with the given center <code>(centerX, centerY, centerZ)</code> and
+     * square radius <code>radiusSquared</code> to the given <code>consumer</code>, in no particular order.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @see Intersectionf#testAabSphere(float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param centerX
+     *          the x coordinate of the center of the sphere
+     * @param centerY
+     *          the y coordinate of the center of the sphere
+     * @param centerZ
+     *          the z coordinate of the center of the sphere
+     * @param radiusSquared
+     *          the square radius of the sphere
+     * @param consumer
+     *          receives the handle of every box intersecting the sphere
+     * @return the number of boxes intersecting the sphere
+     */
+    public int querySphere(float centerX, float centerY, float centerZ, float radiusSquared, IntConsumer consumer) {
+        int[] stack = this.stack;
+        int top = 0;
+        stack[top++] = ROOT;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (node != ROOT && !Intersectionf.testAabSphere(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5],
+                    centerX, centerY, centerZ, radiusSquared)) {
+                continue;
+            }
+            int[] items = nodeItems[node];
+            float[] b = nodeItemBounds[node];
+            for (int i = 0, n = nodeItemCount[node]; i < n; i++) {
+                int p = 6 * i;
+                if (Intersectionf.testAabSphere(b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], centerX, centerY, centerZ, radiusSquared)) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+            top = pushChildren(node, stack, top);
+        }
+        return hits;
+    }
+
+    /**
+     * Report every box intersecting the given sphere to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #querySphere(float, float, float, float, IntConsumer)
+     *
+     * @param sphere
+     *          the sphere
+     * @param consumer
+     *          receives the handle of every box intersecting the sphere
+     * @return the number of boxes intersecting the sphere
+     */
+    public int querySphere(Spheref sphere, IntConsumer consumer) {
+        return querySphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, consumer);
+    }
+
+    /**
+     * Report every box which is not outside the given frustum to the given <code>consumer</code>, in no particular
+     * order.
+     * <p>
+     * Each node only tests the planes its parent intersects, starting with the plane which rejected the last node. Once
+     * the loose bounds of a node lie fully inside the frustum, all boxes below it are reported without further tests.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @see Frustumf#cullAab(float, float, float, float, float, float, int, int)
+     *
+     * @param frustum
+     *          the frustum
+     * @param consumer
+     *          receives the handle of every box inside or intersecting the frustum
+     * @return the number of boxes inside or intersecting the frustum
+     */
+    public int queryFrustum(Frustumf frustum, IntConsumer consumer) {
+        return cull(frustum, null, Frustumf.ALL_PLANES, consumer);
+    }
+
+    /**
+     * Report every box which is not fully outside any of the given planes to the given <code>consumer</code>, in no
+     * particular order. A box is outside of a plane if it lies completely in its negative half-space, i.e. if
+     * <code>a*x + b*y + c*z + d &lt; 0</code> for all its points, so the normals of the planes point into the
+     * convex region they bound.
+     * <p>
+     * Each node only tests the planes its parent intersects, and once the loose bounds of a node lie fully inside all
+     * planes, all boxes below it are reported without further tests.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @see Intersectionf#testAabPlane(float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param planes
+     *          at most 31 planes
+     * @param consumer
+     *          receives the handle of every box not outside any plane
+     * @return the number of boxes not outside any plane
+     */
+    public int queryPlanes(Planef[] planes, IntConsumer consumer) {
+        if (planes.length > 31) {
+            throw new IllegalArgumentException("At most 31 planes are supported: " + planes.length);
+        }
+        return cull(null, planes, (1 << planes.length) - 1, consumer);
+    }
+
+    /**
+     * Traverse the tree with a stack of <code>(node, planeMask)</code> pairs, culling with either the frustum or the planes.
+     */
+    private int cull(Frustumf frustum, Planef[] planes, int allPlanes, IntConsumer consumer) {
+        int[] stack = this.stack;
+        int top = 0;
+        stack[top++] = ROOT;
+        stack[top++] = allPlanes;
+        int lastPlane = 0;
+        int hits = 0;
+        while (top > 0) {
+            int mask = stack[--top];
+            int node = stack[--top];
+            int r = mask;
+            if (node != ROOT && mask != 0) {
+                int o = 6 * node;
+                r = frustum != null
+                        ? frustum.cullAab(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5], mask, lastPlane)
+                        : cullPlanes(planes, nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5], mask);
+                if (r < 0) {
+                    lastPlane = ~r;
+                    continue;
+                }
+            }
+            int[] items = nodeItems[node];
+            float[] b = nodeItemBounds[node];
+            for (int i = 0, n = nodeItemCount[node]; i < n; i++) {
+                if (r != 0) {
+                    int p = 6 * i;
+                    int s = frustum != null
+                            ? frustum.cullAab(b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], r, lastPlane)
+                            : cullPlanes(planes, b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], r);
+                    if (s < 0) {
+                        lastPlane = ~s;
+                        continue;
+                    }
+                }
+                consumer.accept(items[i]);
+                hits++;
+            }
+            if (nodeChildCount[node] > 0) {
+                for (int i = 8 * node, end = i + 8; i < end; i++) {
+                    if (nodeChildren[i] != NULL) {
+                        stack[top++] = nodeChildren[i];
+                        stack[top++] = r;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Test the planes in <code>planeMask</code> against the given box like {@link Frustumf#cullAab(float, float, float, float, float, float, int, int)}.
+     */
+    private static int cullPlanes(Planef[] planes, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int planeMask) {
+        int mask = 0;
+        for (int plane = 0; plane < planes.length; plane++) {
+            int bit = 1 << plane;
+            if ((planeMask & bit) == 0) {
+                continue;
+            }
+            Planef p = planes[plane];
+            float a = p.a, b = p.b, c = p.c, d = p.d;
+            if (a * (a < 0.0f ? minX : maxX) + b * (b < 0.0f ? minY : maxY) + c * (c < 0.0f ? minZ : maxZ) < -d) {
+                return ~plane;
+            }
+            if (a * (a < 0.0f ? maxX : minX) + b * (b < 0.0f ? maxY : minY) + c * (c < 0.0f ? maxZ : minZ) < -d) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Determine the box which the ray with the given origin <code>(originX, originY, originZ)</code> and direction
+     * <code>(dirX, dirY, dirZ)</code> enters first, and store the values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the near and far point of intersection with it into <code>result</code>.
+     * <p>
+     * Boxes containing the origin of the ray have a negative near <i>t</i> and therefore take precedence. The children
+     * of each node are visited from near to far, and nodes whose loose bounds the ray enters behind the nearest box found
+     * so far are skipped.
+     *
+     * @see Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param result
+     *          will hold the near and far <i>t</i> of the box hit first, iff any box is hit
+     * @return the handle of the box hit first, or <code>-1</code> if the ray does not intersect any box
+     */
+    public int intersectRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, Vector2f result) {
+        Vector2f t = rayT;
+        int[] stack = this.stack;
+        float[] stackNear = this.stackNear;
+        int top = 0;
+        stack[top] = ROOT;
+        stackNear[top++] = Float.NEGATIVE_INFINITY;
+        int best = -1;
+        float bestNear = Float.POSITIVE_INFINITY, bestFar = 0.0f;
+        while (top > 0) {
+            int node = stack[--top];
+            if (stackNear[top] >= bestNear) {
+                continue;
+            }
+            int[] items = nodeItems[node];
+            float[] b = nodeItemBounds[node];
+            for (int i = 0, n = nodeItemCount[node]; i < n; i++) {
+                int p = 6 * i;
+                if (Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ, b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], t)
+                        && t.x < bestNear) {
+                    best = items[i];
+                    bestNear = t.x;
+                    bestFar = t.y;
+                }
+            }
+            if (nodeChildCount[node] == 0) {
+                continue;
+            }
+            int first = top;
+            for (int i = 8 * node, end = i + 8; i < end; i++) {
+                int child = nodeChildren[i];
+                if (child == NULL || !intersectNode(child, originX, originY, originZ, dirX, dirY, dirZ, t) || t.x >= bestNear) {
+                    continue;
+                }
+                // Insertion sort by descending near t, so that the nearest child is popped first.
+                int j = top++;
+                while (j > first && stackNear[j - 1] < t.x) {
+                    stack[j] = stack[j - 1];
+                    stackNear[j] = stackNear[j - 1];
+                    j--;
+                }
+                stack[j] = child;
+                stackNear[j] = t.x;
+            }
+        }
+        if (best >= 0) {
+            result.x = bestNear;
+            result.y = bestFar;
+        }
+        return best;
+    }
+
+    /**
+     * Determine the box which the given ray enters first, and store the values of the parameter <i>t</i> in the ray
+     * equation <i>p(t) = origin + t * dir</i> of the near and far point of intersection with it into <code>result</code>.
+     *
+     * @see #intersectRay(float, float, float, float, float, float, Vector2f)
+     *
+     * @param ray
+     *          the ray
+     * @param result
+     *          will hold the near and far <i>t</i> of the box hit first, iff any box is hit
+     * @return the handle of the box hit first, or <code>-1</code> if the ray does not intersect any box
+     */
+    public int intersectRay(Rayf ray, Vector2f result) {
+        return intersectRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, result);
+    }
+
+    /**
+     * Report every box intersected by the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> to the given <code>consumer</code>, in no particular order.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @see Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param consumer
+     *          receives the handle and the near and far <i>t</i> of every box hit
+     * @return the number of boxes hit
+     */
+    public int intersectRayAll(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, BVHf.RayHitConsumer consumer) {
+        Vector2f t = rayT;
+        int[] stack = this.stack;
+        int top = 0;
+        stack[top++] = ROOT;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (node != ROOT && !intersectNode(node, originX, originY, originZ, dirX, dirY, dirZ, t)) {
+                continue;
+            }
+            int[] items = nodeItems[node];
+            float[] b = nodeItemBounds[node];
+            for (int i = 0, n = nodeItemCount[node]; i < n; i++) {
+                int p = 6 * i;
+                if (Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ, b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], t)) {
+                    consumer.accept(items[i], t.x, t.y);
+                    hits++;
+                }
+            }
+            top = pushChildren(node, stack, top);
+        }
+        return hits;
+    }
+
+    /**
+     * Report every box intersected by the given ray to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #intersectRayAll(float, float, float, float, float, float, BVHf.RayHitConsumer)
+     *
+     * @param ray
+     *          the ray
+     * @param consumer
+     *          receives the handle and the near and far <i>t</i> of every box hit
+     * @return the number of boxes hit
+     */
+    public int intersectRayAll(Rayf ray, BVHf.RayHitConsumer consumer) {
+        return intersectRayAll(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, consumer);
+    }
+
+    private boolean intersectNode(int node, float originX, float originY, float originZ, float dirX, float dirY, float dirZ, Vector2f t) {
+        int o = 6 * node;
+        return Intersectionf.intersectRayAab(originX, originY, originZ, dirX, dirY, dirZ,
+                nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5], t);
+    }
+}
@@ -0,0 +1,158 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * A {@link RectanglePacker} which tracks all maximal free rectangles of the bin and places each rectangle into the free
+ * rectangle it fits best by the best-short-side-fit rule, i.e. where the shorter of the leftover sides is smallest.
+ * <p>
+ * After a placement, every free rectangle overlapping it is split into up to four maximal free rectangles around it,
+ * and the new ones which lie inside of another free rectangle are dropped. This packs tighter than a
+ * {@link SkylinePacker}, at the cost of a scan over all free rectangles per placement.
+ * <p>
+ * Reference: <a href="http://pds25.egloos.com/pds/201504/21/98/RectangleBinPack.pdf">Jukka Jylänki, A Thousand Ways to Pack the Bin</a>
+ */
+public class MaxRectsPacker extends RectanglePacker {
+
+    /**
+     * The free rectangles as consecutive <code>x, y, width, height</code> tuples.
+     */
+    private int[] free = new int[4 * 16];
+    private int freeCount;
+
+    /**
+     * Create a new empty {@link MaxRectsPacker} for a bin of the given size.
+     *
+     * @param width
+     *          the width of the bin
+     * @param height
+     *          the height of the bin
+     */
+    public MaxRectsPacker(int width, int height) {
+        super(width, height);
+        reset();
+    }
+
+    /**
+     * Return the number of maximal free rectangles.
+     *
+     * @return the number of free rectangles
+     */
+    public int freeRectangleCount() {
+        return freeCount;
+    }
+
+    @Override
+    void reset() {
+        free[0] = 0;
+        free[1] = 0;
+        free[2] = width();
+        free[3] = height();
+        freeCount = 1;
+    }
+
+    @Override
+    boolean place(int width, int height) {
+        int best = -1;
+        int bestShort = Integer.MAX_VALUE, bestLong = Integer.MAX_VALUE;
+        for (int i = 0; i < freeCount; i++) {
+            int o = 4 * i;
+            int leftoverX = free[o + 2] - width, leftoverY = free[o + 3] - height;
+            if (leftoverX < 0 || leftoverY < 0) {
+                continue;
+            }
+            int shortSide = java.lang.Math.min(leftoverX, leftoverY), longSide = java.lang.Math.max(leftoverX, leftoverY);
+            if (shortSide < bestShort || shortSide == bestShort && longSide < bestLong) {
+                best = i;
+                bestShort = shortSide;
+                bestLong = longSide;
+            }
+        }
+        if (best < 0) {
+            return false;
+        }
+        placedX = free[4 * best];
+        placedY = free[4 * best + 1];
+        split(placedX, placedY, placedX + width, placedY + height);
+        return true;
+    }
+
+    /**
+     * Split all free rectangles overlapping the used rectangle <code>[minX..maxX) x [minY..maxY)</code>, and drop the
+     * new ones contained in other free rectangles.
+     */
+    private void split(int minX, int minY, int maxX, int maxY) {
+        int oldCount = freeCount;
+        for (int i = 0; i < oldCount; i++) {
+            int o = 4 * i;
+            int x = free[o], y = free[o + 1], endX = x + free[o + 2], endY = y + free[o + 3];
+            if (minX >= endX || maxX <= x || minY >= endY || maxY <= y) {
+                continue;
+            }
+            if (minX > x) {
+                add(x, y, minX - x, endY - y);
+            }
+            if (maxX < endX) {
+                add(maxX, y, endX - maxX, endY - y);
+            }
+            if (minY > y) {
+                add(x, y, endX - x, minY - y);
+            }
+            if (maxY < endY) {
+                add(x, maxY, endX - x, endY - maxY);
+            }
+            // Mark as removed.
+            free[o + 2] = 0;
+        }
+        int survivors = compact(0, oldCount, 0);
+        int end = compact(oldCount, freeCount, survivors);
+        // Only the new rectangles can lie inside of others: an old one inside of a new one would lie inside of the old
+        // one which the new one was split from.
+        for (int i = survivors; i < end; i++) {
+            int o = 4 * i;
+            for (int j = 0; j < end; j++) {
+                if (j != i && free[4 * j + 2] > 0 && contains(4 * j, o)) {
+                    free[o + 2] = 0;
+                    break;
+                }
+            }
+        }
+        freeCount = compact(survivors, end, survivors);
+    }
+
+    private boolean contains(int outer, int inner) {
+        return free[inner] >= free[outer] && free[inner + 1] >= free[outer + 1]
+                && free[inner] + free[inner + 2] <= free[outer] + free[outer + 2]
+                && free[inner + 1] + free[inner + 3] <= free[outer + 1] + free[outer + 3];
+    }
+
+    /**
+     * Move the free rectangles in <code>[from..to)</code> which are not marked as removed to <code>dest</code> on.
+     *
+     * @return the end of the moved rectangles
+     */
+    private int compact(int from, int to, int dest) {
+        for (int i = from; i < to; i++) {
+            if (free[4 * i + 2] > 0) {
+                if (i != dest) {
+                    System.arraycopy(free, 4 * i, free, 4 * dest, 4);
+                }
+                dest++;
+            }
+        }
+        return dest;
+    }
+
+    private void add(int x, int y, int width, int height) {
+        if (4 * freeCount == free.length) {
+            free = Arrays.copyOf(free, 2 * free.length);
+        }
+        int o = 4 * freeCount++;
+        free[o] = x;
+        free[o + 1] = y;
+        free[o + 2] = width;
+        free[o + 3] = height;
+    }
+}
@@ -0,0 +1,264 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2i;
+import org.joml.Vector3i;
+
+/**
+ * Encodes integer coordinates as Morton codes, the keys of the Z-order space-filling curve, which interleave the bits of
+ * the coordinates.
+ * <p>
+ * Sorting cells by their Morton codes keeps most neighbouring cells close together, which makes the codes useful as
+ * keys for storage layouts and for radix-sorted hierarchy builds. In 2D, both coordinates are taken as unsigned 32-bit
+ * values and interleaved into 64 bits, with the bits of <code>x</code> in the even positions. In 3D, the lower 21 bits
+ * of each coordinate are taken as unsigned values and interleaved into the lower 63 bits, with the bits of
+ * <code>x</code> at the positions divisible by 3, followed by those of <code>y</code> and <code>z</code>. The codes of
+ * 2D cells must therefore be compared with {@link Long#compareUnsigned(long, long)}.
+ * <p>
+ * The cells of a box have codes between those of its minimum and maximum corner, but not every code in between belongs
+ * to the box; {@link #bigMin2d(long, long, long)} and {@link #bigMin3d(long, long, long)} skip from a code outside of
+ * the box to the next one inside.
+ * <p>
+ * Reference: <a href="https://doi.org/10.1016/0306-4379(81)90023-5">Tropf, H. and Herzog, H.: Multidimensional Range
+ * Search in Dynamically Balanced Trees</a>
+ *
+ * @see Hilbert
+ */
+public class Morton {
+
+    /**
+     * The bits of a 2D Morton code which belong to the x coordinate.
+     */
+    private static final long X_BITS_2D = 0x5555555555555555L;
+    /**
+     * The bits of a 3D Morton code which belong to the x coordinate.
+     */
+    private static final long X_BITS_3D = 0x1249249249249249L;
+
+    /**
+     * The largest coordinate that can be encoded in a 3D Morton code.
+     */
+    public static final int MAX_COORDINATE_3D = (1 << 21) - 1;
+
+    /**
+     * Return the Morton code of the 2D cell <code>(x, y)</code>.
+     *
+     * @param x
+     *          the x coordinate, taken as an unsigned value
+     * @param y
+     *          the y coordinate, taken as an unsigned value
+     * @return the Morton code
+     */
+    public static long encode2d(int x, int y) {
+        return spread2d(x) | spread2d(y) << 1;
+    }
+
+    /**
+     * Decode the given 2D Morton <code>code</code> and store the cell into <code>dest</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @param dest
+     *          will hold the cell
+     * @return dest
+     */
+    public static Vector2i decode2d(long code, Vector2i dest) {
+        return dest.set(compact2d(code), compact2d(code >>> 1));
+    }
+
+    /**
+     * Return the x coordinate of the cell with the given 2D Morton <code>code</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @return the x coordinate
+     */
+    public static int decode2dX(long code) {
+        return compact2d(code);
+    }
+
+    /**
+     * Return the y coordinate of the cell with the given 2D Morton <code>code</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @return the y coordinate
+     */
+    public static int decode2dY(long code) {
+        return compact2d(code >>> 1);
+    }
+
+    /**
+     * Return the Morton code of the 3D cell <code>(x, y, z)</code>.
+     *
+     * @param x
+     *          the x coordinate, of which only the lower 21 bits are used
+     * @param y
+     *          the y coordinate, of which only the lower 21 bits are used
+     * @param z
+     *          the z coordinate, of which only the lower 21 bits are used
+     * @return the Morton code
+     */
+    public static long encode3d(int x, int y, int z) {
+        return spread3d(x) | spread3d(y) << 1 | spread3d(z) << 2;
+    }
+
+    /**
+     * Decode the given 3D Morton <code>code</code> and store the cell into <code>dest</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @param dest
+     *          will hold the cell
+     * @return dest
+     */
+    public static Vector3i decode3d(long code, Vector3i dest) {
+        return dest.set(compact3d(code), compact3d(code >>> 1), compact3d(code >>> 2));
+    }
+
+    /**
+     * Return the x coordinate of the cell with the given 3D Morton <code>code</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @return the x coordinate
+     */
+    public static int decode3dX(long code) {
+        return compact3d(code);
+    }
+
+    /**
+     * Return the y coordinate of the cell with the given 3D Morton <code>code</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @return the y coordinate
+     */
+    public static int decode3dY(long code) {
+        return compact3d(code >>> 1);
+    }
+
+    /**
+     * Return the z coordinate of the cell with the given 3D Morton <code>code</code>.
+     *
+     * @param code
+     *          the Morton code
+     * @return the z coordinate
+     */
+    public static int decode3dZ(long code) {
+        return compact3d(code >>> 2);
+    }
+
+    /**
+     * Spread the 32 bits of <code>v</code> to the even bits of the result.
+     */
+    private static long spread2d(int v) {
+        long x = v & 0xFFFFFFFFL;
+        x = (x | x << 16) & 0x0000FFFF0000FFFFL;
+        x = (x | x << 8) & 0x00FF00FF00FF00FFL;
+        x = (x | x << 4) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | x << 2) & 0x3333333333333333L;
+        return (x | x << 1) & X_BITS_2D;
+    }
+
+    /**
+     * Gather the even bits of <code>code</code>.
+     */
+    private static int compact2d(long code) {
+        long x = code & X_BITS_2D;
+        x = (x | x >>> 1) & 0x3333333333333333L;
+        x = (x | x >>> 2) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | x >>> 4) & 0x00FF00FF00FF00FFL;
+        x = (x | x >>> 8) & 0x0000FFFF0000FFFFL;
+        return (int) (x | x >>> 16);
+    }
+
+    /**
+     * Spread the lower 21 bits of <code>v</code> to every third bit of the result.
+     */
+    private static long spread3d(int v) {
+        long x = v & MAX_COORDINATE_3D;
+        x = (x | x << 32) & 0x001F00000000FFFFL;
+        x = (x | x << 16) & 0x001F0000FF0000FFL;
+        x = (x | x << 8) & 0x100F00F00F00F00FL;
+        x = (x | x << 4) & 0x10C30C30C30C30C3L;
+        return (x | x << 2) & X_BITS_3D;
+    }
+
+    /**
+     * Gather every third bit of <code>code</code>, starting with the lowest.
+     */
+    private static int compact3d(long code) {
+        long x = code & X_BITS_3D;
+        x = (x | x >>> 2) & 0x10C30C30C30C30C3L;
+        x = (x | x >>> 4) & 0x100F00F00F00F00FL;
+        x = (x | x >>> 8) & 0x001F0000FF0000FFL;
+        x = (x | x >>> 16) & 0x001F00000000FFFFL;
+        return (int) ((x | x >>> 32) & MAX_COORDINATE_3D);
+    }
+
+    /**
+     * Return the smallest 2D Morton code greater than <code>code</code> of a cell in the rectangle whose minimum and
+     * maximum cells have the codes <code>min</code> and <code>max</code>.
+     * <p>
+     * The given <code>code</code> must lie in <code>[min..max]</code> in unsigned order, but its cell outside of the
+     * rectangle. This allows scanning a sorted list of codes for the cells of a rectangle by skipping over the runs of
+     * codes outside of it.
+     *
+     * @param code
+     *          a code of a cell outside of the rectangle
+     * @param min
+     *          the code of the minimum cell of the rectangle
+     * @param max
+     *          the code of the maximum cell of the rectangle
+     * @return the next code of a cell in the rectangle
+     */
+    public static long bigMin2d(long code, long min, long max) {
+        return bigMin(code, min, max, 63, 2, X_BITS_2D);
+    }
+
+    /**
+     * Return the smallest 3D Morton code greater than <code>code</code> of a cell in the box whose minimum and maximum
+     * cells have the codes <code>min</code> and <code>max</code>.
+     * <p>
+     * The given <code>code</code> must lie in <code>[min..max]</code>, but its cell outside of the box. This allows
+     * scanning a sorted list of codes for the cells of a box by skipping over the runs of codes outside of it.
+     *
+     * @param code
+     *          a code of a cell outside of the box
+     * @param min
+     *          the code of the minimum cell of the box
+     * @param max
+     *          the code of the maximum cell of the box
+     * @return the next code of a cell in the box
+     */
+    public static long bigMin3d(long code, long min, long max) {
+        return bigMin(code, min, max, 62, 3, X_BITS_3D);
+    }
+
+    private static long bigMin(long code, long min, long max, int topBit, int dimensions, long xBits) {
+        long bigMin = 0L;
+        for (int bit = topBit; bit >= 0; bit--) {
+            long b = 1L << bit;
+            // The lower bits of the coordinate to which this bit belongs.
+            long lower = xBits << (bit % dimensions) & (b - 1);
+            boolean c = (code & b) != 0, lo = (min & b) != 0, hi = (max & b) != 0;
+            if (!c && !lo && hi) {
+                // The box straddles this bit: the upper half holds the candidate, continue in the lower half.
+                bigMin = (min | b) & ~lower;
+                max = (max & ~b) | lower;
+            } else if (!c && lo) {
+                // The whole remaining box is above the code.
+                return min;
+            } else if (c && !hi) {
+                // The whole remaining box is below the code.
+                return bigMin;
+            } else if (c && !lo) {
+                // Continue in the upper half of the remaining box.
+                min = (min | b) & ~lower;
+            }
+        }
+        return bigMin;
+    }
+}
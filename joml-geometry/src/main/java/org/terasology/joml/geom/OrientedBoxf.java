@@ -0,0 +1,161 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Options;
+import org.joml.Quaternionfc;
+import org.joml.Runtime;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+/**
+ * Represents a 3D oriented box given via its center position, orientation and half-size, as in
+ * {@link Intersectionf#testObOb(Vector3f, Vector3f, Vector3f, Vector3f, Vector3f, Vector3f, Vector3f, Vector3f, Vector3f, Vector3f)}.
+ * <p>
+ * The orientation is given as three unit vectors spanning the local orthonormal basis of the box, and the half-size
+ * along each of them.
+ */
+public class OrientedBoxf implements ConvexShapef {
+
+    /**
+     * The center of the box.
+     */
+    public final Vector3f center = new Vector3f();
+    /**
+     * The local X unit vector of the box.
+     */
+    public final Vector3f axisX = new Vector3f(1.0f, 0.0f, 0.0f);
+    /**
+     * The local Y unit vector of the box.
+     */
+    public final Vector3f axisY = new Vector3f(0.0f, 1.0f, 0.0f);
+    /**
+     * The local Z unit vector of the box.
+     */
+    public final Vector3f axisZ = new Vector3f(0.0f, 0.0f, 1.0f);
+    /**
+     * The half-size of the box along each of its local unit vectors.
+     */
+    public final Vector3f halfSize = new Vector3f();
+
+    /**
+     * Create a new {@link OrientedBoxf} on the point <code>(0, 0, 0)</code> with the identity orientation and half-size
+     * <code>(0, 0, 0)</code>.
+     */
+    public OrientedBoxf() {
+    }
+
+    /**
+     * Create a new {@link OrientedBoxf} as a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link OrientedBoxf} to copy from
+     */
+    public OrientedBoxf(OrientedBoxf source) {
+        set(source);
+    }
+
+    /**
+     * Create a new {@link OrientedBoxf} with the given center and half-size, rotated by <code>rotation</code>.
+     *
+     * @see #set(Vector3fc, Vector3fc, Quaternionfc)
+     *
+     * @param center
+     *          the center of the box
+     * @param halfSize
+     *          the half-size of the box along its local unit vectors
+     * @param rotation
+     *          the rotation of the box
+     */
+    public OrientedBoxf(Vector3fc center, Vector3fc halfSize, Quaternionfc rotation) {
+        set(center, halfSize, rotation);
+    }
+
+    /**
+     * Set this box to a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link OrientedBoxf} to copy from
+     * @return this
+     */
+    public OrientedBoxf set(OrientedBoxf source) {
+        center.set(source.center);
+        axisX.set(source.axisX);
+        axisY.set(source.axisY);
+        axisZ.set(source.axisZ);
+        halfSize.set(source.halfSize);
+        return this;
+    }
+
+    /**
+     * Set this box to the given center and half-size, rotated by <code>rotation</code>, whose rotated unit vectors become
+     * the local unit vectors of the box.
+     *
+     * @param center
+     *          the center of the box
+     * @param halfSize
+     *          the half-size of the box along its local unit vectors
+     * @param rotation
+     *          the rotation of the box
+     * @return this
+     */
+    public OrientedBoxf set(Vector3fc center, Vector3fc halfSize, Quaternionfc rotation) {
+        this.center.set(center);
+        this.halfSize.set(halfSize);
+        rotation.transform(1.0f, 0.0f, 0.0f, axisX);
+        rotation.transform(0.0f, 1.0f, 0.0f, axisY);
+        rotation.transform(0.0f, 0.0f, 1.0f, axisZ);
+        return this;
+    }
+
+    /**
+     * Store the corner of this box that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> into
+     * <code>dest</code>.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    @Override
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        float hX = axisX.x * dirX + axisX.y * dirY + axisX.z * dirZ < 0.0f ? -halfSize.x : halfSize.x;
+        float hY = axisY.x * dirX + axisY.y * dirY + axisY.z * dirZ < 0.0f ? -halfSize.y : halfSize.y;
+        float hZ = axisZ.x * dirX + axisZ.y * dirY + axisZ.z * dirZ < 0.0f ? -halfSize.z : halfSize.z;
+        return dest.set(center.x + axisX.x * hX + axisY.x * hY + axisZ.x * hZ,
+                center.y + axisX.y * hX + axisY.y * hY + axisZ.y * hZ,
+                center.z + axisX.z * hX + axisY.z * hY + axisZ.z * hZ);
+    }
+
+    /**
+     * Return a string representation of this box.
+     * <p>
+     * This method creates a new {@link DecimalFormat} on every invocation with the format string "<code>0.000E0;-</code>".
+     *
+     * @return the string representation
+     */
+    public String toString() {
+        return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+    }
+
+    /**
+     * Return a string representation of this box by formatting the components with the given {@link NumberFormat}.
+     *
+     * @param formatter
+     *          the {@link NumberFormat} used to format the components with
+     * @return the string representation
+     */
+    public String toString(NumberFormat formatter) {
+        return "[" + center.toString(formatter) + " " + axisX.toString(formatter) + " " + axisY.toString(formatter) + " "
+                + axisZ.toString(formatter) + " " + halfSize.toString(formatter) + "]";
+    }
+
+}
@@ -0,0 +1,203 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Loops behind the parallel bulk tests of {@link Intersectionf}, which test many queries against many primitives.
+ * <p>
+ * The queries are split into chunks of {@link #QUERY_CHUNK} for the tasks of a {@link ForkJoinPool}, and each task walks
+ * the primitives in tiles of {@link #TILE}, testing all of its queries against one tile before moving on to the next, so
+ * that the tile stays in the cache. The tests of a query against a tile run in the same {@link BatchKernels} as the
+ * single-query batch tests, vectorized where available, so the results match those bit for bit, and are then packed into
+ * bits. Each task allocates its own scratch arrays of one tile, indexed relative to the start of the tile, so callers need
+ * none.
+ */
+final class ParallelBatchKernels {
+
+    /**
+     * The number of queries per task.
+     */
+    private static final int QUERY_CHUNK = 64;
+    /**
+     * The number of primitives per tile, a multiple of 64 whose six bounds arrays take 48 KiB.
+     */
+    private static final int TILE = 2048;
+
+    private ParallelBatchKernels() {
+    }
+
+    /**
+     * Processes the queries <code>[from..to)</code> and returns the number of hits.
+     */
+    @FunctionalInterface
+    interface Chunk {
+        long run(int from, int to);
+    }
+
+    private static final class Task extends RecursiveTask<Long> {
+        private final int from, to;
+        private final Chunk chunk;
+
+        Task(int from, int to, Chunk chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        protected Long compute() {
+            if (to - from <= QUERY_CHUNK) {
+                return chunk.run(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Task left = new Task(from, mid, chunk);
+            left.fork();
+            long hits = new Task(mid, to, chunk).compute();
+            return hits + left.join();
+        }
+    }
+
+    private static long run(ForkJoinPool pool, int queryCount, Chunk chunk) {
+        if (queryCount <= QUERY_CHUNK) {
+            return chunk.run(0, queryCount);
+        }
+        return pool.invoke(new Task(0, queryCount, chunk));
+    }
+
+    /**
+     * Return the number of <code>long</code> words of the bits of one query against <code>count</code> primitives.
+     */
+    static int words(int count) {
+        return (count + 63) >>> 6;
+    }
+
+    /**
+     * Pack the results of the elements <code>[from..to)</code>, where <code>from</code> is a multiple of 64, from
+     * <code>hit[0..to - from)</code> into the words of the given row of <code>hits</code>, and return the number of hits.
+     */
+    private static int pack(boolean[] hit, int from, int to, long[] hits, int row) {
+        int total = 0;
+        for (int word = from; word < to; word += 64) {
+            long bits = 0L;
+            for (int i = word, end = java.lang.Math.min(to, word + 64); i < end; i++) {
+                bits |= (hit[i - from] ? 1L : 0L) << i;
+            }
+            hits[row + (word >>> 6)] = bits;
+            total += Long.bitCount(bits);
+        }
+        return total;
+    }
+
+    static long aabSphere(ForkJoinPool pool, float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ,
+            int count, float[] centerX, float[] centerY, float[] centerZ, float[] radiusSquared, int sphereCount, long[] hits) {
+        int words = words(count);
+        return run(pool, sphereCount, (from, to) -> {
+            boolean[] hit = new boolean[java.lang.Math.min(count, TILE)];
+            long total = 0;
+            for (int tile = 0; tile < count; tile += TILE) {
+                int tileEnd = java.lang.Math.min(count, tile + TILE);
+                for (int q = from; q < to; q++) {
+                    BatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, tile, tileEnd,
+                            centerX[q], centerY[q], centerZ[q], radiusSquared[q], hit, tile);
+                    total += pack(hit, tile, tileEnd, hits, q * words);
+                }
+            }
+            return total;
+        });
+    }
+
+    static long aabAab(ForkJoinPool pool, float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ,
+            int count, float[] qMinX, float[] qMinY, float[] qMinZ, float[] qMaxX, float[] qMaxY, float[] qMaxZ, int queryCount,
+            long[] hits) {
+        int words = words(count);
+        return run(pool, queryCount, (from, to) -> {
+            boolean[] hit = new boolean[java.lang.Math.min(count, TILE)];
+            long total = 0;
+            for (int tile = 0; tile < count; tile += TILE) {
+                int tileEnd = java.lang.Math.min(count, tile + TILE);
+                for (int q = from; q < to; q++) {
+                    BatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, tile, tileEnd,
+                            qMinX[q], qMinY[q], qMinZ[q], qMaxX[q], qMaxY[q], qMaxZ[q], hit, tile);
+                    total += pack(hit, tile, tileEnd, hits, q * words);
+                }
+            }
+            return total;
+        });
+    }
+
+    static long rayAab(ForkJoinPool pool, float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int count, long[] hits) {
+        int words = words(count);
+        return run(pool, rayCount, (from, to) -> {
+            int scratch = java.lang.Math.min(count, TILE);
+            boolean[] hit = new boolean[scratch];
+            float[] tNear = new float[scratch], tFar = new float[scratch];
+            long total = 0;
+            for (int tile = 0; tile < count; tile += TILE) {
+                int tileEnd = java.lang.Math.min(count, tile + TILE);
+                for (int q = from; q < to; q++) {
+                    float invDirX = 1.0f / dirX[q], invDirY = 1.0f / dirY[q], invDirZ = 1.0f / dirZ[q];
+                    // Pick the slab planes by the sign of the direction once per ray, as the single-ray batch test does.
+                    float[] nearX = invDirX >= 0.0f ? minX : maxX, farX = invDirX >= 0.0f ? maxX : minX;
+                    float[] nearY = invDirY >= 0.0f ? minY : maxY, farY = invDirY >= 0.0f ? maxY : minY;
+                    float[] nearZ = invDirZ >= 0.0f ? minZ : maxZ, farZ = invDirZ >= 0.0f ? maxZ : minZ;
+                    BatchKernels.rayAab(originX[q], originY[q], originZ[q], invDirX, invDirY, invDirZ,
+                            nearX, nearY, nearZ, farX, farY, farZ, tile, tileEnd, tNear, tFar, tile);
+                    BatchKernels.rayHits(0, tileEnd - tile, tNear, tFar, hit);
+                    total += pack(hit, tile, tileEnd, hits, q * words);
+                }
+            }
+            return total;
+        });
+    }
+
+    static int raySphere(ForkJoinPool pool, float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] centerX, float[] centerY, float[] centerZ, float[] radiusSquared, int count,
+            int[] nearest, float[] tNear, float[] tFar) {
+        return (int) run(pool, rayCount, (from, to) -> {
+            for (int q = from; q < to; q++) {
+                nearest[q] = -1;
+                tNear[q] = Float.POSITIVE_INFINITY;
+            }
+            for (int tile = 0; tile < count; tile += TILE) {
+                int tileEnd = java.lang.Math.min(count, tile + TILE);
+                for (int q = from; q < to; q++) {
+                    float oX = originX[q], oY = originY[q], oZ = originZ[q], dX = dirX[q], dY = dirY[q], dZ = dirZ[q];
+                    int best = nearest[q];
+                    float bestNear = tNear[q], bestFar = tFar[q];
+                    for (int i = tile; i < tileEnd; i++) {
+                        // The same expressions as Intersectionf.intersectRaySphere().
+                        float Lx = centerX[i] - oX;
+                        float Ly = centerY[i] - oY;
+                        float Lz = centerZ[i] - oZ;
+                        float tca = Lx * dX + Ly * dY + Lz * dZ;
+                        float d2 = Lx * Lx + Ly * Ly + Lz * Lz - tca * tca;
+                        if (d2 > radiusSquared[i]) {
+                            continue;
+                        }
+                        float thc = (float) java.lang.Math.sqrt(radiusSquared[i] - d2);
+                        float t0 = tca - thc;
+                        float t1 = tca + thc;
+                        if (t0 < t1 && t1 >= 0.0f && t0 < bestNear) {
+                            best = i;
+                            bestNear = t0;
+                            bestFar = t1;
+                        }
+                    }
+                    nearest[q] = best;
+                    tNear[q] = bestNear;
+                    tFar[q] = bestFar;
+                }
+            }
+            long hits = 0;
+            for (int q = from; q < to; q++) {
+                hits += nearest[q] >= 0 ? 1 : 0;
+            }
+            return hits;
+        });
+    }
+}
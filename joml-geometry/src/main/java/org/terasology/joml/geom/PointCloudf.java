@@ -0,0 +1,126 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Represents the convex hull of a set of 3D points, e.g. the vertices of a convex mesh, without computing the hull.
+ * <p>
+ * The points are kept in a packed <code>float[]</code>, and {@link #support(float, float, float, Vector3f)} scans all of
+ * them, so points inside the hull only cost time.
+ */
+public class PointCloudf implements ConvexShapef {
+
+    private final float[] points;
+    private final int count;
+
+    /**
+     * Create a new {@link PointCloudf} with a copy of the given sequence of <code>(x, y, z)</code> coordinate triples.
+     *
+     * @param pointsXYZ
+     *          the sequence of <code>(x, y, z)</code> coordinate triples of all points
+     * @throws IllegalArgumentException
+     *          if there are no points
+     */
+    public PointCloudf(float[] pointsXYZ) {
+        count = pointsXYZ.length / 3;
+        if (count == 0) {
+            throw new IllegalArgumentException("A point cloud needs at least 1 point");
+        }
+        points = new float[3 * count];
+        System.arraycopy(pointsXYZ, 0, points, 0, 3 * count);
+    }
+
+    /**
+     * Create a new {@link PointCloudf} with the given points.
+     *
+     * @param points
+     *          the points
+     * @throws IllegalArgumentException
+     *          if there are no points
+     */
+    public PointCloudf(Vector3fc... points) {
+        count = points.length;
+        if (count == 0) {
+            throw new IllegalArgumentException("A point cloud needs at least 1 point");
+        }
+        this.points = new float[3 * count];
+        for (int i = 0; i < count; i++) {
+            this.points[3 * i] = points[i].x();
+            this.points[3 * i + 1] = points[i].y();
+            this.points[3 * i + 2] = points[i].z();
+        }
+    }
+
+    /**
+     * Return the number of points.
+     *
+     * @return the number of points
+     */
+    public int pointCount() {
+        return count;
+    }
+
+    /**
+     * Store the point with the given index into <code>dest</code>.
+     *
+     * @param index
+     *          the index of the point
+     * @param dest
+     *          will hold the point
+     * @return dest
+     */
+    public Vector3f getPoint(int index, Vector3f dest) {
+        return dest.set(points[3 * index], points[3 * index + 1], points[3 * index + 2]);
+    }
+
+    /**
+     * Translate <code>this</code> by the vector <code>(x, y, z)</code>.
+     *
+     * @param x
+     *          the x coordinate to translate by
+     * @param y
+     *          the y coordinate to translate by
+     * @param z
+     *          the z coordinate to translate by
+     * @return this
+     */
+    public PointCloudf translate(float x, float y, float z) {
+        for (int i = 0; i < 3 * count; i += 3) {
+            points[i] += x;
+            points[i + 1] += y;
+            points[i + 2] += z;
+        }
+        return this;
+    }
+
+    /**
+     * Store the point that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> into <code>dest</code>.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    @Override
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        int best = 0;
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < 3 * count; i += 3) {
+            float d = points[i] * dirX + points[i + 1] * dirY + points[i + 2] * dirZ;
+            if (d > max) {
+                max = d;
+                best = i;
+            }
+        }
+        return dest.set(points[best], points[best + 1], points[best + 2]);
+    }
+
+}
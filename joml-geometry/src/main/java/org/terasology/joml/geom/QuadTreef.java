@@ -0,0 +1,642 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A region quadtree over rectangles in single-precision floats, which supports inserting, moving and removing
+ * rectangles and finds those containing a point, those intersecting a rectangle, and those nearest to a point.
+ * <p>
+ * Every node covers a quadrant of its parent, and every rectangle is stored in the deepest node whose quadrant fully
+ * contains it. A leaf splits into four children once it holds more than <code>maxLeafSize</code> rectangles, unless it
+ * has reached the maximum depth, and four leaf children merge back into their parent once they and the parent hold no
+ * more than <code>maxLeafSize</code> rectangles together. Rectangles outside of the region are stored in the root,
+ * which queries never cull. Each node stores the handles and bounds of its rectangles in its own primitive arrays.
+ * <p>
+ * Rectangles and queries are treated as closed, as for {@link RTreef}. Use {@link RTreef} for static content, which it
+ * packs tighter, and this class for content which changes between queries.
+ * <p>
+ * Queries do not allocate: they share a traversal stack and priority queue owned by the tree. This class is therefore
+ * not thread-safe, and a tree must not be queried again from within the consumer of one of its queries.
+ * <p>
+ * Reference: <a href="https://doi.org/10.1145/356924.356930">Samet, The Quadtree and Related Hierarchical Data Structures</a>
+ */
+public class QuadTreef {
+
+    /**
+     * The default maximum number of rectangles per leaf.
+     */
+    public static final int DEFAULT_MAX_LEAF_SIZE = 8;
+
+    private static final int NULL = -1;
+    private static final int ROOT = 0;
+
+    private final int maxDepth;
+    private final int maxLeafSize;
+
+    /**
+     * The quadrants of the nodes as consecutive <code>minX, minY, maxX, maxY</code> tuples.
+     */
+    private float[] nodeBounds;
+    /**
+     * The first of the four consecutive children of each node, or {@link #NULL} for leaves. The children are indexed by
+     * <code>(x &gt;= centerX ? 1 : 0) | (y &gt;= centerY ? 2 : 0)</code>.
+     */
+    private int[] nodeChildren;
+    private int[] nodeParent;
+    private int[] nodeDepth;
+    /**
+     * The handles and, as consecutive <code>minX, minY, maxX, maxY</code> tuples, the bounds of the rectangles in each
+     * node. The arrays are kept when a node is recycled.
+     */
+    private int[][] nodeItems;
+    private float[][] nodeItemBounds;
+    private int[] nodeItemCount;
+    /**
+     * The first nodes of the recycled blocks of four children.
+     */
+    private int[] freeBlocks;
+    private int freeBlockCount;
+    private int nodeTop;
+    private int nodeCount;
+
+    /**
+     * The node of each rectangle, or {@link #NULL} for unused handles, and its position in the arrays of that node.
+     */
+    private int[] itemNode;
+    private int[] itemSlot;
+    private int[] freeHandles;
+    private int freeCount;
+    private int capacity;
+    private int size;
+
+    /**
+     * The traversal stack and priority queue shared by the queries.
+     */
+    private final int[] stack;
+    private final FloatIntHeap queue = new FloatIntHeap(64);
+    private final int[] nearestResult = new int[1];
+
+    /**
+     * Create a new empty {@link QuadTreef} over the given region.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner of the region
+     * @param minY
+     *          the y coordinate of the minimum corner of the region
+     * @param maxX
+     *          the x coordinate of the maximum corner of the region
+     * @param maxY
+     *          the y coordinate of the maximum corner of the region
+     * @param maxDepth
+     *          the depth of the deepest nodes, where the root has depth <code>0</code>
+     * @param maxLeafSize
+     *          the number of rectangles above which a leaf splits
+     */
+    public QuadTreef(float minX, float minY, float maxX, float maxY, int maxDepth, int maxLeafSize) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            throw new IllegalArgumentException("Invalid region: (" + minX + ", " + minY + ") - (" + maxX + ", " + maxY + ")");
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+        }
+        if (maxLeafSize < 1) {
+            throw new IllegalArgumentException("maxLeafSize must be positive: " + maxLeafSize);
+        }
+        this.maxDepth = maxDepth;
+        this.maxLeafSize = maxLeafSize;
+        this.stack = new int[3 * maxDepth + 1];
+        growNodes(1 + 4 * 4);
+        grow(16);
+        nodeTop = 1;
+        nodeCount = 1;
+        initNode(ROOT, NULL, 0, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Create a new empty {@link QuadTreef} over the given region with at most {@link #DEFAULT_MAX_LEAF_SIZE} rectangles
+     * per leaf above the maximum depth.
+     *
+     * @see #QuadTreef(float, float, float, float, int, int)
+     *
+     * @param region
+     *          the region to subdivide
+     * @param maxDepth
+     *          the depth of the deepest nodes, where the root has depth <code>0</code>
+     */
+    public QuadTreef(Rectanglefc region, int maxDepth) {
+        this(region.minX(), region.minY(), region.maxX(), region.maxY(), maxDepth, DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    private void grow(int newCapacity) {
+        itemNode = itemNode == null ? new int[newCapacity] : Arrays.copyOf(itemNode, newCapacity);
+        itemSlot = itemSlot == null ? new int[newCapacity] : Arrays.copyOf(itemSlot, newCapacity);
+        freeHandles = freeHandles == null ? new int[newCapacity] : Arrays.copyOf(freeHandles, newCapacity);
+        Arrays.fill(itemNode, capacity, newCapacity, NULL);
+        // Hand out the new handles in ascending order.
+        for (int h = newCapacity - 1; h >= capacity; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        capacity = newCapacity;
+    }
+
+    private void growNodes(int newCapacity) {
+        nodeBounds = nodeBounds == null ? new float[4 * newCapacity] : Arrays.copyOf(nodeBounds, 4 * newCapacity);
+        nodeChildren = nodeChildren == null ? new int[newCapacity] : Arrays.copyOf(nodeChildren, newCapacity);
+        nodeParent = nodeParent == null ? new int[newCapacity] : Arrays.copyOf(nodeParent, newCapacity);
+        nodeDepth = nodeDepth == null ? new int[newCapacity] : Arrays.copyOf(nodeDepth, newCapacity);
+        nodeItems = nodeItems == null ? new int[newCapacity][] : Arrays.copyOf(nodeItems, newCapacity);
+        nodeItemBounds = nodeItemBounds == null ? new float[newCapacity][] : Arrays.copyOf(nodeItemBounds, newCapacity);
+        nodeItemCount = nodeItemCount == null ? new int[newCapacity] : Arrays.copyOf(nodeItemCount, newCapacity);
+        freeBlocks = freeBlocks == null ? new int[newCapacity / 4] : Arrays.copyOf(freeBlocks, newCapacity / 4);
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= capacity || itemNode[handle] == NULL) {
+            throw new IllegalArgumentException("Not a rectangle: " + handle);
+        }
+    }
+
+    /**
+     * Return the number of rectangles.
+     *
+     * @return the number of rectangles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of nodes, including the root.
+     *
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Insert the rectangle with the given minimum corner <code>(minX, minY)</code> and maximum corner <code>(maxX, maxY)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @return the handle of the rectangle
+     */
+    public int insert(float minX, float minY, float maxX, float maxY) {
+        if (freeCount == 0) {
+            grow(2 * capacity);
+        }
+        int handle = freeHandles[--freeCount];
+        place(handle, minX, minY, maxX, maxY);
+        size++;
+        return handle;
+    }
+
+    /**
+     * Insert the given rectangle.
+     *
+     * @see #insert(float, float, float, float)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @return the handle of the rectangle
+     */
+    public int insert(Rectanglefc rectangle) {
+        return insert(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Insert the given integer rectangle, converted to floats.
+     *
+     * @see #insert(float, float, float, float)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @return the handle of the rectangle
+     */
+    public int insert(Rectangleic rectangle) {
+        return insert(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Set the bounds of the rectangle with the given handle to the given minimum corner <code>(minX, minY)</code> and
+     * maximum corner <code>(maxX, maxY)</code>.
+     *
+     * @param handle
+     *          the handle of the rectangle
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @return <code>true</code> if the rectangle moved to another node; <code>false</code> if it stays in the same node
+     */
+    public boolean update(int handle, float minX, float minY, float maxX, float maxY) {
+        checkHandle(handle);
+        int node = itemNode[handle];
+        if (findNode(minX, minY, maxX, maxY) == node) {
+            setItemBounds(node, itemSlot[handle], minX, minY, maxX, maxY);
+            return false;
+        }
+        removeFromNode(handle);
+        collapse(node);
+        place(handle, minX, minY, maxX, maxY);
+        return itemNode[handle] != node;
+    }
+
+    /**
+     * Set the bounds of the rectangle with the given handle to the given rectangle.
+     *
+     * @see #update(int, float, float, float, float)
+     *
+     * @param handle
+     *          the handle of the rectangle
+     * @param rectangle
+     *          the new bounds
+     * @return <code>true</code> if the rectangle moved to another node; <code>false</code> if it stays in the same node
+     */
+    public boolean update(int handle, Rectanglefc rectangle) {
+        return update(handle, rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Remove the rectangle with the given handle. The handle may be handed out again by subsequent insertions.
+     *
+     * @param handle
+     *          the handle of the rectangle
+     */
+    public void remove(int handle) {
+        checkHandle(handle);
+        int node = itemNode[handle];
+        removeFromNode(handle);
+        collapse(node);
+        itemNode[handle] = NULL;
+        freeHandles[freeCount++] = handle;
+        size--;
+    }
+
+    /**
+     * Remove all rectangles and nodes except for the root, keeping the memory allocated so far.
+     * <p>
+     * Subsequent insertions hand out the handles <code>0, 1, 2, ...</code> in order.
+     */
+    public void clear() {
+        nodeChildren[ROOT] = NULL;
+        nodeItemCount[ROOT] = 0;
+        nodeTop = 1;
+        nodeCount = 1;
+        freeBlockCount = 0;
+        Arrays.fill(itemNode, NULL);
+        freeCount = 0;
+        for (int h = capacity - 1; h >= 0; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        size = 0;
+    }
+
+    /**
+     * Store the bounds of the rectangle with the given handle into <code>dest</code>.
+     *
+     * @param handle
+     *          the handle of the rectangle
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rectanglef getBounds(int handle, Rectanglef dest) {
+        checkHandle(handle);
+        float[] b = nodeItemBounds[itemNode[handle]];
+        int o = 4 * itemSlot[handle];
+        return dest.setMin(b[o], b[o + 1]).setMax(b[o + 2], b[o + 3]);
+    }
+
+    private void initNode(int node, int parent, int depth, float minX, float minY, float maxX, float maxY) {
+        int o = 4 * node;
+        nodeBounds[o] = minX;
+        nodeBounds[o + 1] = minY;
+        nodeBounds[o + 2] = maxX;
+        nodeBounds[o + 3] = maxY;
+        nodeChildren[node] = NULL;
+        nodeParent[node] = parent;
+        nodeDepth[node] = depth;
+        nodeItemCount[node] = 0;
+    }
+
+    private boolean contains(int node, float minX, float minY, float maxX, float maxY) {
+        int o = 4 * node;
+        return minX >= nodeBounds[o] && minY >= nodeBounds[o + 1] && maxX <= nodeBounds[o + 2] && maxY <= nodeBounds[o + 3];
+    }
+
+    /**
+     * Return the child of the given inner node whose quadrant contains the given rectangle, or {@link #NULL}.
+     */
+    private int childContaining(int node, float minX, float minY, float maxX, float maxY) {
+        int o = 4 * node;
+        float centerX = (nodeBounds[o] + nodeBounds[o + 2]) * 0.5f, centerY = (nodeBounds[o + 1] + nodeBounds[o + 3]) * 0.5f;
+        int child = nodeChildren[node] + ((minX >= centerX ? 1 : 0) | (minY >= centerY ? 2 : 0));
+        return contains(child, minX, minY, maxX, maxY) ? child : NULL;
+    }
+
+    /**
+     * Descend from the root as long as a child contains the given rectangle.
+     */
+    private int findNode(float minX, float minY, float maxX, float maxY) {
+        int node = ROOT;
+        if (!contains(ROOT, minX, minY, maxX, maxY)) {
+            return ROOT;
+        }
+        while (nodeChildren[node] != NULL) {
+            int child = childContaining(node, minX, minY, maxX, maxY);
+            if (child == NULL) {
+                break;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private void place(int handle, float minX, float minY, float maxX, float maxY) {
+        int node = findNode(minX, minY, maxX, maxY);
+        addToNode(node, handle, minX, minY, maxX, maxY);
+        if (nodeChildren[node] == NULL) {
+            split(node);
+        }
+    }
+
+    /**
+     * Split the given leaf if it holds too many rectangles, and push those which fit into a child down into it.
+     */
+    private void split(int node) {
+        if (nodeItemCount[node] <= maxLeafSize || nodeDepth[node] >= maxDepth) {
+            return;
+        }
+        int first = allocateBlock();
+        nodeChildren[node] = first;
+        int o = 4 * node;
+        float minX = nodeBounds[o], minY = nodeBounds[o + 1], maxX = nodeBounds[o + 2], maxY = nodeBounds[o + 3];
+        float centerX = (minX + maxX) * 0.5f, centerY = (minY + maxY) * 0.5f;
+        int depth = nodeDepth[node] + 1;
+        initNode(first, node, depth, minX, minY, centerX, centerY);
+        initNode(first + 1, node, depth, centerX, minY, maxX, centerY);
+        initNode(first + 2, node, depth, minX, centerY, centerX, maxY);
+        initNode(first + 3, node, depth, centerX, centerY, maxX, maxY);
+        int[] items = nodeItems[node];
+        float[] b = nodeItemBounds[node];
+        for (int i = nodeItemCount[node] - 1; i >= 0; i--) {
+            int p = 4 * i;
+            int child = childContaining(node, b[p], b[p + 1], b[p + 2], b[p + 3]);
+            if (child != NULL) {
+                int handle = items[i];
+                float itemMinX = b[p], itemMinY = b[p + 1], itemMaxX = b[p + 2], itemMaxY = b[p + 3];
+                removeFromNode(handle);
+                addToNode(child, handle, itemMinX, itemMinY, itemMaxX, itemMaxY);
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            split(first + i);
+        }
+    }
+
+    /**
+     * Merge the children of the parent of the given node, and further up, as long as they are leaves holding no more than
+     * <code>maxLeafSize</code> rectangles together with their parent.
+     */
+    private void collapse(int node) {
+        if (nodeChildren[node] == NULL) {
+            node = nodeParent[node];
+        }
+        while (node != NULL) {
+            int first = nodeChildren[node];
+            int total = nodeItemCount[node];
+            for (int i = first; i < first + 4; i++) {
+                if (nodeChildren[i] != NULL) {
+                    return;
+                }
+                total += nodeItemCount[i];
+            }
+            if (total > maxLeafSize) {
+                return;
+            }
+            for (int i = first; i < first + 4; i++) {
+                int[] items = nodeItems[i];
+                float[] b = nodeItemBounds[i];
+                for (int j = 0, n = nodeItemCount[i]; j < n; j++) {
+                    int p = 4 * j;
+                    addToNode(node, items[j], b[p], b[p + 1], b[p + 2], b[p + 3]);
+                }
+            }
+            nodeChildren[node] = NULL;
+            freeBlocks[freeBlockCount++] = first;
+            nodeCount -= 4;
+            node = nodeParent[node];
+        }
+    }
+
+    private int allocateBlock() {
+        nodeCount += 4;
+        if (freeBlockCount > 0) {
+            return freeBlocks[--freeBlockCount];
+        }
+        if (nodeTop + 4 > nodeItemCount.length) {
+            growNodes(2 * nodeItemCount.length - 1);
+        }
+        int first = nodeTop;
+        nodeTop += 4;
+        return first;
+    }
+
+    private void addToNode(int node, int handle, float minX, float minY, float maxX, float maxY) {
+        int n = nodeItemCount[node];
+        if (nodeItems[node] == null) {
+            nodeItems[node] = new int[4];
+            nodeItemBounds[node] = new float[4 * 4];
+        } else if (n == nodeItems[node].length) {
+            nodeItems[node] = Arrays.copyOf(nodeItems[node], 2 * n);
+            nodeItemBounds[node] = Arrays.copyOf(nodeItemBounds[node], 8 * n);
+        }
+        nodeItems[node][n] = handle;
+        setItemBounds(node, n, minX, minY, maxX, maxY);
+        nodeItemCount[node] = n + 1;
+        itemNode[handle] = node;
+        itemSlot[handle] = n;
+    }
+
+    private void setItemBounds(int node, int slot, float minX, float minY, float maxX, float maxY) {
+        float[] b = nodeItemBounds[node];
+        int o = 4 * slot;
+        b[o] = minX;
+        b[o + 1] = minY;
+        b[o + 2] = maxX;
+        b[o + 3] = maxY;
+    }
+
+    /**
+     * Take the given rectangle out of the arrays of its node by moving the last rectangle of the node into its place.
+     */
+    private void removeFromNode(int handle) {
+        int node = itemNode[handle], slot = itemSlot[handle];
+        int last = --nodeItemCount[node];
+        if (slot != last) {
+            int[] items = nodeItems[node];
+            int moved = items[last];
+            items[slot] = moved;
+            itemSlot[moved] = slot;
+            System.arraycopy(nodeItemBounds[node], 4 * last, nodeItemBounds[node], 4 * slot, 4);
+        }
+    }
+
+    /**
+     * Report every rectangle containing the point <code>(x, y)</code> to the given <code>consumer</code>, in no
+     * particular order.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param consumer
+     *          receives the handle of every rectangle containing the point
+     * @return the number of rectangles containing the point
+     */
+    public int queryPoint(float x, float y, IntConsumer consumer) {
+        return queryRectangle(x, y, x, y, consumer);
+    }
+
+    /**
+     * Report every rectangle intersecting the rectangle given as its minimum corner <code>(minX, minY)</code> and
+     * maximum corner <code>(maxX, maxY)</code> to the given <code>consumer</code>, in no particular order.
+     * <p>
+     * The tree must not be modified from within the consumer.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner of the rectangle
+     * @param minY
+     *          the y coordinate of the minimum corner of the rectangle
+     * @param maxX
+     *          the x coordinate of the maximum corner of the rectangle
+     * @param maxY
+     *          the y coordinate of the maximum corner of the rectangle
+     * @param consumer
+     *          receives the handle of every rectangle intersecting the given rectangle
+     * @return the number of rectangles intersecting the given rectangle
+     */
+    public int queryRectangle(float minX, float minY, float maxX, float maxY, IntConsumer consumer) {
+        int[] stack = this.stack;
+        int top = 0;
+        stack[top++] = ROOT;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 4 * node;
+            if (node != ROOT && !(nodeBounds[o] <= maxX && nodeBounds[o + 1] <= maxY && nodeBounds[o + 2] >= minX && nodeBounds[o + 3] >= minY)) {
+                continue;
+            }
+            int[] items = nodeItems[node];
+            float[] b = nodeItemBounds[node];
+            for (int i = 0, n = nodeItemCount[node]; i < n; i++) {
+                int p = 4 * i;
+                if (b[p] <= maxX && b[p + 1] <= maxY && b[p + 2] >= minX && b[p + 3] >= minY) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+            int first = nodeChildren[node];
+            if (first != NULL) {
+                for (int i = first; i < first + 4; i++) {
+                    stack[top++] = i;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every rectangle intersecting the given rectangle to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #queryRectangle(float, float, float, float, IntConsumer)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @param consumer
+     *          receives the handle of every rectangle intersecting the given rectangle
+     * @return the number of rectangles intersecting the given rectangle
+     */
+    public int queryRectangle(Rectanglefc rectangle, IntConsumer consumer) {
+        return queryRectangle(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY(), consumer);
+    }
+
+    /**
+     * Determine the rectangle nearest to the point <code>(x, y)</code>, where rectangles containing the point have
+     * distance <code>0</code>.
+     *
+     * @see #nearest(float, float, int[])
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @return the handle of the nearest rectangle, or <code>-1</code> if there are no rectangles
+     */
+    public int nearest(float x, float y) {
+        return nearest(x, y, nearestResult) > 0 ? nearestResult[0] : -1;
+    }
+
+    /**
+     * Store the handles of the <code>dest.length</code> rectangles nearest to the point <code>(x, y)</code> into
+     * <code>dest</code>, ordered by ascending distance, where rectangles containing the point have distance <code>0</code>.
+     * <p>
+     * The nodes and rectangles are visited best-first, as by {@link RTreef#nearest(float, float, int[])}.
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param dest
+     *          will hold the handles of the nearest rectangles
+     * @return the number of handles stored, which is less than <code>dest.length</code> only if there are fewer rectangles
+     */
+    public int nearest(float x, float y, int[] dest) {
+        if (size == 0 || dest.length == 0) {
+            return 0;
+        }
+        // Nodes are queued as their index, rectangles as the bitwise complement of their handle.
+        FloatIntHeap queue = this.queue;
+        queue.clear();
+        queue.push(0.0f, ROOT);
+        int found = 0;
+        while (queue.size() > 0) {
+            int entry = queue.pop();
+            if (entry < 0) {
+                dest[found++] = ~entry;
+                if (found == dest.length) {
+                    break;
+                }
+                continue;
+            }
+            int[] items = nodeItems[entry];
+            float[] b = nodeItemBounds[entry];
+            for (int i = 0, n = nodeItemCount[entry]; i < n; i++) {
+                queue.push(RTreef.distanceSquared(b, 4 * i, x, y), ~items[i]);
+            }
+            int first = nodeChildren[entry];
+            if (first != NULL) {
+                for (int i = first; i < first + 4; i++) {
+                    queue.push(RTreef.distanceSquared(nodeBounds, 4 * i, x, y), i);
+                }
+            }
+        }
+        return found;
+    }
+}
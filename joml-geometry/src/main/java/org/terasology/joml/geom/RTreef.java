@@ -0,0 +1,460 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A static R-tree over rectangles in single-precision floats, bulk loaded with the Sort-Tile-Recursive algorithm, which
+ * finds the rectangles containing a point, those intersecting a rectangle, and those nearest to a point.
+ * <p>
+ * The items are sorted into vertical slices by the x coordinate of their centers, and each slice by the y coordinate
+ * into runs of up to <code>maxNodeSize</code> items, which form the leaves. The nodes of each level are packed into
+ * the next level the same way, until a single root remains. This fills every node except the last of each level, so
+ * the tree is as shallow as possible and a query visits <code>O(log n)</code> nodes plus those overlapping the result.
+ * <p>
+ * Rectangles and queries are treated as closed, so rectangles sharing an edge intersect and a point on the edge of a
+ * rectangle lies inside of it, as for {@link Rectanglei}. Integer rectangles are converted to floats, which is exact for
+ * coordinates up to <code>2^24</code>.
+ * <p>
+ * The tree is immutable, so it may be queried from several threads at once. For that, every query allocates its own
+ * small traversal stack, and the nearest neighbour searches their own priority queue.
+ * <p>
+ * Reference: <a href="https://archive.org/details/nasa_techdoc_19970016975">Leutenegger, Lopez and Edgington, STR: A Simple and Efficient Algorithm for R-Tree Packing</a>
+ */
+public class RTreef {
+
+    /**
+     * The default maximum number of children or items per node.
+     */
+    public static final int DEFAULT_MAX_NODE_SIZE = 16;
+
+    /**
+     * The number of items.
+     */
+    private final int size;
+    /**
+     * The number of nodes. The leaves come first, then the nodes of each level above, and the root is the last node.
+     */
+    private final int nodeCount;
+    private final int leafCount;
+    private final int maxNodeSize;
+    /**
+     * The number of levels, which is <code>0</code> if there are no items.
+     */
+    private final int height;
+    /**
+     * The bounds of the nodes as consecutive <code>minX, minY, maxX, maxY</code> tuples.
+     */
+    private final float[] nodeBounds;
+    /**
+     * The first child of each inner node, or the position in {@link #items} of the first item of each leaf.
+     */
+    private final int[] nodeStart;
+    private final int[] nodeSize;
+    /**
+     * The indices of the items in leaf order.
+     */
+    private final int[] items;
+    /**
+     * The bounds of the items in leaf order, as consecutive <code>minX, minY, maxX, maxY</code> tuples.
+     */
+    private final float[] itemBounds;
+
+    /**
+     * Build a new {@link RTreef} over the given <code>items</code> with at most {@link #DEFAULT_MAX_NODE_SIZE} entries per node.
+     *
+     * @param items
+     *          the rectangles to build the tree over
+     */
+    public RTreef(Rectanglefc[] items) {
+        this(items, DEFAULT_MAX_NODE_SIZE);
+    }
+
+    /**
+     * Build a new {@link RTreef} over the given <code>items</code>.
+     *
+     * @param items
+     *          the rectangles to build the tree over
+     * @param maxNodeSize
+     *          the maximum number of children or items per node, at least <code>2</code>
+     */
+    public RTreef(Rectanglefc[] items, int maxNodeSize) {
+        this(bounds(items), items.length, maxNodeSize);
+    }
+
+    /**
+     * Build a new {@link RTreef} over the given integer <code>items</code> with at most {@link #DEFAULT_MAX_NODE_SIZE}
+     * entries per node.
+     *
+     * @param items
+     *          the rectangles to build the tree over
+     */
+    public RTreef(Rectangleic[] items) {
+        this(items, DEFAULT_MAX_NODE_SIZE);
+    }
+
+    /**
+     * Build a new {@link RTreef} over the given integer <code>items</code>.
+     *
+     * @param items
+     *          the rectangles to build the tree over
+     * @param maxNodeSize
+     *          the maximum number of children or items per node, at least <code>2</code>
+     */
+    public RTreef(Rectangleic[] items, int maxNodeSize) {
+        this(bounds(items), items.length, maxNodeSize);
+    }
+
+    /**
+     * Build a new {@link RTreef} over the first <code>count</code> rectangles stored in <code>bounds</code> as
+     * consecutive <code>minX, minY, maxX, maxY</code> tuples.
+     *
+     * @param bounds
+     *          the bounds of the items
+     * @param count
+     *          the number of items
+     * @param maxNodeSize
+     *          the maximum number of children or items per node, at least <code>2</code>
+     */
+    public RTreef(float[] bounds, int count, int maxNodeSize) {
+        if (maxNodeSize < 2) {
+            throw new IllegalArgumentException("maxNodeSize must be at least 2: " + maxNodeSize);
+        }
+        this.size = count;
+        this.maxNodeSize = maxNodeSize;
+        int nodes = 0, levels = 0;
+        for (int n = count; n > 0; levels++) {
+            n = (n + maxNodeSize - 1) / maxNodeSize;
+            nodes += n;
+            if (n == 1) {
+                n = 0;
+            }
+        }
+        this.nodeCount = nodes;
+        this.height = levels;
+        this.leafCount = (count + maxNodeSize - 1) / maxNodeSize;
+        this.nodeBounds = new float[4 * nodes];
+        this.nodeStart = new int[nodes];
+        this.nodeSize = new int[nodes];
+        this.items = new int[count];
+        this.itemBounds = new float[4 * count];
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        sortTiles(bounds, 0, items, count, maxNodeSize);
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(bounds, 4 * items[i], itemBounds, 4 * i, 4);
+        }
+        pack(itemBounds, 0, count, 0, maxNodeSize);
+        int[] order = new int[leafCount];
+        float[] levelBounds = new float[4 * leafCount];
+        int[] levelStart = new int[leafCount], levelSize = new int[leafCount];
+        for (int first = 0, n = leafCount; n > 1; ) {
+            // Sort the nodes of this level into tiles, and pack them into the next level.
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            sortTiles(nodeBounds, 4 * first, order, n, maxNodeSize);
+            System.arraycopy(nodeBounds, 4 * first, levelBounds, 0, 4 * n);
+            System.arraycopy(nodeStart, first, levelStart, 0, n);
+            System.arraycopy(nodeSize, first, levelSize, 0, n);
+            for (int i = 0; i < n; i++) {
+                int j = order[i];
+                System.arraycopy(levelBounds, 4 * j, nodeBounds, 4 * (first + i), 4);
+                nodeStart[first + i] = levelStart[j];
+                nodeSize[first + i] = levelSize[j];
+            }
+            int next = first + n;
+            pack(nodeBounds, first, n, next, maxNodeSize);
+            first = next;
+            n = (n + maxNodeSize - 1) / maxNodeSize;
+        }
+    }
+
+    private static float[] bounds(Rectanglefc[] items) {
+        float[] bounds = new float[4 * items.length];
+        for (int i = 0; i < items.length; i++) {
+            Rectanglefc item = items[i];
+            bounds[4 * i] = item.minX();
+            bounds[4 * i + 1] = item.minY();
+            bounds[4 * i + 2] = item.maxX();
+            bounds[4 * i + 3] = item.maxY();
+        }
+        return bounds;
+    }
+
+    private static float[] bounds(Rectangleic[] items) {
+        float[] bounds = new float[4 * items.length];
+        for (int i = 0; i < items.length; i++) {
+            Rectangleic item = items[i];
+            bounds[4 * i] = item.minX();
+            bounds[4 * i + 1] = item.minY();
+            bounds[4 * i + 2] = item.maxX();
+            bounds[4 * i + 3] = item.maxY();
+        }
+        return bounds;
+    }
+
+    /**
+     * Sort the <code>count</code> entries in <code>order</code>, whose bounds start at <code>offset</code> in
+     * <code>bounds</code>, into vertical slices of whole nodes by the x coordinate of their centers, and each slice by
+     * the y coordinate.
+     */
+    private static void sortTiles(float[] bounds, int offset, int[] order, int count, int maxNodeSize) {
+        int nodes = (count + maxNodeSize - 1) / maxNodeSize;
+        int slices = (int) java.lang.Math.ceil(java.lang.Math.sqrt(nodes));
+        int sliceSize = slices * maxNodeSize;
+        long[] keys = new long[count];
+        sortByCenter(bounds, offset, order, keys, 0, count, 0);
+        for (int from = 0; from < count; from += sliceSize) {
+            sortByCenter(bounds, offset, order, keys, from, java.lang.Math.min(from + sliceSize, count), 1);
+        }
+    }
+
+    /**
+     * Sort <code>order[from..to)</code> by the center of their bounds along the given axis, with the sortable bits of
+     * the coordinate in the upper half of a <code>long</code> key and the entry in the lower half.
+     */
+    private static void sortByCenter(float[] bounds, int offset, int[] order, long[] keys, int from, int to, int axis) {
+        for (int i = from; i < to; i++) {
+            int o = offset + 4 * order[i] + axis;
+            int bits = Float.floatToIntBits(bounds[o] + bounds[o + 2]);
+            bits ^= (bits >> 31) & 0x7FFFFFFF;
+            keys[i] = (long) bits << 32 | order[i];
+        }
+        Arrays.sort(keys, from, to);
+        for (int i = from; i < to; i++) {
+            order[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Create the nodes from <code>firstNode</code> on over runs of <code>maxNodeSize</code> consecutive entries of the
+     * <code>count</code> entries from <code>first</code> on, whose bounds are in <code>bounds</code>.
+     */
+    private void pack(float[] bounds, int first, int count, int firstNode, int maxNodeSize) {
+        for (int start = 0, node = firstNode; start < count; start += maxNodeSize, node++) {
+            int n = java.lang.Math.min(maxNodeSize, count - start);
+            nodeStart[node] = first + start;
+            nodeSize[node] = n;
+            int o = 4 * node;
+            System.arraycopy(bounds, 4 * (first + start), nodeBounds, o, 4);
+            for (int i = 1; i < n; i++) {
+                int b = 4 * (first + start + i);
+                nodeBounds[o] = java.lang.Math.min(nodeBounds[o], bounds[b]);
+                nodeBounds[o + 1] = java.lang.Math.min(nodeBounds[o + 1], bounds[b + 1]);
+                nodeBounds[o + 2] = java.lang.Math.max(nodeBounds[o + 2], bounds[b + 2]);
+                nodeBounds[o + 3] = java.lang.Math.max(nodeBounds[o + 3], bounds[b + 3]);
+            }
+        }
+    }
+
+    /**
+     * Return the number of items.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of nodes of the tree.
+     *
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Return the number of levels of the tree, which is <code>0</code> if there are no items.
+     *
+     * @return the height of the tree
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Store the bounds of all items into <code>dest</code>.
+     * <p>
+     * If there are no items, <code>dest</code> is set to the empty rectangle with <code>min=+inf</code> and <code>max=-inf</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rectanglef getBounds(Rectanglef dest) {
+        if (nodeCount == 0) {
+            return dest.setMin(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY).setMax(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        }
+        int o = 4 * (nodeCount - 1);
+        return dest.setMin(nodeBounds[o], nodeBounds[o + 1]).setMax(nodeBounds[o + 2], nodeBounds[o + 3]);
+    }
+
+    /**
+     * Report every item containing the point <code>(x, y)</code> to the given <code>consumer</code>, in no particular order.
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param consumer
+     *          receives the index of every item containing the point
+     * @return the number of items containing the point
+     */
+    public int queryPoint(float x, float y, IntConsumer consumer) {
+        return queryRectangle(x, y, x, y, consumer);
+    }
+
+    /**
+     * Report every item intersecting the rectangle given as its minimum corner <code>(minX, minY)</code> and maximum
+     * corner <code>(maxX, maxY)</code> to the given <code>consumer</code>, in no particular order.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner of the rectangle
+     * @param minY
+     *          the y coordinate of the minimum corner of the rectangle
+     * @param maxX
+     *          the x coordinate of the maximum corner of the rectangle
+     * @param maxY
+     *          the y coordinate of the maximum corner of the rectangle
+     * @param consumer
+     *          receives the index of every item intersecting the rectangle
+     * @return the number of items intersecting the rectangle
+     */
+    public int queryRectangle(float minX, float minY, float maxX, float maxY, IntConsumer consumer) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+        int[] stack = new int[height * maxNodeSize + 1];
+        int top = 0;
+        stack[top++] = nodeCount - 1;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 4 * node;
+            if (!(nodeBounds[o] <= maxX && nodeBounds[o + 1] <= maxY && nodeBounds[o + 2] >= minX && nodeBounds[o + 3] >= minY)) {
+                continue;
+            }
+            if (node >= leafCount) {
+                for (int i = nodeStart[node], end = i + nodeSize[node]; i < end; i++) {
+                    stack[top++] = i;
+                }
+                continue;
+            }
+            for (int i = nodeStart[node], end = i + nodeSize[node]; i < end; i++) {
+                int b = 4 * i;
+                if (itemBounds[b] <= maxX && itemBounds[b + 1] <= maxY && itemBounds[b + 2] >= minX && itemBounds[b + 3] >= minY) {
+                    consumer.accept(items[i]);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every item intersecting the given rectangle to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #queryRectangle(float, float, float, float, IntConsumer)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @param consumer
+     *          receives the index of every item intersecting the rectangle
+     * @return the number of items intersecting the rectangle
+     */
+    public int queryRectangle(Rectanglefc rectangle, IntConsumer consumer) {
+        return queryRectangle(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY(), consumer);
+    }
+
+    /**
+     * Report every item intersecting the given integer rectangle to the given <code>consumer</code>, in no particular order.
+     *
+     * @see #queryRectangle(float, float, float, float, IntConsumer)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @param consumer
+     *          receives the index of every item intersecting the rectangle
+     * @return the number of items intersecting the rectangle
+     */
+    public int queryRectangle(Rectangleic rectangle, IntConsumer consumer) {
+        return queryRectangle(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY(), consumer);
+    }
+
+    /**
+     * Determine the item nearest to the point <code>(x, y)</code>, where items containing the point have distance
+     * <code>0</code>.
+     *
+     * @see #nearest(float, float, int[])
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @return the index of the nearest item, or <code>-1</code> if there are no items
+     */
+    public int nearest(float x, float y) {
+        int[] result = new int[1];
+        return nearest(x, y, result) > 0 ? result[0] : -1;
+    }
+
+    /**
+     * Store the indices of the <code>dest.length</code> items nearest to the point <code>(x, y)</code> into
+     * <code>dest</code>, ordered by ascending distance, where items containing the point have distance <code>0</code>.
+     * <p>
+     * The nodes and items are visited best-first, from a priority queue ordered by their distance to the point, so only
+     * nodes closer than the last reported item are opened.
+     * <p>
+     * Reference: <a href="https://doi.org/10.1145/320248.320255">Hjaltason and Samet, Distance Browsing in Spatial Databases</a>
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param dest
+     *          will hold the indices of the nearest items
+     * @return the number of items stored, which is less than <code>dest.length</code> only if there are fewer items
+     */
+    public int nearest(float x, float y, int[] dest) {
+        if (nodeCount == 0 || dest.length == 0) {
+            return 0;
+        }
+        // Nodes are queued as their index, items as the bitwise complement of their position in leaf order.
+        FloatIntHeap queue = new FloatIntHeap(64);
+        queue.push(0.0f, nodeCount - 1);
+        int found = 0;
+        while (queue.size() > 0) {
+            int entry = queue.pop();
+            if (entry < 0) {
+                dest[found++] = items[~entry];
+                if (found == dest.length) {
+                    break;
+                }
+            } else if (entry >= leafCount) {
+                for (int i = nodeStart[entry], end = i + nodeSize[entry]; i < end; i++) {
+                    queue.push(distanceSquared(nodeBounds, 4 * i, x, y), i);
+                }
+            } else {
+                for (int i = nodeStart[entry], end = i + nodeSize[entry]; i < end; i++) {
+                    queue.push(distanceSquared(itemBounds, 4 * i, x, y), ~i);
+                }
+            }
+        }
+        return found;
+    }
+
+    static float distanceSquared(float[] bounds, int o, float x, float y) {
+        float dX = java.lang.Math.max(java.lang.Math.max(bounds[o] - x, x - bounds[o + 2]), 0.0f);
+        float dY = java.lang.Math.max(java.lang.Math.max(bounds[o + 1] - y, y - bounds[o + 3]), 0.0f);
+        return dX * dX + dY * dY;
+    }
+}
@@ -0,0 +1,238 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+/**
+ * A packet of rays stored as a structure of arrays, which are tested together against boxes and triangles, using
+ * single-precision floating-point numbers.
+ * <p>
+ * Packets of 4 or 8 rays with similar origins and directions, such as neighbouring pixels or samples of a hemisphere,
+ * mostly visit the same nodes of a hierarchy, so testing them together shares the cost of loading each node and lets the
+ * JIT work on all lanes at once. The results are reported as masks with bit <code>1 &lt;&lt; lane</code> set for each
+ * lane concerned.
+ * <p>
+ * The lanes should only be changed with {@link #set(int, float, float, float, float, float, float, float)}, which also
+ * keeps the reciprocals of the directions up to date.
+ *
+ * @see Intersectionf#intersectRayPacketAab(float[], float[], float[], float[], float[], float[], float[], int, float, float, float, float, float, float, float[])
+ * @see Intersectionf#intersectRayPacketTriangle(float[], float[], float[], float[], float[], float[], float[], int, float, float, float, float, float, float, float, float, float, float, float[])
+ */
+public class RayPacketf {
+
+    /**
+     * The maximum number of lanes, which is the number of bits of a mask.
+     */
+    public static final int MAX_LANES = 32;
+
+    /**
+     * The number of rays in this packet.
+     */
+    public final int lanes;
+    /**
+     * The x coordinates of the rays' origins.
+     */
+    public final float[] originX;
+    /**
+     * The y coordinates of the rays' origins.
+     */
+    public final float[] originY;
+    /**
+     * The z coordinates of the rays' origins.
+     */
+    public final float[] originZ;
+    /**
+     * The x coordinates of the rays' directions.
+     */
+    public final float[] dirX;
+    /**
+     * The y coordinates of the rays' directions.
+     */
+    public final float[] dirY;
+    /**
+     * The z coordinates of the rays' directions.
+     */
+    public final float[] dirZ;
+    /**
+     * The reciprocals of the x coordinates of the rays' directions.
+     */
+    public final float[] invDirX;
+    /**
+     * The reciprocals of the y coordinates of the rays' directions.
+     */
+    public final float[] invDirY;
+    /**
+     * The reciprocals of the z coordinates of the rays' directions.
+     */
+    public final float[] invDirZ;
+    /**
+     * The maximum values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i>.
+     */
+    public final float[] maxT;
+
+    /**
+     * Create a new {@link RayPacketf} with the given number of lanes, whose rays all start at the origin, point along the
+     * positive x axis and are unbounded.
+     *
+     * @param lanes
+     *          the number of rays, in <code>[1..32]</code>
+     */
+    public RayPacketf(int lanes) {
+        if (lanes < 1 || lanes > MAX_LANES) {
+            throw new IllegalArgumentException("lanes must be in [1.." + MAX_LANES + "]: " + lanes);
+        }
+        this.lanes = lanes;
+        this.originX = new float[lanes];
+        this.originY = new float[lanes];
+        this.originZ = new float[lanes];
+        this.dirX = new float[lanes];
+        this.dirY = new float[lanes];
+        this.dirZ = new float[lanes];
+        this.invDirX = new float[lanes];
+        this.invDirY = new float[lanes];
+        this.invDirZ = new float[lanes];
+        this.maxT = new float[lanes];
+        for (int i = 0; i < lanes; i++) {
+            set(i, 0, 0, 0, 1, 0, 0, Float.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Set the ray of the given lane.
+     *
+     * @param lane
+     *          the lane
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @return this
+     */
+    public RayPacketf set(int lane, float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float maxT) {
+        this.originX[lane] = originX;
+        this.originY[lane] = originY;
+        this.originZ[lane] = originZ;
+        this.dirX[lane] = dirX;
+        this.dirY[lane] = dirY;
+        this.dirZ[lane] = dirZ;
+        this.invDirX[lane] = 1.0f / dirX;
+        this.invDirY[lane] = 1.0f / dirY;
+        this.invDirZ[lane] = 1.0f / dirZ;
+        this.maxT[lane] = maxT;
+        return this;
+    }
+
+    /**
+     * Set the ray of the given lane.
+     *
+     * @param lane
+     *          the lane
+     * @param ray
+     *          the ray
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @return this
+     */
+    public RayPacketf set(int lane, Rayf ray, float maxT) {
+        return set(lane, ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, maxT);
+    }
+
+    /**
+     * Return the mask with the bits of all lanes set.
+     *
+     * @return the mask of all lanes
+     */
+    public int allLanes() {
+        return lanes == MAX_LANES ? -1 : (1 << lanes) - 1;
+    }
+
+    /**
+     * Test all rays of this packet against the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code>
+     * and maximum corner <code>(maxX, maxY, maxZ)</code>, and store the values of the parameter <i>t</i> where they enter
+     * the box into <code>tNear</code>.
+     *
+     * @see Intersectionf#intersectRayPacketAab(float[], float[], float[], float[], float[], float[], float[], int, float, float, float, float, float, float, float[])
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param tNear
+     *          will hold the values of <i>t</i> where the rays enter the box, with at least {@link #lanes} elements
+     * @return the mask of the lanes whose rays hit the box within their {@link #maxT}
+     */
+    public int intersectAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float[] tNear) {
+        return Intersectionf.intersectRayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ, maxT, lanes,
+                minX, minY, minZ, maxX, maxY, maxZ, tNear);
+    }
+
+    /**
+     * Test all rays of this packet against the given axis-aligned box, and store the values of the parameter <i>t</i>
+     * where they enter the box into <code>tNear</code>.
+     *
+     * @see #intersectAab(float, float, float, float, float, float, float[])
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @param tNear
+     *          will hold the values of <i>t</i> where the rays enter the box, with at least {@link #lanes} elements
+     * @return the mask of the lanes whose rays hit the box within their {@link #maxT}
+     */
+    public int intersectAab(AABBfc aabb, float[] tNear) {
+        return intersectAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), tNear);
+    }
+
+    /**
+     * Test all rays of this packet against the triangle consisting of the three vertices <code>(v0X, v0Y, v0Z)</code>,
+     * <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>, and store the values of the parameter <i>t</i> of the
+     * points of intersection into <code>t</code>.
+     *
+     * @see Intersectionf#intersectRayPacketTriangle(float[], float[], float[], float[], float[], float[], float[], int, float, float, float, float, float, float, float, float, float, float, float[])
+     *
+     * @param v0X
+     *          the x coordinate of the first vertex
+     * @param v0Y
+     *          the y coordinate of the first vertex
+     * @param v0Z
+     *          the z coordinate of the first vertex
+     * @param v1X
+     *          the x coordinate of the second vertex
+     * @param v1Y
+     *          the y coordinate of the second vertex
+     * @param v1Z
+     *          the z coordinate of the second vertex
+     * @param v2X
+     *          the x coordinate of the third vertex
+     * @param v2Y
+     *          the y coordinate of the third vertex
+     * @param v2Z
+     *          the z coordinate of the third vertex
+     * @param epsilon
+     *          a small epsilon when testing rays that are almost parallel to the triangle
+     * @param t
+     *          will hold the values of <i>t</i> of the points of intersection, with at least {@link #lanes} elements
+     * @return the mask of the lanes whose rays hit the triangle within their {@link #maxT}
+     */
+    public int intersectTriangle(float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
+                                 float epsilon, float[] t) {
+        return Intersectionf.intersectRayPacketTriangle(originX, originY, originZ, dirX, dirY, dirZ, maxT, lanes,
+                v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, epsilon, t);
+    }
+}
@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * Packs rectangles of integer sizes into a fixed bin without overlap, as for the sprites of a texture atlas.
+ * <p>
+ * The placements are given as {@link Rectanglei} whose maximum corner is the minimum corner plus the size, so
+ * neighbouring placements share an edge. Rectangles may be inserted one at a time into an existing bin, or in batches
+ * by {@link #insertAll(int[], int, int[])}, which first sorts them by decreasing size and packs considerably tighter.
+ * The free space is tracked in primitive arrays, which only grow, so packing does not allocate once they are large
+ * enough, and {@link #clear()} keeps them for the next bin.
+ *
+ * @see MaxRectsPacker
+ * @see SkylinePacker
+ */
+public abstract class RectanglePacker {
+
+    private final int width;
+    private final int height;
+    private long usedArea;
+    private long[] order = new long[0];
+
+    /**
+     * The position of the rectangle placed by the last successful call to {@link #place(int, int)}.
+     */
+    int placedX, placedY;
+
+    RectanglePacker(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Bin size must be positive: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Find a free position for a rectangle of the given positive size, store it into {@link #placedX} and
+     * {@link #placedY} and mark the rectangle as used.
+     *
+     * @return <code>true</code> if the rectangle fits; <code>false</code> otherwise
+     */
+    abstract boolean place(int width, int height);
+
+    /**
+     * Forget all placed rectangles.
+     */
+    abstract void reset();
+
+    /**
+     * Return the width of the bin.
+     *
+     * @return the width of the bin
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Return the height of the bin.
+     *
+     * @return the height of the bin
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Return the fraction of the area of the bin covered by the rectangles placed so far.
+     *
+     * @return the occupancy in <code>[0..1]</code>
+     */
+    public float occupancy() {
+        return (float) ((double) usedArea / ((double) width * height));
+    }
+
+    /**
+     * Remove all placed rectangles, keeping the memory allocated so far.
+     */
+    public void clear() {
+        usedArea = 0;
+        reset();
+    }
+
+    /**
+     * Place a rectangle of the given size and store its placement into <code>dest</code>.
+     *
+     * @param width
+     *          the width of the rectangle
+     * @param height
+     *          the height of the rectangle
+     * @param dest
+     *          will hold the placement, iff the rectangle fits
+     * @return <code>true</code> if the rectangle fits; <code>false</code> otherwise
+     */
+    public boolean insert(int width, int height, Rectanglei dest) {
+        if (!insert(width, height)) {
+            return false;
+        }
+        dest.set(placedX, placedY, placedX + width, placedY + height);
+        return true;
+    }
+
+    private boolean insert(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + width + "x" + height);
+        }
+        if (width > this.width || height > this.height || !place(width, height)) {
+            return false;
+        }
+        usedArea += (long) width * height;
+        return true;
+    }
+
+    /**
+     * Place the <code>count</code> rectangles whose sizes are given as consecutive <code>width, height</code> pairs in
+     * <code>sizes</code>, and store the minimum corners of their placements as consecutive <code>x, y</code> pairs into
+     * <code>positions</code>, or <code>-1, -1</code> for those which do not fit.
+     * <p>
+     * The rectangles are placed in order of decreasing longer side, which leaves the small ones to fill the gaps.
+     *
+     * @param sizes
+     *          the sizes of the rectangles
+     * @param count
+     *          the number of rectangles
+     * @param positions
+     *          will hold the positions of the rectangles
+     * @return the number of rectangles which fit
+     */
+    public int insertAll(int[] sizes, int count, int[] positions) {
+        if (order.length < count) {
+            order = new long[count];
+        }
+        for (int i = 0; i < count; i++) {
+            // Sort descending by the longer side, with the index in the lower half of the key.
+            order[i] = (long) -java.lang.Math.max(sizes[2 * i], sizes[2 * i + 1]) << 32 | i;
+        }
+        Arrays.sort(order, 0, count);
+        int placed = 0;
+        for (int k = 0; k < count; k++) {
+            int i = (int) order[k];
+            if (insert(sizes[2 * i], sizes[2 * i + 1])) {
+                positions[2 * i] = placedX;
+                positions[2 * i + 1] = placedY;
+                placed++;
+            } else {
+                positions[2 * i] = -1;
+                positions[2 * i + 1] = -1;
+            }
+        }
+        return placed;
+    }
+}
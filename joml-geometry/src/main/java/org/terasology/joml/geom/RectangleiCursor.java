@@ -0,0 +1,120 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2i;
+
+/**
+ * A reusable cursor over the cells of a {@link Rectangleic}, which are the integer coordinates <code>(x, y)</code> with
+ * <code>minX &lt;= x &lt; maxX</code> and <code>minY &lt;= y &lt; maxY</code>.
+ * <p>
+ * The cells are visited with x varying fastest:
+ * <pre>
+ * RectangleiCursor cursor = new RectangleiCursor();
+ * for (cursor.set(rectangle); cursor.next(); ) {
+ *     process(cursor.x(), cursor.y());
+ * }
+ * </pre>
+ */
+public class RectangleiCursor {
+
+    private int minX, maxX, maxY;
+    private int x, y;
+    private boolean done = true;
+
+    /**
+     * Create a new {@link RectangleiCursor} over no cells.
+     */
+    public RectangleiCursor() {
+    }
+
+    /**
+     * Create a new {@link RectangleiCursor} over the cells of the given rectangle.
+     *
+     * @param rectangle
+     *          the rectangle
+     */
+    public RectangleiCursor(Rectangleic rectangle) {
+        set(rectangle);
+    }
+
+    /**
+     * Restart this cursor before the first cell of the rectangle given via its minimum corner <code>(minX, minY)</code>
+     * and maximum corner <code>(maxX, maxY)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @return this
+     */
+    public RectangleiCursor set(int minX, int minY, int maxX, int maxY) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.x = minX - 1;
+        this.y = minY;
+        this.done = minX >= maxX || minY >= maxY;
+        return this;
+    }
+
+    /**
+     * Restart this cursor before the first cell of the given rectangle.
+     *
+     * @param rectangle
+     *          the rectangle
+     * @return this
+     */
+    public RectangleiCursor set(Rectangleic rectangle) {
+        return set(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Advance to the next cell.
+     *
+     * @return <code>true</code> if this cursor is now on a cell; <code>false</code> if all cells have been visited
+     */
+    public boolean next() {
+        if (done) {
+            return false;
+        }
+        if (++x < maxX) {
+            return true;
+        }
+        x = minX;
+        if (++y < maxY) {
+            return true;
+        }
+        done = true;
+        return false;
+    }
+
+    /**
+     * @return the x coordinate of the current cell
+     */
+    public int x() {
+        return x;
+    }
+
+    /**
+     * @return the y coordinate of the current cell
+     */
+    public int y() {
+        return y;
+    }
+
+    /**
+     * Store the coordinates of the current cell into <code>dest</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector2i get(Vector2i dest) {
+        return dest.set(x, y);
+    }
+}
@@ -0,0 +1,543 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * An exact union of integer rectangles, e.g. the dirty region of a frame, kept as disjoint rectangles in y-x banded
+ * form as in X11 and pixman regions.
+ * <p>
+ * Rectangles cover the cells <code>[minX..maxX) x [minY..maxY)</code>, so a {@link Rectanglei} with
+ * <code>minX == maxX</code> or <code>minY == maxY</code> is empty, and rectangles sharing an edge do not overlap. The
+ * covering rectangles are sorted into horizontal bands of equal <code>minY</code> and <code>maxY</code>, each band
+ * holds rectangles sorted by <code>minX</code> which neither overlap nor touch, and vertically adjacent bands with the
+ * same horizontal spans are merged. This form is unique, so two sets are equal iff they cover the same cells, and each
+ * set operation is a single sweep over the bands of both operands in time linear in their number of rectangles.
+ * <p>
+ * The rectangles are stored in primitive arrays, which are swapped with a spare array of the same capacity on each
+ * operation, so operations do not allocate once the arrays are large enough.
+ * <p>
+ * Reference: <a href="https://gitlab.freedesktop.org/pixman/pixman/-/blob/master/pixman/pixman-region.c">pixman-region.c</a>
+ */
+public class RectangleiSet {
+
+    private static final int UNION = 0;
+    private static final int INTERSECT = 1;
+    private static final int SUBTRACT = 2;
+
+    /**
+     * The rectangles as consecutive <code>minX, minY, maxX, maxY</code> tuples, in banded order.
+     */
+    private int[] rects;
+    private int count;
+    /**
+     * The target of the next operation, which becomes {@link #rects} afterwards.
+     */
+    private int[] spare;
+    private int spareCount;
+    private final int[] single = new int[4];
+
+    /**
+     * Create a new empty {@link RectangleiSet}.
+     */
+    public RectangleiSet() {
+        rects = new int[4 * 8];
+        spare = new int[4 * 8];
+    }
+
+    /**
+     * Create a new {@link RectangleiSet} covering the given rectangle.
+     *
+     * @param rectangle
+     *          the rectangle
+     */
+    public RectangleiSet(Rectangleic rectangle) {
+        this();
+        set(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Create a new {@link RectangleiSet} as a copy of the given <code>source</code>.
+     *
+     * @param source
+     *          the {@link RectangleiSet} to copy from
+     */
+    public RectangleiSet(RectangleiSet source) {
+        rects = Arrays.copyOf(source.rects, java.lang.Math.max(4 * source.count, 4 * 8));
+        spare = new int[rects.length];
+        count = source.count;
+    }
+
+    /**
+     * Return whether this set is empty.
+     *
+     * @return <code>true</code> if this set covers no cells; <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Return the number of disjoint rectangles covering this set.
+     *
+     * @return the number of rectangles
+     */
+    public int rectangleCount() {
+        return count;
+    }
+
+    /**
+     * Store the rectangle with the given index, in <code>[0..rectangleCount())</code>, into <code>dest</code>.
+     * <p>
+     * The rectangles are ordered by their <code>minY</code> and then by their <code>minX</code>.
+     *
+     * @param index
+     *          the index of the rectangle
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rectanglei getRectangle(int index, Rectanglei dest) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Not a rectangle: " + index);
+        }
+        int o = 4 * index;
+        return dest.set(rects[o], rects[o + 1], rects[o + 2], rects[o + 3]);
+    }
+
+    /**
+     * Store the bounding rectangle of this set into <code>dest</code>, which is <code>(0, 0) - (0, 0)</code> if this set
+     * is empty.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rectanglei getBounds(Rectanglei dest) {
+        if (count == 0) {
+            return dest.set(0, 0, 0, 0);
+        }
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = java.lang.Math.min(minX, rects[4 * i]);
+            maxX = java.lang.Math.max(maxX, rects[4 * i + 2]);
+        }
+        return dest.set(minX, rects[1], maxX, rects[4 * count - 1]);
+    }
+
+    /**
+     * Return the number of cells covered by this set.
+     *
+     * @return the area of this set
+     */
+    public long area() {
+        long area = 0;
+        for (int i = 0; i < count; i++) {
+            int o = 4 * i;
+            area += (long) (rects[o + 2] - rects[o]) * (rects[o + 3] - rects[o + 1]);
+        }
+        return area;
+    }
+
+    /**
+     * Test whether the cell <code>(x, y)</code> is covered by this set.
+     *
+     * @param x
+     *          the x coordinate of the cell
+     * @param y
+     *          the y coordinate of the cell
+     * @return <code>true</code> if the cell is covered; <code>false</code> otherwise
+     */
+    public boolean containsPoint(int x, int y) {
+        // Find the first rectangle with maxY > y, which starts the only band that may contain y.
+        int low = 0, high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rects[4 * mid + 3] <= y) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < count && rects[4 * i + 1] <= y; i++) {
+            int o = 4 * i;
+            if (rects[o + 1] != rects[4 * low + 1]) {
+                break;
+            }
+            if (x < rects[o]) {
+                return false;
+            }
+            if (x < rects[o + 2]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove all rectangles from this set.
+     *
+     * @return this
+     */
+    public RectangleiSet clear() {
+        count = 0;
+        return this;
+    }
+
+    /**
+     * Set this set to the given rectangle.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public RectangleiSet set(int minX, int minY, int maxX, int maxY) {
+        count = 0;
+        if (minX < maxX && minY < maxY) {
+            rects[0] = minX;
+            rects[1] = minY;
+            rects[2] = maxX;
+            rects[3] = maxY;
+            count = 1;
+        }
+        return this;
+    }
+
+    /**
+     * Set this set to a copy of the given set.
+     *
+     * @param other
+     *          the set to copy
+     * @return this
+     */
+    public RectangleiSet set(RectangleiSet other) {
+        if (rects.length < 4 * other.count) {
+            rects = new int[other.rects.length];
+            spare = new int[other.rects.length];
+        }
+        System.arraycopy(other.rects, 0, rects, 0, 4 * other.count);
+        count = other.count;
+        return this;
+    }
+
+    /**
+     * Add the given rectangle to this set.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public RectangleiSet union(int minX, int minY, int maxX, int maxY) {
+        return op(UNION, single, setSingle(minX, minY, maxX, maxY));
+    }
+
+    /**
+     * Add the given rectangle to this set.
+     *
+     * @see #union(int, int, int, int)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @return this
+     */
+    public RectangleiSet union(Rectangleic rectangle) {
+        return union(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Add all cells of the given set to this set.
+     *
+     * @param other
+     *          the other set
+     * @return this
+     */
+    public RectangleiSet union(RectangleiSet other) {
+        return op(UNION, other.rects, other.count);
+    }
+
+    /**
+     * Remove all cells outside of the given rectangle from this set.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public RectangleiSet intersect(int minX, int minY, int maxX, int maxY) {
+        return op(INTERSECT, single, setSingle(minX, minY, maxX, maxY));
+    }
+
+    /**
+     * Remove all cells outside of the given rectangle from this set.
+     *
+     * @see #intersect(int, int, int, int)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @return this
+     */
+    public RectangleiSet intersect(Rectangleic rectangle) {
+        return intersect(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Remove all cells not covered by the given set from this set.
+     *
+     * @param other
+     *          the other set
+     * @return this
+     */
+    public RectangleiSet intersect(RectangleiSet other) {
+        return op(INTERSECT, other.rects, other.count);
+    }
+
+    /**
+     * Remove the cells of the given rectangle from this set.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner, exclusive
+     * @param maxY
+     *          the y coordinate of the maximum corner, exclusive
+     * @return this
+     */
+    public RectangleiSet subtract(int minX, int minY, int maxX, int maxY) {
+        return op(SUBTRACT, single, setSingle(minX, minY, maxX, maxY));
+    }
+
+    /**
+     * Remove the cells of the given rectangle from this set.
+     *
+     * @see #subtract(int, int, int, int)
+     *
+     * @param rectangle
+     *          the rectangle
+     * @return this
+     */
+    public RectangleiSet subtract(Rectangleic rectangle) {
+        return subtract(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    /**
+     * Remove the cells of the given set from this set.
+     *
+     * @param other
+     *          the other set
+     * @return this
+     */
+    public RectangleiSet subtract(RectangleiSet other) {
+        return op(SUBTRACT, other.rects, other.count);
+    }
+
+    private int setSingle(int minX, int minY, int maxX, int maxY) {
+        if (minX >= maxX || minY >= maxY) {
+            return 0;
+        }
+        single[0] = minX;
+        single[1] = minY;
+        single[2] = maxX;
+        single[3] = maxY;
+        return 1;
+    }
+
+    /**
+     * Return the end of the band starting with the given rectangle.
+     */
+    private static int bandEnd(int[] rects, int start, int count) {
+        int end = start + 1;
+        while (end < count && rects[4 * end + 1] == rects[4 * start + 1]) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Combine this set with the <code>otherCount</code> rectangles in <code>other</code> by sweeping over the bands of
+     * both from top to bottom.
+     */
+    private RectangleiSet op(int op, int[] other, int otherCount) {
+        int[] a = rects, b = other;
+        int aCount = count;
+        spareCount = 0;
+        int previousBand = -1;
+        int ia = 0, ib = 0;
+        int y = Integer.MIN_VALUE;
+        while (ia < aCount && ib < otherCount) {
+            int aEnd = bandEnd(a, ia, aCount), bEnd = bandEnd(b, ib, otherCount);
+            int aTop = java.lang.Math.max(a[4 * ia + 1], y), aBottom = a[4 * ia + 3];
+            int bTop = java.lang.Math.max(b[4 * ib + 1], y), bBottom = b[4 * ib + 3];
+            int bottom;
+            if (aTop < bTop) {
+                bottom = java.lang.Math.min(aBottom, bTop);
+                if (op != INTERSECT) {
+                    previousBand = appendBand(a, ia, aEnd, null, 0, 0, UNION, aTop, bottom, previousBand);
+                }
+            } else if (bTop < aTop) {
+                bottom = java.lang.Math.min(bBottom, aTop);
+                if (op == UNION) {
+                    previousBand = appendBand(b, ib, bEnd, null, 0, 0, UNION, bTop, bottom, previousBand);
+                }
+            } else {
+                bottom = java.lang.Math.min(aBottom, bBottom);
+                previousBand = appendBand(a, ia, aEnd, b, ib, bEnd, op, aTop, bottom, previousBand);
+            }
+            y = bottom;
+            if (aBottom <= y) {
+                ia = aEnd;
+            }
+            if (bBottom <= y) {
+                ib = bEnd;
+            }
+        }
+        if (op != INTERSECT) {
+            while (ia < aCount) {
+                int aEnd = bandEnd(a, ia, aCount);
+                previousBand = appendBand(a, ia, aEnd, null, 0, 0, UNION, java.lang.Math.max(a[4 * ia + 1], y), a[4 * ia + 3], previousBand);
+                ia = aEnd;
+            }
+        }
+        if (op == UNION) {
+            while (ib < otherCount) {
+                int bEnd = bandEnd(b, ib, otherCount);
+                previousBand = appendBand(b, ib, bEnd, null, 0, 0, UNION, java.lang.Math.max(b[4 * ib + 1], y), b[4 * ib + 3], previousBand);
+                ib = bEnd;
+            }
+        }
+        int[] result = spare;
+        spare = rects;
+        rects = result;
+        count = spareCount;
+        return this;
+    }
+
+    /**
+     * Append the band <code>[top..bottom)</code> whose spans are those of the band <code>[aStart..aEnd)</code> of
+     * <code>a</code> combined with those of <code>[bStart..bEnd)</code> of <code>b</code>, if any, and merge it into the
+     * previous band if that ends at <code>top</code> and has the same spans.
+     *
+     * @return the start of the last band
+     */
+    private int appendBand(int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd, int op, int top, int bottom, int previousBand) {
+        int start = spareCount;
+        // Walk the boundaries of both lists of spans in order, toggling whether we are inside of either.
+        int ia = 2 * aStart, ib = 2 * bStart, aLimit = 2 * aEnd, bLimit = b == null ? 0 : 2 * bEnd;
+        if (b == null) {
+            ib = bLimit;
+        }
+        boolean inA = false, inB = false, inside = false;
+        int spanStart = 0;
+        while (ia < aLimit || ib < bLimit) {
+            int xA = ia < aLimit ? a[4 * (ia >> 1) + 2 * (ia & 1)] : Integer.MAX_VALUE;
+            int xB = ib < bLimit ? b[4 * (ib >> 1) + 2 * (ib & 1)] : Integer.MAX_VALUE;
+            int x = java.lang.Math.min(xA, xB);
+            if (xA == x) {
+                inA = (ia & 1) == 0;
+                ia++;
+            }
+            if (xB == x) {
+                inB = (ib & 1) == 0;
+                ib++;
+            }
+            boolean now = op == UNION ? inA || inB : op == INTERSECT ? inA && inB : inA && !inB;
+            if (now != inside) {
+                if (now) {
+                    spanStart = x;
+                } else {
+                    appendRect(spanStart, top, x, bottom);
+                }
+                inside = now;
+            }
+        }
+        if (spareCount == start) {
+            return previousBand;
+        }
+        if (previousBand >= 0 && spare[4 * previousBand + 3] == top && start - previousBand == spareCount - start) {
+            boolean same = true;
+            for (int i = 0; i < start - previousBand && same; i++) {
+                int p = 4 * (previousBand + i), c = 4 * (start + i);
+                same = spare[p] == spare[c] && spare[p + 2] == spare[c + 2];
+            }
+            if (same) {
+                for (int i = previousBand; i < start; i++) {
+                    spare[4 * i + 3] = bottom;
+                }
+                spareCount = start;
+                return previousBand;
+            }
+        }
+        return start;
+    }
+
+    private void appendRect(int minX, int minY, int maxX, int maxY) {
+        if (4 * spareCount == spare.length) {
+            spare = Arrays.copyOf(spare, 2 * spare.length);
+        }
+        int o = 4 * spareCount++;
+        spare[o] = minX;
+        spare[o + 1] = minY;
+        spare[o + 2] = maxX;
+        spare[o + 3] = maxY;
+    }
+
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < 4 * count; i++) {
+            result = 31 * result + rects[i];
+        }
+        return result;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        RectangleiSet other = (RectangleiSet) obj;
+        if (count != other.count)
+            return false;
+        for (int i = 0; i < 4 * count; i++) {
+            if (rects[i] != other.rects[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Return a string representation of this set, listing its rectangles.
+     *
+     * @return the string representation
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            int o = 4 * i;
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('(').append(rects[o]).append(' ').append(rects[o + 1]).append(") < (")
+                    .append(rects[o + 2]).append(' ').append(rects[o + 3]).append(')');
+        }
+        return sb.append(']').toString();
+    }
+}
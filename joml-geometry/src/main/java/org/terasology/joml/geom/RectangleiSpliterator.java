@@ -0,0 +1,131 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2i;
+import org.joml.Vector2ic;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the cells of a {@link Rectangleic}, for processing them with parallel streams.
+ * <p>
+ * Splitting halves the rectangle along its longest axis, so that every part stays a compact rectangle. The cells are
+ * reported as new {@link Vector2i} instances; use {@link #forEachRemaining(IntBiConsumer)} to process the cells of a part
+ * without allocating.
+ *
+ * @see Rectangleic#cellSpliterator()
+ */
+public class RectangleiSpliterator implements Spliterator<Vector2ic> {
+
+    private int minX, minY, maxX, maxY;
+    private final RectangleiCursor cursor = new RectangleiCursor();
+    private long remaining;
+    private boolean started;
+
+    /**
+     * Create a new {@link RectangleiSpliterator} over the cells of the rectangle given via its minimum corner
+     * <code>(minX, minY)</code> and maximum corner <code>(maxX, maxY)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     */
+    public RectangleiSpliterator(int minX, int minY, int maxX, int maxY) {
+        reset(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Create a new {@link RectangleiSpliterator} over the cells of the given rectangle.
+     *
+     * @param rectangle
+     *          the rectangle
+     */
+    public RectangleiSpliterator(Rectangleic rectangle) {
+        this(rectangle.minX(), rectangle.minY(), rectangle.maxX(), rectangle.maxY());
+    }
+
+    private void reset(int minX, int minY, int maxX, int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        cursor.set(minX, minY, maxX, maxY);
+        remaining = minX < maxX && minY < maxY ? ((long) maxX - minX) * ((long) maxY - minY) : 0L;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Vector2ic> action) {
+        started = true;
+        if (!cursor.next()) {
+            return false;
+        }
+        remaining--;
+        action.accept(new Vector2i(cursor.x(), cursor.y()));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Vector2ic> action) {
+        started = true;
+        while (cursor.next()) {
+            action.accept(new Vector2i(cursor.x(), cursor.y()));
+        }
+        remaining = 0L;
+    }
+
+    /**
+     * Report all remaining cells to the given <code>action</code> without allocating.
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    public void forEachRemaining(IntBiConsumer action) {
+        started = true;
+        while (cursor.next()) {
+            action.accept(cursor.x(), cursor.y());
+        }
+        remaining = 0L;
+    }
+
+    /**
+     * Split off the lower half of the rectangle along its longest axis, unless traversal has already begun or the
+     * rectangle is a single cell.
+     *
+     * @return the lower half, or <code>null</code>
+     */
+    @Override
+    public RectangleiSpliterator trySplit() {
+        if (started || remaining < 2L) {
+            return null;
+        }
+        long lengthX = (long) maxX - minX, lengthY = (long) maxY - minY;
+        RectangleiSpliterator prefix;
+        if (lengthX >= lengthY) {
+            int mid = (int) (minX + lengthX / 2);
+            prefix = new RectangleiSpliterator(minX, minY, mid, maxY);
+            reset(mid, minY, maxX, maxY);
+        } else {
+            int mid = (int) (minY + lengthY / 2);
+            prefix = new RectangleiSpliterator(minX, minY, maxX, mid);
+            reset(minX, mid, maxX, maxY);
+        }
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+}
@@ -364,4 +364,94 @@ default Vector2i getMax(Vector2i dest) {
      *         Compute Shortest Distance Between Point and a Rectangle</a>
      */
     long distanceSquared(int px, int py);
+
+    /**
+     * Call the given <code>action</code> with the coordinates of every cell of this rectangle, which are the integer
+     * coordinates <code>(x, y)</code> with <code>minX &lt;= x &lt; maxX</code> and <code>minY &lt;= y &lt; maxY</code>,
+     * with x varying fastest.
+     *
+     * @see RectangleiCursor
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    default void forEachCell(IntBiConsumer action) {
+        int minX = minX(), minY = minY(), maxX = maxX(), maxY = maxY();
+        for (int y = minY; y < maxY; y++) {
+            for (int x = minX; x < maxX; x++) {
+                action.accept(x, y);
+            }
+        }
+    }
+
+    /**
+     * Call the given <code>action</code> with the coordinates of every cell of this rectangle, like
+     * {@link #forEachCell(IntBiConsumer)}, but in the order of their {@link Morton#encode2d(int, int) Morton codes},
+     * which visits the cells in Z-order.
+     * <p>
+     * All cells must have non-negative coordinates.
+     *
+     * @see #mortonCodeMin()
+     *
+     * @param action
+     *          receives the coordinates of the cells
+     */
+    default void forEachCellMorton(IntBiConsumer action) {
+        int minX = minX(), minY = minY(), maxX = maxX(), maxY = maxY();
+        if (minX >= maxX || minY >= maxY) {
+            return;
+        }
+        if (minX < 0 || minY < 0) {
+            throw new IllegalArgumentException("Rectangle exceeds the range of Morton codes: " + this);
+        }
+        long min = mortonCodeMin(), max = mortonCodeMax();
+        long code = min;
+        while (true) {
+            int x = Morton.decode2dX(code), y = Morton.decode2dY(code);
+            if (x >= minX && x < maxX && y >= minY && y < maxY) {
+                action.accept(x, y);
+                if (code == max) {
+                    return;
+                }
+                code++;
+            } else {
+                code = Morton.bigMin2d(code, min, max);
+            }
+        }
+    }
+
+    /**
+     * Return the smallest {@link Morton#encode2d(int, int) Morton code} of the cells of this rectangle, which is that of
+     * its minimum corner.
+     * <p>
+     * The codes of all cells of this non-empty rectangle lie in <code>[mortonCodeMin()..mortonCodeMax()]</code>, so this
+     * is the range of keys to scan in a list of cells sorted by their codes.
+     *
+     * @return the smallest Morton code
+     */
+    default long mortonCodeMin() {
+        return Morton.encode2d(minX(), minY());
+    }
+
+    /**
+     * Return the largest {@link Morton#encode2d(int, int) Morton code} of the cells of this rectangle, which is that of
+     * the cell at <code>(maxX - 1, maxY - 1)</code>.
+     *
+     * @see #mortonCodeMin()
+     *
+     * @return the largest Morton code
+     */
+    default long mortonCodeMax() {
+        return Morton.encode2d(maxX() - 1, maxY() - 1);
+    }
+
+    /**
+     * Return a {@link java.util.Spliterator} over the cells of this rectangle, which splits along the longest axis, for use
+     * with {@link java.util.stream.StreamSupport#stream(java.util.Spliterator, boolean) parallel streams}.
+     *
+     * @return the spliterator
+     */
+    default RectangleiSpliterator cellSpliterator() {
+        return new RectangleiSpliterator(this);
+    }
 }
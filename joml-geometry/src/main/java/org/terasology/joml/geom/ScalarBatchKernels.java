@@ -0,0 +1,168 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+/**
+ * Branch-free scalar loops behind the batch tests of {@link Intersectionf} and {@link Intersectiond}, which the JIT may
+ * auto-vectorize.
+ * <p>
+ * These are used on every Java version where the Vector API is not available, and for the remainders of the arrays which
+ * do not fill a whole vector otherwise. Each loop runs over the elements <code>[from..to)</code> and gives bit for bit the
+ * same results as the respective scalar test of a single box, so both implementations can be mixed freely. Loops taking
+ * an <code>offset</code> store the result of element <code>i</code> at index <code>i - offset</code> of their output
+ * arrays, so that callers working on a slice of the elements can use scratch arrays the size of that slice.
+ *
+ * @see BatchKernels
+ */
+final class ScalarBatchKernels {
+
+    private ScalarBatchKernels() {
+    }
+
+    static void rayAab(float originX, float originY, float originZ, float invDirX, float invDirY, float invDirZ,
+            float[] nearX, float[] nearY, float[] nearZ, float[] farX, float[] farY, float[] farZ, int from, int to,
+            float[] tNear, float[] tFar, int offset) {
+        // One loop per output array, as C2 does not vectorize a loop storing into both of them. Nor does it vectorize
+        // stores at any other index than the loaded one, so whole arrays take loops of their own.
+        if (offset == 0) {
+            for (int i = from; i < to; i++) {
+                tNear[i] = java.lang.Math.max(java.lang.Math.max((nearX[i] - originX) * invDirX, (nearY[i] - originY) * invDirY),
+                        (nearZ[i] - originZ) * invDirZ);
+            }
+            for (int i = from; i < to; i++) {
+                tFar[i] = java.lang.Math.min(java.lang.Math.min((farX[i] - originX) * invDirX, (farY[i] - originY) * invDirY),
+                        (farZ[i] - originZ) * invDirZ);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            tNear[i - offset] = java.lang.Math.max(java.lang.Math.max((nearX[i] - originX) * invDirX, (nearY[i] - originY) * invDirY),
+                    (nearZ[i] - originZ) * invDirZ);
+            tFar[i - offset] = java.lang.Math.min(java.lang.Math.min((farX[i] - originX) * invDirX, (farY[i] - originY) * invDirY),
+                    (farZ[i] - originZ) * invDirZ);
+        }
+    }
+
+    static int rayHits(int from, int to, float[] tNear, float[] tFar, boolean[] hit) {
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            boolean h = tNear[i] < tFar[i] & tFar[i] >= 0.0f;
+            hit[i] = h;
+            hits += h ? 1 : 0;
+        }
+        return hits;
+    }
+
+    static void rayAab(double originX, double originY, double originZ, double invDirX, double invDirY, double invDirZ,
+            double[] nearX, double[] nearY, double[] nearZ, double[] farX, double[] farY, double[] farZ, int from, int to,
+            double[] tNear, double[] tFar) {
+        for (int i = from; i < to; i++) {
+            tNear[i] = java.lang.Math.max(java.lang.Math.max((nearX[i] - originX) * invDirX, (nearY[i] - originY) * invDirY),
+                    (nearZ[i] - originZ) * invDirZ);
+        }
+        for (int i = from; i < to; i++) {
+            tFar[i] = java.lang.Math.min(java.lang.Math.min((farX[i] - originX) * invDirX, (farY[i] - originY) * invDirY),
+                    (farZ[i] - originZ) * invDirZ);
+        }
+    }
+
+    static int rayHits(int from, int to, double[] tNear, double[] tFar, boolean[] hit) {
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            boolean h = tNear[i] < tFar[i] & tFar[i] >= 0.0;
+            hit[i] = h;
+            hits += h ? 1 : 0;
+        }
+        return hits;
+    }
+
+    static int aabAab(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int from, int to,
+            float qMinX, float qMinY, float qMinZ, float qMaxX, float qMaxY, float qMaxZ, boolean[] hit, int offset) {
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            boolean h = maxX[i] >= qMinX & maxY[i] >= qMinY & maxZ[i] >= qMinZ
+                    & minX[i] <= qMaxX & minY[i] <= qMaxY & minZ[i] <= qMaxZ;
+            hit[i - offset] = h;
+            hits += h ? 1 : 0;
+        }
+        return hits;
+    }
+
+    static int aabSphere(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int from, int to,
+            float centerX, float centerY, float centerZ, float radiusSquared, boolean[] hit, int offset) {
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            // Subtracting 0 * 0 for the axes where the center lies within the slab leaves the radius unchanged.
+            float dX = centerX < minX[i] ? centerX - minX[i] : centerX > maxX[i] ? centerX - maxX[i] : 0.0f;
+            float dY = centerY < minY[i] ? centerY - minY[i] : centerY > maxY[i] ? centerY - maxY[i] : 0.0f;
+            float dZ = centerZ < minZ[i] ? centerZ - minZ[i] : centerZ > maxZ[i] ? centerZ - maxZ[i] : 0.0f;
+            float radius2 = radiusSquared - dX * dX;
+            radius2 -= dY * dY;
+            radius2 -= dZ * dZ;
+            boolean h = radius2 >= 0.0f;
+            hit[i - offset] = h;
+            hits += h ? 1 : 0;
+        }
+        return hits;
+    }
+
+    static int aabPlane(float[] nX, float[] nY, float[] nZ, float[] pX, float[] pY, float[] pZ, int from, int to,
+            float a, float b, float c, float d, boolean[] hit) {
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            float distN = d + a * nX[i] + b * nY[i] + c * nZ[i];
+            float distP = d + a * pX[i] + b * pY[i] + c * pZ[i];
+            boolean h = distN <= 0.0f & distP >= 0.0f;
+            hit[i] = h;
+            hits += h ? 1 : 0;
+        }
+        return hits;
+    }
+
+    static int rayPacketAab(float[] originX, float[] originY, float[] originZ,
+            float[] invDirX, float[] invDirY, float[] invDirZ, float[] maxT, int from, int to,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float[] tNear) {
+        int mask = 0;
+        for (int i = from; i < to; i++) {
+            float tx1 = (minX - originX[i]) * invDirX[i], tx2 = (maxX - originX[i]) * invDirX[i];
+            float ty1 = (minY - originY[i]) * invDirY[i], ty2 = (maxY - originY[i]) * invDirY[i];
+            float tz1 = (minZ - originZ[i]) * invDirZ[i], tz2 = (maxZ - originZ[i]) * invDirZ[i];
+            float near = java.lang.Math.max(java.lang.Math.max(java.lang.Math.min(tx1, tx2), java.lang.Math.min(ty1, ty2)),
+                    java.lang.Math.max(java.lang.Math.min(tz1, tz2), 0.0f));
+            float far = java.lang.Math.min(java.lang.Math.min(java.lang.Math.max(tx1, tx2), java.lang.Math.max(ty1, ty2)),
+                    java.lang.Math.min(java.lang.Math.max(tz1, tz2), maxT[i]));
+            tNear[i] = near;
+            mask |= (near <= far ? 1 : 0) << i;
+        }
+        return mask;
+    }
+
+    static int rayPacketTriangle(float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, float[] maxT, int from, int to,
+            float v0X, float v0Y, float v0Z, float edge1X, float edge1Y, float edge1Z, float edge2X, float edge2Y, float edge2Z,
+            float epsilon, float[] t) {
+        int mask = 0;
+        for (int i = from; i < to; i++) {
+            float pvecX = dirY[i] * edge2Z - dirZ[i] * edge2Y;
+            float pvecY = dirZ[i] * edge2X - dirX[i] * edge2Z;
+            float pvecZ = dirX[i] * edge2Y - dirY[i] * edge2X;
+            float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
+            float tvecX = originX[i] - v0X;
+            float tvecY = originY[i] - v0Y;
+            float tvecZ = originZ[i] - v0Z;
+            float invDet = 1.0f / det;
+            float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ) * invDet;
+            float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
+            float qvecY = tvecZ * edge1X - tvecX * edge1Z;
+            float qvecZ = tvecX * edge1Y - tvecY * edge1X;
+            float v = (dirX[i] * qvecX + dirY[i] * qvecY + dirZ[i] * qvecZ) * invDet;
+            float ti = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+            t[i] = ti;
+            // A parallel ray gives NaN or infinite coordinates, which fail the comparisons.
+            boolean hit = (det <= -epsilon | det >= epsilon) & u >= 0.0f & u <= 1.0f & v >= 0.0f & u + v <= 1.0f
+                    & ti >= 0.0f & ti <= maxT[i];
+            mask |= (hit ? 1 : 0) << i;
+        }
+        return mask;
+    }
+}
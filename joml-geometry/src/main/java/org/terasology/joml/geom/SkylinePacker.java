@@ -0,0 +1,141 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * A {@link RectanglePacker} which only tracks the skyline of the placed rectangles, i.e. the height of the topmost one
+ * along the width of the bin, and places each rectangle onto the skyline where its top edge ends up lowest, preferring
+ * the narrower segment on ties.
+ * <p>
+ * The skyline is a list of horizontal segments, so a placement only scans the segments, which are far fewer than the
+ * free rectangles of a {@link MaxRectsPacker}. Space below the skyline which a placement leaves uncovered is lost,
+ * which makes it pack looser for rectangles of very different sizes.
+ * <p>
+ * Reference: <a href="http://pds25.egloos.com/pds/201504/21/98/RectangleBinPack.pdf">Jukka Jylänki, A Thousand Ways to Pack the Bin</a>
+ */
+public class SkylinePacker extends RectanglePacker {
+
+    /**
+     * The segments of the skyline from left to right as consecutive <code>x, y, width</code> tuples.
+     */
+    private int[] segments = new int[3 * 16];
+    private int segmentCount;
+
+    /**
+     * Create a new empty {@link SkylinePacker} for a bin of the given size.
+     *
+     * @param width
+     *          the width of the bin
+     * @param height
+     *          the height of the bin
+     */
+    public SkylinePacker(int width, int height) {
+        super(width, height);
+        reset();
+    }
+
+    /**
+     * Return the number of segments of the skyline.
+     *
+     * @return the number of segments
+     */
+    public int segmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    void reset() {
+        segments[0] = 0;
+        segments[1] = 0;
+        segments[2] = width();
+        segmentCount = 1;
+    }
+
+    @Override
+    boolean place(int width, int height) {
+        int best = -1, bestTop = Integer.MAX_VALUE, bestWidth = Integer.MAX_VALUE, bestY = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            int y = fit(i, width, height);
+            if (y < 0) {
+                continue;
+            }
+            int top = y + height, segmentWidth = segments[3 * i + 2];
+            if (top < bestTop || top == bestTop && segmentWidth < bestWidth) {
+                best = i;
+                bestTop = top;
+                bestWidth = segmentWidth;
+                bestY = y;
+            }
+        }
+        if (best < 0) {
+            return false;
+        }
+        placedX = segments[3 * best];
+        placedY = bestY;
+        raise(best, placedX, bestTop, width);
+        return true;
+    }
+
+    /**
+     * Return the height at which a rectangle of the given size rests on the skyline with its left edge at the start of
+     * the given segment, or <code>-1</code> if it does not fit there.
+     */
+    private int fit(int segment, int width, int height) {
+        int x = segments[3 * segment];
+        if (x + width > width()) {
+            return -1;
+        }
+        int y = 0;
+        for (int i = segment, end = x + width; i < segmentCount && segments[3 * i] < end; i++) {
+            y = java.lang.Math.max(y, segments[3 * i + 1]);
+            if (y + height > height()) {
+                return -1;
+            }
+        }
+        return y;
+    }
+
+    /**
+     * Insert the segment <code>[x..x+width)</code> at height <code>y</code> before the given segment, cut it out of the
+     * segments to its right, and merge neighbouring segments of the same height.
+     */
+    private void raise(int segment, int x, int y, int width) {
+        if (3 * segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, 2 * segments.length);
+        }
+        System.arraycopy(segments, 3 * segment, segments, 3 * (segment + 1), 3 * (segmentCount - segment));
+        segmentCount++;
+        segments[3 * segment] = x;
+        segments[3 * segment + 1] = y;
+        segments[3 * segment + 2] = width;
+        int end = x + width;
+        int i = segment + 1;
+        while (i < segmentCount && segments[3 * i] < end) {
+            int o = 3 * i;
+            int segmentEnd = segments[o] + segments[o + 2];
+            if (segmentEnd <= end) {
+                removeSegment(i);
+            } else {
+                segments[o + 2] = segmentEnd - end;
+                segments[o] = end;
+                break;
+            }
+        }
+        for (int j = java.lang.Math.max(segment - 1, 0); j < segmentCount - 1 && j <= segment; ) {
+            if (segments[3 * j + 1] == segments[3 * (j + 1) + 1]) {
+                segments[3 * j + 2] += segments[3 * (j + 1) + 2];
+                removeSegment(j + 1);
+                segment--;
+            } else {
+                j++;
+            }
+        }
+    }
+
+    private void removeSegment(int i) {
+        System.arraycopy(segments, 3 * (i + 1), segments, 3 * i, 3 * (segmentCount - i - 1));
+        segmentCount--;
+    }
+}
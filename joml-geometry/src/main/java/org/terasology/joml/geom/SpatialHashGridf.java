@@ -0,0 +1,674 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid of cubic cells hashed by their integer coordinates, which stores axis-aligned boxes in single-precision
+ * floats and finds those near a point, sphere or box in time proportional to the number of cells and objects nearby.
+ * <p>
+ * The cell <code>(x, y, z)</code> covers the box from <code>(x, y, z) * cellSize</code> to
+ * <code>(x + 1, y + 1, z + 1) * cellSize</code>, and every box is registered in all cells it overlaps, given as an
+ * {@link AABBi} by {@link #getCells(int, AABBi)}. Only occupied cells are stored, in an open-addressing hash table of
+ * primitive <code>long</code> keys, so the grid is unbounded. Each cell holds a linked list of the boxes in it, whose
+ * entries are pooled in primitive arrays as well. Cell coordinates are clamped to <code>[-2^20..2^20)</code>, so boxes
+ * beyond <code>2^20 * cellSize</code> share the outermost cells, which keeps the results correct but makes them slow.
+ * <p>
+ * The cell size should be about the size of the typical box or query radius: boxes much larger than a cell are
+ * registered in many cells, and queries much larger than a cell visit many cells.
+ * <p>
+ * Boxes are identified by integer handles, which are reused after a box was removed. {@link #move(int, float, float, float, float, float, float)}
+ * only touches the table if the box enters or leaves a cell. For fully dynamic scenes, {@link #clear()} and inserting all
+ * boxes again rebuilds the grid in linear time without allocating, and hands out the handles <code>0, 1, 2, ...</code> in
+ * the order of insertion.
+ * <p>
+ * Reference: <a href="https://matthias-research.github.io/pages/publications/tetraederCollision.pdf">Teschner et al., Optimized Spatial Hashing for Collision Detection of Deformable Objects</a>
+ */
+public class SpatialHashGridf {
+
+    private static final int NULL = -1;
+    private static final long EMPTY = -1L;
+    private static final int CELL_BITS = 21;
+    private static final int MIN_CELL = -(1 << (CELL_BITS - 1));
+    private static final int MAX_CELL = (1 << (CELL_BITS - 1)) - 1;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+
+    private final float cellSize;
+    private final float invCellSize;
+
+    /**
+     * The bounds of the boxes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     */
+    private float[] bounds;
+    /**
+     * The cells of the boxes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples, with exclusive maxima.
+     */
+    private int[] cells;
+    private boolean[] live;
+    private int[] freeHandles;
+    private int freeCount;
+    private int capacity;
+    private int size;
+
+    /**
+     * The keys of the occupied cells, or {@link #EMPTY}, and the first entry of the list of boxes in each of them.
+     */
+    private long[] keys;
+    private int[] heads;
+    private int cellCount;
+    /**
+     * <code>64 - log2(keys.length)</code>, to take the slot from the high bits of the hashed key, which depend on all of its bits.
+     */
+    private int shift = 58;
+
+    /**
+     * The box of an entry, and the next entry in the same cell or in the free list.
+     */
+    private int[] entryHandle;
+    private int[] entryNext;
+    private int entryFree = NULL;
+    private int entryCount;
+
+    /**
+     * Create a new empty {@link SpatialHashGridf}.
+     *
+     * @param cellSize
+     *          the edge length of the cells
+     */
+    public SpatialHashGridf(float cellSize) {
+        if (!(cellSize > 0.0f) || cellSize == Float.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("cellSize must be positive and finite: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0f / cellSize;
+        grow(16);
+        keys = new long[64];
+        Arrays.fill(keys, EMPTY);
+        heads = new int[64];
+        entryHandle = new int[64];
+        entryNext = new int[64];
+    }
+
+    private void grow(int newCapacity) {
+        bounds = bounds == null ? new float[6 * newCapacity] : Arrays.copyOf(bounds, 6 * newCapacity);
+        cells = cells == null ? new int[6 * newCapacity] : Arrays.copyOf(cells, 6 * newCapacity);
+        live = live == null ? new boolean[newCapacity] : Arrays.copyOf(live, newCapacity);
+        freeHandles = freeHandles == null ? new int[newCapacity] : Arrays.copyOf(freeHandles, newCapacity);
+        // Hand out the new handles in ascending order.
+        for (int h = newCapacity - 1; h >= capacity; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        capacity = newCapacity;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= capacity || !live[handle]) {
+            throw new IllegalArgumentException("Not a box: " + handle);
+        }
+    }
+
+    /**
+     * Return the edge length of the cells.
+     *
+     * @return the cell size
+     */
+    public float cellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Return the number of boxes.
+     *
+     * @return the number of boxes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of occupied cells.
+     *
+     * @return the number of occupied cells
+     */
+    public int cellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Return the coordinate of the cell containing the given coordinate along any axis.
+     *
+     * @param value
+     *          the coordinate
+     * @return the cell coordinate, clamped to <code>[-2^20..2^20)</code>
+     */
+    public int cell(float value) {
+        // Casting saturates huge values and maps NaN to 0; the clamp keeps the coordinate within the bits of a key.
+        int c = (int) java.lang.Math.floor(value * invCellSize);
+        return c < MIN_CELL ? MIN_CELL : c > MAX_CELL ? MAX_CELL : c;
+    }
+
+    private static long key(int x, int y, int z) {
+        return (x & CELL_MASK) << (2 * CELL_BITS) | (y & CELL_MASK) << CELL_BITS | z & CELL_MASK;
+    }
+
+    private static int keyX(long key) {
+        return (int) (key >>> (2 * CELL_BITS)) << (32 - CELL_BITS) >> (32 - CELL_BITS);
+    }
+
+    private static int keyY(long key) {
+        return (int) (key >>> CELL_BITS) << (32 - CELL_BITS) >> (32 - CELL_BITS);
+    }
+
+    private static int keyZ(long key) {
+        return (int) key << (32 - CELL_BITS) >> (32 - CELL_BITS);
+    }
+
+    private int slot(long key) {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> shift);
+    }
+
+    private int find(long key) {
+        for (int i = slot(key); ; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key) {
+                return i;
+            }
+            if (keys[i] == EMPTY) {
+                return NULL;
+            }
+        }
+    }
+
+    /**
+     * Insert the axis-aligned box with the given minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return the handle of the box
+     */
+    public int insert(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (freeCount == 0) {
+            grow(2 * capacity);
+        }
+        int handle = freeHandles[--freeCount];
+        live[handle] = true;
+        setBounds(handle, minX, minY, minZ, maxX, maxY, maxZ);
+        setCells(handle, minX, minY, minZ, maxX, maxY, maxZ);
+        addToCells(handle);
+        size++;
+        return handle;
+    }
+
+    /**
+     * Insert the given axis-aligned box.
+     *
+     * @see #insert(float, float, float, float, float, float)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @return the handle of the box
+     */
+    public int insert(AABBfc aabb) {
+        return insert(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Insert the bounding box of the given sphere.
+     *
+     * @see #insert(float, float, float, float, float, float)
+     *
+     * @param sphere
+     *          the sphere
+     * @return the handle of the box
+     */
+    public int insert(Spheref sphere) {
+        return insert(sphere.x - sphere.r, sphere.y - sphere.r, sphere.z - sphere.r, sphere.x + sphere.r, sphere.y + sphere.r, sphere.z + sphere.r);
+    }
+
+    /**
+     * Insert the given point, as an empty box.
+     *
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param z
+     *          the z coordinate of the point
+     * @return the handle of the point
+     */
+    public int insert(float x, float y, float z) {
+        return insert(x, y, z, x, y, z);
+    }
+
+    /**
+     * Move the box with the given handle to the given minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code>.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return <code>true</code> if the box moved to other cells; <code>false</code> if it stays in the same cells
+     */
+    public boolean move(int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        checkHandle(handle);
+        setBounds(handle, minX, minY, minZ, maxX, maxY, maxZ);
+        int o = 6 * handle;
+        int cMinX = cell(minX), cMinY = cell(minY), cMinZ = cell(minZ);
+        int cMaxX = cellEnd(maxX, cMinX), cMaxY = cellEnd(maxY, cMinY), cMaxZ = cellEnd(maxZ, cMinZ);
+        if (cells[o] == cMinX && cells[o + 1] == cMinY && cells[o + 2] == cMinZ
+                && cells[o + 3] == cMaxX && cells[o + 4] == cMaxY && cells[o + 5] == cMaxZ) {
+            return false;
+        }
+        removeFromCells(handle);
+        setCells(handle, minX, minY, minZ, maxX, maxY, maxZ);
+        addToCells(handle);
+        return true;
+    }
+
+    /**
+     * Move the box with the given handle to the given axis-aligned box.
+     *
+     * @see #move(int, float, float, float, float, float, float)
+     *
+     * @param handle
+     *          the handle of the box
+     * @param aabb
+     *          the new bounds
+     * @return <code>true</code> if the box moved to other cells; <code>false</code> if it stays in the same cells
+     */
+    public boolean move(int handle, AABBfc aabb) {
+        return move(handle, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Move the point with the given handle to <code>(x, y, z)</code>.
+     *
+     * @see #move(int, float, float, float, float, float, float)
+     *
+     * @param handle
+     *          the handle of the point
+     * @param x
+     *          the new x coordinate of the point
+     * @param y
+     *          the new y coordinate of the point
+     * @param z
+     *          the new z coordinate of the point
+     * @return <code>true</code> if the point moved to another cell; <code>false</code> if it stays in the same cell
+     */
+    public boolean move(int handle, float x, float y, float z) {
+        return move(handle, x, y, z, x, y, z);
+    }
+
+    /**
+     * Remove the box with the given handle. The handle may be handed out again by subsequent insertions.
+     *
+     * @param handle
+     *          the handle of the box
+     */
+    public void remove(int handle) {
+        checkHandle(handle);
+        removeFromCells(handle);
+        live[handle] = false;
+        freeHandles[freeCount++] = handle;
+        size--;
+    }
+
+    /**
+     * Remove all boxes, keeping the memory allocated so far.
+     * <p>
+     * Subsequent insertions hand out the handles <code>0, 1, 2, ...</code> in order.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        cellCount = 0;
+        entryCount = 0;
+        entryFree = NULL;
+        Arrays.fill(live, false);
+        freeCount = 0;
+        for (int h = capacity - 1; h >= 0; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        size = 0;
+    }
+
+    private void setBounds(int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int o = 6 * handle;
+        bounds[o] = minX;
+        bounds[o + 1] = minY;
+        bounds[o + 2] = minZ;
+        bounds[o + 3] = maxX;
+        bounds[o + 4] = maxY;
+        bounds[o + 5] = maxZ;
+    }
+
+    private void setCells(int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int o = 6 * handle;
+        cells[o] = cell(minX);
+        cells[o + 1] = cell(minY);
+        cells[o + 2] = cell(minZ);
+        cells[o + 3] = cellEnd(maxX, cells[o]);
+        cells[o + 4] = cellEnd(maxY, cells[o + 1]);
+        cells[o + 5] = cellEnd(maxZ, cells[o + 2]);
+    }
+
+    private int cellEnd(float max, int cellMin) {
+        // An inverted box still occupies the cell of its minimum corner.
+        return java.lang.Math.max(cell(max), cellMin) + 1;
+    }
+
+    private void addToCells(int handle) {
+        int o = 6 * handle;
+        for (int z = cells[o + 2]; z < cells[o + 5]; z++) {
+            for (int y = cells[o + 1]; y < cells[o + 4]; y++) {
+                for (int x = cells[o]; x < cells[o + 3]; x++) {
+                    addToCell(key(x, y, z), handle);
+                }
+            }
+        }
+    }
+
+    private void removeFromCells(int handle) {
+        int o = 6 * handle;
+        for (int z = cells[o + 2]; z < cells[o + 5]; z++) {
+            for (int y = cells[o + 1]; y < cells[o + 4]; y++) {
+                for (int x = cells[o]; x < cells[o + 3]; x++) {
+                    removeFromCell(key(x, y, z), handle);
+                }
+            }
+        }
+    }
+
+    private int allocateEntry() {
+        if (entryFree != NULL) {
+            int entry = entryFree;
+            entryFree = entryNext[entry];
+            return entry;
+        }
+        if (entryCount == entryHandle.length) {
+            entryHandle = Arrays.copyOf(entryHandle, 2 * entryCount);
+            entryNext = Arrays.copyOf(entryNext, 2 * entryCount);
+        }
+        return entryCount++;
+    }
+
+    private void addToCell(long key, int handle) {
+        int entry = allocateEntry();
+        entryHandle[entry] = handle;
+        int i = slot(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key) {
+                entryNext[entry] = heads[i];
+                heads[i] = entry;
+                return;
+            }
+        }
+        keys[i] = key;
+        heads[i] = entry;
+        entryNext[entry] = NULL;
+        if (++cellCount > keys.length >>> 1) {
+            rehash();
+        }
+    }
+
+    private void removeFromCell(long key, int handle) {
+        int i = find(key);
+        int prev = NULL;
+        int entry = heads[i];
+        while (entryHandle[entry] != handle) {
+            prev = entry;
+            entry = entryNext[entry];
+        }
+        if (prev == NULL) {
+            heads[i] = entryNext[entry];
+        } else {
+            entryNext[prev] = entryNext[entry];
+        }
+        entryNext[entry] = entryFree;
+        entryFree = entry;
+        if (heads[i] == NULL) {
+            removeAt(i);
+        }
+    }
+
+    private void removeAt(int i) {
+        int mask = keys.length - 1;
+        int gap = i;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            // Move the cell into the gap unless its home slot lies cyclically within (gap, j].
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                heads[gap] = heads[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        cellCount--;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads;
+        keys = new long[2 * oldKeys.length];
+        Arrays.fill(keys, EMPTY);
+        heads = new int[2 * oldKeys.length];
+        shift--;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = slot(oldKeys[j]);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & (keys.length - 1);
+                }
+                keys[i] = oldKeys[j];
+                heads[i] = oldHeads[j];
+            }
+        }
+    }
+
+    /**
+     * Store the bounds of the box with the given handle into <code>dest</code>.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(int handle, AABBf dest) {
+        checkHandle(handle);
+        int o = 6 * handle;
+        return dest.setMin(bounds[o], bounds[o + 1], bounds[o + 2]).setMax(bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+    }
+
+    /**
+     * Store the cells which the box with the given handle is registered in into <code>dest</code>, whose maximum corner
+     * is exclusive as for an {@link AABBiCursor}.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBi getCells(int handle, AABBi dest) {
+        checkHandle(handle);
+        int o = 6 * handle;
+        return dest.setMin(cells[o], cells[o + 1], cells[o + 2]).setMax(cells[o + 3], cells[o + 4], cells[o + 5]);
+    }
+
+    /**
+     * Report every box which intersects the axis-aligned box given as its minimum corner <code>(minX, minY, minZ)</code>
+     * and maximum corner <code>(maxX, maxY, maxZ)</code> to the given <code>consumer</code>, exactly once.
+     * <p>
+     * The grid must not be modified from within the consumer.
+     *
+     * @see Intersectionf#testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param consumer
+     *          receives the handle of every box which intersects the given box
+     * @return the number of boxes reported
+     */
+    public int queryAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, IntConsumer consumer) {
+        return query(minX, minY, minZ, maxX, maxY, maxZ, Float.NaN, Float.NaN, Float.NaN, Float.NaN, consumer);
+    }
+
+    /**
+     * Report every box which intersects the given axis-aligned box to the given <code>consumer</code>, exactly once.
+     *
+     * @see #queryAab(float, float, float, float, float, float, IntConsumer)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @param consumer
+     *          receives the handle of every box which intersects the given box
+     * @return the number of boxes reported
+     */
+    public int queryAab(AABBfc aabb, IntConsumer consumer) {
+        return queryAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), consumer);
+    }
+
+    /**
+     * Report every box which intersects the sphere with the given center <code>(centerX, centerY, centerZ)</code> and
+     * square radius <code>radiusSquared</code> to the given <code>consumer</code>, exactly once. For boxes inserted as
+     * points, these are the points whose square distance to the center is at most <code>radiusSquared</code>.
+     * <p>
+     * The grid must not be modified from within the consumer.
+     *
+     * @see Intersectionf#testAabSphere(float, float, float, float, float, float, float, float, float, float)
+     *
+     * @param centerX
+     *          the x coordinate of the sphere's center
+     * @param centerY
+     *          the y coordinate of the sphere's center
+     * @param centerZ
+     *          the z coordinate of the sphere's center
+     * @param radiusSquared
+     *          the square radius of the sphere
+     * @param consumer
+     *          receives the handle of every box which intersects the sphere
+     * @return the number of boxes reported
+     */
+    public int querySphere(float centerX, float centerY, float centerZ, float radiusSquared, IntConsumer consumer) {
+        float radius = (float) java.lang.Math.sqrt(radiusSquared);
+        return query(centerX - radius, centerY - radius, centerZ - radius, centerX + radius, centerY + radius, centerZ + radius,
+                centerX, centerY, centerZ, radiusSquared, consumer);
+    }
+
+    /**
+     * Report every box which intersects the given sphere to the given <code>consumer</code>, exactly once.
+     *
+     * @see #querySphere(float, float, float, float, IntConsumer)
+     *
+     * @param sphere
+     *          the sphere
+     * @param consumer
+     *          receives the handle of every box which intersects the sphere
+     * @return the number of boxes reported
+     */
+    public int querySphere(Spheref sphere, IntConsumer consumer) {
+        return querySphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, consumer);
+    }
+
+    /**
+     * Visit the boxes in the cells overlapping the given box, and report those intersecting the box or, unless
+     * <code>radiusSquared</code> is NaN, the sphere.
+     */
+    private int query(float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+            float centerX, float centerY, float centerZ, float radiusSquared, IntConsumer consumer) {
+        if (!(minX <= maxX && minY <= maxY && minZ <= maxZ) || cellCount == 0) {
+            return 0;
+        }
+        int cMinX = cell(minX), cMinY = cell(minY), cMinZ = cell(minZ);
+        int cMaxX = cell(maxX), cMaxY = cell(maxY), cMaxZ = cell(maxZ);
+        // A query may span 2^21 cells along every axis, so the number of its cells can overflow a long.
+        long queryCellsXY = (cMaxX - cMinX + 1L) * (cMaxY - cMinY + 1L);
+        int hits = 0;
+        if (queryCellsXY > keys.length || queryCellsXY * (cMaxZ - cMinZ + 1L) > keys.length) {
+            // Looking up every cell of the query costs more than looking at every occupied cell.
+            for (int i = 0; i < keys.length; i++) {
+                long key = keys[i];
+                if (key == EMPTY) {
+                    continue;
+                }
+                int x = keyX(key), y = keyY(key), z = keyZ(key);
+                if (x >= cMinX && x <= cMaxX && y >= cMinY && y <= cMaxY && z >= cMinZ && z <= cMaxZ) {
+                    hits += report(heads[i], x, y, z, cMinX, cMinY, cMinZ,
+                            minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radiusSquared, consumer);
+                }
+            }
+            return hits;
+        }
+        for (int z = cMinZ; z <= cMaxZ; z++) {
+            for (int y = cMinY; y <= cMaxY; y++) {
+                for (int x = cMinX; x <= cMaxX; x++) {
+                    int i = find(key(x, y, z));
+                    if (i != NULL) {
+                        hits += report(heads[i], x, y, z, cMinX, cMinY, cMinZ,
+                                minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radiusSquared, consumer);
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    private int report(int entry, int x, int y, int z, int cMinX, int cMinY, int cMinZ,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+            float centerX, float centerY, float centerZ, float radiusSquared, IntConsumer consumer) {
+        int hits = 0;
+        for (; entry != NULL; entry = entryNext[entry]) {
+            int handle = entryHandle[entry];
+            int o = 6 * handle;
+            // A box in several cells of the query is only reported from the first cell they have in common.
+            if (x != java.lang.Math.max(cells[o], cMinX) || y != java.lang.Math.max(cells[o + 1], cMinY)
+                    || z != java.lang.Math.max(cells[o + 2], cMinZ)) {
+                continue;
+            }
+            boolean hit = radiusSquared != radiusSquared
+                    ? Intersectionf.testAabAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5],
+                            minX, minY, minZ, maxX, maxY, maxZ)
+                    : Intersectionf.testAabSphere(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5],
+                            centerX, centerY, centerZ, radiusSquared);
+            if (hit) {
+                consumer.accept(handle);
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -4,6 +4,7 @@
 
 import org.joml.Options;
 import org.joml.Runtime;
+import org.joml.Vector3f;
 import org.joml.Vector3fc;
 
 import java.io.Externalizable;
@@ -16,7 +17,7 @@
 /**
  * Represents a 3D sphere.
  */
-public class Spheref implements Externalizable {
+public class Spheref implements Externalizable, ConvexShapef {
 
     /**
      * The x coordinate of the sphere's center.
@@ -147,6 +148,34 @@ public Spheref translate(float x, float y, float z, Spheref dest) {
         return dest;
     }
 
+    /**
+     * Store the center of this sphere, which is its core for {@link GJKf}, into <code>dest</code>.
+     *
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the center
+     * @return dest
+     */
+    @Override
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        return dest.set(x, y, z);
+    }
+
+    /**
+     * Return the radius of this sphere, which inflates its center.
+     *
+     * @return the radius
+     */
+    @Override
+    public float margin() {
+        return r;
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
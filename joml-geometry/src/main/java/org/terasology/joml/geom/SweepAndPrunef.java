@@ -0,0 +1,454 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import java.util.Arrays;
+
+/**
+ * A sweep-and-prune broadphase which finds the overlapping pairs among a set of moving axis-aligned boxes in
+ * single-precision floats.
+ * <p>
+ * The minimum and maximum endpoints of all boxes are kept sorted along each axis. Boxes are added, moved and removed
+ * freely, and {@link #updatePairs()} then restores the order with an insertion sort. In coherent scenes, where boxes move
+ * only a little between frames, this takes close to linear time, and every swap of a minimum with a maximum endpoint
+ * is exactly a change of the overlap status of two boxes along that axis, which is reported to the {@link PairListener}.
+ * Apart from growing its internal arrays, no memory is allocated.
+ * <p>
+ * Boxes are identified by integer handles, which are reused after a box was removed.
+ * <p>
+ * Reference: <a href="https://www.codercorner.com/SAP.pdf">Pierre Terdiman, Sweep-and-prune</a>
+ */
+public class SweepAndPrunef {
+
+    /**
+     * Receives the changes of the set of overlapping pairs.
+     */
+    public interface PairListener {
+        /**
+         * Called when two boxes start to overlap.
+         *
+         * @param a
+         *          the smaller handle of the pair
+         * @param b
+         *          the larger handle of the pair
+         */
+        void pairAdded(int a, int b);
+
+        /**
+         * Called when two boxes stop to overlap, including because one of them was removed.
+         *
+         * @param a
+         *          the smaller handle of the pair
+         * @param b
+         *          the larger handle of the pair
+         */
+        void pairRemoved(int a, int b);
+    }
+
+    private final PairListener listener;
+
+    /**
+     * The bounds of the boxes as consecutive <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples.
+     */
+    private float[] bounds;
+    /**
+     * <code>0</code> for free handles, <code>1</code> for live boxes and <code>2</code> for boxes pending removal.
+     */
+    private byte[] state;
+    private int[] freeHandles;
+    private int freeCount;
+    private int capacity;
+    private int size;
+    private boolean removalsPending;
+
+    /**
+     * The sorted endpoints of each axis, encoded as <code>handle &lt;&lt; 1 | (isMax ? 1 : 0)</code>, and their values.
+     */
+    private final int[][] endpoints = new int[3][];
+    private final float[][] values = new float[3][];
+    /**
+     * The position of each encoded endpoint in the sorted arrays of each axis.
+     */
+    private final int[][] positions = new int[3][];
+    private int endpointCount;
+
+    private final PairSet pairs = new PairSet();
+
+    /**
+     * Create a new empty {@link SweepAndPrunef}.
+     *
+     * @param listener
+     *          receives the changes of the set of overlapping pairs during {@link #updatePairs()}
+     */
+    public SweepAndPrunef(PairListener listener) {
+        this.listener = listener;
+        grow(16);
+    }
+
+    private void grow(int newCapacity) {
+        bounds = bounds == null ? new float[6 * newCapacity] : Arrays.copyOf(bounds, 6 * newCapacity);
+        state = state == null ? new byte[newCapacity] : Arrays.copyOf(state, newCapacity);
+        freeHandles = freeHandles == null ? new int[newCapacity] : Arrays.copyOf(freeHandles, newCapacity);
+        for (int axis = 0; axis < 3; axis++) {
+            endpoints[axis] = endpoints[axis] == null ? new int[2 * newCapacity] : Arrays.copyOf(endpoints[axis], 2 * newCapacity);
+            values[axis] = values[axis] == null ? new float[2 * newCapacity] : Arrays.copyOf(values[axis], 2 * newCapacity);
+            positions[axis] = positions[axis] == null ? new int[2 * newCapacity] : Arrays.copyOf(positions[axis], 2 * newCapacity);
+        }
+        // Hand out the new handles in ascending order.
+        for (int h = newCapacity - 1; h >= capacity; h--) {
+            freeHandles[freeCount++] = h;
+        }
+        capacity = newCapacity;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= capacity || state[handle] != 1) {
+            throw new IllegalArgumentException("Not a box: " + handle);
+        }
+    }
+
+    /**
+     * Add the axis-aligned box with the given minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code>. Its pairs are reported by the next call to {@link #updatePairs()}.
+     *
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return the handle of the box
+     */
+    public int add(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (freeCount == 0) {
+            grow(2 * capacity);
+        }
+        int handle = freeHandles[--freeCount];
+        state[handle] = 1;
+        setBounds(handle, minX, minY, minZ, maxX, maxY, maxZ);
+        // Append the endpoints; the next sort moves them to their place, discovering the overlaps on the way.
+        for (int axis = 0; axis < 3; axis++) {
+            int[] e = endpoints[axis];
+            float[] v = values[axis];
+            int[] p = positions[axis];
+            e[endpointCount] = handle << 1;
+            v[endpointCount] = bounds[6 * handle + axis];
+            p[handle << 1] = endpointCount;
+            e[endpointCount + 1] = handle << 1 | 1;
+            v[endpointCount + 1] = bounds[6 * handle + 3 + axis];
+            p[handle << 1 | 1] = endpointCount + 1;
+        }
+        endpointCount += 2;
+        size++;
+        return handle;
+    }
+
+    /**
+     * Add the given axis-aligned box.
+     *
+     * @see #add(float, float, float, float, float, float)
+     *
+     * @param aabb
+     *          the axis-aligned box
+     * @return the handle of the box
+     */
+    public int add(AABBfc aabb) {
+        return add(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Set the bounds of the box with the given handle to the given minimum corner <code>(minX, minY, minZ)</code> and
+     * maximum corner <code>(maxX, maxY, maxZ)</code>. The resulting changes of its pairs are reported by the next call to
+     * {@link #updatePairs()}.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     */
+    public void update(int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        checkHandle(handle);
+        setBounds(handle, minX, minY, minZ, maxX, maxY, maxZ);
+        for (int axis = 0; axis < 3; axis++) {
+            values[axis][positions[axis][handle << 1]] = bounds[6 * handle + axis];
+            values[axis][positions[axis][handle << 1 | 1]] = bounds[6 * handle + 3 + axis];
+        }
+    }
+
+    /**
+     * Set the bounds of the box with the given handle to the given axis-aligned box.
+     *
+     * @see #update(int, float, float, float, float, float, float)
+     *
+     * @param handle
+     *          the handle of the box
+     * @param aabb
+     *          the new bounds
+     */
+    public void update(int handle, AABBfc aabb) {
+        update(handle, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Remove the box with the given handle. Its pairs are reported as removed by the next call to {@link #updatePairs()},
+     * after which the handle may be reused.
+     *
+     * @param handle
+     *          the handle of the box
+     */
+    public void remove(int handle) {
+        checkHandle(handle);
+        state[handle] = 2;
+        removalsPending = true;
+        size--;
+    }
+
+    private void setBounds(int handle, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int o = 6 * handle;
+        bounds[o] = minX;
+        bounds[o + 1] = minY;
+        bounds[o + 2] = minZ;
+        bounds[o + 3] = maxX;
+        bounds[o + 4] = maxY;
+        bounds[o + 5] = maxZ;
+    }
+
+    /**
+     * Store the bounds of the box with the given handle into <code>dest</code>.
+     *
+     * @param handle
+     *          the handle of the box
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(int handle, AABBf dest) {
+        checkHandle(handle);
+        int o = 6 * handle;
+        return dest.setMin(bounds[o], bounds[o + 1], bounds[o + 2]).setMax(bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+    }
+
+    /**
+     * Return the number of boxes.
+     *
+     * @return the number of boxes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of overlapping pairs as of the last call to {@link #updatePairs()}.
+     *
+     * @return the number of overlapping pairs
+     */
+    public int pairCount() {
+        return pairs.size;
+    }
+
+    /**
+     * Test whether the boxes with the given handles overlapped as of the last call to {@link #updatePairs()}.
+     *
+     * @param a
+     *          the handle of the first box
+     * @param b
+     *          the handle of the second box
+     * @return <code>true</code> if the boxes overlap; <code>false</code> otherwise
+     */
+    public boolean isOverlapping(int a, int b) {
+        return a != b && pairs.contains(key(a, b));
+    }
+
+    /**
+     * Bring the set of overlapping pairs up to date with all additions, updates and removals since the last call, and
+     * report the changes to the {@link PairListener}.
+     */
+    public void updatePairs() {
+        if (removalsPending) {
+            purgeRemoved();
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            sortAxis(axis);
+        }
+    }
+
+    private void purgeRemoved() {
+        long[] table = pairs.table;
+        for (int i = 0; i < table.length; i++) {
+            long k;
+            // Deleting shifts later entries into this slot, so look at it again until it holds a surviving pair.
+            while ((k = table[i]) != PairSet.EMPTY && (state[(int) (k >>> 32)] == 2 || state[(int) k] == 2)) {
+                pairs.removeAt(i);
+                listener.pairRemoved((int) (k >>> 32), (int) k);
+            }
+        }
+        int count = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            int[] e = endpoints[axis];
+            float[] v = values[axis];
+            int[] p = positions[axis];
+            count = 0;
+            for (int i = 0; i < endpointCount; i++) {
+                if (state[e[i] >>> 1] != 2) {
+                    e[count] = e[i];
+                    v[count] = v[i];
+                    p[e[i]] = count;
+                    count++;
+                }
+            }
+        }
+        endpointCount = count;
+        for (int h = 0; h < capacity; h++) {
+            if (state[h] == 2) {
+                state[h] = 0;
+                freeHandles[freeCount++] = h;
+            }
+        }
+        removalsPending = false;
+    }
+
+    private void sortAxis(int axis) {
+        int[] e = endpoints[axis];
+        float[] v = values[axis];
+        int[] p = positions[axis];
+        for (int i = 1; i < endpointCount; i++) {
+            int key = e[i];
+            float value = v[i];
+            int j = i;
+            // On equal values, minimum endpoints go first, so that touching boxes overlap like in Intersectionf.testAabAab.
+            while (j > 0 && (v[j - 1] > value || v[j - 1] == value && (e[j - 1] & 1) == 1 && (key & 1) == 0)) {
+                int other = e[j - 1];
+                if ((key & 1) == 0 && (other & 1) == 1) {
+                    // A minimum moves below a maximum: the boxes start to overlap along this axis.
+                    int a = key >>> 1, b = other >>> 1;
+                    if (overlaps(a, b) && pairs.add(key(a, b))) {
+                        listener.pairAdded(Math.min(a, b), Math.max(a, b));
+                    }
+                } else if ((key & 1) == 1 && (other & 1) == 0) {
+                    // A maximum moves below a minimum: the boxes are now separated along this axis.
+                    int a = key >>> 1, b = other >>> 1;
+                    if (pairs.remove(key(a, b))) {
+                        listener.pairRemoved(Math.min(a, b), Math.max(a, b));
+                    }
+                }
+                e[j] = other;
+                v[j] = v[j - 1];
+                p[other] = j;
+                j--;
+            }
+            e[j] = key;
+            v[j] = value;
+            p[key] = j;
+        }
+    }
+
+    private boolean overlaps(int a, int b) {
+        int o1 = 6 * a, o2 = 6 * b;
+        return a != b && Intersectionf.testAabAab(bounds[o1], bounds[o1 + 1], bounds[o1 + 2], bounds[o1 + 3], bounds[o1 + 4], bounds[o1 + 5],
+                bounds[o2], bounds[o2 + 1], bounds[o2 + 2], bounds[o2 + 3], bounds[o2 + 4], bounds[o2 + 5]);
+    }
+
+    private static long key(int a, int b) {
+        return a < b ? (long) a << 32 | b : (long) b << 32 | a;
+    }
+
+    /**
+     * An open addressing hash set of pair keys with linear probing and backward shift deletion.
+     */
+    private static final class PairSet {
+        static final long EMPTY = -1L;
+
+        long[] table = new long[64];
+        int size;
+
+        PairSet() {
+            Arrays.fill(table, EMPTY);
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32) & (table.length - 1);
+        }
+
+        boolean contains(long key) {
+            for (int i = slot(key); ; i = (i + 1) & (table.length - 1)) {
+                if (table[i] == key) {
+                    return true;
+                }
+                if (table[i] == EMPTY) {
+                    return false;
+                }
+            }
+        }
+
+        boolean add(long key) {
+            int i = slot(key);
+            for (; table[i] != EMPTY; i = (i + 1) & (table.length - 1)) {
+                if (table[i] == key) {
+                    return false;
+                }
+            }
+            table[i] = key;
+            if (++size > table.length >>> 1) {
+                rehash();
+            }
+            return true;
+        }
+
+        boolean remove(long key) {
+            for (int i = slot(key); table[i] != EMPTY; i = (i + 1) & (table.length - 1)) {
+                if (table[i] == key) {
+                    removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void removeAt(int i) {
+            int mask = table.length - 1;
+            int gap = i;
+            for (int j = (i + 1) & mask; table[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(table[j]);
+                // Move the entry into the gap unless its home slot lies cyclically within (gap, j].
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    table[gap] = table[j];
+                    gap = j;
+                }
+            }
+            table[gap] = EMPTY;
+            size--;
+        }
+
+        private void rehash() {
+            long[] old = table;
+            table = new long[2 * old.length];
+            Arrays.fill(table, EMPTY);
+            for (long key : old) {
+                if (key != EMPTY) {
+                    int i = slot(key);
+                    while (table[i] != EMPTY) {
+                        i = (i + 1) & (table.length - 1);
+                    }
+                    table[i] = key;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,670 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector4f;
+
+/**
+ * A bounding volume hierarchy over the triangles of an indexed mesh for fast raycasts and swept-sphere queries, using
+ * single-precision floating-point numbers.
+ * <p>
+ * The mesh is given as a flat array of vertex positions <code>x, y, z</code> and an array of indices with three
+ * consecutive vertex indices per triangle. The hierarchy is built once with the binned surface area heuristic like
+ * {@link BVHf}, and keeps its own copy of the triangles' vertices in leaf order, so the mesh arrays can be changed or
+ * released afterwards.
+ * <p>
+ * Rays hit both sides of a triangle, and report the barycentric coordinates <code>(u, v)</code> of the point of
+ * intersection, which is <code>v0 + u * (v1 - v0) + v * (v2 - v0)</code>.
+ * <p>
+ * Reference: <a href="http://www.graphics.cornell.edu/pubs/1997/MT97.pdf">Fast, Minimum Storage Ray/Triangle Intersection</a>
+ */
+public class TriangleMeshBVHf {
+
+    /**
+     * The default maximum number of triangles per leaf.
+     */
+    public static final int DEFAULT_MAX_LEAF_SIZE = 4;
+
+    /**
+     * Receives the triangles hit by a ray, see
+     * {@link TriangleMeshBVHf#intersectRayAll(float, float, float, float, float, float, float, TriangleHitConsumer)}.
+     */
+    @FunctionalInterface
+    public interface TriangleHitConsumer {
+        /**
+         * Called for each triangle intersected by the ray.
+         *
+         * @param triangle
+         *          the index of the triangle
+         * @param t
+         *          the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection
+         * @param u
+         *          the barycentric coordinate of the point of intersection towards the second vertex
+         * @param v
+         *          the barycentric coordinate of the point of intersection towards the third vertex
+         */
+        void accept(int triangle, float t, float u, float v);
+    }
+
+    /**
+     * The hierarchy over the bounds of the triangles.
+     */
+    private final BVHf bvh;
+    /**
+     * The vertices of the triangles in leaf order, as consecutive <code>v0, v1, v2</code> positions.
+     */
+    private final float[] triangles;
+
+    /**
+     * Build a new {@link TriangleMeshBVHf} over the given mesh with at most {@link #DEFAULT_MAX_LEAF_SIZE} triangles per leaf.
+     *
+     * @param vertices
+     *          the positions of the vertices as consecutive <code>x, y, z</code> coordinates
+     * @param indices
+     *          three indices into the vertices per triangle
+     */
+    public TriangleMeshBVHf(float[] vertices, int[] indices) {
+        this(vertices, indices, DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    /**
+     * Build a new {@link TriangleMeshBVHf} over the given mesh.
+     *
+     * @param vertices
+     *          the positions of the vertices as consecutive <code>x, y, z</code> coordinates
+     * @param indices
+     *          three indices into the vertices per triangle
+     * @param maxLeafSize
+     *          the maximum number of triangles per leaf
+     */
+    public TriangleMeshBVHf(float[] vertices, int[] indices, int maxLeafSize) {
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("indices must hold three indices per triangle: " + indices.length);
+        }
+        int count = indices.length / 3;
+        float[] bounds = new float[6 * count];
+        for (int i = 0; i < count; i++) {
+            int o = 6 * i;
+            bounds[o] = bounds[o + 1] = bounds[o + 2] = Float.POSITIVE_INFINITY;
+            bounds[o + 3] = bounds[o + 4] = bounds[o + 5] = Float.NEGATIVE_INFINITY;
+            for (int k = 0; k < 3; k++) {
+                int v = 3 * indices[3 * i + k];
+                for (int axis = 0; axis < 3; axis++) {
+                    bounds[o + axis] = Math.min(bounds[o + axis], vertices[v + axis]);
+                    bounds[o + 3 + axis] = Math.max(bounds[o + 3 + axis], vertices[v + axis]);
+                }
+            }
+        }
+        this.bvh = new BVHf(bounds, count, maxLeafSize);
+        this.triangles = new float[9 * count];
+        for (int i = 0; i < count; i++) {
+            int triangle = bvh.items[i];
+            for (int k = 0; k < 3; k++) {
+                System.arraycopy(vertices, 3 * indices[3 * triangle + k], triangles, 9 * i + 3 * k, 3);
+            }
+        }
+    }
+
+    /**
+     * Return the number of triangles.
+     *
+     * @return the number of triangles
+     */
+    public int triangleCount() {
+        return bvh.size;
+    }
+
+    /**
+     * Return the bounds of all triangles in <code>dest</code>.
+     *
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf getBounds(AABBf dest) {
+        return bvh.getBounds(dest);
+    }
+
+    /**
+     * Determine the triangle which the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> hits first, for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code>, and store <i>t</i> and the barycentric
+     * coordinates <code>(u, v)</code> of the point of intersection into <code>result</code>.
+     * <p>
+     * The children of each node are visited nearest first, and nodes farther away than the closest hit so far are
+     * skipped.
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param result
+     *          will hold <code>(t, u, v)</code> of the triangle hit first, iff any triangle is hit
+     * @return the index of the triangle hit first, or <code>-1</code> if the ray does not hit any triangle
+     */
+    public int intersectRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float maxT, Vector3f result) {
+        if (bvh.nodeCount == 0) {
+            return -1;
+        }
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        if (nearNode(0, originX, originY, originZ, invDirX, invDirY, invDirZ, maxT) < 0.0f) {
+            return -1;
+        }
+        int[] nodeIndex = bvh.nodeIndex, nodeSize = bvh.nodeSize;
+        int[] stack = new int[bvh.depth];
+        float[] stackNear = new float[bvh.depth];
+        float[] uv = new float[2];
+        int top = 0;
+        int node = 0;
+        int best = -1;
+        float bestT = maxT, bestU = 0.0f, bestV = 0.0f;
+        while (true) {
+            if (nodeSize[node] > 0) {
+                for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                    float t = intersectTriangle(i, originX, originY, originZ, dirX, dirY, dirZ, uv);
+                    if (t >= 0.0f && (t < bestT || best < 0 && t <= bestT)) {
+                        best = i;
+                        bestT = t;
+                        bestU = uv[0];
+                        bestV = uv[1];
+                    }
+                }
+            } else {
+                // Visit the nearer child first and come back to the farther one, unless a closer hit has been found by then.
+                int left = node + 1, right = nodeIndex[node];
+                float nearLeft = nearNode(left, originX, originY, originZ, invDirX, invDirY, invDirZ, bestT);
+                float nearRight = nearNode(right, originX, originY, originZ, invDirX, invDirY, invDirZ, bestT);
+                boolean hitLeft = nearLeft >= 0.0f, hitRight = nearRight >= 0.0f;
+                if (hitLeft && hitRight) {
+                    boolean leftFirst = nearLeft <= nearRight;
+                    stack[top] = leftFirst ? right : left;
+                    stackNear[top++] = leftFirst ? nearRight : nearLeft;
+                    node = leftFirst ? left : right;
+                    continue;
+                } else if (hitLeft) {
+                    node = left;
+                    continue;
+                } else if (hitRight) {
+                    node = right;
+                    continue;
+                }
+            }
+            do {
+                if (top == 0) {
+                    if (best < 0) {
+                        return -1;
+                    }
+                    result.set(bestT, bestU, bestV);
+                    return bvh.items[best];
+                }
+                node = stack[--top];
+            } while (stackNear[top] > bestT);
+        }
+    }
+
+    /**
+     * Determine the triangle which the given ray hits first, for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code>, and store <i>t</i> and the barycentric
+     * coordinates <code>(u, v)</code> of the point of intersection into <code>result</code>.
+     *
+     * @see #intersectRay(float, float, float, float, float, float, float, Vector3f)
+     *
+     * @param ray
+     *          the ray
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param result
+     *          will hold <code>(t, u, v)</code> of the triangle hit first, iff any triangle is hit
+     * @return the index of the triangle hit first, or <code>-1</code> if the ray does not hit any triangle
+     */
+    public int intersectRay(Rayf ray, float maxT, Vector3f result) {
+        return intersectRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, maxT, result);
+    }
+
+    /**
+     * Determine the triangle which each ray of the given packet hits first, for values of the parameter <i>t</i> in the
+     * ray equation <i>p(t) = origin + t * dir</i> from <code>0</code> to the lane's {@link RayPacketf#maxT}, and store its
+     * index and <i>t</i> into <code>hitTriangles</code> and <code>hitT</code> for each lane.
+     * <p>
+     * The rays traverse the hierarchy together: each node is tested once for the mask of the lanes still reaching it,
+     * and is skipped once every one of these lanes has found a hit closer than where it enters the node. The nearer
+     * child, as seen by the first lane hitting both, is visited first. For packets of coherent rays this tests far fewer
+     * nodes per ray than {@link #intersectRay(float, float, float, float, float, float, float, Vector3f)}.
+     *
+     * @param packet
+     *          the rays
+     * @param hitTriangles
+     *          will hold the index of the triangle each lane hits first, or <code>-1</code> if it hits none
+     * @param hitT
+     *          will hold the value of <i>t</i> of the first hit of each lane, where there is one
+     * @return the mask of the lanes whose rays hit any triangle
+     */
+    public int intersectRayPacket(RayPacketf packet, int[] hitTriangles, float[] hitT) {
+        int lanes = packet.lanes;
+        for (int i = 0; i < lanes; i++) {
+            hitTriangles[i] = -1;
+        }
+        if (bvh.nodeCount == 0) {
+            return 0;
+        }
+        int[] nodeIndex = bvh.nodeIndex, nodeSize = bvh.nodeSize;
+        float[] nodeBounds = bvh.nodeBounds, v = this.triangles;
+        float[] originX = packet.originX, originY = packet.originY, originZ = packet.originZ;
+        float[] invDirX = packet.invDirX, invDirY = packet.invDirY, invDirZ = packet.invDirZ;
+        float[] best = packet.maxT.clone();
+        float[] nearLeft = new float[lanes], nearRight = new float[lanes];
+        // Each entry is a node, the mask of the lanes which hit it and the values of t where they enter it.
+        int[] stack = new int[bvh.depth], stackMask = new int[bvh.depth];
+        float[] stackNear = new float[bvh.depth * lanes];
+        int top = 0;
+        int node = 0;
+        int mask = Intersectionf.intersectRayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ, best, lanes,
+                nodeBounds[0], nodeBounds[1], nodeBounds[2], nodeBounds[3], nodeBounds[4], nodeBounds[5], nearLeft);
+        int hitMask = 0;
+        while (mask != 0) {
+            if (nodeSize[node] > 0) {
+                for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                    int k = 9 * i;
+                    int hits = mask & Intersectionf.intersectRayPacketTriangle(originX, originY, originZ,
+                            packet.dirX, packet.dirY, packet.dirZ, best, lanes,
+                            v[k], v[k + 1], v[k + 2], v[k + 3], v[k + 4], v[k + 5], v[k + 6], v[k + 7], v[k + 8], 0.0f, nearLeft);
+                    for (; hits != 0; hits &= hits - 1) {
+                        int lane = Integer.numberOfTrailingZeros(hits);
+                        if (nearLeft[lane] < best[lane] || hitTriangles[lane] < 0) {
+                            best[lane] = nearLeft[lane];
+                            hitTriangles[lane] = bvh.items[i];
+                            hitT[lane] = nearLeft[lane];
+                            hitMask |= 1 << lane;
+                        }
+                    }
+                }
+                mask = 0;
+            } else {
+                // Test both children for all lanes at once, descend into the nearer one and come back to the farther
+                // one for the lanes which hit it, unless they have all found a closer hit by then.
+                int left = node + 1, right = nodeIndex[node];
+                int l = 6 * left, r = 6 * right;
+                int maskLeft = mask & Intersectionf.intersectRayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                        best, lanes, nodeBounds[l], nodeBounds[l + 1], nodeBounds[l + 2],
+                        nodeBounds[l + 3], nodeBounds[l + 4], nodeBounds[l + 5], nearLeft);
+                int maskRight = mask & Intersectionf.intersectRayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                        best, lanes, nodeBounds[r], nodeBounds[r + 1], nodeBounds[r + 2],
+                        nodeBounds[r + 3], nodeBounds[r + 4], nodeBounds[r + 5], nearRight);
+                if (maskLeft != 0 && maskRight != 0) {
+                    // Order the children by the first lane which hits both, or else by the first lane which hits any.
+                    int both = maskLeft & maskRight;
+                    int lane = Integer.numberOfTrailingZeros(both != 0 ? both : maskLeft | maskRight);
+                    boolean leftFirst = both != 0 ? nearLeft[lane] <= nearRight[lane] : (maskLeft & 1 << lane) != 0;
+                    stack[top] = leftFirst ? right : left;
+                    stackMask[top] = leftFirst ? maskRight : maskLeft;
+                    System.arraycopy(leftFirst ? nearRight : nearLeft, 0, stackNear, top++ * lanes, lanes);
+                    node = leftFirst ? left : right;
+                    mask = leftFirst ? maskLeft : maskRight;
+                } else if (maskLeft != 0) {
+                    node = left;
+                    mask = maskLeft;
+                } else {
+                    node = right;
+                    mask = maskRight;
+                }
+            }
+            while (mask == 0 && top > 0) {
+                node = stack[--top];
+                mask = stackMask[top];
+                for (int m = mask, o = top * lanes; m != 0; m &= m - 1) {
+                    int lane = Integer.numberOfTrailingZeros(m);
+                    if (stackNear[o + lane] > best[lane]) {
+                        mask &= ~(1 << lane);
+                    }
+                }
+            }
+        }
+        return hitMask;
+    }
+
+    /**
+     * Test whether the ray with the given origin <code>(originX, originY, originZ)</code> and direction
+     * <code>(dirX, dirY, dirZ)</code> hits any triangle for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code>.
+     * <p>
+     * This stops at the first triangle found, which makes it cheaper than
+     * {@link #intersectRay(float, float, float, float, float, float, float, Vector3f)} for shadow and visibility tests.
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @return <code>true</code> if the ray hits any triangle; <code>false</code> otherwise
+     */
+    public boolean testRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float maxT) {
+        if (bvh.nodeCount == 0) {
+            return false;
+        }
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        int[] nodeIndex = bvh.nodeIndex, nodeSize = bvh.nodeSize;
+        int[] stack = new int[bvh.depth];
+        float[] uv = new float[2];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (nearNode(node, originX, originY, originZ, invDirX, invDirY, invDirZ, maxT) < 0.0f) {
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                float t = intersectTriangle(i, originX, originY, originZ, dirX, dirY, dirZ, uv);
+                if (t >= 0.0f && t <= maxT) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test whether the given ray hits any triangle for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code>.
+     *
+     * @see #testRay(float, float, float, float, float, float, float)
+     *
+     * @param ray
+     *          the ray
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @return <code>true</code> if the ray hits any triangle; <code>false</code> otherwise
+     */
+    public boolean testRay(Rayf ray, float maxT) {
+        return testRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, maxT);
+    }
+
+    /**
+     * Report every triangle hit by the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code> to the given <code>consumer</code>, in no
+     * particular order.
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param consumer
+     *          receives the index, <i>t</i> and the barycentric coordinates of every triangle hit
+     * @return the number of triangles hit
+     */
+    public int intersectRayAll(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float maxT,
+                               TriangleHitConsumer consumer) {
+        if (bvh.nodeCount == 0) {
+            return 0;
+        }
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        int[] nodeIndex = bvh.nodeIndex, nodeSize = bvh.nodeSize;
+        int[] stack = new int[bvh.depth];
+        float[] uv = new float[2];
+        int top = 0;
+        stack[top++] = 0;
+        int hits = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (nearNode(node, originX, originY, originZ, invDirX, invDirY, invDirZ, maxT) < 0.0f) {
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                float t = intersectTriangle(i, originX, originY, originZ, dirX, dirY, dirZ, uv);
+                if (t >= 0.0f && t <= maxT) {
+                    consumer.accept(bvh.items[i], t, uv[0], uv[1]);
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Report every triangle hit by the given ray for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code> to the given <code>consumer</code>, in no
+     * particular order.
+     *
+     * @see #intersectRayAll(float, float, float, float, float, float, float, TriangleHitConsumer)
+     *
+     * @param ray
+     *          the ray
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param consumer
+     *          receives the index, <i>t</i> and the barycentric coordinates of every triangle hit
+     * @return the number of triangles hit
+     */
+    public int intersectRayAll(Rayf ray, float maxT, TriangleHitConsumer consumer) {
+        return intersectRayAll(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, maxT, consumer);
+    }
+
+    /**
+     * Determine the triangle which a sphere with the given center <code>(centerX, centerY, centerZ)</code> and
+     * <code>radius</code>, moving with the given velocity <code>(velX, velY, velZ)</code>, touches first within the time
+     * <code>[0..maxT]</code>, and store the point and time of contact into <code>pointAndTime</code> and the contact
+     * normal into <code>normal</code>.
+     * <p>
+     * Only the triangles whose bounds overlap the box swept by the sphere up to the earliest contact found so far are
+     * tested, each with
+     * {@link Intersectionf#intersectSweptSphereTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector4f)},
+     * so the cost depends on the number of triangles near the path rather than on the size of the mesh. As for that
+     * method, the triangles must be given in counter-clockwise winding order as seen from the side the sphere comes from.
+     * <p>
+     * The normal points from the point of contact towards the center of the sphere at the time of contact, which is the
+     * direction in which a character controller would slide along or push out of the mesh.
+     *
+     * @param centerX
+     *          the x coordinate of the sphere's center
+     * @param centerY
+     *          the y coordinate of the sphere's center
+     * @param centerZ
+     *          the z coordinate of the sphere's center
+     * @param radius
+     *          the radius of the sphere
+     * @param velX
+     *          the x component of the velocity of the sphere
+     * @param velY
+     *          the y component of the velocity of the sphere
+     * @param velZ
+     *          the z component of the velocity of the sphere
+     * @param epsilon
+     *          a small epsilon when testing spheres that move almost parallel to a triangle
+     * @param maxT
+     *          the maximum time of contact, which must be finite
+     * @param pointAndTime
+     *          will hold the point of contact in the <code>(x, y, z)</code> components and the time of contact in the
+     *          <code>w</code> component, iff any triangle is touched
+     * @param normal
+     *          will hold the unit contact normal, iff any triangle is touched
+     * @return the index of the triangle touched first, or <code>-1</code> if the sphere does not touch any triangle
+     */
+    public int intersectSweptSphere(float centerX, float centerY, float centerZ, float radius, float velX, float velY, float velZ,
+                                    float epsilon, float maxT, Vector4f pointAndTime, Vector3f normal) {
+        if (bvh.nodeCount == 0) {
+            return -1;
+        }
+        int[] nodeIndex = bvh.nodeIndex, nodeSize = bvh.nodeSize;
+        float[] nodeBounds = bvh.nodeBounds, itemBounds = bvh.itemBounds;
+        float[] v = triangles;
+        int[] stack = new int[bvh.depth];
+        Vector4f contact = new Vector4f();
+        int top = 0;
+        stack[top++] = 0;
+        int best = -1;
+        float bestT = maxT;
+        float minX = Math.min(centerX, centerX + velX * maxT) - radius, maxX = Math.max(centerX, centerX + velX * maxT) + radius;
+        float minY = Math.min(centerY, centerY + velY * maxT) - radius, maxY = Math.max(centerY, centerY + velY * maxT) + radius;
+        float minZ = Math.min(centerZ, centerZ + velZ * maxT) - radius, maxZ = Math.max(centerZ, centerZ + velZ * maxT) + radius;
+        while (top > 0) {
+            int node = stack[--top];
+            int o = 6 * node;
+            if (!Intersectionf.testAabAab(nodeBounds[o], nodeBounds[o + 1], nodeBounds[o + 2], nodeBounds[o + 3], nodeBounds[o + 4], nodeBounds[o + 5],
+                    minX, minY, minZ, maxX, maxY, maxZ)) {
+                continue;
+            }
+            if (nodeSize[node] == 0) {
+                stack[top++] = nodeIndex[node];
+                stack[top++] = node + 1;
+                continue;
+            }
+            for (int i = nodeIndex[node], end = i + nodeSize[node]; i < end; i++) {
+                int b = 6 * i;
+                if (!Intersectionf.testAabAab(itemBounds[b], itemBounds[b + 1], itemBounds[b + 2], itemBounds[b + 3], itemBounds[b + 4], itemBounds[b + 5],
+                        minX, minY, minZ, maxX, maxY, maxZ)) {
+                    continue;
+                }
+                int t = 9 * i;
+                // The full time range is passed on, so that the result for a triangle does not depend on the order in
+                // which the triangles are visited.
+                if (Intersectionf.intersectSweptSphereTriangle(centerX, centerY, centerZ, radius, velX, velY, velZ,
+                        v[t], v[t + 1], v[t + 2], v[t + 3], v[t + 4], v[t + 5], v[t + 6], v[t + 7], v[t + 8], epsilon, maxT, contact) == 0
+                        || !(contact.w >= 0.0f) || contact.w > bestT || best >= 0 && contact.w == bestT) {
+                    continue;
+                }
+                best = i;
+                bestT = contact.w;
+                pointAndTime.set(contact);
+                // Only the part of the sweep before this contact can still hold an earlier one.
+                minX = Math.min(centerX, centerX + velX * bestT) - radius;
+                maxX = Math.max(centerX, centerX + velX * bestT) + radius;
+                minY = Math.min(centerY, centerY + velY * bestT) - radius;
+                maxY = Math.max(centerY, centerY + velY * bestT) + radius;
+                minZ = Math.min(centerZ, centerZ + velZ * bestT) - radius;
+                maxZ = Math.max(centerZ, centerZ + velZ * bestT) + radius;
+            }
+        }
+        if (best < 0) {
+            return -1;
+        }
+        normal.set(centerX + velX * bestT - pointAndTime.x, centerY + velY * bestT - pointAndTime.y, centerZ + velZ * bestT - pointAndTime.z)
+                .normalize();
+        return bvh.items[best];
+    }
+
+    /**
+     * Determine the triangle which the given sphere, moving with the given velocity, touches first within the time
+     * <code>[0..maxT]</code>, and store the point and time of contact into <code>pointAndTime</code> and the contact
+     * normal into <code>normal</code>.
+     *
+     * @see #intersectSweptSphere(float, float, float, float, float, float, float, float, float, Vector4f, Vector3f)
+     *
+     * @param sphere
+     *          the sphere
+     * @param vel
+     *          the velocity of the sphere
+     * @param epsilon
+     *          a small epsilon when testing spheres that move almost parallel to a triangle
+     * @param maxT
+     *          the maximum time of contact, which must be finite
+     * @param pointAndTime
+     *          will hold the point of contact in the <code>(x, y, z)</code> components and the time of contact in the
+     *          <code>w</code> component, iff any triangle is touched
+     * @param normal
+     *          will hold the unit contact normal, iff any triangle is touched
+     * @return the index of the triangle touched first, or <code>-1</code> if the sphere does not touch any triangle
+     */
+    public int intersectSweptSphere(Spheref sphere, Vector3fc vel, float epsilon, float maxT, Vector4f pointAndTime, Vector3f normal) {
+        return intersectSweptSphere(sphere.x, sphere.y, sphere.z, sphere.r, vel.x(), vel.y(), vel.z(), epsilon, maxT, pointAndTime, normal);
+    }
+
+    /**
+     * Return the value of <i>t</i> where the ray enters the given node, or <code>-1.0</code> if it misses
+     * the node within <code>[0..maxT]</code>.
+     */
+    float nearNode(int node, float originX, float originY, float originZ, float invDirX, float invDirY, float invDirZ, float maxT) {
+        float[] b = bvh.nodeBounds;
+        int o = 6 * node;
+        float tNear = 0.0f, tFar = maxT;
+        // A zero direction with the origin on a face gives NaN (0 * infinity), which fails both comparisons and so
+        // leaves the interval unchanged, as the origin lies within that slab.
+        for (int axis = 0; axis < 3; axis++) {
+            float origin = axis == 0 ? originX : axis == 1 ? originY : originZ;
+            float invDir = axis == 0 ? invDirX : axis == 1 ? invDirY : invDirZ;
+            float near = ((invDir >= 0.0f ? b[o + axis] : b[o + 3 + axis]) - origin) * invDir;
+            float far = ((invDir >= 0.0f ? b[o + 3 + axis] : b[o + axis]) - origin) * invDir;
+            if (near > tNear) {
+                tNear = near;
+            }
+            if (far < tFar) {
+                tFar = far;
+            }
+        }
+        return tNear <= tFar ? tNear : -1.0f;
+    }
+
+    /**
+     * Intersect the ray with the triangle at the given position in leaf order, returning <i>t</i> and storing the
+     * barycentric coordinates in <code>uv</code>, or returning <code>-1.0</code> if it misses.
+     */
+    private float intersectTriangle(int i, float originX, float originY, float originZ, float dirX, float dirY, float dirZ, float[] uv) {
+        float[] v = triangles;
+        int o = 9 * i;
+        float edge1X = v[o + 3] - v[o], edge1Y = v[o + 4] - v[o + 1], edge1Z = v[o + 5] - v[o + 2];
+        float edge2X = v[o + 6] - v[o], edge2Y = v[o + 7] - v[o + 1], edge2Z = v[o + 8] - v[o + 2];
+        float pvecX = dirY * edge2Z - dirZ * edge2Y;
+        float pvecY = dirZ * edge2X - dirX * edge2Z;
+        float pvecZ = dirX * edge2Y - dirY * edge2X;
+        float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
+        if (det == 0.0f) {
+            return -1.0f;
+        }
+        float tvecX = originX - v[o], tvecY = originY - v[o + 1], tvecZ = originZ - v[o + 2];
+        float invDet = 1.0f / det;
+        float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ) * invDet;
+        if (u < 0.0f || u > 1.0f) {
+            return -1.0f;
+        }
+        float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
+        float qvecY = tvecZ * edge1X - tvecX * edge1Z;
+        float qvecZ = tvecX * edge1Y - tvecY * edge1X;
+        float w = (dirX * qvecX + dirY * qvecY + dirZ * qvecZ) * invDet;
+        if (w < 0.0f || u + w > 1.0f) {
+            return -1.0f;
+        }
+        uv[0] = u;
+        uv[1] = w;
+        return (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+    }
+}
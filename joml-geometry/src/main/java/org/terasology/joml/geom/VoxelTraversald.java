@@ -0,0 +1,233 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+/**
+ * Walks the unit cells of an integer grid which a ray passes through, using double-precision floating-point numbers.
+ * <p>
+ * The region of the grid is given as an {@link AABBi}, and the cell <code>(x, y, z)</code> is the unit box from
+ * <code>(x, y, z)</code> to <code>(x + 1, y + 1, z + 1)</code>, so a region contains the cells with
+ * <code>minX &lt;= x &lt; maxX</code> and so on. The cells are visited in the order the ray passes through them, at
+ * constant cost per cell and without allocating.
+ * <p>
+ * Reference: <a href="http://www.cse.yorku.ca/~amana/research/grid.pdf">A Fast Voxel Traversal Algorithm for Ray Tracing</a>
+ */
+public class VoxelTraversald {
+
+    /**
+     * Face of the first visited cell when the ray starts inside the region.
+     */
+    public static final int FACE_NONE = -1;
+    /**
+     * Face of a cell with the smallest x coordinate.
+     */
+    public static final int FACE_MINX = 0;
+    /**
+     * Face of a cell with the smallest y coordinate.
+     */
+    public static final int FACE_MINY = 1;
+    /**
+     * Face of a cell with the smallest z coordinate.
+     */
+    public static final int FACE_MINZ = 2;
+    /**
+     * Face of a cell with the largest x coordinate.
+     */
+    public static final int FACE_MAXX = 3;
+    /**
+     * Face of a cell with the largest y coordinate.
+     */
+    public static final int FACE_MAXY = 4;
+    /**
+     * Face of a cell with the largest z coordinate.
+     */
+    public static final int FACE_MAXZ = 5;
+
+    /**
+     * Receives the cells visited by a ray.
+     */
+    @FunctionalInterface
+    public interface CellConsumer {
+        /**
+         * Called for each cell the ray passes through.
+         *
+         * @param x
+         *          the x coordinate of the cell
+         * @param y
+         *          the y coordinate of the cell
+         * @param z
+         *          the z coordinate of the cell
+         * @param face
+         *          the face through which the ray entered the cell, one of {@link #FACE_MINX}, {@link #FACE_MINY},
+         *          {@link #FACE_MINZ}, {@link #FACE_MAXX}, {@link #FACE_MAXY}, {@link #FACE_MAXZ}, or {@link #FACE_NONE}
+         *          if the ray starts in this cell
+         * @param tEnter
+         *          the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> where the ray
+         *          enters the cell
+         * @param tExit
+         *          the value of the parameter <i>t</i> where the ray leaves the cell or stops
+         * @return <code>true</code> to continue with the next cell; <code>false</code> to stop the traversal
+         */
+        boolean accept(int x, int y, int z, int face, double tEnter, double tExit);
+    }
+
+    /**
+     * Report the cells of the region given via its minimum corner <code>(minX, minY, minZ)</code> and maximum corner
+     * <code>(maxX, maxY, maxZ)</code> which the ray with the given origin <code>(originX, originY, originZ)</code> and
+     * direction <code>(dirX, dirY, dirZ)</code> passes through, for values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code>, in order, to the given <code>consumer</code>.
+     * <p>
+     * Where the ray passes exactly through an edge or corner of the grid, the cells are entered one axis at a time, so
+     * that consecutive cells always share a face.
+     *
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param minX
+     *          the x coordinate of the region's minimum corner
+     * @param minY
+     *          the y coordinate of the region's minimum corner
+     * @param minZ
+     *          the z coordinate of the region's minimum corner
+     * @param maxX
+     *          the x coordinate of the region's maximum corner
+     * @param maxY
+     *          the y coordinate of the region's maximum corner
+     * @param maxZ
+     *          the z coordinate of the region's maximum corner
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param consumer
+     *          receives the cells and decides whether to continue
+     * @return the number of cells reported to the consumer
+     */
+    public static int traverseRay(double originX, double originY, double originZ, double dirX, double dirY, double dirZ,
+                                  int minX, int minY, int minZ, int maxX, int maxY, int maxZ, double maxT, CellConsumer consumer) {
+        if (dirX == 0.0 && dirY == 0.0 && dirZ == 0.0 || minX >= maxX || minY >= maxY || minZ >= maxZ) {
+            return 0;
+        }
+        double invDirX = 1.0 / dirX, invDirY = 1.0 / dirY, invDirZ = 1.0 / dirZ;
+        // Clip the ray against the slabs of the region, remembering the axis that was entered last.
+        double tNearX = slabNear(originX, invDirX, minX, maxX), tFarX = slabFar(originX, invDirX, minX, maxX);
+        double tNearY = slabNear(originY, invDirY, minY, maxY), tFarY = slabFar(originY, invDirY, minY, maxY);
+        double tNearZ = slabNear(originZ, invDirZ, minZ, maxZ), tFarZ = slabFar(originZ, invDirZ, minZ, maxZ);
+        double tStart = Math.max(Math.max(tNearX, tNearY), Math.max(tNearZ, 0.0));
+        double tEnd = Math.min(Math.min(tFarX, tFarY), Math.min(tFarZ, maxT));
+        if (!(tStart <= tEnd)) {
+            return 0;
+        }
+        int face = FACE_NONE;
+        if (tStart > 0.0) {
+            if (tStart == tNearX) {
+                face = dirX > 0.0 ? FACE_MINX : FACE_MAXX;
+            } else if (tStart == tNearY) {
+                face = dirY > 0.0 ? FACE_MINY : FACE_MAXY;
+            } else if (tStart == tNearZ) {
+                face = dirZ > 0.0 ? FACE_MINZ : FACE_MAXZ;
+            }
+        }
+
+        int stepX = dirX > 0.0 ? 1 : dirX < 0.0 ? -1 : 0;
+        int stepY = dirY > 0.0 ? 1 : dirY < 0.0 ? -1 : 0;
+        int stepZ = dirZ > 0.0 ? 1 : dirZ < 0.0 ? -1 : 0;
+        int x = startCell(originX + tStart * dirX, stepX, minX, maxX);
+        int y = startCell(originY + tStart * dirY, stepY, minY, maxY);
+        int z = startCell(originZ + tStart * dirZ, stepZ, minZ, maxZ);
+        double tMaxX = boundary(x, stepX, originX, invDirX);
+        double tMaxY = boundary(y, stepY, originY, invDirY);
+        double tMaxZ = boundary(z, stepZ, originZ, invDirZ);
+
+        int cells = 0;
+        double tEnter = tStart;
+        while (true) {
+            double tExit = Math.min(Math.min(tMaxX, tMaxY), Math.min(tMaxZ, tEnd));
+            cells++;
+            if (!consumer.accept(x, y, z, face, tEnter, tExit) || tExit >= tEnd) {
+                return cells;
+            }
+            if (tMaxX <= tMaxY && tMaxX <= tMaxZ) {
+                x += stepX;
+                if (x < minX || x >= maxX) {
+                    return cells;
+                }
+                face = stepX > 0 ? FACE_MINX : FACE_MAXX;
+                tEnter = tMaxX;
+                tMaxX = boundary(x, stepX, originX, invDirX);
+            } else if (tMaxY <= tMaxZ) {
+                y += stepY;
+                if (y < minY || y >= maxY) {
+                    return cells;
+                }
+                face = stepY > 0 ? FACE_MINY : FACE_MAXY;
+                tEnter = tMaxY;
+                tMaxY = boundary(y, stepY, originY, invDirY);
+            } else {
+                z += stepZ;
+                if (z < minZ || z >= maxZ) {
+                    return cells;
+                }
+                face = stepZ > 0 ? FACE_MINZ : FACE_MAXZ;
+                tEnter = tMaxZ;
+                tMaxZ = boundary(z, stepZ, originZ, invDirZ);
+            }
+        }
+    }
+
+    /**
+     * Report the cells of the given region which the given ray passes through, for values of the parameter <i>t</i> in
+     * the ray equation <i>p(t) = origin + t * dir</i> from <code>0</code> to <code>maxT</code>, in order, to the given
+     * <code>consumer</code>.
+     *
+     * @see #traverseRay(double, double, double, double, double, double, int, int, int, int, int, int, double, CellConsumer)
+     *
+     * @param ray
+     *          the ray
+     * @param region
+     *          the region of the grid
+     * @param maxT
+     *          the maximum value of the parameter <i>t</i>
+     * @param consumer
+     *          receives the cells and decides whether to continue
+     * @return the number of cells reported to the consumer
+     */
+    public static int traverseRay(Rayd ray, AABBic region, double maxT, CellConsumer consumer) {
+        return traverseRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                region.minX(), region.minY(), region.minZ(), region.maxX(), region.maxY(), region.maxZ(), maxT, consumer);
+    }
+
+    private static double slabNear(double origin, double invDir, int min, int max) {
+        if (Double.isInfinite(invDir)) {
+            return origin >= min && origin <= max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return invDir >= 0.0 ? (min - origin) * invDir : (max - origin) * invDir;
+    }
+
+    private static double slabFar(double origin, double invDir, int min, int max) {
+        if (Double.isInfinite(invDir)) {
+            return origin >= min && origin <= max ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        return invDir >= 0.0 ? (max - origin) * invDir : (min - origin) * invDir;
+    }
+
+    private static int startCell(double p, int step, int min, int max) {
+        // When moving towards smaller coordinates, a point on a grid plane belongs to the cell below it.
+        int cell = step < 0 ? (int) Math.ceil(p) - 1 : (int) Math.floor(p);
+        return cell < min ? min : cell >= max ? max - 1 : cell;
+    }
+
+    private static double boundary(int cell, int step, double origin, double invDir) {
+        if (step == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return ((step > 0 ? cell + 1 : cell) - origin) * invDir;
+    }
+}
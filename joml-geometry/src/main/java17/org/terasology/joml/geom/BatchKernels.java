@@ -0,0 +1,109 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+/**
+ * Selects the implementation of the loops behind the batch tests of {@link Intersectionf} and {@link Intersectiond}.
+ * <p>
+ * This is the Java 17 version of this class, which the jar provides under <code>META-INF/versions/17</code>. It uses the
+ * {@link VectorBatchKernels} if the incubating Vector API is available, i.e. the JVM was started with
+ * <code>--add-modules jdk.incubator.vector</code>, and the hardware has vectors of at least four floats. Setting the
+ * system property <code>joml.geom.novector</code> to <code>true</code> forces the {@link ScalarBatchKernels}, e.g. to
+ * compare both. Both give the same results. The loops over doubles always use the {@link ScalarBatchKernels}.
+ */
+final class BatchKernels {
+
+    private static final boolean VECTORIZED = isVectorApiUsable();
+
+    private BatchKernels() {
+    }
+
+    private static boolean isVectorApiUsable() {
+        if (Boolean.getBoolean("joml.geom.novector")) {
+            return false;
+        }
+        // VectorBatchKernels must not be loaded unless the module is present, or it fails to link.
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorBatchKernels.isSupported();
+    }
+
+    static void rayAab(float originX, float originY, float originZ, float invDirX, float invDirY, float invDirZ,
+            float[] nearX, float[] nearY, float[] nearZ, float[] farX, float[] farY, float[] farZ, int from, int to,
+            float[] tNear, float[] tFar, int offset) {
+        if (VECTORIZED) {
+            VectorBatchKernels.rayAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                    nearX, nearY, nearZ, farX, farY, farZ, from, to, tNear, tFar, offset);
+        } else {
+            ScalarBatchKernels.rayAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                    nearX, nearY, nearZ, farX, farY, farZ, from, to, tNear, tFar, offset);
+        }
+    }
+
+    static int rayHits(int from, int to, float[] tNear, float[] tFar, boolean[] hit) {
+        if (VECTORIZED) {
+            return VectorBatchKernels.rayHits(from, to, tNear, tFar, hit);
+        }
+        return ScalarBatchKernels.rayHits(from, to, tNear, tFar, hit);
+    }
+
+    static void rayAab(double originX, double originY, double originZ, double invDirX, double invDirY, double invDirZ,
+            double[] nearX, double[] nearY, double[] nearZ, double[] farX, double[] farY, double[] farZ, int from, int to,
+            double[] tNear, double[] tFar) {
+        ScalarBatchKernels.rayAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                nearX, nearY, nearZ, farX, farY, farZ, from, to, tNear, tFar);
+    }
+
+    static int rayHits(int from, int to, double[] tNear, double[] tFar, boolean[] hit) {
+        return ScalarBatchKernels.rayHits(from, to, tNear, tFar, hit);
+    }
+
+    static int aabAab(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int from, int to,
+            float qMinX, float qMinY, float qMinZ, float qMaxX, float qMaxY, float qMaxZ, boolean[] hit, int offset) {
+        if (VECTORIZED) {
+            return VectorBatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, from, to,
+                    qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ, hit, offset);
+        }
+        return ScalarBatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, from, to,
+                qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ, hit, offset);
+    }
+
+    static int aabSphere(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int from, int to,
+            float centerX, float centerY, float centerZ, float radiusSquared, boolean[] hit, int offset) {
+        if (VECTORIZED) {
+            return VectorBatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, from, to,
+                    centerX, centerY, centerZ, radiusSquared, hit, offset);
+        }
+        return ScalarBatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, from, to,
+                centerX, centerY, centerZ, radiusSquared, hit, offset);
+    }
+
+    static int aabPlane(float[] nX, float[] nY, float[] nZ, float[] pX, float[] pY, float[] pZ, int count,
+            float a, float b, float c, float d, boolean[] hit) {
+        if (VECTORIZED) {
+            return VectorBatchKernels.aabPlane(nX, nY, nZ, pX, pY, pZ, count, a, b, c, d, hit);
+        }
+        return ScalarBatchKernels.aabPlane(nX, nY, nZ, pX, pY, pZ, 0, count, a, b, c, d, hit);
+    }
+
+    static int rayPacketAab(float[] originX, float[] originY, float[] originZ,
+            float[] invDirX, float[] invDirY, float[] invDirZ, float[] maxT, int lanes,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float[] tNear) {
+        if (VECTORIZED) {
+            return VectorBatchKernels.rayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ, maxT, lanes,
+                    minX, minY, minZ, maxX, maxY, maxZ, tNear);
+        }
+        return ScalarBatchKernels.rayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ, maxT, 0, lanes,
+                minX, minY, minZ, maxX, maxY, maxZ, tNear);
+    }
+
+    static int rayPacketTriangle(float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, float[] maxT, int lanes,
+            float v0X, float v0Y, float v0Z, float edge1X, float edge1Y, float edge1Z, float edge2X, float edge2Y, float edge2Z,
+            float epsilon, float[] t) {
+        if (VECTORIZED) {
+            return VectorBatchKernels.rayPacketTriangle(originX, originY, originZ, dirX, dirY, dirZ, maxT, lanes,
+                    v0X, v0Y, v0Z, edge1X, edge1Y, edge1Z, edge2X, edge2Y, edge2Z, epsilon, t);
+        }
+        return ScalarBatchKernels.rayPacketTriangle(originX, originY, originZ, dirX, dirY, dirZ, maxT, 0, lanes,
+                v0X, v0Y, v0Z, edge1X, edge1Y, edge1Z, edge2X, edge2Y, edge2Z, epsilon, t);
+    }
+}
@@ -0,0 +1,198 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The loops behind the batch tests of {@link Intersectionf}, written with the incubating Vector API.
+ * <p>
+ * The batches of boxes are processed in vectors of the preferred width of the hardware, e.g. 8 floats with AVX2 and 16
+ * with AVX-512, and packets of rays in vectors of 4 floats, since packets usually have only 4 or 8 lanes. The elements
+ * which do not fill a whole vector are left to the {@link ScalarBatchKernels}. Every lane performs the same floating-point
+ * operations in the same order as the scalar loops, so the results are the same bit for bit.
+ * <p>
+ * This class must only be loaded if the module <code>jdk.incubator.vector</code> is present.
+ *
+ * @see BatchKernels
+ */
+final class VectorBatchKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> PACKET_SPECIES = FloatVector.SPECIES_128;
+
+    private VectorBatchKernels() {
+    }
+
+    /**
+     * Return whether vectors are wide enough to be worth it, which they are not where the preferred species falls back to
+     * a single lane.
+     *
+     * @return whether to use this class
+     */
+    static boolean isSupported() {
+        return SPECIES.length() >= 4;
+    }
+
+    static void rayAab(float originX, float originY, float originZ, float invDirX, float invDirY, float invDirZ,
+            float[] nearX, float[] nearY, float[] nearZ, float[] farX, float[] farY, float[] farZ, int from, int to,
+            float[] tNear, float[] tFar, int offset) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector tNearX = FloatVector.fromArray(SPECIES, nearX, i).sub(originX).mul(invDirX);
+            FloatVector tNearY = FloatVector.fromArray(SPECIES, nearY, i).sub(originY).mul(invDirY);
+            FloatVector tNearZ = FloatVector.fromArray(SPECIES, nearZ, i).sub(originZ).mul(invDirZ);
+            tNearX.max(tNearY).max(tNearZ).intoArray(tNear, i - offset);
+            FloatVector tFarX = FloatVector.fromArray(SPECIES, farX, i).sub(originX).mul(invDirX);
+            FloatVector tFarY = FloatVector.fromArray(SPECIES, farY, i).sub(originY).mul(invDirY);
+            FloatVector tFarZ = FloatVector.fromArray(SPECIES, farZ, i).sub(originZ).mul(invDirZ);
+            tFarX.min(tFarY).min(tFarZ).intoArray(tFar, i - offset);
+        }
+        ScalarBatchKernels.rayAab(originX, originY, originZ, invDirX, invDirY, invDirZ,
+                nearX, nearY, nearZ, farX, farY, farZ, i, to, tNear, tFar, offset);
+    }
+
+    static int rayHits(int from, int to, float[] tNear, float[] tFar, boolean[] hit) {
+        int hits = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector near = FloatVector.fromArray(SPECIES, tNear, i);
+            FloatVector far = FloatVector.fromArray(SPECIES, tFar, i);
+            VectorMask<Float> h = near.compare(VectorOperators.LT, far).and(far.compare(VectorOperators.GE, 0.0f));
+            h.intoArray(hit, i);
+            hits += h.trueCount();
+        }
+        return hits + ScalarBatchKernels.rayHits(i, to, tNear, tFar, hit);
+    }
+
+    static int aabAab(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int from, int to,
+            float qMinX, float qMinY, float qMinZ, float qMaxX, float qMaxY, float qMaxZ, boolean[] hit, int offset) {
+        int hits = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Float> h = FloatVector.fromArray(SPECIES, maxX, i).compare(VectorOperators.GE, qMinX)
+                    .and(FloatVector.fromArray(SPECIES, maxY, i).compare(VectorOperators.GE, qMinY))
+                    .and(FloatVector.fromArray(SPECIES, maxZ, i).compare(VectorOperators.GE, qMinZ))
+                    .and(FloatVector.fromArray(SPECIES, minX, i).compare(VectorOperators.LE, qMaxX))
+                    .and(FloatVector.fromArray(SPECIES, minY, i).compare(VectorOperators.LE, qMaxY))
+                    .and(FloatVector.fromArray(SPECIES, minZ, i).compare(VectorOperators.LE, qMaxZ));
+            h.intoArray(hit, i - offset);
+            hits += h.trueCount();
+        }
+        return hits + ScalarBatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, i, to,
+                qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ, hit, offset);
+    }
+
+    static int aabSphere(float[] minX, float[] minY, float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int from, int to,
+            float centerX, float centerY, float centerZ, float radiusSquared, boolean[] hit, int offset) {
+        FloatVector cX = FloatVector.broadcast(SPECIES, centerX);
+        FloatVector cY = FloatVector.broadcast(SPECIES, centerY);
+        FloatVector cZ = FloatVector.broadcast(SPECIES, centerZ);
+        int hits = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            FloatVector dX = distance(cX, FloatVector.fromArray(SPECIES, minX, i), FloatVector.fromArray(SPECIES, maxX, i));
+            FloatVector dY = distance(cY, FloatVector.fromArray(SPECIES, minY, i), FloatVector.fromArray(SPECIES, maxY, i));
+            FloatVector dZ = distance(cZ, FloatVector.fromArray(SPECIES, minZ, i), FloatVector.fromArray(SPECIES, maxZ, i));
+            FloatVector radius2 = FloatVector.broadcast(SPECIES, radiusSquared).sub(dX.mul(dX)).sub(dY.mul(dY)).sub(dZ.mul(dZ));
+            VectorMask<Float> h = radius2.compare(VectorOperators.GE, 0.0f);
+            h.intoArray(hit, i - offset);
+            hits += h.trueCount();
+        }
+        return hits + ScalarBatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, i, to,
+                centerX, centerY, centerZ, radiusSquared, hit, offset);
+    }
+
+    private static FloatVector distance(FloatVector center, FloatVector min, FloatVector max) {
+        // The blend for the minimum comes last, as the scalar loop tests it first.
+        return center.sub(max).blend(0.0f, center.compare(VectorOperators.GT, max).not())
+                .blend(center.sub(min), center.compare(VectorOperators.LT, min));
+    }
+
+    static int aabPlane(float[] nX, float[] nY, float[] nZ, float[] pX, float[] pY, float[] pZ, int count,
+            float a, float b, float c, float d, boolean[] hit) {
+        int hits = 0;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            FloatVector distN = FloatVector.fromArray(SPECIES, nX, i).mul(a).add(d)
+                    .add(FloatVector.fromArray(SPECIES, nY, i).mul(b))
+                    .add(FloatVector.fromArray(SPECIES, nZ, i).mul(c));
+            FloatVector distP = FloatVector.fromArray(SPECIES, pX, i).mul(a).add(d)
+                    .add(FloatVector.fromArray(SPECIES, pY, i).mul(b))
+                    .add(FloatVector.fromArray(SPECIES, pZ, i).mul(c));
+            VectorMask<Float> h = distN.compare(VectorOperators.LE, 0.0f).and(distP.compare(VectorOperators.GE, 0.0f));
+            h.intoArray(hit, i);
+            hits += h.trueCount();
+        }
+        return hits + ScalarBatchKernels.aabPlane(nX, nY, nZ, pX, pY, pZ, i, count, a, b, c, d, hit);
+    }
+
+    static int rayPacketAab(float[] originX, float[] originY, float[] originZ,
+            float[] invDirX, float[] invDirY, float[] invDirZ, float[] maxT, int lanes,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float[] tNear) {
+        int mask = 0;
+        int i = 0;
+        for (int bound = PACKET_SPECIES.loopBound(lanes); i < bound; i += PACKET_SPECIES.length()) {
+            FloatVector oX = FloatVector.fromArray(PACKET_SPECIES, originX, i);
+            FloatVector oY = FloatVector.fromArray(PACKET_SPECIES, originY, i);
+            FloatVector oZ = FloatVector.fromArray(PACKET_SPECIES, originZ, i);
+            FloatVector iX = FloatVector.fromArray(PACKET_SPECIES, invDirX, i);
+            FloatVector iY = FloatVector.fromArray(PACKET_SPECIES, invDirY, i);
+            FloatVector iZ = FloatVector.fromArray(PACKET_SPECIES, invDirZ, i);
+            FloatVector tx1 = FloatVector.broadcast(PACKET_SPECIES, minX).sub(oX).mul(iX);
+            FloatVector tx2 = FloatVector.broadcast(PACKET_SPECIES, maxX).sub(oX).mul(iX);
+            FloatVector ty1 = FloatVector.broadcast(PACKET_SPECIES, minY).sub(oY).mul(iY);
+            FloatVector ty2 = FloatVector.broadcast(PACKET_SPECIES, maxY).sub(oY).mul(iY);
+            FloatVector tz1 = FloatVector.broadcast(PACKET_SPECIES, minZ).sub(oZ).mul(iZ);
+            FloatVector tz2 = FloatVector.broadcast(PACKET_SPECIES, maxZ).sub(oZ).mul(iZ);
+            FloatVector near = tx1.min(tx2).max(ty1.min(ty2)).max(tz1.min(tz2).max(0.0f));
+            FloatVector far = tx1.max(tx2).min(ty1.max(ty2))
+                    .min(tz1.max(tz2).min(FloatVector.fromArray(PACKET_SPECIES, maxT, i)));
+            near.intoArray(tNear, i);
+            mask |= (int) near.compare(VectorOperators.LE, far).toLong() << i;
+        }
+        return mask | ScalarBatchKernels.rayPacketAab(originX, originY, originZ, invDirX, invDirY, invDirZ, maxT, i, lanes,
+                minX, minY, minZ, maxX, maxY, maxZ, tNear);
+    }
+
+    static int rayPacketTriangle(float[] originX, float[] originY, float[] originZ,
+            float[] dirX, float[] dirY, float[] dirZ, float[] maxT, int lanes,
+            float v0X, float v0Y, float v0Z, float edge1X, float edge1Y, float edge1Z, float edge2X, float edge2Y, float edge2Z,
+            float epsilon, float[] t) {
+        int mask = 0;
+        int i = 0;
+        for (int bound = PACKET_SPECIES.loopBound(lanes); i < bound; i += PACKET_SPECIES.length()) {
+            FloatVector dX = FloatVector.fromArray(PACKET_SPECIES, dirX, i);
+            FloatVector dY = FloatVector.fromArray(PACKET_SPECIES, dirY, i);
+            FloatVector dZ = FloatVector.fromArray(PACKET_SPECIES, dirZ, i);
+            FloatVector pvecX = dY.mul(edge2Z).sub(dZ.mul(edge2Y));
+            FloatVector pvecY = dZ.mul(edge2X).sub(dX.mul(edge2Z));
+            FloatVector pvecZ = dX.mul(edge2Y).sub(dY.mul(edge2X));
+            FloatVector det = pvecX.mul(edge1X).add(pvecY.mul(edge1Y)).add(pvecZ.mul(edge1Z));
+            FloatVector tvecX = FloatVector.fromArray(PACKET_SPECIES, originX, i).sub(v0X);
+            FloatVector tvecY = FloatVector.fromArray(PACKET_SPECIES, originY, i).sub(v0Y);
+            FloatVector tvecZ = FloatVector.fromArray(PACKET_SPECIES, originZ, i).sub(v0Z);
+            FloatVector invDet = FloatVector.broadcast(PACKET_SPECIES, 1.0f).div(det);
+            FloatVector u = tvecX.mul(pvecX).add(tvecY.mul(pvecY)).add(tvecZ.mul(pvecZ)).mul(invDet);
+            FloatVector qvecX = tvecY.mul(edge1Z).sub(tvecZ.mul(edge1Y));
+            FloatVector qvecY = tvecZ.mul(edge1X).sub(tvecX.mul(edge1Z));
+            FloatVector qvecZ = tvecX.mul(edge1Y).sub(tvecY.mul(edge1X));
+            FloatVector v = dX.mul(qvecX).add(dY.mul(qvecY)).add(dZ.mul(qvecZ)).mul(invDet);
+            FloatVector ti = qvecX.mul(edge2X).add(qvecY.mul(edge2Y)).add(qvecZ.mul(edge2Z)).mul(invDet);
+            ti.intoArray(t, i);
+            VectorMask<Float> hit = det.compare(VectorOperators.LE, -epsilon).or(det.compare(VectorOperators.GE, epsilon))
+                    .and(u.compare(VectorOperators.GE, 0.0f))
+                    .and(u.compare(VectorOperators.LE, 1.0f))
+                    .and(v.compare(VectorOperators.GE, 0.0f))
+                    .and(u.add(v).compare(VectorOperators.LE, 1.0f))
+                    .and(ti.compare(VectorOperators.GE, 0.0f))
+                    .and(ti.compare(VectorOperators.LE, FloatVector.fromArray(PACKET_SPECIES, maxT, i)));
+            mask |= (int) hit.toLong() << i;
+        }
+        return mask | ScalarBatchKernels.rayPacketTriangle(originX, originY, originZ, dirX, dirY, dirZ, maxT, i, lanes,
+                v0X, v0Y, v0Z, edge1X, edge1Y, edge1Z, edge2X, edge2Y, edge2Z, epsilon, t);
+    }
+}
@@ -0,0 +1,138 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link AABBdArray} class.
+ */
+public class AABBdArrayTest {
+
+    private static AABBdArray randomArray(Random rnd, AABBd[] boxes) {
+        AABBdArray array = new AABBdArray(boxes.length);
+        for (int i = 0; i < boxes.length; i++) {
+            double x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+            boxes[i] = new AABBd(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+            array.set(i, boxes[i]);
+        }
+        return array;
+    }
+
+    @Test
+    public void testStorage() {
+        AABBdArray array = new AABBdArray(3);
+        assertTrue(array.buffer().isDirect());
+        assertEquals(3 * AABBdArray.STRIDE, array.buffer().remaining());
+        assertEquals(new AABBd(), array.get(1, new AABBd()));
+        array.set(1, 1, 2, 3, 4, 5, 6);
+        assertEquals(new AABBd(1, 2, 3, 4, 5, 6), array.get(1, new AABBd()));
+        assertEquals(5, array.buffer().get(AABBdArray.STRIDE + 4), 0.0);
+        assertThrows(IndexOutOfBoundsException.class, () -> array.minX(3));
+
+        // Wrapping shares the contents with the buffer.
+        DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * 14).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        buffer.position(1);
+        AABBdArray wrapped = new AABBdArray(buffer);
+        assertEquals(2, wrapped.length());
+        wrapped.set(1, -1, -2, -3, 1, 2, 3);
+        assertEquals(-1, buffer.get(7), 0.0);
+        buffer.put(12, 10);
+        assertEquals(10, wrapped.maxZ(1), 0.0);
+    }
+
+    @Test
+    public void testView() {
+        AABBd[] boxes = new AABBd[20];
+        AABBdArray array = randomArray(new Random(1), boxes);
+        AABBdArray.View view = array.view(0);
+        AABBd other = new AABBd(-10, -10, -10, 10, 10, 10);
+        Rayd ray = new Rayd(-60, 0, 0, 1, 0.1, 0.05);
+        Matrix4d m = new Matrix4d().rotateXYZ(0.3, 0.5, 0.7).translate(1, 2, 3);
+        for (int i = 0; i < boxes.length; i++) {
+            AABBd box = boxes[i];
+            view.at(i);
+            assertEquals(i, view.index());
+            assertEquals(box.minX, view.minX(), 0.0);
+            assertEquals(box.maxZ, view.getMax(2), 0.0);
+            assertEquals(box.center(new Vector3d()), view.center(new Vector3d()));
+            assertEquals(box.expand(1, 2, 3, new AABBd()), view.expand(1, 2, 3, new AABBd()));
+            assertEquals(box.union(other, new AABBd()), view.union(other, new AABBd()));
+            assertEquals(box.translate(1, 2, 3, new AABBd()), view.translate(1, 2, 3, new AABBd()));
+            assertEquals(box.intersection(other, new AABBd()), view.intersection(other, new AABBd()));
+            assertEquals(box.intersectsAABB(other), view.intersectsAABB(other));
+            assertEquals(box.intersectsSphere(0, 0, 0, 400), view.intersectsSphere(0, 0, 0, 400));
+            assertEquals(box.intersectsRay(ray), view.intersectsRay(ray));
+            assertEquals(box.transform(m, new AABBd()), view.transform(m, new AABBd()));
+            assertEquals(box.toString(), view.toString());
+            assertTrue(other.containsAABB(view) == other.containsAABB(box));
+        }
+        assertThrows(IllegalArgumentException.class, () -> view.getMin(3));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        Random rnd = new Random(2);
+        AABBd[] boxes = new AABBd[500];
+        AABBdArray array = randomArray(rnd, boxes);
+        AABBd union = new AABBd();
+        for (AABBd box : boxes) {
+            union.union(box);
+        }
+        assertEquals(union, array.union(new AABBd()));
+
+        AABBd query = new AABBd(-10, -20, -30, 10, 20, 30);
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> expectedSphere = new ArrayList<>();
+        List<Integer> expectedRay = new ArrayList<>();
+        Rayd ray = new Rayd(-60, 1, 2, 1, 0.2, -0.1);
+        for (int i = 0; i < boxes.length; i++) {
+            if (boxes[i].intersectsAABB(query)) {
+                expected.add(i);
+            }
+            if (boxes[i].intersectsSphere(5, 5, 5, 300)) {
+                expectedSphere.add(i);
+            }
+            if (boxes[i].intersectsRay(ray)) {
+                expectedRay.add(i);
+            }
+        }
+        List<Integer> actual = new ArrayList<>();
+        assertEquals(expected.size(), array.intersectsAABB(query, actual::add));
+        assertEquals(expected, actual);
+        actual.clear();
+        assertEquals(expectedSphere.size(), array.intersectsSphere(5, 5, 5, 300, actual::add));
+        assertEquals(expectedSphere, actual);
+        actual.clear();
+        assertEquals(expectedRay.size(), array.intersectsRay(ray, actual::add));
+        assertEquals(expectedRay, actual);
+
+        Matrix4d m = new Matrix4d().rotateY(1.1).scale(2);
+        AABBdArray transformed = array.transform(m, new AABBdArray(boxes.length));
+        array.translate(1, 2, 3);
+        for (int i = 0; i < boxes.length; i++) {
+            assertEquals(boxes[i].transform(m, new AABBd()), transformed.get(i, new AABBd()));
+            assertEquals(boxes[i].translate(1, 2, 3), array.get(i, new AABBd()));
+        }
+        array.transform(m);
+        for (int i = 0; i < boxes.length; i++) {
+            assertEquals(boxes[i].transform(m), array.get(i, new AABBd()));
+        }
+        double[] bounds = array.get(new double[AABBdArray.STRIDE * boxes.length]);
+        assertEquals(boxes[7].minY, bounds[AABBdArray.STRIDE * 7 + 1], 0.0);
+        assertEquals(boxes.length, new BVHd(bounds, boxes.length, 4).size());
+    }
+}
@@ -2,9 +2,13 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.joml.geom;
 
+import org.joml.Matrix4d;
 import org.joml.Vector3d;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class AABBdTest {
@@ -13,4 +17,54 @@ public void testZeroSizeContains() {
         assertFalse(new AABBd(new Vector3d(0, 0, 0)).containsPoint(0, 0, 0));
         assertFalse(new AABBd(new Vector3d(.5, .5, .5)).containsPoint(.5, .5, .5));
     }
+
+    /**
+     * Bounds of the eight transformed corners, summed in the same order as {@link AABBd#transform} to compare exactly.
+     */
+    private static AABBd transformCorners(AABBd box, Matrix4d m) {
+        AABBd result = new AABBd();
+        for (int i = 0; i < 8; i++) {
+            double x = (i & 1) == 0 ? box.minX : box.maxX, y = (i & 2) == 0 ? box.minY : box.maxY, z = (i & 4) == 0 ? box.minZ : box.maxZ;
+            result.union(m.m00() * x + m.m10() * y + m.m20() * z + m.m30(),
+                m.m01() * x + m.m11() * y + m.m21() * z + m.m31(),
+                m.m02() * x + m.m12() * y + m.m22() * z + m.m32());
+        }
+        return result;
+    }
+
+    @Test
+    public void testTransform() {
+        Random rnd = new Random(1);
+        int count = 50;
+        double[] bounds = new double[6 * count];
+        double[] matrices = new double[16 * count];
+        AABBd[] expected = new AABBd[count];
+        AABBd[] expectedShared = new AABBd[count];
+        Matrix4d shared = new Matrix4d().translate(1, -2, 3).rotateXYZ(0.1, -0.7, 2.3).scale(1.5, 0.5, -2);
+        for (int i = 0; i < count; i++) {
+            double x = rnd.nextFloat() * 20 - 10, y = rnd.nextFloat() * 20 - 10, z = rnd.nextFloat() * 20 - 10;
+            AABBd box = new AABBd(x, y, z, x + rnd.nextFloat() * 3, y + rnd.nextFloat() * 3, z + rnd.nextFloat() * 3);
+            Matrix4d m = new Matrix4d().translate(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat())
+                .rotateXYZ(rnd.nextFloat() * 6, rnd.nextFloat() * 6, rnd.nextFloat() * 6).scale(rnd.nextFloat() * 2 - 1);
+            expected[i] = transformCorners(box, m);
+            assertEquals(expected[i], box.transform(m, new AABBd()));
+            expectedShared[i] = transformCorners(box, shared);
+            assertEquals(expectedShared[i], box.transform(shared, new AABBd()));
+            m.get(matrices, 16 * i);
+            bounds[6 * i] = box.minX;
+            bounds[6 * i + 1] = box.minY;
+            bounds[6 * i + 2] = box.minZ;
+            bounds[6 * i + 3] = box.maxX;
+            bounds[6 * i + 4] = box.maxY;
+            bounds[6 * i + 5] = box.maxZ;
+        }
+        double[] shifted = new double[6 * count + 6];
+        AABBd.transform(shared, bounds, 0, shifted, 6, count);
+        AABBd.transform(matrices, 0, bounds, 0, bounds, 0, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], new AABBd(bounds[6 * i], bounds[6 * i + 1], bounds[6 * i + 2], bounds[6 * i + 3], bounds[6 * i + 4], bounds[6 * i + 5]));
+            int o = 6 * i + 6;
+            assertEquals(expectedShared[i], new AABBd(shifted[o], shifted[o + 1], shifted[o + 2], shifted[o + 3], shifted[o + 4], shifted[o + 5]));
+        }
+    }
 }
@@ -0,0 +1,138 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link AABBfArray} class.
+ */
+public class AABBfArrayTest {
+
+    private static AABBfArray randomArray(Random rnd, AABBf[] boxes) {
+        AABBfArray array = new AABBfArray(boxes.length);
+        for (int i = 0; i < boxes.length; i++) {
+            float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+            boxes[i] = new AABBf(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+            array.set(i, boxes[i]);
+        }
+        return array;
+    }
+
+    @Test
+    public void testStorage() {
+        AABBfArray array = new AABBfArray(3);
+        assertTrue(array.buffer().isDirect());
+        assertEquals(3 * AABBfArray.STRIDE, array.buffer().remaining());
+        assertEquals(new AABBf(), array.get(1, new AABBf()));
+        array.set(1, 1, 2, 3, 4, 5, 6);
+        assertEquals(new AABBf(1, 2, 3, 4, 5, 6), array.get(1, new AABBf()));
+        assertEquals(5, array.buffer().get(AABBfArray.STRIDE + 4), 0.0f);
+        assertThrows(IndexOutOfBoundsException.class, () -> array.minX(3));
+
+        // Wrapping shares the contents with the buffer.
+        FloatBuffer buffer = ByteBuffer.allocateDirect(4 * 14).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        buffer.position(1);
+        AABBfArray wrapped = new AABBfArray(buffer);
+        assertEquals(2, wrapped.length());
+        wrapped.set(1, -1, -2, -3, 1, 2, 3);
+        assertEquals(-1, buffer.get(7), 0.0f);
+        buffer.put(12, 10);
+        assertEquals(10, wrapped.maxZ(1), 0.0f);
+    }
+
+    @Test
+    public void testView() {
+        AABBf[] boxes = new AABBf[20];
+        AABBfArray array = randomArray(new Random(1), boxes);
+        AABBfArray.View view = array.view(0);
+        AABBf other = new AABBf(-10, -10, -10, 10, 10, 10);
+        Rayf ray = new Rayf(-60, 0, 0, 1, 0.1f, 0.05f);
+        Matrix4f m = new Matrix4f().rotateXYZ(0.3f, 0.5f, 0.7f).translate(1, 2, 3);
+        for (int i = 0; i < boxes.length; i++) {
+            AABBf box = boxes[i];
+            view.at(i);
+            assertEquals(i, view.index());
+            assertEquals(box.minX, view.minX(), 0.0f);
+            assertEquals(box.maxZ, view.getMax(2), 0.0f);
+            assertEquals(box.center(new Vector3f()), view.center(new Vector3f()));
+            assertEquals(box.expand(1, 2, 3, new AABBf()), view.expand(1, 2, 3, new AABBf()));
+            assertEquals(box.union(other, new AABBf()), view.union(other, new AABBf()));
+            assertEquals(box.translate(1, 2, 3, new AABBf()), view.translate(1, 2, 3, new AABBf()));
+            assertEquals(box.intersection(other, new AABBf()), view.intersection(other, new AABBf()));
+            assertEquals(box.intersectsAABB(other), view.intersectsAABB(other));
+            assertEquals(box.intersectsSphere(0, 0, 0, 400), view.intersectsSphere(0, 0, 0, 400));
+            assertEquals(box.intersectsRay(ray), view.intersectsRay(ray));
+            assertEquals(box.transform(m, new AABBf()), view.transform(m, new AABBf()));
+            assertEquals(box.toString(), view.toString());
+            assertTrue(other.containsAABB(view) == other.containsAABB(box));
+        }
+        assertThrows(IllegalArgumentException.class, () -> view.getMin(3));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        Random rnd = new Random(2);
+        AABBf[] boxes = new AABBf[500];
+        AABBfArray array = randomArray(rnd, boxes);
+        AABBf union = new AABBf();
+        for (AABBf box : boxes) {
+            union.union(box);
+        }
+        assertEquals(union, array.union(new AABBf()));
+
+        AABBf query = new AABBf(-10, -20, -30, 10, 20, 30);
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> expectedSphere = new ArrayList<>();
+        List<Integer> expectedRay = new ArrayList<>();
+        Rayf ray = new Rayf(-60, 1, 2, 1, 0.2f, -0.1f);
+        for (int i = 0; i < boxes.length; i++) {
+            if (boxes[i].intersectsAABB(query)) {
+                expected.add(i);
+            }
+            if (boxes[i].intersectsSphere(5, 5, 5, 300)) {
+                expectedSphere.add(i);
+            }
+            if (boxes[i].intersectsRay(ray)) {
+                expectedRay.add(i);
+            }
+        }
+        List<Integer> actual = new ArrayList<>();
+        assertEquals(expected.size(), array.intersectsAABB(query, actual::add));
+        assertEquals(expected, actual);
+        actual.clear();
+        assertEquals(expectedSphere.size(), array.intersectsSphere(5, 5, 5, 300, actual::add));
+        assertEquals(expectedSphere, actual);
+        actual.clear();
+        assertEquals(expectedRay.size(), array.intersectsRay(ray, actual::add));
+        assertEquals(expectedRay, actual);
+
+        Matrix4f m = new Matrix4f().rotateY(1.1f).scale(2);
+        AABBfArray transformed = array.transform(m, new AABBfArray(boxes.length));
+        array.translate(1, 2, 3);
+        for (int i = 0; i < boxes.length; i++) {
+            assertEquals(boxes[i].transform(m, new AABBf()), transformed.get(i, new AABBf()));
+            assertEquals(boxes[i].translate(1, 2, 3), array.get(i, new AABBf()));
+        }
+        array.transform(m);
+        for (int i = 0; i < boxes.length; i++) {
+            assertEquals(boxes[i].transform(m), array.get(i, new AABBf()));
+        }
+        float[] bounds = array.get(new float[AABBfArray.STRIDE * boxes.length]);
+        assertEquals(boxes[7].minY, bounds[AABBfArray.STRIDE * 7 + 1], 0.0f);
+        assertEquals(boxes.length, new BVHf(bounds, boxes.length, 4).size());
+    }
+}
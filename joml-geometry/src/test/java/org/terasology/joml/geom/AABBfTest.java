@@ -2,9 +2,13 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.joml.geom;
 
+import org.joml.Matrix4f;
 import org.joml.Vector3f;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class AABBfTest {
@@ -13,4 +17,54 @@ public void testZeroSizeContains() {
         assertFalse(new AABBf(new Vector3f(0, 0, 0)).containsPoint(0, 0, 0));
         assertFalse(new AABBf(new Vector3f(.5f, .5f, .5f)).containsPoint(.5f, .5f, .5f));
     }
+
+    /**
+     * Bounds of the eight transformed corners, summed in the same order as {@link AABBf#transform} to compare exactly.
+     */
+    private static AABBf transformCorners(AABBf box, Matrix4f m) {
+        AABBf result = new AABBf();
+        for (int i = 0; i < 8; i++) {
+            float x = (i & 1) == 0 ? box.minX : box.maxX, y = (i & 2) == 0 ? box.minY : box.maxY, z = (i & 4) == 0 ? box.minZ : box.maxZ;
+            result.union(m.m00() * x + m.m10() * y + m.m20() * z + m.m30(),
+                m.m01() * x + m.m11() * y + m.m21() * z + m.m31(),
+                m.m02() * x + m.m12() * y + m.m22() * z + m.m32());
+        }
+        return result;
+    }
+
+    @Test
+    public void testTransform() {
+        Random rnd = new Random(1);
+        int count = 50;
+        float[] bounds = new float[6 * count];
+        float[] matrices = new float[16 * count];
+        AABBf[] expected = new AABBf[count];
+        AABBf[] expectedShared = new AABBf[count];
+        Matrix4f shared = new Matrix4f().translate(1, -2, 3).rotateXYZ(0.1f, -0.7f, 2.3f).scale(1.5f, 0.5f, -2);
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 20 - 10, y = rnd.nextFloat() * 20 - 10, z = rnd.nextFloat() * 20 - 10;
+            AABBf box = new AABBf(x, y, z, x + rnd.nextFloat() * 3, y + rnd.nextFloat() * 3, z + rnd.nextFloat() * 3);
+            Matrix4f m = new Matrix4f().translate(rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat())
+                .rotateXYZ(rnd.nextFloat() * 6, rnd.nextFloat() * 6, rnd.nextFloat() * 6).scale(rnd.nextFloat() * 2 - 1);
+            expected[i] = transformCorners(box, m);
+            assertEquals(expected[i], box.transform(m, new AABBf()));
+            expectedShared[i] = transformCorners(box, shared);
+            assertEquals(expectedShared[i], box.transform(shared, new AABBf()));
+            m.get(matrices, 16 * i);
+            bounds[6 * i] = box.minX;
+            bounds[6 * i + 1] = box.minY;
+            bounds[6 * i + 2] = box.minZ;
+            bounds[6 * i + 3] = box.maxX;
+            bounds[6 * i + 4] = box.maxY;
+            bounds[6 * i + 5] = box.maxZ;
+        }
+        float[] shifted = new float[6 * count + 6];
+        AABBf.transform(shared, bounds, 0, shifted, 6, count);
+        AABBf.transform(matrices, 0, bounds, 0, bounds, 0, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], new AABBf(bounds[6 * i], bounds[6 * i + 1], bounds[6 * i + 2], bounds[6 * i + 3], bounds[6 * i + 4], bounds[6 * i + 5]));
+            int o = 6 * i + 6;
+            assertEquals(expectedShared[i], new AABBf(shifted[o], shifted[o + 1], shifted[o + 2], shifted[o + 3], shifted[o + 4], shifted[o + 5]));
+        }
+    }
 }
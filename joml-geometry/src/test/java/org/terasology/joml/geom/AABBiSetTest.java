@@ -0,0 +1,135 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link AABBiSet} class.
+ */
+public class AABBiSetTest {
+
+    private static final int SIZE = 12;
+
+    @Test
+    public void testCoalesce() {
+        AABBiSet set = new AABBiSet(new AABBi(0, 0, 0, 4, 4, 4));
+        set.union(4, 0, 0, 8, 4, 4);
+        set.union(0, 4, 0, 8, 8, 4);
+        set.union(0, 0, 4, 8, 8, 6);
+        assertEquals(1, set.boxCount());
+        assertEquals(new AABBi(0, 0, 0, 8, 8, 6), set.getBox(0, new AABBi()));
+        set.subtract(new AABBi(2, 2, 2, 6, 6, 4));
+        assertEquals(8 * 8 * 6 - 4 * 4 * 2, set.volume());
+        assertEquals(6, set.boxCount());
+        assertFalse(set.containsPoint(3, 3, 3));
+        assertTrue(set.containsPoint(3, 3, 4));
+        assertTrue(set.containsPoint(1, 3, 3));
+        set.union(2, 2, 2, 6, 6, 4);
+        assertEquals(new AABBiSet(new AABBi(0, 0, 0, 8, 8, 6)), set);
+        set.intersect(new AABBi(8, 0, 0, 9, 9, 9));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testForEachCell() {
+        AABBiSet set = new AABBiSet()
+                .union(0, 0, 0, 2, 2, 2)
+                .union(1, 1, 1, 3, 3, 3);
+        int[] cells = new int[1];
+        set.forEachCell((x, y, z) -> {
+            assertTrue(set.containsPoint(x, y, z));
+            cells[0]++;
+        });
+        assertEquals(8 + 8 - 1, cells[0]);
+        assertEquals(set.volume(), cells[0]);
+        assertEquals(new AABBi(0, 0, 0, 3, 3, 3), set.getBounds(new AABBi()));
+    }
+
+    @Test
+    public void testRandomAgainstGrid() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 30; round++) {
+            AABBiSet set = new AABBiSet();
+            boolean[] grid = new boolean[SIZE * SIZE * SIZE];
+            for (int step = 0; step < 20; step++) {
+                int[] box = randomBox(rnd);
+                int op = rnd.nextInt(4);
+                boolean[] other = new boolean[grid.length];
+                fill(other, box);
+                if (op == 3) {
+                    // Combine with another set instead of a single box.
+                    int[] second = randomBox(rnd);
+                    fill(other, second);
+                    AABBiSet otherSet = new AABBiSet()
+                            .union(box[0], box[1], box[2], box[3], box[4], box[5])
+                            .union(second[0], second[1], second[2], second[3], second[4], second[5]);
+                    op = rnd.nextInt(3);
+                    if (op == 0) {
+                        set.union(otherSet);
+                    } else if (op == 1) {
+                        set.intersect(otherSet);
+                    } else {
+                        set.subtract(otherSet);
+                    }
+                } else if (op == 0) {
+                    set.union(box[0], box[1], box[2], box[3], box[4], box[5]);
+                } else if (op == 1) {
+                    set.intersect(box[0], box[1], box[2], box[3], box[4], box[5]);
+                } else {
+                    set.subtract(box[0], box[1], box[2], box[3], box[4], box[5]);
+                }
+                for (int i = 0; i < grid.length; i++) {
+                    grid[i] = op == 0 ? grid[i] || other[i] : op == 1 ? grid[i] && other[i] : grid[i] && !other[i];
+                }
+                assertMatches(grid, set);
+            }
+        }
+    }
+
+    private static int[] randomBox(Random rnd) {
+        int[] box = new int[6];
+        for (int c = 0; c < 3; c++) {
+            box[c] = rnd.nextInt(SIZE);
+            box[c + 3] = box[c] + rnd.nextInt(SIZE - box[c] + 1);
+        }
+        return box;
+    }
+
+    private static void fill(boolean[] grid, int[] box) {
+        for (int z = box[2]; z < box[5]; z++) {
+            for (int y = box[1]; y < box[4]; y++) {
+                for (int x = box[0]; x < box[3]; x++) {
+                    grid[(z * SIZE + y) * SIZE + x] = true;
+                }
+            }
+        }
+    }
+
+    private static void assertMatches(boolean[] grid, AABBiSet set) {
+        long volume = 0;
+        AABBiSet cells = new AABBiSet();
+        for (int z = 0; z < SIZE; z++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    boolean in = grid[(z * SIZE + y) * SIZE + x];
+                    assertEquals(in, set.containsPoint(x, y, z));
+                    if (in) {
+                        volume++;
+                        cells.union(x, y, z, x + 1, y + 1, z + 1);
+                    }
+                }
+            }
+        }
+        assertEquals(volume, set.volume());
+        // The decomposition is canonical, so building it cell by cell gives the same boxes.
+        assertEquals(cells, set);
+        assertEquals(cells.hashCode(), set.hashCode());
+    }
+}
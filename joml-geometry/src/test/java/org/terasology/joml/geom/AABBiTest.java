@@ -2,9 +2,24 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.joml.geom;
 
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AABBiTest  {
@@ -103,4 +118,66 @@ public void testAABBiCornerIntersection() {
         assertTrue(backRight.intersectsAABB(center));
 
     }
+
+    @Test
+    public void testForEachCell() {
+        AABBi box = new AABBi(-1, 2, 0, 2, 4, 3);
+        List<Vector3i> cells = new ArrayList<>();
+        box.forEachCell((x, y, z) -> cells.add(new Vector3i(x, y, z)));
+        assertEquals(18, cells.size());
+        assertEquals(new Vector3i(-1, 2, 0), cells.get(0));
+        assertEquals(new Vector3i(0, 2, 0), cells.get(1));
+        assertEquals(new Vector3i(1, 3, 2), cells.get(17));
+
+        AABBiCursor cursor = new AABBiCursor();
+        for (int pass = 0; pass < 2; pass++) {
+            int i = 0;
+            for (cursor.set(box); cursor.next(); i++) {
+                assertEquals(cells.get(i), cursor.get(new Vector3i()));
+            }
+            assertEquals(18, i);
+            assertFalse(cursor.next());
+        }
+        assertFalse(cursor.set(new AABBi(0, 0, 0, 0, 1, 1)).next());
+        new AABBi().forEachCell((x, y, z) -> assertTrue(false));
+    }
+
+    @Test
+    public void testCellSpliterator() {
+        AABBi box = new AABBi(-5, 0, 10, 27, 9, 13);
+        Set<Vector3ic> expected = new HashSet<>();
+        box.forEachCell((x, y, z) -> expected.add(new Vector3i(x, y, z)));
+        Set<Vector3ic> actual = StreamSupport.stream(box.cellSpliterator(), true).collect(Collectors.toSet());
+        assertEquals(expected, actual);
+
+        AABBiSpliterator first = box.cellSpliterator();
+        AABBiSpliterator second = first.trySplit();
+        // The longest axis is x, so the box is halved there.
+        assertEquals(16 * 9 * 3, first.estimateSize());
+        assertEquals(16 * 9 * 3, second.estimateSize());
+        AtomicLong count = new AtomicLong();
+        second.forEachRemaining((x, y, z) -> {
+            assertTrue(x >= -5 && x < 11);
+            count.incrementAndGet();
+        });
+        assertEquals(16 * 9 * 3, count.get());
+        assertEquals(0, second.estimateSize());
+        assertTrue(first.tryAdvance(v -> assertEquals(new Vector3i(11, 0, 10), v)));
+        assertNull(first.trySplit());
+        assertTrue(first.hasCharacteristics(Spliterator.SIZED));
+    }
+
+    @Test
+    public void testTransform() {
+        Matrix4f m = new Matrix4f().translate(0.5f, 2, -1).rotateY(0.6f).scale(2);
+        AABBi box = new AABBi(-3, 1, 0, 4, 2, 5);
+        AABBf corners = new AABBf();
+        Vector3f corner = new Vector3f();
+        for (int i = 0; i < 8; i++) {
+            corners.union(m.transformPosition((i & 1) == 0 ? box.minX : box.maxX, (i & 2) == 0 ? box.minY : box.maxY, (i & 4) == 0 ? box.minZ : box.maxZ, corner));
+        }
+        AABBi expected = new AABBi((int) Math.floor(corners.minX), (int) Math.floor(corners.minY), (int) Math.floor(corners.minZ),
+            (int) Math.ceil(corners.maxX), (int) Math.ceil(corners.maxY), (int) Math.ceil(corners.maxZ));
+        assertEquals(expected, box.transform(m, new AABBi()));
+    }
 }
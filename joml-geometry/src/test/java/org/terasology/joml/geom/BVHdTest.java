@@ -0,0 +1,136 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2d;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link BVHd} class.
+ */
+public class BVHdTest {
+
+    private static AABBd[] randomBoxes(Random rnd, int count) {
+        AABBd[] boxes = new AABBd[count];
+        for (int i = 0; i < count; i++) {
+            double x = rnd.nextDouble() * 100 - 50, y = rnd.nextDouble() * 100 - 50, z = rnd.nextDouble() * 100 - 50;
+            boxes[i] = new AABBd(x, y, z, x + rnd.nextDouble() * 5, y + rnd.nextDouble() * 5, z + rnd.nextDouble() * 5);
+        }
+        return boxes;
+    }
+
+    @Test
+    public void testBounds() {
+        AABBd[] boxes = randomBoxes(new Random(1), 100);
+        BVHd bvh = new BVHd(boxes);
+        AABBd expected = new AABBd();
+        for (AABBd box : boxes) {
+            expected.union(box);
+        }
+        assertEquals(expected, bvh.getBounds(new AABBd()));
+        assertEquals(100, bvh.size());
+        assertTrue(bvh.nodeCount() < 2 * 100);
+    }
+
+    @Test
+    public void testEmpty() {
+        BVHd bvh = new BVHd(new AABBd[0]);
+        assertEquals(-1, bvh.intersectRay(new Rayd(0, 0, 0, 1, 0, 0), new Vector2d()));
+        assertEquals(0, bvh.queryAab(new AABBd(-1, -1, -1, 1, 1, 1), i -> { }));
+        assertTrue(!bvh.getBounds(new AABBd()).isValid());
+    }
+
+    @Test
+    public void testRay() {
+        Random rnd = new Random(2);
+        AABBd[] boxes = randomBoxes(rnd, 2000);
+        BVHd bvh = new BVHd(boxes);
+        Vector2d result = new Vector2d(), expected = new Vector2d();
+        for (int r = 0; r < 200; r++) {
+            Rayd ray = new Rayd(rnd.nextDouble() * 120 - 60, rnd.nextDouble() * 120 - 60, rnd.nextDouble() * 120 - 60,
+                rnd.nextDouble() * 2 - 1, rnd.nextDouble() * 2 - 1, rnd.nextDouble() * 2 - 1);
+            int expectedItem = -1;
+            Set<Integer> expectedAll = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectiond.intersectRayAab(ray, boxes[i], result)) {
+                    expectedAll.add(i);
+                    if (expectedItem < 0 || result.x < expected.x) {
+                        expectedItem = i;
+                        expected.set(result);
+                    }
+                }
+            }
+            int item = bvh.intersectRay(ray, result);
+            assertEquals(expectedItem, item);
+            if (item >= 0) {
+                assertEquals(expected.x, result.x, 0.0);
+                assertEquals(expected.y, result.y, 0.0);
+            }
+            Set<Integer> all = new TreeSet<>();
+            int hits = bvh.intersectRayAll(ray, (i, tNear, tFar) -> all.add(i));
+            assertEquals(expectedAll, all);
+            assertEquals(expectedAll.size(), hits);
+        }
+    }
+
+    @Test
+    public void testQueryAab() {
+        Random rnd = new Random(3);
+        AABBd[] boxes = randomBoxes(rnd, 2000);
+        BVHd bvh = new BVHd(boxes, 1);
+        for (AABBd query : randomBoxes(rnd, 100)) {
+            query.maxX += 10;
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectiond.testAabAab(boxes[i], query)) {
+                    expected.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), bvh.queryAab(query, actual::add));
+            assertEquals(new TreeSet<>(expected), actual);
+        }
+    }
+
+    @Test
+    public void testQuerySphere() {
+        Random rnd = new Random(4);
+        AABBd[] boxes = randomBoxes(rnd, 2000);
+        BVHd bvh = new BVHd(boxes, 8);
+        for (int s = 0; s < 100; s++) {
+            Sphered sphere = new Sphered(rnd.nextDouble() * 100 - 50, rnd.nextDouble() * 100 - 50, rnd.nextDouble() * 100 - 50, rnd.nextDouble() * 10);
+            Set<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectiond.testAabSphere(boxes[i].minX, boxes[i].minY, boxes[i].minZ, boxes[i].maxX, boxes[i].maxY, boxes[i].maxZ,
+                        sphere.x, sphere.y, sphere.z, sphere.r * sphere.r)) {
+                    expected.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), bvh.querySphere(sphere, actual::add));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testCoincidentItems() {
+        AABBd[] boxes = new AABBd[50];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = new AABBd(-1, -1, -1, 1, 1, 1);
+        }
+        BVHd bvh = new BVHd(boxes, 4);
+        Set<Integer> all = new TreeSet<>();
+        assertEquals(50, bvh.queryAab(0, 0, 0, 0, 0, 0, all::add));
+        assertEquals(50, all.size());
+        assertTrue(bvh.intersectRay(new Rayd(-5, 0, 0, 1, 0, 0), new Vector2d()) >= 0);
+    }
+}
@@ -0,0 +1,157 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link BVHf} class.
+ */
+public class BVHfTest {
+
+    static AABBf[] randomBoxes(Random rnd, int count) {
+        AABBf[] boxes = new AABBf[count];
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+            boxes[i] = new AABBf(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+        }
+        return boxes;
+    }
+
+    @Test
+    public void testBounds() {
+        AABBf[] boxes = randomBoxes(new Random(1), 100);
+        BVHf bvh = new BVHf(boxes);
+        AABBf expected = new AABBf();
+        for (AABBf box : boxes) {
+            expected.union(box);
+        }
+        assertEquals(expected, bvh.getBounds(new AABBf()));
+        assertEquals(100, bvh.size());
+        assertTrue(bvh.nodeCount() < 2 * 100);
+    }
+
+    @Test
+    public void testEmpty() {
+        BVHf bvh = new BVHf(new AABBf[0]);
+        assertEquals(-1, bvh.intersectRay(new Rayf(0, 0, 0, 1, 0, 0), new Vector2f()));
+        assertEquals(0, bvh.queryAab(new AABBf(-1, -1, -1, 1, 1, 1), i -> { }));
+        assertTrue(!bvh.getBounds(new AABBf()).isValid());
+    }
+
+    @Test
+    public void testRay() {
+        Random rnd = new Random(2);
+        AABBf[] boxes = randomBoxes(rnd, 2000);
+        BVHf bvh = new BVHf(boxes);
+        Vector2f result = new Vector2f(), expected = new Vector2f();
+        for (int r = 0; r < 200; r++) {
+            Rayf ray = new Rayf(rnd.nextFloat() * 120 - 60, rnd.nextFloat() * 120 - 60, rnd.nextFloat() * 120 - 60,
+                rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1);
+            int expectedItem = -1;
+            Set<Integer> expectedAll = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectionf.intersectRayAab(ray, boxes[i], result)) {
+                    expectedAll.add(i);
+                    if (expectedItem < 0 || result.x < expected.x) {
+                        expectedItem = i;
+                        expected.set(result);
+                    }
+                }
+            }
+            int item = bvh.intersectRay(ray, result);
+            assertEquals(expectedItem, item);
+            if (item >= 0) {
+                assertEquals(expected.x, result.x, 0.0f);
+                assertEquals(expected.y, result.y, 0.0f);
+            }
+            Set<Integer> all = new TreeSet<>();
+            int hits = bvh.intersectRayAll(ray, (i, tNear, tFar) -> all.add(i));
+            assertEquals(expectedAll, all);
+            assertEquals(expectedAll.size(), hits);
+        }
+    }
+
+    @Test
+    public void testQueryAab() {
+        Random rnd = new Random(3);
+        AABBf[] boxes = randomBoxes(rnd, 2000);
+        BVHf bvh = new BVHf(boxes, 1);
+        for (AABBf query : randomBoxes(rnd, 100)) {
+            query.maxX += 10;
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectionf.testAabAab(boxes[i], query)) {
+                    expected.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), bvh.queryAab(query, actual::add));
+            assertEquals(new TreeSet<>(expected), actual);
+        }
+    }
+
+    @Test
+    public void testQuerySphere() {
+        Random rnd = new Random(4);
+        AABBf[] boxes = randomBoxes(rnd, 2000);
+        BVHf bvh = new BVHf(boxes, 8);
+        for (int s = 0; s < 100; s++) {
+            Spheref sphere = new Spheref(rnd.nextFloat() * 100 - 50, rnd.nextFloat() * 100 - 50, rnd.nextFloat() * 100 - 50, rnd.nextFloat() * 10);
+            Set<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectionf.testAabSphere(boxes[i], sphere)) {
+                    expected.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), bvh.querySphere(sphere, actual::add));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testQueryFrustum() {
+        Random rnd = new Random(5);
+        AABBf[] boxes = randomBoxes(rnd, 2000);
+        BVHf bvh = new BVHf(boxes, 4);
+        for (int f = 0; f < 50; f++) {
+            Frustumf frustum = new Frustumf(new Matrix4f()
+                    .perspective((float) Math.toRadians(30 + rnd.nextFloat() * 60), 1.5f, 0.5f, 20 + rnd.nextFloat() * 80)
+                    .lookAt(rnd.nextFloat() * 100 - 50, rnd.nextFloat() * 100 - 50, rnd.nextFloat() * 100 - 50, 0, 0, 0, 0, 1, 0));
+            Set<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (frustum.testAab(boxes[i]) != Frustumf.OUTSIDE) {
+                    expected.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), bvh.queryFrustum(frustum, actual::add));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testCoincidentItems() {
+        AABBf[] boxes = new AABBf[50];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = new AABBf(-1, -1, -1, 1, 1, 1);
+        }
+        BVHf bvh = new BVHf(boxes, 4);
+        Set<Integer> all = new TreeSet<>();
+        assertEquals(50, bvh.queryAab(0, 0, 0, 0, 0, 0, all::add));
+        assertEquals(50, all.size());
+        assertTrue(bvh.intersectRay(new Rayf(-5, 0, 0, 1, 0, 0), new Vector2f()) >= 0);
+    }
+}
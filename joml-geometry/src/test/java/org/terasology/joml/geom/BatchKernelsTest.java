@@ -0,0 +1,111 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the {@link BatchKernels} class, which must give the same results as the {@link ScalarBatchKernels} bit for
+ * bit, whichever implementation it selected on the JVM running the tests.
+ */
+public class BatchKernelsTest {
+
+    private static float[] randomFloats(Random rnd, int count, float offset) {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = offset + rnd.nextFloat() * 4 - 2;
+        }
+        return values;
+    }
+
+    @Test
+    public void testBoxes() {
+        Random rnd = new Random(1);
+        for (int count : new int[]{0, 1, 3, 4, 7, 8, 15, 16, 17, 31, 33, 1000}) {
+            float[] minX = randomFloats(rnd, count, 0), minY = randomFloats(rnd, count, 0), minZ = randomFloats(rnd, count, 0);
+            float[] maxX = randomFloats(rnd, count, 2), maxY = randomFloats(rnd, count, 2), maxZ = randomFloats(rnd, count, 2);
+            boolean[] hit = new boolean[count], expectedHit = new boolean[count];
+            for (int r = 0; r < 10; r++) {
+                float x = rnd.nextFloat() * 4 - 2, y = rnd.nextFloat() * 4 - 2, z = rnd.nextFloat() * 4 - 2;
+                assertEquals(ScalarBatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, 0, count, x, y, z, x + 1, y + 1, z + 1, expectedHit, 0),
+                        BatchKernels.aabAab(minX, minY, minZ, maxX, maxY, maxZ, 0, count, x, y, z, x + 1, y + 1, z + 1, hit, 0));
+                assertArrayEquals(expectedHit, hit);
+                assertEquals(ScalarBatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, 0, count, x, y, z, r * 0.2f, expectedHit, 0),
+                        BatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, 0, count, x, y, z, r * 0.2f, hit, 0));
+                assertArrayEquals(expectedHit, hit);
+                // The results of a slice go to the start of the output array.
+                int from = count / 3;
+                boolean[] sliceHit = new boolean[count - from];
+                BatchKernels.aabSphere(minX, minY, minZ, maxX, maxY, maxZ, from, count, x, y, z, r * 0.2f, sliceHit, from);
+                assertArrayEquals(Arrays.copyOfRange(expectedHit, from, count), sliceHit);
+                assertEquals(ScalarBatchKernels.aabPlane(minX, minY, minZ, maxX, maxY, maxZ, 0, count, x, y, z, r - 5, expectedHit),
+                        BatchKernels.aabPlane(minX, minY, minZ, maxX, maxY, maxZ, count, x, y, z, r - 5, hit));
+                assertArrayEquals(expectedHit, hit);
+            }
+        }
+    }
+
+    @Test
+    public void testRayBoxes() {
+        Random rnd = new Random(2);
+        for (int count : new int[]{0, 1, 5, 8, 16, 19, 64, 1000}) {
+            float[] minX = randomFloats(rnd, count, 0), minY = randomFloats(rnd, count, 0), minZ = randomFloats(rnd, count, 0);
+            float[] maxX = randomFloats(rnd, count, 2), maxY = randomFloats(rnd, count, 2), maxZ = randomFloats(rnd, count, 2);
+            float[] tNear = new float[count], tFar = new float[count], expectedTNear = new float[count], expectedTFar = new float[count];
+            boolean[] hit = new boolean[count], expectedHit = new boolean[count];
+            for (int r = 0; r < 10; r++) {
+                // A zero component gives infinite reciprocals, and NaN where the origin lies in the plane of a face.
+                float invDirX = 1.0f / (rnd.nextFloat() * 2 - 1), invDirY = 1.0f / (r == 0 ? 0 : rnd.nextFloat() * 2 - 1);
+                float invDirZ = 1.0f / (rnd.nextFloat() * 2 - 1);
+                float oX = rnd.nextFloat() * 6 - 3, oY = r == 0 && count > 0 ? minY[0] : rnd.nextFloat() * 6 - 3, oZ = rnd.nextFloat() * 6 - 3;
+                ScalarBatchKernels.rayAab(oX, oY, oZ, invDirX, invDirY, invDirZ, minX, minY, minZ, maxX, maxY, maxZ, 0, count,
+                        expectedTNear, expectedTFar, 0);
+                BatchKernels.rayAab(oX, oY, oZ, invDirX, invDirY, invDirZ, minX, minY, minZ, maxX, maxY, maxZ, 0, count, tNear, tFar, 0);
+                assertArrayEquals(expectedTNear, tNear);
+                assertArrayEquals(expectedTFar, tFar);
+                int from = count / 3;
+                float[] sliceTNear = new float[count - from], sliceTFar = new float[count - from];
+                BatchKernels.rayAab(oX, oY, oZ, invDirX, invDirY, invDirZ, minX, minY, minZ, maxX, maxY, maxZ, from, count,
+                        sliceTNear, sliceTFar, from);
+                assertArrayEquals(Arrays.copyOfRange(expectedTNear, from, count), sliceTNear);
+                assertArrayEquals(Arrays.copyOfRange(expectedTFar, from, count), sliceTFar);
+                assertEquals(ScalarBatchKernels.rayHits(0, count, expectedTNear, expectedTFar, expectedHit),
+                        BatchKernels.rayHits(0, count, tNear, tFar, hit));
+                assertArrayEquals(expectedHit, hit);
+            }
+        }
+    }
+
+    @Test
+    public void testRayPackets() {
+        Random rnd = new Random(3);
+        float[] t = new float[RayPacketf.MAX_LANES], expectedT = new float[RayPacketf.MAX_LANES];
+        for (int lanes = 1; lanes <= RayPacketf.MAX_LANES; lanes++) {
+            RayPacketf packet = new RayPacketf(lanes);
+            for (int r = 0; r < 20; r++) {
+                for (int i = 0; i < lanes; i++) {
+                    packet.set(i, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3,
+                            rnd.nextFloat() * 2 - 1, i == 1 ? 0 : rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1,
+                            i == 2 ? 1 : Float.POSITIVE_INFINITY);
+                }
+                float x = rnd.nextFloat() * 2 - 1, y = rnd.nextFloat() * 2 - 1, z = rnd.nextFloat() * 2 - 1;
+                assertEquals(ScalarBatchKernels.rayPacketAab(packet.originX, packet.originY, packet.originZ,
+                                packet.invDirX, packet.invDirY, packet.invDirZ, packet.maxT, 0, lanes, x, y, z, x + 1, y + 1, z + 1, expectedT),
+                        BatchKernels.rayPacketAab(packet.originX, packet.originY, packet.originZ,
+                                packet.invDirX, packet.invDirY, packet.invDirZ, packet.maxT, lanes, x, y, z, x + 1, y + 1, z + 1, t));
+                assertArrayEquals(expectedT, t);
+                assertEquals(ScalarBatchKernels.rayPacketTriangle(packet.originX, packet.originY, packet.originZ,
+                                packet.dirX, packet.dirY, packet.dirZ, packet.maxT, 0, lanes, x, y, z, 1, 0, r == 0 ? 0 : 0.5f, 0, 1, 0, 1E-6f, expectedT),
+                        BatchKernels.rayPacketTriangle(packet.originX, packet.originY, packet.originZ,
+                                packet.dirX, packet.dirY, packet.dirZ, packet.maxT, lanes, x, y, z, 1, 0, r == 0 ? 0 : 0.5f, 0, 1, 0, 1E-6f, t));
+                assertArrayEquals(expectedT, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2d;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link ConvexPolygond} class.
+ */
+public class ConvexPolygondTest {
+
+    /**
+     * Return the vertices of a random regular polygon around <code>(x, y)</code>, in clockwise order if
+     * <code>clockwise</code>.
+     */
+    private static Vector2d[] randomPolygon(Random rnd, double x, double y, boolean clockwise) {
+        int n = 3 + rnd.nextInt(8);
+        double radius = 1 + rnd.nextDouble() * 3;
+        Vector2d[] vertices = new Vector2d[n];
+        for (int i = 0; i < n; i++) {
+            double angle = (clockwise ? -2 : 2) * Math.PI * i / n;
+            vertices[i] = new Vector2d(x + radius * Math.cos(angle), y + radius * Math.sin(angle));
+        }
+        return vertices;
+    }
+
+    private static boolean containsBruteForce(Vector2d[] v, double x, double y) {
+        boolean left = true, right = true;
+        for (int i = 0, j = v.length - 1; i < v.length; j = i, i++) {
+            double cross = (v[i].x - v[j].x) * (y - v[j].y) - (v[i].y - v[j].y) * (x - v[j].x);
+            left &= cross >= -1E-12;
+            right &= cross <= 1E-12;
+        }
+        return left || right;
+    }
+
+    @Test
+    public void testSet() {
+        ConvexPolygond polygon = new ConvexPolygond(new double[] {0, 0, 0, 2, 3, 2, 3, 0});
+        assertEquals(4, polygon.vertexCount());
+        assertEquals(new Rectangled(0, 0, 3, 2), polygon.getBounds(new Rectangled()));
+        // The clockwise input is reversed.
+        assertEquals(new Vector2d(3, 0), polygon.getVertex(1, new Vector2d()));
+        assertEquals(new Vector2d(0, -1), polygon.getNormal(0, new Vector2d()));
+        assertEquals(new Vector2d(1, 0), polygon.getNormal(1, new Vector2d()));
+        polygon.translate(1, 1);
+        assertEquals(new Rectangled(1, 1, 4, 3), polygon.getBounds(new Rectangled()));
+        assertTrue(polygon.containsPoint(4, 3));
+        assertFalse(polygon.containsPoint(0.5, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ConvexPolygond(new double[] {0, 0, 1, 1}));
+    }
+
+    @Test
+    public void testContainsPoint() {
+        Random rnd = new Random(1);
+        for (int p = 0; p < 100; p++) {
+            Vector2d[] vertices = randomPolygon(rnd, 0, 0, rnd.nextBoolean());
+            ConvexPolygond polygon = new ConvexPolygond(vertices);
+            for (int i = 0; i < 100; i++) {
+                double x = rnd.nextDouble() * 10 - 5, y = rnd.nextDouble() * 10 - 5;
+                assertEquals(containsBruteForce(vertices, x, y), polygon.containsPoint(x, y));
+            }
+            for (Vector2d v : vertices) {
+                assertTrue(polygon.containsPoint(v.x * 0.9999999, v.y * 0.9999999));
+            }
+        }
+    }
+
+    @Test
+    public void testPolygon() {
+        ConvexPolygond a = new ConvexPolygond(new double[] {0, 0, 2, 0, 2, 2, 0, 2});
+        ConvexPolygond b = new ConvexPolygond(new double[] {1.5, 0.5, 3, 0.5, 3, 1, 1.5, 1});
+        Vector2d mtv = new Vector2d(), result = new Vector2d();
+        assertTrue(a.intersectPolygon(b, mtv));
+        assertEquals(-0.5, mtv.x, 1E-12);
+        assertEquals(0.0, mtv.y, 1E-12);
+        assertTrue(b.intersectPolygon(a, mtv));
+        assertEquals(0.5, mtv.x, 1E-12);
+        assertEquals(0.0, mtv.y, 1E-12);
+
+        Random rnd = new Random(2);
+        for (int p = 0; p < 1000; p++) {
+            Vector2d[] v1s = randomPolygon(rnd, 0, 0, rnd.nextBoolean());
+            Vector2d[] v2s = randomPolygon(rnd, rnd.nextDouble() * 12 - 6, rnd.nextDouble() * 12 - 6, rnd.nextBoolean());
+            a = new ConvexPolygond(v1s);
+            b = new ConvexPolygond(v2s);
+            boolean expected = Intersectiond.testPolygonPolygon(v1s, v2s);
+            assertEquals(expected, a.testPolygon(b));
+            assertEquals(expected, b.testPolygon(a));
+            assertEquals(expected, a.intersectPolygon(b, mtv));
+            if (expected) {
+                // Moving a bit less than the translation keeps them intersecting, and a bit more separates them.
+                double length = mtv.length();
+                ConvexPolygond moved = new ConvexPolygond(a).translate(mtv.x * (length - 1E-9) / length,
+                        mtv.y * (length - 1E-9) / length);
+                assertTrue(moved.testPolygon(b));
+                moved.set(a).translate(mtv.x * (length + 1E-9) / length, mtv.y * (length + 1E-9) / length);
+                assertFalse(moved.testPolygon(b));
+            }
+            assertEquals(a.containsPoint(v2s[0]), a.intersectRay(v2s[0].x, v2s[0].y, 1, 0, result) >= 0 && result.x <= 0);
+        }
+    }
+
+    @Test
+    public void testRay() {
+        Random rnd = new Random(3);
+        Vector2d result = new Vector2d(), expected = new Vector2d();
+        for (int p = 0; p < 1000; p++) {
+            Vector2d[] vertices = randomPolygon(rnd, 0, 0, false);
+            ConvexPolygond polygon = new ConvexPolygond(vertices);
+            double angle = rnd.nextDouble() * 2 * Math.PI;
+            double originX = 6 * Math.cos(angle), originY = 6 * Math.sin(angle);
+            double dirX = -originX + rnd.nextDouble() * 6 - 3, dirY = -originY + rnd.nextDouble() * 6 - 3;
+            int edge = Intersectiond.intersectPolygonRay(vertices, originX, originY, dirX, dirY, expected);
+            assertEquals(edge, polygon.intersectRay(originX, originY, dirX, dirY, result));
+            if (edge >= 0) {
+                assertEquals(expected.x, originX + result.x * dirX, 1E-9);
+                assertEquals(expected.y, originY + result.x * dirY, 1E-9);
+                assertTrue(result.x <= result.y);
+            }
+        }
+        ConvexPolygond square = new ConvexPolygond(new double[] {-1, -1, 1, -1, 1, 1, -1, 1});
+        assertEquals(3, square.intersectRay(0, 0, 1, 0, result));
+        assertEquals(-1.0, result.x, 0.0);
+        assertEquals(1.0, result.y, 0.0);
+        assertEquals(-1, square.intersectRay(2, 0, 1, 0, result));
+        assertEquals(-1, square.intersectRay(2, 0, 0, 1, result));
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link ConvexPolygonf} class.
+ */
+public class ConvexPolygonfTest {
+
+    /**
+     * Return the vertices of a random regular polygon around <code>(x, y)</code>, in clockwise order if
+     * <code>clockwise</code>.
+     */
+    private static Vector2f[] randomPolygon(Random rnd, float x, float y, boolean clockwise) {
+        int n = 3 + rnd.nextInt(8);
+        float radius = 1 + rnd.nextFloat() * 3;
+        Vector2f[] vertices = new Vector2f[n];
+        for (int i = 0; i < n; i++) {
+            double angle = (clockwise ? -2 : 2) * Math.PI * i / n;
+            vertices[i] = new Vector2f(x + radius * (float) Math.cos(angle), y + radius * (float) Math.sin(angle));
+        }
+        return vertices;
+    }
+
+    private static boolean containsBruteForce(Vector2f[] v, float x, float y) {
+        boolean left = true, right = true;
+        for (int i = 0, j = v.length - 1; i < v.length; j = i, i++) {
+            float cross = (v[i].x - v[j].x) * (y - v[j].y) - (v[i].y - v[j].y) * (x - v[j].x);
+            left &= cross >= -1E-4f;
+            right &= cross <= 1E-4f;
+        }
+        return left || right;
+    }
+
+    @Test
+    public void testSet() {
+        ConvexPolygonf polygon = new ConvexPolygonf(new float[] {0, 0, 0, 2, 3, 2, 3, 0});
+        assertEquals(4, polygon.vertexCount());
+        assertEquals(new Rectanglef(0, 0, 3, 2), polygon.getBounds(new Rectanglef()));
+        // The clockwise input is reversed.
+        assertEquals(new Vector2f(3, 0), polygon.getVertex(1, new Vector2f()));
+        assertEquals(new Vector2f(0, -1), polygon.getNormal(0, new Vector2f()));
+        assertEquals(new Vector2f(1, 0), polygon.getNormal(1, new Vector2f()));
+        polygon.translate(1, 1);
+        assertEquals(new Rectanglef(1, 1, 4, 3), polygon.getBounds(new Rectanglef()));
+        assertTrue(polygon.containsPoint(4, 3));
+        assertFalse(polygon.containsPoint(0.5f, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ConvexPolygonf(new float[] {0, 0, 1, 1}));
+    }
+
+    @Test
+    public void testContainsPoint() {
+        Random rnd = new Random(1);
+        for (int p = 0; p < 100; p++) {
+            Vector2f[] vertices = randomPolygon(rnd, 0, 0, rnd.nextBoolean());
+            ConvexPolygonf polygon = new ConvexPolygonf(vertices);
+            for (int i = 0; i < 100; i++) {
+                float x = rnd.nextFloat() * 10 - 5, y = rnd.nextFloat() * 10 - 5;
+                assertEquals(containsBruteForce(vertices, x, y), polygon.containsPoint(x, y));
+            }
+            for (Vector2f v : vertices) {
+                assertTrue(polygon.containsPoint(v.x * 0.9999f, v.y * 0.9999f));
+            }
+        }
+    }
+
+    @Test
+    public void testPolygon() {
+        ConvexPolygonf a = new ConvexPolygonf(new float[] {0, 0, 2, 0, 2, 2, 0, 2});
+        ConvexPolygonf b = new ConvexPolygonf(new float[] {1.5f, 0.5f, 3, 0.5f, 3, 1, 1.5f, 1});
+        Vector2f mtv = new Vector2f();
+        assertTrue(a.intersectPolygon(b, mtv));
+        assertEquals(-0.5f, mtv.x, 1E-6f);
+        assertEquals(0.0f, mtv.y, 1E-6f);
+        assertTrue(b.intersectPolygon(a, mtv));
+        assertEquals(0.5f, mtv.x, 1E-6f);
+        assertEquals(0.0f, mtv.y, 1E-6f);
+
+        Random rnd = new Random(2);
+        for (int p = 0; p < 1000; p++) {
+            Vector2f[] v1s = randomPolygon(rnd, 0, 0, rnd.nextBoolean());
+            Vector2f[] v2s = randomPolygon(rnd, rnd.nextFloat() * 12 - 6, rnd.nextFloat() * 12 - 6, rnd.nextBoolean());
+            a = new ConvexPolygonf(v1s);
+            b = new ConvexPolygonf(v2s);
+            boolean expected = Intersectionf.testPolygonPolygon(v1s, v2s);
+            assertEquals(expected, a.testPolygon(b));
+            assertEquals(expected, b.testPolygon(a));
+            assertEquals(expected, a.intersectPolygon(b, mtv));
+            if (expected) {
+                // Moving a bit less than the translation keeps them intersecting, and a bit more separates them.
+                float length = mtv.length();
+                ConvexPolygonf moved = new ConvexPolygonf(a).translate(mtv.x * (length - 1E-3f) / length,
+                        mtv.y * (length - 1E-3f) / length);
+                assertTrue(moved.testPolygon(b));
+                moved.set(a).translate(mtv.x * (length + 1E-3f) / length, mtv.y * (length + 1E-3f) / length);
+                assertFalse(moved.testPolygon(b));
+            }
+        }
+    }
+
+    @Test
+    public void testRay() {
+        Random rnd = new Random(3);
+        Vector2f result = new Vector2f(), expected = new Vector2f();
+        for (int p = 0; p < 1000; p++) {
+            Vector2f[] vertices = randomPolygon(rnd, 0, 0, false);
+            ConvexPolygonf polygon = new ConvexPolygonf(vertices);
+            float angle = rnd.nextFloat() * 6.2831855f;
+            float originX = 6 * (float) Math.cos(angle), originY = 6 * (float) Math.sin(angle);
+            float dirX = -originX + rnd.nextFloat() * 6 - 3, dirY = -originY + rnd.nextFloat() * 6 - 3;
+            int edge = Intersectionf.intersectPolygonRay(vertices, originX, originY, dirX, dirY, expected);
+            assertEquals(edge, polygon.intersectRay(originX, originY, dirX, dirY, result));
+            if (edge >= 0) {
+                assertEquals(expected.x, originX + result.x * dirX, 1E-4f);
+                assertEquals(expected.y, originY + result.x * dirY, 1E-4f);
+                assertTrue(result.x <= result.y);
+            }
+        }
+        ConvexPolygonf square = new ConvexPolygonf(new float[] {-1, -1, 1, -1, 1, 1, -1, 1});
+        assertEquals(3, square.intersectRay(0, 0, 1, 0, result));
+        assertEquals(-1.0f, result.x, 0.0f);
+        assertEquals(1.0f, result.y, 0.0f);
+        assertEquals(-1, square.intersectRay(2, 0, 1, 0, result));
+        assertEquals(-1, square.intersectRay(2, 0, 0, 1, result));
+    }
+}
@@ -0,0 +1,168 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link DynamicAABBTreef} class.
+ */
+public class DynamicAABBTreefTest {
+
+    private static AABBf randomBox(Random rnd) {
+        float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+        return new AABBf(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+    }
+
+    private static long pair(int a, int b) {
+        return (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+
+    @Test
+    public void testInsertRemove() {
+        Random rnd = new Random(1);
+        DynamicAABBTreef tree = new DynamicAABBTreef();
+        List<Integer> proxies = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int proxy = tree.insert(randomBox(rnd), i);
+            assertEquals(i, tree.getUserData(proxy));
+            proxies.add(proxy);
+        }
+        tree.validate();
+        assertEquals(1000, tree.size());
+        // A balanced tree over 1000 leaves is far shallower than a degenerate one.
+        assertTrue(tree.height() < 25);
+        for (int i = 0; i < 700; i++) {
+            tree.remove(proxies.remove(rnd.nextInt(proxies.size())));
+        }
+        tree.validate();
+        assertEquals(300, tree.size());
+        for (int proxy : proxies) {
+            tree.remove(proxy);
+        }
+        tree.validate();
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.height());
+        assertThrows(IllegalArgumentException.class, () -> tree.remove(proxies.isEmpty() ? 0 : proxies.get(0)));
+    }
+
+    @Test
+    public void testMove() {
+        DynamicAABBTreef tree = new DynamicAABBTreef(0.5f);
+        int proxy = tree.insert(new AABBf(0, 0, 0, 1, 1, 1), 0);
+        assertEquals(new AABBf(-0.5f, -0.5f, -0.5f, 1.5f, 1.5f, 1.5f), tree.getFatBounds(proxy, new AABBf()));
+        assertFalse(tree.move(proxy, new AABBf(0.25f, 0, 0, 1.25f, 1, 1), new Vector3f(0.25f, 0, 0)));
+        assertTrue(tree.move(proxy, new AABBf(1, 0, 0, 2, 1, 1), new Vector3f(0.75f, 0, 0)));
+        assertEquals(new AABBf(0.5f, -0.5f, -0.5f, 5.5f, 1.5f, 1.5f), tree.getFatBounds(proxy, new AABBf()));
+    }
+
+    @Test
+    public void testQueryAabAndRayCast() {
+        Random rnd = new Random(2);
+        DynamicAABBTreef tree = new DynamicAABBTreef();
+        int[] proxies = new int[500];
+        AABBf[] boxes = new AABBf[500];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = randomBox(rnd);
+            proxies[i] = tree.insert(boxes[i], i);
+        }
+        for (int step = 0; step < 20; step++) {
+            for (int i = 0; i < boxes.length; i++) {
+                Vector3f d = new Vector3f(rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f);
+                boxes[i].translate(d);
+                tree.move(proxies[i], boxes[i], d);
+            }
+            tree.validate();
+            AABBf fat = new AABBf();
+            AABBf query = randomBox(rnd);
+            query.maxX += 10;
+            Set<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                assertTrue(tree.getFatBounds(proxies[i], fat).containsAABB(boxes[i]));
+                if (Intersectionf.testAabAab(fat, query)) {
+                    expected.add(proxies[i]);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), tree.queryAab(query, actual::add));
+            assertEquals(expected, actual);
+
+            Rayf ray = new Rayf(-60, rnd.nextFloat() * 100 - 50, rnd.nextFloat() * 100 - 50, 1, rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f);
+            Vector2f t = new Vector2f();
+            float expectedT = Float.POSITIVE_INFINITY;
+            for (AABBf box : boxes) {
+                if (Intersectionf.intersectRayAab(ray, box, t)) {
+                    expectedT = Math.min(expectedT, t.x);
+                }
+            }
+            float[] closest = {Float.POSITIVE_INFINITY};
+            tree.rayCast(ray, Float.POSITIVE_INFINITY, (proxy, tNear, tFar) -> {
+                if (!Intersectionf.intersectRayAab(ray, boxes[tree.getUserData(proxy)], t)) {
+                    return -1;
+                }
+                closest[0] = Math.min(closest[0], t.x);
+                return t.x;
+            });
+            assertEquals(expectedT, closest[0], 0.0f);
+        }
+    }
+
+    @Test
+    public void testPairs() {
+        Random rnd = new Random(3);
+        DynamicAABBTreef tree = new DynamicAABBTreef();
+        int[] proxies = new int[400];
+        AABBf[] boxes = new AABBf[400];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = randomBox(rnd);
+            proxies[i] = tree.insert(boxes[i], i);
+        }
+        Set<Long> pairs = new TreeSet<>();
+        tree.updatePairs((a, b) -> assertTrue(pairs.add(pair(a, b)) && a < b));
+        Set<Long> all = new TreeSet<>();
+        assertEquals(pairs.size(), tree.queryPairs((a, b) -> assertTrue(all.add(pair(a, b)) && a < b)));
+        assertEquals(pairs, all);
+
+        for (int step = 0; step < 10; step++) {
+            // Move only some of the boxes; pairs between resting proxies cannot change.
+            for (int i = 0; i < boxes.length; i += 1 + rnd.nextInt(4)) {
+                Vector3f d = new Vector3f(rnd.nextFloat() * 4 - 2, rnd.nextFloat() * 4 - 2, rnd.nextFloat() * 4 - 2);
+                boxes[i].translate(d);
+                tree.move(proxies[i], boxes[i], d);
+            }
+            Set<Long> updated = new TreeSet<>();
+            tree.updatePairs((a, b) -> assertTrue(updated.add(pair(a, b))));
+            Set<Long> expected = new TreeSet<>();
+            AABBf fatA = new AABBf(), fatB = new AABBf();
+            for (int i = 0; i < boxes.length; i++) {
+                for (int j = i + 1; j < boxes.length; j++) {
+                    if (Intersectionf.testAabAab(tree.getFatBounds(proxies[i], fatA), tree.getFatBounds(proxies[j], fatB))) {
+                        expected.add(pair(proxies[i], proxies[j]));
+                    }
+                }
+            }
+            Set<Long> current = new TreeSet<>();
+            tree.queryPairs((a, b) -> current.add(pair(a, b)));
+            assertEquals(expected, current);
+            // Every new pair must have been reported by the incremental update.
+            for (long p : expected) {
+                assertTrue(updated.contains(p) || pairs.contains(p));
+            }
+            pairs.clear();
+            pairs.addAll(expected);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link Frustumf} class.
+ */
+public class FrustumfTest {
+
+    private static Matrix4f viewProjection() {
+        return new Matrix4f()
+                .perspective((float) Math.toRadians(70), 1.5f, 0.5f, 60)
+                .lookAt(3, 5, -8, 10, 0, 20, 0, 1, 0);
+    }
+
+    private static float[] randomBounds(Random rnd, int count) {
+        float[] bounds = new float[6 * count];
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+            bounds[6 * i] = x;
+            bounds[6 * i + 1] = y;
+            bounds[6 * i + 2] = z;
+            bounds[6 * i + 3] = x + rnd.nextFloat() * 8;
+            bounds[6 * i + 4] = y + rnd.nextFloat() * 8;
+            bounds[6 * i + 5] = z + rnd.nextFloat() * 8;
+        }
+        return bounds;
+    }
+
+    @Test
+    public void testPlanes() {
+        Frustumf frustum = new Frustumf(viewProjection());
+        Planef plane = new Planef();
+        for (int p = 0; p < 6; p++) {
+            frustum.getPlane(p, plane);
+            assertEquals(1, plane.a * plane.a + plane.b * plane.b + plane.c * plane.c, 1E-5f);
+            // The eye lies behind the near plane and inside all others.
+            float distance = plane.a * 3 + plane.b * 5 + plane.c * -8 + plane.d;
+            assertTrue(p == Frustumf.PLANE_NZ ? distance < 0 : distance >= -1E-4f);
+        }
+        assertEquals(Frustumf.INSIDE, new Frustumf().testAab(-1E6f, -1E6f, -1E6f, 1E6f, 1E6f, 1E6f));
+    }
+
+    @Test
+    public void testAab() {
+        Matrix4f m = viewProjection();
+        Frustumf frustum = new Frustumf(m);
+        FrustumIntersection reference = new FrustumIntersection(m);
+        float[] bounds = randomBounds(new Random(1), 5000);
+        int[] counts = new int[3];
+        for (int o = 0; o < bounds.length; o += 6) {
+            int expected = reference.intersectAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+            expected = expected == FrustumIntersection.INSIDE ? Frustumf.INSIDE
+                    : expected == FrustumIntersection.INTERSECT ? Frustumf.INTERSECT : Frustumf.OUTSIDE;
+            int actual = frustum.testAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+            assertEquals(expected, actual);
+            counts[actual]++;
+        }
+        assertTrue(counts[Frustumf.INSIDE] > 0 && counts[Frustumf.INTERSECT] > 0 && counts[Frustumf.OUTSIDE] > 0);
+    }
+
+    @Test
+    public void testCullAab() {
+        Frustumf frustum = new Frustumf(viewProjection());
+        float[] bounds = randomBounds(new Random(2), 2000);
+        for (int o = 0; o < bounds.length; o += 6) {
+            int full = frustum.cullAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5], Frustumf.ALL_PLANES, 0);
+            for (int first = 0; first < 6; first++) {
+                int r = frustum.cullAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5], Frustumf.ALL_PLANES, first);
+                // The rejecting plane may depend on the order, but whether the box is rejected does not.
+                assertEquals(full < 0, r < 0);
+                if (r >= 0) {
+                    assertEquals(full, r);
+                }
+            }
+            if (full > 0) {
+                // Testing only the intersected planes gives the same result.
+                assertEquals(full, frustum.cullAab(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5], full, 3));
+            }
+        }
+    }
+
+    @Test
+    public void testCull() {
+        Frustumf frustum = new Frustumf(viewProjection());
+        int count = 3000;
+        float[] bounds = randomBounds(new Random(3), count);
+        AABBfArray array = new AABBfArray(count);
+        for (int i = 0; i < count; i++) {
+            array.set(i, bounds[6 * i], bounds[6 * i + 1], bounds[6 * i + 2], bounds[6 * i + 3], bounds[6 * i + 4], bounds[6 * i + 5]);
+        }
+        byte[] results = new byte[count], arrayResults = new byte[count], planeCache = new byte[count];
+        for (int frame = 0; frame < 2; frame++) {
+            int visible = frustum.cull(bounds, 0, count, results, planeCache);
+            assertEquals(visible, frustum.cull(array, arrayResults, null));
+            int expectedVisible = 0;
+            for (int i = 0; i < count; i++) {
+                int expected = frustum.testAab(bounds[6 * i], bounds[6 * i + 1], bounds[6 * i + 2], bounds[6 * i + 3], bounds[6 * i + 4], bounds[6 * i + 5]);
+                assertEquals(expected, results[i]);
+                assertEquals(expected, arrayResults[i]);
+                if (expected != Frustumf.OUTSIDE) {
+                    expectedVisible++;
+                } else {
+                    // The cached plane rejects the box on its own.
+                    int p = planeCache[i];
+                    Planef plane = frustum.getPlane(p, new Planef());
+                    float maxDistance = plane.a * (plane.a < 0 ? bounds[6 * i] : bounds[6 * i + 3])
+                            + plane.b * (plane.b < 0 ? bounds[6 * i + 1] : bounds[6 * i + 4])
+                            + plane.c * (plane.c < 0 ? bounds[6 * i + 2] : bounds[6 * i + 5]);
+                    assertTrue(maxDistance < -plane.d);
+                }
+            }
+            assertEquals(expectedVisible, visible);
+        }
+    }
+}
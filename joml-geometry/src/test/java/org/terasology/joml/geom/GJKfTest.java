@@ -0,0 +1,224 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link GJKf} class.
+ */
+public class GJKfTest {
+
+    private static final float EPSILON = 1E-3f;
+
+    private static Vector3f randomVector(Random rnd, float scale) {
+        return new Vector3f(rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f).mul(scale);
+    }
+
+    private static AABBf randomAABB(Random rnd) {
+        Vector3f min = randomVector(rnd, 6);
+        return new AABBf(min, min.add(randomVector(rnd, 2).absolute().add(0.1f, 0.1f, 0.1f), new Vector3f()));
+    }
+
+    private static OrientedBoxf randomOrientedBox(Random rnd) {
+        Quaternionf rotation = new Quaternionf().rotateXYZ(rnd.nextFloat() * 6, rnd.nextFloat() * 6, rnd.nextFloat() * 6);
+        return new OrientedBoxf(randomVector(rnd, 6), randomVector(rnd, 2).absolute().add(0.1f, 0.1f, 0.1f), rotation);
+    }
+
+    private static float projectedRadius(OrientedBoxf box, Vector3f axis) {
+        return java.lang.Math.abs(box.axisX.dot(axis)) * box.halfSize.x + java.lang.Math.abs(box.axisY.dot(axis)) * box.halfSize.y
+                + java.lang.Math.abs(box.axisZ.dot(axis)) * box.halfSize.z;
+    }
+
+    /**
+     * Test two oriented boxes for intersection on all 15 potentially separating axes.
+     */
+    private static boolean intersectsBySeparatingAxes(OrientedBoxf a, OrientedBoxf b) {
+        Vector3f[] axesA = {a.axisX, a.axisY, a.axisZ}, axesB = {b.axisX, b.axisY, b.axisZ};
+        List<Vector3f> axes = new ArrayList<>();
+        Collections.addAll(axes, axesA);
+        Collections.addAll(axes, axesB);
+        for (Vector3f axisA : axesA) {
+            for (Vector3f axisB : axesB) {
+                Vector3f axis = axisA.cross(axisB, new Vector3f());
+                if (axis.lengthSquared() > 1E-8f) {
+                    axes.add(axis.normalize());
+                }
+            }
+        }
+        Vector3f d = b.center.sub(a.center, new Vector3f());
+        for (Vector3f axis : axes) {
+            if (java.lang.Math.abs(d.dot(axis)) > projectedRadius(a, axis) + projectedRadius(b, axis)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void testSpheres() {
+        GJKf gjk = new GJKf();
+        Random rnd = new Random(1);
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        for (int i = 0; i < 1000; i++) {
+            Spheref a = new Spheref(randomVector(rnd, 10), 0.1f + rnd.nextFloat() * 2);
+            Spheref b = new Spheref(randomVector(rnd, 10), 0.1f + rnd.nextFloat() * 2);
+            Vector3f ab = new Vector3f(b.x - a.x, b.y - a.y, b.z - a.z);
+            float expected = ab.length() - a.r - b.r;
+            assertEquals(expected <= 0, gjk.testIntersection(a, b, null));
+            assertEquals(java.lang.Math.max(expected, 0), gjk.distance(a, b, null, pointA, pointB), EPSILON);
+            assertEquals(expected, gjk.penetration(a, b, null, normal, pointA, pointB), EPSILON);
+            ab.normalize();
+            assertEquals(1, normal.dot(ab), EPSILON);
+            assertEquals(a.r, pointA.distance(a.x, a.y, a.z), EPSILON);
+            assertEquals(b.r, pointB.distance(b.x, b.y, b.z), EPSILON);
+        }
+    }
+
+    @Test
+    public void testConcentricSpheres() {
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        float depth = new GJKf().penetration(new Spheref(1, 2, 3, 1), new Spheref(1, 2, 3, 2), null, normal, pointA, pointB);
+        assertEquals(-3, depth, EPSILON);
+        assertEquals(1, normal.length(), EPSILON);
+        assertEquals(3, pointA.distance(pointB), EPSILON);
+    }
+
+    @Test
+    public void testAABBs() {
+        GJKf gjk = new GJKf();
+        Random rnd = new Random(2);
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        for (int i = 0; i < 1000; i++) {
+            AABBf a = randomAABB(rnd), b = randomAABB(rnd);
+            float overlap = Float.POSITIVE_INFINITY, gap = 0;
+            float[] min = {a.minX - b.maxX, a.minY - b.maxY, a.minZ - b.maxZ};
+            float[] max = {a.maxX - b.minX, a.maxY - b.minY, a.maxZ - b.minZ};
+            for (int k = 0; k < 3; k++) {
+                float d = java.lang.Math.max(min[k], -max[k]);
+                overlap = java.lang.Math.min(overlap, -d);
+                gap += d > 0 ? d * d : 0;
+            }
+            boolean intersects = a.intersectsAABB(b);
+            assertEquals(intersects, gjk.testIntersection(a, b, null));
+            float signed = gjk.penetration(a, b, null, normal, pointA, pointB);
+            if (intersects) {
+                assertEquals(-overlap, signed, EPSILON);
+                assertEquals(overlap, pointA.distance(pointB), EPSILON);
+            } else {
+                assertEquals(java.lang.Math.sqrt(gap), signed, EPSILON);
+                assertEquals(signed, gjk.distance(a, b, null, pointA, pointB), EPSILON);
+                assertEquals(signed, pointA.distance(pointB), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testOrientedBoxes() {
+        GJKf gjk = new GJKf();
+        Random rnd = new Random(3);
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        for (int i = 0; i < 1000; i++) {
+            OrientedBoxf a = randomOrientedBox(rnd), b = randomOrientedBox(rnd);
+            float signed = gjk.penetration(a, b, null, normal, pointA, pointB);
+            if (java.lang.Math.abs(signed) < EPSILON) {
+                continue;
+            }
+            boolean intersects = intersectsBySeparatingAxes(a, b);
+            assertEquals(intersects, signed < 0);
+            assertEquals(intersects, gjk.testIntersection(a, b, null));
+            if (intersects) {
+                // Moving b out by the penetration depth along the normal separates both boxes.
+                b.center.fma(-signed + 2 * EPSILON, normal);
+                assertFalse(gjk.testIntersection(a, b, null));
+            }
+        }
+    }
+
+    @Test
+    public void testCapsules() {
+        GJKf gjk = new GJKf();
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        Capsulef a = new Capsulef(-1, 0, 0, 1, 0, 0, 0.5f);
+        Capsulef b = new Capsulef(0, -1, 2, 0, 1, 2, 0.25f);
+        assertEquals(1.25f, gjk.distance(a, b, null, pointA, pointB), EPSILON);
+        assertEquals(0.5f, pointA.z, EPSILON);
+        assertEquals(1.75f, pointB.z, EPSILON);
+        b.translate(0, 0, -1.5f);
+        assertEquals(-0.25f, gjk.penetration(a, b, null, normal, pointA, pointB), EPSILON);
+        assertEquals(1, normal.z, EPSILON);
+        // a capsule is a line segment with the radius as its margin
+        assertTrue(gjk.testIntersection(new LineSegmentf(0, 0, -0.5f, 0, 0, 0.5f), a, null));
+        assertFalse(gjk.testIntersection(new LineSegmentf(0, 0, 0.6f, 0, 0, 1), a, null));
+    }
+
+    @Test
+    public void testPointCloud() {
+        GJKf gjk = new GJKf();
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        // a regular octahedron with its inner points
+        PointCloudf octahedron = new PointCloudf(new float[] {1, 0, 0, -1, 0, 0, 0, 1, 0, 0, -1, 0, 0, 0, 1, 0, 0, -1, 0.1f, 0.1f, 0.1f});
+        Spheref sphere = new Spheref(1, 1, 1, 0.5f);
+        float expected = (float) ((3 - 1) / java.lang.Math.sqrt(3)) - 0.5f;
+        assertEquals(expected, gjk.distance(octahedron, sphere, null, pointA, pointB), EPSILON);
+        assertEquals(1, pointA.x + pointA.y + pointA.z, EPSILON);
+        AABBf box = new AABBf(0.5f, -1, -1, 2, 1, 1);
+        assertEquals(-0.5f, gjk.penetration(octahedron, box, null, normal, pointA, pointB), EPSILON);
+        assertEquals(1, normal.x, EPSILON);
+    }
+
+    @Test
+    public void testWarmStart() {
+        GJKf gjk = new GJKf();
+        Random rnd = new Random(4);
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        Vector3f warmA = new Vector3f(), warmB = new Vector3f(), warmNormal = new Vector3f();
+        for (int i = 0; i < 100; i++) {
+            OrientedBoxf a = randomOrientedBox(rnd), b = randomOrientedBox(rnd);
+            Vector3f velocity = randomVector(rnd, 0.1f);
+            GJKf.Cache cache = new GJKf.Cache();
+            for (int frame = 0; frame < 20; frame++) {
+                b.center.add(velocity);
+                float cold = gjk.penetration(a, b, null, normal, pointA, pointB);
+                float warm = gjk.penetration(a, b, cache, warmNormal, warmA, warmB);
+                assertEquals(cold, warm, EPSILON);
+                assertEquals(gjk.testIntersection(a, b, null), gjk.testIntersection(a, b, cache));
+                if (cold > EPSILON) {
+                    assertEquals(cold, gjk.distance(a, b, cache, warmA, warmB), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWarmStartAfterPenetration() {
+        GJKf gjk = new GJKf();
+        Vector3f pointA = new Vector3f(), pointB = new Vector3f(), normal = new Vector3f();
+        int[] supports = new int[1];
+        AABBf box = new AABBf(-1, -1, -1, 1, 1, 1);
+        ConvexShapef a = (dirX, dirY, dirZ, dest) -> {
+            supports[0]++;
+            return box.support(dirX, dirY, dirZ, dest);
+        };
+        AABBf b = new AABBf(0.5f, -1, -1, 2.5f, 1, 1);
+        GJKf.Cache cache = new GJKf.Cache();
+        assertEquals(-0.5f, gjk.penetration(a, b, cache, normal, pointA, pointB), EPSILON);
+        assertEquals(1, normal.x, EPSILON);
+        // The normal of the penetration separates the boxes once they moved apart, so one support point suffices.
+        b.translate(1, 0, 0);
+        supports[0] = 0;
+        assertFalse(gjk.testIntersection(a, b, cache));
+        assertEquals(1, supports[0]);
+    }
+}
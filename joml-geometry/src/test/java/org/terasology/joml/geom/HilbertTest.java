@@ -0,0 +1,77 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2i;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the {@link Hilbert} class.
+ */
+public class HilbertTest {
+
+    @Test
+    public void testCurve2d() {
+        for (int bits = 1; bits <= 5; bits++) {
+            int size = 1 << bits;
+            boolean[] visited = new boolean[size * size];
+            Vector2i cell = new Vector2i(), previous = new Vector2i();
+            for (long index = 0; index < (long) size * size; index++) {
+                Hilbert.decode2d(index, bits, cell);
+                assertEquals(index, Hilbert.encode2d(cell.x, cell.y, bits));
+                assertFalse(visited[cell.y * size + cell.x]);
+                visited[cell.y * size + cell.x] = true;
+                if (index == 0) {
+                    assertEquals(new Vector2i(), cell);
+                } else {
+                    // Consecutive cells are neighbours.
+                    assertEquals(1, Math.abs(cell.x - previous.x) + Math.abs(cell.y - previous.y));
+                }
+                previous.set(cell);
+            }
+        }
+    }
+
+    @Test
+    public void testCurve3d() {
+        for (int bits = 1; bits <= 4; bits++) {
+            int size = 1 << bits;
+            boolean[] visited = new boolean[size * size * size];
+            Vector3i cell = new Vector3i(), previous = new Vector3i();
+            for (long index = 0; index < (long) size * size * size; index++) {
+                Hilbert.decode3d(index, bits, cell);
+                assertEquals(index, Hilbert.encode3d(cell.x, cell.y, cell.z, bits));
+                int i = (cell.z * size + cell.y) * size + cell.x;
+                assertFalse(visited[i]);
+                visited[i] = true;
+                if (index == 0) {
+                    assertEquals(new Vector3i(), cell);
+                } else {
+                    assertEquals(1, Math.abs(cell.x - previous.x) + Math.abs(cell.y - previous.y) + Math.abs(cell.z - previous.z));
+                }
+                previous.set(cell);
+            }
+        }
+    }
+
+    @Test
+    public void testMaximumOrder() {
+        Random rnd = new Random(9);
+        Vector2i v2 = new Vector2i();
+        Vector3i v3 = new Vector3i();
+        for (int i = 0; i < 1000; i++) {
+            int x = rnd.nextInt(), y = rnd.nextInt();
+            assertEquals(new Vector2i(x, y), Hilbert.decode2d(Hilbert.encode2d(x, y, 32), 32, v2));
+            int a = rnd.nextInt(1 << 21), b = rnd.nextInt(1 << 21), c = rnd.nextInt(1 << 21);
+            assertEquals(new Vector3i(a, b, c), Hilbert.decode3d(Hilbert.encode3d(a, b, c, 21), 21, v3));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Hilbert.encode3d(0, 0, 0, 22));
+    }
+}
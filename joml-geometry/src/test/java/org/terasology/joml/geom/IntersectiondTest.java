@@ -2,11 +2,16 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.joml.geom;
 
+import org.joml.Matrix3d;
 import org.joml.Vector2d;
 import org.joml.Vector3d;
 import org.junit.jupiter.api.Test;
 
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for the {@link Intersectiond} class.
@@ -86,4 +91,115 @@ public static void testLineSegmentAab() {
         TestUtil.assertVector2dEquals(new Vector2d(0, 1), p, 1E-6f);
     }
 
+    @Test
+    public void testIntersectRayAabBatch() {
+        Random rnd = new Random(42);
+        int count = 1000;
+        double[] minX = new double[count], minY = new double[count], minZ = new double[count];
+        double[] maxX = new double[count], maxY = new double[count], maxZ = new double[count];
+        for (int i = 0; i < count; i++) {
+            minX[i] = rnd.nextDouble() * 4 - 2;
+            minY[i] = rnd.nextDouble() * 4 - 2;
+            minZ[i] = rnd.nextDouble() * 4 - 2;
+            maxX[i] = minX[i] + rnd.nextDouble();
+            maxY[i] = minY[i] + rnd.nextDouble();
+            maxZ[i] = minZ[i] + rnd.nextDouble();
+        }
+        DoubleBuffer minXb = DoubleBuffer.allocate(count + 1), minYb = DoubleBuffer.allocate(count + 1), minZb = DoubleBuffer.allocate(count + 1);
+        DoubleBuffer maxXb = DoubleBuffer.allocate(count + 1), maxYb = DoubleBuffer.allocate(count + 1), maxZb = DoubleBuffer.allocate(count + 1);
+        for (DoubleBuffer b : new DoubleBuffer[]{minXb, minYb, minZb, maxXb, maxYb, maxZb}) {
+            b.position(1);
+        }
+        minXb.put(minX).position(1);
+        minYb.put(minY).position(1);
+        minZb.put(minZ).position(1);
+        maxXb.put(maxX).position(1);
+        maxYb.put(maxY).position(1);
+        maxZb.put(maxZ).position(1);
+        double[] tNear = new double[count], tFar = new double[count];
+        boolean[] hit = new boolean[count];
+        double[] tNearb = new double[count], tFarb = new double[count];
+        boolean[] hitb = new boolean[count];
+        double[] scratch = new double[count];
+        Vector2d result = new Vector2d();
+        for (int r = 0; r < 20; r++) {
+            Rayd ray = new Rayd(rnd.nextDouble() * 6 - 3, rnd.nextDouble() * 6 - 3, rnd.nextDouble() * 6 - 3,
+                    rnd.nextDouble() * 2 - 1, rnd.nextDouble() * 2 - 1, r == 0 ? 0 : rnd.nextDouble() * 2 - 1);
+            int hits = Intersectiond.intersectRayAab(ray, minX, minY, minZ, maxX, maxY, maxZ, count, tNear, tFar, hit);
+            int hitsb = Intersectiond.intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                    minXb, minYb, minZb, maxXb, maxYb, maxZb, count, tNearb, tFarb, hitb, scratch);
+            assertEquals(1, minXb.position());
+            int expectedHits = 0;
+            for (int i = 0; i < count; i++) {
+                boolean expected = Intersectiond.intersectRayAab(ray, new AABBd(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i]), result);
+                assertEquals(expected, hit[i]);
+                assertEquals(expected, hitb[i]);
+                if (expected) {
+                    expectedHits++;
+                    assertEquals(result.x, tNear[i], 1E-12);
+                    assertEquals(result.y, tFar[i], 1E-12);
+                    assertEquals(result.x, tNearb[i], 1E-12);
+                    assertEquals(result.y, tFarb[i], 1E-12);
+                }
+            }
+            assertEquals(expectedHits, hits);
+            assertEquals(expectedHits, hitsb);
+        }
+    }
+
+    /**
+     * Return the greatest gap between the projections of two oriented boxes onto any of the 15 potentially separating
+     * axes, which is positive exactly if they are apart.
+     */
+    private static double obObSeparation(Vector3d centerA, Vector3d[] axesA, Vector3d halfSizeA,
+            Vector3d centerB, Vector3d[] axesB, Vector3d halfSizeB) {
+        Vector3d[] axes = new Vector3d[15];
+        for (int i = 0; i < 3; i++) {
+            axes[i] = axesA[i];
+            axes[3 + i] = axesB[i];
+            for (int j = 0; j < 3; j++) {
+                axes[6 + 3 * i + j] = axesA[i].cross(axesB[j], new Vector3d());
+            }
+        }
+        Vector3d d = centerB.sub(centerA, new Vector3d());
+        double separation = Double.NEGATIVE_INFINITY;
+        for (Vector3d axis : axes) {
+            if (axis.lengthSquared() < 1E-12) {
+                continue;
+            }
+            axis.normalize();
+            double gap = Math.abs(d.dot(axis));
+            for (int i = 0; i < 3; i++) {
+                gap -= halfSizeA.get(i) * Math.abs(axesA[i].dot(axis)) + halfSizeB.get(i) * Math.abs(axesB[i].dot(axis));
+            }
+            separation = Math.max(separation, gap);
+        }
+        return separation;
+    }
+
+    @Test
+    public void testObObSeparatingAxes() {
+        Random rnd = new Random(45);
+        int tested = 0;
+        for (int p = 0; p < 10000; p++) {
+            Vector3d[] centers = new Vector3d[2], halfSizes = new Vector3d[2];
+            Vector3d[][] axes = new Vector3d[2][3];
+            for (int b = 0; b < 2; b++) {
+                centers[b] = new Vector3d(rnd.nextDouble() * 6 - 3, rnd.nextDouble() * 6 - 3, rnd.nextDouble() * 6 - 3);
+                halfSizes[b] = new Vector3d(0.1 + rnd.nextDouble() * 2, 0.1 + rnd.nextDouble() * 2, 0.1 + rnd.nextDouble() * 2);
+                Matrix3d rotation = new Matrix3d().rotateXYZ(rnd.nextDouble() * 6, rnd.nextDouble() * 6, rnd.nextDouble() * 6);
+                for (int i = 0; i < 3; i++) {
+                    axes[b][i] = rotation.getColumn(i, new Vector3d());
+                }
+            }
+            double separation = obObSeparation(centers[0], axes[0], halfSizes[0], centers[1], axes[1], halfSizes[1]);
+            if (Math.abs(separation) < 1E-3) {
+                continue;
+            }
+            tested++;
+            assertEquals(separation < 0, Intersectiond.testObOb(centers[0], axes[0][0], axes[0][1], axes[0][2], halfSizes[0],
+                    centers[1], axes[1][0], axes[1][1], axes[1][2], halfSizes[1]));
+        }
+        assertTrue(tested > 9900);
+    }
 }
@@ -9,6 +9,9 @@
 import org.joml.Vector4f;
 import org.junit.jupiter.api.Test;
 
+import java.nio.FloatBuffer;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -358,4 +361,219 @@ public static void testFindClosestPointOnRectangle() {
         assertEquals(new Vector3f(0.5f, 1f, 0), v5, EPSILON);
     }
 
+    @Test
+    public void testIntersectRayAabBatch() {
+        Random rnd = new Random(42);
+        int count = 1000;
+        float[] minX = new float[count], minY = new float[count], minZ = new float[count];
+        float[] maxX = new float[count], maxY = new float[count], maxZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            minX[i] = rnd.nextFloat() * 4 - 2;
+            minY[i] = rnd.nextFloat() * 4 - 2;
+            minZ[i] = rnd.nextFloat() * 4 - 2;
+            maxX[i] = minX[i] + rnd.nextFloat();
+            maxY[i] = minY[i] + rnd.nextFloat();
+            maxZ[i] = minZ[i] + rnd.nextFloat();
+        }
+        FloatBuffer minXb = FloatBuffer.allocate(count + 1), minYb = FloatBuffer.allocate(count + 1), minZb = FloatBuffer.allocate(count + 1);
+        FloatBuffer maxXb = FloatBuffer.allocate(count + 1), maxYb = FloatBuffer.allocate(count + 1), maxZb = FloatBuffer.allocate(count + 1);
+        for (FloatBuffer b : new FloatBuffer[]{minXb, minYb, minZb, maxXb, maxYb, maxZb}) {
+            b.position(1);
+        }
+        minXb.put(minX).position(1);
+        minYb.put(minY).position(1);
+        minZb.put(minZ).position(1);
+        maxXb.put(maxX).position(1);
+        maxYb.put(maxY).position(1);
+        maxZb.put(maxZ).position(1);
+        float[] tNear = new float[count], tFar = new float[count];
+        boolean[] hit = new boolean[count];
+        float[] tNearb = new float[count], tFarb = new float[count];
+        boolean[] hitb = new boolean[count];
+        float[] scratch = new float[count];
+        Vector2f result = new Vector2f();
+        for (int r = 0; r < 20; r++) {
+            Rayf ray = new Rayf(rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3,
+                    rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, r == 0 ? 0 : rnd.nextFloat() * 2 - 1);
+            int hits = Intersectionf.intersectRayAab(ray, minX, minY, minZ, maxX, maxY, maxZ, count, tNear, tFar, hit);
+            int hitsb = Intersectionf.intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                    minXb, minYb, minZb, maxXb, maxYb, maxZb, count, tNearb, tFarb, hitb, scratch);
+            assertEquals(1, minXb.position());
+            int expectedHits = 0;
+            for (int i = 0; i < count; i++) {
+                boolean expected = Intersectionf.intersectRayAab(ray, new AABBf(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i]), result);
+                assertEquals(expected, hit[i]);
+                assertEquals(expected, hitb[i]);
+                if (expected) {
+                    expectedHits++;
+                    assertEquals(result.x, tNear[i], 1E-6f);
+                    assertEquals(result.y, tFar[i], 1E-6f);
+                    assertEquals(result.x, tNearb[i], 1E-6f);
+                    assertEquals(result.y, tFarb[i], 1E-6f);
+                }
+            }
+            assertEquals(expectedHits, hits);
+            assertEquals(expectedHits, hitsb);
+        }
+    }
+
+    @Test
+    public void testAabBatch() {
+        Random rnd = new Random(45);
+        // Not a multiple of any vector width, so that the remainders are tested too.
+        int count = 1003;
+        float[] minX = new float[count], minY = new float[count], minZ = new float[count];
+        float[] maxX = new float[count], maxY = new float[count], maxZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            minX[i] = rnd.nextFloat() * 4 - 2;
+            minY[i] = rnd.nextFloat() * 4 - 2;
+            minZ[i] = rnd.nextFloat() * 4 - 2;
+            maxX[i] = minX[i] + rnd.nextFloat();
+            maxY[i] = minY[i] + rnd.nextFloat();
+            maxZ[i] = minZ[i] + rnd.nextFloat();
+        }
+        boolean[] hit = new boolean[count];
+        for (int r = 0; r < 20; r++) {
+            AABBf query = new AABBf(rnd.nextFloat() * 4 - 2, rnd.nextFloat() * 4 - 2, rnd.nextFloat() * 4 - 2, 0, 0, 0);
+            query.setMax(query.minX + rnd.nextFloat(), query.minY + rnd.nextFloat(), query.minZ + rnd.nextFloat());
+            int hits = Intersectionf.testAabAab(minX, minY, minZ, maxX, maxY, maxZ, count,
+                    query.minX, query.minY, query.minZ, query.maxX, query.maxY, query.maxZ, hit);
+            int expectedHits = 0;
+            for (int i = 0; i < count; i++) {
+                boolean expected = Intersectionf.testAabAab(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i],
+                        query.minX, query.minY, query.minZ, query.maxX, query.maxY, query.maxZ);
+                assertEquals(expected, hit[i]);
+                expectedHits += expected ? 1 : 0;
+            }
+            assertEquals(expectedHits, hits);
+
+            float cX = rnd.nextFloat() * 4 - 2, cY = rnd.nextFloat() * 4 - 2, cZ = rnd.nextFloat() * 4 - 2, r2 = rnd.nextFloat();
+            hits = Intersectionf.testAabSphere(minX, minY, minZ, maxX, maxY, maxZ, count, cX, cY, cZ, r2, hit);
+            expectedHits = 0;
+            for (int i = 0; i < count; i++) {
+                boolean expected = Intersectionf.testAabSphere(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i], cX, cY, cZ, r2);
+                assertEquals(expected, hit[i]);
+                expectedHits += expected ? 1 : 0;
+            }
+            assertEquals(expectedHits, hits);
+
+            Planef plane = new Planef(new Vector3f(cX, cY, cZ),
+                    new Vector3f(rnd.nextFloat() * 2 - 1, r == 0 ? 0 : rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1).normalize());
+            hits = Intersectionf.testAabPlane(minX, minY, minZ, maxX, maxY, maxZ, count, plane.a, plane.b, plane.c, plane.d, hit);
+            expectedHits = 0;
+            for (int i = 0; i < count; i++) {
+                boolean expected = Intersectionf.testAabPlane(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i],
+                        plane.a, plane.b, plane.c, plane.d);
+                assertEquals(expected, hit[i]);
+                expectedHits += expected ? 1 : 0;
+            }
+            assertEquals(expectedHits, hits);
+        }
+    }
+
+    @Test
+    public void testIntersectRayPacketAab() {
+        Random rnd = new Random(43);
+        RayPacketf packet = new RayPacketf(8);
+        float[] tNear = new float[8];
+        Vector2f result = new Vector2f();
+        for (int r = 0; r < 200; r++) {
+            for (int i = 0; i < 8; i++) {
+                packet.set(i, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3,
+                        rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, i == 7 ? 1 : Float.POSITIVE_INFINITY);
+            }
+            AABBf box = new AABBf(-1, -1, -1, rnd.nextFloat(), rnd.nextFloat(), rnd.nextFloat());
+            int mask = packet.intersectAab(box, tNear);
+            for (int i = 0; i < 8; i++) {
+                boolean expected = Intersectionf.intersectRayAab(packet.originX[i], packet.originY[i], packet.originZ[i],
+                        packet.dirX[i], packet.dirY[i], packet.dirZ[i], box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, result)
+                        && Math.max(result.x, 0) <= packet.maxT[i];
+                assertEquals(expected, (mask & 1 << i) != 0);
+                if (expected) {
+                    assertEquals(Math.max(result.x, 0), tNear[i], 1E-5f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIntersectRayPacketTriangle() {
+        Random rnd = new Random(44);
+        RayPacketf packet = new RayPacketf(4);
+        float[] t = new float[4];
+        for (int r = 0; r < 500; r++) {
+            for (int i = 0; i < 4; i++) {
+                packet.set(i, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, -2,
+                        rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f, r % 2 == 0 ? 1 : -1, i == 3 ? 2 : Float.POSITIVE_INFINITY);
+            }
+            float v0X = rnd.nextFloat() - 1, v0Y = rnd.nextFloat() - 1, v1X = rnd.nextFloat(), v1Y = rnd.nextFloat() - 1;
+            float v2X = rnd.nextFloat() - 0.5f, v2Y = rnd.nextFloat(), z = rnd.nextFloat() * 2 - 1;
+            int mask = packet.intersectTriangle(v0X, v0Y, z, v1X, v1Y, z, v2X, v2Y, z + 0.5f, 1E-6f, t);
+            for (int i = 0; i < 4; i++) {
+                float expected = Intersectionf.intersectRayTriangle(packet.originX[i], packet.originY[i], packet.originZ[i],
+                        packet.dirX[i], packet.dirY[i], packet.dirZ[i], v0X, v0Y, z, v1X, v1Y, z, v2X, v2Y, z + 0.5f, 1E-6f);
+                boolean hit = expected >= 0 && expected <= packet.maxT[i];
+                assertEquals(hit, (mask & 1 << i) != 0);
+                if (hit) {
+                    assertEquals(expected, t[i], 0.0f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the greatest gap between the projections of two oriented boxes onto any of the 15 potentially separating
+     * axes, which is positive exactly if they are apart.
+     */
+    private static float obObSeparation(Vector3f centerA, Vector3f[] axesA, Vector3f halfSizeA,
+            Vector3f centerB, Vector3f[] axesB, Vector3f halfSizeB) {
+        Vector3f[] axes = new Vector3f[15];
+        for (int i = 0; i < 3; i++) {
+            axes[i] = axesA[i];
+            axes[3 + i] = axesB[i];
+            for (int j = 0; j < 3; j++) {
+                axes[6 + 3 * i + j] = axesA[i].cross(axesB[j], new Vector3f());
+            }
+        }
+        Vector3f d = centerB.sub(centerA, new Vector3f());
+        float separation = Float.NEGATIVE_INFINITY;
+        for (Vector3f axis : axes) {
+            if (axis.lengthSquared() < 1E-6f) {
+                continue;
+            }
+            axis.normalize();
+            float gap = Math.abs(d.dot(axis));
+            for (int i = 0; i < 3; i++) {
+                gap -= halfSizeA.get(i) * Math.abs(axesA[i].dot(axis)) + halfSizeB.get(i) * Math.abs(axesB[i].dot(axis));
+            }
+            separation = Math.max(separation, gap);
+        }
+        return separation;
+    }
+
+    @Test
+    public void testObObSeparatingAxes() {
+        Random rnd = new Random(45);
+        int tested = 0;
+        for (int p = 0; p < 10000; p++) {
+            Vector3f[] centers = new Vector3f[2], halfSizes = new Vector3f[2];
+            Vector3f[][] axes = new Vector3f[2][3];
+            for (int b = 0; b < 2; b++) {
+                centers[b] = new Vector3f(rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3);
+                halfSizes[b] = new Vector3f(0.1f + rnd.nextFloat() * 2, 0.1f + rnd.nextFloat() * 2, 0.1f + rnd.nextFloat() * 2);
+                Matrix3f rotation = new Matrix3f().rotateXYZ(rnd.nextFloat() * 6, rnd.nextFloat() * 6, rnd.nextFloat() * 6);
+                for (int i = 0; i < 3; i++) {
+                    axes[b][i] = rotation.getColumn(i, new Vector3f());
+                }
+            }
+            float separation = obObSeparation(centers[0], axes[0], halfSizes[0], centers[1], axes[1], halfSizes[1]);
+            if (Math.abs(separation) < 1E-3f) {
+                continue;
+            }
+            tested++;
+            assertEquals(separation < 0, Intersectionf.testObOb(centers[0], axes[0][0], axes[0][1], axes[0][2], halfSizes[0],
+                    centers[1], axes[1][0], axes[1][1], axes[1][2], halfSizes[1]));
+        }
+        assertTrue(tested > 9900);
+    }
 }
@@ -0,0 +1,128 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link LinearBVHBuilder} class.
+ */
+public class LinearBVHBuilderTest {
+
+    /**
+     * Check that the nodes are laid out as {@link BVHf} expects, that every item is referenced by exactly one leaf and
+     * that every node contains its children.
+     */
+    private static void assertValid(BVHf bvh, int maxLeafSize) {
+        boolean[] seen = new boolean[bvh.size];
+        int[] depth = new int[bvh.nodeCount];
+        int maxDepth = 0;
+        if (bvh.nodeCount > 0) {
+            depth[0] = 1;
+        }
+        for (int node = 0; node < bvh.nodeCount; node++) {
+            maxDepth = Math.max(maxDepth, depth[node]);
+            if (bvh.nodeSize[node] > 0) {
+                assertTrue(bvh.nodeSize[node] <= maxLeafSize);
+                for (int i = bvh.nodeIndex[node]; i < bvh.nodeIndex[node] + bvh.nodeSize[node]; i++) {
+                    assertTrue(!seen[bvh.items[i]]);
+                    seen[bvh.items[i]] = true;
+                    assertContains(bvh.nodeBounds, node, bvh.itemBounds, i);
+                }
+            } else {
+                int right = bvh.nodeIndex[node];
+                assertTrue(right > node + 1 && right < bvh.nodeCount);
+                assertContains(bvh.nodeBounds, node, bvh.nodeBounds, node + 1);
+                assertContains(bvh.nodeBounds, node, bvh.nodeBounds, right);
+                depth[node + 1] = depth[right] = depth[node] + 1;
+            }
+        }
+        for (boolean s : seen) {
+            assertTrue(s);
+        }
+        assertEquals(maxDepth, bvh.depth);
+    }
+
+    private static void assertContains(float[] outer, int o, float[] inner, int i) {
+        for (int k = 0; k < 3; k++) {
+            assertTrue(outer[6 * o + k] <= inner[6 * i + k]);
+            assertTrue(outer[6 * o + 3 + k] >= inner[6 * i + 3 + k]);
+        }
+    }
+
+    @Test
+    public void testStructure() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            LinearBVHBuilder builder = new LinearBVHBuilder(pool);
+            Random rnd = new Random(1);
+            for (int count : new int[] {0, 1, 3, 100, 20000, 50}) {
+                AABBf[] boxes = BVHfTest.randomBoxes(rnd, count);
+                for (int maxLeafSize : new int[] {1, 4, 7}) {
+                    BVHf bvh = builder.build(boxes, maxLeafSize);
+                    assertEquals(count, bvh.size());
+                    assertValid(bvh, maxLeafSize);
+                    AABBf expected = new AABBf();
+                    for (AABBf box : boxes) {
+                        expected.union(box);
+                    }
+                    assertEquals(expected, bvh.getBounds(new AABBf()));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSameCenters() {
+        AABBf[] boxes = new AABBf[10000];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = new AABBf(-i, -1, -1, i, 1, 1);
+        }
+        BVHf bvh = new LinearBVHBuilder().build(boxes);
+        assertValid(bvh, BVHf.DEFAULT_MAX_LEAF_SIZE);
+        Set<Integer> actual = new TreeSet<>();
+        assertEquals(boxes.length - 5000, bvh.queryAab(new AABBf(5000, 0, 0, 5001, 0, 0), actual::add));
+        assertEquals(boxes.length - 5000, actual.size());
+    }
+
+    @Test
+    public void testQueries() {
+        Random rnd = new Random(2);
+        AABBf[] boxes = BVHfTest.randomBoxes(rnd, 20000);
+        BVHf bvh = new LinearBVHBuilder().build(boxes);
+        Vector2f result = new Vector2f(), expected = new Vector2f();
+        for (int r = 0; r < 100; r++) {
+            Rayf ray = new Rayf(rnd.nextFloat() * 120 - 60, rnd.nextFloat() * 120 - 60, rnd.nextFloat() * 120 - 60,
+                rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1);
+            int expectedItem = -1;
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectionf.intersectRayAab(ray, boxes[i], result) && (expectedItem < 0 || result.x < expected.x)) {
+                    expectedItem = i;
+                    expected.set(result);
+                }
+            }
+            assertEquals(expectedItem, bvh.intersectRay(ray, result));
+            AABBf query = BVHfTest.randomBoxes(rnd, 1)[0];
+            Set<Integer> expectedAll = new TreeSet<>();
+            for (int i = 0; i < boxes.length; i++) {
+                if (Intersectionf.testAabAab(boxes[i], query)) {
+                    expectedAll.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expectedAll.size(), bvh.queryAab(query, actual::add));
+            assertEquals(expectedAll, actual);
+        }
+    }
+}
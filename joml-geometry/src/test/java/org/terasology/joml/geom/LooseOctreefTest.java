@@ -0,0 +1,221 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link LooseOctreef} class.
+ */
+public class LooseOctreefTest {
+
+    private static AABBf randomBox(Random rnd) {
+        // Some boxes stick out of the region [-64..64], or lie completely outside of it.
+        float x = rnd.nextFloat() * 140 - 70, y = rnd.nextFloat() * 140 - 70, z = rnd.nextFloat() * 140 - 70;
+        float size = rnd.nextInt(50) == 0 ? 40 : 4;
+        return new AABBf(x, y, z, x + rnd.nextFloat() * size, y + rnd.nextFloat() * size, z + rnd.nextFloat() * size);
+    }
+
+    private static void assertQueries(Random rnd, LooseOctreef tree, Map<Integer, AABBf> boxes) {
+        Vector2f result = new Vector2f(), expectedT = new Vector2f();
+        for (int q = 0; q < 30; q++) {
+            AABBf query = randomBox(rnd);
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, query), c -> tree.queryAab(query, c));
+            Spheref sphere = new Spheref(query.minX, query.minY, query.minZ, rnd.nextFloat() * 20);
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabSphere(box, sphere),
+                    c -> tree.querySphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, c));
+            Frustumf frustum = new Frustumf(new Matrix4f()
+                    .perspective((float) Math.toRadians(30 + rnd.nextFloat() * 60), 1.5f, 0.5f, 20 + rnd.nextFloat() * 80)
+                    .lookAt(query.minX, query.minY, query.minZ, 0, 0, 0, 0, 1, 0));
+            assertCulling(tree, boxes, frustum);
+            Rayf ray = new Rayf(query.minX, query.minY, query.minZ, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1);
+            assertRay(tree, boxes, ray);
+        }
+    }
+
+    private static void assertCulling(LooseOctreef tree, Map<Integer, AABBf> boxes, Frustumf frustum) {
+        TestUtil.assertQuery(boxes, box -> frustum.testAab(box) != Frustumf.OUTSIDE, c -> tree.queryFrustum(frustum, c));
+        Planef[] planes = new Planef[6];
+        for (int i = 0; i < 6; i++) {
+            planes[i] = frustum.getPlane(i, new Planef());
+        }
+        TestUtil.assertQuery(boxes, box -> frustum.testAab(box) != Frustumf.OUTSIDE, c -> tree.queryPlanes(planes, c));
+    }
+
+    private static void assertRay(LooseOctreef tree, Map<Integer, AABBf> boxes, Rayf ray) {
+        Vector2f result = new Vector2f();
+        TestUtil.assertQuery(boxes, box -> Intersectionf.intersectRayAab(ray, box, result),
+                c -> tree.intersectRayAll(ray, (i, tNear, tFar) -> c.accept(i)));
+        float nearest = Float.POSITIVE_INFINITY;
+        for (AABBf box : boxes.values()) {
+            if (Intersectionf.intersectRayAab(ray, box, result)) {
+                nearest = Math.min(nearest, result.x);
+            }
+        }
+        int first = tree.intersectRay(ray, result);
+        if (nearest == Float.POSITIVE_INFINITY) {
+            assertEquals(-1, first);
+        } else {
+            assertEquals(nearest, result.x, 0.0f);
+            assertTrue(Intersectionf.intersectRayAab(ray, boxes.get(first), result));
+            assertEquals(nearest, result.x, 0.0f);
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        Random rnd = new Random(1);
+        LooseOctreef tree = new LooseOctreef(new AABBf(-64, -64, -64, 64, 64, 64), 6);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            AABBf box = randomBox(rnd);
+            int handle = tree.insert(box);
+            assertEquals(i, handle);
+            boxes.put(handle, box);
+        }
+        assertEquals(3000, tree.size());
+        assertTrue(tree.nodeCount() > 1);
+        for (Map.Entry<Integer, AABBf> e : boxes.entrySet()) {
+            assertEquals(e.getValue(), tree.getBounds(e.getKey(), new AABBf()));
+            AABBf nodeBounds = tree.getNodeBounds(e.getKey(), new AABBf());
+            assertTrue(tree.getDepth(e.getKey()) == 0 || nodeBounds.containsAABB(e.getValue()));
+        }
+        assertQueries(rnd, tree, boxes);
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        Random rnd = new Random(2);
+        LooseOctreef tree = new LooseOctreef(0, 0, 0, 64, 5);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        for (int i = 0; i < 1500; i++) {
+            AABBf box = randomBox(rnd);
+            boxes.put(tree.insert(box), box);
+        }
+        for (int step = 0; step < 5; step++) {
+            List<Integer> handles = new ArrayList<>(boxes.keySet());
+            for (int h : handles) {
+                int action = rnd.nextInt(10);
+                if (action == 0) {
+                    tree.remove(h);
+                    boxes.remove(h);
+                } else if (action < 6) {
+                    AABBf box = boxes.get(h);
+                    box.translate(rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3, rnd.nextFloat() * 6 - 3);
+                    tree.update(h, box);
+                }
+            }
+            for (int i = 0; i < 100; i++) {
+                AABBf box = randomBox(rnd);
+                int h = tree.insert(box);
+                assertFalse(boxes.containsKey(h));
+                boxes.put(h, box);
+            }
+            assertEquals(boxes.size(), tree.size());
+            assertQueries(rnd, tree, boxes);
+        }
+        for (int h : boxes.keySet()) {
+            assertEquals(boxes.get(h), tree.getBounds(h, new AABBf()));
+            tree.remove(h);
+        }
+        assertEquals(0, tree.size());
+        assertEquals(1, tree.nodeCount());
+    }
+
+    @Test
+    public void testOutsideRegion() {
+        // The loose bounds of the root are [-16..16].
+        LooseOctreef tree = new LooseOctreef(0, 0, 0, 8, 3);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        AABBf[] added = {new AABBf(100, 100, 100, 101, 101, 101), new AABBf(-40, 0, 0, -39, 1, 1), new AABBf(15, 0, 0, 20, 1, 1),
+                new AABBf(-1000, -1000, -1000, 1000, 1000, 1000), new AABBf(5.1f, 5.1f, 5.1f, 5.2f, 5.2f, 5.2f)};
+        for (AABBf box : added) {
+            boxes.put(tree.insert(box), box);
+        }
+        for (int handle = 0; handle < 4; handle++) {
+            assertEquals(0, tree.getDepth(handle));
+        }
+        assertEquals(3, tree.getDepth(4));
+        for (AABBf query : added) {
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, query), c -> tree.queryAab(query, c));
+        }
+        AABBf far = new AABBf(99, 99, 99, 99.5f, 99.5f, 99.5f);
+        TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, far), c -> tree.queryAab(far, c));
+        Spheref sphere = new Spheref(-42, 0.5f, 0.5f, 2.5f);
+        TestUtil.assertQuery(boxes, box -> Intersectionf.testAabSphere(box, sphere), c -> tree.querySphere(sphere, c));
+        assertCulling(tree, boxes, new Frustumf(new Matrix4f().perspective(0.5f, 1, 1, 200).lookAt(120, 120, 120, 100, 100, 100, 0, 1, 0)));
+        assertRay(tree, boxes, new Rayf(-50, 0.5f, 0.5f, 1, 0, 0));
+        assertRay(tree, boxes, new Rayf(50, 50, 50, 1, 1, 1));
+        // Boxes move between the root and the nodes of the region.
+        boxes.get(4).translate(200, 0, 0);
+        assertTrue(tree.update(4, boxes.get(4)));
+        assertEquals(0, tree.getDepth(4));
+        boxes.get(0).setMin(1, 1, 1).setMax(1.1f, 1.1f, 1.1f);
+        assertTrue(tree.update(0, boxes.get(0)));
+        assertEquals(3, tree.getDepth(0));
+        AABBf old = new AABBf(100, 100, 100, 101, 101, 101);
+        TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, old), c -> tree.queryAab(old, c));
+        assertRay(tree, boxes, new Rayf(-300, 5.15f, 5.15f, 1, 0, 0));
+    }
+
+    @Test
+    public void testUpdateWithinLooseNode() {
+        // The nodes of depth 3 have an edge length of 2 and loose bounds with an edge length of 4.
+        LooseOctreef tree = new LooseOctreef(0, 0, 0, 8, 3);
+        AABBf box = new AABBf(5.1f, 5.1f, 5.1f, 5.2f, 5.2f, 5.2f);
+        int handle = tree.insert(box);
+        assertEquals(3, tree.getDepth(handle));
+        AABBf nodeBounds = tree.getNodeBounds(handle, new AABBf());
+        assertEquals(new AABBf(3, 3, 3, 7, 7, 7), nodeBounds);
+        int nodes = tree.nodeCount();
+        // The box leaves the cube of its node, but not its loose bounds.
+        assertFalse(tree.update(handle, box.translate(1.5f, 0, 0)));
+        assertEquals(box, tree.getBounds(handle, new AABBf()));
+        assertEquals(nodeBounds, tree.getNodeBounds(handle, new AABBf()));
+        assertEquals(nodes, tree.nodeCount());
+        assertEquals(0, tree.queryAab(5.1f, 5.1f, 5.1f, 5.2f, 5.2f, 5.2f, i -> { }));
+        assertEquals(1, tree.queryAab(6.65f, 5.15f, 5.15f, 6.65f, 5.15f, 5.15f, i -> assertEquals(handle, i)));
+        Vector2f result = new Vector2f();
+        assertEquals(handle, tree.intersectRay(0, 5.15f, 5.15f, 1, 0, 0, result));
+        assertEquals(6.6f, result.x, 1E-5f);
+        // Leaving the loose bounds moves the box into the neighbouring node.
+        assertTrue(tree.update(handle, box.translate(1, 0, 0)));
+        assertEquals(new AABBf(5, 3, 3, 9, 7, 7), tree.getNodeBounds(handle, new AABBf()));
+        assertEquals(3, tree.getDepth(handle));
+    }
+
+    @Test
+    public void testClear() {
+        Random rnd = new Random(3);
+        LooseOctreef tree = new LooseOctreef(0, 0, 0, 64, 4);
+        for (int i = 0; i < 500; i++) {
+            tree.insert(randomBox(rnd));
+        }
+        tree.remove(7);
+        for (int frame = 0; frame < 3; frame++) {
+            tree.clear();
+            assertEquals(0, tree.size());
+            assertEquals(1, tree.nodeCount());
+            assertEquals(-1, tree.intersectRay(0, 0, 0, 1, 0, 0, new Vector2f()));
+            Map<Integer, AABBf> boxes = new HashMap<>();
+            for (int i = 0; i < 700; i++) {
+                AABBf box = randomBox(rnd);
+                assertEquals(i, tree.insert(box));
+                boxes.put(i, box);
+            }
+            assertQueries(rnd, tree, boxes);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link MaxRectsPacker} class.
+ */
+public class MaxRectsPackerTest {
+
+    /**
+     * Pack random sprites in a batch and then one by one, and check that the placements lie inside of the bin and do not
+     * overlap.
+     *
+     * @return the occupancy after the batch
+     */
+    static float assertPacks(RectanglePacker packer) {
+        Random rnd = new Random(1);
+        int count = 1500;
+        int[] sizes = new int[2 * count];
+        for (int i = 0; i < count; i++) {
+            sizes[2 * i] = 4 + rnd.nextInt(rnd.nextInt(10) == 0 ? 100 : 28);
+            sizes[2 * i + 1] = 4 + rnd.nextInt(rnd.nextInt(10) == 0 ? 100 : 28);
+        }
+        int[] positions = new int[2 * count];
+        int placed = packer.insertAll(sizes, count, positions);
+        float occupancy = packer.occupancy();
+        List<Rectanglei> all = new ArrayList<>();
+        long area = 0;
+        for (int i = 0; i < count; i++) {
+            if (positions[2 * i] >= 0) {
+                all.add(new Rectanglei(positions[2 * i], positions[2 * i + 1],
+                        positions[2 * i] + sizes[2 * i], positions[2 * i + 1] + sizes[2 * i + 1]));
+                area += (long) sizes[2 * i] * sizes[2 * i + 1];
+            } else {
+                assertEquals(-1, positions[2 * i + 1]);
+            }
+        }
+        assertEquals(placed, all.size());
+        assertEquals((double) area / (packer.width() * packer.height()), occupancy, 1E-6);
+        // Fill the remaining gaps incrementally.
+        Rectanglei dest = new Rectanglei();
+        for (int i = 0; i < 500; i++) {
+            int w = 1 + rnd.nextInt(8), h = 1 + rnd.nextInt(8);
+            if (packer.insert(w, h, dest)) {
+                assertEquals(w, dest.getSizeX());
+                assertEquals(h, dest.getSizeY());
+                all.add(new Rectanglei(dest));
+            }
+        }
+        for (int i = 0; i < all.size(); i++) {
+            Rectanglei a = all.get(i);
+            assertTrue(a.minX >= 0 && a.minY >= 0 && a.maxX <= packer.width() && a.maxY <= packer.height());
+            for (int j = i + 1; j < all.size(); j++) {
+                Rectanglei b = all.get(j);
+                assertFalse(a.minX < b.maxX && b.minX < a.maxX && a.minY < b.maxY && b.minY < a.maxY, a + " overlaps " + b);
+            }
+        }
+        return occupancy;
+    }
+
+    @Test
+    public void testPack() {
+        MaxRectsPacker packer = new MaxRectsPacker(1024, 512);
+        assertTrue(assertPacks(packer) > 0.9f);
+        assertFalse(packer.insert(1025, 1, new Rectanglei()));
+    }
+
+    @Test
+    public void testExactFit() {
+        MaxRectsPacker packer = new MaxRectsPacker(64, 64);
+        Rectanglei dest = new Rectanglei();
+        for (int i = 0; i < 16; i++) {
+            assertTrue(packer.insert(16, 16, dest));
+        }
+        assertFalse(packer.insert(1, 1, dest));
+        assertEquals(0, packer.freeRectangleCount());
+        assertEquals(1.0f, packer.occupancy(), 0.0f);
+        packer.clear();
+        assertEquals(0.0f, packer.occupancy(), 0.0f);
+        assertTrue(packer.insert(64, 64, dest));
+        assertEquals(new Rectanglei(0, 0, 64, 64), dest);
+    }
+}
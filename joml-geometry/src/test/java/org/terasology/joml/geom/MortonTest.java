@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2i;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link Morton} class.
+ */
+public class MortonTest {
+
+    private static long interleave(int[] coordinates, int bits) {
+        long code = 0;
+        for (int bit = 0; bit < bits; bit++) {
+            for (int c = 0; c < coordinates.length; c++) {
+                code |= (long) (coordinates[c] >>> bit & 1) << (bit * coordinates.length + c);
+            }
+        }
+        return code;
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        assertEquals(1L, Morton.encode2d(1, 0));
+        assertEquals(2L, Morton.encode2d(0, 1));
+        assertEquals(1L, Morton.encode3d(1, 0, 0));
+        assertEquals(2L, Morton.encode3d(0, 1, 0));
+        assertEquals(4L, Morton.encode3d(0, 0, 1));
+        assertEquals(-1L, Morton.encode2d(-1, -1));
+        assertEquals(Long.MAX_VALUE, Morton.encode3d(-1, -1, -1));
+        Random rnd = new Random(3);
+        Vector2i v2 = new Vector2i();
+        Vector3i v3 = new Vector3i();
+        for (int i = 0; i < 1000; i++) {
+            int x = rnd.nextInt(), y = rnd.nextInt();
+            long code = Morton.encode2d(x, y);
+            assertEquals(interleave(new int[] {x, y}, 32), code);
+            assertEquals(new Vector2i(x, y), Morton.decode2d(code, v2));
+            int a = rnd.nextInt(Morton.MAX_COORDINATE_3D + 1), b = rnd.nextInt(Morton.MAX_COORDINATE_3D + 1), c = rnd.nextInt(Morton.MAX_COORDINATE_3D + 1);
+            code = Morton.encode3d(a, b, c);
+            assertEquals(interleave(new int[] {a, b, c}, 21), code);
+            assertEquals(new Vector3i(a, b, c), Morton.decode3d(code, v3));
+        }
+    }
+
+    @Test
+    public void testBigMin() {
+        Random rnd = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            AABBi box = new AABBi(rnd.nextInt(8), rnd.nextInt(8), rnd.nextInt(8), 0, 0, 0);
+            box.setMax(box.minX + 1 + rnd.nextInt(8), box.minY + 1 + rnd.nextInt(8), box.minZ + 1 + rnd.nextInt(8));
+            long min = box.mortonCodeMin(), max = box.mortonCodeMax();
+            long expected = -1;
+            for (long code = max; code >= min; code--) {
+                int x = Morton.decode3dX(code), y = Morton.decode3dY(code), z = Morton.decode3dZ(code);
+                boolean inside = x >= box.minX && x < box.maxX && y >= box.minY && y < box.maxY && z >= box.minZ && z < box.maxZ;
+                if (inside) {
+                    expected = code;
+                } else {
+                    assertEquals(expected, Morton.bigMin3d(code, min, max));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testForEachCellMorton() {
+        AABBi box = new AABBi(3, 5, 1, 11, 9, 7);
+        List<Long> codes = new ArrayList<>();
+        box.forEachCellMorton((x, y, z) -> {
+            assertTrue(x >= 3 && x < 11 && y >= 5 && y < 9 && z >= 1 && z < 7);
+            codes.add(Morton.encode3d(x, y, z));
+        });
+        assertEquals(8 * 4 * 6, codes.size());
+        for (int i = 1; i < codes.size(); i++) {
+            assertTrue(codes.get(i - 1) < codes.get(i));
+        }
+        assertEquals(box.mortonCodeMin(), (long) codes.get(0));
+        assertEquals(box.mortonCodeMax(), (long) codes.get(codes.size() - 1));
+
+        Rectanglei rectangle = new Rectanglei(1000, 7, 1013, 30);
+        List<Long> codes2d = new ArrayList<>();
+        rectangle.forEachCellMorton((x, y) -> codes2d.add(Morton.encode2d(x, y)));
+        assertEquals(13 * 23, codes2d.size());
+        for (int i = 1; i < codes2d.size(); i++) {
+            assertTrue(Long.compareUnsigned(codes2d.get(i - 1), codes2d.get(i)) < 0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new Rectanglei(-1, 0, 1, 1).forEachCellMorton((x, y) -> {
+        }));
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the {@link ParallelBatchKernels} class through the parallel bulk tests of {@link Intersectionf}, which must
+ * give the same results as the single-query batch tests.
+ */
+public class ParallelBatchKernelsTest {
+
+    private static final int[] COUNTS = {0, 1, 63, 64, 65, 5000};
+
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static float[] randomFloats(Random rnd, int count, float offset, float range) {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = offset + rnd.nextFloat() * range;
+        }
+        return values;
+    }
+
+    private static void assertRow(boolean[] expected, long[] hits, int query, int count) {
+        int words = (count + 63) / 64;
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], (hits[query * words + i / 64] >>> (i % 64) & 1) != 0);
+        }
+    }
+
+    @Test
+    public void testBoxes() {
+        Random rnd = new Random(1);
+        for (int count : COUNTS) {
+            float[] minX = randomFloats(rnd, count, -10, 20), minY = randomFloats(rnd, count, -10, 20), minZ = randomFloats(rnd, count, -10, 20);
+            float[] maxX = new float[count], maxY = new float[count], maxZ = new float[count];
+            for (int i = 0; i < count; i++) {
+                maxX[i] = minX[i] + rnd.nextFloat() * 3;
+                maxY[i] = minY[i] + rnd.nextFloat() * 3;
+                maxZ[i] = minZ[i] + rnd.nextFloat() * 3;
+            }
+            int queries = 300;
+            float[] qMinX = randomFloats(rnd, queries, -12, 20), qMinY = randomFloats(rnd, queries, -12, 20), qMinZ = randomFloats(rnd, queries, -12, 20);
+            float[] qMaxX = randomFloats(rnd, queries, 0, 4), qMaxY = randomFloats(rnd, queries, 0, 4), qMaxZ = randomFloats(rnd, queries, 0, 4);
+            float[] radiusSquared = randomFloats(rnd, queries, 0, 9);
+            for (int q = 0; q < queries; q++) {
+                qMaxX[q] += qMinX[q];
+                qMaxY[q] += qMinY[q];
+                qMaxZ[q] += qMinZ[q];
+            }
+            long[] hits = new long[queries * ((count + 63) / 64)], sphereHits = new long[hits.length];
+            long total = Intersectionf.testAabAab(pool, minX, minY, minZ, maxX, maxY, maxZ, count,
+                    qMinX, qMinY, qMinZ, qMaxX, qMaxY, qMaxZ, queries, hits);
+            long sphereTotal = Intersectionf.testAabSphere(pool, minX, minY, minZ, maxX, maxY, maxZ, count,
+                    qMinX, qMinY, qMinZ, radiusSquared, queries, sphereHits);
+            boolean[] expected = new boolean[count];
+            long expectedTotal = 0, expectedSphereTotal = 0;
+            for (int q = 0; q < queries; q++) {
+                expectedTotal += Intersectionf.testAabAab(minX, minY, minZ, maxX, maxY, maxZ, count,
+                        qMinX[q], qMinY[q], qMinZ[q], qMaxX[q], qMaxY[q], qMaxZ[q], expected);
+                assertRow(expected, hits, q, count);
+                expectedSphereTotal += Intersectionf.testAabSphere(minX, minY, minZ, maxX, maxY, maxZ, count,
+                        qMinX[q], qMinY[q], qMinZ[q], radiusSquared[q], expected);
+                assertRow(expected, sphereHits, q, count);
+            }
+            assertEquals(expectedTotal, total);
+            assertEquals(expectedSphereTotal, sphereTotal);
+        }
+    }
+
+    @Test
+    public void testRays() {
+        Random rnd = new Random(2);
+        for (int count : COUNTS) {
+            float[] minX = randomFloats(rnd, count, -10, 20), minY = randomFloats(rnd, count, -10, 20), minZ = randomFloats(rnd, count, -10, 20);
+            float[] maxX = new float[count], maxY = new float[count], maxZ = new float[count];
+            for (int i = 0; i < count; i++) {
+                maxX[i] = minX[i] + rnd.nextFloat() * 3;
+                maxY[i] = minY[i] + rnd.nextFloat() * 3;
+                maxZ[i] = minZ[i] + rnd.nextFloat() * 3;
+            }
+            float[] radiusSquared = randomFloats(rnd, count, 0, 4);
+            int rays = 200;
+            float[] originX = randomFloats(rnd, rays, -15, 30), originY = randomFloats(rnd, rays, -15, 30), originZ = randomFloats(rnd, rays, -15, 30);
+            float[] dirX = new float[rays], dirY = new float[rays], dirZ = new float[rays];
+            for (int q = 0; q < rays; q++) {
+                float x = rnd.nextFloat() * 2 - 1, y = rnd.nextFloat() * 2 - 1, z = rnd.nextFloat() * 2 - 1;
+                float length = (float) Math.sqrt(x * x + y * y + z * z);
+                dirX[q] = x / length;
+                dirY[q] = y / length;
+                dirZ[q] = z / length;
+            }
+            long[] hits = new long[rays * ((count + 63) / 64)];
+            long total = Intersectionf.testRayAab(pool, originX, originY, originZ, dirX, dirY, dirZ, rays,
+                    minX, minY, minZ, maxX, maxY, maxZ, count, hits);
+            int[] nearest = new int[rays];
+            float[] tNear = new float[rays], tFar = new float[rays];
+            int rayHits = Intersectionf.intersectRaySphere(pool, originX, originY, originZ, dirX, dirY, dirZ, rays,
+                    minX, minY, minZ, radiusSquared, count, nearest, tNear, tFar);
+            boolean[] expected = new boolean[count];
+            float[] near = new float[count], far = new float[count];
+            Vector2f result = new Vector2f();
+            long expectedTotal = 0;
+            int expectedRayHits = 0;
+            for (int q = 0; q < rays; q++) {
+                expectedTotal += Intersectionf.intersectRayAab(originX[q], originY[q], originZ[q], dirX[q], dirY[q], dirZ[q],
+                        minX, minY, minZ, maxX, maxY, maxZ, count, near, far, expected);
+                assertRow(expected, hits, q, count);
+                int expectedNearest = -1;
+                float expectedNear = 0, expectedFar = 0;
+                for (int i = 0; i < count; i++) {
+                    if (Intersectionf.intersectRaySphere(originX[q], originY[q], originZ[q], dirX[q], dirY[q], dirZ[q],
+                            minX[i], minY[i], minZ[i], radiusSquared[i], result) && (expectedNearest < 0 || result.x < expectedNear)) {
+                        expectedNearest = i;
+                        expectedNear = result.x;
+                        expectedFar = result.y;
+                    }
+                }
+                assertEquals(expectedNearest, nearest[q]);
+                if (expectedNearest >= 0) {
+                    expectedRayHits++;
+                    assertEquals(expectedNear, tNear[q], 0.0f);
+                    assertEquals(expectedFar, tFar[q], 0.0f);
+                }
+            }
+            assertEquals(expectedTotal, total);
+            assertEquals(expectedRayHits, rayHits);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link QuadTreef} class.
+ */
+public class QuadTreefTest {
+
+    private static void assertQueries(Random rnd, QuadTreef tree, Map<Integer, Rectanglef> rectangles) {
+        for (int q = 0; q < 50; q++) {
+            Rectanglef query = RTreefTest.randomRectangle(rnd);
+            TestUtil.assertQuery(rectangles, r -> RTreefTest.intersects(r, query.minX, query.minY, query.maxX, query.maxY),
+                    c -> tree.queryRectangle(query, c));
+            TestUtil.assertQuery(rectangles, r -> RTreefTest.intersects(r, query.minX, query.minY, query.minX, query.minY),
+                    c -> tree.queryPoint(query.minX, query.minY, c));
+
+            // Compare the distances, as handles are not contiguous.
+            int[] nearest = new int[1 + rnd.nextInt(10)];
+            int count = tree.nearest(query.minX * 1.5f, query.minY * 1.5f, nearest);
+            List<Rectanglef> values = new ArrayList<>(rectangles.values());
+            int[] indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                assertTrue(rectangles.containsKey(nearest[i]));
+                indices[i] = values.indexOf(rectangles.get(nearest[i]));
+            }
+            RTreefTest.assertNearest(values.toArray(new Rectanglef[0]), query.minX * 1.5f, query.minY * 1.5f, indices, count);
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        Random rnd = new Random(1);
+        // Some rectangles lie outside of the region.
+        QuadTreef tree = new QuadTreef(new Rectanglef(-90, -90, 90, 90), 8);
+        Map<Integer, Rectanglef> rectangles = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            Rectanglef rectangle = RTreefTest.randomRectangle(rnd);
+            assertEquals(i, tree.insert(rectangle));
+            rectangles.put(i, rectangle);
+        }
+        assertEquals(3000, tree.size());
+        assertTrue(tree.nodeCount() > 1);
+        assertQueries(rnd, tree, rectangles);
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        Random rnd = new Random(2);
+        QuadTreef tree = new QuadTreef(-100, -100, 100, 100, 6, 4);
+        Map<Integer, Rectanglef> rectangles = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            Rectanglef rectangle = RTreefTest.randomRectangle(rnd);
+            rectangles.put(tree.insert(rectangle), rectangle);
+        }
+        for (int step = 0; step < 5; step++) {
+            List<Integer> handles = new ArrayList<>(rectangles.keySet());
+            for (int handle : handles) {
+                int action = rnd.nextInt(10);
+                if (action == 0) {
+                    tree.remove(handle);
+                    rectangles.remove(handle);
+                } else if (action < 6) {
+                    Rectanglef rectangle = rectangles.get(handle);
+                    rectangle.translate(rnd.nextFloat() * 4 - 2, rnd.nextFloat() * 4 - 2);
+                    tree.update(handle, rectangle);
+                }
+            }
+            for (int i = 0; i < 50; i++) {
+                Rectanglef rectangle = RTreefTest.randomRectangle(rnd);
+                int handle = tree.insert(rectangle);
+                assertFalse(rectangles.containsKey(handle));
+                rectangles.put(handle, rectangle);
+            }
+            assertEquals(rectangles.size(), tree.size());
+            assertQueries(rnd, tree, rectangles);
+        }
+        for (int handle : rectangles.keySet()) {
+            assertEquals(rectangles.get(handle), tree.getBounds(handle, new Rectanglef()));
+            tree.remove(handle);
+        }
+        assertEquals(0, tree.size());
+        assertEquals(1, tree.nodeCount());
+        assertEquals(-1, tree.nearest(0, 0));
+    }
+
+    @Test
+    public void testZeroSizeQuery() {
+        // Split down to quadrants of edge length 1, so that the rectangles and queries lie on the boundaries of quadrants.
+        QuadTreef tree = new QuadTreef(0, 0, 8, 8, 3, 1);
+        Map<Integer, Rectanglef> rectangles = new HashMap<>();
+        Rectanglef[] added = {new Rectanglef(0, 0, 4, 4), new Rectanglef(4, 0, 8, 4), new Rectanglef(2, 2, 2, 2),
+                new Rectanglef(4, 4, 4, 4), new Rectanglef(4, 1, 4, 3), new Rectanglef(6, 6, 7, 7), new Rectanglef(1, 5, 2, 6)};
+        for (Rectanglef rectangle : added) {
+            rectangles.put(tree.insert(rectangle), rectangle);
+        }
+        assertTrue(tree.nodeCount() > 1);
+        float[][] points = {{4, 4}, {4, 2}, {2, 2}, {7, 7}, {8, 8}, {2, 6}, {3, 7}, {9, 9}};
+        for (float[] p : points) {
+            TestUtil.assertQuery(rectangles, r -> RTreefTest.intersects(r, p[0], p[1], p[0], p[1]), c -> tree.queryPoint(p[0], p[1], c));
+            TestUtil.assertQuery(rectangles, r -> RTreefTest.intersects(r, p[0], p[1], p[0], p[1]),
+                    c -> tree.queryRectangle(p[0], p[1], p[0], p[1], c));
+        }
+        assertEquals(3, tree.queryPoint(4, 2, i -> { }));
+        // Queries of zero width or height along the boundaries of quadrants.
+        TestUtil.assertQuery(rectangles, r -> RTreefTest.intersects(r, 4, 0, 4, 8), c -> tree.queryRectangle(4, 0, 4, 8, c));
+        TestUtil.assertQuery(rectangles, r -> RTreefTest.intersects(r, 0, 6, 8, 6), c -> tree.queryRectangle(0, 6, 8, 6, c));
+        assertEquals(3, tree.nearest(2, 2, new int[3]));
+    }
+
+    @Test
+    public void testClear() {
+        Random rnd = new Random(3);
+        QuadTreef tree = new QuadTreef(new Rectanglef(-100, -100, 100, 100), 5);
+        for (int i = 0; i < 500; i++) {
+            tree.insert(RTreefTest.randomRectangle(rnd));
+        }
+        tree.remove(7);
+        for (int frame = 0; frame < 3; frame++) {
+            tree.clear();
+            assertEquals(0, tree.size());
+            assertEquals(1, tree.nodeCount());
+            Map<Integer, Rectanglef> rectangles = new HashMap<>();
+            for (int i = 0; i < 700; i++) {
+                Rectanglef rectangle = RTreefTest.randomRectangle(rnd);
+                assertEquals(i, tree.insert(rectangle));
+                rectangles.put(i, rectangle);
+            }
+            assertQueries(rnd, tree, rectangles);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link RTreef} class.
+ */
+public class RTreefTest {
+
+    static Rectanglef randomRectangle(Random rnd) {
+        float x = rnd.nextFloat() * 200 - 100, y = rnd.nextFloat() * 200 - 100;
+        float size = rnd.nextInt(30) == 0 ? 40 : 5;
+        return new Rectanglef(x, y, x + rnd.nextFloat() * size, y + rnd.nextFloat() * size);
+    }
+
+    static boolean intersects(Rectanglefc a, float minX, float minY, float maxX, float maxY) {
+        return a.minX() <= maxX && a.minY() <= maxY && a.maxX() >= minX && a.maxY() >= minY;
+    }
+
+    static float distanceSquared(Rectanglefc a, float x, float y) {
+        float dX = Math.max(Math.max(a.minX() - x, x - a.maxX()), 0.0f);
+        float dY = Math.max(Math.max(a.minY() - y, y - a.maxY()), 0.0f);
+        return dX * dX + dY * dY;
+    }
+
+    /**
+     * Assert that <code>nearest</code> holds the <code>count</code> rectangles nearest to <code>(x, y)</code> in
+     * ascending order of distance, allowing for ties.
+     */
+    static void assertNearest(Rectanglefc[] rectangles, float x, float y, int[] nearest, int count) {
+        float[] expected = new float[rectangles.length];
+        for (int i = 0; i < rectangles.length; i++) {
+            expected[i] = distanceSquared(rectangles[i], x, y);
+        }
+        Arrays.sort(expected);
+        assertEquals(Math.min(rectangles.length, nearest.length), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], distanceSquared(rectangles[nearest[i]], x, y), 0.0f);
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        Random rnd = new Random(1);
+        Rectanglef[] rectangles = new Rectanglef[3000];
+        for (int i = 0; i < rectangles.length; i++) {
+            rectangles[i] = randomRectangle(rnd);
+        }
+        for (int maxNodeSize : new int[] {2, 5, RTreef.DEFAULT_MAX_NODE_SIZE}) {
+            RTreef tree = new RTreef(rectangles, maxNodeSize);
+            assertEquals(rectangles.length, tree.size());
+            assertTrue(tree.height() <= 1 + Math.ceil(Math.log(rectangles.length) / Math.log(maxNodeSize)));
+            for (int q = 0; q < 100; q++) {
+                Rectanglef query = randomRectangle(rnd);
+                Set<Integer> expected = new TreeSet<>();
+                Set<Integer> expectedPoint = new TreeSet<>();
+                for (int i = 0; i < rectangles.length; i++) {
+                    if (intersects(rectangles[i], query.minX, query.minY, query.maxX, query.maxY)) {
+                        expected.add(i);
+                    }
+                    if (intersects(rectangles[i], query.minX, query.minY, query.minX, query.minY)) {
+                        expectedPoint.add(i);
+                    }
+                }
+                List<Integer> actual = new ArrayList<>();
+                assertEquals(expected.size(), tree.queryRectangle(query, actual::add));
+                assertEquals(expected.size(), actual.size());
+                assertEquals(expected, new TreeSet<>(actual));
+                actual.clear();
+                assertEquals(expectedPoint.size(), tree.queryPoint(query.minX, query.minY, actual::add));
+                assertEquals(expectedPoint, new TreeSet<>(actual));
+
+                int[] nearest = new int[1 + rnd.nextInt(10)];
+                assertNearest(rectangles, query.minX * 1.5f, query.minY * 1.5f, nearest, tree.nearest(query.minX * 1.5f, query.minY * 1.5f, nearest));
+            }
+        }
+    }
+
+    @Test
+    public void testIntegerRectangles() {
+        Rectanglei[] tiles = new Rectanglei[64 * 64];
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                tiles[64 * y + x] = new Rectanglei(16 * x, 16 * y, 16 * x + 15, 16 * y + 15);
+            }
+        }
+        RTreef tree = new RTreef(tiles);
+        assertEquals(new Rectanglef(0, 0, 64 * 16 - 1, 64 * 16 - 1), tree.getBounds(new Rectanglef()));
+        List<Integer> hits = new ArrayList<>();
+        assertEquals(1, tree.queryPoint(16 * 5 + 3, 16 * 7 + 15, hits::add));
+        assertEquals(64 * 7 + 5, hits.get(0));
+        assertEquals(0, tree.queryPoint(16 * 5 + 15.5f, 3, hits::add));
+        assertEquals(4, tree.queryRectangle(new Rectanglei(20, 20, 40, 40), hits::add));
+        assertEquals(64 * 2 + 1, tree.nearest(30, 40));
+        assertEquals(64 * 63 + 63, tree.nearest(5000, 5000));
+    }
+
+    @Test
+    public void testEmpty() {
+        RTreef tree = new RTreef(new Rectanglef[0]);
+        assertEquals(0, tree.height());
+        assertEquals(-1, tree.nearest(0, 0));
+        assertEquals(0, tree.queryRectangle(-1, -1, 1, 1, i -> { }));
+        assertTrue(!tree.getBounds(new Rectanglef()).isValid());
+    }
+}
@@ -0,0 +1,141 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link RectangleiSet} class.
+ */
+public class RectangleiSetTest {
+
+    private static final int SIZE = 32;
+
+    @Test
+    public void testCoalesce() {
+        RectangleiSet set = new RectangleiSet(new Rectanglei(0, 0, 10, 10));
+        set.union(10, 0, 20, 10);
+        assertEquals(1, set.rectangleCount());
+        set.union(0, 10, 20, 15);
+        assertEquals(1, set.rectangleCount());
+        assertEquals(new Rectanglei(0, 0, 20, 15), set.getRectangle(0, new Rectanglei()));
+        set.subtract(5, 5, 15, 10);
+        assertEquals(4, set.rectangleCount());
+        assertEquals(20 * 15 - 10 * 5, set.area());
+        set.union(new Rectanglei(5, 5, 15, 10));
+        assertEquals(1, set.rectangleCount());
+        assertEquals(new RectangleiSet(new Rectanglei(0, 0, 20, 15)), set);
+        set.intersect(30, 30, 40, 40);
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testContainsPoint() {
+        RectangleiSet set = new RectangleiSet()
+                .union(0, 0, 4, 4)
+                .union(6, 2, 8, 6);
+        assertTrue(set.containsPoint(0, 0));
+        assertTrue(set.containsPoint(3, 3));
+        assertFalse(set.containsPoint(4, 3));
+        assertFalse(set.containsPoint(5, 3));
+        assertTrue(set.containsPoint(7, 5));
+        assertFalse(set.containsPoint(7, 6));
+        assertFalse(set.containsPoint(0, 4));
+        assertFalse(set.containsPoint(-1, 0));
+        assertEquals(new Rectanglei(0, 0, 8, 6), set.getBounds(new Rectanglei()));
+    }
+
+    @Test
+    public void testRandomAgainstGrid() {
+        Random rnd = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            RectangleiSet set = new RectangleiSet();
+            boolean[] grid = new boolean[SIZE * SIZE];
+            for (int step = 0; step < 30; step++) {
+                int x0 = rnd.nextInt(SIZE), y0 = rnd.nextInt(SIZE);
+                int x1 = x0 + rnd.nextInt(SIZE - x0 + 1), y1 = y0 + rnd.nextInt(SIZE - y0 + 1);
+                int op = rnd.nextInt(4);
+                if (op == 3) {
+                    // Combine with another set instead of a single rectangle.
+                    RectangleiSet other = new RectangleiSet().union(x0, y0, x1, y1).union(y0, x0, y1, x1);
+                    boolean[] otherGrid = new boolean[SIZE * SIZE];
+                    fill(otherGrid, x0, y0, x1, y1);
+                    fill(otherGrid, y0, x0, y1, x1);
+                    int setOp = rnd.nextInt(3);
+                    for (int i = 0; i < grid.length; i++) {
+                        grid[i] = setOp == 0 ? grid[i] || otherGrid[i] : setOp == 1 ? grid[i] && otherGrid[i] : grid[i] && !otherGrid[i];
+                    }
+                    if (setOp == 0) {
+                        set.union(other);
+                    } else if (setOp == 1) {
+                        set.intersect(other);
+                    } else {
+                        set.subtract(other);
+                    }
+                } else {
+                    for (int y = 0; y < SIZE; y++) {
+                        for (int x = 0; x < SIZE; x++) {
+                            boolean in = x >= x0 && x < x1 && y >= y0 && y < y1;
+                            int i = y * SIZE + x;
+                            grid[i] = op == 0 ? grid[i] || in : op == 1 ? grid[i] && in : grid[i] && !in;
+                        }
+                    }
+                    if (op == 0) {
+                        set.union(x0, y0, x1, y1);
+                    } else if (op == 1) {
+                        set.intersect(x0, y0, x1, y1);
+                    } else {
+                        set.subtract(x0, y0, x1, y1);
+                    }
+                }
+                assertMatches(grid, set);
+            }
+        }
+    }
+
+    private static void fill(boolean[] grid, int x0, int y0, int x1, int y1) {
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                grid[y * SIZE + x] = true;
+            }
+        }
+    }
+
+    private static void assertMatches(boolean[] grid, RectangleiSet set) {
+        long area = 0;
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                assertEquals(grid[y * SIZE + x], set.containsPoint(x, y));
+                area += grid[y * SIZE + x] ? 1 : 0;
+            }
+        }
+        assertEquals(area, set.area());
+        // The cover is banded, sorted and fully coalesced, which makes it unique.
+        Rectanglei r = new Rectanglei(), s = new Rectanglei();
+        RectangleiSet rebuilt = new RectangleiSet();
+        for (int i = 0; i < set.rectangleCount(); i++) {
+            set.getRectangle(i, r);
+            assertTrue(r.minX < r.maxX && r.minY < r.maxY);
+            if (i > 0) {
+                set.getRectangle(i - 1, s);
+                assertTrue(s.minY == r.minY && s.maxY == r.maxY && s.maxX < r.minX || s.maxY <= r.minY);
+            }
+            rebuilt.union(r);
+        }
+        assertEquals(set, rebuilt);
+        assertEquals(set.hashCode(), rebuilt.hashCode());
+        RectangleiSet pixels = new RectangleiSet();
+        for (int i = 0; i < grid.length; i++) {
+            if (grid[i]) {
+                pixels.union(i % SIZE, i / SIZE, i % SIZE + 1, i / SIZE + 1);
+            }
+        }
+        assertEquals(pixels, set);
+    }
+}
@@ -4,8 +4,16 @@
 
 import org.joml.Vector2f;
 import org.joml.Vector2i;
+import org.joml.Vector2ic;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -109,4 +117,31 @@ public void testZeroSizeRectangle() {
         Rectanglei rect = new Rectanglei(0, 0, 0, 0);
         assertFalse(rect.isValid());
     }
+
+    @Test
+    public void testForEachCell() {
+        Rectanglei rect = new Rectanglei(1, -2, 4, 0);
+        List<Vector2i> cells = new ArrayList<>();
+        rect.forEachCell((x, y) -> cells.add(new Vector2i(x, y)));
+        assertEquals(6, cells.size());
+        assertEquals(new Vector2i(1, -2), cells.get(0));
+        assertEquals(new Vector2i(2, -2), cells.get(1));
+        assertEquals(new Vector2i(3, -1), cells.get(5));
+
+        RectangleiCursor cursor = new RectangleiCursor(rect);
+        int i = 0;
+        while (cursor.next()) {
+            assertEquals(cells.get(i++), cursor.get(new Vector2i()));
+        }
+        assertEquals(6, i);
+
+        rect = new Rectanglei(0, 0, 100, 37);
+        Set<Vector2ic> expected = new HashSet<>();
+        rect.forEachCell((x, y) -> expected.add(new Vector2i(x, y)));
+        assertEquals(expected, StreamSupport.stream(rect.cellSpliterator(), true).collect(Collectors.toSet()));
+        RectangleiSpliterator spliterator = rect.cellSpliterator();
+        RectangleiSpliterator prefix = spliterator.trySplit();
+        assertEquals(50 * 37, prefix.estimateSize());
+        assertEquals(50 * 37, spliterator.estimateSize());
+    }
 }
@@ -0,0 +1,43 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link SkylinePacker} class.
+ */
+public class SkylinePackerTest {
+
+    @Test
+    public void testPack() {
+        SkylinePacker packer = new SkylinePacker(1024, 512);
+        assertTrue(MaxRectsPackerTest.assertPacks(packer) > 0.8f);
+        assertFalse(packer.insert(1, 513, new Rectanglei()));
+    }
+
+    @Test
+    public void testSkyline() {
+        SkylinePacker packer = new SkylinePacker(64, 64);
+        Rectanglei dest = new Rectanglei();
+        assertTrue(packer.insert(32, 16, dest));
+        assertEquals(new Rectanglei(0, 0, 32, 16), dest);
+        assertTrue(packer.insert(32, 8, dest));
+        assertEquals(new Rectanglei(32, 0, 64, 8), dest);
+        assertEquals(2, packer.segmentCount());
+        // Lowest top edge: onto the lower segment on the right.
+        assertTrue(packer.insert(32, 8, dest));
+        assertEquals(new Rectanglei(32, 8, 64, 16), dest);
+        assertEquals(1, packer.segmentCount());
+        assertTrue(packer.insert(64, 48, dest));
+        assertEquals(new Rectanglei(0, 16, 64, 64), dest);
+        assertFalse(packer.insert(1, 1, dest));
+        packer.clear();
+        assertEquals(1, packer.segmentCount());
+        assertTrue(packer.insert(64, 64, dest));
+    }
+}
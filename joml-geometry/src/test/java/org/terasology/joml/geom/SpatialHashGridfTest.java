@@ -0,0 +1,201 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link SpatialHashGridf} class.
+ */
+public class SpatialHashGridfTest {
+
+    private static AABBf randomBox(Random rnd) {
+        float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+        // Mostly boxes within a cell or two, and a few spanning many cells.
+        float size = rnd.nextInt(20) == 0 ? 20 : 3;
+        return new AABBf(x, y, z, x + rnd.nextFloat() * size, y + rnd.nextFloat() * size, z + rnd.nextFloat() * size);
+    }
+
+    private static void assertQueries(Random rnd, SpatialHashGridf grid, Map<Integer, AABBf> boxes) {
+        for (int q = 0; q < 50; q++) {
+            AABBf query = randomBox(rnd);
+            if (q == 0) {
+                // Larger than the table, which is scanned instead.
+                query.setMin(-1000, -1000, -1000).setMax(1000, 1000, 1000);
+            }
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, query), c -> grid.queryAab(query, c));
+            Spheref sphere = new Spheref(query.minX, query.minY, query.minZ, rnd.nextFloat() * (q == 1 ? 200 : 8));
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabSphere(box, sphere),
+                    c -> grid.querySphere(sphere.x, sphere.y, sphere.z, sphere.r * sphere.r, c));
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        Random rnd = new Random(1);
+        SpatialHashGridf grid = new SpatialHashGridf(4);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            AABBf box = randomBox(rnd);
+            boxes.put(grid.insert(box), box);
+        }
+        assertEquals(2000, grid.size());
+        assertQueries(rnd, grid, boxes);
+    }
+
+    @Test
+    public void testMoveAndRemove() {
+        Random rnd = new Random(2);
+        SpatialHashGridf grid = new SpatialHashGridf(2.5f);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            AABBf box = randomBox(rnd);
+            boxes.put(grid.insert(box), box);
+        }
+        for (int step = 0; step < 5; step++) {
+            List<Integer> handles = new ArrayList<>(boxes.keySet());
+            for (int handle : handles) {
+                int action = rnd.nextInt(10);
+                if (action == 0) {
+                    grid.remove(handle);
+                    boxes.remove(handle);
+                } else if (action < 6) {
+                    AABBf box = boxes.get(handle);
+                    box.translate(rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1);
+                    grid.move(handle, box);
+                }
+            }
+            for (int i = 0; i < 50; i++) {
+                AABBf box = randomBox(rnd);
+                int handle = grid.insert(box);
+                assertFalse(boxes.containsKey(handle));
+                boxes.put(handle, box);
+            }
+            assertEquals(boxes.size(), grid.size());
+            assertQueries(rnd, grid, boxes);
+        }
+        for (int handle : boxes.keySet()) {
+            assertEquals(boxes.get(handle), grid.getBounds(handle, new AABBf()));
+            grid.remove(handle);
+        }
+        assertEquals(0, grid.size());
+        assertEquals(0, grid.cellCount());
+    }
+
+    @Test
+    public void testCellClamping() {
+        SpatialHashGridf grid = new SpatialHashGridf(1);
+        int maxCell = (1 << 20) - 1, minCell = -(1 << 20);
+        assertEquals(maxCell, grid.cell(maxCell + 0.5f));
+        assertEquals(maxCell, grid.cell(1 << 20));
+        assertEquals(maxCell, grid.cell(Float.POSITIVE_INFINITY));
+        assertEquals(minCell, grid.cell(minCell));
+        assertEquals(minCell, grid.cell(minCell - 1.0f));
+        assertEquals(minCell, grid.cell(-1E30f));
+        assertEquals(0, grid.cell(Float.NaN));
+        // Boxes beyond the range of cells all fall into the border cells, but queries still tell them apart by their bounds.
+        float far = 1 << 22;
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        AABBf[] added = {new AABBf(far, 0, 0, far + 1, 1, 1), new AABBf(2 * far, 0, 0, 2 * far + 1, 1, 1),
+                new AABBf(maxCell - 1, 0, 0, maxCell + 4, 1, 1), new AABBf(-far - 1, -far - 1, 0, -far, -far, 1),
+                new AABBf(0, 0, 0, 1, 1, 1)};
+        for (AABBf box : added) {
+            boxes.put(grid.insert(box), box);
+        }
+        assertEquals(new AABBi(maxCell, 0, 0, maxCell + 1, 2, 2), grid.getCells(0, new AABBi()));
+        assertEquals(new AABBi(maxCell - 1, 0, 0, maxCell + 1, 2, 2), grid.getCells(2, new AABBi()));
+        for (AABBf query : added) {
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, query), c -> grid.queryAab(query, c));
+        }
+        AABBf between = new AABBf(far + 2, 0, 0, 2 * far - 1, 1, 1), all = new AABBf(-1E30f, -1E30f, -1E30f, 1E30f, 1E30f, 1E30f);
+        TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, between), c -> grid.queryAab(between, c));
+        TestUtil.assertQuery(boxes, box -> true, c -> grid.queryAab(all, c));
+        Spheref sphere = new Spheref(2 * far, 0, 0, 1);
+        TestUtil.assertQuery(boxes, box -> Intersectionf.testAabSphere(box, sphere), c -> grid.querySphere(sphere, c));
+    }
+
+    @Test
+    public void testZeroSizeQuery() {
+        SpatialHashGridf grid = new SpatialHashGridf(1);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        // Boxes meeting on the boundaries of cells, and a box of zero size on a corner of a cell.
+        AABBf[] added = {new AABBf(0, 0, 0, 1, 1, 1), new AABBf(1, 0, 0, 2, 1, 1), new AABBf(0, 1, 0, 1, 2, 1),
+                new AABBf(1, 1, 1, 1, 1, 1), new AABBf(0.25f, 0.25f, 0.25f, 0.75f, 0.75f, 0.75f)};
+        for (AABBf box : added) {
+            boxes.put(grid.insert(box), box);
+        }
+        float[][] points = {{1, 0.5f, 0.5f}, {1, 1, 1}, {0.5f, 0.5f, 0.5f}, {0.5f, 1, 0.5f}, {0.1f, 0.1f, 0.1f}, {3, 3, 3}};
+        for (float[] p : points) {
+            AABBf query = new AABBf(p[0], p[1], p[2], p[0], p[1], p[2]);
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabAab(box, query), c -> grid.queryAab(query, c));
+            Spheref sphere = new Spheref(p[0], p[1], p[2], 0);
+            TestUtil.assertQuery(boxes, box -> Intersectionf.testAabSphere(box, sphere), c -> grid.querySphere(sphere, c));
+        }
+        assertEquals(4, grid.queryAab(1, 1, 1, 1, 1, 1, i -> { }));
+    }
+
+    @Test
+    public void testPoints() {
+        Random rnd = new Random(3);
+        SpatialHashGridf grid = new SpatialHashGridf(1);
+        float[] points = new float[3 * 5000];
+        for (int i = 0; i < 5000; i++) {
+            points[3 * i] = rnd.nextFloat() * 40 - 20;
+            points[3 * i + 1] = rnd.nextFloat() * 40 - 20;
+            points[3 * i + 2] = rnd.nextFloat() * 2;
+            assertEquals(i, grid.insert(points[3 * i], points[3 * i + 1], points[3 * i + 2]));
+        }
+        assertFalse(grid.move(0, grid.cell(points[0]) + 0.5f, grid.cell(points[1]) + 0.5f, grid.cell(points[2]) + 0.5f));
+        assertTrue(grid.move(0, points[0] + 1, points[1], points[2]));
+        assertEquals(new AABBi(grid.cell(points[0] + 1), grid.cell(points[1]), grid.cell(points[2]),
+                grid.cell(points[0] + 1) + 1, grid.cell(points[1]) + 1, grid.cell(points[2]) + 1), grid.getCells(0, new AABBi()));
+        points[0] += 1;
+        for (int q = 0; q < 100; q++) {
+            float cx = rnd.nextFloat() * 40 - 20, cy = rnd.nextFloat() * 40 - 20, cz = rnd.nextFloat() * 2, r = rnd.nextFloat() * 3;
+            Set<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 5000; i++) {
+                float dx = points[3 * i] - cx, dy = points[3 * i + 1] - cy, dz = points[3 * i + 2] - cz;
+                if (dx * dx + dy * dy + dz * dz <= r * r) {
+                    expected.add(i);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            assertEquals(expected.size(), grid.querySphere(cx, cy, cz, r * r, actual::add));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testClear() {
+        Random rnd = new Random(4);
+        SpatialHashGridf grid = new SpatialHashGridf(4);
+        for (int i = 0; i < 500; i++) {
+            grid.insert(randomBox(rnd));
+        }
+        grid.remove(7);
+        for (int frame = 0; frame < 3; frame++) {
+            grid.clear();
+            assertEquals(0, grid.size());
+            assertEquals(0, grid.queryAab(-1000, -1000, -1000, 1000, 1000, 1000, i -> { }));
+            Map<Integer, AABBf> boxes = new HashMap<>();
+            for (int i = 0; i < 700; i++) {
+                AABBf box = randomBox(rnd);
+                assertEquals(i, grid.insert(box));
+                boxes.put(i, box);
+            }
+            assertQueries(rnd, grid, boxes);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link SweepAndPrunef} class.
+ */
+public class SweepAndPrunefTest {
+
+    private static class Recorder implements SweepAndPrunef.PairListener {
+        final Set<Long> pairs = new TreeSet<>();
+
+        @Override
+        public void pairAdded(int a, int b) {
+            assertTrue(a < b);
+            assertTrue(pairs.add((long) a << 32 | b), "added twice");
+        }
+
+        @Override
+        public void pairRemoved(int a, int b) {
+            assertTrue(a < b);
+            assertTrue(pairs.remove((long) a << 32 | b), "removed without being added");
+        }
+    }
+
+    private static AABBf randomBox(Random rnd) {
+        float x = rnd.nextFloat() * 60 - 30, y = rnd.nextFloat() * 60 - 30, z = rnd.nextFloat() * 60 - 30;
+        return new AABBf(x, y, z, x + rnd.nextFloat() * 5, y + rnd.nextFloat() * 5, z + rnd.nextFloat() * 5);
+    }
+
+    private static Set<Long> bruteForce(Map<Integer, AABBf> boxes) {
+        Set<Long> expected = new TreeSet<>();
+        for (Map.Entry<Integer, AABBf> a : boxes.entrySet()) {
+            for (Map.Entry<Integer, AABBf> b : boxes.entrySet()) {
+                if (a.getKey() < b.getKey() && Intersectionf.testAabAab(a.getValue(), b.getValue())) {
+                    expected.add((long) a.getKey() << 32 | b.getKey());
+                }
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void testAgainstBruteForce() {
+        Random rnd = new Random(1);
+        Recorder recorder = new Recorder();
+        SweepAndPrunef sap = new SweepAndPrunef(recorder);
+        Map<Integer, AABBf> boxes = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            AABBf box = randomBox(rnd);
+            boxes.put(sap.add(box), box);
+        }
+        for (int frame = 0; frame < 30; frame++) {
+            sap.updatePairs();
+            Set<Long> expected = bruteForce(boxes);
+            assertEquals(expected, recorder.pairs);
+            assertEquals(expected.size(), sap.pairCount());
+            assertEquals(boxes.size(), sap.size());
+            for (Map.Entry<Integer, AABBf> e : boxes.entrySet()) {
+                e.getValue().translate(rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1);
+                sap.update(e.getKey(), e.getValue());
+            }
+            for (int i = 0; i < 10; i++) {
+                Integer handle = boxes.keySet().iterator().next();
+                boxes.remove(handle);
+                sap.remove(handle);
+                AABBf box = randomBox(rnd);
+                boxes.put(sap.add(box), box);
+            }
+        }
+    }
+
+    @Test
+    public void testTouchingAndRemoval() {
+        Recorder recorder = new Recorder();
+        SweepAndPrunef sap = new SweepAndPrunef(recorder);
+        int a = sap.add(new AABBf(0, 0, 0, 1, 1, 1));
+        int b = sap.add(new AABBf(2, 0, 0, 3, 1, 1));
+        sap.updatePairs();
+        assertFalse(sap.isOverlapping(a, b));
+        sap.update(b, new AABBf(1, 0, 0, 2, 1, 1));
+        sap.updatePairs();
+        assertTrue(sap.isOverlapping(a, b));
+        assertTrue(sap.isOverlapping(b, a));
+        sap.remove(a);
+        assertThrows(IllegalArgumentException.class, () -> sap.update(a, new AABBf()));
+        sap.updatePairs();
+        assertEquals(0, sap.pairCount());
+        assertTrue(recorder.pairs.isEmpty());
+        assertEquals(new AABBf(1, 0, 0, 2, 1, 1), sap.getBounds(b, new AABBf()));
+    }
+}
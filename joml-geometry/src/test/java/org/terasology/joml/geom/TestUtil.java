@@ -18,6 +18,15 @@
 import org.joml.Vector4d;
 import org.joml.Vector4f;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
 /**
  * Utilities for testing.
  */
@@ -100,6 +109,26 @@ else if (a > b)
             return -1;
     }
 
+    /**
+     * Assert that a query of a spatial index reports the handle of every object accepted by the brute-force oracle exactly
+     * once, and returns their number.
+     * @param objects the objects stored in the index, by their handles
+     * @param oracle whether the query should report an object
+     * @param query runs the query, reporting handles to the given consumer, and returns the number of handles reported
+     */
+    public static <T> void assertQuery(Map<Integer, T> objects, Predicate<? super T> oracle, ToIntFunction<IntConsumer> query) {
+        Set<Integer> expected = new TreeSet<>();
+        for (Map.Entry<Integer, T> e : objects.entrySet()) {
+            if (oracle.test(e.getValue())) {
+                expected.add(e.getKey());
+            }
+        }
+        List<Integer> actual = new ArrayList<>();
+        assertEquals(expected.size(), query.applyAsInt(actual::add));
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, new TreeSet<>(actual));
+    }
+
     /**
      * Return whether two quaternions are equal. They are considered equal when their difference is
      * less than or equal to the precision.
@@ -0,0 +1,231 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link TriangleMeshBVHf} class.
+ */
+public class TriangleMeshBVHfTest {
+
+    private float[] vertices;
+    private int[] indices;
+
+    /**
+     * Create a bumpy height field of <code>size * size</code> quads plus some randomly scattered triangles above it.
+     */
+    private void createMesh(Random rnd, int size, int scattered) {
+        int gridVertices = (size + 1) * (size + 1);
+        vertices = new float[3 * (gridVertices + 3 * scattered)];
+        indices = new int[3 * (2 * size * size + scattered)];
+        for (int z = 0, v = 0; z <= size; z++) {
+            for (int x = 0; x <= size; x++, v += 3) {
+                vertices[v] = x;
+                vertices[v + 1] = rnd.nextFloat();
+                vertices[v + 2] = z;
+            }
+        }
+        int n = 0;
+        for (int z = 0; z < size; z++) {
+            for (int x = 0; x < size; x++) {
+                int i = z * (size + 1) + x;
+                indices[n++] = i;
+                indices[n++] = i + size + 1;
+                indices[n++] = i + 1;
+                indices[n++] = i + 1;
+                indices[n++] = i + size + 1;
+                indices[n++] = i + size + 2;
+            }
+        }
+        for (int t = 0; t < scattered; t++) {
+            float x = rnd.nextFloat() * size, y = 2 + rnd.nextFloat() * 10, z = rnd.nextFloat() * size;
+            for (int k = 0; k < 3; k++) {
+                int v = gridVertices + 3 * t + k;
+                vertices[3 * v] = x + rnd.nextFloat() * 4 - 2;
+                vertices[3 * v + 1] = y + rnd.nextFloat() * 4 - 2;
+                vertices[3 * v + 2] = z + rnd.nextFloat() * 4 - 2;
+                indices[n++] = v;
+            }
+        }
+    }
+
+    private float intersect(Rayf ray, int triangle) {
+        int a = 3 * indices[3 * triangle], b = 3 * indices[3 * triangle + 1], c = 3 * indices[3 * triangle + 2];
+        return Intersectionf.intersectRayTriangle(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                vertices[a], vertices[a + 1], vertices[a + 2], vertices[b], vertices[b + 1], vertices[b + 2],
+                vertices[c], vertices[c + 1], vertices[c + 2], 0.0f);
+    }
+
+    private static Rayf randomRay(Random rnd, int size) {
+        return new Rayf(rnd.nextFloat() * size, 5 + rnd.nextFloat() * 15, rnd.nextFloat() * size,
+                rnd.nextFloat() * 2 - 1, -rnd.nextFloat(), rnd.nextFloat() * 2 - 1);
+    }
+
+    @Test
+    public void testRays() {
+        Random rnd = new Random(1);
+        int size = 40;
+        createMesh(rnd, size, 500);
+        int count = indices.length / 3;
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(vertices, indices);
+        assertEquals(count, bvh.triangleCount());
+        Vector3f result = new Vector3f();
+        for (int r = 0; r < 300; r++) {
+            Rayf ray = randomRay(rnd, size);
+            float maxT = r % 3 == 0 ? 10 : Float.POSITIVE_INFINITY;
+            float expectedT = Float.POSITIVE_INFINITY;
+            Set<Integer> expectedAll = new TreeSet<>();
+            for (int i = 0; i < count; i++) {
+                float t = intersect(ray, i);
+                if (t >= 0 && t <= maxT) {
+                    expectedAll.add(i);
+                    expectedT = Math.min(expectedT, t);
+                }
+            }
+            int triangle = bvh.intersectRay(ray, maxT, result);
+            assertEquals(!expectedAll.isEmpty(), bvh.testRay(ray, maxT));
+            if (expectedAll.isEmpty()) {
+                assertEquals(-1, triangle);
+            } else {
+                // Triangles sharing an edge may be hit at the same t, so only compare the distance.
+                assertEquals(expectedT, result.x, 0.0f);
+                assertEquals(expectedT, intersect(ray, triangle), 0.0f);
+                assertTrue(result.y >= 0 && result.z >= 0 && result.y + result.z <= 1);
+            }
+            Set<Integer> all = new TreeSet<>();
+            int hits = bvh.intersectRayAll(ray, maxT, (i, t, u, v) -> {
+                assertEquals(intersect(ray, i), t, 0.0f);
+                all.add(i);
+            });
+            assertEquals(expectedAll, all);
+            assertEquals(expectedAll.size(), hits);
+        }
+    }
+
+    @Test
+    public void testRayPacket() {
+        Random rnd = new Random(3);
+        int size = 40;
+        createMesh(rnd, size, 500);
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(vertices, indices);
+        RayPacketf packet = new RayPacketf(8);
+        int[] triangles = new int[8];
+        float[] t = new float[8];
+        Vector3f result = new Vector3f();
+        for (int p = 0; p < 100; p++) {
+            // A bundle of rays from a common origin, such as the samples of one pixel or texel.
+            Rayf center = randomRay(rnd, size);
+            for (int i = 0; i < 8; i++) {
+                packet.set(i, center.oX, center.oY, center.oZ, center.dX + rnd.nextFloat() * 0.1f, center.dY + rnd.nextFloat() * 0.1f,
+                        center.dZ + rnd.nextFloat() * 0.1f, i == 0 ? 5 : Float.POSITIVE_INFINITY);
+            }
+            int mask = bvh.intersectRayPacket(packet, triangles, t);
+            for (int i = 0; i < 8; i++) {
+                int expected = bvh.intersectRay(packet.originX[i], packet.originY[i], packet.originZ[i],
+                        packet.dirX[i], packet.dirY[i], packet.dirZ[i], packet.maxT[i], result);
+                assertEquals(expected >= 0, (mask & 1 << i) != 0);
+                assertEquals(expected >= 0, triangles[i] >= 0);
+                if (expected >= 0) {
+                    assertEquals(result.x, t[i], 0.0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBarycentrics() {
+        vertices = new float[] {0, 0, 0, 4, 0, 0, 0, 0, 4};
+        indices = new int[] {0, 1, 2};
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(vertices, indices);
+        Vector3f result = new Vector3f();
+        assertEquals(0, bvh.intersectRay(1, 3, 2, 0, -1, 0, Float.POSITIVE_INFINITY, result));
+        assertEquals(new Vector3f(3, 0.25f, 0.5f), result);
+        assertEquals(-1, bvh.intersectRay(1, 3, 2, 0, -1, 0, 2.5f, result));
+        assertFalse(bvh.testRay(1, 3, 2, 0, 1, 0, Float.POSITIVE_INFINITY));
+        assertFalse(bvh.testRay(3, 3, 3, 0, -1, 0, Float.POSITIVE_INFINITY));
+        assertEquals(new AABBf(0, 0, 0, 4, 0, 4), bvh.getBounds(new AABBf()));
+    }
+
+    /**
+     * A node that the ray misses must be pruned for unbounded rays too, so that misses do not traverse the whole tree.
+     */
+    @Test
+    public void testNodeMisses() {
+        vertices = new float[] {0, 0, 0, 4, 0, 0, 0, 0, 4};
+        indices = new int[] {0, 1, 2};
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(vertices, indices);
+        float inf = Float.POSITIVE_INFINITY;
+        assertEquals(3, bvh.nearNode(0, 1, 3, 2, 1 / 0.0f, -1, 1 / 0.0f, inf), 0.0f);
+        assertTrue(bvh.nearNode(0, 1, 3, 2, 1 / 0.0f, 1, 1 / 0.0f, inf) < 0);
+        assertTrue(bvh.nearNode(0, 6, 3, 2, 1 / 0.0f, -1, 1 / 0.0f, inf) < 0);
+        assertTrue(bvh.nearNode(0, 1, 3, 2, 1 / 0.0f, -1, 1 / 0.0f, 2.5f) < 0);
+    }
+
+    @Test
+    public void testSweptSphere() {
+        Random rnd = new Random(2);
+        int size = 30;
+        createMesh(rnd, size, 200);
+        int count = indices.length / 3;
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(vertices, indices);
+        Vector4f expected = new Vector4f(), actual = new Vector4f();
+        Vector3f normal = new Vector3f();
+        int touched = 0;
+        for (int s = 0; s < 300; s++) {
+            float x = rnd.nextFloat() * size, y = 3 + rnd.nextFloat() * 12, z = rnd.nextFloat() * size, radius = 0.2f + rnd.nextFloat();
+            float velX = rnd.nextFloat() * 6 - 3, velY = -rnd.nextFloat() * 10, velZ = rnd.nextFloat() * 6 - 3;
+            int expectedTriangle = -1;
+            for (int i = 0; i < count; i++) {
+                int a = 3 * indices[3 * i], b = 3 * indices[3 * i + 1], c = 3 * indices[3 * i + 2];
+                if (Intersectionf.intersectSweptSphereTriangle(x, y, z, radius, velX, velY, velZ,
+                        vertices[a], vertices[a + 1], vertices[a + 2], vertices[b], vertices[b + 1], vertices[b + 2],
+                        vertices[c], vertices[c + 1], vertices[c + 2], 1E-6f, 1, actual) != 0
+                        && actual.w >= 0 && (expectedTriangle < 0 || actual.w < expected.w)) {
+                    expectedTriangle = i;
+                    expected.set(actual);
+                }
+            }
+            int triangle = bvh.intersectSweptSphere(x, y, z, radius, velX, velY, velZ, 1E-6f, 1, actual, normal);
+            assertEquals(expectedTriangle < 0, triangle < 0);
+            if (triangle >= 0) {
+                touched++;
+                assertEquals(expected.w, actual.w, 0.0f);
+                assertEquals(1, normal.length(), 1E-5f);
+            }
+        }
+        assertTrue(touched > 50);
+    }
+
+    @Test
+    public void testSweptSphereOnGround() {
+        vertices = new float[] {-10, 1, -10, -10, 1, 10, 10, 1, -10, 10, 1, 10};
+        indices = new int[] {0, 1, 2, 2, 1, 3};
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(vertices, indices);
+        Vector4f pointAndTime = new Vector4f();
+        Vector3f normal = new Vector3f();
+        assertTrue(bvh.intersectSweptSphere(new Spheref(2, 6, 3, 1), new Vector3f(0, -8, 0), 1E-6f, 1, pointAndTime, normal) >= 0);
+        assertEquals(new Vector4f(2, 1, 3, 0.5f), pointAndTime);
+        assertEquals(new Vector3f(0, 1, 0), normal);
+        assertEquals(-1, bvh.intersectSweptSphere(2, 6, 3, 1, 0, -8, 0, 1E-6f, 0.4f, pointAndTime, normal));
+    }
+
+    @Test
+    public void testEmpty() {
+        TriangleMeshBVHf bvh = new TriangleMeshBVHf(new float[0], new int[0]);
+        assertEquals(-1, bvh.intersectRay(0, 0, 0, 1, 0, 0, Float.POSITIVE_INFINITY, new Vector3f()));
+        assertFalse(bvh.testRay(0, 0, 0, 1, 0, 0, Float.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> new TriangleMeshBVHf(new float[9], new int[] {0, 1}));
+    }
+}
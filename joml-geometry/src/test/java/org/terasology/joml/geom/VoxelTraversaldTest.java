@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.joml.geom;
+
+import org.joml.Vector2d;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link VoxelTraversald} class.
+ */
+public class VoxelTraversaldTest {
+
+    @Test
+    public void testAxisAligned() {
+        AABBi region = new AABBi(0, 0, 0, 10, 10, 10);
+        List<Vector3i> cells = new ArrayList<>();
+        List<Integer> faces = new ArrayList<>();
+        int count = VoxelTraversald.traverseRay(new Rayd(-5, 2.5, 3.5, 1, 0, 0), region, Double.POSITIVE_INFINITY,
+            (x, y, z, face, tEnter, tExit) -> {
+                cells.add(new Vector3i(x, y, z));
+                faces.add(face);
+                assertEquals(x + 5, tEnter, 1E-5);
+                assertEquals(x + 6, tExit, 1E-5);
+                return true;
+            });
+        assertEquals(10, count);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new Vector3i(i, 2, 3), cells.get(i));
+            assertEquals(VoxelTraversald.FACE_MINX, (int) faces.get(i));
+        }
+
+        // Starting inside and moving towards smaller y on a grid plane, stopping early.
+        cells.clear();
+        faces.clear();
+        count = VoxelTraversald.traverseRay(new Rayd(4.5, 6, 0.5, 0, -1, 0), region, Double.POSITIVE_INFINITY,
+            (x, y, z, face, tEnter, tExit) -> {
+                cells.add(new Vector3i(x, y, z));
+                faces.add(face);
+                return y > 3;
+            });
+        assertEquals(3, count);
+        assertEquals(new Vector3i(4, 5, 0), cells.get(0));
+        assertEquals(VoxelTraversald.FACE_NONE, (int) faces.get(0));
+        assertEquals(new Vector3i(4, 3, 0), cells.get(2));
+        assertEquals(VoxelTraversald.FACE_MAXY, (int) faces.get(2));
+
+        assertEquals(0, VoxelTraversald.traverseRay(new Rayd(-5, 20, 0, 1, 0, 0), region, Double.POSITIVE_INFINITY, (x, y, z, face, tEnter, tExit) -> true));
+        assertEquals(3, VoxelTraversald.traverseRay(new Rayd(-5, 2.5, 3.5, 1, 0, 0), region, 7.5, (x, y, z, face, tEnter, tExit) -> true));
+    }
+
+    @Test
+    public void testAgainstCellBoxes() {
+        Random rnd = new Random(1);
+        AABBi region = new AABBi(-8, -6, -4, 8, 6, 4);
+        Vector2d t = new Vector2d();
+        for (int r = 0; r < 500; r++) {
+            Rayd ray = new Rayd(rnd.nextFloat() * 30 - 15, rnd.nextFloat() * 30 - 15, rnd.nextFloat() * 30 - 15,
+                rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1, rnd.nextFloat() * 2 - 1);
+            double maxT = rnd.nextFloat() * 40;
+            Set<Vector3i> visited = new HashSet<>();
+            Vector3i previous = new Vector3i();
+            double[] lastExit = {Double.NaN};
+            VoxelTraversald.traverseRay(ray, region, maxT, (x, y, z, face, tEnter, tExit) -> {
+                Vector3i cell = new Vector3i(x, y, z);
+                assertTrue(region.containsPoint(x + 0.5f, y + 0.5f, z + 0.5f));
+                assertTrue(visited.add(cell));
+                if (!Double.isNaN(lastExit[0])) {
+                    // Consecutive cells share a face and their t ranges connect.
+                    assertEquals(1, Math.abs(x - previous.x) + Math.abs(y - previous.y) + Math.abs(z - previous.z));
+                    assertEquals(lastExit[0], tEnter, 0.0);
+                }
+                assertTrue(tEnter <= tExit && tEnter >= 0 && tExit <= maxT);
+                assertTrue(Intersectiond.intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                    x - 1E-3, y - 1E-3, z - 1E-3, x + 1 + 1E-3, y + 1 + 1E-3, z + 1 + 1E-3, t));
+                previous.set(cell);
+                lastExit[0] = tExit;
+                return true;
+            });
+            // Every cell which the ray crosses for a noticeable length must have been visited.
+            for (int x = region.minX; x < region.maxX; x++) {
+                for (int y = region.minY; y < region.maxY; y++) {
+                    for (int z = region.minZ; z < region.maxZ; z++) {
+                        if (Intersectiond.intersectRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, x, y, z, x + 1, y + 1, z + 1, t)
+                            && Math.min(t.y, maxT) - Math.max(t.x, 0) > 1E-3) {
+                            assertTrue(visited.contains(new Vector3i(x, y, z)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}